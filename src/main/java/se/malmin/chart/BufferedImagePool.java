@@ -0,0 +1,294 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * BufferedImagePool.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pool of off-screen images for a {@link ChartRenderingService}.  The
+ * images are grouped into buckets by type and by size (rounded up to a
+ * multiple of {@link #BUCKET_SIZE} pixels), so that a request for an image
+ * can be satisfied by any pooled image in the same bucket: the caller draws
+ * into (and encodes) the top left corner of the image only.  Each pooled
+ * image keeps the {@code Graphics2D} that was created for it, and each use
+ * of the image gets a fresh copy of that graphics context, so no state
+ * (transform, clip, composite, hints and so on) leaks from one use to the
+ * next.  The pool retains images up to a maximum number of bytes.
+ * <p>
+ * This class is thread-safe.
+ */
+final class BufferedImagePool {
+
+    /** The image sizes are rounded up to a multiple of this value. */
+    static final int BUCKET_SIZE = 64;
+
+    /** The transparent color used to clear an image. */
+    private static final Color CLEAR = new Color(0, 0, 0, 0);
+
+    /** The pooled images, keyed on bucket. */
+    private final Map<Long, ArrayDeque<PooledImage>> buckets;
+
+    /** The rendering hints for new graphics contexts. */
+    private final RenderingHints hints;
+
+    /** The maximum number of bytes retained by the pool. */
+    private final long maximumBytes;
+
+    /** The number of bytes retained by the pool. */
+    private long retainedBytes;
+
+    /** The number of requests satisfied by a pooled image. */
+    private long hitCount;
+
+    /** The number of requests that created a new image. */
+    private long missCount;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maximumBytes  the maximum number of bytes (approximately) that
+     *     are retained in the pool.
+     * @param hints  the rendering hints for new graphics contexts
+     *     ({@code null} permitted).
+     */
+    BufferedImagePool(long maximumBytes, RenderingHints hints) {
+        this.buckets = new HashMap<>();
+        this.maximumBytes = maximumBytes;
+        this.hints = hints;
+    }
+
+    /**
+     * Returns the number of bytes retained by the pool.
+     *
+     * @return The number of bytes.
+     */
+    synchronized long getRetainedBytes() {
+        return this.retainedBytes;
+    }
+
+    /**
+     * Returns the number of requests that were satisfied by a pooled image.
+     *
+     * @return The hit count.
+     */
+    synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns the number of requests that created a new image.
+     *
+     * @return The miss count.
+     */
+    synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Returns the key for a bucket.
+     *
+     * @param width  the bucket width.
+     * @param height  the bucket height.
+     * @param imageType  the image type.
+     *
+     * @return The key.
+     */
+    private static Long key(int width, int height, int imageType) {
+        return ((long) imageType << 48) | ((long) width << 24) | height;
+    }
+
+    /**
+     * Rounds a size up to a multiple of the bucket size.
+     *
+     * @param size  the size.
+     *
+     * @return The bucket size.
+     */
+    private static int bucket(int size) {
+        return ((size + BUCKET_SIZE - 1) / BUCKET_SIZE) * BUCKET_SIZE;
+    }
+
+    /**
+     * Returns an image that is at least as large as the requested size,
+     * taken from the pool if possible.  The image should be returned to the
+     * pool with {@link #release(PooledImage)} when it is no longer needed.
+     *
+     * @param width  the width.
+     * @param height  the height.
+     * @param imageType  the image type (for example
+     *     {@code BufferedImage.TYPE_INT_ARGB}).
+     *
+     * @return The image.
+     */
+    PooledImage acquire(int width, int height, int imageType) {
+        int bw = bucket(width);
+        int bh = bucket(height);
+        synchronized (this) {
+            ArrayDeque<PooledImage> images = this.buckets.get(
+                    key(bw, bh, imageType));
+            if (images != null && !images.isEmpty()) {
+                PooledImage result = images.pop();
+                this.retainedBytes -= result.getBytes();
+                this.hitCount++;
+                return result;
+            }
+            this.missCount++;
+        }
+        return new PooledImage(new BufferedImage(bw, bh, imageType),
+                this.hints);
+    }
+
+    /**
+     * Returns an image to the pool.  If the pool is full the image is
+     * discarded.
+     *
+     * @param image  the image.
+     */
+    void release(PooledImage image) {
+        synchronized (this) {
+            if (this.retainedBytes + image.getBytes() <= this.maximumBytes) {
+                BufferedImage bi = image.image;
+                this.buckets.computeIfAbsent(key(bi.getWidth(),
+                        bi.getHeight(), bi.getType()),
+                        k -> new ArrayDeque<>()).push(image);
+                this.retainedBytes += image.getBytes();
+                return;
+            }
+        }
+        image.graphics.dispose();
+    }
+
+    /**
+     * Discards all the pooled images.
+     */
+    void clear() {
+        synchronized (this) {
+            for (ArrayDeque<PooledImage> images : this.buckets.values()) {
+                for (PooledImage image : images) {
+                    image.graphics.dispose();
+                }
+            }
+            this.buckets.clear();
+            this.retainedBytes = 0L;
+        }
+    }
+
+    /**
+     * An image from the pool, with its graphics context.
+     */
+    static final class PooledImage {
+
+        /** The image. */
+        private final BufferedImage image;
+
+        /** The graphics context for the image (never drawn on directly). */
+        private final Graphics2D graphics;
+
+        /**
+         * Creates a new pooled image.
+         *
+         * @param image  the image.
+         * @param hints  the rendering hints ({@code null} permitted).
+         */
+        private PooledImage(BufferedImage image, RenderingHints hints) {
+            this.image = image;
+            this.graphics = image.createGraphics();
+            if (hints != null) {
+                this.graphics.setRenderingHints(hints);
+            }
+        }
+
+        /**
+         * Returns the approximate number of bytes used by the image.
+         *
+         * @return The number of bytes.
+         */
+        long getBytes() {
+            return 4L * this.image.getWidth() * this.image.getHeight();
+        }
+
+        /**
+         * Returns an image of the requested size that shares its pixels
+         * with the pooled image.
+         *
+         * @param width  the width (not larger than the pooled image).
+         * @param height  the height (not larger than the pooled image).
+         *
+         * @return The image.
+         */
+        BufferedImage getImage(int width, int height) {
+            if (width == this.image.getWidth()
+                    && height == this.image.getHeight()) {
+                return this.image;
+            }
+            return this.image.getSubimage(0, 0, width, height);
+        }
+
+        /**
+         * Clears the top left corner of the image (to transparent black, or
+         * black for an image without alpha, as for a new image) and returns
+         * a new graphics context for the image.  The caller should dispose
+         * of the graphics context.
+         *
+         * @param width  the width.
+         * @param height  the height.
+         *
+         * @return The graphics context.
+         */
+        Graphics2D createGraphics(int width, int height) {
+            Graphics2D g2 = (Graphics2D) this.graphics.create();
+            Composite savedComposite = g2.getComposite();
+            Color savedColor = g2.getColor();
+            g2.setComposite(AlphaComposite.Src);
+            g2.setColor(CLEAR);
+            g2.fillRect(0, 0, width, height);
+            g2.setComposite(savedComposite);
+            g2.setColor(savedColor);
+            return g2;
+        }
+
+    }
+
+}
@@ -36,8 +36,11 @@
 
 package se.malmin.chart;
 
+import java.util.List;
 import java.util.Map;
 
+import se.malmin.chart.ui.Layer;
+
 /**
  * Special rendering hints that can be used internally by JFreeChart or by
  * specialised implementations of the {@code Graphics2D} API.  For example,
@@ -62,6 +65,31 @@ public final class ChartHints {
      * The key for a hint that ends an element.
      */
     public static final Key KEY_END_ELEMENT = new ChartHints.Key(1);
+
+    /**
+     * The key for a hint that restricts drawing to one layer of a chart, so
+     * that a caller can cache the layers in separate images.  The value
+     * should be {@link Layer#BACKGROUND} to draw everything except the items
+     * in front of the data (crosshairs, foreground markers and the plot
+     * outline), {@link Layer#FOREGROUND} to draw only those items, or
+     * {@code null} to draw the complete chart.  The hint is recognised by
+     * {@link se.malmin.chart.plot.XYPlot} and its subclasses, other plots
+     * ignore it.
+     */
+    public static final Key KEY_DRAW_LAYER = new ChartHints.Key(2);
+
+    /**
+     * The key for a hint that restricts the data items that are rendered to
+     * the items near one or more windows along the domain axis, so that a
+     * caller can redraw part of the data area (within a clip) without
+     * processing every item.  The value should be a {@code List} of
+     * {@link se.malmin.data.Range} instances, each one giving the lower and
+     * upper Java2D coordinates of a window in the direction of the domain
+     * axis (including any margin needed for the item shapes), or
+     * {@code null} to render all the items.  The hint is recognised by
+     * {@link se.malmin.chart.plot.XYPlot}, other plots ignore it.
+     */
+    public static final Key KEY_DOMAIN_WINDOWS = new ChartHints.Key(3);
     
     /**
      * A key for rendering hints that can be used with JFreeChart (in 
@@ -94,6 +122,10 @@ public final class ChartHints {
                             || val instanceof Map;
                 case 1:
                     return val == null || val instanceof Object;
+                case 2:
+                    return val == null || val instanceof Layer;
+                case 3:
+                    return val == null || val instanceof List;
                 default:
                     throw new RuntimeException("Not possible!");
             }
@@ -111,6 +111,7 @@ import se.malmin.chart.editor.ChartEditorManager;
 import se.malmin.chart.entity.ChartEntity;
 import se.malmin.chart.entity.EntityCollection;
 import se.malmin.chart.event.ChartChangeEvent;
+import se.malmin.chart.event.ChartChangeEventType;
 import se.malmin.chart.event.ChartChangeListener;
 import se.malmin.chart.event.ChartProgressEvent;
 import se.malmin.chart.event.ChartProgressListener;
@@ -121,10 +122,13 @@ import se.malmin.chart.plot.Pannable;
 import se.malmin.chart.plot.Plot;
 import se.malmin.chart.plot.PlotOrientation;
 import se.malmin.chart.plot.PlotRenderingInfo;
+import se.malmin.chart.plot.XYPlot;
 import se.malmin.chart.plot.Zoomable;
+import se.malmin.chart.ui.Layer;
 import se.malmin.chart.util.Args;
 import se.malmin.chart.util.ResourceBundleWrapper;
 import se.malmin.chart.util.SerialUtils;
+import se.malmin.data.Range;
 
 /**
  * A Swing GUI component for displaying a {@link JFreeChart} object.
@@ -240,6 +244,30 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
     /** The width of the chart buffer. */
     private int chartBufferWidth;
 
+    /**
+     * A buffer for the plot foreground (crosshairs, foreground markers and
+     * the plot outline), used when the plot can draw its foreground
+     * separately so that changes to the foreground do not require the data
+     * to be redrawn.
+     */
+    private transient Image foregroundBuffer;
+
+    /** A flag that indicates that the foreground buffer should be refreshed. */
+    private boolean refreshForegroundBuffer;
+
+    /**
+     * A flag that controls whether or not the chart buffer is refreshed
+     * incrementally when possible.
+     */
+    private boolean incrementalRepaint;
+
+    /**
+     * Tracks the changes to the chart so that the chart buffer can be
+     * refreshed incrementally ({@code null} if incremental repaints are
+     * disabled).
+     */
+    private transient IncrementalRepaint repaintTracker;
+
     /**
      * The minimum width for drawing a chart (uses scaling for smaller widths).
      */
@@ -650,6 +678,9 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
         if (this.useBuffer) {
             this.refreshBuffer = true;
         }
+        if (this.repaintTracker != null) {
+            this.repaintTracker.invalidate();
+        }
         repaint();
 
     }
@@ -1336,6 +1367,47 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
      */
     public void setRefreshBuffer(boolean flag) {
         this.refreshBuffer = flag;
+        if (flag && this.repaintTracker != null) {
+            this.repaintTracker.invalidate();
+        }
+    }
+
+    /**
+     * Returns the flag that controls whether or not the chart buffer is
+     * refreshed incrementally when possible.
+     *
+     * @return A boolean.
+     *
+     * @see #setIncrementalRepaint(boolean)
+     */
+    public boolean isIncrementalRepaint() {
+        return this.incrementalRepaint;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the chart buffer is
+     * refreshed incrementally when possible.  This is intended for live
+     * charts where items are appended to the series in an {@link XYPlot}
+     * (and, typically, removed from the front) while the domain axis
+     * scrolls: when the only changes since the last refresh are such
+     * changes and the domain axis has moved by a whole number of pixels,
+     * the content of the buffer is shifted and only the newly exposed strip
+     * and the strips around the changed items are redrawn.  Any other
+     * change leads to a full redraw.  The flag has no effect unless the
+     * panel uses an off-screen buffer, and item entities are only retained
+     * if the plot creates them lazily (see
+     * {@link XYPlot#setLazyEntities(boolean)}).
+     *
+     * @param flag  the new flag value.
+     *
+     * @see #isIncrementalRepaint()
+     */
+    public void setIncrementalRepaint(boolean flag) {
+        if (flag == this.incrementalRepaint) {
+            return;
+        }
+        this.incrementalRepaint = flag;
+        this.repaintTracker = flag ? new IncrementalRepaint() : null;
     }
 
     /**
@@ -1405,6 +1477,10 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
             final int scaledWidth = (int) (available.getWidth() * globalScaleX);
             final int scaledHeight = (int) (available.getHeight() * globalScaleY);
 
+            // an XYPlot can draw the items in front of the data separately, in
+            // which case they are cached in a second buffer
+            boolean layered = this.chart.getPlot() instanceof XYPlot;
+
             // do we need to resize the buffer?
             if ((this.chartBuffer == null)
                     || (this.chartBufferWidth != scaledWidth)
@@ -1416,47 +1492,74 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
                 this.chartBuffer = gc.createCompatibleImage(
                         this.chartBufferWidth, this.chartBufferHeight,
                         Transparency.TRANSLUCENT);
+                this.foregroundBuffer = null;
                 this.refreshBuffer = true;
+                if (this.repaintTracker != null) {
+                    this.repaintTracker.invalidate();
+                }
+            }
+            if (layered && this.foregroundBuffer == null) {
+                GraphicsConfiguration gc = g2.getDeviceConfiguration();
+                this.foregroundBuffer = gc.createCompatibleImage(
+                        this.chartBufferWidth, this.chartBufferHeight,
+                        Transparency.TRANSLUCENT);
+                this.refreshForegroundBuffer = true;
+            }
+            else if (!layered) {
+                this.foregroundBuffer = null;
+                if (this.refreshForegroundBuffer) {
+                    this.refreshBuffer = true;
+                }
             }
 
             // do we need to redraw the buffer?
             if (this.refreshBuffer) {
-
                 this.refreshBuffer = false; // clear the flag
-
-                // scale graphics of the buffer to the same value as global 
-                // Swing graphics - this allow to paint all elements as usual 
-                // but applies all necessary smoothing
-                Graphics2D bufferG2 = (Graphics2D) this.chartBuffer.getGraphics();
-                bufferG2.scale(globalScaleX, globalScaleY);
-
-                Rectangle2D bufferArea = new Rectangle2D.Double(
-                        0, 0, available.getWidth(), available.getHeight());
-
-                // make the background of the buffer clear and transparent
-                Composite savedComposite = bufferG2.getComposite();
-                bufferG2.setComposite(AlphaComposite.getInstance(AlphaComposite.CLEAR, 0.0f));
-                Rectangle r = new Rectangle(0, 0, (int) available.getWidth(), (int) available.getHeight());
-                bufferG2.fill(r);
-                bufferG2.setComposite(savedComposite);
-                
-                if (scale) {
-                    AffineTransform saved = bufferG2.getTransform();
-                    AffineTransform st = AffineTransform.getScaleInstance(
-                            this.scaleX, this.scaleY);
-                    bufferG2.transform(st);
-                    this.chart.draw(bufferG2, chartArea, this.anchor,
-                            this.info);
-                    bufferG2.setTransform(saved);
-                } else {
-                    this.chart.draw(bufferG2, bufferArea, this.anchor,
+                this.refreshForegroundBuffer = layered;
+                Layer layer = layered ? Layer.BACKGROUND : null;
+                IncrementalRepaint ir = this.repaintTracker;
+                if (ir == null) {
+                    paintBuffer(this.chartBuffer, layer, null, available,
+                            chartArea, scale, globalScaleX, globalScaleY,
+                            this.anchor, this.info);
+                }
+                else {
+                    double sx = globalScaleX * (scale ? this.scaleX : 1.0);
+                    double sy = globalScaleY * (scale ? this.scaleY : 1.0);
+                    Image target = ir.prepare(this.chart, this.anchor,
+                            this.info, this.chartBuffer,
+                            g2.getDeviceConfiguration(), sx, sy);
+                    paintBuffer(target != null ? target : this.chartBuffer,
+                            layer, ir.getWindows(), available, chartArea,
+                            scale, globalScaleX, globalScaleY, this.anchor,
                             this.info);
+                    if (!ir.finish(this.chart, this.info, this.chartBuffer,
+                            sx, sy)) {
+                        // the layout changed, so redraw the whole chart
+                        paintBuffer(this.chartBuffer, layer, null, available,
+                                chartArea, scale, globalScaleX, globalScaleY,
+                                this.anchor, this.info);
+                        ir.finish(this.chart, this.info, this.chartBuffer, sx,
+                                sy);
+                    }
                 }
-                bufferG2.dispose();
+            }
+            if (this.refreshForegroundBuffer) {
+                // the layout is unchanged, so the rendering info from the
+                // last refresh of the chart buffer is still valid
+                this.refreshForegroundBuffer = false;
+                paintBuffer(this.foregroundBuffer, Layer.FOREGROUND, null,
+                        available, chartArea, scale, globalScaleX,
+                        globalScaleY, null, null);
             }
 
             // zap the buffer onto the panel...
             g2.drawImage(this.chartBuffer, insets.left, insets.top, (int) available.getWidth(), (int) available.getHeight(), this);
+            if (layered) {
+                g2.drawImage(this.foregroundBuffer, insets.left, insets.top,
+                        (int) available.getWidth(),
+                        (int) available.getHeight(), this);
+            }
             g2.addRenderingHints(this.chart.getRenderingHints()); // bug#187
 
         } else { // redrawing the chart every time...
@@ -1488,14 +1591,80 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
         this.horizontalTraceLine = null;
     }
 
+    /**
+     * Draws the chart (or one layer of the chart) into an off-screen buffer.
+     *
+     * @param buffer  the buffer.
+     * @param layer  the layer to draw ({@code null} for the complete chart).
+     * @param windows  the windows for the
+     *     {@link ChartHints#KEY_DOMAIN_WINDOWS} hint ({@code null}
+     *     permitted).
+     * @param available  the area available for the chart in the panel.
+     * @param chartArea  the area for the chart when it is scaled.
+     * @param scale  a flag that indicates whether the chart is scaled.
+     * @param globalScaleX  the x-scale for the display (HiDPI).
+     * @param globalScaleY  the y-scale for the display (HiDPI).
+     * @param anchor  the anchor point ({@code null} permitted).
+     * @param info  the rendering info ({@code null} permitted).
+     */
+    private void paintBuffer(Image buffer, Layer layer, List<Range> windows,
+            Rectangle2D available,
+            Rectangle2D chartArea, boolean scale, double globalScaleX,
+            double globalScaleY, Point2D anchor, ChartRenderingInfo info) {
+
+        // scale graphics of the buffer to the same value as global 
+        // Swing graphics - this allow to paint all elements as usual 
+        // but applies all necessary smoothing
+        Graphics2D bufferG2 = (Graphics2D) buffer.getGraphics();
+        bufferG2.scale(globalScaleX, globalScaleY);
+        if (layer != null) {
+            bufferG2.setRenderingHint(ChartHints.KEY_DRAW_LAYER, layer);
+        }
+        if (windows != null) {
+            bufferG2.setRenderingHint(ChartHints.KEY_DOMAIN_WINDOWS, windows);
+        }
+
+        Rectangle2D bufferArea = new Rectangle2D.Double(
+                0, 0, available.getWidth(), available.getHeight());
+
+        // make the background of the buffer clear and transparent
+        Composite savedComposite = bufferG2.getComposite();
+        bufferG2.setComposite(AlphaComposite.getInstance(AlphaComposite.CLEAR, 0.0f));
+        Rectangle r = new Rectangle(0, 0, (int) available.getWidth(), (int) available.getHeight());
+        bufferG2.fill(r);
+        bufferG2.setComposite(savedComposite);
+        
+        if (scale) {
+            AffineTransform saved = bufferG2.getTransform();
+            AffineTransform st = AffineTransform.getScaleInstance(
+                    this.scaleX, this.scaleY);
+            bufferG2.transform(st);
+            this.chart.draw(bufferG2, chartArea, anchor, info);
+            bufferG2.setTransform(saved);
+        } else {
+            this.chart.draw(bufferG2, bufferArea, anchor, info);
+        }
+        bufferG2.dispose();
+    }
+
     /**
      * Receives notification of changes to the chart, and redraws the chart.
+     * A change of type {@link ChartChangeEventType#FOREGROUND_UPDATED} only
+     * refreshes the foreground buffer (if there is one).
      *
      * @param event  details of the chart change event.
      */
     @Override
     public void chartChanged(ChartChangeEvent event) {
-        this.refreshBuffer = true;
+        if (this.repaintTracker != null) {
+            this.repaintTracker.chartChanged(event);
+        }
+        if (ChartChangeEventType.FOREGROUND_UPDATED.equals(event.getType())) {
+            this.refreshForegroundBuffer = true;
+        }
+        else {
+            this.refreshBuffer = true;
+        }
         Plot plot = this.chart.getPlot();
         if (plot instanceof Zoomable) {
             Zoomable z = (Zoomable) plot;
@@ -3149,6 +3318,9 @@ public class ChartPanel extends JPanel implements ChartChangeListener,
 
         // we create a new but empty chartMouseListeners list
         this.chartMouseListeners = new EventListenerList();
+        if (this.incrementalRepaint) {
+            this.repaintTracker = new IncrementalRepaint();
+        }
 
         // register as a listener with sub-components...
         if (this.chart != null) {
@@ -0,0 +1,186 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * ChartRenderJob.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart;
+
+import se.malmin.chart.encoders.ImageFormat;
+import se.malmin.chart.util.Args;
+
+/**
+ * A request to render a chart to an encoded image, for use with a
+ * {@link ChartRenderingService}.  Instances of this class are immutable.
+ */
+public final class ChartRenderJob {
+
+    /** The chart. */
+    private final JFreeChart chart;
+
+    /** The image width. */
+    private final int width;
+
+    /** The image height. */
+    private final int height;
+
+    /** The image format (see {@link ImageFormat}). */
+    private final String format;
+
+    /** The encoding quality (used for JPEG images). */
+    private final float quality;
+
+    /** A flag that controls whether alpha transparency is encoded. */
+    private final boolean encodeAlpha;
+
+    /** A flag that controls whether chart rendering info is collected. */
+    private final boolean collectInfo;
+
+    /**
+     * Creates a new job.  The image is encoded with the default quality,
+     * without alpha transparency, and no rendering info is collected.
+     *
+     * @param chart  the chart ({@code null} not permitted).
+     * @param width  the image width (must be positive).
+     * @param height  the image height (must be positive).
+     * @param format  the image format ({@link ImageFormat#PNG} or
+     *     {@link ImageFormat#JPEG}, {@code null} not permitted).
+     */
+    public ChartRenderJob(JFreeChart chart, int width, int height,
+            String format) {
+        this(chart, width, height, format, 0.95f, false, false);
+    }
+
+    /**
+     * Creates a new job.
+     *
+     * @param chart  the chart ({@code null} not permitted).
+     * @param width  the image width (must be positive).
+     * @param height  the image height (must be positive).
+     * @param format  the image format ({@link ImageFormat#PNG} or
+     *     {@link ImageFormat#JPEG}, {@code null} not permitted).
+     * @param quality  the encoding quality (used for JPEG images only, in
+     *     the range 0.0 to 1.0).
+     * @param encodeAlpha  encode alpha transparency (PNG images only)?
+     * @param collectInfo  collect the {@link ChartRenderingInfo} (including
+     *     the chart entities) for the job?
+     */
+    public ChartRenderJob(JFreeChart chart, int width, int height,
+            String format, float quality, boolean encodeAlpha,
+            boolean collectInfo) {
+        Args.nullNotPermitted(chart, "chart");
+        Args.nullNotPermitted(format, "format");
+        if (width <= 0) {
+            throw new IllegalArgumentException("Requires 'width' > 0.");
+        }
+        if (height <= 0) {
+            throw new IllegalArgumentException("Requires 'height' > 0.");
+        }
+        if (!(quality >= 0.0f && quality <= 1.0f)) {
+            throw new IllegalArgumentException(
+                    "Requires 'quality' in the range 0.0 to 1.0.");
+        }
+        this.chart = chart;
+        this.width = width;
+        this.height = height;
+        this.format = format;
+        this.quality = quality;
+        this.encodeAlpha = encodeAlpha;
+        this.collectInfo = collectInfo;
+    }
+
+    /**
+     * Returns the chart.
+     *
+     * @return The chart (never {@code null}).
+     */
+    public JFreeChart getChart() {
+        return this.chart;
+    }
+
+    /**
+     * Returns the image width.
+     *
+     * @return The width.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the image height.
+     *
+     * @return The height.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the image format.
+     *
+     * @return The format (never {@code null}).
+     */
+    public String getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Returns the encoding quality.
+     *
+     * @return The quality.
+     */
+    public float getQuality() {
+        return this.quality;
+    }
+
+    /**
+     * Returns the flag that controls whether alpha transparency is encoded.
+     *
+     * @return A boolean.
+     */
+    public boolean isEncodeAlpha() {
+        return this.encodeAlpha;
+    }
+
+    /**
+     * Returns the flag that controls whether the {@link ChartRenderingInfo}
+     * is collected for the job.
+     *
+     * @return A boolean.
+     */
+    public boolean isCollectInfo() {
+        return this.collectInfo;
+    }
+
+}
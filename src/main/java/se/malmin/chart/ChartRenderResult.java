@@ -0,0 +1,155 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * ChartRenderResult.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart;
+
+/**
+ * The result of a {@link ChartRenderJob} that has been completed by a
+ * {@link ChartRenderingService}.  The times are measured with
+ * {@code System.nanoTime()}.
+ */
+public final class ChartRenderResult {
+
+    /** The job. */
+    private final ChartRenderJob job;
+
+    /** The encoded image. */
+    private final byte[] data;
+
+    /** The rendering info ({@code null} if it was not collected). */
+    private final ChartRenderingInfo info;
+
+    /** The time the job waited in the queue (in nanoseconds). */
+    private final long queueTime;
+
+    /** The time taken to draw the chart (in nanoseconds). */
+    private final long drawTime;
+
+    /** The time taken to encode the image (in nanoseconds). */
+    private final long encodeTime;
+
+    /**
+     * Creates a new result.
+     *
+     * @param job  the job.
+     * @param data  the encoded image.
+     * @param info  the rendering info ({@code null} permitted).
+     * @param queueTime  the time the job waited in the queue (in
+     *     nanoseconds).
+     * @param drawTime  the time taken to draw the chart (in nanoseconds).
+     * @param encodeTime  the time taken to encode the image (in
+     *     nanoseconds).
+     */
+    ChartRenderResult(ChartRenderJob job, byte[] data,
+            ChartRenderingInfo info, long queueTime, long drawTime,
+            long encodeTime) {
+        this.job = job;
+        this.data = data;
+        this.info = info;
+        this.queueTime = queueTime;
+        this.drawTime = drawTime;
+        this.encodeTime = encodeTime;
+    }
+
+    /**
+     * Returns the job.
+     *
+     * @return The job (never {@code null}).
+     */
+    public ChartRenderJob getJob() {
+        return this.job;
+    }
+
+    /**
+     * Returns the encoded image.  The array is not copied, so the caller
+     * should not modify it.
+     *
+     * @return The encoded image (never {@code null}).
+     */
+    public byte[] getData() {
+        return this.data;
+    }
+
+    /**
+     * Returns the rendering info for the job.
+     *
+     * @return The rendering info ({@code null} unless the job requested it).
+     *
+     * @see ChartRenderJob#isCollectInfo()
+     */
+    public ChartRenderingInfo getInfo() {
+        return this.info;
+    }
+
+    /**
+     * Returns the time the job waited in the queue before a worker thread
+     * started it.
+     *
+     * @return The time (in nanoseconds).
+     */
+    public long getQueueTime() {
+        return this.queueTime;
+    }
+
+    /**
+     * Returns the time taken to draw the chart.
+     *
+     * @return The time (in nanoseconds).
+     */
+    public long getDrawTime() {
+        return this.drawTime;
+    }
+
+    /**
+     * Returns the time taken to encode the image.
+     *
+     * @return The time (in nanoseconds).
+     */
+    public long getEncodeTime() {
+        return this.encodeTime;
+    }
+
+    /**
+     * Returns the total time from the submission of the job to its
+     * completion.
+     *
+     * @return The time (in nanoseconds).
+     */
+    public long getLatency() {
+        return this.queueTime + this.drawTime + this.encodeTime;
+    }
+
+}
@@ -0,0 +1,370 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * ChartRenderingService.java
+ * --------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import se.malmin.chart.encoders.EncoderUtil;
+import se.malmin.chart.encoders.ImageFormat;
+import se.malmin.chart.util.Args;
+
+/**
+ * A service that renders charts to encoded images (PNG or JPEG) on a fixed
+ * pool of worker threads, for use in servers that generate many chart
+ * images.  Compared with {@link ChartUtils#writeChartAsPNG(java.io.OutputStream,
+ * JFreeChart, int, int)} the service:
+ * <ul>
+ * <li>draws several charts at the same time, with a bounded queue for jobs
+ * that are waiting (when the queue is full {@link #submit(ChartRenderJob)}
+ * throws a {@code RejectedExecutionException}, so that the caller can
+ * apply back pressure);</li>
+ * <li>reuses off-screen images (and their graphics setup) from a pool that
+ * groups images by size, instead of allocating a new image for each
+ * chart;</li>
+ * <li>serializes the jobs for a chart: a {@link JFreeChart} is not safe
+ * to draw from more than one thread at a time, so the jobs for the same
+ * chart instance are drawn one at a time (while holding the lock on the
+ * chart) and each job gets its own graphics context and rendering info;</li>
+ * <li>records statistics (queue depth, latency percentiles and throughput)
+ * that are available from {@link #getStatistics()}.</li>
+ * </ul>
+ * The service does not copy the charts, so the isolation between jobs is
+ * limited to the lock on the chart.  In particular:
+ * <ul>
+ * <li>code that changes a chart (or its plot, renderers and axes) while the
+ * service may be drawing it must synchronize on the chart as well;</li>
+ * <li>a dataset that is shared by several charts is read by jobs for those
+ * charts at the same time, so it must not be changed while jobs are pending
+ * (unless the dataset itself is thread safe);</li>
+ * <li>each job should refer to a chart that is not displayed in a
+ * {@link se.malmin.chart.ChartPanel}, since the panel draws its chart on the
+ * event dispatch thread without locking.</li>
+ * </ul>
+ * Callers that need stronger isolation can submit a clone of the chart
+ * (and of its datasets) for each job.
+ */
+public class ChartRenderingService implements AutoCloseable {
+
+    /** The number of recent jobs used for the latency statistics. */
+    public static final int LATENCY_SAMPLE_SIZE = 1024;
+
+    /** The default maximum size of the image pool (in bytes). */
+    public static final long DEFAULT_IMAGE_POOL_SIZE = 64L * 1024L * 1024L;
+
+    /** A counter used to name the services. */
+    private static final AtomicInteger SERVICE_COUNT = new AtomicInteger();
+
+    /** The executor for the jobs. */
+    private final ThreadPoolExecutor executor;
+
+    /** The image pool. */
+    private final BufferedImagePool imagePool;
+
+    /** The number of jobs accepted. */
+    private final AtomicLong submittedCount;
+
+    /** The number of jobs rejected. */
+    private final AtomicLong rejectedCount;
+
+    /** The number of jobs that failed. */
+    private final AtomicLong failedCount;
+
+    /** The number of jobs completed. */
+    private long completedCount;
+
+    /** The latencies of the recent jobs (in nanoseconds). */
+    private final long[] latencies;
+
+    /** The completion times of the recent jobs (from System.nanoTime()). */
+    private final long[] completionTimes;
+
+    /**
+     * Creates a new service with one worker thread per available processor
+     * and a queue that holds up to four jobs per thread.
+     */
+    public ChartRenderingService() {
+        this(Runtime.getRuntime().availableProcessors(),
+                4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new service.
+     *
+     * @param threadCount  the number of worker threads (must be positive).
+     * @param queueCapacity  the maximum number of jobs waiting for a worker
+     *     thread (must be positive).
+     */
+    public ChartRenderingService(int threadCount, int queueCapacity) {
+        this(threadCount, queueCapacity, DEFAULT_IMAGE_POOL_SIZE, null);
+    }
+
+    /**
+     * Creates a new service.
+     *
+     * @param threadCount  the number of worker threads (must be positive).
+     * @param queueCapacity  the maximum number of jobs waiting for a worker
+     *     thread (must be positive).
+     * @param imagePoolSize  the maximum number of bytes retained by the
+     *     image pool (zero disables pooling).
+     * @param hints  rendering hints that are set on each graphics context
+     *     before the chart is drawn ({@code null} permitted, the chart's own
+     *     rendering hints are applied afterwards).
+     */
+    public ChartRenderingService(int threadCount, int queueCapacity,
+            long imagePoolSize, RenderingHints hints) {
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Requires 'threadCount' > 0.");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Requires 'queueCapacity' > 0.");
+        }
+        Args.requireNonNegative(imagePoolSize, "imagePoolSize");
+        String prefix = "ChartRenderingService-"
+                + SERVICE_COUNT.incrementAndGet() + "-";
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread thread = new Thread(r, prefix
+                    + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(threadCount, threadCount,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory);
+        this.imagePool = new BufferedImagePool(imagePoolSize,
+                hints != null ? (RenderingHints) hints.clone() : null);
+        this.submittedCount = new AtomicLong();
+        this.rejectedCount = new AtomicLong();
+        this.failedCount = new AtomicLong();
+        this.latencies = new long[LATENCY_SAMPLE_SIZE];
+        this.completionTimes = new long[LATENCY_SAMPLE_SIZE];
+    }
+
+    /**
+     * Submits a job for rendering.
+     *
+     * @param job  the job ({@code null} not permitted).
+     *
+     * @return A future for the result.  If the job fails, {@code get()}
+     *     throws an {@code ExecutionException} with the cause of the
+     *     failure (for example, an {@code IOException} from the encoder).
+     *
+     * @throws RejectedExecutionException if the queue is full or the service
+     *     has been shut down.
+     */
+    public Future<ChartRenderResult> submit(ChartRenderJob job) {
+        Args.nullNotPermitted(job, "job");
+        long submitted = System.nanoTime();
+        try {
+            Future<ChartRenderResult> result = this.executor.submit(
+                    () -> execute(job, submitted));
+            this.submittedCount.incrementAndGet();
+            return result;
+        }
+        catch (RejectedExecutionException e) {
+            this.rejectedCount.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Renders a job on the current worker thread.
+     *
+     * @param job  the job.
+     * @param submitted  the time the job was submitted.
+     *
+     * @return The result.
+     *
+     * @throws IOException if there is a problem encoding the image.
+     */
+    private ChartRenderResult execute(ChartRenderJob job, long submitted)
+            throws IOException {
+        long started = System.nanoTime();
+        try {
+            int width = job.getWidth();
+            int height = job.getHeight();
+            boolean jpeg = ImageFormat.JPEG.equals(job.getFormat());
+            // JPEG has no alpha channel
+            BufferedImagePool.PooledImage pooled = this.imagePool.acquire(
+                    width, height, jpeg ? BufferedImage.TYPE_INT_RGB
+                    : BufferedImage.TYPE_INT_ARGB);
+            try {
+                BufferedImage image = pooled.getImage(width, height);
+                ChartRenderingInfo info = job.isCollectInfo()
+                        ? new ChartRenderingInfo() : null;
+                Graphics2D g2 = pooled.createGraphics(width, height);
+                try {
+                    JFreeChart chart = job.getChart();
+                    synchronized (chart) {
+                        chart.draw(g2, new Rectangle2D.Double(0, 0, width,
+                                height), null, info);
+                    }
+                }
+                finally {
+                    g2.dispose();
+                }
+                long drawn = System.nanoTime();
+                byte[] data;
+                if (jpeg) {
+                    data = EncoderUtil.encode(image, job.getFormat(),
+                            job.getQuality(), job.isEncodeAlpha());
+                }
+                else {
+                    // for PNG the quality is a compression level, use the
+                    // encoder's default
+                    data = EncoderUtil.encode(image, job.getFormat(),
+                            job.isEncodeAlpha());
+                }
+                long encoded = System.nanoTime();
+                recordCompletion(encoded, encoded - submitted);
+                return new ChartRenderResult(job, data, info,
+                        started - submitted, drawn - started,
+                        encoded - drawn);
+            }
+            finally {
+                this.imagePool.release(pooled);
+            }
+        }
+        catch (IOException | RuntimeException | Error e) {
+            this.failedCount.incrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Records the completion of a job.
+     *
+     * @param time  the completion time.
+     * @param latency  the latency (in nanoseconds).
+     */
+    private synchronized void recordCompletion(long time, long latency) {
+        int i = (int) (this.completedCount % LATENCY_SAMPLE_SIZE);
+        this.latencies[i] = latency;
+        this.completionTimes[i] = time;
+        this.completedCount++;
+    }
+
+    /**
+     * Returns a snapshot of the statistics for the service.
+     *
+     * @return The statistics (never {@code null}).
+     */
+    public ChartRenderingStatistics getStatistics() {
+        long completed;
+        long[] recent;
+        double throughput = 0.0;
+        synchronized (this) {
+            completed = this.completedCount;
+            int n = (int) Math.min(completed, LATENCY_SAMPLE_SIZE);
+            recent = Arrays.copyOf(this.latencies, n);
+            if (n > 1) {
+                int last = (int) ((completed - 1) % LATENCY_SAMPLE_SIZE);
+                int first = (int) ((completed - n) % LATENCY_SAMPLE_SIZE);
+                long elapsed = this.completionTimes[last]
+                        - this.completionTimes[first];
+                if (elapsed > 0) {
+                    throughput = (n - 1) * 1.0e9 / elapsed;
+                }
+            }
+        }
+        Arrays.sort(recent);
+        return new ChartRenderingStatistics(this.executor.getQueue().size(),
+                this.executor.getActiveCount(), this.submittedCount.get(),
+                completed, this.failedCount.get(), this.rejectedCount.get(),
+                recent, throughput, this.imagePool.getHitCount(),
+                this.imagePool.getMissCount());
+    }
+
+    /**
+     * Returns {@code true} if the service has been shut down.
+     *
+     * @return A boolean.
+     */
+    public boolean isShutdown() {
+        return this.executor.isShutdown();
+    }
+
+    /**
+     * Shuts down the service.  Jobs that have already been submitted are
+     * completed, but no new jobs are accepted.
+     */
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Blocks until all submitted jobs have completed after a shut down, or
+     * the timeout occurs.
+     *
+     * @param timeout  the maximum time to wait.
+     * @param unit  the time unit for the timeout.
+     *
+     * @return {@code true} if the service terminated and {@code false} if
+     *     the timeout elapsed.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return this.executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Shuts down the service and discards the pooled images.  Jobs that have
+     * already been submitted are still completed.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        this.imagePool.clear();
+    }
+
+}
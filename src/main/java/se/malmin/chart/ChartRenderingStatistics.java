@@ -0,0 +1,283 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------
+ * ChartRenderingStatistics.java
+ * -----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart;
+
+/**
+ * A snapshot of the statistics for a {@link ChartRenderingService}.  The
+ * latency percentiles and the throughput are calculated from the most
+ * recently completed jobs (see
+ * {@link ChartRenderingService#LATENCY_SAMPLE_SIZE}).  Instances of this
+ * class are immutable.
+ *
+ * @see ChartRenderingService#getStatistics()
+ */
+public final class ChartRenderingStatistics {
+
+    /** The number of jobs waiting in the queue. */
+    private final int queueDepth;
+
+    /** The number of jobs being rendered. */
+    private final int activeCount;
+
+    /** The number of jobs accepted by the service. */
+    private final long submittedCount;
+
+    /** The number of jobs that completed successfully. */
+    private final long completedCount;
+
+    /** The number of jobs that failed. */
+    private final long failedCount;
+
+    /** The number of jobs that were rejected because the queue was full. */
+    private final long rejectedCount;
+
+    /** The median latency (in milliseconds). */
+    private final double latency50;
+
+    /** The 90th percentile latency (in milliseconds). */
+    private final double latency90;
+
+    /** The 99th percentile latency (in milliseconds). */
+    private final double latency99;
+
+    /** The maximum latency (in milliseconds). */
+    private final double maximumLatency;
+
+    /** The throughput (in jobs per second). */
+    private final double throughput;
+
+    /** The number of image requests satisfied from the image pool. */
+    private final long imagePoolHitCount;
+
+    /** The number of image requests that created a new image. */
+    private final long imagePoolMissCount;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param queueDepth  the number of jobs waiting in the queue.
+     * @param activeCount  the number of jobs being rendered.
+     * @param submittedCount  the number of jobs accepted by the service.
+     * @param completedCount  the number of jobs that completed successfully.
+     * @param failedCount  the number of jobs that failed.
+     * @param rejectedCount  the number of jobs that were rejected.
+     * @param latencies  the recent latencies, sorted in ascending order (in
+     *     nanoseconds).
+     * @param throughput  the throughput (in jobs per second).
+     * @param imagePoolHitCount  the image pool hit count.
+     * @param imagePoolMissCount  the image pool miss count.
+     */
+    ChartRenderingStatistics(int queueDepth, int activeCount,
+            long submittedCount, long completedCount, long failedCount,
+            long rejectedCount, long[] latencies, double throughput,
+            long imagePoolHitCount, long imagePoolMissCount) {
+        this.queueDepth = queueDepth;
+        this.activeCount = activeCount;
+        this.submittedCount = submittedCount;
+        this.completedCount = completedCount;
+        this.failedCount = failedCount;
+        this.rejectedCount = rejectedCount;
+        this.latency50 = percentile(latencies, 0.50);
+        this.latency90 = percentile(latencies, 0.90);
+        this.latency99 = percentile(latencies, 0.99);
+        this.maximumLatency = percentile(latencies, 1.0);
+        this.throughput = throughput;
+        this.imagePoolHitCount = imagePoolHitCount;
+        this.imagePoolMissCount = imagePoolMissCount;
+    }
+
+    /**
+     * Returns a percentile (nearest rank) of the latencies, converted to
+     * milliseconds.
+     *
+     * @param sorted  the sorted latencies (in nanoseconds).
+     * @param p  the percentile (in the range 0.0 to 1.0).
+     *
+     * @return The latency in milliseconds ({@code Double.NaN} if there are
+     *     no latencies).
+     */
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1000000.0;
+    }
+
+    /**
+     * Returns the number of jobs waiting in the queue.
+     *
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        return this.queueDepth;
+    }
+
+    /**
+     * Returns the number of jobs being rendered.
+     *
+     * @return The number of active jobs.
+     */
+    public int getActiveCount() {
+        return this.activeCount;
+    }
+
+    /**
+     * Returns the number of jobs accepted by the service.
+     *
+     * @return The number of jobs.
+     */
+    public long getSubmittedCount() {
+        return this.submittedCount;
+    }
+
+    /**
+     * Returns the number of jobs that completed successfully.
+     *
+     * @return The number of jobs.
+     */
+    public long getCompletedCount() {
+        return this.completedCount;
+    }
+
+    /**
+     * Returns the number of jobs that failed with an exception.
+     *
+     * @return The number of jobs.
+     */
+    public long getFailedCount() {
+        return this.failedCount;
+    }
+
+    /**
+     * Returns the number of jobs that were rejected because the queue was
+     * full.
+     *
+     * @return The number of jobs.
+     */
+    public long getRejectedCount() {
+        return this.rejectedCount;
+    }
+
+    /**
+     * Returns the median latency (from submission to completion) of the
+     * recent jobs.
+     *
+     * @return The latency in milliseconds ({@code Double.NaN} if no jobs
+     *     have completed).
+     */
+    public double getLatency50() {
+        return this.latency50;
+    }
+
+    /**
+     * Returns the 90th percentile latency of the recent jobs.
+     *
+     * @return The latency in milliseconds ({@code Double.NaN} if no jobs
+     *     have completed).
+     */
+    public double getLatency90() {
+        return this.latency90;
+    }
+
+    /**
+     * Returns the 99th percentile latency of the recent jobs.
+     *
+     * @return The latency in milliseconds ({@code Double.NaN} if no jobs
+     *     have completed).
+     */
+    public double getLatency99() {
+        return this.latency99;
+    }
+
+    /**
+     * Returns the maximum latency of the recent jobs.
+     *
+     * @return The latency in milliseconds ({@code Double.NaN} if no jobs
+     *     have completed).
+     */
+    public double getMaximumLatency() {
+        return this.maximumLatency;
+    }
+
+    /**
+     * Returns the throughput of the recent jobs.
+     *
+     * @return The throughput in jobs per second.
+     */
+    public double getThroughput() {
+        return this.throughput;
+    }
+
+    /**
+     * Returns the number of image requests that were satisfied by a pooled
+     * image.
+     *
+     * @return The hit count.
+     */
+    public long getImagePoolHitCount() {
+        return this.imagePoolHitCount;
+    }
+
+    /**
+     * Returns the number of image requests that created a new image.
+     *
+     * @return The miss count.
+     */
+    public long getImagePoolMissCount() {
+        return this.imagePoolMissCount;
+    }
+
+    /**
+     * Returns a string describing the statistics.
+     *
+     * @return A string.
+     */
+    @Override
+    public String toString() {
+        return "ChartRenderingStatistics[queueDepth=" + this.queueDepth
+                + ", active=" + this.activeCount
+                + ", completed=" + this.completedCount
+                + ", failed=" + this.failedCount
+                + ", rejected=" + this.rejectedCount
+                + ", p50=" + this.latency50 + "ms"
+                + ", p90=" + this.latency90 + "ms"
+                + ", p99=" + this.latency99 + "ms"
+                + ", throughput=" + this.throughput + "/s]";
+    }
+
+}
@@ -0,0 +1,918 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * IncrementalRepaint.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.Transparency;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import se.malmin.chart.axis.DateAxis;
+import se.malmin.chart.axis.NumberAxis;
+import se.malmin.chart.axis.ValueAxis;
+import se.malmin.chart.event.ChartChangeEvent;
+import se.malmin.chart.event.ChartChangeEventType;
+import se.malmin.chart.event.PlotChangeEvent;
+import se.malmin.chart.plot.PlotOrientation;
+import se.malmin.chart.plot.PlotRenderingInfo;
+import se.malmin.chart.plot.XYPlot;
+import se.malmin.chart.renderer.xy.AbstractXYItemRenderer;
+import se.malmin.chart.renderer.xy.XYDotRenderer;
+import se.malmin.chart.renderer.xy.XYItemRenderer;
+import se.malmin.chart.renderer.xy.XYLineAndShapeRenderer;
+import se.malmin.chart.renderer.xy.XYShapeRenderer;
+import se.malmin.chart.ui.Layer;
+import se.malmin.chart.ui.RectangleEdge;
+import se.malmin.data.DomainOrder;
+import se.malmin.data.Range;
+import se.malmin.data.general.DatasetChangeEvent;
+import se.malmin.data.general.DatasetChangeInfo;
+import se.malmin.data.general.DatasetChangeType;
+import se.malmin.data.xy.XYDataset;
+
+/**
+ * Tracks the changes to a chart between refreshes of the chart buffer in a
+ * {@link ChartPanel}, so that the buffer can be updated incrementally when
+ * the only changes are items appended to (or removed from the front of) the
+ * series in an {@link XYPlot}, together with a shift of the domain axes by a
+ * whole number of device pixels.  In that case the existing content of the
+ * data area is shifted within the buffer and only the exposed strip and the
+ * strips around the changed items are redrawn.  Any other change, or a plot
+ * that draws something that would not survive the shift, leads to a full
+ * redraw.
+ * <p>
+ * The sequence for each refresh of the buffer is {@link #prepare}, then the
+ * chart is drawn into the returned image (with the windows from
+ * {@link #getWindows()} as the {@link ChartHints#KEY_DOMAIN_WINDOWS} hint),
+ * or into the buffer if there is no image, then {@link #finish}.
+ */
+final class IncrementalRepaint {
+
+    /**
+     * The maximum fraction of the data area that can be redrawn before an
+     * incremental update is no longer worthwhile.
+     */
+    private static final double MAX_DIRTY_FRACTION = 0.5;
+
+    /** The tolerance (in device pixels) for a whole-pixel shift. */
+    private static final double EPSILON = 1e-3;
+
+    /**
+     * The number of device pixels at each end of the data area (along the
+     * domain axis) that are always redrawn.
+     */
+    private static final int INSET = 2;
+
+    /** The extra margin (in Java2D units) around each changed item. */
+    private static final double EXTRA_MARGIN = 2.0;
+
+    /** The changes to each dataset (by series) since the last refresh. */
+    private final Map<XYDataset, Map<Integer, DatasetChangeInfo>> changes;
+
+    /** A flag that indicates that the next refresh must be a full redraw. */
+    private boolean invalid;
+
+    /** The plot at the last refresh ({@code null} if not supported). */
+    private XYPlot plot;
+
+    /** The data area at the last refresh. */
+    private Rectangle2D dataArea;
+
+    /** The device scale (x) at the last refresh. */
+    private double scaleX;
+
+    /** The device scale (y) at the last refresh. */
+    private double scaleY;
+
+    /** The plot orientation at the last refresh. */
+    private PlotOrientation orientation;
+
+    /** Copies of the domain axes at the last refresh. */
+    private ValueAxis[] domainAxes;
+
+    /** Copies of the range axes at the last refresh. */
+    private ValueAxis[] rangeAxes;
+
+    /** The windows for the current refresh ({@code null} if none). */
+    private List<Range> windows;
+
+    /**
+     * The regions of the scratch image to copy to the buffer for the
+     * current refresh (in device coordinates, {@code null} for a full
+     * redraw).
+     */
+    private List<Rectangle> regions;
+
+    /** The scratch image that the chart is drawn into. */
+    private Image scratch;
+
+    /**
+     * Creates a new instance that will do a full redraw on the first
+     * refresh.
+     */
+    IncrementalRepaint() {
+        this.changes = new IdentityHashMap<>();
+        this.invalid = true;
+    }
+
+    /**
+     * Forces a full redraw on the next refresh.
+     */
+    void invalidate() {
+        this.invalid = true;
+        this.changes.clear();
+    }
+
+    /**
+     * Records a change to the chart.  Changes that are not appends or
+     * removals from the front of a series invalidate the buffer, except for
+     * changes to the foreground (which is buffered separately) and axis
+     * changes (the axes are compared with their state at the last refresh
+     * in {@link #prepare}).
+     *
+     * @param event  the event ({@code null} not permitted).
+     */
+    void chartChanged(ChartChangeEvent event) {
+        ChartChangeEventType type = event.getType();
+        if (ChartChangeEventType.FOREGROUND_UPDATED.equals(type)) {
+            return;
+        }
+        if (event instanceof PlotChangeEvent
+                && ((PlotChangeEvent) event).getAxisChangeEvent() != null) {
+            return;
+        }
+        if (ChartChangeEventType.DATASET_UPDATED.equals(type)
+                && event instanceof PlotChangeEvent) {
+            DatasetChangeEvent e
+                    = ((PlotChangeEvent) event).getDatasetChangeEvent();
+            if (e != null && e.getDataset() instanceof XYDataset
+                    && record((XYDataset) e.getDataset(), e.getInfo())) {
+                return;
+            }
+        }
+        invalidate();
+    }
+
+    /**
+     * Records a change to a dataset, merging it with the earlier changes to
+     * the same series.
+     *
+     * @param dataset  the dataset.
+     * @param info  the change ({@code null} permitted).
+     *
+     * @return A boolean that indicates whether the change can be handled
+     *     incrementally.
+     */
+    private boolean record(XYDataset dataset, DatasetChangeInfo info) {
+        if (!isIncremental(info)) {
+            return false;
+        }
+        Map<Integer, DatasetChangeInfo> m = this.changes.computeIfAbsent(
+                dataset, k -> new HashMap<>());
+        DatasetChangeInfo previous = m.get(info.getSeries());
+        DatasetChangeInfo merged = previous == null ? info
+                : previous.merge(info);
+        if (!isIncremental(merged)) {
+            return false;
+        }
+        m.put(info.getSeries(), merged);
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if a change is an append, a scroll or a removal
+     * from the front of a single series.
+     *
+     * @param info  the change ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    private static boolean isIncremental(DatasetChangeInfo info) {
+        if (info == null || info.getSeries() < 0) {
+            return false;
+        }
+        DatasetChangeType type = info.getType();
+        return DatasetChangeType.APPEND.equals(type)
+                || DatasetChangeType.SCROLL.equals(type)
+                || (DatasetChangeType.REMOVE.equals(type)
+                && info.getFirstItem() == 0);
+    }
+
+    /**
+     * Returns the windows (in Java2D coordinates along the domain axis) that
+     * need to be redrawn for the current refresh, for use as the
+     * {@link ChartHints#KEY_DOMAIN_WINDOWS} hint.
+     *
+     * @return The windows ({@code null} for a full redraw).
+     */
+    List<Range> getWindows() {
+        return this.windows;
+    }
+
+    /**
+     * Prepares the buffer for a refresh.  If the changes since the last
+     * refresh can be handled incrementally, the content of the data area is
+     * shifted within the buffer and the method returns a scratch image that
+     * the chart should be drawn into (with the windows from
+     * {@link #getWindows()}), otherwise it returns {@code null} and the
+     * buffer must be redrawn in full.  The regions of the scratch image
+     * that are needed are copied to the buffer by {@link #finish}.  (The
+     * chart is not drawn into the buffer directly with a clip because the
+     * antialiasing of shapes drawn within a complex clip differs slightly
+     * from that of the same shapes drawn without it.)
+     *
+     * @param chart  the chart ({@code null} not permitted).
+     * @param anchor  the anchor point for the refresh ({@code null}
+     *     permitted).
+     * @param info  the rendering info for the refresh ({@code null}
+     *     permitted).
+     * @param buffer  the buffer ({@code null} not permitted).
+     * @param gc  the graphics configuration for the scratch image.
+     * @param scaleX  the scale from Java2D to device coordinates (x).
+     * @param scaleY  the scale from Java2D to device coordinates (y).
+     *
+     * @return The image to draw the chart into, or {@code null}.
+     */
+    Image prepare(JFreeChart chart, Point2D anchor, ChartRenderingInfo info,
+            Image buffer, GraphicsConfiguration gc, double scaleX,
+            double scaleY) {
+        this.windows = null;
+        this.regions = null;
+        if (this.invalid || this.plot == null || anchor != null
+                || chart.getPlot() != this.plot || scaleX != this.scaleX
+                || scaleY != this.scaleY
+                || this.plot.getOrientation() != this.orientation
+                || !isSupported(chart, info)) {
+            return null;
+        }
+        XYPlot p = this.plot;
+        Rectangle2D area = this.dataArea;
+        if (p.getRangeAxisCount() != this.rangeAxes.length
+                || p.getDomainAxisCount() != this.domainAxes.length) {
+            return null;
+        }
+        for (int i = 0; i < this.rangeAxes.length; i++) {
+            ValueAxis axis = p.getRangeAxis(i);
+            ValueAxis previous = this.rangeAxes[i];
+            if (axis == null || previous == null ? axis != previous
+                    : !previous.equals(normalize(axis, previous, false))) {
+                return null;
+            }
+        }
+
+        // the domain axes must all have moved by the same whole number of
+        // device pixels, with no other change
+        boolean vertical = this.orientation == PlotOrientation.VERTICAL;
+        double scale = vertical ? scaleX : scaleY;
+        double shift = Double.NaN;
+        for (int i = 0; i < this.domainAxes.length; i++) {
+            double d = getShift(p.getDomainAxis(i), this.domainAxes[i], area,
+                    p.getDomainAxisEdge(i), true);
+            if (Double.isNaN(d) || (!Double.isNaN(shift)
+                    && Math.abs(d - shift) * scale > EPSILON)) {
+                return null;
+            }
+            shift = d;
+        }
+        if (Double.isNaN(shift)) {
+            return null;
+        }
+        int n = (int) Math.round(shift * scale);
+        if (Math.abs(shift * scale - n) > EPSILON
+                || !isShiftable(p, n, scale)) {
+            return null;
+        }
+
+        // the part of the data area that is retained, in device coordinates
+        // (u runs along the domain axis and v across it) - the columns at
+        // the ends may contain part of an axis line, so they are redrawn
+        double u0 = vertical ? area.getMinX() : area.getMinY();
+        double u1 = vertical ? area.getMaxX() : area.getMaxY();
+        double v0 = vertical ? area.getMinY() : area.getMinX();
+        double v1 = vertical ? area.getMaxY() : area.getMaxX();
+        double vScale = vertical ? scaleY : scaleX;
+        int a = (int) Math.ceil(u0 * scale) + INSET;
+        int b = (int) Math.floor(u1 * scale) - INSET;
+        int va = (int) Math.ceil(v0 * vScale);
+        int vb = (int) Math.floor(v1 * vScale);
+        int ra = Math.max(a, a + n);
+        int rb = Math.min(b, b + n);
+        if (rb - ra <= 0 || vb - va <= 0) {
+            return null;
+        }
+
+        // the strips to redraw within the retained part, in Java2D
+        // coordinates
+        double margin = 0.0;
+        for (int i = 0; i < p.getDatasetCount(); i++) {
+            XYDataset dataset = p.getDataset(i);
+            if (dataset != null) {
+                margin = Math.max(margin, getMargin(
+                        p.getRendererForDataset(dataset), dataset));
+            }
+        }
+        if (Double.isInfinite(margin)) {
+            return null;
+        }
+        List<double[]> strips = new ArrayList<>();
+        for (int i = 0; i < p.getDatasetCount(); i++) {
+            XYDataset dataset = p.getDataset(i);
+            Map<Integer, DatasetChangeInfo> m = dataset == null ? null
+                    : this.changes.get(dataset);
+            if (m == null) {
+                continue;
+            }
+            ValueAxis xAxis = p.getDomainAxisForDataset(i);
+            RectangleEdge edge = p.getDomainAxisEdge(
+                    p.getDomainAxisIndex(xAxis));
+            for (DatasetChangeInfo change : m.values()) {
+                if (!addStrips(strips, dataset, change, xAxis, area, edge,
+                        margin)) {
+                    return null;
+                }
+            }
+        }
+
+        // merge the strips (in device coordinates) and check that an
+        // incremental update is worthwhile
+        List<int[]> deviceStrips = new ArrayList<>();
+        for (double[] s : strips) {
+            int s0 = Math.max((int) Math.floor(s[0] * scale), ra);
+            int s1 = Math.min((int) Math.ceil(s[1] * scale), rb);
+            if (s0 < s1) {
+                deviceStrips.add(new int[] {s0, s1});
+            }
+        }
+        deviceStrips.sort((s1, s2) -> Integer.compare(s1[0], s2[0]));
+        List<int[]> merged = new ArrayList<>();
+        int dirty = 0;
+        for (int[] s : deviceStrips) {
+            int[] last = merged.isEmpty() ? null : merged.get(
+                    merged.size() - 1);
+            if (last != null && s[0] <= last[1]) {
+                dirty += Math.max(s[1] - last[1], 0);
+                last[1] = Math.max(last[1], s[1]);
+            }
+            else {
+                merged.add(s);
+                dirty += s[1] - s[0];
+            }
+        }
+        if (dirty > MAX_DIRTY_FRACTION * (rb - ra)) {
+            return null;
+        }
+
+        // shift the retained content
+        int width = buffer.getWidth(null);
+        int height = buffer.getHeight(null);
+        Graphics g = buffer.getGraphics();
+        if (vertical) {
+            g.copyArea(ra - n, va, rb - ra, vb - va, n, 0);
+        }
+        else {
+            g.copyArea(va, ra - n, vb - va, rb - ra, 0, n);
+        }
+        g.dispose();
+
+        // everything outside the retained part is redrawn (including the
+        // parts of the data area at either end), plus the strips
+        int um = vertical ? width : height;
+        int vm = vertical ? height : width;
+        this.regions = new ArrayList<>();
+        this.regions.add(deviceRect(vertical, 0, um, 0, va));
+        this.regions.add(deviceRect(vertical, 0, um, vb, vm));
+        this.regions.add(deviceRect(vertical, 0, ra, va, vb));
+        this.regions.add(deviceRect(vertical, rb, um, va, vb));
+        this.windows = new ArrayList<>();
+        this.windows.add(new Range(u0 - margin, ra / scale + margin));
+        this.windows.add(new Range(rb / scale - margin, u1 + margin));
+        for (int[] s : merged) {
+            this.regions.add(deviceRect(vertical, s[0], s[1], va, vb));
+            this.windows.add(new Range(s[0] / scale - margin,
+                    s[1] / scale + margin));
+        }
+        if (this.scratch == null || this.scratch.getWidth(null) != width
+                || this.scratch.getHeight(null) != height) {
+            this.scratch = gc.createCompatibleImage(width, height,
+                    Transparency.TRANSLUCENT);
+        }
+        return this.scratch;
+    }
+
+    /**
+     * Returns a rectangle in device coordinates.
+     *
+     * @param vertical  {@code true} if u is the x-coordinate.
+     * @param u0  the lower u-coordinate.
+     * @param u1  the upper u-coordinate.
+     * @param v0  the lower v-coordinate.
+     * @param v1  the upper v-coordinate.
+     *
+     * @return The rectangle.
+     */
+    private static Rectangle deviceRect(boolean vertical, int u0, int u1,
+            int v0, int v1) {
+        if (vertical) {
+            return new Rectangle(u0, v0, u1 - u0, v1 - v0);
+        }
+        return new Rectangle(v0, u0, v1 - v0, u1 - u0);
+    }
+
+    /**
+     * Adds the strips (in Java2D coordinates along the domain axis) that
+     * need to be redrawn for a change to one series.
+     *
+     * @param strips  the strips.
+     * @param dataset  the dataset.
+     * @param change  the change.
+     * @param xAxis  the domain axis for the dataset.
+     * @param area  the data area.
+     * @param edge  the domain axis edge.
+     * @param margin  the margin around each item.
+     *
+     * @return {@code false} if the change cannot be handled incrementally.
+     */
+    private static boolean addStrips(List<double[]> strips,
+            XYDataset dataset, DatasetChangeInfo change, ValueAxis xAxis,
+            Rectangle2D area, RectangleEdge edge, double margin) {
+        int series = change.getSeries();
+        if (series >= dataset.getSeriesCount()) {
+            return false;
+        }
+        int count = dataset.getItemCount(series);
+        DatasetChangeType type = change.getType();
+        if (!DatasetChangeType.REMOVE.equals(type)) {
+            // the new items and the line that connects them to the item
+            // before them
+            int first = Math.max(change.getFirstItem() - 1, 0);
+            int last = Math.min(change.getLastItem(), count - 1);
+            double lower = Double.POSITIVE_INFINITY;
+            double upper = Double.NEGATIVE_INFINITY;
+            for (int item = first; item <= last; item++) {
+                double x = dataset.getXValue(series, item);
+                if (!Double.isNaN(x)) {
+                    double u = xAxis.valueToJava2D(x, area, edge);
+                    lower = Math.min(lower, u);
+                    upper = Math.max(upper, u);
+                }
+            }
+            if (lower <= upper) {
+                strips.add(new double[] {lower - margin, upper + margin});
+            }
+        }
+        if (!DatasetChangeType.APPEND.equals(type)) {
+            // the removed items were before the first item, but that only
+            // locates them if the items are in order
+            if (count == 0 || dataset.getDomainOrder()
+                    != DomainOrder.ASCENDING) {
+                return false;
+            }
+            double x = dataset.getXValue(series, 0);
+            if (Double.isNaN(x)) {
+                return false;
+            }
+            double u = xAxis.valueToJava2D(x, area, edge);
+            double uLower = xAxis.valueToJava2D(xAxis.getLowerBound(), area,
+                    edge);
+            strips.add(new double[] {Math.min(u, uLower) - margin,
+                    Math.max(u, uLower) + margin});
+        }
+        return true;
+    }
+
+    /**
+     * Returns a copy of an axis with the range (optionally) and the tick
+     * unit (if it is selected automatically) of a copy of the axis made at
+     * the last refresh, so that the axis can be compared with the copy.  An
+     * automatic tick unit is ignored because it depends only on the range
+     * and the data area (which are checked separately), but it is also
+     * updated by drawing the chart foreground.
+     *
+     * @param axis  the axis.
+     * @param previous  the copy of the axis.
+     * @param range  copy the range?
+     *
+     * @return The copy ({@code null} if the axis cannot be cloned).
+     */
+    private static ValueAxis normalize(ValueAxis axis, ValueAxis previous,
+            boolean range) {
+        ValueAxis result;
+        try {
+            result = (ValueAxis) axis.clone();
+        }
+        catch (CloneNotSupportedException e) {
+            return null;
+        }
+        if (range) {
+            result.setRange(previous.getRange(), false, false);
+        }
+        if (result.isAutoTickUnitSelection()) {
+            if (result instanceof NumberAxis
+                    && previous instanceof NumberAxis) {
+                ((NumberAxis) result).setTickUnit(
+                        ((NumberAxis) previous).getTickUnit(), false, false);
+            }
+            else if (result instanceof DateAxis
+                    && previous instanceof DateAxis) {
+                ((DateAxis) result).setTickUnit(
+                        ((DateAxis) previous).getTickUnit(), false, false);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the shift (in Java2D units) of an axis relative to a copy of
+     * the axis made at the last refresh, or {@code Double.NaN} if the axis
+     * has changed in any other way or the shift is not the same across the
+     * axis.
+     *
+     * @param axis  the axis ({@code null} permitted).
+     * @param previous  the copy of the axis ({@code null} permitted).
+     * @param area  the data area.
+     * @param edge  the axis edge.
+     * @param ignoreTickUnit  ignore an automatic tick unit?
+     *
+     * @return The shift.
+     */
+    private static double getShift(ValueAxis axis, ValueAxis previous,
+            Rectangle2D area, RectangleEdge edge, boolean ignoreTickUnit) {
+        if (axis == null || previous == null) {
+            return Double.NaN;
+        }
+        Range range = previous.getRange();
+        ValueAxis copy;
+        if (ignoreTickUnit) {
+            copy = normalize(axis, previous, true);
+        }
+        else {
+            try {
+                copy = (ValueAxis) axis.clone();
+            }
+            catch (CloneNotSupportedException e) {
+                return Double.NaN;
+            }
+            copy.setRange(range, false, false);
+        }
+        if (!previous.equals(copy)) {
+            return Double.NaN;
+        }
+        double lower = range.getLowerBound();
+        double[] values = {lower, range.getCentralValue(),
+                range.getUpperBound()};
+        double result = Double.NaN;
+        for (double v : values) {
+            double d = axis.valueToJava2D(v, area, edge)
+                    - previous.valueToJava2D(v, area, edge);
+            if (Double.isNaN(d) || (!Double.isNaN(result)
+                    && Math.abs(d - result) > 1e-6)) {
+                return Double.NaN;
+            }
+            result = d;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distance (in Java2D units) around an item within which
+     * the renderer may draw anything for the item.
+     *
+     * @param renderer  the renderer ({@code null} permitted).
+     * @param dataset  the dataset.
+     *
+     * @return The margin ({@code Double.POSITIVE_INFINITY} if it is not
+     *     known).
+     */
+    private static double getMargin(XYItemRenderer renderer,
+            XYDataset dataset) {
+        if (!(renderer instanceof AbstractXYItemRenderer)) {
+            return 0.0;
+        }
+        AbstractXYItemRenderer r = (AbstractXYItemRenderer) renderer;
+        double result = 0.0;
+        for (int s = 0; s < dataset.getSeriesCount(); s++) {
+            Shape shape = r.lookupSeriesShape(s);
+            double extent = 0.0;
+            if (shape != null) {
+                Rectangle2D b = shape.getBounds2D();
+                extent = Math.max(Math.max(-b.getMinX(), b.getMaxX()),
+                        Math.max(-b.getMinY(), b.getMaxY()));
+            }
+            result = Math.max(result, Math.max(extent + getReach(
+                    r.lookupSeriesOutlineStroke(s)), getReach(
+                    r.lookupSeriesStroke(s))));
+        }
+        if (r instanceof XYDotRenderer) {
+            XYDotRenderer dr = (XYDotRenderer) r;
+            result = Math.max(result, Math.max(dr.getDotWidth(),
+                    dr.getDotHeight()));
+        }
+        return result + EXTRA_MARGIN;
+    }
+
+    /**
+     * Returns the distance from a line within which a stroke may draw,
+     * allowing for the spikes at mitred joins.
+     *
+     * @param stroke  the stroke ({@code null} permitted).
+     *
+     * @return The distance ({@code Double.POSITIVE_INFINITY} if it is not
+     *     known).
+     */
+    private static double getReach(Stroke stroke) {
+        if (stroke == null) {
+            return 0.0;
+        }
+        if (!(stroke instanceof BasicStroke)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        BasicStroke bs = (BasicStroke) stroke;
+        double factor = Math.sqrt(2.0);
+        if (bs.getLineJoin() == BasicStroke.JOIN_MITER) {
+            factor = Math.max(factor, bs.getMiterLimit());
+        }
+        return bs.getLineWidth() / 2.0 * factor;
+    }
+
+    /**
+     * Returns {@code true} if the chart can be refreshed incrementally: it
+     * must have an {@link XYPlot} (not a subclass) that draws nothing that
+     * depends on anything but the position of the data, with renderers
+     * that draw each item independently of the items that are not near it.
+     *
+     * @param chart  the chart.
+     * @param info  the rendering info ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    private static boolean isSupported(JFreeChart chart,
+            ChartRenderingInfo info) {
+        if (chart.getPlot() == null
+                || chart.getPlot().getClass() != XYPlot.class) {
+            return false;
+        }
+        XYPlot plot = (XYPlot) chart.getPlot();
+        if (chart.getBackgroundImage() != null
+                || plot.getBackgroundImage() != null
+                || !isPlain(chart.getBackgroundPaint())
+                || !isPlain(plot.getBackgroundPaint())
+                || plot.getShadowGenerator() != null
+                || !plot.getAnnotations().isEmpty()) {
+            return false;
+        }
+        // the entities for the retained items would be lost
+        if (info != null && info.getEntityCollection() != null
+                && !plot.isLazyEntities()) {
+            return false;
+        }
+        if ((plot.isDomainCrosshairVisible()
+                && plot.isDomainCrosshairLockedOnData())
+                || (plot.isRangeCrosshairVisible()
+                && plot.isRangeCrosshairLockedOnData())) {
+            return false;
+        }
+        for (int i = 0; i < plot.getDatasetCount(); i++) {
+            XYDataset dataset = plot.getDataset(i);
+            if (dataset == null) {
+                continue;
+            }
+            XYItemRenderer renderer = plot.getRendererForDataset(dataset);
+            if (renderer == null) {
+                continue;
+            }
+            Class<?> c = renderer.getClass();
+            if (c != XYLineAndShapeRenderer.class && c != XYDotRenderer.class
+                    && c != XYShapeRenderer.class) {
+                return false;
+            }
+            AbstractXYItemRenderer r = (AbstractXYItemRenderer) renderer;
+            if (!r.getAnnotations().isEmpty()) {
+                return false;
+            }
+            for (int s = 0; s < dataset.getSeriesCount(); s++) {
+                if (r.isSeriesItemLabelsVisible(s)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if the lines that run across the data area in
+     * the direction of the domain axis (and so do not move with it) look
+     * the same after a shift.  This holds for solid lines, but a dashed
+     * line requires a shift by a whole number of dash periods.
+     *
+     * @param plot  the plot.
+     * @param shift  the shift in device pixels.
+     * @param scale  the scale from Java2D to device coordinates.
+     *
+     * @return A boolean.
+     */
+    private static boolean isShiftable(XYPlot plot, int shift,
+            double scale) {
+        for (int i = 0; i < plot.getRendererCount(); i++) {
+            // the marker labels do not move
+            Collection<?> markers = plot.getRangeMarkers(i, Layer.BACKGROUND);
+            if (markers != null && !markers.isEmpty()) {
+                return false;
+            }
+        }
+        List<Stroke> strokes = new ArrayList<>();
+        if (plot.isRangeGridlinesVisible()) {
+            strokes.add(plot.getRangeGridlineStroke());
+        }
+        if (plot.isRangeMinorGridlinesVisible()) {
+            strokes.add(plot.getRangeMinorGridlineStroke());
+        }
+        if (plot.isRangeZeroBaselineVisible()) {
+            strokes.add(plot.getRangeZeroBaselineStroke());
+        }
+        for (Stroke stroke : strokes) {
+            if (stroke == null) {
+                continue;
+            }
+            if (!(stroke instanceof BasicStroke)) {
+                return false;
+            }
+            float[] dash = ((BasicStroke) stroke).getDashArray();
+            if (dash != null) {
+                double period = 0.0;
+                for (float d : dash) {
+                    period += d;
+                }
+                // the dash array is repeated if it has an odd length
+                if (dash.length % 2 == 1) {
+                    period *= 2.0;
+                }
+                double periods = shift / (period * scale);
+                if (Math.abs(periods - Math.rint(periods)) > EPSILON) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if a paint is {@code null} or a plain color (so
+     * that it looks the same after a shift).
+     *
+     * @param paint  the paint ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    private static boolean isPlain(Paint paint) {
+        return paint == null || paint instanceof Color;
+    }
+
+    /**
+     * Completes a refresh of the buffer and records the state of the chart
+     * for the next refresh.  After an incremental refresh, the method checks
+     * that drawing the chart did not change the layout of the data area or
+     * the axes (for example, a new tick unit for the domain axis) and
+     * copies the regions that were redrawn from the scratch image to the
+     * buffer.  If the layout did change, the method returns {@code false}
+     * and the buffer must be redrawn in full (followed by another call to
+     * this method).
+     *
+     * @param chart  the chart ({@code null} not permitted).
+     * @param info  the rendering info for the refresh ({@code null}
+     *     permitted).
+     * @param buffer  the buffer ({@code null} not permitted).
+     * @param scaleX  the scale from Java2D to device coordinates (x).
+     * @param scaleY  the scale from Java2D to device coordinates (y).
+     *
+     * @return A boolean.
+     */
+    boolean finish(JFreeChart chart, ChartRenderingInfo info, Image buffer,
+            double scaleX, double scaleY) {
+        Rectangle2D area = null;
+        if (info != null) {
+            PlotRenderingInfo plotInfo = info.getPlotInfo();
+            area = plotInfo.getDataArea();
+        }
+        boolean result = true;
+        if (this.regions != null) {
+            result = this.dataArea.equals(area);
+            for (int i = 0; result && i < this.domainAxes.length; i++) {
+                result = !Double.isNaN(getShift(this.plot.getDomainAxis(i),
+                        this.domainAxes[i], this.dataArea,
+                        this.plot.getDomainAxisEdge(i), false));
+            }
+            for (int i = 0; result && i < this.rangeAxes.length; i++) {
+                result = Objects.equals(this.plot.getRangeAxis(i),
+                        this.rangeAxes[i]);
+            }
+            if (result) {
+                Graphics2D g2 = (Graphics2D) buffer.getGraphics();
+                g2.setComposite(AlphaComposite.Src);
+                for (Rectangle r : this.regions) {
+                    g2.drawImage(this.scratch, r.x, r.y, r.x + r.width,
+                            r.y + r.height, r.x, r.y, r.x + r.width,
+                            r.y + r.height, null);
+                }
+                g2.dispose();
+            }
+        }
+        this.regions = null;
+        this.windows = null;
+        this.changes.clear();
+        this.invalid = !result;
+        this.plot = null;
+        if (result && area != null && chart.getPlot() instanceof XYPlot) {
+            try {
+                XYPlot p = (XYPlot) chart.getPlot();
+                this.domainAxes = copyAxes(p, true);
+                this.rangeAxes = copyAxes(p, false);
+                this.plot = p;
+                this.dataArea = (Rectangle2D) area.clone();
+                this.scaleX = scaleX;
+                this.scaleY = scaleY;
+                this.orientation = p.getOrientation();
+            }
+            catch (CloneNotSupportedException e) {
+                // the next refresh will be a full redraw
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns copies of the domain or range axes of a plot.
+     *
+     * @param plot  the plot.
+     * @param domain  {@code true} for the domain axes.
+     *
+     * @return The copies (some of which may be {@code null}).
+     *
+     * @throws CloneNotSupportedException if an axis cannot be cloned.
+     */
+    private static ValueAxis[] copyAxes(XYPlot plot, boolean domain)
+            throws CloneNotSupportedException {
+        int count = domain ? plot.getDomainAxisCount()
+                : plot.getRangeAxisCount();
+        ValueAxis[] result = new ValueAxis[count];
+        for (int i = 0; i < count; i++) {
+            ValueAxis axis = domain ? plot.getDomainAxis(i)
+                    : plot.getRangeAxis(i);
+            if (axis != null) {
+                result[i] = (ValueAxis) axis.clone();
+            }
+        }
+        return result;
+    }
+
+}
@@ -98,6 +98,7 @@ import se.malmin.chart.title.Title;
 import se.malmin.chart.ui.Align;
 import se.malmin.chart.ui.Drawable;
 import se.malmin.chart.ui.HorizontalAlignment;
+import se.malmin.chart.ui.Layer;
 import se.malmin.chart.ui.RectangleEdge;
 import se.malmin.chart.ui.RectangleInsets;
 import se.malmin.chart.ui.Size2D;
@@ -1091,13 +1092,18 @@ public class JFreeChart implements Drawable, TitleChangeListener,
 
         g2.addRenderingHints(this.renderingHints);
 
+        // when only the plot foreground is required, the chart background,
+        // border and titles are skipped (the titles are still laid out)
+        boolean foregroundOnly = Layer.FOREGROUND.equals(
+                g2.getRenderingHint(ChartHints.KEY_DRAW_LAYER));
+
         // draw the chart background...
-        if (this.backgroundPaint != null) {
+        if (this.backgroundPaint != null && !foregroundOnly) {
             g2.setPaint(this.backgroundPaint);
             g2.fill(chartArea);
         }
 
-        if (this.backgroundImage != null) {
+        if (this.backgroundImage != null && !foregroundOnly) {
             Composite originalComposite = g2.getComposite();
             g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
                     this.backgroundImageAlpha));
@@ -1111,7 +1117,7 @@ public class JFreeChart implements Drawable, TitleChangeListener,
             g2.setComposite(originalComposite);
         }
 
-        if (isBorderVisible()) {
+        if (isBorderVisible() && !foregroundOnly) {
             Paint paint = getBorderPaint();
             Stroke stroke = getBorderStroke();
             if (paint != null && stroke != null) {
@@ -1208,7 +1214,9 @@ public class JFreeChart implements Drawable, TitleChangeListener,
     /**
      * Draws a title.  The title should be drawn at the top, bottom, left or
      * right of the specified area, and the area should be updated to reflect
-     * the amount of space used by the title.
+     * the amount of space used by the title.  If the
+     * {@link ChartHints#KEY_DRAW_LAYER} hint is set to
+     * {@link Layer#FOREGROUND}, the title is laid out but not drawn.
      *
      * @param t  the title ({@code null} not permitted).
      * @param g2  the graphics device ({@code null} not permitted).
@@ -1240,11 +1248,15 @@ public class JFreeChart implements Drawable, TitleChangeListener,
         Object retValue = null;
         BlockParams p = new BlockParams();
         p.setGenerateEntities(entities);
+        boolean draw = !Layer.FOREGROUND.equals(g2.getRenderingHint(
+                ChartHints.KEY_DRAW_LAYER));
         if (position == RectangleEdge.TOP) {
             Size2D size = t.arrange(g2, constraint);
             titleArea = createAlignedRectangle2D(size, area,
                     t.getHorizontalAlignment(), VerticalAlignment.TOP);
-            retValue = t.draw(g2, titleArea, p);
+            if (draw) {
+                retValue = t.draw(g2, titleArea, p);
+            }
             area.setRect(area.getX(), Math.min(area.getY() + size.height,
                     area.getMaxY()), area.getWidth(), Math.max(area.getHeight()
                     - size.height, 0));
@@ -1252,21 +1264,27 @@ public class JFreeChart implements Drawable, TitleChangeListener,
             Size2D size = t.arrange(g2, constraint);
             titleArea = createAlignedRectangle2D(size, area,
                     t.getHorizontalAlignment(), VerticalAlignment.BOTTOM);
-            retValue = t.draw(g2, titleArea, p);
+            if (draw) {
+                retValue = t.draw(g2, titleArea, p);
+            }
             area.setRect(area.getX(), area.getY(), area.getWidth(),
                     area.getHeight() - size.height);
         } else if (position == RectangleEdge.RIGHT) {
             Size2D size = t.arrange(g2, constraint);
             titleArea = createAlignedRectangle2D(size, area,
                     HorizontalAlignment.RIGHT, t.getVerticalAlignment());
-            retValue = t.draw(g2, titleArea, p);
+            if (draw) {
+                retValue = t.draw(g2, titleArea, p);
+            }
             area.setRect(area.getX(), area.getY(), area.getWidth()
                     - size.width, area.getHeight());
         } else if (position == RectangleEdge.LEFT) {
             Size2D size = t.arrange(g2, constraint);
             titleArea = createAlignedRectangle2D(size, area,
                     HorizontalAlignment.LEFT, t.getVerticalAlignment());
-            retValue = t.draw(g2, titleArea, p);
+            if (draw) {
+                retValue = t.draw(g2, titleArea, p);
+            }
             area.setRect(area.getX() + size.width, area.getY(), area.getWidth()
                     - size.width, area.getHeight());
         }
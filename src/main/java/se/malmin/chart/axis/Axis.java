@@ -242,6 +242,12 @@ public abstract class Axis implements Cloneable, Serializable {
     /** Storage for registered listeners. */
     private transient EventListenerList listenerList;
 
+    /**
+     * A counter that is incremented each time listeners are notified of a
+     * change to the axis (used to validate cached layouts).
+     */
+    private transient long changeCount;
+
     /**
      * Constructs an axis with the specific label and default values for other
      * attributes.  
@@ -1134,6 +1140,7 @@ public abstract class Axis implements Cloneable, Serializable {
      * @param event  information about the change to the axis.
      */
     protected void notifyListeners(AxisChangeEvent event) {
+        this.changeCount++;
         Object[] listeners = this.listenerList.getListenerList();
         for (int i = listeners.length - 2; i >= 0; i -= 2) {
             if (listeners[i] == AxisChangeListener.class) {
@@ -1142,6 +1149,16 @@ public abstract class Axis implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Returns the number of times that listeners have been notified of a
+     * change to the axis.
+     *
+     * @return The change count.
+     */
+    long getChangeCount() {
+        return this.changeCount;
+    }
+
     /**
      * Sends an {@link AxisChangeEvent} to all registered listeners.
      */
@@ -0,0 +1,309 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * AxisTransform.java
+ * ------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.axis;
+
+import java.awt.geom.Rectangle2D;
+
+import se.malmin.chart.ui.RectangleEdge;
+import se.malmin.chart.util.Args;
+
+/**
+ * Converts data values to Java2D coordinates for one axis, one data area
+ * and one edge, so that renderers can transform many values in a single
+ * loop instead of calling {@link ValueAxis#valueToJava2D(double,
+ * Rectangle2D, RectangleEdge)} for each value.  The standard axes supply a
+ * precomputed linear (or logarithmic) transform that gives exactly the
+ * same results as {@code valueToJava2D()}, other axes fall back to calling
+ * that method.  Instances are created with
+ * {@link ValueAxis#createTransform(Rectangle2D, RectangleEdge)} and are
+ * only valid while the axis range and the data area are unchanged.
+ */
+public final class AxisTransform {
+
+    /** The kinds of transform. */
+    private enum Kind {
+
+        /** Call {@code valueToJava2D()} for each value. */
+        AXIS,
+
+        /** A linear transform. */
+        LINEAR,
+
+        /** A linear transform of the value truncated to a long. */
+        MILLISECOND,
+
+        /** A linear transform of the logarithm of the value. */
+        LOG
+
+    }
+
+    /** The kind of transform. */
+    private final Kind kind;
+
+    /** The axis (only used by the AXIS kind). */
+    private final ValueAxis axis;
+
+    /** The data area (only used by the AXIS kind). */
+    private final Rectangle2D area;
+
+    /** The edge (only used by the AXIS kind). */
+    private final RectangleEdge edge;
+
+    /** The (transformed) value at the origin. */
+    private final double lower;
+
+    /** The (transformed) length of the axis range. */
+    private final double length;
+
+    /** The Java2D coordinate of the lower end of the axis range. */
+    private final double origin;
+
+    /** The Java2D distance from the lower to the upper end of the range. */
+    private final double extent;
+
+    /** The natural logarithm of the base (only used by the LOG kind). */
+    private final double baseLog;
+
+    private AxisTransform(Kind kind, ValueAxis axis, Rectangle2D area,
+            RectangleEdge edge, double lower, double upper, double origin,
+            double extent, double baseLog) {
+        this.kind = kind;
+        this.axis = axis;
+        this.area = area;
+        this.edge = edge;
+        this.lower = lower;
+        this.length = upper - lower;
+        this.origin = origin;
+        this.extent = extent;
+        this.baseLog = baseLog;
+    }
+
+    /**
+     * Creates a transform that calls
+     * {@link ValueAxis#valueToJava2D(double, Rectangle2D, RectangleEdge)}
+     * for each value.
+     *
+     * @param axis  the axis ({@code null} not permitted).
+     * @param area  the data area ({@code null} not permitted).
+     * @param edge  the edge ({@code null} not permitted).
+     *
+     * @return The transform.
+     */
+    public static AxisTransform forAxis(ValueAxis axis, Rectangle2D area,
+            RectangleEdge edge) {
+        Args.nullNotPermitted(axis, "axis");
+        Args.nullNotPermitted(area, "area");
+        Args.nullNotPermitted(edge, "edge");
+        return new AxisTransform(Kind.AXIS, axis, area, edge, 0.0, 0.0, 0.0,
+                0.0, 0.0);
+    }
+
+    /**
+     * Creates a linear transform that maps {@code lower} to {@code origin}
+     * and {@code upper} to {@code origin + extent}.  The result for a value
+     * {@code v} is calculated as
+     * {@code origin + ((v - lower) / (upper - lower)) * extent}.
+     *
+     * @param lower  the lower bound of the axis range.
+     * @param upper  the upper bound of the axis range.
+     * @param origin  the Java2D coordinate for the lower bound.
+     * @param extent  the Java2D distance from the lower to the upper bound
+     *     (negative if the coordinates decrease).
+     *
+     * @return The transform.
+     */
+    public static AxisTransform linear(double lower, double upper,
+            double origin, double extent) {
+        return new AxisTransform(Kind.LINEAR, null, null, null, lower, upper,
+                origin, extent, 0.0);
+    }
+
+    /**
+     * Creates a linear transform that truncates each value to a
+     * {@code long} (a millisecond) first.
+     *
+     * @param lower  the lower bound of the axis range.
+     * @param upper  the upper bound of the axis range.
+     * @param origin  the Java2D coordinate for the lower bound.
+     * @param extent  the Java2D distance from the lower to the upper bound.
+     *
+     * @return The transform.
+     */
+    static AxisTransform millisecond(double lower, double upper,
+            double origin, double extent) {
+        return new AxisTransform(Kind.MILLISECOND, null, null, null, lower,
+                upper, origin, extent, 0.0);
+    }
+
+    /**
+     * Creates a transform that is linear in the logarithm of the values.
+     *
+     * @param baseLog  the natural logarithm of the base.
+     * @param lower  the logarithm of the lower bound of the axis range.
+     * @param upper  the logarithm of the upper bound of the axis range.
+     * @param origin  the Java2D coordinate for the lower bound.
+     * @param extent  the Java2D distance from the lower to the upper bound.
+     *
+     * @return The transform.
+     */
+    static AxisTransform log(double baseLog, double lower, double upper,
+            double origin, double extent) {
+        return new AxisTransform(Kind.LOG, null, null, null, lower, upper,
+                origin, extent, baseLog);
+    }
+
+    /**
+     * Returns the coordinates for the minimum and maximum (in that order)
+     * of the data area along the specified edge, in the form used by
+     * {@link NumberAxis}.
+     *
+     * @param area  the data area.
+     * @param edge  the edge.
+     *
+     * @return The coordinates.
+     */
+    static double[] minMax(Rectangle2D area, RectangleEdge edge) {
+        double min = 0.0;
+        double max = 0.0;
+        if (RectangleEdge.isTopOrBottom(edge)) {
+            min = area.getX();
+            max = area.getMaxX();
+        }
+        else if (RectangleEdge.isLeftOrRight(edge)) {
+            max = area.getMinY();
+            min = area.getMaxY();
+        }
+        return new double[] {min, max};
+    }
+
+    /**
+     * Returns {@code true} if the method with the specified name and
+     * parameter types is declared by {@code declarer} for the class of the
+     * specified axis (that is, a subclass has not overridden it).  The
+     * precomputed transforms are only used in that case.
+     *
+     * @param axis  the axis.
+     * @param declarer  the class expected to declare the method.
+     * @param name  the method name.
+     * @param parameterTypes  the parameter types.
+     *
+     * @return A boolean.
+     */
+    static boolean isDeclaredBy(ValueAxis axis, Class<?> declarer,
+            String name, Class<?>... parameterTypes) {
+        try {
+            return axis.getClass().getMethod(name, parameterTypes)
+                    .getDeclaringClass() == declarer;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns {@code true} if this transform calls the axis for each value,
+     * and {@code false} if it is precomputed.
+     *
+     * @return A boolean.
+     */
+    public boolean isAxisTransform() {
+        return this.kind == Kind.AXIS;
+    }
+
+    /**
+     * Converts a data value to a Java2D coordinate.
+     *
+     * @param value  the data value.
+     *
+     * @return The Java2D coordinate.
+     */
+    public double valueToJava2D(double value) {
+        switch (this.kind) {
+            case LINEAR:
+                return this.origin
+                        + ((value - this.lower) / this.length) * this.extent;
+            case MILLISECOND:
+                return this.origin + (((double) (long) value - this.lower)
+                        / this.length) * this.extent;
+            case LOG:
+                return this.origin + ((Math.log(value) / this.baseLog
+                        - this.lower) / this.length) * this.extent;
+            default:
+                return this.axis.valueToJava2D(value, this.area, this.edge);
+        }
+    }
+
+    /**
+     * Converts an array of data values to Java2D coordinates.  The source
+     * and destination arrays can be the same array.
+     *
+     * @param values  the data values ({@code null} not permitted).
+     * @param result  the array for the Java2D coordinates ({@code null} not
+     *     permitted).
+     * @param count  the number of values to convert (from the start of the
+     *     arrays).
+     */
+    public void valueToJava2D(double[] values, double[] result, int count) {
+        double o = this.origin;
+        double l = this.lower;
+        double n = this.length;
+        double e = this.extent;
+        switch (this.kind) {
+            case LINEAR:
+                for (int i = 0; i < count; i++) {
+                    result[i] = o + ((values[i] - l) / n) * e;
+                }
+                break;
+            case MILLISECOND:
+                for (int i = 0; i < count; i++) {
+                    result[i] = o + (((double) (long) values[i] - l) / n) * e;
+                }
+                break;
+            case LOG:
+                double b = this.baseLog;
+                for (int i = 0; i < count; i++) {
+                    result[i] = o + ((Math.log(values[i]) / b - l) / n) * e;
+                }
+                break;
+            default:
+                for (int i = 0; i < count; i++) {
+                    result[i] = this.axis.valueToJava2D(values[i], this.area,
+                            this.edge);
+                }
+        }
+    }
+
+}
@@ -42,6 +42,7 @@ import java.awt.Graphics2D;
 import java.awt.Paint;
 import java.awt.RenderingHints;
 import java.awt.Shape;
+import java.awt.font.FontRenderContext;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
@@ -93,6 +94,12 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
      */
     public static final double DEFAULT_CATEGORY_MARGIN = 0.20;
 
+    /**
+     * The number of category labels that are measured to choose the interval
+     * between labels when label thinning is enabled.
+     */
+    private static final int LABEL_THINNING_SAMPLE_COUNT = 16;
+
     /** The amount of space reserved at the start of the axis. */
     private double lowerMargin;
 
@@ -131,6 +138,37 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
 
     /** Storage for the category label URLs (if any). */
     private Map categoryLabelURLs;
+
+    /**
+     * A flag that controls whether labels are shown for a subset of the
+     * categories when there is not enough space to show them all.
+     */
+    private boolean categoryLabelThinning;
+
+    /** The labels created in the most recent refresh of the ticks. */
+    private transient Map<Comparable, CachedLabel> labelCache;
+
+    /**
+     * Records, for each axis class, whether it overrides
+     * {@link #createLabel(Comparable, float, RectangleEdge, Graphics2D)}.
+     */
+    private static final ClassValue<Boolean> CREATE_LABEL_OVERRIDDEN
+            = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> c) {
+            for (; c != CategoryAxis.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("createLabel", Comparable.class,
+                            float.class, RectangleEdge.class,
+                            Graphics2D.class);
+                    return Boolean.TRUE;
+                } catch (NoSuchMethodException e) {
+                    // not declared here, try the superclass
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
     
     /**
      * Creates a new category axis with no label.
@@ -159,6 +197,7 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
         this.tickLabelPaintMap = new HashMap();
         this.categoryLabelToolTips = new HashMap();
         this.categoryLabelURLs = new HashMap();
+        this.categoryLabelThinning = false;
     }
 
     /**
@@ -287,6 +326,38 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether labels are shown for a subset
+     * of the categories when there is not enough space to show them all.
+     * The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setCategoryLabelThinning(boolean)
+     */
+    public boolean isCategoryLabelThinning() {
+        return this.categoryLabelThinning;
+    }
+
+    /**
+     * Sets the flag that controls whether labels are shown for a subset of
+     * the categories when there is not enough space to show them all, and
+     * sends an {@link AxisChangeEvent} to all registered listeners.  When
+     * the flag is set, a label is shown for every k-th category only, where
+     * k is chosen (from the size of a sample of the labels, drawn on a
+     * single line) so that the labels do not overlap.  Only the labels that
+     * are shown are created, so this is much faster for axes with many
+     * thousands of categories.
+     *
+     * @param thinning  the new flag value.
+     *
+     * @see #isCategoryLabelThinning()
+     */
+    public void setCategoryLabelThinning(boolean thinning) {
+        this.categoryLabelThinning = thinning;
+        fireChangeEvent();
+    }
+
     /**
      * Returns the offset between the axis and the category labels (before
      * label positioning is taken into account).
@@ -948,6 +1019,14 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
             g2.setFont(getTickLabelFont(tick.getCategory()));
             g2.setPaint(getTickLabelPaint(tick.getCategory()));
 
+            // with label thinning there is not a tick for every category
+            int index = categoryIndex;
+            int count = ticks.size();
+            if (tick.getCategoryCount() > 0) {
+                index = tick.getCategoryIndex();
+                count = tick.getCategoryCount();
+            }
+
             CategoryLabelPosition position
                     = this.categoryLabelPositions.getLabelPosition(edge);
             double x0 = 0.0;
@@ -955,34 +1034,26 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
             double y0 = 0.0;
             double y1 = 0.0;
             if (edge == RectangleEdge.TOP) {
-                x0 = getCategoryStart(categoryIndex, ticks.size(), dataArea, 
-                        edge);
-                x1 = getCategoryEnd(categoryIndex, ticks.size(), dataArea, 
-                        edge);
+                x0 = getCategoryStart(index, count, dataArea, edge);
+                x1 = getCategoryEnd(index, count, dataArea, edge);
                 y1 = state.getCursor() - this.categoryLabelPositionOffset;
                 y0 = y1 - state.getMax();
             }
             else if (edge == RectangleEdge.BOTTOM) {
-                x0 = getCategoryStart(categoryIndex, ticks.size(), dataArea, 
-                        edge);
-                x1 = getCategoryEnd(categoryIndex, ticks.size(), dataArea, 
-                        edge);
+                x0 = getCategoryStart(index, count, dataArea, edge);
+                x1 = getCategoryEnd(index, count, dataArea, edge);
                 y0 = state.getCursor() + this.categoryLabelPositionOffset;
                 y1 = y0 + state.getMax();
             }
             else if (edge == RectangleEdge.LEFT) {
-                y0 = getCategoryStart(categoryIndex, ticks.size(), dataArea, 
-                        edge);
-                y1 = getCategoryEnd(categoryIndex, ticks.size(), dataArea,
-                        edge);
+                y0 = getCategoryStart(index, count, dataArea, edge);
+                y1 = getCategoryEnd(index, count, dataArea, edge);
                 x1 = state.getCursor() - this.categoryLabelPositionOffset;
                 x0 = x1 - state.getMax();
             }
             else if (edge == RectangleEdge.RIGHT) {
-                y0 = getCategoryStart(categoryIndex, ticks.size(), dataArea, 
-                        edge);
-                y1 = getCategoryEnd(categoryIndex, ticks.size(), dataArea,
-                        edge);
+                y0 = getCategoryStart(index, count, dataArea, edge);
+                y1 = getCategoryEnd(index, count, dataArea, edge);
                 x0 = state.getCursor() + this.categoryLabelPositionOffset;
                 x1 = x0 - state.getMax();
             }
@@ -1064,10 +1135,23 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
                 r = position.getWidthRatio();
             }
 
+            int categoryCount = categories.size();
+            int step = 1;
+            if (this.categoryLabelThinning && categoryCount > 1) {
+                step = calculateCategoryLabelStep(categories, position,
+                        dataArea, edge, g2);
+            }
+
             float l;
             if (position.getWidthType() == CategoryLabelWidthType.CATEGORY) {
-                l = (float) calculateCategorySize(categories.size(), dataArea,
+                double size = calculateCategorySize(categoryCount, dataArea,
                         edge);
+                if (step > 1) {
+                    // a label can use the space of 'step' categories
+                    size = step * (size + calculateCategoryGapSize(
+                            categoryCount, dataArea, edge)) - size;
+                }
+                l = (float) size;
             }
             else {
                 if (RectangleEdge.isLeftOrRight(edge)) {
@@ -1077,12 +1161,22 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
                     l = (float) dataArea.getHeight();
                 }
             }
-            int categoryIndex = 0;
-            Iterator iterator = categories.iterator();
-            while (iterator.hasNext()) {
-                Comparable category = (Comparable) iterator.next();
+            Map<Comparable, CachedLabel> previousLabels = this.labelCache;
+            Map<Comparable, CachedLabel> labels = new HashMap<>();
+            boolean cacheable = isCategoryLabelCacheable();
+            for (int categoryIndex = 0; categoryIndex < categoryCount;
+                    categoryIndex += step) {
+                Comparable category = (Comparable) categories.get(
+                        categoryIndex);
                 g2.setFont(getTickLabelFont(category));
-                TextBlock label = createLabel(category, l * r, edge, g2);
+                TextBlock label;
+                if (cacheable) {
+                    label = getCachedLabel(category, l * r, edge, g2,
+                            previousLabels, labels);
+                }
+                else {
+                    label = createLabel(category, l * r, edge, g2);
+                }
                 if (edge == RectangleEdge.TOP || edge == RectangleEdge.BOTTOM) {
                     max = Math.max(max, calculateTextBlockHeight(label,
                             position, g2));
@@ -1092,18 +1186,118 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
                     max = Math.max(max, calculateTextBlockWidth(label,
                             position, g2));
                 }
-                Tick tick = new CategoryTick(category, label,
-                        position.getLabelAnchor(),
-                        position.getRotationAnchor(), position.getAngle());
+                Tick tick;
+                if (step > 1) {
+                    tick = new CategoryTick(category, label,
+                            position.getLabelAnchor(),
+                            position.getRotationAnchor(), position.getAngle(),
+                            categoryIndex, categoryCount);
+                }
+                else {
+                    tick = new CategoryTick(category, label,
+                            position.getLabelAnchor(),
+                            position.getRotationAnchor(), position.getAngle());
+                }
                 ticks.add(tick);
-                categoryIndex = categoryIndex + 1;
             }
+            this.labelCache = cacheable ? labels : null;
         }
         state.setMax(max);
         return ticks;
 
     }
 
+    /**
+     * Returns the interval between the categories that are labelled when
+     * label thinning is enabled.  The labels for a sample of the categories
+     * are created on a single line, and the interval is the number of
+     * categories that are spanned by the largest of these labels.
+     *
+     * @param categories  the categories (more than one).
+     * @param position  the label position.
+     * @param dataArea  the area inside the axes.
+     * @param edge  the location of the axis.
+     * @param g2  the graphics device.
+     *
+     * @return The interval (1 or greater).
+     */
+    private int calculateCategoryLabelStep(List categories,
+            CategoryLabelPosition position, Rectangle2D dataArea,
+            RectangleEdge edge, Graphics2D g2) {
+        int count = categories.size();
+        double spacing = calculateCategorySize(count, dataArea, edge)
+                + calculateCategoryGapSize(count, dataArea, edge);
+        if (!(spacing > 0.0)) {
+            return count;
+        }
+        boolean horizontal = RectangleEdge.isTopOrBottom(edge);
+        float length = (float) (horizontal ? dataArea.getWidth()
+                : dataArea.getHeight());
+        int samples = Math.min(count, LABEL_THINNING_SAMPLE_COUNT);
+        double extent = 0.0;
+        for (int s = 0; s < samples; s++) {
+            int i = (int) ((long) s * (count - 1) / (samples - 1));
+            Comparable category = (Comparable) categories.get(i);
+            g2.setFont(getTickLabelFont(category));
+            TextBlock label = createLabel(category, length, edge, g2);
+            if (horizontal) {
+                extent = Math.max(extent, calculateTextBlockWidth(label,
+                        position, g2));
+            }
+            else {
+                extent = Math.max(extent, calculateTextBlockHeight(label,
+                        position, g2));
+            }
+        }
+        return (int) Math.max(1.0, Math.min(count, Math.ceil(
+                extent / spacing)));
+    }
+
+    /**
+     * Returns {@code true} if the labels created by
+     * {@link #createLabel(Comparable, float, RectangleEdge, Graphics2D)} can
+     * be reused until the axis is changed or the label font, paint or width
+     * changes.  By default this is the case only when {@code createLabel()}
+     * is not overridden, since an overriding method may create labels from
+     * state that the cache does not know about.  Subclasses that override
+     * {@code createLabel()} can override this method to opt in.
+     *
+     * @return A boolean.
+     */
+    protected boolean isCategoryLabelCacheable() {
+        return !CREATE_LABEL_OVERRIDDEN.get(getClass());
+    }
+
+    /**
+     * Returns the label for a category, reusing the label from the previous
+     * refresh of the ticks if it is still valid.
+     *
+     * @param category  the category.
+     * @param width  the available width.
+     * @param edge  the edge on which the axis appears.
+     * @param g2  the graphics device (with the tick label font set).
+     * @param previous  the labels from the previous refresh
+     *     ({@code null} permitted).
+     * @param current  collects the labels for this refresh.
+     *
+     * @return The label.
+     */
+    private TextBlock getCachedLabel(Comparable category, float width,
+            RectangleEdge edge, Graphics2D g2,
+            Map<Comparable, CachedLabel> previous,
+            Map<Comparable, CachedLabel> current) {
+        CachedLabel cached = previous != null ? previous.get(category) : null;
+        Paint paint = getTickLabelPaint(category);
+        if (cached == null || !cached.isValid(width, edge, g2.getFont(),
+                paint, g2.getFontRenderContext(), getChangeCount())) {
+            cached = new CachedLabel(createLabel(category, width, edge, g2),
+                    width, edge, g2.getFont(), paint,
+                    g2.getFontRenderContext(), getChangeCount());
+        }
+        current.put(category, cached);
+        return cached.label;
+    }
+
     /**
      * Draws the tick marks.
      * 
@@ -1130,11 +1324,12 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
         Object saved = g2.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
         g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, 
                 RenderingHints.VALUE_STROKE_NORMALIZE);
+        // the categories are visited by index (looking up the position of
+        // each key would take quadratic time for a large number of categories)
+        int count = categories.size();
         if (edge.equals(RectangleEdge.TOP)) {
-            Iterator iterator = categories.iterator();
-            while (iterator.hasNext()) {
-                Comparable key = (Comparable) iterator.next();
-                double x = getCategoryMiddle(key, categories, dataArea, edge);
+            for (int i = 0; i < count; i++) {
+                double x = getCategoryMiddle(i, count, dataArea, edge);
                 line.setLine(x, cursor, x, cursor + il);
                 g2.draw(line);
                 line.setLine(x, cursor, x, cursor - ol);
@@ -1142,10 +1337,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
             }
             state.cursorUp(ol);
         } else if (edge.equals(RectangleEdge.BOTTOM)) {
-            Iterator iterator = categories.iterator();
-            while (iterator.hasNext()) {
-                Comparable key = (Comparable) iterator.next();
-                double x = getCategoryMiddle(key, categories, dataArea, edge);
+            for (int i = 0; i < count; i++) {
+                double x = getCategoryMiddle(i, count, dataArea, edge);
                 line.setLine(x, cursor, x, cursor - il);
                 g2.draw(line);
                 line.setLine(x, cursor, x, cursor + ol);
@@ -1153,10 +1346,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
             }
             state.cursorDown(ol);
         } else if (edge.equals(RectangleEdge.LEFT)) {
-            Iterator iterator = categories.iterator();
-            while (iterator.hasNext()) {
-                Comparable key = (Comparable) iterator.next();
-                double y = getCategoryMiddle(key, categories, dataArea, edge);
+            for (int i = 0; i < count; i++) {
+                double y = getCategoryMiddle(i, count, dataArea, edge);
                 line.setLine(cursor, y, cursor + il, y);
                 g2.draw(line);
                 line.setLine(cursor, y, cursor - ol, y);
@@ -1164,10 +1355,8 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
             }
             state.cursorLeft(ol);
         } else if (edge.equals(RectangleEdge.RIGHT)) {
-            Iterator iterator = categories.iterator();
-            while (iterator.hasNext()) {
-                Comparable key = (Comparable) iterator.next();
-                double y = getCategoryMiddle(key, categories, dataArea, edge);
+            for (int i = 0; i < count; i++) {
+                double y = getCategoryMiddle(i, count, dataArea, edge);
                 line.setLine(cursor, y, cursor - il, y);
                 g2.draw(line);
                 line.setLine(cursor, y, cursor + ol, y);
@@ -1255,6 +1444,7 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
         clone.tickLabelPaintMap = new HashMap(this.tickLabelPaintMap);
         clone.categoryLabelToolTips = new HashMap(this.categoryLabelToolTips);
         clone.categoryLabelURLs = new HashMap(this.categoryLabelToolTips);
+        clone.labelCache = null;
         return clone;
     }
 
@@ -1294,6 +1484,9 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
                 != this.categoryLabelPositionOffset) {
             return false;
         }
+        if (that.categoryLabelThinning != this.categoryLabelThinning) {
+            return false;
+        }
         if (!Objects.equals(that.categoryLabelPositions,
                 this.categoryLabelPositions)) {
             return false;
@@ -1437,4 +1630,41 @@ public class CategoryAxis extends Axis implements Cloneable, Serializable {
         return true;
     }
 
+    /**
+     * A category label together with the inputs that it was created from.
+     */
+    private static final class CachedLabel {
+
+        private final TextBlock label;
+        private final float width;
+        private final RectangleEdge edge;
+        private final Font font;
+        private final Paint paint;
+        private final FontRenderContext frc;
+        private final long changeCount;
+
+        CachedLabel(TextBlock label, float width, RectangleEdge edge,
+                Font font, Paint paint, FontRenderContext frc,
+                long changeCount) {
+            this.label = label;
+            this.width = width;
+            this.edge = edge;
+            this.font = font;
+            this.paint = paint;
+            this.frc = frc;
+            this.changeCount = changeCount;
+        }
+
+        boolean isValid(float width, RectangleEdge edge, Font font,
+                Paint paint, FontRenderContext frc, long changeCount) {
+            return Float.compare(this.width, width) == 0
+                    && this.changeCount == changeCount
+                    && this.edge == edge
+                    && Objects.equals(this.font, font)
+                    && PaintUtils.equal(this.paint, paint)
+                    && Objects.equals(this.frc, frc);
+        }
+
+    }
+
 }
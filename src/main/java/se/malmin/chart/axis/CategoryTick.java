@@ -56,6 +56,15 @@ public class CategoryTick extends Tick {
     /** The label anchor. */
     private TextBlockAnchor labelAnchor;
 
+    /** The index of the category (set when the category count is set). */
+    private transient int categoryIndex;
+
+    /**
+     * The number of categories when the ticks do not cover every category
+     * (zero otherwise).
+     */
+    private transient int categoryCount;
+
     /**
      * Creates a new tick.
      *
@@ -78,6 +87,47 @@ public class CategoryTick extends Tick {
 
     }
 
+    /**
+     * Creates a new tick for a category when the ticks do not cover every
+     * category (see {@link CategoryAxis#setCategoryLabelThinning(boolean)}).
+     *
+     * @param category  the category.
+     * @param label  the label.
+     * @param labelAnchor  the label anchor.
+     * @param rotationAnchor  the rotation anchor.
+     * @param angle  the rotation angle (in radians).
+     * @param categoryIndex  the index of the category.
+     * @param categoryCount  the number of categories.
+     */
+    CategoryTick(Comparable category, TextBlock label,
+            TextBlockAnchor labelAnchor, TextAnchor rotationAnchor,
+            double angle, int categoryIndex, int categoryCount) {
+        this(category, label, labelAnchor, rotationAnchor, angle);
+        this.categoryIndex = categoryIndex;
+        this.categoryCount = categoryCount;
+    }
+
+    /**
+     * Returns the index of the category (only valid if
+     * {@link #getCategoryCount()} is greater than zero, otherwise the index
+     * is the position of the tick in the list of ticks).
+     *
+     * @return The category index.
+     */
+    int getCategoryIndex() {
+        return this.categoryIndex;
+    }
+
+    /**
+     * Returns the number of categories, or zero if there is a tick for every
+     * category.
+     *
+     * @return The category count.
+     */
+    int getCategoryCount() {
+        return this.categoryCount;
+    }
+
     /**
      * Returns the category.
      *
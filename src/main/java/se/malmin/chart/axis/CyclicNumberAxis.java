@@ -1165,4 +1165,16 @@ public class CyclicNumberAxis extends NumberAxis {
         }
         return true;
     }
+
+    /**
+     * Returns {@code false}, since the ticks for this axis depend on state
+     * that is not covered by the tick layout cache.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    protected boolean isTickLayoutCacheable() {
+        return false;
+    }
+
 }
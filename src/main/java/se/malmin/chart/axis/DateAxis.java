@@ -247,6 +247,9 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
     /** Our underlying timeline. */
     private Timeline timeline;
 
+    /** The engine used to calculate the ticks. */
+    private DateTickEngine tickEngine;
+
     /**
      * Creates a date axis with no label.
      */
@@ -281,6 +284,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         this.timeZone = zone;
         this.locale = locale;
         this.timeline = DEFAULT_TIMELINE;
+        this.tickEngine = DateTickEngine.CALENDAR;
     }
 
     /**
@@ -309,6 +313,34 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         fireChangeEvent();
     }
     
+    /**
+     * Returns the engine used to calculate the tick dates and format the
+     * tick labels.  The default is {@link DateTickEngine#CALENDAR}.
+     *
+     * @return The tick engine (never {@code null}).
+     *
+     * @see #setTickEngine(DateTickEngine)
+     */
+    public DateTickEngine getTickEngine() {
+        return this.tickEngine;
+    }
+
+    /**
+     * Sets the engine used to calculate the tick dates and format the tick
+     * labels and sends an {@link AxisChangeEvent} to all registered
+     * listeners.  The {@link DateTickEngine#JAVA_TIME} engine generates the
+     * same ticks as the default engine with far fewer temporary objects.
+     *
+     * @param engine  the engine ({@code null} not permitted).
+     *
+     * @see #getTickEngine()
+     */
+    public void setTickEngine(DateTickEngine engine) {
+        Args.nullNotPermitted(engine, "engine");
+        this.tickEngine = engine;
+        fireChangeEvent();
+    }
+
     /**
      * Returns the locale for this axis.
      * 
@@ -682,6 +714,50 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         return result;
     }
 
+    /**
+     * Returns a precomputed linear transform that gives the same results as
+     * {@link #valueToJava2D(double, Rectangle2D, RectangleEdge)}.  If the
+     * axis has a timeline other than the default, or a subclass overrides
+     * {@code valueToJava2D()}, the transform calls that method instead.
+     *
+     * @param area  the area for plotting the data ({@code null} not
+     *     permitted).
+     * @param edge  the edge along which the axis lies ({@code null} not
+     *     permitted).
+     *
+     * @return The transform (never {@code null}).
+     */
+    @Override
+    public AxisTransform createTransform(Rectangle2D area,
+            RectangleEdge edge) {
+        if (!(this.timeline instanceof DefaultTimeline)
+                || !AxisTransform.isDeclaredBy(this, DateAxis.class,
+                "valueToJava2D", double.class, Rectangle2D.class,
+                RectangleEdge.class)) {
+            return super.createTransform(area, edge);
+        }
+        Args.nullNotPermitted(area, "area");
+        Args.nullNotPermitted(edge, "edge");
+        DateRange range = (DateRange) getRange();
+        double axisMin = this.timeline.toTimelineValue(range.getLowerMillis());
+        double axisMax = this.timeline.toTimelineValue(range.getUpperMillis());
+        double origin = 0.0;
+        double extent = 0.0;
+        if (RectangleEdge.isTopOrBottom(edge)) {
+            double minX = area.getX();
+            double maxX = area.getMaxX();
+            origin = isInverted() ? maxX : minX;
+            extent = isInverted() ? minX - maxX : maxX - minX;
+        }
+        else if (RectangleEdge.isLeftOrRight(edge)) {
+            double minY = area.getMinY();
+            double maxY = area.getMaxY();
+            origin = isInverted() ? minY : maxY;
+            extent = isInverted() ? maxY - minY : -(maxY - minY);
+        }
+        return AxisTransform.millisecond(axisMin, axisMax, origin, extent);
+    }
+
     /**
      * Translates a date to Java2D coordinates, based on the range displayed by
      * this axis for the specified data area.
@@ -1404,6 +1480,12 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
     public List refreshTicks(Graphics2D g2, AxisState state, 
             Rectangle2D dataArea, RectangleEdge edge) {
 
+        TickLayoutCache.Key key = createTickLayoutKey(g2, dataArea, edge);
+        TickLayoutCache.Entry cached = getTickLayoutCache().get(key);
+        if (cached != null) {
+            setTickUnit((DateTickUnit) cached.getTickUnit(), false, false);
+            return cached.getTicks();
+        }
         List result = null;
         if (RectangleEdge.isTopOrBottom(edge)) {
             result = refreshTicksHorizontal(g2, dataArea, edge);
@@ -1411,23 +1493,60 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         else if (RectangleEdge.isLeftOrRight(edge)) {
             result = refreshTicksVertical(g2, dataArea, edge);
         }
+        if (result != null) {
+            getTickLayoutCache().put(key, result, getTickUnit());
+            // with auto tick unit selection the tick unit has probably just
+            // changed, so also store the layout for the key that the next
+            // call will use
+            if (key != null && isAutoTickUnitSelection()) {
+                getTickLayoutCache().put(createTickLayoutKey(g2, dataArea,
+                        edge), result, getTickUnit());
+            }
+        }
         return result;
 
     }
 
+    /**
+     * Creates the key for the tick layout cache.
+     *
+     * @param g2  the graphics target.
+     * @param dataArea  the area along which the axis measures.
+     * @param edge  the axis edge.
+     *
+     * @return The key ({@code null} if the ticks cannot be cached).
+     */
+    @Override
+    TickLayoutCache.Key createTickLayoutKey(Graphics2D g2,
+            Rectangle2D dataArea, RectangleEdge edge) {
+        if (!isTickLayoutCacheable()) {
+            return null;
+        }
+        return new TickLayoutCache.Key(this, g2, dataArea, edge,
+                getTickUnit(), isAutoTickUnitSelection(),
+                getDateFormatOverride());
+    }
+
     /**
      * Corrects the given tick date for the position setting.
      *
      * @param time  the tick date/time.
      * @param unit  the tick unit.
      * @param position  the tick position.
+     * @param calculator  the calculator for the {@code JAVA_TIME} engine
+     *     ({@code null} permitted).
      *
      * @return The adjusted time.
      */
     private Date correctTickDateForPosition(Date time, DateTickUnit unit,
-            DateTickMarkPosition position) {
+            DateTickMarkPosition position, JavaTimeTickCalculator calculator) {
         Date result = time;
-        if (unit.getUnitType().equals(DateTickUnitType.MONTH)) {
+        if (calculator != null && (unit.getUnitType().equals(
+                DateTickUnitType.MONTH) || unit.getUnitType().equals(
+                DateTickUnitType.YEAR))) {
+            result = new Date(calculator.periodPosition(time.getTime(),
+                    unit.getUnitType(), position));
+        } else if (unit.getUnitType().equals(DateTickUnitType.MONTH)) {
             result = calculateDateForPosition(new Month(time, this.timeZone,
                     this.locale), position);
         } else if (unit.getUnitType().equals(DateTickUnitType.YEAR)) {
@@ -1437,6 +1556,95 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         return result;
     }
 
+    /**
+     * Creates the calculator for the {@link DateTickEngine#JAVA_TIME} engine,
+     * or returns {@code null} if the ticks should be calculated with the
+     * {@code Calendar} class.
+     *
+     * @param unit  the tick unit.
+     * @param first  the first tick date.
+     * @param upper  the upper bound for the tick dates.
+     *
+     * @return The calculator or {@code null}.
+     */
+    private JavaTimeTickCalculator createJavaTimeTickCalculator(
+            DateTickUnit unit, Date first, Date upper) {
+        // a subclass of DateTickUnit can override the date arithmetic and
+        // formatting
+        if (this.tickEngine != DateTickEngine.JAVA_TIME
+                || unit.getClass() != DateTickUnit.class) {
+            return null;
+        }
+        DateFormat labelFormat = getDateFormatOverride();
+        if (labelFormat == null) {
+            labelFormat = unit.getFormatter();
+        }
+        // allow for the minor ticks before the first tick and after the last
+        long margin = 2L * (long) unit.getSize();
+        return JavaTimeTickCalculator.create(this.timeZone, this.locale,
+                first.getTime() - margin, upper.getTime() + margin,
+                labelFormat);
+    }
+
+    /**
+     * Adds the tick unit to a date.
+     *
+     * @param date  the date.
+     * @param unit  the tick unit.
+     * @param calculator  the calculator for the {@code JAVA_TIME} engine
+     *     ({@code null} permitted).
+     *
+     * @return The new date.
+     */
+    private Date addToDate(Date date, DateTickUnit unit,
+            JavaTimeTickCalculator calculator) {
+        if (calculator != null) {
+            return new Date(calculator.add(date.getTime(), unit.getUnitType(),
+                    unit.getMultiple()));
+        }
+        return unit.addToDate(date, this.timeZone);
+    }
+
+    /**
+     * Rolls a date forward by the roll unit and count for the tick unit.
+     *
+     * @param date  the date.
+     * @param unit  the tick unit.
+     * @param calculator  the calculator for the {@code JAVA_TIME} engine
+     *     ({@code null} permitted).
+     *
+     * @return The rolled date.
+     */
+    private Date rollDate(Date date, DateTickUnit unit,
+            JavaTimeTickCalculator calculator) {
+        if (calculator != null) {
+            return new Date(calculator.add(date.getTime(),
+                    unit.getRollUnitType(), unit.getRollMultiple()));
+        }
+        return unit.rollDate(date, this.timeZone);
+    }
+
+    /**
+     * Creates the label for a tick.
+     *
+     * @param date  the tick date.
+     * @param calculator  the calculator for the {@code JAVA_TIME} engine
+     *     ({@code null} permitted).
+     *
+     * @return The tick label.
+     */
+    private String createTickLabel(Date date,
+            JavaTimeTickCalculator calculator) {
+        if (calculator != null && calculator.canFormatLabels()) {
+            return calculator.formatLabel(date.getTime());
+        }
+        DateFormat formatter = getDateFormatOverride();
+        if (formatter != null) {
+            return formatter.format(date);
+        }
+        return this.tickUnit.dateToString(date);
+    }
+
     /**
      * Recalculates the ticks for the date axis.
      *
@@ -1461,17 +1669,19 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         DateTickUnit unit = getTickUnit();
         Date tickDate = calculateLowestVisibleTickValue(unit);
         Date upperDate = getMaximumDate();
+        JavaTimeTickCalculator calculator = createJavaTimeTickCalculator(
+                unit, tickDate, upperDate);
 
         boolean hasRolled = false;
         while (tickDate.before(upperDate)) {
             // could add a flag to make the following correction optional...
             if (!hasRolled) {
                 tickDate = correctTickDateForPosition(tickDate, unit,
-                     this.tickMarkPosition);
+                     this.tickMarkPosition, calculator);
             }
 
             long lowestTickTime = tickDate.getTime();
-            long distance = unit.addToDate(tickDate, this.timeZone).getTime()
+            long distance = addToDate(tickDate, unit, calculator).getTime()
                     - lowestTickTime;
             int minorTickSpaces = getMinorTickCount();
             if (minorTickSpaces <= 0) {
@@ -1490,14 +1700,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
 
             if (!isHiddenValue(tickDate.getTime())) {
                 // work out the value, label and position
-                String tickLabel;
-                DateFormat formatter = getDateFormatOverride();
-                if (formatter != null) {
-                    tickLabel = formatter.format(tickDate);
-                }
-                else {
-                    tickLabel = this.tickUnit.dateToString(tickDate);
-                }
+                String tickLabel = createTickLabel(tickDate, calculator);
                 TextAnchor anchor, rotationAnchor;
                 double angle = 0.0;
                 if (isVerticalTickLabels()) {
@@ -1527,7 +1730,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
                 hasRolled = false;
 
                 long currentTickTime = tickDate.getTime();
-                tickDate = unit.addToDate(tickDate, this.timeZone);
+                tickDate = addToDate(tickDate, unit, calculator);
                 long nextTickTime = tickDate.getTime();
                 for (int minorTick = 1; minorTick < minorTickSpaces;
                         minorTick++) {
@@ -1545,7 +1748,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
 
             }
             else {
-                tickDate = unit.rollDate(tickDate, this.timeZone);
+                tickDate = rollDate(tickDate, unit, calculator);
                 hasRolled = true;
             }
 
@@ -1577,6 +1780,8 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         DateTickUnit unit = getTickUnit();
         Date tickDate = calculateLowestVisibleTickValue(unit);
         Date upperDate = getMaximumDate();
+        JavaTimeTickCalculator calculator = createJavaTimeTickCalculator(
+                unit, tickDate, upperDate);
 
         boolean hasRolled = false;
         while (tickDate.before(upperDate)) {
@@ -1584,11 +1789,11 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
             // could add a flag to make the following correction optional...
             if (!hasRolled) {
                 tickDate = correctTickDateForPosition(tickDate, unit,
-                    this.tickMarkPosition);
+                    this.tickMarkPosition, calculator);
             }
 
             long lowestTickTime = tickDate.getTime();
-            long distance = unit.addToDate(tickDate, this.timeZone).getTime()
+            long distance = addToDate(tickDate, unit, calculator).getTime()
                     - lowestTickTime;
             int minorTickSpaces = getMinorTickCount();
             if (minorTickSpaces <= 0) {
@@ -1606,14 +1811,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
             }
             if (!isHiddenValue(tickDate.getTime())) {
                 // work out the value, label and position
-                String tickLabel;
-                DateFormat formatter = getDateFormatOverride();
-                if (formatter != null) {
-                    tickLabel = formatter.format(tickDate);
-                }
-                else {
-                    tickLabel = this.tickUnit.dateToString(tickDate);
-                }
+                String tickLabel = createTickLabel(tickDate, calculator);
                 TextAnchor anchor, rotationAnchor;
                 double angle = 0.0;
                 if (isVerticalTickLabels()) {
@@ -1643,7 +1841,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
                 hasRolled = false;
 
                 long currentTickTime = tickDate.getTime();
-                tickDate = unit.addToDate(tickDate, this.timeZone);
+                tickDate = addToDate(tickDate, unit, calculator);
                 long nextTickTime = tickDate.getTime();
                 for (int minorTick = 1; minorTick < minorTickSpaces;
                         minorTick++) {
@@ -1660,7 +1858,7 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
                 }
             }
             else {
-                tickDate = unit.rollDate(tickDate, this.timeZone);
+                tickDate = rollDate(tickDate, unit, calculator);
                 hasRolled = true;
             }
         }
@@ -1786,6 +1984,9 @@ public class DateAxis extends ValueAxis implements Cloneable, Serializable {
         if (!Objects.equals(this.timeline, that.timeline)) {
             return false;
         }
+        if (this.tickEngine != that.tickEngine) {
+            return false;
+        }
         return super.equals(obj);
     }
 
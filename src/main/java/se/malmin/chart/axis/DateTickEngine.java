@@ -0,0 +1,68 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * DateTickEngine.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.axis;
+
+/**
+ * The engine used by a {@link DateAxis} to calculate its tick dates and
+ * format its tick labels.  Both engines generate the same ticks.
+ * <p>
+ * The engine is not used by {@link PeriodAxis}, which is not a subclass of
+ * {@code DateAxis} and calculates its bands with the {@code Calendar} of
+ * its {@link se.malmin.data.time.RegularTimePeriod} instances.
+ *
+ * @see DateAxis#setTickEngine(DateTickEngine)
+ */
+public enum DateTickEngine {
+
+    /**
+     * The tick dates are calculated with {@code java.util.Calendar} and the
+     * labels are formatted with the {@code DateFormat} for the tick unit (or
+     * the override format).
+     */
+    CALENDAR,
+
+    /**
+     * The tick dates are calculated with {@code java.time} arithmetic and
+     * the labels are formatted with shared {@code DateTimeFormatter}
+     * instances where the {@code DateFormat} can be converted.  This
+     * allocates far fewer objects for each tick.  The axis falls back to the
+     * {@code CALENDAR} engine for dates outside the years 1901 to 2036, for
+     * non-Gregorian calendars and for subclasses of {@link DateTickUnit}.
+     */
+    JAVA_TIME
+
+}
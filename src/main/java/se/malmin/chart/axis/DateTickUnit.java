@@ -170,6 +170,15 @@ public class DateTickUnit extends TickUnit implements Serializable {
         return this.formatter.format(new Date((long) milliseconds));
     }
 
+    /**
+     * Returns the formatter for the tick unit.
+     *
+     * @return The formatter (never {@code null}).
+     */
+    DateFormat getFormatter() {
+        return this.formatter;
+    }
+
     /**
      * Formats a date using the tick unit's formatter.
      *
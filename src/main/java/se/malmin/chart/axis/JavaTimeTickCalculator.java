@@ -0,0 +1,479 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * JavaTimeTickCalculator.java
+ * ---------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.axis;
+
+import java.text.DateFormat;
+import java.text.DateFormatSymbols;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Date arithmetic and label formatting for the {@link DateTickEngine#JAVA_TIME}
+ * tick engine in {@link DateAxis}.  The calculations reproduce the results of
+ * {@code GregorianCalendar.add()} (including the handling of daylight saving
+ * transitions) using the immutable {@code java.time} classes, and tick labels
+ * are formatted with {@code DateTimeFormatter} instances that are converted
+ * once from the {@code SimpleDateFormat} patterns used by the axis and then
+ * shared.  Instances of this class are immutable and safe to share between
+ * threads.
+ */
+final class JavaTimeTickCalculator {
+
+    /** Milliseconds per day. */
+    private static final long MILLIS_PER_DAY = 24L * 60L * 60L * 1000L;
+
+    /**
+     * The earliest date supported.  The time zone data used by
+     * {@code java.util.TimeZone} covers the years 1900 to 2037 only (before
+     * and after that the results differ from the {@code java.time} rules).
+     */
+    private static final long MINIMUM_MILLIS = LocalDate.of(1901, 1, 1)
+            .atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+
+    /** The latest date supported. */
+    private static final long MAXIMUM_MILLIS = LocalDate.of(2037, 1, 1)
+            .atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+
+    /** The maximum number of formatters in the cache. */
+    private static final int MAX_CACHED_FORMATTERS = 256;
+
+    /**
+     * The converted label formatters, keyed on pattern, locale and time zone
+     * (an empty value records a pattern that cannot be converted).
+     */
+    private static final Map<String, Optional<DateTimeFormatter>> FORMATTERS
+            = new ConcurrentHashMap<>();
+
+    /** The time zone for the date calculations. */
+    private final ZoneId zone;
+
+    /** The rules for the time zone. */
+    private final ZoneRules rules;
+
+    /** The label formatter ({@code null} if labels cannot be converted). */
+    private final DateTimeFormatter labelFormatter;
+
+    /**
+     * Creates a new calculator.
+     *
+     * @param zone  the time zone.
+     * @param labelFormatter  the label formatter ({@code null} permitted).
+     */
+    private JavaTimeTickCalculator(ZoneId zone,
+            DateTimeFormatter labelFormatter) {
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.labelFormatter = labelFormatter;
+    }
+
+    /**
+     * Creates a calculator for the specified time zone and locale, or returns
+     * {@code null} if the results would not match the {@code Calendar} based
+     * calculations (because the default calendar is not a
+     * {@code GregorianCalendar} or the dates are outside the years 1901 to
+     * 2036).
+     *
+     * @param timeZone  the time zone ({@code null} not permitted).
+     * @param locale  the locale ({@code null} not permitted).
+     * @param lower  the earliest date that will be calculated (in
+     *     milliseconds).
+     * @param upper  the latest date that will be calculated (in
+     *     milliseconds).
+     * @param labelFormat  the format for the tick labels ({@code null}
+     *     permitted).
+     *
+     * @return A calculator or {@code null}.
+     */
+    static JavaTimeTickCalculator create(TimeZone timeZone, Locale locale,
+            long lower, long upper, DateFormat labelFormat) {
+        if (lower < MINIMUM_MILLIS || upper > MAXIMUM_MILLIS) {
+            return null;
+        }
+        // DateTickUnit uses the default locale for its calendar and the
+        // Month and Year periods use the axis locale
+        if (!(Calendar.getInstance(timeZone) instanceof GregorianCalendar)
+                || !(Calendar.getInstance(timeZone, locale)
+                instanceof GregorianCalendar)) {
+            return null;
+        }
+        return new JavaTimeTickCalculator(timeZone.toZoneId(),
+                getFormatter(labelFormat, locale));
+    }
+
+    /**
+     * Returns {@code true} if this calculator can format the tick labels.
+     *
+     * @return A boolean.
+     */
+    boolean canFormatLabels() {
+        return this.labelFormatter != null;
+    }
+
+    /**
+     * Formats a tick label.
+     *
+     * @param millis  the date (in milliseconds).
+     *
+     * @return The label.
+     */
+    String formatLabel(long millis) {
+        return this.labelFormatter.format(Instant.ofEpochMilli(millis));
+    }
+
+    /**
+     * Adds a number of units to a date, with the same result as
+     * {@code Calendar.add()}.
+     *
+     * @param millis  the date (in milliseconds).
+     * @param unitType  the unit type.
+     * @param count  the number of units.
+     *
+     * @return The new date (in milliseconds).
+     */
+    long add(long millis, DateTickUnitType unitType, int count) {
+        if (unitType.equals(DateTickUnitType.MILLISECOND)) {
+            return millis + count;
+        }
+        else if (unitType.equals(DateTickUnitType.SECOND)) {
+            return millis + count * 1000L;
+        }
+        else if (unitType.equals(DateTickUnitType.MINUTE)) {
+            return millis + count * 60000L;
+        }
+        else if (unitType.equals(DateTickUnitType.HOUR)) {
+            return millis + count * 3600000L;
+        }
+        else if (unitType.equals(DateTickUnitType.DAY)) {
+            return addDays(millis, count);
+        }
+        LocalDateTime local = toLocal(millis);
+        if (unitType.equals(DateTickUnitType.MONTH)) {
+            local = local.plusMonths(count);
+        }
+        else {
+            local = local.plusYears(count);
+        }
+        return toMillis(local);
+    }
+
+    /**
+     * Adds a number of days to a date.  The time of day is preserved where
+     * possible and, as for {@code GregorianCalendar}, the result is adjusted
+     * for any change in the time zone offset.
+     *
+     * @param millis  the date (in milliseconds).
+     * @param days  the number of days.
+     *
+     * @return The new date (in milliseconds).
+     */
+    private long addDays(long millis, int days) {
+        int offset = offsetMillis(millis);
+        long wall = millis + offset;
+        long day = Math.floorDiv(wall, MILLIS_PER_DAY) + days;
+        long result = day * MILLIS_PER_DAY
+                + Math.floorMod(wall, MILLIS_PER_DAY) - offset;
+        int change = offset - offsetMillis(result);
+        if (change != 0) {
+            // keep the adjustment unless it moves the result to another day
+            long adjusted = result + change;
+            if (Math.floorDiv(adjusted + offsetMillis(adjusted),
+                    MILLIS_PER_DAY) == day) {
+                result = adjusted;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the date corresponding to the specified position within the
+     * month or year containing a date, with the same result as
+     * {@code DateAxis} calculates using the {@code Month} and {@code Year}
+     * periods.
+     *
+     * @param millis  the date (in milliseconds).
+     * @param unitType  the unit type ({@code MONTH} or {@code YEAR}).
+     * @param position  the position.
+     *
+     * @return The date (in milliseconds).
+     */
+    long periodPosition(long millis, DateTickUnitType unitType,
+            DateTickMarkPosition position) {
+        LocalDate date = toLocal(millis).toLocalDate();
+        LocalDate first;
+        LocalDate last;
+        if (unitType.equals(DateTickUnitType.MONTH)) {
+            first = date.withDayOfMonth(1);
+            last = date.withDayOfMonth(date.lengthOfMonth());
+        }
+        else {
+            first = date.withDayOfYear(1);
+            last = date.withDayOfYear(date.lengthOfYear());
+        }
+        long m1 = toMillis(first.atStartOfDay());
+        if (position == DateTickMarkPosition.START) {
+            return m1;
+        }
+        long m2 = toMillis(last.atTime(23, 59, 59, 999000000));
+        if (position == DateTickMarkPosition.END) {
+            return m2;
+        }
+        return m1 + (m2 - m1) / 2;
+    }
+
+    /**
+     * Returns the total time zone offset at the specified instant.
+     *
+     * @param millis  the instant (in milliseconds).
+     *
+     * @return The offset (in milliseconds).
+     */
+    private int offsetMillis(long millis) {
+        return this.rules.getOffset(Instant.ofEpochMilli(millis))
+                .getTotalSeconds() * 1000;
+    }
+
+    /**
+     * Converts an instant to the local date and time in the time zone.
+     *
+     * @param millis  the instant (in milliseconds).
+     *
+     * @return The local date and time.
+     */
+    private LocalDateTime toLocal(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis),
+                this.zone);
+    }
+
+    /**
+     * Converts a local date and time to an instant.  As for a lenient
+     * {@code Calendar}, a time in a gap is moved forward by the length of the
+     * gap and an ambiguous time is interpreted as standard time.
+     *
+     * @param local  the local date and time.
+     *
+     * @return The instant (in milliseconds).
+     */
+    private long toMillis(LocalDateTime local) {
+        return ZonedDateTime.ofLocal(local, this.zone, null)
+                .withLaterOffsetAtOverlap().toInstant().toEpochMilli();
+    }
+
+    /**
+     * Returns a shared {@code DateTimeFormatter} that gives the same results
+     * as the specified date format, or {@code null} if there is no such
+     * formatter.  Only {@code SimpleDateFormat} instances with the standard
+     * symbols for the locale and a pattern that uses the year, month, day,
+     * day of week, day of year, hour, minute, second, millisecond and AM/PM
+     * fields are converted.
+     *
+     * @param format  the date format ({@code null} permitted).
+     * @param locale  the locale.
+     *
+     * @return A formatter or {@code null}.
+     */
+    static DateTimeFormatter getFormatter(DateFormat format, Locale locale) {
+        if (format == null || format.getClass() != SimpleDateFormat.class) {
+            return null;
+        }
+        SimpleDateFormat sdf = (SimpleDateFormat) format;
+        if (sdf.getCalendar().getClass() != GregorianCalendar.class) {
+            return null;
+        }
+        NumberFormat nf = sdf.getNumberFormat();
+        if (nf.getClass() != DecimalFormat.class || nf.isGroupingUsed()
+                || ((DecimalFormat) nf).getDecimalFormatSymbols()
+                .getZeroDigit() != '0') {
+            return null;
+        }
+        if (!sdf.getDateFormatSymbols().equals(
+                DateFormatSymbols.getInstance(locale))) {
+            return null;
+        }
+        String pattern = sdf.toPattern();
+        ZoneId zone = sdf.getTimeZone().toZoneId();
+        String key = pattern + '\n' + locale.toLanguageTag() + '\n'
+                + zone.getId();
+        Optional<DateTimeFormatter> result = FORMATTERS.get(key);
+        if (result == null) {
+            result = Optional.ofNullable(convert(sdf, pattern, locale, zone));
+            if (FORMATTERS.size() >= MAX_CACHED_FORMATTERS) {
+                FORMATTERS.clear();
+            }
+            FORMATTERS.put(key, result);
+        }
+        return result.orElse(null);
+    }
+
+    /**
+     * Converts a date format to a {@code DateTimeFormatter}, checking that
+     * the two give the same results for a sample of dates.
+     *
+     * @param format  the date format.
+     * @param pattern  the pattern for the date format.
+     * @param locale  the locale.
+     * @param zone  the time zone for the date format.
+     *
+     * @return The formatter ({@code null} if the format cannot be
+     *     converted).
+     */
+    private static DateTimeFormatter convert(SimpleDateFormat format,
+            String pattern, Locale locale, ZoneId zone) {
+        String converted = convertPattern(pattern);
+        if (converted == null) {
+            return null;
+        }
+        DateTimeFormatter result;
+        try {
+            result = DateTimeFormatter.ofPattern(converted, locale)
+                    .withZone(zone);
+        }
+        catch (IllegalArgumentException e) {
+            return null;
+        }
+        // the same month, day and AM/PM names must be used
+        DateFormat check = (DateFormat) format.clone();
+        for (int month = 1; month <= 12; month++) {
+            LocalDateTime sample = LocalDateTime.of(2001, month, month + 9,
+                    month * 2 - 1, month * 4, month * 3, month * 7000000);
+            Instant instant = sample.atZone(zone).toInstant();
+            if (!check.format(Date.from(instant)).equals(
+                    result.format(instant))) {
+                return null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Converts a {@code SimpleDateFormat} pattern to a
+     * {@code DateTimeFormatter} pattern, or returns {@code null} if the
+     * pattern uses a field that is not supported or that is formatted
+     * differently.
+     *
+     * @param pattern  the pattern.
+     *
+     * @return The converted pattern or {@code null}.
+     */
+    static String convertPattern(String pattern) {
+        StringBuilder result = new StringBuilder(pattern.length());
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int end = pattern.indexOf('\'', i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                result.append(pattern, i, end + 1);
+                i = end + 1;
+            }
+            else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int n = 1;
+                while (i + n < pattern.length()
+                        && pattern.charAt(i + n) == c) {
+                    n++;
+                }
+                if (!isSupported(c, n)) {
+                    return null;
+                }
+                result.append(pattern, i, i + n);
+                i += n;
+            }
+            else if ("[]{}#".indexOf(c) >= 0) {
+                return null;
+            }
+            else {
+                result.append(c);
+                i++;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns {@code true} if a run of pattern letters has the same meaning
+     * for {@code SimpleDateFormat} and {@code DateTimeFormatter}.
+     *
+     * @param letter  the pattern letter.
+     * @param count  the number of times the letter is repeated.
+     *
+     * @return A boolean.
+     */
+    private static boolean isSupported(char letter, int count) {
+        switch (letter) {
+            case 'y':
+                return true;
+            case 'M':
+            case 'E':
+                return count <= 4;
+            case 'D':
+                return count <= 3;
+            case 'd':
+            case 'H':
+            case 'k':
+            case 'K':
+            case 'h':
+            case 'm':
+            case 's':
+                return count <= 2;
+            case 'S':
+                return count == 3;
+            case 'a':
+                return count == 1;
+            default:
+                return false;
+        }
+    }
+
+}
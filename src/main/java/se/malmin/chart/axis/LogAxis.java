@@ -410,6 +410,43 @@ public class LogAxis extends ValueAxis {
         }
     }
 
+    /**
+     * Returns a precomputed transform that gives the same results as
+     * {@link #valueToJava2D(double, Rectangle2D, RectangleEdge)}.  If a
+     * subclass overrides {@code valueToJava2D()} or
+     * {@link #calculateLog(double)}, the transform calls
+     * {@code valueToJava2D()} instead.
+     *
+     * @param area  the area ({@code null} not permitted).
+     * @param edge  the edge ({@code null} not permitted).
+     *
+     * @return The transform (never {@code null}).
+     */
+    @Override
+    public AxisTransform createTransform(Rectangle2D area,
+            RectangleEdge edge) {
+        if (!AxisTransform.isDeclaredBy(this, LogAxis.class, "valueToJava2D",
+                double.class, Rectangle2D.class, RectangleEdge.class)
+                || !AxisTransform.isDeclaredBy(this, LogAxis.class,
+                "calculateLog", double.class)) {
+            return super.createTransform(area, edge);
+        }
+        Args.nullNotPermitted(area, "area");
+        Args.nullNotPermitted(edge, "edge");
+        Range range = getRange();
+        double axisMin = calculateLog(range.getLowerBound());
+        double axisMax = calculateLog(range.getUpperBound());
+        double[] minMax = AxisTransform.minMax(area, edge);
+        double min = minMax[0];
+        double max = minMax[1];
+        if (isInverted()) {
+            return AxisTransform.log(this.baseLog, axisMin, axisMax, max,
+                    -(max - min));
+        }
+        return AxisTransform.log(this.baseLog, axisMin, axisMax, min,
+                max - min);
+    }
+
     /**
      * Configures the axis.  This method is typically called when an axis
      * is assigned to a new plot.
@@ -1031,4 +1031,15 @@ public class LogarithmicAxis extends NumberAxis {
         return makeTickLabel(val, false);
     }
 
+    /**
+     * Returns {@code false}, since the ticks for this axis depend on state
+     * that is not covered by the tick layout cache.
+     *
+     * @return {@code false}.
+     */
+    @Override
+    protected boolean isTickLayoutCacheable() {
+        return false;
+    }
+
 }
@@ -484,6 +484,41 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
 
     }
 
+    /**
+     * Returns a precomputed linear transform that gives the same results as
+     * {@link #valueToJava2D(double, Rectangle2D, RectangleEdge)}.  If a
+     * subclass overrides {@code valueToJava2D()}, the transform calls that
+     * method instead.
+     *
+     * @param area  the area for plotting the data ({@code null} not
+     *     permitted).
+     * @param edge  the edge along which the axis lies ({@code null} not
+     *     permitted).
+     *
+     * @return The transform (never {@code null}).
+     */
+    @Override
+    public AxisTransform createTransform(Rectangle2D area,
+            RectangleEdge edge) {
+        if (!AxisTransform.isDeclaredBy(this, NumberAxis.class,
+                "valueToJava2D", double.class, Rectangle2D.class,
+                RectangleEdge.class)) {
+            return super.createTransform(area, edge);
+        }
+        Args.nullNotPermitted(area, "area");
+        Args.nullNotPermitted(edge, "edge");
+        Range range = getRange();
+        double[] minMax = AxisTransform.minMax(area, edge);
+        double min = minMax[0];
+        double max = minMax[1];
+        if (isInverted()) {
+            return AxisTransform.linear(range.getLowerBound(),
+                    range.getUpperBound(), max, -(max - min));
+        }
+        return AxisTransform.linear(range.getLowerBound(),
+                range.getUpperBound(), min, max - min);
+    }
+
     /**
      * Converts a coordinate in Java2D space to the corresponding data value,
      * assuming that the axis runs along one edge of the specified dataArea.
@@ -861,6 +896,12 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
     public List refreshTicks(Graphics2D g2, AxisState state, 
             Rectangle2D dataArea, RectangleEdge edge) {
 
+        TickLayoutCache.Key key = createTickLayoutKey(g2, dataArea, edge);
+        TickLayoutCache.Entry cached = getTickLayoutCache().get(key);
+        if (cached != null) {
+            setTickUnit((NumberTickUnit) cached.getTickUnit(), false, false);
+            return cached.getTicks();
+        }
         List result = new java.util.ArrayList();
         if (RectangleEdge.isTopOrBottom(edge)) {
             result = refreshTicksHorizontal(g2, dataArea, edge);
@@ -868,10 +909,40 @@ public class NumberAxis extends ValueAxis implements Cloneable, Serializable {
         else if (RectangleEdge.isLeftOrRight(edge)) {
             result = refreshTicksVertical(g2, dataArea, edge);
         }
+        if (result != null) {
+            getTickLayoutCache().put(key, result, getTickUnit());
+            // with auto tick unit selection the tick unit has probably just
+            // changed, so also store the layout for the key that the next
+            // call will use
+            if (key != null && isAutoTickUnitSelection()) {
+                getTickLayoutCache().put(createTickLayoutKey(g2, dataArea,
+                        edge), result, getTickUnit());
+            }
+        }
         return result;
 
     }
 
+    /**
+     * Creates the key for the tick layout cache.
+     *
+     * @param g2  the graphics target.
+     * @param dataArea  the area along which the axis measures.
+     * @param edge  the axis edge.
+     *
+     * @return The key ({@code null} if the ticks cannot be cached).
+     */
+    @Override
+    TickLayoutCache.Key createTickLayoutKey(Graphics2D g2,
+            Rectangle2D dataArea, RectangleEdge edge) {
+        if (!isTickLayoutCacheable()) {
+            return null;
+        }
+        return new TickLayoutCache.Key(this, g2, dataArea, edge,
+                getTickUnit(), isAutoTickUnitSelection(),
+                getNumberFormatOverride());
+    }
+
     /**
      * Calculates the positions of the tick labels for the axis, storing the
      * results in the tick label list (ready for drawing).
@@ -0,0 +1,291 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * TickLayoutCache.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.axis;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Rectangle2D;
+import java.text.Format;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import se.malmin.chart.ui.RectangleEdge;
+import se.malmin.data.Range;
+
+/**
+ * A small cache of tick layouts for a {@link ValueAxis}.  The ticks for an
+ * axis are calculated when the space for the axis is reserved and again when
+ * the axis is drawn, and then for every frame even when nothing has changed.
+ * The cache stores the ticks, the selected tick unit and the measured tick
+ * label extent for the most recently used layouts, keyed on everything that
+ * the layout depends on (the axis range and tick unit, the length of the
+ * axis, the edge, the font render context and a counter that is updated
+ * each time the axis fires an {@link se.malmin.chart.event.AxisChangeEvent}).
+ * <p>
+ * The hit and miss counts can be used to check how effective the cache is.
+ */
+public final class TickLayoutCache {
+
+    /** The maximum number of layouts in the cache. */
+    private static final int MAX_ENTRIES = 8;
+
+    /** The layouts. */
+    private final Map<Key, Entry> entries;
+
+    /** The number of lookups that found a layout. */
+    private long hitCount;
+
+    /** The number of lookups that did not find a layout. */
+    private long missCount;
+
+    /**
+     * Creates a new empty cache.
+     */
+    public TickLayoutCache() {
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> e) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of lookups that found a cached layout.
+     *
+     * @return The hit count.
+     */
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached layout.
+     *
+     * @return The miss count.
+     */
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Removes all the layouts from the cache and resets the hit and miss
+     * counts.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.hitCount = 0;
+        this.missCount = 0;
+    }
+
+    /**
+     * Returns the cached layout for the specified key and updates the hit or
+     * miss count.
+     *
+     * @param key  the key ({@code null} permitted, in which case the method
+     *     returns {@code null} and the counts are not updated).
+     *
+     * @return The layout (possibly {@code null}).
+     */
+    synchronized Entry get(Key key) {
+        if (key == null) {
+            return null;
+        }
+        Entry result = this.entries.get(key);
+        if (result != null) {
+            this.hitCount++;
+        }
+        else {
+            this.missCount++;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached layout for the specified key without updating the
+     * hit or miss count.
+     *
+     * @param key  the key ({@code null} permitted).
+     *
+     * @return The layout (possibly {@code null}).
+     */
+    synchronized Entry peek(Key key) {
+        return key != null ? this.entries.get(key) : null;
+    }
+
+    /**
+     * Adds a layout to the cache.
+     *
+     * @param key  the key ({@code null} permitted, in which case the layout
+     *     is not cached).
+     * @param ticks  the ticks (instances of {@link Tick}).
+     * @param tickUnit  the tick unit used for the ticks.
+     */
+    synchronized void put(Key key, List<?> ticks, TickUnit tickUnit) {
+        if (key != null) {
+            this.entries.put(key, new Entry(ticks, tickUnit));
+        }
+    }
+
+    /**
+     * The inputs for a tick layout.
+     */
+    static final class Key {
+
+        private final long changeCount;
+        private final Range range;
+        private final double length;
+        private final RectangleEdge edge;
+        private final FontRenderContext frc;
+        private final TickUnit tickUnit;
+        private final boolean autoTickUnitSelection;
+        private final Font tickLabelFont;
+        private final Format format;
+
+        /**
+         * Creates a key.
+         *
+         * @param axis  the axis.
+         * @param g2  the graphics target.
+         * @param dataArea  the area along which the axis measures.
+         * @param edge  the axis edge.
+         * @param tickUnit  the current tick unit.
+         * @param autoTickUnitSelection  the auto tick unit selection flag.
+         * @param format  the formatter override ({@code null} permitted).  A
+         *     copy is kept, because a formatter can be modified in place
+         *     without the axis being notified.
+         */
+        Key(ValueAxis axis, Graphics2D g2, Rectangle2D dataArea,
+                RectangleEdge edge, TickUnit tickUnit,
+                boolean autoTickUnitSelection, Format format) {
+            this.changeCount = axis.getChangeCount();
+            this.range = axis.getRange();
+            this.length = RectangleEdge.isTopOrBottom(edge)
+                    ? dataArea.getWidth() : dataArea.getHeight();
+            this.edge = edge;
+            this.frc = g2.getFontRenderContext();
+            this.tickUnit = tickUnit;
+            this.autoTickUnitSelection = autoTickUnitSelection;
+            this.tickLabelFont = axis.getTickLabelFont();
+            this.format = format == null ? null : (Format) format.clone();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return this.changeCount == that.changeCount
+                    && Double.compare(this.length, that.length) == 0
+                    && this.autoTickUnitSelection == that.autoTickUnitSelection
+                    && Objects.equals(this.edge, that.edge)
+                    && Objects.equals(this.range, that.range)
+                    && Objects.equals(this.tickUnit, that.tickUnit)
+                    && Objects.equals(this.frc, that.frc)
+                    && Objects.equals(this.tickLabelFont, that.tickLabelFont)
+                    && Objects.equals(this.format, that.format);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(this.changeCount);
+            result = 31 * result + Double.hashCode(this.length);
+            result = 31 * result + Objects.hashCode(this.range);
+            result = 31 * result + Objects.hashCode(this.edge);
+            result = 31 * result + Objects.hashCode(this.tickUnit);
+            result = 31 * result + Objects.hashCode(this.tickLabelFont);
+            return result;
+        }
+
+    }
+
+    /**
+     * A cached tick layout.
+     */
+    static final class Entry {
+
+        /** The ticks. */
+        private final List<Tick> ticks;
+
+        /** The tick unit that was used for the ticks. */
+        private final TickUnit tickUnit;
+
+        /** The tick label extent ({@code NaN} until it is measured). */
+        private double labelExtent;
+
+        Entry(List<?> ticks, TickUnit tickUnit) {
+            // the axes return the ticks in a raw list
+            this.ticks = new ArrayList<>(ticks.size());
+            for (Object tick : ticks) {
+                this.ticks.add((Tick) tick);
+            }
+            this.tickUnit = tickUnit;
+            this.labelExtent = Double.NaN;
+        }
+
+        /**
+         * Returns a copy of the ticks (the ticks themselves are immutable).
+         *
+         * @return The ticks.
+         */
+        List<Tick> getTicks() {
+            return new ArrayList<>(this.ticks);
+        }
+
+        TickUnit getTickUnit() {
+            return this.tickUnit;
+        }
+
+        synchronized double getLabelExtent() {
+            return this.labelExtent;
+        }
+
+        synchronized void setLabelExtent(double extent) {
+            this.labelExtent = extent;
+        }
+
+    }
+
+}
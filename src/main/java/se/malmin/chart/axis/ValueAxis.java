@@ -128,6 +128,9 @@ public abstract class ValueAxis extends Axis
     /** The shape used for a right arrow. */
     private transient Shape rightArrow;
 
+    /** A cache for the tick layouts. */
+    private transient TickLayoutCache tickLayoutCache;
+
     /** A flag that affects the orientation of the values on the axis. */
     private boolean inverted;
 
@@ -241,6 +244,7 @@ public abstract class ValueAxis extends Axis
         p3.addPoint(-2, 2);
 
         this.rightArrow = p3;
+        this.tickLayoutCache = new TickLayoutCache();
 
         Polygon p4 = new Polygon();
         p4.addPoint(0, 0);
@@ -727,14 +731,29 @@ public abstract class ValueAxis extends Axis
         double tickLabelWidth = 0.0;
         if (isTickLabelsVisible()) {
             g2.setFont(getTickLabelFont());
+            // the key must be created before the ticks are refreshed, since
+            // that can change the tick unit
+            TickLayoutCache.Key key = createTickLayoutKey(g2, plotArea, edge);
             List ticks = refreshTicks(g2, new AxisState(), plotArea, edge);
+            TickLayoutCache.Entry entry = this.tickLayoutCache.peek(key);
+            double extent = entry != null ? entry.getLabelExtent()
+                    : Double.NaN;
             if (RectangleEdge.isTopOrBottom(edge)) {
-                tickLabelHeight = findMaximumTickLabelHeight(ticks, g2,
-                        plotArea, isVerticalTickLabels());
+                if (Double.isNaN(extent)) {
+                    extent = findMaximumTickLabelHeight(ticks, g2, plotArea,
+                            isVerticalTickLabels());
+                }
+                tickLabelHeight = extent;
             }
             else if (RectangleEdge.isLeftOrRight(edge)) {
-                tickLabelWidth = findMaximumTickLabelWidth(ticks, g2, plotArea,
-                        isVerticalTickLabels());
+                if (Double.isNaN(extent)) {
+                    extent = findMaximumTickLabelWidth(ticks, g2, plotArea,
+                            isVerticalTickLabels());
+                }
+                tickLabelWidth = extent;
+            }
+            if (entry != null) {
+                entry.setLabelExtent(extent);
             }
         }
 
@@ -753,6 +772,48 @@ public abstract class ValueAxis extends Axis
 
     }
 
+    /**
+     * Returns the cache for the tick layouts of this axis.  The cache is used
+     * by the axis types that support it ({@link NumberAxis} and
+     * {@link DateAxis}), the hit and miss counts show how often the ticks
+     * were reused rather than recalculated.
+     *
+     * @return The cache (never {@code null}).
+     */
+    public TickLayoutCache getTickLayoutCache() {
+        return this.tickLayoutCache;
+    }
+
+    /**
+     * Returns {@code true} if the ticks calculated for this axis can be
+     * cached.  The cache relies on every change to the axis that affects the
+     * ticks being reported with an {@link AxisChangeEvent} (or being a change
+     * to the axis range or tick unit).  Subclasses that calculate the ticks
+     * from other state should override this method to return
+     * {@code false}.
+     *
+     * @return A boolean.
+     */
+    protected boolean isTickLayoutCacheable() {
+        return true;
+    }
+
+    /**
+     * Creates the key for the tick layout cache for the specified area and
+     * edge, or returns {@code null} if the axis does not support the cache
+     * (the default).
+     *
+     * @param g2  the graphics target.
+     * @param dataArea  the area along which the axis measures.
+     * @param edge  the axis edge.
+     *
+     * @return The key (possibly {@code null}).
+     */
+    TickLayoutCache.Key createTickLayoutKey(Graphics2D g2,
+            Rectangle2D dataArea, RectangleEdge edge) {
+        return null;
+    }
+
     /**
      * A utility method for determining the height of the tallest tick label.
      *
@@ -1390,6 +1451,28 @@ public abstract class ValueAxis extends Axis
     public abstract double valueToJava2D(double value, Rectangle2D area,
                                          RectangleEdge edge);
 
+    /**
+     * Returns a transform that converts data values to Java2D coordinates
+     * in the same way as
+     * {@link #valueToJava2D(double, Rectangle2D, RectangleEdge)}, for use
+     * by renderers that convert all the items in a series at once.  The
+     * transform is only valid until the axis range or the data area
+     * changes.  This implementation returns a transform that calls
+     * {@code valueToJava2D()} for each value, subclasses can return a
+     * precomputed transform.
+     *
+     * @param area  the area for plotting the data ({@code null} not
+     *     permitted).
+     * @param edge  the edge along which the axis lies ({@code null} not
+     *     permitted).
+     *
+     * @return The transform (never {@code null}).
+     */
+    public AxisTransform createTransform(Rectangle2D area,
+            RectangleEdge edge) {
+        return AxisTransform.forAxis(this, area, edge);
+    }
+
     /**
      * Converts a length in data coordinates into the corresponding length in
      * Java2D coordinates.
@@ -1642,6 +1725,7 @@ public abstract class ValueAxis extends Axis
     @Override
     public Object clone() throws CloneNotSupportedException {
         ValueAxis clone = (ValueAxis) super.clone();
+        clone.tickLayoutCache = new TickLayoutCache();
         return clone;
     }
 
@@ -1676,6 +1760,7 @@ public abstract class ValueAxis extends Axis
         this.downArrow = SerialUtils.readShape(stream);
         this.leftArrow = SerialUtils.readShape(stream);
         this.rightArrow = SerialUtils.readShape(stream);
+        this.tickLayoutCache = new TickLayoutCache();
     }
 
 }
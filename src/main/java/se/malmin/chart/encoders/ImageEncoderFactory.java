@@ -62,13 +62,14 @@ public class ImageEncoderFactory {
     }
 
     /**
-     * Sets up default encoders (uses Sun PNG Encoder if JDK 1.4+ and the
-     * SunPNGEncoderAdapter class is available).
+     * Sets up default encoders (the {@link PNGEncoder} for PNG, the
+     * {@link SunPNGEncoderAdapter} can still be registered with
+     * {@link #setImageEncoder(String, String)}).
      */
     private static void init() {
         encoders = new HashMap();
         encoders.put("jpeg", "se.malmin.chart.encoders.SunJPEGEncoderAdapter");
-        encoders.put("png", "se.malmin.chart.encoders.SunPNGEncoderAdapter");
+        encoders.put("png", "se.malmin.chart.encoders.PNGEncoder");
     }
 
     /**
@@ -0,0 +1,1264 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------
+ * PNGEncoder.java
+ * ---------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.encoders;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import se.malmin.chart.util.Args;
+
+/**
+ * A PNG encoder that writes directly from the pixels of a
+ * {@code BufferedImage} to an output stream, without going through
+ * {@code ImageIO}.  The encoder:
+ * <ul>
+ * <li>supports compression levels from 0 (no compression, fastest) to 9
+ * (best compression) and the choice of the PNG row filter (see
+ * {@link FilterStrategy});</li>
+ * <li>writes an 8-bit palette image (or 1, 2 or 4 bits per pixel for very
+ * few colors) when the image contains at most 256 colors, which is often
+ * the case for charts drawn without anti-aliasing;</li>
+ * <li>writes an RGB image instead of RGBA when every pixel is opaque;</li>
+ * <li>compresses bands of rows in parallel (on the common fork-join pool)
+ * for large images, each band primed with the data from the previous band,
+ * giving a single standard zlib stream.</li>
+ * </ul>
+ * The quality setting (see {@link #setQuality(float)}) is interpreted as the
+ * compression level, as for {@code ChartUtils.encodeAsPNG(BufferedImage,
+ * boolean, int)}.  This is the default PNG encoder returned by the
+ * {@link ImageEncoderFactory}.
+ */
+public class PNGEncoder implements ImageEncoder {
+
+    /**
+     * The filter applied to each row of the image before compression.
+     */
+    public enum FilterStrategy {
+
+        /** No filter (fastest). */
+        NONE,
+
+        /** Each byte is stored as the difference from the pixel to the left. */
+        SUB,
+
+        /** Each byte is stored as the difference from the pixel above. */
+        UP,
+
+        /**
+         * Each byte is stored as the difference from the average of the
+         * pixels to the left and above.
+         */
+        AVERAGE,
+
+        /** The Paeth predictor filter. */
+        PAETH,
+
+        /**
+         * The filter is chosen for each row (the one that gives the smallest
+         * sum of absolute differences), which usually gives the best
+         * compression.
+         */
+        ADAPTIVE
+
+    }
+
+    /** The default compression level. */
+    public static final int DEFAULT_COMPRESSION_LEVEL = 4;
+
+    /** The PNG file signature. */
+    private static final byte[] SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10,
+            26, 10};
+
+    /** The maximum number of bytes in an IDAT chunk. */
+    private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * The minimum number of (uncompressed) bytes in a band of rows for
+     * parallel compression.
+     */
+    private static final int MIN_BAND_SIZE = 256 * 1024;
+
+    /** The maximum size of the deflate dictionary. */
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /** The PNG color type for a palette image. */
+    private static final int COLOR_TYPE_PALETTE = 3;
+
+    /** The PNG color type for an RGB image. */
+    private static final int COLOR_TYPE_RGB = 2;
+
+    /** The PNG color type for an RGBA image. */
+    private static final int COLOR_TYPE_RGBA = 6;
+
+    /** The compression level (0 to 9). */
+    private int compressionLevel;
+
+    /** The filter strategy. */
+    private FilterStrategy filterStrategy;
+
+    /** Encode the alpha channel? */
+    private boolean encodingAlpha;
+
+    /** Write palette images where possible? */
+    private boolean paletteEnabled;
+
+    /** Compress large images in parallel? */
+    private boolean parallel;
+
+    /**
+     * Creates a new encoder with the default settings (compression level
+     * {@link #DEFAULT_COMPRESSION_LEVEL}, adaptive filtering, with alpha,
+     * palette images and parallel compression enabled).
+     */
+    public PNGEncoder() {
+        this.compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+        this.filterStrategy = FilterStrategy.ADAPTIVE;
+        this.encodingAlpha = true;
+        this.paletteEnabled = true;
+        this.parallel = true;
+    }
+
+    /**
+     * Returns the compression level.
+     *
+     * @return The compression level (0 to 9).
+     */
+    public int getCompressionLevel() {
+        return this.compressionLevel;
+    }
+
+    /**
+     * Sets the compression level.
+     *
+     * @param level  the level (0 for no compression to 9 for the best
+     *     compression).
+     */
+    public void setCompressionLevel(int level) {
+        Args.requireInRange(level, "level", 0, 9);
+        this.compressionLevel = level;
+    }
+
+    /**
+     * Returns the filter strategy.
+     *
+     * @return The filter strategy (never {@code null}).
+     */
+    public FilterStrategy getFilterStrategy() {
+        return this.filterStrategy;
+    }
+
+    /**
+     * Sets the filter strategy.  Palette images are always written without
+     * filtering.
+     *
+     * @param strategy  the strategy ({@code null} not permitted).
+     */
+    public void setFilterStrategy(FilterStrategy strategy) {
+        Args.nullNotPermitted(strategy, "strategy");
+        this.filterStrategy = strategy;
+    }
+
+    /**
+     * Returns the compression level as a float.
+     *
+     * @return The compression level.
+     */
+    @Override
+    public float getQuality() {
+        return this.compressionLevel;
+    }
+
+    /**
+     * Sets the compression level (values outside the range 0 to 9 are
+     * clipped to the range).
+     *
+     * @param quality  the compression level.
+     */
+    @Override
+    public void setQuality(float quality) {
+        this.compressionLevel = Math.max(0, Math.min(9, Math.round(quality)));
+    }
+
+    /**
+     * Returns the flag that controls whether the alpha channel is encoded.
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean isEncodingAlpha() {
+        return this.encodingAlpha;
+    }
+
+    /**
+     * Sets the flag that controls whether the alpha channel is encoded.
+     * The alpha channel is only ever written when the image contains pixels
+     * that are not opaque, and in that case it is written regardless of this
+     * flag (as with the {@link SunPNGEncoderAdapter}), so that transparent
+     * areas such as a chart with no background paint do not come out black.
+     *
+     * @param encodingAlpha  the new flag value.
+     */
+    @Override
+    public void setEncodingAlpha(boolean encodingAlpha) {
+        this.encodingAlpha = encodingAlpha;
+    }
+
+    /**
+     * Returns the flag that controls whether a palette image is written when
+     * the image has at most 256 colors.
+     *
+     * @return A boolean.
+     */
+    public boolean isPaletteEnabled() {
+        return this.paletteEnabled;
+    }
+
+    /**
+     * Sets the flag that controls whether a palette image is written when
+     * the image has at most 256 colors.
+     *
+     * @param enabled  the new flag value.
+     */
+    public void setPaletteEnabled(boolean enabled) {
+        this.paletteEnabled = enabled;
+    }
+
+    /**
+     * Returns the flag that controls whether large images are compressed in
+     * parallel.
+     *
+     * @return A boolean.
+     */
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    /**
+     * Sets the flag that controls whether large images are compressed in
+     * parallel.
+     *
+     * @param parallel  the new flag value.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Encodes an image in PNG format.
+     *
+     * @param bufferedImage  the image ({@code null} not permitted).
+     *
+     * @return The encoded image.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Override
+    public byte[] encode(BufferedImage bufferedImage) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encode(bufferedImage, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Encodes an image in PNG format and writes it to an output stream.
+     *
+     * @param bufferedImage  the image ({@code null} not permitted).
+     * @param outputStream  the output stream ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Override
+    public void encode(BufferedImage bufferedImage, OutputStream outputStream)
+            throws IOException {
+        Args.nullNotPermitted(bufferedImage, "bufferedImage");
+        Args.nullNotPermitted(outputStream, "outputStream");
+        Pixels pixels = new Pixels(bufferedImage);
+        Palette palette = this.paletteEnabled ? Palette.create(pixels) : null;
+        boolean alpha = pixels.alpha && (palette != null
+                ? palette.hasAlpha : pixels.hasTransparentPixel());
+        int colorType;
+        int bitDepth = 8;
+        if (palette != null) {
+            colorType = COLOR_TYPE_PALETTE;
+            bitDepth = palette.bitDepth;
+        }
+        else {
+            colorType = alpha ? COLOR_TYPE_RGBA : COLOR_TYPE_RGB;
+        }
+        RowEncoder rows = new RowEncoder(pixels, palette, alpha,
+                palette != null ? FilterStrategy.NONE : this.filterStrategy);
+
+        outputStream.write(SIGNATURE);
+        ChunkWriter chunk = new ChunkWriter(outputStream);
+        chunk.begin("IHDR");
+        chunk.writeInt(pixels.width);
+        chunk.writeInt(pixels.height);
+        chunk.write(bitDepth);
+        chunk.write(colorType);
+        chunk.write(0); // compression method
+        chunk.write(0); // filter method
+        chunk.write(0); // interlace method
+        chunk.end();
+        if (palette != null) {
+            palette.write(chunk);
+        }
+        long size = (long) rows.rowLength * pixels.height;
+        int threads = ForkJoinPool.getCommonPoolParallelism();
+        try (IDATOutputStream idat = new IDATOutputStream(chunk)) {
+            if (this.parallel && threads > 1 && size >= 2 * MIN_BAND_SIZE) {
+                writeParallel(rows, idat, threads);
+            }
+            else {
+                writeSequential(rows, idat);
+            }
+        }
+        chunk.begin("IEND");
+        chunk.end();
+        outputStream.flush();
+    }
+
+    /**
+     * Compresses the image data as a single stream, row by row.
+     *
+     * @param rows  the row encoder.
+     * @param idat  the output.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private void writeSequential(RowEncoder rows, IDATOutputStream idat)
+            throws IOException {
+        Deflater deflater = new Deflater(this.compressionLevel);
+        try {
+            DeflaterOutputStream out = new DeflaterOutputStream(idat,
+                    deflater, MAX_CHUNK_SIZE);
+            byte[] row = new byte[rows.rowLength];
+            RowEncoder.State state = rows.createState();
+            for (int y = 0; y < rows.pixels.height; y++) {
+                rows.encodeRow(y, state, row);
+                out.write(row);
+            }
+            out.finish();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Filters and compresses bands of rows in parallel.  Each band is
+     * compressed as raw deflate data that ends on a byte boundary (with a
+     * sync flush), primed with the last 32K of the previous band, so the
+     * concatenated bands plus a zlib header and the combined Adler-32
+     * checksum form a single zlib stream.
+     *
+     * @param rows  the row encoder.
+     * @param idat  the output.
+     * @param threads  the parallelism of the common pool.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private void writeParallel(RowEncoder rows, IDATOutputStream idat,
+            int threads) throws IOException {
+        int height = rows.pixels.height;
+        int minRows = Math.max(1, MIN_BAND_SIZE / rows.rowLength);
+        int bandRows = Math.max(minRows, (height + 4 * threads - 1)
+                / (4 * threads));
+        int bandCount = (height + bandRows - 1) / bandRows;
+
+        // filter the bands
+        List<CompletableFuture<byte[]>> filtered = new ArrayList<>();
+        for (int b = 0; b < bandCount; b++) {
+            int y0 = b * bandRows;
+            int y1 = Math.min(height, y0 + bandRows);
+            filtered.add(CompletableFuture.supplyAsync(
+                    () -> rows.encodeRows(y0, y1)));
+        }
+        byte[][] bands = new byte[bandCount][];
+        for (int b = 0; b < bandCount; b++) {
+            bands[b] = join(filtered.get(b));
+        }
+
+        // compress the bands
+        List<CompletableFuture<byte[]>> compressed = new ArrayList<>();
+        long[] checksums = new long[bandCount];
+        int level = this.compressionLevel;
+        for (int b = 0; b < bandCount; b++) {
+            int band = b;
+            compressed.add(CompletableFuture.supplyAsync(() -> {
+                Adler32 adler = new Adler32();
+                adler.update(bands[band]);
+                checksums[band] = adler.getValue();
+                return deflate(bands[band], band > 0 ? bands[band - 1] : null,
+                        band == bandCount - 1, level);
+            }));
+        }
+        idat.write(zlibHeader(level));
+        long adler = 1L;
+        for (int b = 0; b < bandCount; b++) {
+            idat.write(join(compressed.get(b)));
+            adler = combineAdler32(adler, checksums[b], bands[b].length);
+        }
+        idat.write((int) (adler >>> 24));
+        idat.write((int) (adler >>> 16));
+        idat.write((int) (adler >>> 8));
+        idat.write((int) adler);
+    }
+
+    /**
+     * Waits for a task and returns the result, rethrowing any unchecked
+     * exception from the task.
+     *
+     * @param task  the task.
+     *
+     * @return The result.
+     */
+    private static byte[] join(CompletableFuture<byte[]> task) {
+        try {
+            return task.join();
+        }
+        catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Compresses one band as raw deflate data.
+     *
+     * @param data  the (filtered) data for the band.
+     * @param previous  the data for the previous band ({@code null}
+     *     permitted).
+     * @param last  is this the last band?
+     * @param level  the compression level.
+     *
+     * @return The compressed data.
+     */
+    private static byte[] deflate(byte[] data, byte[] previous, boolean last,
+            int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (previous != null && level > 0) {
+                int n = Math.min(DICTIONARY_SIZE, previous.length);
+                deflater.setDictionary(previous, previous.length - n, n);
+            }
+            deflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(
+                    data.length / 4 + 64);
+            byte[] buffer = new byte[MAX_CHUNK_SIZE];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int n = deflater.deflate(buffer);
+                    out.write(buffer, 0, n);
+                }
+            }
+            else {
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length,
+                            Deflater.SYNC_FLUSH);
+                    out.write(buffer, 0, n);
+                } while (n == buffer.length);
+            }
+            return out.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns the two byte zlib header for the specified compression level.
+     *
+     * @param level  the compression level.
+     *
+     * @return The header.
+     */
+    private static byte[] zlibHeader(int level) {
+        int flevel = level < 2 ? 0 : (level < 6 ? 1 : (level == 6 ? 2 : 3));
+        int cmf = 0x78; // deflate with a 32K window
+        int flg = flevel << 6;
+        flg += 31 - ((cmf << 8) + flg) % 31;
+        return new byte[] {(byte) cmf, (byte) flg};
+    }
+
+    /**
+     * Combines the Adler-32 checksums for two consecutive blocks of data.
+     *
+     * @param adler1  the checksum for the first block.
+     * @param adler2  the checksum for the second block.
+     * @param length2  the length of the second block.
+     *
+     * @return The checksum for the combined block.
+     */
+    static long combineAdler32(long adler1, long adler2, long length2) {
+        final long base = 65521L;
+        long rem = length2 % base;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (rem * sum1) % base;
+        sum1 += (adler2 & 0xFFFF) + base - 1;
+        sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF)
+                + base - rem;
+        if (sum1 >= base) {
+            sum1 -= base;
+        }
+        if (sum1 >= base) {
+            sum1 -= base;
+        }
+        if (sum2 >= 2 * base) {
+            sum2 -= 2 * base;
+        }
+        if (sum2 >= base) {
+            sum2 -= base;
+        }
+        return sum1 | (sum2 << 16);
+    }
+
+    /**
+     * Read access to the pixels of an image as (non-premultiplied) ARGB
+     * values.  Images with an integer ARGB or RGB raster are read directly
+     * from the raster.
+     */
+    private static final class Pixels {
+
+        /** The image. */
+        private final BufferedImage image;
+
+        /** The image width. */
+        private final int width;
+
+        /** The image height. */
+        private final int height;
+
+        /** Does the image have an alpha channel? */
+        private final boolean alpha;
+
+        /** The raster data (or {@code null} if not accessed directly). */
+        private final int[] data;
+
+        /** The index of the first pixel in the data. */
+        private final int offset;
+
+        /** The scanline stride for the data. */
+        private final int stride;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param image  the image.
+         */
+        Pixels(BufferedImage image) {
+            this.image = image;
+            this.width = image.getWidth();
+            this.height = image.getHeight();
+            this.alpha = image.getColorModel().hasAlpha();
+            int type = image.getType();
+            Raster raster = image.getRaster();
+            DataBuffer buffer = raster.getDataBuffer();
+            if ((type == BufferedImage.TYPE_INT_ARGB
+                    || type == BufferedImage.TYPE_INT_RGB)
+                    && buffer instanceof DataBufferInt
+                    && buffer.getNumBanks() == 1
+                    && raster.getSampleModel()
+                    instanceof SinglePixelPackedSampleModel) {
+                SinglePixelPackedSampleModel sm
+                        = (SinglePixelPackedSampleModel) raster
+                        .getSampleModel();
+                this.data = ((DataBufferInt) buffer).getData();
+                this.offset = buffer.getOffset() + sm.getOffset(
+                        raster.getMinX() - raster.getSampleModelTranslateX(),
+                        raster.getMinY() - raster.getSampleModelTranslateY());
+                this.stride = sm.getScanlineStride();
+            }
+            else {
+                this.data = null;
+                this.offset = 0;
+                this.stride = 0;
+            }
+        }
+
+        /**
+         * Reads a row of pixels.  If the image has no alpha channel, the
+         * alpha for each pixel is set to 0xFF.
+         *
+         * @param y  the row.
+         * @param row  the array for the pixels.
+         */
+        void getRow(int y, int[] row) {
+            if (this.data != null) {
+                System.arraycopy(this.data, this.offset + y * this.stride,
+                        row, 0, this.width);
+            }
+            else {
+                this.image.getRGB(0, y, this.width, 1, row, 0, this.width);
+            }
+            if (!this.alpha) {
+                for (int x = 0; x < this.width; x++) {
+                    row[x] |= 0xFF000000;
+                }
+            }
+        }
+
+        /**
+         * Returns {@code true} if any pixel is not opaque.
+         *
+         * @return A boolean.
+         */
+        boolean hasTransparentPixel() {
+            if (!this.alpha) {
+                return false;
+            }
+            int[] row = new int[this.width];
+            for (int y = 0; y < this.height; y++) {
+                getRow(y, row);
+                for (int x = 0; x < this.width; x++) {
+                    if ((row[x] >>> 24) != 0xFF) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+    }
+
+    /**
+     * The colors for a palette image.
+     */
+    private static final class Palette {
+
+        /** The colors (ARGB). */
+        private final int[] colors;
+
+        /** The number of colors. */
+        private final int size;
+
+        /** The hash table mapping colors to indices (-1 for empty). */
+        private final int[] table;
+
+        /** The color for each table slot. */
+        private final int[] keys;
+
+        /** The number of bits per pixel. */
+        private final int bitDepth;
+
+        /** Is any color not opaque? */
+        private final boolean hasAlpha;
+
+        /**
+         * Creates a new palette.
+         *
+         * @param colors  the colors.
+         * @param size  the number of colors.
+         * @param keys  the hash table keys.
+         * @param table  the hash table values.
+         */
+        private Palette(int[] colors, int size, int[] keys, int[] table) {
+            this.colors = colors;
+            this.size = size;
+            this.keys = keys;
+            this.table = table;
+            this.bitDepth = size <= 2 ? 1 : (size <= 4 ? 2
+                    : (size <= 16 ? 4 : 8));
+            boolean a = false;
+            for (int i = 0; i < size; i++) {
+                a = a || (colors[i] >>> 24) != 0xFF;
+            }
+            this.hasAlpha = a;
+        }
+
+        /**
+         * Returns the hash table slot for a color.
+         *
+         * @param color  the color.
+         *
+         * @return The slot.
+         */
+        private static int hash(int color) {
+            int h = color * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & 511;
+        }
+
+        /**
+         * Creates a palette for the image, or returns {@code null} if the
+         * image has more than 256 colors.
+         *
+         * @param pixels  the pixels.
+         *
+         * @return The palette or {@code null}.
+         */
+        static Palette create(Pixels pixels) {
+            int[] keys = new int[512];
+            int[] table = new int[512];
+            Arrays.fill(table, -1);
+            int[] colors = new int[256];
+            int size = 0;
+            int[] row = new int[pixels.width];
+            int last = 0;
+            int lastIndex = -1;
+            for (int y = 0; y < pixels.height; y++) {
+                pixels.getRow(y, row);
+                for (int x = 0; x < pixels.width; x++) {
+                    int c = row[x];
+                    if (c == last && lastIndex >= 0) {
+                        continue;
+                    }
+                    int slot = hash(c);
+                    while (table[slot] >= 0 && keys[slot] != c) {
+                        slot = (slot + 1) & 511;
+                    }
+                    if (table[slot] < 0) {
+                        if (size == 256) {
+                            return null;
+                        }
+                        keys[slot] = c;
+                        table[slot] = size;
+                        colors[size++] = c;
+                    }
+                    last = c;
+                    lastIndex = table[slot];
+                }
+            }
+            return new Palette(colors, size, keys, table);
+        }
+
+        /**
+         * Returns the palette index for a color in the image.
+         *
+         * @param color  the color.
+         *
+         * @return The index.
+         */
+        int indexOf(int color) {
+            int slot = hash(color);
+            while (this.keys[slot] != color) {
+                slot = (slot + 1) & 511;
+            }
+            return this.table[slot];
+        }
+
+        /**
+         * Writes the PLTE chunk and (if required) the tRNS chunk.
+         *
+         * @param chunk  the chunk writer.
+         *
+         * @throws IOException if there is an I/O problem.
+         */
+        void write(ChunkWriter chunk) throws IOException {
+            chunk.begin("PLTE");
+            for (int i = 0; i < this.size; i++) {
+                int c = this.colors[i];
+                chunk.write(c >> 16);
+                chunk.write(c >> 8);
+                chunk.write(c);
+            }
+            chunk.end();
+            if (this.hasAlpha) {
+                int n = 0;
+                for (int i = 0; i < this.size; i++) {
+                    if ((this.colors[i] >>> 24) != 0xFF) {
+                        n = i + 1;
+                    }
+                }
+                chunk.begin("tRNS");
+                for (int i = 0; i < n; i++) {
+                    chunk.write(this.colors[i] >>> 24);
+                }
+                chunk.end();
+            }
+        }
+
+    }
+
+    /**
+     * Converts rows of pixels to filtered PNG scanlines.
+     */
+    private static final class RowEncoder {
+
+        /** The pixels. */
+        private final Pixels pixels;
+
+        /** The palette ({@code null} for an RGB or RGBA image). */
+        private final Palette palette;
+
+        /** Bytes per pixel (for filtering, at least 1). */
+        private final int bpp;
+
+        /** The number of bytes per row (excluding the filter byte). */
+        private final int byteWidth;
+
+        /** The number of bytes per row (including the filter byte). */
+        private final int rowLength;
+
+        /** Encode the alpha channel? */
+        private final boolean alpha;
+
+        /** The filter strategy. */
+        private final FilterStrategy strategy;
+
+        /**
+         * Creates a new row encoder.
+         *
+         * @param pixels  the pixels.
+         * @param palette  the palette ({@code null} permitted).
+         * @param alpha  encode the alpha channel (for an RGBA image)?
+         * @param strategy  the filter strategy.
+         */
+        RowEncoder(Pixels pixels, Palette palette, boolean alpha,
+                FilterStrategy strategy) {
+            this.pixels = pixels;
+            this.palette = palette;
+            this.alpha = alpha;
+            this.strategy = strategy;
+            if (palette != null) {
+                this.bpp = 1;
+                this.byteWidth = (pixels.width * palette.bitDepth + 7) / 8;
+            }
+            else {
+                this.bpp = alpha ? 4 : 3;
+                this.byteWidth = pixels.width * this.bpp;
+            }
+            this.rowLength = this.byteWidth + 1;
+        }
+
+        /**
+         * The working storage for encoding rows (one per thread).
+         */
+        final class State {
+
+            /** The pixels for the current row. */
+            final int[] argb = new int[RowEncoder.this.pixels.width];
+
+            /** The unfiltered bytes for the current row. */
+            byte[] current = new byte[RowEncoder.this.byteWidth];
+
+            /** The unfiltered bytes for the previous row. */
+            byte[] previous = new byte[RowEncoder.this.byteWidth];
+
+            /** The candidate filtered rows (for adaptive filtering). */
+            final byte[][] candidates = new byte[5][];
+
+            /** The row number of the previous row (-1 for none). */
+            int previousRow = -1;
+
+        }
+
+        /**
+         * Creates the working storage for encoding rows.
+         *
+         * @return The state.
+         */
+        State createState() {
+            return new State();
+        }
+
+        /**
+         * Encodes a range of rows.
+         *
+         * @param y0  the first row.
+         * @param y1  the row after the last row.
+         *
+         * @return The filtered scanlines.
+         */
+        byte[] encodeRows(int y0, int y1) {
+            byte[] result = new byte[(y1 - y0) * this.rowLength];
+            byte[] row = new byte[this.rowLength];
+            State state = createState();
+            for (int y = y0; y < y1; y++) {
+                encodeRow(y, state, row);
+                System.arraycopy(row, 0, result, (y - y0) * this.rowLength,
+                        this.rowLength);
+            }
+            return result;
+        }
+
+        /**
+         * Converts a row of pixels to unfiltered bytes.
+         *
+         * @param y  the row.
+         * @param state  the state.
+         * @param out  the array for the bytes.
+         */
+        private void convertRow(int y, State state, byte[] out) {
+            int[] argb = state.argb;
+            this.pixels.getRow(y, argb);
+            int width = this.pixels.width;
+            if (this.palette != null) {
+                int bits = this.palette.bitDepth;
+                if (bits == 8) {
+                    for (int x = 0; x < width; x++) {
+                        out[x] = (byte) this.palette.indexOf(argb[x]);
+                    }
+                }
+                else {
+                    Arrays.fill(out, (byte) 0);
+                    int perByte = 8 / bits;
+                    for (int x = 0; x < width; x++) {
+                        int shift = 8 - bits * (x % perByte + 1);
+                        out[x / perByte] |= (byte) (this.palette.indexOf(
+                                argb[x]) << shift);
+                    }
+                }
+            }
+            else if (this.alpha) {
+                for (int x = 0, i = 0; x < width; x++) {
+                    int c = argb[x];
+                    out[i++] = (byte) (c >> 16);
+                    out[i++] = (byte) (c >> 8);
+                    out[i++] = (byte) c;
+                    out[i++] = (byte) (c >>> 24);
+                }
+            }
+            else {
+                for (int x = 0, i = 0; x < width; x++) {
+                    int c = argb[x];
+                    out[i++] = (byte) (c >> 16);
+                    out[i++] = (byte) (c >> 8);
+                    out[i++] = (byte) c;
+                }
+            }
+        }
+
+        /**
+         * Encodes one row (the filter type byte followed by the filtered
+         * bytes).
+         *
+         * @param y  the row.
+         * @param state  the state.
+         * @param out  the array for the result.
+         */
+        void encodeRow(int y, State state, byte[] out) {
+            if (this.strategy != FilterStrategy.NONE
+                    && this.strategy != FilterStrategy.SUB) {
+                if (y == 0) {
+                    Arrays.fill(state.previous, (byte) 0);
+                }
+                else if (state.previousRow != y - 1) {
+                    convertRow(y - 1, state, state.previous);
+                }
+            }
+            convertRow(y, state, state.current);
+            byte[] cur = state.current;
+            byte[] prev = state.previous;
+            switch (this.strategy) {
+                case NONE:
+                    out[0] = 0;
+                    System.arraycopy(cur, 0, out, 1, this.byteWidth);
+                    break;
+                case SUB:
+                    filterSub(cur, out);
+                    break;
+                case UP:
+                    filterUp(cur, prev, out);
+                    break;
+                case AVERAGE:
+                    filterAverage(cur, prev, out);
+                    break;
+                case PAETH:
+                    filterPaeth(cur, prev, out);
+                    break;
+                default:
+                    filterAdaptive(state, cur, prev, out);
+            }
+            state.current = prev;
+            state.previous = cur;
+            state.previousRow = y;
+        }
+
+        private void filterSub(byte[] cur, byte[] out) {
+            out[0] = 1;
+            int bpp = this.bpp;
+            for (int i = 0; i < this.byteWidth; i++) {
+                int left = i >= bpp ? cur[i - bpp] : 0;
+                out[i + 1] = (byte) (cur[i] - left);
+            }
+        }
+
+        private void filterUp(byte[] cur, byte[] prev, byte[] out) {
+            out[0] = 2;
+            for (int i = 0; i < this.byteWidth; i++) {
+                out[i + 1] = (byte) (cur[i] - prev[i]);
+            }
+        }
+
+        private void filterAverage(byte[] cur, byte[] prev, byte[] out) {
+            out[0] = 3;
+            int bpp = this.bpp;
+            for (int i = 0; i < this.byteWidth; i++) {
+                int left = i >= bpp ? cur[i - bpp] & 0xFF : 0;
+                out[i + 1] = (byte) (cur[i] - ((left + (prev[i] & 0xFF))
+                        >>> 1));
+            }
+        }
+
+        private void filterPaeth(byte[] cur, byte[] prev, byte[] out) {
+            out[0] = 4;
+            int bpp = this.bpp;
+            for (int i = 0; i < this.byteWidth; i++) {
+                int a = i >= bpp ? cur[i - bpp] & 0xFF : 0;
+                int b = prev[i] & 0xFF;
+                int c = i >= bpp ? prev[i - bpp] & 0xFF : 0;
+                int p = a + b - c;
+                int pa = Math.abs(p - a);
+                int pb = Math.abs(p - b);
+                int pc = Math.abs(p - c);
+                int predictor = (pa <= pb && pa <= pc) ? a
+                        : (pb <= pc ? b : c);
+                out[i + 1] = (byte) (cur[i] - predictor);
+            }
+        }
+
+        /**
+         * Applies each filter and keeps the one with the smallest sum of
+         * absolute (signed) differences.
+         *
+         * @param state  the state.
+         * @param cur  the current row.
+         * @param prev  the previous row.
+         * @param out  the array for the result.
+         */
+        private void filterAdaptive(State state, byte[] cur, byte[] prev,
+                byte[] out) {
+            byte[][] candidates = state.candidates;
+            if (candidates[0] == null) {
+                for (int i = 0; i < candidates.length; i++) {
+                    candidates[i] = new byte[this.rowLength];
+                }
+            }
+            candidates[0][0] = 0;
+            System.arraycopy(cur, 0, candidates[0], 1, this.byteWidth);
+            filterSub(cur, candidates[1]);
+            filterUp(cur, prev, candidates[2]);
+            filterAverage(cur, prev, candidates[3]);
+            filterPaeth(cur, prev, candidates[4]);
+            int best = 0;
+            long bestSum = Long.MAX_VALUE;
+            for (int f = 0; f < candidates.length; f++) {
+                byte[] candidate = candidates[f];
+                long sum = 0;
+                for (int i = 1; i < this.rowLength; i++) {
+                    sum += Math.abs(candidate[i]);
+                }
+                if (sum < bestSum) {
+                    bestSum = sum;
+                    best = f;
+                }
+            }
+            System.arraycopy(candidates[best], 0, out, 0, this.rowLength);
+        }
+
+    }
+
+    /**
+     * Writes PNG chunks (length, type, data and CRC) to an output stream.
+     */
+    private static final class ChunkWriter {
+
+        /** The output stream. */
+        private final OutputStream out;
+
+        /** The data for the current chunk. */
+        private final ByteArrayOutputStream data;
+
+        /** The current chunk type. */
+        private byte[] type;
+
+        /**
+         * Creates a new writer.
+         *
+         * @param out  the output stream.
+         */
+        ChunkWriter(OutputStream out) {
+            this.out = out;
+            this.data = new ByteArrayOutputStream();
+        }
+
+        /**
+         * Starts a chunk.
+         *
+         * @param chunkType  the chunk type.
+         */
+        void begin(String chunkType) {
+            this.type = chunkType.getBytes(StandardCharsets.US_ASCII);
+            this.data.reset();
+        }
+
+        /**
+         * Writes one byte to the current chunk.
+         *
+         * @param b  the byte.
+         */
+        void write(int b) {
+            this.data.write(b);
+        }
+
+        /**
+         * Writes bytes to the current chunk.
+         *
+         * @param b  the bytes.
+         * @param off  the offset.
+         * @param len  the number of bytes.
+         */
+        void write(byte[] b, int off, int len) {
+            this.data.write(b, off, len);
+        }
+
+        /**
+         * Writes an integer (big-endian) to the current chunk.
+         *
+         * @param v  the integer.
+         */
+        void writeInt(int v) {
+            write(v >>> 24);
+            write(v >>> 16);
+            write(v >>> 8);
+            write(v);
+        }
+
+        /**
+         * Returns the number of bytes in the current chunk.
+         *
+         * @return The number of bytes.
+         */
+        int size() {
+            return this.data.size();
+        }
+
+        /**
+         * Writes the current chunk to the output stream.
+         *
+         * @throws IOException if there is an I/O problem.
+         */
+        void end() throws IOException {
+            int length = this.data.size();
+            this.out.write(length >>> 24);
+            this.out.write(length >>> 16);
+            this.out.write(length >>> 8);
+            this.out.write(length);
+            CRC32 crc = new CRC32();
+            crc.update(this.type);
+            this.out.write(this.type);
+            this.data.writeTo(this.out);
+            byte[] bytes = this.data.toByteArray();
+            crc.update(bytes);
+            long value = crc.getValue();
+            this.out.write((int) (value >>> 24));
+            this.out.write((int) (value >>> 16));
+            this.out.write((int) (value >>> 8));
+            this.out.write((int) value);
+        }
+
+    }
+
+    /**
+     * An output stream that writes the compressed image data as a sequence
+     * of IDAT chunks.
+     */
+    private static final class IDATOutputStream extends OutputStream {
+
+        /** The chunk writer. */
+        private final ChunkWriter chunk;
+
+        /** Is a chunk in progress? */
+        private boolean open;
+
+        /**
+         * Creates a new stream.
+         *
+         * @param chunk  the chunk writer.
+         */
+        IDATOutputStream(ChunkWriter chunk) {
+            this.chunk = chunk;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (!this.open) {
+                    this.chunk.begin("IDAT");
+                    this.open = true;
+                }
+                int n = Math.min(len, MAX_CHUNK_SIZE - this.chunk.size());
+                this.chunk.write(b, off, n);
+                off += n;
+                len -= n;
+                if (this.chunk.size() == MAX_CHUNK_SIZE) {
+                    this.chunk.end();
+                    this.open = false;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.open) {
+                this.chunk.end();
+                this.open = false;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,328 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------
+ * EntityGrid.java
+ * ---------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.entity;
+
+import java.awt.geom.Rectangle2D;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A uniform grid over the bounds of the entities in a list, used by
+ * {@link StandardEntityCollection} to find the entities at a point (or in a
+ * rectangle) without testing every entity.  Each cell records the indices
+ * of the entities whose bounds overlap the cell, in ascending order, so the
+ * last entity in the list still wins when entities overlap.  Entities that
+ * span many cells (for example the plot and chart entities) are kept in a
+ * separate list that is checked for every query.
+ * <p>
+ * The grid is a snapshot of the list, it must be discarded when the list (or
+ * the area of an entity) changes.
+ */
+final class EntityGrid {
+
+    /** The maximum number of cells in the grid. */
+    private static final int MAX_CELLS = 1 << 16;
+
+    /** The target number of entities per cell. */
+    private static final int ENTITIES_PER_CELL = 4;
+
+    /** The entities. */
+    private final List<ChartEntity> entities;
+
+    /** The bounds of each entity (minX, minY, maxX, maxY). */
+    private final double[] bounds;
+
+    /** The x-coordinate of the left edge of the grid. */
+    private double x0;
+
+    /** The y-coordinate of the top edge of the grid. */
+    private double y0;
+
+    /** The width of each cell. */
+    private double cellWidth;
+
+    /** The height of each cell. */
+    private double cellHeight;
+
+    /** The number of columns. */
+    private int columns;
+
+    /** The number of rows. */
+    private int rows;
+
+    /** The start of the entries for each cell in {@code cellItems}. */
+    private int[] cellStart;
+
+    /** The entity indices for all cells. */
+    private int[] cellItems;
+
+    /** The indices of the entities that are checked for every query. */
+    private int[] large;
+
+    /**
+     * Creates a grid for the specified entities.
+     *
+     * @param entities  the entities ({@code null} not permitted).
+     */
+    EntityGrid(List<ChartEntity> entities) {
+        this.entities = entities;
+        int n = entities.size();
+        this.bounds = new double[4 * n];
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            ChartEntity entity = entities.get(i);
+            Rectangle2D r = entity.getArea().getBounds2D();
+            this.bounds[4 * i] = r.getMinX();
+            this.bounds[4 * i + 1] = r.getMinY();
+            this.bounds[4 * i + 2] = r.getMaxX();
+            this.bounds[4 * i + 3] = r.getMaxY();
+            if (isFinite(i)) {
+                minX = Math.min(minX, r.getMinX());
+                minY = Math.min(minY, r.getMinY());
+                maxX = Math.max(maxX, r.getMaxX());
+                maxY = Math.max(maxY, r.getMaxY());
+            }
+        }
+        if (minX > maxX) {
+            minX = 0.0;
+            maxX = 1.0;
+            minY = 0.0;
+            maxY = 1.0;
+        }
+        double w = Math.max(maxX - minX, 1.0);
+        double h = Math.max(maxY - minY, 1.0);
+        int cells = Math.max(1, Math.min(MAX_CELLS, n / ENTITIES_PER_CELL));
+        this.columns = (int) Math.max(1, Math.min(cells,
+                Math.round(Math.sqrt(cells * w / h))));
+        this.rows = Math.max(1, cells / this.columns);
+        this.x0 = minX;
+        this.y0 = minY;
+        this.cellWidth = w / this.columns;
+        this.cellHeight = h / this.rows;
+        build(n);
+    }
+
+    /**
+     * Returns the number of entities in the grid.
+     *
+     * @return The entity count.
+     */
+    int getEntityCount() {
+        return this.bounds.length / 4;
+    }
+
+    /**
+     * Returns {@code true} if the bounds of the specified entity are finite.
+     *
+     * @param i  the entity index.
+     *
+     * @return A boolean.
+     */
+    private boolean isFinite(int i) {
+        for (int j = 4 * i; j < 4 * i + 4; j++) {
+            if (Double.isNaN(this.bounds[j])
+                    || Double.isInfinite(this.bounds[j])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int column(double x) {
+        int c = (int) Math.floor((x - this.x0) / this.cellWidth);
+        return Math.max(0, Math.min(this.columns - 1, c));
+    }
+
+    private int row(double y) {
+        int r = (int) Math.floor((y - this.y0) / this.cellHeight);
+        return Math.max(0, Math.min(this.rows - 1, r));
+    }
+
+    /**
+     * Assigns the entities to the cells.
+     *
+     * @param n  the number of entities.
+     */
+    private void build(int n) {
+        int cells = this.columns * this.rows;
+        int largeSpan = Math.max(16, cells / 16);
+        int[] counts = new int[cells + 1];
+        BitSet isLarge = new BitSet(n);
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (!isFinite(i)) {
+                isLarge.set(i);
+                largeCount++;
+                continue;
+            }
+            int c0 = column(this.bounds[4 * i]);
+            int c1 = column(this.bounds[4 * i + 2]);
+            int r0 = row(this.bounds[4 * i + 1]);
+            int r1 = row(this.bounds[4 * i + 3]);
+            if ((c1 - c0 + 1) * (r1 - r0 + 1) > largeSpan) {
+                isLarge.set(i);
+                largeCount++;
+                continue;
+            }
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    counts[r * this.columns + c + 1]++;
+                }
+            }
+        }
+        for (int k = 0; k < cells; k++) {
+            counts[k + 1] += counts[k];
+        }
+        this.cellStart = counts;
+        this.cellItems = new int[counts[cells]];
+        this.large = new int[largeCount];
+        int[] next = new int[cells];
+        System.arraycopy(counts, 0, next, 0, cells);
+        int l = 0;
+        for (int i = 0; i < n; i++) {
+            if (isLarge.get(i)) {
+                this.large[l++] = i;
+                continue;
+            }
+            int c0 = column(this.bounds[4 * i]);
+            int c1 = column(this.bounds[4 * i + 2]);
+            int r0 = row(this.bounds[4 * i + 1]);
+            int r1 = row(this.bounds[4 * i + 3]);
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    this.cellItems[next[r * this.columns + c]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the last entity whose area contains the
+     * specified point, or {@code -1} if there is no such entity.
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     *
+     * @return The entity index (or {@code -1}).
+     */
+    int indexOf(double x, double y) {
+        return indexOf(x, y, getEntityCount());
+    }
+
+    /**
+     * Returns the index of the last entity before {@code before} whose area
+     * contains the specified point, or {@code -1} if there is no such
+     * entity.
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     * @param before  the index after the last entity to check.
+     *
+     * @return The entity index (or {@code -1}).
+     */
+    int indexOf(double x, double y, int before) {
+        int a = -1;
+        int aEnd = 0;
+        if (x >= this.x0 && x <= this.x0 + this.columns * this.cellWidth
+                && y >= this.y0 && y <= this.y0 + this.rows * this.cellHeight) {
+            int cell = row(y) * this.columns + column(x);
+            a = this.cellStart[cell + 1] - 1;
+            aEnd = this.cellStart[cell];
+        }
+        int b = this.large.length - 1;
+        while (a >= aEnd || b >= 0) {
+            int i;
+            if (b < 0 || (a >= aEnd && this.cellItems[a] > this.large[b])) {
+                i = this.cellItems[a--];
+            }
+            else {
+                i = this.large[b--];
+            }
+            if (i >= before) {
+                continue;
+            }
+            if (!(x < this.bounds[4 * i] || y < this.bounds[4 * i + 1]
+                    || x > this.bounds[4 * i + 2]
+                    || y > this.bounds[4 * i + 3])) {
+                ChartEntity entity = this.entities.get(i);
+                if (entity.getArea().contains(x, y)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the indices of the entities whose bounds intersect the
+     * specified rectangle (the caller should test the entity areas).
+     *
+     * @param area  the rectangle ({@code null} not permitted).
+     *
+     * @return The candidate indices.
+     */
+    BitSet candidates(Rectangle2D area) {
+        BitSet result = new BitSet(this.entities.size());
+        for (int i : this.large) {
+            result.set(i);
+        }
+        int c0 = column(area.getMinX());
+        int c1 = column(area.getMaxX());
+        int r0 = row(area.getMinY());
+        int r1 = row(area.getMaxY());
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * this.columns + c;
+                for (int k = this.cellStart[cell];
+                        k < this.cellStart[cell + 1]; k++) {
+                    int i = this.cellItems[k];
+                    if (!(area.getMaxX() < this.bounds[4 * i]
+                            || area.getMaxY() < this.bounds[4 * i + 1]
+                            || area.getMinX() > this.bounds[4 * i + 2]
+                            || area.getMinY() > this.bounds[4 * i + 3])) {
+                        result.set(i);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,85 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * EntityResolver.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.entity;
+
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+
+/**
+ * An entity that stands in for a (possibly large) number of entities that
+ * are only created when they are needed.  A renderer can add a single
+ * resolver to the entity collection, instead of one entity per item, and
+ * the resolver will create the entity for an item when a point is looked up
+ * (for example, to display a tooltip).  {@link StandardEntityCollection}
+ * resolves these entities in {@code getEntity(double, double)} and
+ * {@code getEntities(Rectangle2D)}.
+ */
+public interface EntityResolver {
+
+    /**
+     * Returns the entity at the specified point, or {@code null} if there
+     * is no entity at the point.  The coordinates are in Java2D space.
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     *
+     * @return The entity (possibly {@code null}).
+     */
+    ChartEntity getEntity(double x, double y);
+
+    /**
+     * Creates all the entities that this resolver stands in for (for
+     * example, to write an HTML image map).
+     *
+     * @return A list of entities (possibly empty, never {@code null}).
+     */
+    List<ChartEntity> createEntities();
+
+    /**
+     * Creates the entities that this resolver stands in for with an area
+     * that intersects the specified rectangle.  Implementations should only
+     * create the entities for the items near the rectangle, rather than for
+     * all the items.
+     *
+     * @param area  the rectangle in Java2D space ({@code null} not
+     *     permitted).
+     *
+     * @return A list of entities (possibly empty, never {@code null}).
+     */
+    List<ChartEntity> createEntities(Rectangle2D area);
+
+}
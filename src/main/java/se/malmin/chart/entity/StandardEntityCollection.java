@@ -36,7 +36,10 @@
 
 package se.malmin.chart.entity;
 
+import java.awt.geom.Rectangle2D;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -48,6 +51,15 @@ import se.malmin.chart.util.PublicCloneable;
 
 /**
  * A standard implementation of the {@link EntityCollection} interface.
+ * When the collection contains a large number of entities, the point and
+ * rectangle queries use a spatial index (a uniform grid over the entity
+ * bounds) that is built on the first query after the collection is
+ * modified.  The index assumes that the areas of the entities are not
+ * modified while they are in the collection.
+ * <p>
+ * Entities that implement {@link EntityResolver} are resolved by the point
+ * and rectangle queries, so that these queries return the entities created
+ * by the resolver rather than the resolver itself.
  */
 public class StandardEntityCollection implements EntityCollection,
         Cloneable, PublicCloneable, Serializable {
@@ -55,14 +67,22 @@ public class StandardEntityCollection implements EntityCollection,
     /** For serialization. */
     private static final long serialVersionUID = 5384773031184897047L;
 
+    /**
+     * The entity count at which the queries start to use a spatial index.
+     */
+    private static final int INDEX_THRESHOLD = 500;
+
     /** Storage for the entities. */
-    private List entities;
+    private List<ChartEntity> entities;
+
+    /** The spatial index (built on demand, {@code null} if not built). */
+    private transient EntityGrid index;
 
     /**
      * Constructs a new entity collection (initially empty).
      */
     public StandardEntityCollection() {
-        this.entities = new java.util.ArrayList();
+        this.entities = new java.util.ArrayList<>();
     }
 
     /**
@@ -86,7 +106,7 @@ public class StandardEntityCollection implements EntityCollection,
      */
     @Override
     public ChartEntity getEntity(int index) {
-        return (ChartEntity) this.entities.get(index);
+        return this.entities.get(index);
     }
 
     /**
@@ -95,6 +115,7 @@ public class StandardEntityCollection implements EntityCollection,
     @Override
     public void clear() {
         this.entities.clear();
+        this.index = null;
     }
 
     /**
@@ -106,6 +127,7 @@ public class StandardEntityCollection implements EntityCollection,
     public void add(ChartEntity entity) {
         Args.nullNotPermitted(entity, "entity");
         this.entities.add(entity);
+        this.index = null;
     }
 
     /**
@@ -116,7 +138,10 @@ public class StandardEntityCollection implements EntityCollection,
      */
     @Override
     public void addAll(EntityCollection collection) {
-        this.entities.addAll(collection.getEntities());
+        for (Object entity : collection.getEntities()) {
+            this.entities.add((ChartEntity) entity);
+        }
+        this.index = null;
     }
 
     /**
@@ -130,16 +155,113 @@ public class StandardEntityCollection implements EntityCollection,
      */
     @Override
     public ChartEntity getEntity(double x, double y) {
-        int entityCount = this.entities.size();
-        for (int i = entityCount - 1; i >= 0; i--) {
-            ChartEntity entity = (ChartEntity) this.entities.get(i);
-            if (entity.getArea().contains(x, y)) {
+        int before = this.entities.size();
+        while (before > 0) {
+            int i = indexOf(x, y, before);
+            if (i < 0) {
+                return null;
+            }
+            ChartEntity entity = this.entities.get(i);
+            if (!(entity instanceof EntityResolver)) {
                 return entity;
             }
+            ChartEntity resolved = ((EntityResolver) entity).getEntity(x, y);
+            if (resolved != null) {
+                return resolved;
+            }
+            before = i;
         }
         return null;
     }
 
+    /**
+     * Returns the index of the last entity before {@code before} with an
+     * area that encloses the specified coordinates, or {@code -1}.
+     *
+     * @param x  the x coordinate.
+     * @param y  the y coordinate.
+     * @param before  the index after the last entity to check.
+     *
+     * @return The entity index (or {@code -1}).
+     */
+    private int indexOf(double x, double y, int before) {
+        if (this.entities.size() >= INDEX_THRESHOLD) {
+            return getIndex().indexOf(x, y, before);
+        }
+        for (int i = before - 1; i >= 0; i--) {
+            ChartEntity entity = this.entities.get(i);
+            if (entity.getArea().contains(x, y)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the entities with an area that intersects the specified
+     * rectangle (for example, to select the items in a region of a chart).
+     * The entities are returned in the order that they were added to the
+     * collection.
+     *
+     * @param area  the rectangle ({@code null} not permitted).
+     *
+     * @return A list of entities (possibly empty, never {@code null}).
+     */
+    public List<ChartEntity> getEntities(Rectangle2D area) {
+        Args.nullNotPermitted(area, "area");
+        List<ChartEntity> result = new ArrayList<>();
+        if (this.entities.size() >= INDEX_THRESHOLD) {
+            BitSet candidates = getIndex().candidates(area);
+            for (int i = candidates.nextSetBit(0); i >= 0;
+                    i = candidates.nextSetBit(i + 1)) {
+                ChartEntity entity = this.entities.get(i);
+                addIntersecting(entity, area, result);
+            }
+        }
+        else {
+            for (Object obj : this.entities) {
+                addIntersecting((ChartEntity) obj, area, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds the entity to the list if its area intersects the rectangle.  If
+     * the entity is an {@link EntityResolver}, the entities that it creates
+     * for the rectangle are added instead.
+     *
+     * @param entity  the entity.
+     * @param area  the rectangle.
+     * @param result  the list of entities.
+     */
+    private static void addIntersecting(ChartEntity entity, Rectangle2D area,
+            List<ChartEntity> result) {
+        if (!entity.getArea().intersects(area)) {
+            return;
+        }
+        if (entity instanceof EntityResolver) {
+            result.addAll(((EntityResolver) entity).createEntities(area));
+        }
+        else {
+            result.add(entity);
+        }
+    }
+
+    /**
+     * Returns the spatial index for the entities, building it if necessary.
+     *
+     * @return The index.
+     */
+    private EntityGrid getIndex() {
+        // the size check catches removals through the iterator
+        if (this.index == null
+                || this.index.getEntityCount() != this.entities.size()) {
+            this.index = new EntityGrid(this.entities);
+        }
+        return this.index;
+    }
+
     /**
      * Returns the entities in an unmodifiable collection.
      *
@@ -190,10 +312,11 @@ public class StandardEntityCollection implements EntityCollection,
     public Object clone() throws CloneNotSupportedException {
         StandardEntityCollection clone
                 = (StandardEntityCollection) super.clone();
-        clone.entities = new java.util.ArrayList(this.entities.size());
+        clone.index = null;
+        clone.entities = new java.util.ArrayList<>(this.entities.size());
         for (int i = 0; i < this.entities.size(); i++) {
-            ChartEntity entity = (ChartEntity) this.entities.get(i);
-            clone.entities.add(entity.clone());
+            ChartEntity entity = this.entities.get(i);
+            clone.entities.add((ChartEntity) entity.clone());
         }
         return clone;
     }
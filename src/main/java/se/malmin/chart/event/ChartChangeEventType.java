@@ -59,6 +59,15 @@ public final class ChartChangeEventType implements Serializable {
     public static final ChartChangeEventType DATASET_UPDATED
             = new ChartChangeEventType("ChartChangeEventType.DATASET_UPDATED");
 
+    /**
+     * FOREGROUND_UPDATED - a change that only affects the items that a plot
+     * draws in front of the data (for example the crosshairs and the
+     * foreground markers), so the axes and data do not need to be redrawn.
+     */
+    public static final ChartChangeEventType FOREGROUND_UPDATED
+            = new ChartChangeEventType(
+            "ChartChangeEventType.FOREGROUND_UPDATED");
+
     /** The name. */
     private String name;
 
@@ -131,6 +140,9 @@ public final class ChartChangeEventType implements Serializable {
         else if (this.equals(ChartChangeEventType.DATASET_UPDATED)) {
             return ChartChangeEventType.DATASET_UPDATED;
         }
+        else if (this.equals(ChartChangeEventType.FOREGROUND_UPDATED)) {
+            return ChartChangeEventType.FOREGROUND_UPDATED;
+        }
         return null;
     }
 
@@ -37,6 +37,7 @@
 package se.malmin.chart.event;
 
 import se.malmin.chart.plot.Plot;
+import se.malmin.data.general.DatasetChangeEvent;
 
 /**
  * An event that can be forwarded to any
@@ -48,6 +49,12 @@ public class PlotChangeEvent extends ChartChangeEvent {
     /** The plot that generated the event. */
     private Plot plot;
 
+    /** The dataset change that caused this event (if any). */
+    private DatasetChangeEvent datasetChangeEvent;
+
+    /** The axis change that caused this event (if any). */
+    private AxisChangeEvent axisChangeEvent;
+
     /**
      * Creates a new PlotChangeEvent.
      *
@@ -68,4 +75,44 @@ public class PlotChangeEvent extends ChartChangeEvent {
         return this.plot;
     }
 
+    /**
+     * Returns the dataset change event that caused this event, if any.  A
+     * listener can use the description of the dataset change to avoid
+     * redrawing parts of a chart that have not changed.
+     *
+     * @return The dataset change event (possibly {@code null}).
+     */
+    public DatasetChangeEvent getDatasetChangeEvent() {
+        return this.datasetChangeEvent;
+    }
+
+    /**
+     * Sets the dataset change event that caused this event.
+     *
+     * @param event  the dataset change event ({@code null} permitted).
+     */
+    public void setDatasetChangeEvent(DatasetChangeEvent event) {
+        this.datasetChangeEvent = event;
+    }
+
+    /**
+     * Returns the axis change event that caused this event, if any.  A
+     * listener can use this to check the new state of the axis instead of
+     * treating the event as a change to the whole plot.
+     *
+     * @return The axis change event (possibly {@code null}).
+     */
+    public AxisChangeEvent getAxisChangeEvent() {
+        return this.axisChangeEvent;
+    }
+
+    /**
+     * Sets the axis change event that caused this event.
+     *
+     * @param event  the axis change event ({@code null} permitted).
+     */
+    public void setAxisChangeEvent(AxisChangeEvent event) {
+        this.axisChangeEvent = event;
+    }
+
 }
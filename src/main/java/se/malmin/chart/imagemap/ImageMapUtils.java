@@ -39,10 +39,12 @@ package se.malmin.chart.imagemap;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.List;
 
 import se.malmin.chart.ChartRenderingInfo;
 import se.malmin.chart.entity.ChartEntity;
 import se.malmin.chart.entity.EntityCollection;
+import se.malmin.chart.entity.EntityResolver;
 import se.malmin.chart.util.Args;
 import se.malmin.chart.util.StringUtils;
 
@@ -169,16 +171,20 @@ public class ImageMapUtils {
             int count = entities.getEntityCount();
             for (int i = count - 1; i >= 0; i--) {
                 ChartEntity entity = entities.getEntity(i);
-                if (entity.getToolTipText() != null
-                        || entity.getURLText() != null) {
-                    String area = entity.getImageMapAreaTag(
-                            toolTipTagFragmentGenerator,
-                            urlTagFragmentGenerator);
-                    if (area.length() > 0) {
-                        sb.append(area);
-                        sb.append(StringUtils.getLineSeparator());
+                if (entity instanceof EntityResolver) {
+                    // materialize the entities that the resolver stands for
+                    List<ChartEntity> resolved
+                            = ((EntityResolver) entity).createEntities();
+                    for (int j = resolved.size() - 1; j >= 0; j--) {
+                        appendAreaTag(sb, resolved.get(j),
+                                toolTipTagFragmentGenerator,
+                                urlTagFragmentGenerator);
                     }
                 }
+                else {
+                    appendAreaTag(sb, entity, toolTipTagFragmentGenerator,
+                            urlTagFragmentGenerator);
+                }
             }
         }
         sb.append("</map>");
@@ -186,6 +192,29 @@ public class ImageMapUtils {
 
     }
 
+    /**
+     * Appends the image map area tag for an entity, if the entity has a
+     * tooltip or URL.
+     *
+     * @param sb  the string builder.
+     * @param entity  the entity.
+     * @param toolTipTagFragmentGenerator  the tooltip fragment generator.
+     * @param urlTagFragmentGenerator  the URL fragment generator.
+     */
+    private static void appendAreaTag(StringBuilder sb, ChartEntity entity,
+            ToolTipTagFragmentGenerator toolTipTagFragmentGenerator,
+            URLTagFragmentGenerator urlTagFragmentGenerator) {
+        if (entity.getToolTipText() != null
+                || entity.getURLText() != null) {
+            String area = entity.getImageMapAreaTag(
+                    toolTipTagFragmentGenerator, urlTagFragmentGenerator);
+            if (area.length() > 0) {
+                sb.append(area);
+                sb.append(StringUtils.getLineSeparator());
+            }
+        }
+    }
+
     /**
      * Returns a string that is equivalent to the input string, but with
      * special characters converted to HTML escape sequences.
@@ -2059,6 +2059,7 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
         } else {
             PlotChangeEvent e = new PlotChangeEvent(this);
             e.setType(ChartChangeEventType.DATASET_UPDATED);
+            e.setDatasetChangeEvent(event);
             notifyListeners(e);
         }
 
@@ -4152,12 +4153,13 @@ public class CategoryPlot extends Plot implements ValueAxisPlot, Pannable,
      */
     public List getCategoriesForAxis(CategoryAxis axis) {
         List result = new ArrayList();
+        Set<Comparable> seen = new HashSet<>();
         int axisIndex = getDomainAxisIndex(axis);
         for (CategoryDataset dataset : datasetsMappedToDomainAxis(axisIndex)) {
             // add the unique categories from this dataset
             for (int i = 0; i < dataset.getColumnCount(); i++) {
                 Comparable category = dataset.getColumnKey(i);
-                if (!result.contains(category)) {
+                if (seen.add(category)) {
                     result.add(category);
                 }
             }
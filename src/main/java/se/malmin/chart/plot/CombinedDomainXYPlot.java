@@ -49,6 +49,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
+import se.malmin.chart.ChartHints;
 import se.malmin.chart.LegendItemCollection;
 import se.malmin.chart.axis.AxisSpace;
 import se.malmin.chart.axis.AxisState;
@@ -57,9 +58,11 @@ import se.malmin.chart.axis.ValueAxis;
 import se.malmin.chart.event.PlotChangeEvent;
 import se.malmin.chart.event.PlotChangeListener;
 import se.malmin.chart.renderer.xy.XYItemRenderer;
+import se.malmin.chart.ui.Layer;
 import se.malmin.chart.ui.RectangleEdge;
 import se.malmin.chart.ui.RectangleInsets;
 import se.malmin.chart.util.Args;
+import se.malmin.chart.util.GraphicsUtils;
 import se.malmin.chart.util.ObjectUtils;
 import se.malmin.chart.util.ShadowGenerator;
 import se.malmin.data.Range;
@@ -82,6 +85,9 @@ public class CombinedDomainXYPlot extends XYPlot
     /** The gap between subplots. */
     private double gap = 5.0;
 
+    /** A flag that controls whether the subplots are drawn in parallel. */
+    private boolean parallelRendering;
+
     /** Temporary storage for the subplot areas. */
     private transient Rectangle2D[] subplotAreas;
     // TODO:  the subplot areas needs to be moved out of the plot into the plot
@@ -142,6 +148,42 @@ public class CombinedDomainXYPlot extends XYPlot
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether the subplots are drawn in
+     * parallel.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setParallelRendering(boolean)
+     */
+    public boolean getParallelRendering() {
+        return this.parallelRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the subplots are drawn in parallel
+     * and sends a {@link PlotChangeEvent} to all registered listeners.  When
+     * this flag is set, each subplot is drawn into its own off-screen image
+     * on the common fork-join pool (after the shared axis has been laid out)
+     * and the images are then drawn onto the target in order.  The rendering
+     * info and entities are merged in subplot order, so they are the same
+     * as for sequential drawing.
+     * <p>
+     * This mode is intended for generating raster images on servers with
+     * many cores.  It is ignored for targets that are not raster devices or
+     * that have a rotation or shear transform, and anything that a subplot
+     * draws outside its own area is clipped.  The subplots must not share
+     * renderers or other objects that are modified while drawing.
+     *
+     * @param parallel  the new flag value.
+     *
+     * @see #getParallelRendering()
+     */
+    public void setParallelRendering(boolean parallel) {
+        this.parallelRendering = parallel;
+        fireChangeEvent();
+    }
+
     /**
      * Returns {@code true} if the range is pannable for at least one subplot,
      * and {@code false} otherwise.
@@ -430,22 +472,33 @@ public class CombinedDomainXYPlot extends XYPlot
         ValueAxis axis = getDomainAxis();
         RectangleEdge edge = getDomainAxisEdge();
         double cursor = RectangleEdge.coordinate(dataArea, edge);
-        AxisState axisState = axis.draw(g2, cursor, area, dataArea, edge, info);
         if (parentState == null) {
             parentState = new PlotState();
         }
-        parentState.getSharedAxisStates().put(axis, axisState);
+        if (!Layer.FOREGROUND.equals(g2.getRenderingHint(
+                ChartHints.KEY_DRAW_LAYER))) {
+            AxisState axisState = axis.draw(g2, cursor, area, dataArea, edge,
+                    info);
+            parentState.getSharedAxisStates().put(axis, axisState);
+        }
 
         // draw all the subplots
-        for (int i = 0; i < this.subplots.size(); i++) {
-            XYPlot plot = (XYPlot) this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
+        if (this.parallelRendering && this.subplots.size() > 1
+                && GraphicsUtils.isRasterTarget(g2)) {
+            ParallelSubplotRenderer.drawSubplots(g2, this.subplots,
+                    this.subplotAreas, anchor, parentState, info);
+        }
+        else {
+            for (int i = 0; i < this.subplots.size(); i++) {
+                XYPlot plot = (XYPlot) this.subplots.get(i);
+                PlotRenderingInfo subplotInfo = null;
+                if (info != null) {
+                    subplotInfo = new PlotRenderingInfo(info.getOwner());
+                    info.addSubplotInfo(subplotInfo);
+                }
+                plot.draw(g2, this.subplotAreas[i], anchor, parentState,
+                        subplotInfo);
             }
-            plot.draw(g2, this.subplotAreas[i], anchor, parentState,
-                    subplotInfo);
         }
 
         if (info != null) {
@@ -704,6 +757,9 @@ public class CombinedDomainXYPlot extends XYPlot
         if (this.gap != that.gap) {
             return false;
         }
+        if (this.parallelRendering != that.parallelRendering) {
+            return false;
+        }
         if (!Objects.equals(this.subplots, that.subplots)) {
             return false;
         }
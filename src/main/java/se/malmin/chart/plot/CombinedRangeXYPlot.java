@@ -49,6 +49,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
+import se.malmin.chart.ChartHints;
 import se.malmin.chart.LegendItemCollection;
 import se.malmin.chart.axis.AxisSpace;
 import se.malmin.chart.axis.AxisState;
@@ -57,9 +58,11 @@ import se.malmin.chart.axis.ValueAxis;
 import se.malmin.chart.event.PlotChangeEvent;
 import se.malmin.chart.event.PlotChangeListener;
 import se.malmin.chart.renderer.xy.XYItemRenderer;
+import se.malmin.chart.ui.Layer;
 import se.malmin.chart.ui.RectangleEdge;
 import se.malmin.chart.ui.RectangleInsets;
 import se.malmin.chart.util.Args;
+import se.malmin.chart.util.GraphicsUtils;
 import se.malmin.chart.util.ObjectUtils;
 import se.malmin.chart.util.ShadowGenerator;
 import se.malmin.data.Range;
@@ -80,6 +83,9 @@ public class CombinedRangeXYPlot extends XYPlot
     /** The gap between subplots. */
     private double gap = 5.0;
 
+    /** A flag that controls whether the subplots are drawn in parallel. */
+    private boolean parallelRendering;
+
     /** Temporary storage for the subplot areas. */
     private transient Rectangle2D[] subplotAreas;
 
@@ -134,6 +140,33 @@ public class CombinedRangeXYPlot extends XYPlot
     public void setGap(double gap) {
         this.gap = gap;
     }
+
+    /**
+     * Returns the flag that controls whether the subplots are drawn in
+     * parallel.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setParallelRendering(boolean)
+     */
+    public boolean getParallelRendering() {
+        return this.parallelRendering;
+    }
+
+    /**
+     * Sets the flag that controls whether the subplots are drawn in parallel
+     * and sends a {@link PlotChangeEvent} to all registered listeners.  See
+     * {@link CombinedDomainXYPlot#setParallelRendering(boolean)} for the
+     * details.
+     *
+     * @param parallel  the new flag value.
+     *
+     * @see #getParallelRendering()
+     */
+    public void setParallelRendering(boolean parallel) {
+        this.parallelRendering = parallel;
+        fireChangeEvent();
+    }
     
     /**
      * Returns {@code true} if the domain is pannable for at least one subplot,
@@ -368,23 +401,33 @@ public class CombinedRangeXYPlot extends XYPlot
         ValueAxis axis = getRangeAxis();
         RectangleEdge edge = getRangeAxisEdge();
         double cursor = RectangleEdge.coordinate(dataArea, edge);
-        AxisState axisState = axis.draw(g2, cursor, area, dataArea, edge, info);
-
         if (parentState == null) {
             parentState = new PlotState();
         }
-        parentState.getSharedAxisStates().put(axis, axisState);
+        if (!Layer.FOREGROUND.equals(g2.getRenderingHint(
+                ChartHints.KEY_DRAW_LAYER))) {
+            AxisState axisState = axis.draw(g2, cursor, area, dataArea, edge,
+                    info);
+            parentState.getSharedAxisStates().put(axis, axisState);
+        }
 
         // draw all the charts
-        for (int i = 0; i < this.subplots.size(); i++) {
-            XYPlot plot = (XYPlot) this.subplots.get(i);
-            PlotRenderingInfo subplotInfo = null;
-            if (info != null) {
-                subplotInfo = new PlotRenderingInfo(info.getOwner());
-                info.addSubplotInfo(subplotInfo);
+        if (this.parallelRendering && this.subplots.size() > 1
+                && GraphicsUtils.isRasterTarget(g2)) {
+            ParallelSubplotRenderer.drawSubplots(g2, this.subplots,
+                    this.subplotAreas, anchor, parentState, info);
+        }
+        else {
+            for (int i = 0; i < this.subplots.size(); i++) {
+                XYPlot plot = (XYPlot) this.subplots.get(i);
+                PlotRenderingInfo subplotInfo = null;
+                if (info != null) {
+                    subplotInfo = new PlotRenderingInfo(info.getOwner());
+                    info.addSubplotInfo(subplotInfo);
+                }
+                plot.draw(g2, this.subplotAreas[i], anchor, parentState,
+                        subplotInfo);
             }
-            plot.draw(g2, this.subplotAreas[i], anchor, parentState,
-                    subplotInfo);
         }
 
         if (info != null) {
@@ -679,6 +722,9 @@ public class CombinedRangeXYPlot extends XYPlot
         if (this.gap != that.gap) {
             return false;
         }
+        if (this.parallelRendering != that.parallelRendering) {
+            return false;
+        }
         if (!Objects.equals(this.subplots, that.subplots)) {
             return false;
         }
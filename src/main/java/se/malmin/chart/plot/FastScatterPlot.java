@@ -49,6 +49,7 @@ import java.awt.Stroke;
 import java.awt.geom.Line2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
@@ -60,15 +61,20 @@ import java.util.ResourceBundle;
 
 import se.malmin.chart.axis.AxisSpace;
 import se.malmin.chart.axis.AxisState;
+import se.malmin.chart.axis.AxisTransform;
 import se.malmin.chart.axis.NumberAxis;
 import se.malmin.chart.axis.ValueAxis;
 import se.malmin.chart.axis.ValueTick;
 import se.malmin.chart.event.PlotChangeEvent;
+import se.malmin.chart.renderer.DensityRaster;
+import se.malmin.chart.renderer.DensityScaling;
+import se.malmin.chart.renderer.PaintScale;
 import se.malmin.chart.ui.RectangleEdge;
 import se.malmin.chart.ui.RectangleInsets;
 import se.malmin.chart.util.Args;
 import se.malmin.chart.util.ArrayUtils;
 import se.malmin.chart.util.PaintUtils;
+import se.malmin.chart.util.PublicCloneable;
 import se.malmin.chart.util.ResourceBundleWrapper;
 import se.malmin.chart.util.SerialUtils;
 import se.malmin.data.Range;
@@ -108,6 +114,15 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
     /** The paint used to plot data points. */
     private transient Paint paint;
 
+    /**
+     * The paint scale for the density of the data points ({@code null} to
+     * draw the individual points).
+     */
+    private PaintScale densityPaintScale;
+
+    /** The scaling for the density of the data points. */
+    private DensityScaling densityScaling;
+
     /** A flag that controls whether the domain grid-lines are visible. */
     private boolean domainGridlinesVisible;
 
@@ -178,6 +193,7 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         this.rangeAxis.addChangeListener(this);
 
         this.paint = Color.RED;
+        this.densityScaling = DensityScaling.LOGARITHMIC;
 
         this.domainGridlinesVisible = true;
         this.domainGridlinePaint = FastScatterPlot.DEFAULT_GRIDLINE_PAINT;
@@ -308,6 +324,64 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         fireChangeEvent();
     }
 
+    /**
+     * Returns the paint scale for drawing the density of the data points,
+     * or {@code null} if the individual points are drawn.  The default value
+     * is {@code null}.
+     *
+     * @return The paint scale (possibly {@code null}).
+     *
+     * @see #setDensityPaintScale(PaintScale)
+     */
+    public PaintScale getDensityPaintScale() {
+        return this.densityPaintScale;
+    }
+
+    /**
+     * Sets the paint scale for drawing the density of the data points and
+     * sends a {@link PlotChangeEvent} to all registered listeners.  When a
+     * scale is set, the points are counted for each pixel of the data area
+     * (see {@link DensityRaster}) and drawn as a single image, with the
+     * lower bound of the scale used for the pixels with the fewest points
+     * and the upper bound for the pixels with the most points.  This is
+     * much faster than drawing each point when there are millions of them.
+     *
+     * @param scale  the scale ({@code null} permitted, to draw the
+     *     individual points).
+     *
+     * @see #getDensityPaintScale()
+     */
+    public void setDensityPaintScale(PaintScale scale) {
+        this.densityPaintScale = scale;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the scaling that maps the point counts to the density paint
+     * scale.  The default value is {@link DensityScaling#LOGARITHMIC}.
+     *
+     * @return The scaling (never {@code null}).
+     *
+     * @see #setDensityScaling(DensityScaling)
+     */
+    public DensityScaling getDensityScaling() {
+        return this.densityScaling;
+    }
+
+    /**
+     * Sets the scaling that maps the point counts to the density paint
+     * scale and sends a {@link PlotChangeEvent} to all registered listeners.
+     *
+     * @param scaling  the scaling ({@code null} not permitted).
+     *
+     * @see #getDensityScaling()
+     */
+    public void setDensityScaling(DensityScaling scaling) {
+        Args.nullNotPermitted(scaling, "scaling");
+        this.densityScaling = scaling;
+        fireChangeEvent();
+    }
+
     /**
      * Returns {@code true} if the domain gridlines are visible, and
      * {@code false} otherwise.
@@ -543,34 +617,31 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
      */
     public void render(Graphics2D g2, Rectangle2D dataArea,
                        PlotRenderingInfo info, CrosshairState crosshairState) {
+        if (this.data == null) {
+            return;
+        }
+        // the transforms give the same results as valueToJava2D(), but
+        // avoid recalculating the axis scale for every point
+        AxisTransform xTransform = this.domainAxis.createTransform(dataArea,
+                RectangleEdge.BOTTOM);
+        AxisTransform yTransform = this.rangeAxis.createTransform(dataArea,
+                RectangleEdge.LEFT);
+        if (this.densityPaintScale != null) {
+            DensityRaster raster = new DensityRaster(dataArea);
+            raster.add(this.data[0], this.data[1], xTransform, yTransform,
+                    false);
+            BufferedImage image = raster.createImage(this.densityPaintScale,
+                    this.densityScaling);
+            g2.drawImage(image, raster.getX(), raster.getY(), null);
+            return;
+        }
         g2.setPaint(this.paint);
-
-        // if the axes use a linear scale, you can uncomment the code below and
-        // switch to the alternative transX/transY calculation inside the loop
-        // that follows - it is a little bit faster then.
-        //
-        // int xx = (int) dataArea.getMinX();
-        // int ww = (int) dataArea.getWidth();
-        // int yy = (int) dataArea.getMaxY();
-        // int hh = (int) dataArea.getHeight();
-        // double domainMin = this.domainAxis.getLowerBound();
-        // double domainLength = this.domainAxis.getUpperBound() - domainMin;
-        // double rangeMin = this.rangeAxis.getLowerBound();
-        // double rangeLength = this.rangeAxis.getUpperBound() - rangeMin;
-
-        if (this.data != null) {
-            for (int i = 0; i < this.data[0].length; i++) {
-                float x = this.data[0][i];
-                float y = this.data[1][i];
-
-                //int transX = (int) (xx + ww * (x - domainMin) / domainLength);
-                //int transY = (int) (yy - hh * (y - rangeMin) / rangeLength);
-                int transX = (int) this.domainAxis.valueToJava2D(x, dataArea,
-                        RectangleEdge.BOTTOM);
-                int transY = (int) this.rangeAxis.valueToJava2D(y, dataArea,
-                        RectangleEdge.LEFT);
-                g2.fillRect(transX, transY, 1, 1);
-            }
+        for (int i = 0; i < this.data[0].length; i++) {
+            float x = this.data[0][i];
+            float y = this.data[1][i];
+            int transX = (int) xTransform.valueToJava2D(x);
+            int transY = (int) yTransform.valueToJava2D(y);
+            g2.fillRect(transX, transY, 1, 1);
         }
     }
 
@@ -977,6 +1048,12 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
         if (!PaintUtils.equal(this.paint, that.paint)) {
             return false;
         }
+        if (!Objects.equals(this.densityPaintScale, that.densityPaintScale)) {
+            return false;
+        }
+        if (this.densityScaling != that.densityScaling) {
+            return false;
+        }
         if (this.domainGridlinesVisible != that.domainGridlinesVisible) {
             return false;
         }
@@ -1027,6 +1104,10 @@ public class FastScatterPlot extends Plot implements ValueAxisPlot, Pannable,
             clone.rangeAxis.setPlot(clone);
             clone.rangeAxis.addChangeListener(clone);
         }
+        if (this.densityPaintScale instanceof PublicCloneable) {
+            PublicCloneable pc = (PublicCloneable) this.densityPaintScale;
+            clone.densityPaintScale = (PaintScale) pc.clone();
+        }
         return clone;
 
     }
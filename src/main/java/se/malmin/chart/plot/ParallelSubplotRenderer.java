@@ -0,0 +1,188 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------------
+ * ParallelSubplotRenderer.java
+ * ----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.plot;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import se.malmin.chart.ChartRenderingInfo;
+import se.malmin.chart.entity.EntityCollection;
+import se.malmin.chart.entity.StandardEntityCollection;
+
+/**
+ * A utility class that draws the subplots of a combined plot in parallel.
+ * Each subplot is drawn into its own off-screen image (at the resolution of
+ * the target device) on the common fork-join pool, then the images are drawn
+ * onto the target in subplot order.  The rendering info and entities for
+ * each subplot are collected separately and merged in subplot order, so the
+ * result does not depend on the order in which the tasks complete.
+ */
+final class ParallelSubplotRenderer {
+
+    private ParallelSubplotRenderer() {
+        // no requirement to instantiate
+    }
+
+    /**
+     * Draws the subplots in parallel.
+     *
+     * @param g2  the graphics target.
+     * @param subplots  the subplots.
+     * @param areas  the area for each subplot.
+     * @param anchor  the anchor point ({@code null} permitted).
+     * @param parentState  the state from the parent plot.
+     * @param info  the rendering info for the parent plot ({@code null}
+     *     permitted).
+     */
+    static void drawSubplots(Graphics2D g2, List<XYPlot> subplots,
+            Rectangle2D[] areas, Point2D anchor, PlotState parentState,
+            PlotRenderingInfo info) {
+        ChartRenderingInfo owner = info != null ? info.getOwner() : null;
+        EntityCollection entities = owner != null
+                ? owner.getEntityCollection() : null;
+        AffineTransform transform = g2.getTransform();
+        RenderingHints hints = g2.getRenderingHints();
+        Font font = g2.getFont();
+        int n = subplots.size();
+        Rectangle[] deviceAreas = new Rectangle[n];
+        List<CompletableFuture<BufferedImage>> tasks = new ArrayList<>(n);
+        List<ChartRenderingInfo> owners = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            XYPlot plot = subplots.get(i);
+            Rectangle2D area = areas[i];
+            Rectangle deviceArea = transform.createTransformedShape(area)
+                    .getBounds();
+            deviceAreas[i] = deviceArea;
+            PlotRenderingInfo subplotInfo = null;
+            if (info != null) {
+                ChartRenderingInfo tempOwner = new ChartRenderingInfo(
+                        entities != null ? new StandardEntityCollection()
+                        : null);
+                owners.add(tempOwner);
+                subplotInfo = new PlotRenderingInfo(tempOwner);
+                info.addSubplotInfo(subplotInfo);
+            }
+            PlotRenderingInfo pri = subplotInfo;
+            tasks.add(CompletableFuture.supplyAsync(() -> draw(plot, area,
+                    deviceArea, transform, hints, font, anchor, parentState,
+                    pri)));
+        }
+        AffineTransform saved = g2.getTransform();
+        try {
+            g2.setTransform(new AffineTransform());
+            for (int i = 0; i < n; i++) {
+                BufferedImage image = tasks.get(i).join();
+                if (image != null) {
+                    g2.drawImage(image, deviceAreas[i].x, deviceAreas[i].y,
+                            null);
+                }
+            }
+        }
+        catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+        finally {
+            g2.setTransform(saved);
+        }
+        if (info != null) {
+            for (int i = 0; i < n; i++) {
+                info.getSubplotInfo(info.getSubplotCount() - n + i)
+                        .setOwner(owner);
+                if (entities != null) {
+                    entities.addAll(owners.get(i).getEntityCollection());
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws one subplot into an off-screen image.
+     *
+     * @param plot  the subplot.
+     * @param area  the area for the subplot.
+     * @param deviceArea  the bounds of the subplot area in device space.
+     * @param transform  the transform for the graphics target.
+     * @param hints  the rendering hints for the graphics target.
+     * @param font  the font for the graphics target.
+     * @param anchor  the anchor point ({@code null} permitted).
+     * @param parentState  the state from the parent plot.
+     * @param info  the rendering info for the subplot ({@code null}
+     *     permitted).
+     *
+     * @return The image ({@code null} if the area is empty).
+     */
+    private static BufferedImage draw(XYPlot plot, Rectangle2D area,
+            Rectangle deviceArea, AffineTransform transform,
+            RenderingHints hints, Font font, Point2D anchor,
+            PlotState parentState, PlotRenderingInfo info) {
+        if (deviceArea.isEmpty()) {
+            return null;
+        }
+        BufferedImage image = new BufferedImage(deviceArea.width,
+                deviceArea.height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D ig2 = image.createGraphics();
+        try {
+            ig2.setRenderingHints(hints);
+            ig2.setFont(font);
+            ig2.translate(-deviceArea.x, -deviceArea.y);
+            ig2.transform(transform);
+            plot.draw(ig2, area, anchor, parentState, info);
+        }
+        finally {
+            ig2.dispose();
+        }
+        return image;
+    }
+
+}
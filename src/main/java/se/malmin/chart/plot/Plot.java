@@ -919,6 +919,19 @@ public abstract class Plot implements AxisChangeListener,
         notifyListeners(new PlotChangeEvent(this));
     }
 
+    /**
+     * Sends a {@link PlotChangeEvent} with the specified type to all
+     * registered listeners.
+     *
+     * @param type  the event type ({@code null} not permitted).
+     */
+    protected void fireChangeEvent(ChartChangeEventType type) {
+        Args.nullNotPermitted(type, "type");
+        PlotChangeEvent event = new PlotChangeEvent(this);
+        event.setType(type);
+        notifyListeners(event);
+    }
+
     /**
      * Draws the plot within the specified area.  The anchor is a point on the
      * chart that is specified externally (for instance, it may be the last
@@ -1143,12 +1156,17 @@ public abstract class Plot implements AxisChangeListener,
 
     /**
      * Receives notification of a change to one of the plot's axes.
+     * <P>
+     * The plot reacts by passing on a plot change event (that refers to the
+     * axis change event) to all registered listeners.
      *
-     * @param event  information about the event (not used here).
+     * @param event  information about the event.
      */
     @Override
     public void axisChanged(AxisChangeEvent event) {
-        fireChangeEvent();
+        PlotChangeEvent newEvent = new PlotChangeEvent(this);
+        newEvent.setAxisChangeEvent(event);
+        notifyListeners(newEvent);
     }
 
     /**
@@ -1157,12 +1175,13 @@ public abstract class Plot implements AxisChangeListener,
      * The plot reacts by passing on a plot change event to all registered
      * listeners.
      *
-     * @param event  information about the event (not used here).
+     * @param event  information about the event.
      */
     @Override
     public void datasetChanged(DatasetChangeEvent event) {
         PlotChangeEvent newEvent = new PlotChangeEvent(this);
         newEvent.setType(ChartChangeEventType.DATASET_UPDATED);
+        newEvent.setDatasetChangeEvent(event);
         notifyListeners(newEvent);
     }
 
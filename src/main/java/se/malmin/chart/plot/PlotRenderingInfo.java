@@ -91,6 +91,20 @@ public class PlotRenderingInfo implements Cloneable, Serializable {
         return this.owner;
     }
 
+    /**
+     * Sets the owner for this info and the info for all its subplots.  This
+     * is used when subplots are drawn with a temporary owner (see
+     * {@link CombinedDomainXYPlot#setParallelRendering(boolean)}).
+     *
+     * @param owner  the owner ({@code null} permitted).
+     */
+    void setOwner(ChartRenderingInfo owner) {
+        this.owner = owner;
+        for (int i = 0; i < getSubplotCount(); i++) {
+            getSubplotInfo(i).setOwner(owner);
+        }
+    }
+
     /**
      * Returns the plot area (in Java2D space).
      *
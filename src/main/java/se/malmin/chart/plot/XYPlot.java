@@ -69,6 +69,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -82,6 +83,7 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.TreeMap;
 
+import se.malmin.chart.ChartHints;
 import se.malmin.chart.JFreeChart;
 import se.malmin.chart.LegendItem;
 import se.malmin.chart.LegendItemCollection;
@@ -96,13 +98,17 @@ import se.malmin.chart.axis.AxisState;
 import se.malmin.chart.axis.TickType;
 import se.malmin.chart.axis.ValueAxis;
 import se.malmin.chart.axis.ValueTick;
+import se.malmin.chart.entity.EntityCollection;
 import se.malmin.chart.event.AnnotationChangeEvent;
 import se.malmin.chart.event.ChartChangeEventType;
+import se.malmin.chart.event.MarkerChangeEvent;
 import se.malmin.chart.event.PlotChangeEvent;
 import se.malmin.chart.event.RendererChangeEvent;
 import se.malmin.chart.event.RendererChangeListener;
 import se.malmin.chart.renderer.RendererUtils;
 import se.malmin.chart.renderer.xy.AbstractXYItemRenderer;
+import se.malmin.chart.renderer.xy.BulkXYItemRenderer;
+import se.malmin.chart.renderer.xy.XYItemEntityResolver;
 import se.malmin.chart.renderer.xy.XYItemRenderer;
 import se.malmin.chart.renderer.xy.XYItemRendererState;
 import se.malmin.chart.ui.Layer;
@@ -119,6 +125,7 @@ import se.malmin.chart.util.ShadowGenerator;
 import se.malmin.data.Range;
 import se.malmin.data.general.DatasetChangeEvent;
 import se.malmin.data.general.DatasetUtils;
+import se.malmin.data.xy.LevelOfDetailXYDataset;
 import se.malmin.data.xy.XYDataset;
 
 /**
@@ -369,6 +376,12 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     private SeriesRenderingOrder seriesRenderingOrder
             = SeriesRenderingOrder.REVERSE;
 
+    /**
+     * A flag that controls whether the item entities are created on demand
+     * (by an {@link XYItemEntityResolver}) instead of by the renderer.
+     */
+    private boolean lazyEntities;
+
     /**
      * The weight for this plot (only relevant if this is a subplot in a
      * combined plot).
@@ -1459,6 +1472,45 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         fireChangeEvent();
     }
 
+    /**
+     * Returns the flag that controls whether the entities for the data items
+     * are created on demand.  The default value is {@code false}.
+     *
+     * @return A boolean.
+     *
+     * @see #setLazyEntities(boolean)
+     */
+    public boolean isLazyEntities() {
+        return this.lazyEntities;
+    }
+
+    /**
+     * Sets the flag that controls whether the entities for the data items
+     * are created on demand and sends a {@link PlotChangeEvent} to all
+     * registered listeners.  When the flag is set (and the renderer is a
+     * subclass of {@link AbstractXYItemRenderer}), the plot clears the
+     * {@code createEntities} flag of the renderer state, so the renderer
+     * does not add an entity for each item it draws (it still receives the
+     * rendering info).  Instead, the plot adds a single
+     * {@link XYItemEntityResolver} for each dataset to the entity collection
+     * and this creates the entity for an item when the item is looked up (for
+     * example, to display a tooltip in the {@code ChartPanel}).  This makes
+     * drawing a chart with a large number of items (and a rendering info
+     * object) much faster, but the entity areas are circles around the data
+     * points rather than the shapes drawn by the renderer.  The
+     * {@code XYBoxAndWhiskerRenderer} and {@code XYDifferenceRenderer} do
+     * not take their entity collection from the renderer state, so they
+     * still add their own entities.
+     *
+     * @param lazy  the new flag value.
+     *
+     * @see #isLazyEntities()
+     */
+    public void setLazyEntities(boolean lazy) {
+        this.lazyEntities = lazy;
+        fireChangeEvent();
+    }
+
     /**
      * Returns the index of the specified renderer, or {@code -1} if the
      * renderer is not assigned to this plot.
@@ -2277,7 +2329,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         }
         marker.addChangeListener(this);
         if (notify) {
-            fireChangeEvent();
+            fireMarkerChangeEvent(layer);
         }
     }
 
@@ -2349,7 +2401,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         }
         boolean removed = markers.remove(marker);
         if (removed && notify) {
-            fireChangeEvent();
+            fireMarkerChangeEvent(layer);
         }
         return removed;
     }
@@ -2460,7 +2512,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         }
         marker.addChangeListener(this);
         if (notify) {
-            fireChangeEvent();
+            fireMarkerChangeEvent(layer);
         }
     }
 
@@ -2569,11 +2621,69 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         }
         boolean removed = markers.remove(marker);
         if (removed && notify) {
-            fireChangeEvent();
+            fireMarkerChangeEvent(layer);
         }
         return removed;
     }
 
+    /**
+     * Sends a {@link PlotChangeEvent} for a change to the markers in the
+     * specified layer.  Foreground markers are drawn in front of the data,
+     * so the event for them has the type
+     * {@link ChartChangeEventType#FOREGROUND_UPDATED}.
+     *
+     * @param layer  the layer.
+     */
+    private void fireMarkerChangeEvent(Layer layer) {
+        if (layer == Layer.FOREGROUND) {
+            fireChangeEvent(ChartChangeEventType.FOREGROUND_UPDATED);
+        }
+        else {
+            fireChangeEvent();
+        }
+    }
+
+    /**
+     * Returns {@code true} if the specified collection of markers contains
+     * the marker.
+     *
+     * @param markers  the markers (a map of collections).
+     * @param marker  the marker.
+     *
+     * @return A boolean.
+     */
+    private static boolean containsMarker(Map markers, Marker marker) {
+        for (Object c : markers.values()) {
+            if (c != null && ((Collection) c).contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Receives notification of a change to a marker that is assigned to the
+     * plot and sends a {@link PlotChangeEvent} to all registered listeners.
+     * When the marker is only drawn in the foreground, the event has the
+     * type {@link ChartChangeEventType#FOREGROUND_UPDATED}.
+     *
+     * @param event  the event.
+     */
+    @Override
+    public void markerChanged(MarkerChangeEvent event) {
+        Marker marker = event.getMarker();
+        if (marker != null
+                && !containsMarker(this.backgroundDomainMarkers, marker)
+                && !containsMarker(this.backgroundRangeMarkers, marker)
+                && (containsMarker(this.foregroundDomainMarkers, marker)
+                || containsMarker(this.foregroundRangeMarkers, marker))) {
+            fireChangeEvent(ChartChangeEventType.FOREGROUND_UPDATED);
+        }
+        else {
+            super.markerChanged(event);
+        }
+    }
+
     /**
      * Adds an annotation to the plot and sends a {@link PlotChangeEvent} to
      * all registered listeners.
@@ -2850,9 +2960,18 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             info.setDataArea(dataArea);
         }
 
+        // the layer hint restricts drawing to the items behind the data
+        // (including the data) or the items in front of the data
+        Object layer = g2.getRenderingHint(ChartHints.KEY_DRAW_LAYER);
+        boolean drawData = !Layer.FOREGROUND.equals(layer);
+        boolean drawForeground = !Layer.BACKGROUND.equals(layer);
+
         // draw the plot background and axes...
-        drawBackground(g2, dataArea);
-        Map axisStateMap = drawAxes(g2, area, dataArea, info);
+        Map axisStateMap = new HashMap();
+        if (drawData) {
+            drawBackground(g2, dataArea);
+            axisStateMap = drawAxes(g2, area, dataArea, info);
+        }
 
         PlotOrientation orient = getOrientation();
 
@@ -2906,7 +3025,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
 
         AxisState domainAxisState = (AxisState) axisStateMap.get(
                 getDomainAxis());
-        if (domainAxisState == null) {
+        if (domainAxisState == null && drawData) {
             if (parentState != null) {
                 domainAxisState = (AxisState) parentState.getSharedAxisStates()
                         .get(getDomainAxis());
@@ -2914,7 +3033,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         }
 
         AxisState rangeAxisState = (AxisState) axisStateMap.get(getRangeAxis());
-        if (rangeAxisState == null) {
+        if (rangeAxisState == null && drawData) {
             if (parentState != null) {
                 rangeAxisState = (AxisState) parentState.getSharedAxisStates()
                         .get(getRangeAxis());
@@ -2947,48 +3066,50 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             g2.setRenderingHints(savedG2.getRenderingHints());
         }
 
-        // draw the markers that are associated with a specific dataset...
-        for (XYDataset dataset: this.datasets.values()) {
-            int datasetIndex = indexOf(dataset);
-            drawDomainMarkers(g2, dataArea, datasetIndex, Layer.BACKGROUND);
-        }
-        for (XYDataset dataset: this.datasets.values()) {
-            int datasetIndex = indexOf(dataset);
-            drawRangeMarkers(g2, dataArea, datasetIndex, Layer.BACKGROUND);
-        }
-
         // now draw annotations and render data items...
         boolean foundData = false;
         DatasetRenderingOrder order = getDatasetRenderingOrder();
         List<Integer> rendererIndices = getRendererIndices(order);
         List<Integer> datasetIndices = getDatasetIndices(order);
 
-        // draw background annotations
-        for (int i : rendererIndices) {
-            XYItemRenderer renderer = getRenderer(i);
-            if (renderer != null) {
-                ValueAxis domainAxis = getDomainAxisForDataset(i);
-                ValueAxis rangeAxis = getRangeAxisForDataset(i);
-                renderer.drawAnnotations(g2, dataArea, domainAxis, rangeAxis, 
-                        Layer.BACKGROUND, info);
+        if (drawData) {
+            // draw the markers that are associated with a specific dataset...
+            for (XYDataset dataset: this.datasets.values()) {
+                int datasetIndex = indexOf(dataset);
+                drawDomainMarkers(g2, dataArea, datasetIndex, Layer.BACKGROUND);
+            }
+            for (XYDataset dataset: this.datasets.values()) {
+                int datasetIndex = indexOf(dataset);
+                drawRangeMarkers(g2, dataArea, datasetIndex, Layer.BACKGROUND);
             }
-        }
 
-        // render data items...
-        for (int datasetIndex : datasetIndices) {
-            XYDataset dataset = this.getDataset(datasetIndex);
-            foundData = render(g2, dataArea, datasetIndex, info, 
-                    crosshairState) || foundData;
-        }
+            // draw background annotations
+            for (int i : rendererIndices) {
+                XYItemRenderer renderer = getRenderer(i);
+                if (renderer != null) {
+                    ValueAxis domainAxis = getDomainAxisForDataset(i);
+                    ValueAxis rangeAxis = getRangeAxisForDataset(i);
+                    renderer.drawAnnotations(g2, dataArea, domainAxis,
+                            rangeAxis, Layer.BACKGROUND, info);
+                }
+            }
 
-        // draw foreground annotations
-        for (int i : rendererIndices) {
-            XYItemRenderer renderer = getRenderer(i);
-            if (renderer != null) {
+            // render data items...
+            for (int datasetIndex : datasetIndices) {
+                foundData = render(g2, dataArea, datasetIndex, info,
+                        crosshairState) || foundData;
+            }
+
+            // draw foreground annotations (these can generate entities, so
+            // they are drawn with the data)
+            for (int i : rendererIndices) {
+                XYItemRenderer renderer = getRenderer(i);
+                if (renderer != null) {
                     ValueAxis domainAxis = getDomainAxisForDataset(i);
                     ValueAxis rangeAxis = getRangeAxisForDataset(i);
-                renderer.drawAnnotations(g2, dataArea, domainAxis, rangeAxis, 
-                            Layer.FOREGROUND, info);
+                    renderer.drawAnnotations(g2, dataArea, domainAxis,
+                            rangeAxis, Layer.FOREGROUND, info);
+                }
             }
         }
 
@@ -3007,7 +3128,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             crosshairState.setCrosshairX(xx);
         }
         setDomainCrosshairValue(crosshairState.getCrosshairX(), false);
-        if (isDomainCrosshairVisible()) {
+        if (drawForeground && isDomainCrosshairVisible()) {
             double x = getDomainCrosshairValue();
             Paint paint = getDomainCrosshairPaint();
             Stroke stroke = getDomainCrosshairStroke();
@@ -3027,25 +3148,29 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
             crosshairState.setCrosshairY(yy);
         }
         setRangeCrosshairValue(crosshairState.getCrosshairY(), false);
-        if (isRangeCrosshairVisible()) {
+        if (drawForeground && isRangeCrosshairVisible()) {
             double y = getRangeCrosshairValue();
             Paint paint = getRangeCrosshairPaint();
             Stroke stroke = getRangeCrosshairStroke();
             drawRangeCrosshair(g2, dataArea, orient, y, yAxis, stroke, paint);
         }
 
-        if (!foundData) {
+        if (drawData && !foundData) {
             drawNoDataMessage(g2, dataArea);
         }
 
-        for (int i : rendererIndices) { 
-            drawDomainMarkers(g2, dataArea, i, Layer.FOREGROUND);
-        }
-        for (int i : rendererIndices) {
-            drawRangeMarkers(g2, dataArea, i, Layer.FOREGROUND);
+        if (drawForeground) {
+            for (int i : rendererIndices) {
+                drawDomainMarkers(g2, dataArea, i, Layer.FOREGROUND);
+            }
+            for (int i : rendererIndices) {
+                drawRangeMarkers(g2, dataArea, i, Layer.FOREGROUND);
+            }
         }
 
-        drawAnnotations(g2, dataArea, info);
+        if (drawData) {
+            drawAnnotations(g2, dataArea, info);
+        }
         if (this.shadowGenerator != null && !suppressShadow) {
             BufferedImage shadowImage
                     = this.shadowGenerator.createDropShadow(dataImage);
@@ -3060,7 +3185,9 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         g2.setClip(originalClip);
         g2.setComposite(originalComposite);
 
-        drawOutline(g2, dataArea);
+        if (drawForeground) {
+            drawOutline(g2, dataArea);
+        }
 
     }
 
@@ -3419,9 +3546,42 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
                 }
             }
 
+            if (dataset instanceof LevelOfDetailXYDataset) {
+                // reduce the items to those needed at the current resolution
+                double pixels = this.orientation == PlotOrientation.VERTICAL
+                        ? dataArea.getWidth() : dataArea.getHeight();
+                ((LevelOfDetailXYDataset) dataset).setView(xAxis.getRange(),
+                        (int) Math.ceil(pixels));
+            }
+            boolean resolved = false;
+            if (this.lazyEntities && info != null
+                    && renderer instanceof AbstractXYItemRenderer) {
+                EntityCollection entities = info.getOwner() != null
+                        ? info.getOwner().getEntityCollection() : null;
+                if (entities != null) {
+                    entities.add(new XYItemEntityResolver(dataArea,
+                            (AbstractXYItemRenderer) renderer, this, dataset,
+                            xAxis, yAxis));
+                    resolved = true;
+                }
+            }
             XYItemRendererState state = renderer.initialise(g2, dataArea, this,
                     dataset, info);
+            if (resolved) {
+                // one resolver stands in for the entities of all items, so
+                // the renderer only skips its entities (it still gets the
+                // rendering info)
+                state.setCreateEntities(false);
+            }
             int passCount = renderer.getPassCount();
+            // a caller that redraws part of the data area can restrict the
+            // items to those near some windows along the domain axis
+            double[] windows = getDomainWindows(g2, dataArea, xAxis);
+            // renderers that support it draw each series in a single call
+            BulkXYItemRenderer bulkRenderer = null;
+            if (renderer instanceof BulkXYItemRenderer) {
+                bulkRenderer = (BulkXYItemRenderer) renderer;
+            }
 
             SeriesRenderingOrder seriesOrder = getSeriesRenderingOrder();
             if (seriesOrder == SeriesRenderingOrder.REVERSE) {
@@ -3441,15 +3601,24 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
                             firstItem = Math.max(itemBounds[0] - 1, 0);
                             lastItem = Math.min(itemBounds[1] + 1, lastItem);
                         }
-                        state.startSeriesPass(dataset, series, firstItem,
-                                lastItem, pass, passCount);
-                        for (int item = firstItem; item <= lastItem; item++) {
-                            renderer.drawItem(g2, state, dataArea, info,
-                                    this, xAxis, yAxis, dataset, series, item,
-                                    crosshairState, pass);
+                        if (windows != null
+                                && state.getProcessVisibleItemsOnly()) {
+                            int[] itemRanges = findWindowItems(dataset,
+                                    series, windows, firstItem, lastItem);
+                            for (int i = 0; i < itemRanges.length; i += 2) {
+                                renderSeries(g2, state, dataArea, info,
+                                        renderer, bulkRenderer, xAxis, yAxis,
+                                        dataset, series, itemRanges[i],
+                                        itemRanges[i + 1], crosshairState,
+                                        pass, passCount);
+                            }
+                        }
+                        else {
+                            renderSeries(g2, state, dataArea, info, renderer,
+                                    bulkRenderer, xAxis, yAxis, dataset,
+                                    series, firstItem, lastItem,
+                                    crosshairState, pass, passCount);
                         }
-                        state.endSeriesPass(dataset, series, firstItem,
-                                lastItem, pass, passCount);
                     }
                 }
             }
@@ -3467,15 +3636,24 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
                             firstItem = Math.max(itemBounds[0] - 1, 0);
                             lastItem = Math.min(itemBounds[1] + 1, lastItem);
                         }
-                        state.startSeriesPass(dataset, series, firstItem,
-                                lastItem, pass, passCount);
-                        for (int item = firstItem; item <= lastItem; item++) {
-                            renderer.drawItem(g2, state, dataArea, info,
-                                    this, xAxis, yAxis, dataset, series, item,
-                                    crosshairState, pass);
+                        if (windows != null
+                                && state.getProcessVisibleItemsOnly()) {
+                            int[] itemRanges = findWindowItems(dataset,
+                                    series, windows, firstItem, lastItem);
+                            for (int i = 0; i < itemRanges.length; i += 2) {
+                                renderSeries(g2, state, dataArea, info,
+                                        renderer, bulkRenderer, xAxis, yAxis,
+                                        dataset, series, itemRanges[i],
+                                        itemRanges[i + 1], crosshairState,
+                                        pass, passCount);
+                            }
+                        }
+                        else {
+                            renderSeries(g2, state, dataArea, info, renderer,
+                                    bulkRenderer, xAxis, yAxis, dataset,
+                                    series, firstItem, lastItem,
+                                    crosshairState, pass, passCount);
                         }
-                        state.endSeriesPass(dataset, series, firstItem,
-                                lastItem, pass, passCount);
                     }
                 }
             }
@@ -3483,6 +3661,140 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         return foundData;
     }
 
+    /**
+     * Draws the items from {@code firstItem} to {@code lastItem} in one
+     * series, either in a single call to a {@link BulkXYItemRenderer} or
+     * item by item.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the data area.
+     * @param info  the plot rendering info ({@code null} permitted).
+     * @param renderer  the renderer.
+     * @param bulkRenderer  the renderer, if it is a bulk renderer
+     *     ({@code null} permitted).
+     * @param xAxis  the domain axis.
+     * @param yAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     * @param crosshairState  the crosshair state ({@code null} permitted).
+     * @param pass  the pass index.
+     * @param passCount  the number of passes.
+     */
+    private void renderSeries(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info,
+            XYItemRenderer renderer, BulkXYItemRenderer bulkRenderer,
+            ValueAxis xAxis, ValueAxis yAxis, XYDataset dataset, int series,
+            int firstItem, int lastItem, CrosshairState crosshairState,
+            int pass, int passCount) {
+        state.startSeriesPass(dataset, series, firstItem, lastItem, pass,
+                passCount);
+        if (bulkRenderer != null && bulkRenderer.canDrawSeries(state, this,
+                dataset, series, pass)) {
+            bulkRenderer.drawSeries(g2, state, dataArea, info, this, xAxis,
+                    yAxis, dataset, series, firstItem, lastItem,
+                    crosshairState, pass);
+        }
+        else {
+            for (int item = firstItem; item <= lastItem; item++) {
+                renderer.drawItem(g2, state, dataArea, info, this, xAxis,
+                        yAxis, dataset, series, item, crosshairState, pass);
+            }
+        }
+        state.endSeriesPass(dataset, series, firstItem, lastItem, pass,
+                passCount);
+    }
+
+    /**
+     * Returns the x-value ranges for the windows specified by the
+     * {@link ChartHints#KEY_DOMAIN_WINDOWS} hint, as an array of
+     * (lower, upper) pairs in ascending order, or {@code null} if the hint
+     * is not set.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the data area.
+     * @param xAxis  the domain axis.
+     *
+     * @return The x-value ranges (possibly {@code null}).
+     */
+    private double[] getDomainWindows(Graphics2D g2, Rectangle2D dataArea,
+            ValueAxis xAxis) {
+        Object hint = g2.getRenderingHint(ChartHints.KEY_DOMAIN_WINDOWS);
+        if (!(hint instanceof List)) {
+            return null;
+        }
+        List<?> ranges = (List<?>) hint;
+        double[][] windows = new double[ranges.size()][];
+        RectangleEdge edge = getDomainAxisEdge();
+        for (int i = 0; i < ranges.size(); i++) {
+            Range r = (Range) ranges.get(i);
+            double x0 = xAxis.java2DToValue(r.getLowerBound(), dataArea, edge);
+            double x1 = xAxis.java2DToValue(r.getUpperBound(), dataArea, edge);
+            windows[i] = new double[] {Math.min(x0, x1), Math.max(x0, x1)};
+        }
+        Arrays.sort(windows, (w1, w2) -> Double.compare(w1[0], w2[0]));
+        double[] result = new double[2 * windows.length];
+        int n = 0;
+        for (double[] w : windows) {
+            if (n > 0 && w[0] <= result[n - 1]) {
+                result[n - 1] = Math.max(result[n - 1], w[1]);
+            }
+            else {
+                result[n++] = w[0];
+                result[n++] = w[1];
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Returns the ranges of items in a series that need to be drawn for the
+     * specified x-value windows, as an array of (first, last) pairs in
+     * ascending order.  Each range includes one item on either side of a
+     * window (for the lines that connect to the items outside the window),
+     * and ranges that overlap are merged so that no item is drawn twice.
+     *
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param windows  the x-value ranges as (lower, upper) pairs.
+     * @param firstItem  the index of the first item that may be drawn.
+     * @param lastItem  the index of the last item that may be drawn.
+     *
+     * @return The item ranges.
+     */
+    private static int[] findWindowItems(XYDataset dataset, int series,
+            double[] windows, int firstItem, int lastItem) {
+        List<int[]> ranges = new ArrayList<>();
+        for (int i = 0; i < windows.length; i += 2) {
+            if (!(windows[i] < windows[i + 1]) || lastItem < firstItem) {
+                continue;
+            }
+            int[] bounds = RendererUtils.findLiveItems(dataset, series,
+                    windows[i], windows[i + 1]);
+            int first = Math.max(bounds[0] - 1, firstItem);
+            int last = Math.min(bounds[1] + 1, lastItem);
+            if (first <= last) {
+                ranges.add(new int[] {first, last});
+            }
+        }
+        // the ranges are already in order for a dataset sorted by x-value
+        ranges.sort((r1, r2) -> Integer.compare(r1[0], r2[0]));
+        int[] result = new int[2 * ranges.size()];
+        int n = 0;
+        for (int[] r : ranges) {
+            if (n > 0 && r[0] <= result[n - 1] + 1) {
+                result[n - 1] = Math.max(result[n - 1], r[1]);
+            }
+            else {
+                result[n++] = r[0];
+                result[n++] = r[1];
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
     /**
      * Returns the domain axis for a dataset.
      *
@@ -4236,6 +4548,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
         else {
             PlotChangeEvent e = new PlotChangeEvent(this);
             e.setType(ChartChangeEventType.DATASET_UPDATED);
+            e.setDatasetChangeEvent(event);
             notifyListeners(e);
         }
     }
@@ -4279,7 +4592,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     public void setDomainCrosshairVisible(boolean flag) {
         if (this.domainCrosshairVisible != flag) {
             this.domainCrosshairVisible = flag;
-            fireChangeEvent();
+            fireChangeEvent(ChartChangeEventType.FOREGROUND_UPDATED);
         }
     }
 
@@ -4347,7 +4660,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     public void setDomainCrosshairValue(double value, boolean notify) {
         this.domainCrosshairValue = value;
         if (isDomainCrosshairVisible() && notify) {
-            fireChangeEvent();
+            fireChangeEvent(ChartChangeEventType.FOREGROUND_UPDATED);
         }
     }
 
@@ -4376,7 +4689,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     public void setDomainCrosshairStroke(Stroke stroke) {
         Args.nullNotPermitted(stroke, "stroke");
         this.domainCrosshairStroke = stroke;
-        fireChangeEvent();
+        fireChangeEvent(ChartChangeEventType.FOREGROUND_UPDATED);
     }
 
     /**
@@ -4403,7 +4716,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     public void setDomainCrosshairPaint(Paint paint) {
         Args.nullNotPermitted(paint, "paint");
         this.domainCrosshairPaint = paint;
-        fireChangeEvent();
+        fireChangeEvent(ChartChangeEventType.FOREGROUND_UPDATED);
     }
 
     /**
@@ -4430,7 +4743,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     public void setRangeCrosshairVisible(boolean flag) {
         if (this.rangeCrosshairVisible != flag) {
             this.rangeCrosshairVisible = flag;
-            fireChangeEvent();
+            fireChangeEvent(ChartChangeEventType.FOREGROUND_UPDATED);
         }
     }
 
@@ -4500,7 +4813,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     public void setRangeCrosshairValue(double value, boolean notify) {
         this.rangeCrosshairValue = value;
         if (isRangeCrosshairVisible() && notify) {
-            fireChangeEvent();
+            fireChangeEvent(ChartChangeEventType.FOREGROUND_UPDATED);
         }
     }
 
@@ -4529,7 +4842,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     public void setRangeCrosshairStroke(Stroke stroke) {
         Args.nullNotPermitted(stroke, "stroke");
         this.rangeCrosshairStroke = stroke;
-        fireChangeEvent();
+        fireChangeEvent(ChartChangeEventType.FOREGROUND_UPDATED);
     }
 
     /**
@@ -4556,7 +4869,7 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
     public void setRangeCrosshairPaint(Paint paint) {
         Args.nullNotPermitted(paint, "paint");
         this.rangeCrosshairPaint = paint;
-        fireChangeEvent();
+        fireChangeEvent(ChartChangeEventType.FOREGROUND_UPDATED);
     }
 
     /**
@@ -5189,6 +5502,9 @@ public class XYPlot extends Plot implements ValueAxisPlot, Pannable, Zoomable,
                 that.shadowGenerator)) {
             return false;
         }
+        if (this.lazyEntities != that.lazyEntities) {
+            return false;
+        }
         return super.equals(obj);
     }
 
@@ -0,0 +1,485 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * DensityRaster.java
+ * ------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.renderer;
+
+import java.awt.Color;
+import java.awt.Paint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import se.malmin.chart.axis.AxisTransform;
+import se.malmin.chart.util.Args;
+import se.malmin.data.xy.XYDataset;
+
+/**
+ * A grid of point counts with one cell for each pixel of a data area, used
+ * to draw very large scatter plots as a density image.  Points are binned by
+ * their Java2D coordinates (large arrays are split across the common
+ * fork-join pool), then {@link #createImage(PaintScale, DensityScaling)}
+ * maps the counts through a {@link PaintScale} directly into the pixels of
+ * an image, which is drawn with a single {@code drawImage()} call.  The
+ * cost is proportional to the number of points plus the number of pixels,
+ * with no Java2D work for each point.
+ */
+public class DensityRaster {
+
+    /** The minimum number of points for each parallel task. */
+    private static final int PARALLEL_CHUNK = 1 << 18;
+
+    /** The number of entries in the color lookup table. */
+    private static final int LEVELS = 1024;
+
+    /** The x-coordinate of the left edge of the grid. */
+    private final int x;
+
+    /** The y-coordinate of the top edge of the grid. */
+    private final int y;
+
+    /** The number of columns. */
+    private final int width;
+
+    /** The number of rows. */
+    private final int height;
+
+    /** The counts (row by row). */
+    private final int[] counts;
+
+    /**
+     * Creates a new raster covering the specified area, with one cell for
+     * each whole pixel that the area touches.
+     *
+     * @param area  the area in Java2D space ({@code null} not permitted).
+     */
+    public DensityRaster(Rectangle2D area) {
+        Args.nullNotPermitted(area, "area");
+        this.x = (int) Math.floor(area.getMinX());
+        this.y = (int) Math.floor(area.getMinY());
+        this.width = Math.max((int) Math.ceil(area.getMaxX()) - this.x, 1);
+        this.height = Math.max((int) Math.ceil(area.getMaxY()) - this.y, 1);
+        this.counts = new int[this.width * this.height];
+    }
+
+    /**
+     * Returns the x-coordinate of the left edge of the raster.
+     *
+     * @return The x-coordinate.
+     */
+    public int getX() {
+        return this.x;
+    }
+
+    /**
+     * Returns the y-coordinate of the top edge of the raster.
+     *
+     * @return The y-coordinate.
+     */
+    public int getY() {
+        return this.y;
+    }
+
+    /**
+     * Returns the number of columns in the raster.
+     *
+     * @return The width.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the number of rows in the raster.
+     *
+     * @return The height.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns the number of points in a cell.
+     *
+     * @param column  the column index.
+     * @param row  the row index.
+     *
+     * @return The count.
+     */
+    public int getCount(int column, int row) {
+        Args.requireInRange(column, "column", 0, this.width - 1);
+        Args.requireInRange(row, "row", 0, this.height - 1);
+        return this.counts[row * this.width + column];
+    }
+
+    /**
+     * Returns the largest number of points in any cell.
+     *
+     * @return The maximum count.
+     */
+    public int getMaximumCount() {
+        int result = 0;
+        for (int c : this.counts) {
+            if (c > result) {
+                result = c;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes all the points from the raster.
+     */
+    public void clear() {
+        Arrays.fill(this.counts, 0);
+    }
+
+    /**
+     * Adds a point to the raster.  Points outside the raster are ignored.
+     *
+     * @param x  the x-coordinate (in Java2D space).
+     * @param y  the y-coordinate (in Java2D space).
+     */
+    public void add(double x, double y) {
+        double cx = x - this.x;
+        double cy = y - this.y;
+        if (cx >= 0.0 && cx < this.width && cy >= 0.0 && cy < this.height) {
+            this.counts[(int) cy * this.width + (int) cx]++;
+        }
+    }
+
+    /**
+     * Adds points to the raster, converting the data values to Java2D
+     * coordinates with the specified transforms.  Points outside the raster,
+     * and points with a {@code NaN} value, are ignored.
+     *
+     * @param xValues  the x-values ({@code null} not permitted).
+     * @param yValues  the y-values ({@code null} not permitted, at least as
+     *     long as {@code xValues}).
+     * @param xTransform  the transform for the x-values ({@code null} not
+     *     permitted).
+     * @param yTransform  the transform for the y-values ({@code null} not
+     *     permitted).
+     * @param swapXY  if {@code true}, the transformed x-value is used as the
+     *     vertical coordinate (for a plot with horizontal orientation).
+     */
+    public void add(float[] xValues, float[] yValues, AxisTransform xTransform,
+            AxisTransform yTransform, boolean swapXY) {
+        Args.nullNotPermitted(xValues, "xValues");
+        Args.nullNotPermitted(yValues, "yValues");
+        Args.nullNotPermitted(xTransform, "xTransform");
+        Args.nullNotPermitted(yTransform, "yTransform");
+        if (yValues.length < xValues.length) {
+            throw new IllegalArgumentException(
+                    "The yValues array is shorter than xValues.");
+        }
+        addAll(xValues.length, (grid, from, to) -> {
+            for (int i = from; i < to; i++) {
+                double tx = xTransform.valueToJava2D(xValues[i]);
+                double ty = yTransform.valueToJava2D(yValues[i]);
+                bin(grid, swapXY ? ty : tx, swapXY ? tx : ty);
+            }
+        });
+    }
+
+    /**
+     * Adds the items in one series of a dataset to the raster, converting
+     * the data values to Java2D coordinates with the specified transforms.
+     * For a large series the dataset is read from several threads at once,
+     * so it must not be modified while this method runs.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param xTransform  the transform for the x-values ({@code null} not
+     *     permitted).
+     * @param yTransform  the transform for the y-values ({@code null} not
+     *     permitted).
+     * @param swapXY  if {@code true}, the transformed x-value is used as the
+     *     vertical coordinate (for a plot with horizontal orientation).
+     */
+    public void add(XYDataset dataset, int series, AxisTransform xTransform,
+            AxisTransform yTransform, boolean swapXY) {
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(xTransform, "xTransform");
+        Args.nullNotPermitted(yTransform, "yTransform");
+        addAll(dataset.getItemCount(series), (grid, from, to) -> {
+            for (int i = from; i < to; i++) {
+                double tx = xTransform.valueToJava2D(
+                        dataset.getXValue(series, i));
+                double ty = yTransform.valueToJava2D(
+                        dataset.getYValue(series, i));
+                bin(grid, swapXY ? ty : tx, swapXY ? tx : ty);
+            }
+        });
+    }
+
+    /**
+     * Increments the cell containing a point in the specified grid.
+     *
+     * @param grid  the grid.
+     * @param x  the x-coordinate (in Java2D space).
+     * @param y  the y-coordinate (in Java2D space).
+     */
+    private void bin(int[] grid, double x, double y) {
+        double cx = x - this.x;
+        double cy = y - this.y;
+        if (cx >= 0.0 && cx < this.width && cy >= 0.0 && cy < this.height) {
+            grid[(int) cy * this.width + (int) cx]++;
+        }
+    }
+
+    /**
+     * Bins a range of points into a grid.
+     */
+    private interface Binner {
+
+        /**
+         * Bins the points from {@code from} (inclusive) to {@code to}
+         * (exclusive).
+         *
+         * @param grid  the grid.
+         * @param from  the first point.
+         * @param to  the index after the last point.
+         */
+        void bin(int[] grid, int from, int to);
+
+    }
+
+    /**
+     * Bins {@code count} points, splitting the work across the common
+     * fork-join pool when there are enough points.  Each task counts into
+     * its own grid, and the grids are added together at the end.
+     *
+     * @param count  the number of points.
+     * @param binner  the binner.
+     */
+    private void addAll(int count, Binner binner) {
+        int tasks = Math.min(ForkJoinPool.getCommonPoolParallelism(),
+                count / PARALLEL_CHUNK);
+        if (tasks <= 1) {
+            binner.bin(this.counts, 0, count);
+            return;
+        }
+        List<CompletableFuture<int[]>> futures = new ArrayList<>(tasks - 1);
+        for (int t = 1; t < tasks; t++) {
+            int from = (int) ((long) count * t / tasks);
+            int to = (int) ((long) count * (t + 1) / tasks);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                int[] grid = new int[this.counts.length];
+                binner.bin(grid, from, to);
+                return grid;
+            }));
+        }
+        binner.bin(this.counts, 0, count / tasks);
+        for (CompletableFuture<int[]> future : futures) {
+            int[] grid;
+            try {
+                grid = future.join();
+            }
+            catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            for (int i = 0; i < grid.length; i++) {
+                this.counts[i] += grid[i];
+            }
+        }
+    }
+
+    /**
+     * Creates an image of the raster (with the same size, to be drawn at
+     * {@code (getX(), getY())}).  Cells that contain points are painted
+     * with the color from the scale for the scaled count: the smallest count
+     * maps to the lower bound of the scale and the largest count to the
+     * upper bound.  Empty cells are transparent.  The scale should return
+     * {@code Color} instances, other paints are drawn as opaque black.
+     *
+     * @param scale  the paint scale ({@code null} not permitted).
+     * @param scaling  the scaling for the counts ({@code null} not
+     *     permitted).
+     *
+     * @return The image.
+     */
+    public BufferedImage createImage(PaintScale scale,
+            DensityScaling scaling) {
+        Args.nullNotPermitted(scale, "scale");
+        Args.nullNotPermitted(scaling, "scaling");
+        int[] colors = new int[LEVELS];
+        double lower = scale.getLowerBound();
+        double upper = scale.getUpperBound();
+        for (int i = 0; i < LEVELS; i++) {
+            Paint p = scale.getPaint(lower + (upper - lower) * i
+                    / (LEVELS - 1));
+            colors[i] = p instanceof Color ? ((Color) p).getRGB()
+                    : 0xFF000000;
+        }
+        BufferedImage image = new BufferedImage(this.width, this.height,
+                BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer())
+                .getData();
+        int max = getMaximumCount();
+        if (max == 0) {
+            return image;
+        }
+        int[] cells = this.counts;
+        if (max <= cells.length) {
+            // look up the level for each count in a table
+            int[] levels = createLevelTable(scaling, max);
+            for (int i = 0; i < cells.length; i++) {
+                int c = cells[i];
+                if (c > 0) {
+                    pixels[i] = colors[levels[c]];
+                }
+            }
+        }
+        else {
+            int[] sorted = scaling == DensityScaling.EQUALIZED
+                    ? sortedCounts() : null;
+            for (int i = 0; i < cells.length; i++) {
+                int c = cells[i];
+                if (c > 0) {
+                    pixels[i] = colors[level(scaling, c, max, sorted)];
+                }
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Returns the color level for a count.
+     *
+     * @param scaling  the scaling.
+     * @param count  the count (at least 1).
+     * @param max  the maximum count.
+     * @param sorted  the sorted non-zero counts (only used for
+     *     {@link DensityScaling#EQUALIZED}).
+     *
+     * @return The level (in the range {@code 0} to {@code LEVELS - 1}).
+     */
+    private static int level(DensityScaling scaling, int count, int max,
+            int[] sorted) {
+        double t;
+        if (scaling == DensityScaling.LINEAR) {
+            t = (double) count / max;
+        }
+        else if (scaling == DensityScaling.LOGARITHMIC) {
+            t = max > 1 ? Math.log(count) / Math.log(max) : 1.0;
+        }
+        else {
+            // the fraction of cells with a count no greater than this one
+            int lo = 0;
+            int hi = sorted.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid] <= count) {
+                    lo = mid + 1;
+                }
+                else {
+                    hi = mid;
+                }
+            }
+            t = (double) lo / sorted.length;
+        }
+        return (int) (t * (LEVELS - 1) + 0.5);
+    }
+
+    /**
+     * Returns a table of the color level for each count from {@code 0} to
+     * {@code max}.
+     *
+     * @param scaling  the scaling.
+     * @param max  the maximum count.
+     *
+     * @return The table.
+     */
+    private int[] createLevelTable(DensityScaling scaling, int max) {
+        int[] result = new int[max + 1];
+        if (scaling == DensityScaling.EQUALIZED) {
+            // a cumulative histogram of the counts gives the rank directly
+            long[] cumulative = new long[max + 1];
+            for (int c : this.counts) {
+                cumulative[c]++;
+            }
+            long total = 0;
+            for (int c = 1; c <= max; c++) {
+                total += cumulative[c];
+                cumulative[c] = total;
+            }
+            for (int c = 1; c <= max; c++) {
+                result[c] = (int) ((double) cumulative[c] / total
+                        * (LEVELS - 1) + 0.5);
+            }
+        }
+        else {
+            for (int c = 1; c <= max; c++) {
+                result[c] = level(scaling, c, max, null);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the counts for the cells that contain points, in ascending
+     * order.
+     *
+     * @return The counts.
+     */
+    private int[] sortedCounts() {
+        int n = 0;
+        for (int c : this.counts) {
+            if (c > 0) {
+                n++;
+            }
+        }
+        int[] result = new int[n];
+        int i = 0;
+        for (int c : this.counts) {
+            if (c > 0) {
+                result[i++] = c;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+}
@@ -0,0 +1,399 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * MarkerSpriteCache.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.renderer;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import se.malmin.chart.util.Args;
+import se.malmin.chart.util.GraphicsUtils;
+
+/**
+ * A cache of pre-rasterized marker shapes ("sprites") for one raster
+ * graphics target.  Each distinct combination of shape, fill paint, outline
+ * paint and outline stroke is drawn once (for each subpixel offset that is
+ * used) into a small image, and each marker is then drawn by copying the
+ * image to the target.  This is much faster than filling and outlining a
+ * translated shape for every item, at the cost of positioning the markers
+ * to the nearest {@code 1 / subpixelSteps} of a device pixel.
+ * <br><br>
+ * The cache is created by {@link RendererState#getMarkerSprites(Graphics2D)}
+ * for each drawing operation and should not be shared between threads.  It
+ * is only supported for the Java2D raster pipeline (see
+ * {@link #isSupported(Graphics2D)}), vector targets such as SVG, PDF or a
+ * printer always receive shapes.
+ */
+public class MarkerSpriteCache {
+
+    /** The default number of subpixel offsets in each direction. */
+    public static final int DEFAULT_SUBPIXEL_STEPS = 4;
+
+    /** Markers larger than this (in device pixels) are not cached. */
+    private static final int MAX_SPRITE_SIZE = 64;
+
+    /** The maximum number of sprites (each with its offsets) to keep. */
+    private static final int MAX_SPRITES = 64;
+
+    /** The number of subpixel offsets in each direction. */
+    private final int steps;
+
+    /** The x-scale of the target transform. */
+    private final double scaleX;
+
+    /** The y-scale of the target transform. */
+    private final double scaleY;
+
+    /** The x-translation of the target transform. */
+    private final double translateX;
+
+    /** The y-translation of the target transform. */
+    private final double translateY;
+
+    /** The antialiasing hint of the target (possibly {@code null}). */
+    private final Object antialiasing;
+
+    /** The stroke control hint of the target (possibly {@code null}). */
+    private final Object strokeControl;
+
+    /** The sprites, in least recently used order. */
+    private final Map<Sprite, Sprite> sprites;
+
+    /** The most recently used sprite. */
+    private Sprite last;
+
+    /** A transform that is reused to position sprites when scaling. */
+    private final AffineTransform position;
+
+    /**
+     * Creates a new cache for the specified graphics target.  The transform
+     * and rendering hints of the target are recorded here, so the cache
+     * must not be used after either has changed.
+     *
+     * @param g2  the graphics target ({@code null} not permitted, must be
+     *     supported).
+     * @param subpixelSteps  the number of subpixel offsets in each direction
+     *     (in the range 1 to 16, use 1 to place markers on whole pixels).
+     */
+    public MarkerSpriteCache(Graphics2D g2, int subpixelSteps) {
+        Args.nullNotPermitted(g2, "g2");
+        Args.requireInRange(subpixelSteps, "subpixelSteps", 1, 16);
+        if (!isSupported(g2)) {
+            throw new IllegalArgumentException(
+                    "Sprites are not supported for this graphics target.");
+        }
+        AffineTransform t = g2.getTransform();
+        this.steps = subpixelSteps;
+        this.scaleX = t.getScaleX();
+        this.scaleY = t.getScaleY();
+        this.translateX = t.getTranslateX();
+        this.translateY = t.getTranslateY();
+        this.antialiasing = g2.getRenderingHint(
+                RenderingHints.KEY_ANTIALIASING);
+        this.strokeControl = g2.getRenderingHint(
+                RenderingHints.KEY_STROKE_CONTROL);
+        this.sprites = new LinkedHashMap<Sprite, Sprite>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Sprite,
+                    Sprite> eldest) {
+                return size() > MAX_SPRITES;
+            }
+        };
+        this.position = new AffineTransform();
+    }
+
+    /**
+     * Returns {@code true} if sprites can be used with the specified
+     * graphics target.  This requires a target that is drawn by the Java2D
+     * raster pipeline (an image or the screen, not a printer or a vector
+     * format such as SVG or PDF) with a transform that only translates and
+     * scales.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     *
+     * @return A boolean.
+     *
+     * @see GraphicsUtils#isRasterTarget(Graphics2D)
+     */
+    public static boolean isSupported(Graphics2D g2) {
+        return GraphicsUtils.isRasterTarget(g2);
+    }
+
+    /**
+     * Draws a marker by copying a sprite to the graphics target, if that is
+     * possible.  The marker is the shape translated by {@code (x, y)}, it is
+     * filled (if {@code fillPaint} is not {@code null}) and then outlined
+     * (if {@code outlinePaint} is not {@code null}), exactly as if the
+     * translated shape had been passed to {@code g2.fill()} and
+     * {@code g2.draw()}.  When this method returns {@code false} nothing
+     * has been drawn and the caller should draw the shape itself.  This
+     * happens for paints that are not instances of {@code Color} and for
+     * large shapes.
+     *
+     * @param g2  the graphics target (the target that the cache was created
+     *     for).
+     * @param shape  the marker shape ({@code null} not permitted).
+     * @param x  the x-translation for the shape (in Java2D space).
+     * @param y  the y-translation for the shape (in Java2D space).
+     * @param fillPaint  the fill paint ({@code null} permitted).
+     * @param outlinePaint  the outline paint ({@code null} permitted).
+     * @param outlineStroke  the outline stroke ({@code null} permitted if
+     *     {@code outlinePaint} is {@code null}).
+     *
+     * @return A boolean that indicates whether or not the marker was drawn.
+     */
+    public boolean draw(Graphics2D g2, Shape shape, double x, double y,
+            Paint fillPaint, Paint outlinePaint, Stroke outlineStroke) {
+        if ((fillPaint != null && !(fillPaint instanceof Color))
+                || (outlinePaint != null && !(outlinePaint instanceof Color))
+                || (outlinePaint != null && outlineStroke == null)) {
+            return false;
+        }
+        double dx = this.scaleX * x + this.translateX;
+        double dy = this.scaleY * y + this.translateY;
+        if (!(Math.abs(dx) < 1.0e6 && Math.abs(dy) < 1.0e6)) {
+            return false;
+        }
+        Sprite sprite = this.last;
+        if (sprite == null || !sprite.matches(shape, fillPaint, outlinePaint,
+                outlineStroke)) {
+            sprite = lookup(shape, fillPaint, outlinePaint, outlineStroke);
+            this.last = sprite;
+        }
+        if (sprite.images == null) {
+            return false;
+        }
+
+        // round to the nearest subpixel offset
+        long qx = (long) Math.floor(dx * this.steps + 0.5);
+        long qy = (long) Math.floor(dy * this.steps + 0.5);
+        int ix = (int) Math.floorDiv(qx, (long) this.steps);
+        int iy = (int) Math.floorDiv(qy, (long) this.steps);
+        int px = (int) (qx - (long) ix * this.steps);
+        int py = (int) (qy - (long) iy * this.steps);
+        BufferedImage image = sprite.getImage(px, py);
+        int deviceX = ix + sprite.originX;
+        int deviceY = iy + sprite.originY;
+        if (this.scaleX == 1.0 && this.scaleY == 1.0
+                && this.translateX == (int) this.translateX
+                && this.translateY == (int) this.translateY) {
+            g2.drawImage(image, deviceX - (int) this.translateX,
+                    deviceY - (int) this.translateY, null);
+        }
+        else {
+            // undo the target transform so that the image lands on whole
+            // device pixels without resampling
+            this.position.setTransform(1.0 / this.scaleX, 0.0, 0.0,
+                    1.0 / this.scaleY,
+                    (deviceX - this.translateX) / this.scaleX,
+                    (deviceY - this.translateY) / this.scaleY);
+            g2.drawImage(image, this.position, null);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the sprite for a marker, creating it if necessary.
+     *
+     * @param shape  the shape.
+     * @param fillPaint  the fill paint ({@code null} permitted).
+     * @param outlinePaint  the outline paint ({@code null} permitted).
+     * @param outlineStroke  the outline stroke.
+     *
+     * @return The sprite (never {@code null}).
+     */
+    private Sprite lookup(Shape shape, Paint fillPaint, Paint outlinePaint,
+            Stroke outlineStroke) {
+        Sprite key = new Sprite(shape, fillPaint, outlinePaint,
+                outlinePaint != null ? outlineStroke : null);
+        Sprite result = this.sprites.get(key);
+        if (result == null) {
+            result = key;
+            result.layout();
+            this.sprites.put(result, result);
+        }
+        return result;
+    }
+
+    /**
+     * A marker that is rasterized (lazily) at each subpixel offset.  The
+     * shape is compared by identity, renderers reuse the same shape instance
+     * for all the items in a series.
+     */
+    private final class Sprite {
+
+        /** The shape. */
+        private final Shape shape;
+
+        /** The fill paint ({@code null} for no fill). */
+        private final Paint fillPaint;
+
+        /** The outline paint ({@code null} for no outline). */
+        private final Paint outlinePaint;
+
+        /** The outline stroke ({@code null} for no outline). */
+        private final Stroke outlineStroke;
+
+        /** The device x-offset of the images relative to the shape origin. */
+        private int originX;
+
+        /** The device y-offset of the images relative to the shape origin. */
+        private int originY;
+
+        /** The image width. */
+        private int width;
+
+        /** The image height. */
+        private int height;
+
+        /**
+         * The images for each subpixel offset ({@code null} if the marker is
+         * too large to cache).
+         */
+        private BufferedImage[] images;
+
+        Sprite(Shape shape, Paint fillPaint, Paint outlinePaint,
+                Stroke outlineStroke) {
+            this.shape = shape;
+            this.fillPaint = fillPaint;
+            this.outlinePaint = outlinePaint;
+            this.outlineStroke = outlineStroke;
+        }
+
+        boolean matches(Shape shape, Paint fillPaint, Paint outlinePaint,
+                Stroke outlineStroke) {
+            return this.shape == shape
+                    && Objects.equals(this.fillPaint, fillPaint)
+                    && Objects.equals(this.outlinePaint, outlinePaint)
+                    && (outlinePaint == null || Objects.equals(
+                            this.outlineStroke, outlineStroke));
+        }
+
+        /**
+         * Calculates the position and size of the images.
+         */
+        void layout() {
+            Rectangle2D bounds = this.shape.getBounds2D();
+            if (this.outlinePaint != null) {
+                bounds = bounds.createUnion(this.outlineStroke
+                        .createStrokedShape(this.shape).getBounds2D());
+            }
+            double minX = bounds.getMinX() * scaleX;
+            double minY = bounds.getMinY() * scaleY;
+            double maxX = bounds.getMaxX() * scaleX;
+            double maxY = bounds.getMaxY() * scaleY;
+            if (!(maxX - minX <= MAX_SPRITE_SIZE
+                    && maxY - minY <= MAX_SPRITE_SIZE)) {
+                return;
+            }
+            // one pixel of margin for antialiasing on each side, and one for
+            // the subpixel offset
+            this.originX = (int) Math.floor(minX) - 1;
+            this.originY = (int) Math.floor(minY) - 1;
+            this.width = (int) Math.ceil(maxX) + 2 - this.originX;
+            this.height = (int) Math.ceil(maxY) + 2 - this.originY;
+            this.images = new BufferedImage[steps * steps];
+        }
+
+        /**
+         * Returns the image for a subpixel offset, drawing it if necessary.
+         *
+         * @param px  the x-offset (in units of {@code 1 / steps} pixels).
+         * @param py  the y-offset.
+         *
+         * @return The image.
+         */
+        BufferedImage getImage(int px, int py) {
+            int index = py * steps + px;
+            BufferedImage image = this.images[index];
+            if (image == null) {
+                image = new BufferedImage(this.width, this.height,
+                        BufferedImage.TYPE_INT_ARGB_PRE);
+                Graphics2D g2 = image.createGraphics();
+                if (antialiasing != null) {
+                    g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                            antialiasing);
+                }
+                if (strokeControl != null) {
+                    g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
+                            strokeControl);
+                }
+                g2.translate(px / (double) steps - this.originX,
+                        py / (double) steps - this.originY);
+                g2.scale(scaleX, scaleY);
+                if (this.fillPaint != null) {
+                    g2.setPaint(this.fillPaint);
+                    g2.fill(this.shape);
+                }
+                if (this.outlinePaint != null) {
+                    g2.setPaint(this.outlinePaint);
+                    g2.setStroke(this.outlineStroke);
+                    g2.draw(this.shape);
+                }
+                g2.dispose();
+                this.images[index] = image;
+            }
+            return image;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Sprite)) {
+                return false;
+            }
+            Sprite that = (Sprite) obj;
+            return matches(that.shape, that.fillPaint, that.outlinePaint,
+                    that.outlineStroke);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(this.shape),
+                    this.fillPaint, this.outlinePaint, this.outlineStroke);
+        }
+    }
+
+}
@@ -35,6 +35,8 @@
 
 package se.malmin.chart.renderer;
 
+import java.awt.Graphics2D;
+
 import se.malmin.chart.ChartRenderingInfo;
 import se.malmin.chart.entity.EntityCollection;
 import se.malmin.chart.plot.PlotRenderingInfo;
@@ -54,6 +56,21 @@ public class RendererState {
      */
     private boolean elementHinting;
 
+    /**
+     * A flag that controls whether the renderer adds entities for the items
+     * it draws (see {@link #getEntityCollection()}).
+     */
+    private boolean createEntities;
+
+    /** The marker sprites (created on first use). */
+    private MarkerSpriteCache markerSprites;
+
+    /**
+     * A flag that records that the graphics target does not support marker
+     * sprites.
+     */
+    private boolean markerSpritesUnsupported;
+
     /**
      * Creates a new state object.
      *
@@ -62,6 +79,7 @@ public class RendererState {
     public RendererState(PlotRenderingInfo info) {
         this.info = info;
         this.elementHinting = false;
+        this.createEntities = true;
     }
     
     /**
@@ -83,6 +101,54 @@ public class RendererState {
         this.elementHinting = hinting;
     }
 
+    /**
+     * Returns the flag that controls whether the renderer adds entities for
+     * the items it draws.  The default value is {@code true}.
+     *
+     * @return A boolean.
+     */
+    public boolean getCreateEntities() {
+        return this.createEntities;
+    }
+
+    /**
+     * Sets the flag that controls whether the renderer adds entities for the
+     * items it draws.  A plot clears this flag when something else provides
+     * the entities for the items (for example, an
+     * {@link se.malmin.chart.entity.EntityResolver}), while the renderer
+     * still receives the plot rendering info.
+     *
+     * @param create  the new flag value.
+     */
+    public void setCreateEntities(boolean create) {
+        this.createEntities = create;
+    }
+
+    /**
+     * Returns the cache of marker sprites for the graphics target, creating
+     * it on the first call.  The cache is kept for the lifetime of this
+     * state (that is, one drawing operation).
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     *
+     * @return The cache, or {@code null} if the graphics target does not
+     *     support sprites.
+     *
+     * @see MarkerSpriteCache#isSupported(Graphics2D)
+     */
+    public MarkerSpriteCache getMarkerSprites(Graphics2D g2) {
+        if (this.markerSprites == null && !this.markerSpritesUnsupported) {
+            if (MarkerSpriteCache.isSupported(g2)) {
+                this.markerSprites = new MarkerSpriteCache(g2,
+                        MarkerSpriteCache.DEFAULT_SUBPIXEL_STEPS);
+            }
+            else {
+                this.markerSpritesUnsupported = true;
+            }
+        }
+        return this.markerSprites;
+    }
+
     /**
      * Returns the plot rendering info.
      *
@@ -95,13 +161,16 @@ public class RendererState {
     /**
      * A convenience method that returns a reference to the entity
      * collection (may be {@code null}) being used to record
-     * chart entities.
+     * chart entities.  This is {@code null} if the
+     * {@code createEntities} flag is cleared.
      *
      * @return The entity collection (possibly {@code null}).
+     *
+     * @see #setCreateEntities(boolean)
      */
     public EntityCollection getEntityCollection() {
         EntityCollection result = null;
-        if (this.info != null) {
+        if (this.info != null && this.createEntities) {
             ChartRenderingInfo owner = this.info.getOwner();
             if (owner != null) {
                 result = owner.getEntityCollection();
@@ -56,6 +56,7 @@ import se.malmin.chart.entity.EntityCollection;
 import se.malmin.chart.event.RendererChangeEvent;
 import se.malmin.chart.plot.CategoryPlot;
 import se.malmin.chart.plot.PlotOrientation;
+import se.malmin.chart.renderer.MarkerSpriteCache;
 import se.malmin.chart.util.BooleanList;
 import se.malmin.chart.util.PublicCloneable;
 import se.malmin.chart.util.ShapeUtils;
@@ -724,14 +725,41 @@ public class LineAndShapeRenderer extends AbstractCategoryItemRenderer
 
         if (pass == 1) {
             Shape shape = getItemShape(row, column);
-            if (orientation == PlotOrientation.HORIZONTAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, y1, x1);
+            boolean stamped = false;
+            MarkerSpriteCache sprites = getMarkerSprites(g2, state);
+            if (sprites != null && getItemShapeVisible(row, column)) {
+                Paint fillPaint = null;
+                if (getItemShapeFilled(row, column)) {
+                    fillPaint = this.useFillPaint
+                            ? getItemFillPaint(row, column)
+                            : getItemPaint(row, column);
+                }
+                Paint outlinePaint = null;
+                if (this.drawOutlines) {
+                    outlinePaint = this.useOutlinePaint
+                            ? getItemOutlinePaint(row, column)
+                            : getItemPaint(row, column);
+                }
+                if (orientation == PlotOrientation.HORIZONTAL) {
+                    stamped = sprites.draw(g2, shape, y1, x1, fillPaint,
+                            outlinePaint, getItemOutlineStroke(row, column));
+                }
+                else if (orientation == PlotOrientation.VERTICAL) {
+                    stamped = sprites.draw(g2, shape, x1, y1, fillPaint,
+                            outlinePaint, getItemOutlineStroke(row, column));
+                }
             }
-            else if (orientation == PlotOrientation.VERTICAL) {
-                shape = ShapeUtils.createTranslatedShape(shape, x1, y1);
+            // the translated shape is also needed for the entity
+            if (!stamped || state.getEntityCollection() != null) {
+                if (orientation == PlotOrientation.HORIZONTAL) {
+                    shape = ShapeUtils.createTranslatedShape(shape, y1, x1);
+                }
+                else if (orientation == PlotOrientation.VERTICAL) {
+                    shape = ShapeUtils.createTranslatedShape(shape, x1, y1);
+                }
             }
 
-            if (getItemShapeVisible(row, column)) {
+            if (!stamped && getItemShapeVisible(row, column)) {
                 if (getItemShapeFilled(row, column)) {
                     if (this.useFillPaint) {
                         g2.setPaint(getItemFillPaint(row, column));
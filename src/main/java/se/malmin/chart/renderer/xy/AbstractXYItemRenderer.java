@@ -1608,7 +1608,31 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         if (!getItemCreateEntity(series, item)) {
             return;
         }
+        entities.add(createItemEntity(hotspot, dataset, series, item, entityX,
+                entityY));
+    }
 
+    /**
+     * Creates an entity for an item, with the tooltip and URL from the
+     * generators for the item.  This method is used by
+     * {@link #addEntity(EntityCollection, Shape, XYDataset, int, int, double, double)}
+     * and also when entities are resolved on demand (see
+     * {@link XYItemEntityResolver}).
+     *
+     * @param hotspot  the entity area (if {@code null} a default will be
+     *              used).
+     * @param dataset  the dataset.
+     * @param series  the series.
+     * @param item  the item.
+     * @param entityX  the entity x-coordinate (in Java2D space, only used if 
+     *         {@code hotspot} is {@code null}).
+     * @param entityY  the entity y-coordinate (in Java2D space, only used if 
+     *         {@code hotspot} is {@code null}).
+     *
+     * @return The entity (never {@code null}).
+     */
+    public XYItemEntity createItemEntity(Shape hotspot, XYDataset dataset,
+            int series, int item, double entityX, double entityY) {
         // if not hotspot is provided, we create a default based on the 
         // provided data coordinates (which are already in Java2D space)
         if (hotspot == null) {
@@ -1625,9 +1649,7 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
         if (getURLGenerator() != null) {
             url = getURLGenerator().generateURL(dataset, series, item);
         }
-        XYItemEntity entity = new XYItemEntity(hotspot, dataset, series, item,
-                tip, url);
-        entities.add(entity);
+        return new XYItemEntity(hotspot, dataset, series, item, tip, url);
     }
 
     /**
@@ -1655,5 +1677,27 @@ public abstract class AbstractXYItemRenderer extends AbstractRenderer
     protected static void lineTo(GeneralPath hotspot, double x, double y) {
         hotspot.lineTo((float) x, (float) y);
     }
+
+    /**
+     * Returns {@code false} if a shape with the specified bounds, translated
+     * by {@code (dx, dy)}, certainly does not intersect the area.  This is a
+     * cheap test that lets the series renderers skip creating translated
+     * shapes for items that are outside the data area.
+     *
+     * @param bounds  the bounds of the untranslated shape.
+     * @param dx  the x-translation.
+     * @param dy  the y-translation.
+     * @param area  the area.
+     *
+     * @return A boolean.
+     */
+    static boolean mayIntersect(Rectangle2D bounds, double dx, double dy,
+            Rectangle2D area) {
+        double x = bounds.getX() + dx;
+        double y = bounds.getY() + dy;
+        return !(x > area.getMaxX() || x + bounds.getWidth() < area.getMinX()
+                || y > area.getMaxY()
+                || y + bounds.getHeight() < area.getMinY());
+    }
  
 }
@@ -0,0 +1,107 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * BulkXYItemRenderer.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.renderer.xy;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+
+import se.malmin.chart.axis.ValueAxis;
+import se.malmin.chart.plot.CrosshairState;
+import se.malmin.chart.plot.PlotRenderingInfo;
+import se.malmin.chart.plot.XYPlot;
+import se.malmin.data.xy.XYDataset;
+
+/**
+ * An optional extension of {@link XYItemRenderer} for renderers that can
+ * draw all the (visible) items in a series with a single call, instead of
+ * one call to {@code drawItem()} per item.  Such renderers typically
+ * convert the items to Java2D coordinates in one loop (see
+ * {@link XYItemRendererState#getCoordinates(XYPlot, Rectangle2D, ValueAxis,
+ * ValueAxis, XYDataset, int, int, int)}) and look up the series paint and
+ * stroke once.  The {@link XYPlot} calls {@link #drawSeries} between
+ * {@code startSeriesPass()} and {@code endSeriesPass()} whenever
+ * {@link #canDrawSeries} returns {@code true}, and falls back to
+ * {@code drawItem()} otherwise.  The output must be the same in both
+ * cases.
+ */
+public interface BulkXYItemRenderer extends XYItemRenderer {
+
+    /**
+     * Returns {@code true} if the renderer can draw the current pass for
+     * the specified series with {@link #drawSeries}.  This method is called
+     * after the state's {@code startSeriesPass()} method, so the first and
+     * last item indices are available from the state.
+     *
+     * @param state  the renderer state.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param pass  the pass index.
+     *
+     * @return A boolean.
+     */
+    boolean canDrawSeries(XYItemRendererState state, XYPlot plot,
+            XYDataset dataset, int series, int pass);
+
+    /**
+     * Draws one pass for the items from {@code firstItem} to
+     * {@code lastItem} (inclusive) in a series, with the same result as
+     * calling {@code drawItem()} for each item in turn.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing ({@code null}
+     *     permitted).
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     * @param crosshairState  crosshair information for the plot
+     *     ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    void drawSeries(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int firstItem, int lastItem,
+            CrosshairState crosshairState, int pass);
+
+}
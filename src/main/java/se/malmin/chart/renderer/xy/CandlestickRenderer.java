@@ -598,10 +598,7 @@ public class CandlestickRenderer extends AbstractXYItemRenderer
         }
 
         // setup for collecting optional entity info...
-        EntityCollection entities = null;
-        if (info != null) {
-            entities = info.getOwner().getEntityCollection();
-        }
+        EntityCollection entities = state.getEntityCollection();
 
         OHLCDataset highLowData = (OHLCDataset) dataset;
 
@@ -308,13 +308,10 @@ public class ClusteredXYBarRenderer extends XYBarRenderer
             }
 
             // add an entity for the item...
-            if (info != null) {
-                EntityCollection entities
-                        = info.getOwner().getEntityCollection();
-                if (entities != null) {
-                    addEntity(entities, bar, dataset, series, item,
-                            bar.getCenterX(), bar.getCenterY());
-                }
+            EntityCollection entities = state.getEntityCollection();
+            if (entities != null) {
+                addEntity(entities, bar, dataset, series, item,
+                        bar.getCenterX(), bar.getCenterY());
             }
         }
 
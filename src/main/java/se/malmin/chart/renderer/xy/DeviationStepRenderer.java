@@ -214,10 +214,7 @@ public class DeviationStepRenderer extends DeviationRenderer {
         else if (isItemPass(pass)) {
 
             // setup for collecting optional entity info...
-            EntityCollection entities = null;
-            if (info != null) {
-                entities = info.getOwner().getEntityCollection();
-            }
+            EntityCollection entities = state.getEntityCollection();
 
             drawSecondaryPass(g2, plot, dataset, pass, series, item,
                     domainAxis, dataArea, rangeAxis, crosshairState, entities);
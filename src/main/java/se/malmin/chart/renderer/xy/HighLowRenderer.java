@@ -293,10 +293,7 @@ public class HighLowRenderer extends AbstractXYItemRenderer
 
         // setup for collecting optional entity info...
         Shape entityArea = null;
-        EntityCollection entities = null;
-        if (info != null) {
-            entities = info.getOwner().getEntityCollection();
-        }
+        EntityCollection entities = state.getEntityCollection();
 
         PlotOrientation orientation = plot.getOrientation();
         RectangleEdge location = plot.getRangeAxisEdge();
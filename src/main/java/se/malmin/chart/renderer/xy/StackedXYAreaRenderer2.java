@@ -193,10 +193,7 @@ public class StackedXYAreaRenderer2 extends XYAreaRenderer2
             int series, int item, CrosshairState crosshairState, int pass) {
 
         // setup for collecting optional entity info...
-        EntityCollection entities = null;
-        if (info != null) {
-            entities = info.getOwner().getEntityCollection();
-        }
+        EntityCollection entities = state.getEntityCollection();
 
         TableXYDataset tdataset = (TableXYDataset) dataset;
         PlotOrientation orientation = plot.getOrientation();
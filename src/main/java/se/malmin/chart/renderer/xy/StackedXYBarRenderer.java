@@ -359,13 +359,10 @@ public class StackedXYBarRenderer extends XYBarRenderer {
             getBarPainter().paintBar(g2, this, series, item, bar, barBase);
 
             // add an entity for the item...
-            if (info != null) {
-                EntityCollection entities = info.getOwner()
-                        .getEntityCollection();
-                if (entities != null) {
-                    addEntity(entities, bar, dataset, series, item,
-                            bar.getCenterX(), bar.getCenterY());
-                }
+            EntityCollection entities = state.getEntityCollection();
+            if (entities != null) {
+                addEntity(entities, bar, dataset, series, item,
+                        bar.getCenterX(), bar.getCenterY());
             }
         }
         else if (pass == 2) {
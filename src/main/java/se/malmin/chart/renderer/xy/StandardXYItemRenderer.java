@@ -671,10 +671,7 @@ public class StandardXYItemRenderer extends AbstractXYItemRenderer
 
         // setup for collecting optional entity info...
         Shape entityArea = null;
-        EntityCollection entities = null;
-        if (info != null) {
-            entities = info.getOwner().getEntityCollection();
-        }
+        EntityCollection entities = state.getEntityCollection();
 
         PlotOrientation orientation = plot.getOrientation();
         Paint paint = getItemPaint(series, item);
@@ -276,13 +276,10 @@ public class VectorRenderer extends AbstractXYItemRenderer
         g2.draw(p);
 
         // setup for collecting optional entity info...
-        EntityCollection entities;
-        if (info != null) {
-            entities = info.getOwner().getEntityCollection();
-            if (entities != null) {
-                addEntity(entities, line.getBounds(), dataset, series, item,
-                        0.0, 0.0);
-            }
+        EntityCollection entities = state.getEntityCollection();
+        if (entities != null) {
+            addEntity(entities, line.getBounds(), dataset, series, item,
+                    0.0, 0.0);
         }
 
     }
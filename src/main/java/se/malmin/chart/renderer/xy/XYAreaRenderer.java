@@ -83,7 +83,7 @@ import se.malmin.data.xy.XYDataset;
  * <img src="doc-files/XYAreaRendererSample.png" alt="XYAreaRendererSample.png">
  */
 public class XYAreaRenderer extends AbstractXYItemRenderer
-        implements XYItemRenderer, PublicCloneable {
+        implements XYItemRenderer, BulkXYItemRenderer, PublicCloneable {
 
     /** For serialization. */
     private static final long serialVersionUID = -4481971353973876747L;
@@ -529,58 +529,8 @@ public class XYAreaRenderer extends AbstractXYItemRenderer
         // Check if the item is the last item for the series.
         // and number of items > 0.  We can't draw an area for a single point.
         if (getPlotArea() && item > 0 && item == (itemCount - 1)) {
-
-            if (orientation == PlotOrientation.VERTICAL) {
-                // Add the last point (x,0)
-                lineTo(areaState.area, transX1, transZero);
-                areaState.area.closePath();
-            } else if (orientation == PlotOrientation.HORIZONTAL) {
-                // Add the last point (x,0)
-                lineTo(areaState.area, transZero, transX1);
-                areaState.area.closePath();
-            }
-
-            if (this.useFillPaint) {
-                paint = lookupSeriesFillPaint(series);
-            }
-            if (paint instanceof GradientPaint) {
-                GradientPaint gp = (GradientPaint) paint;
-                GradientPaint adjGP = this.gradientTransformer.transform(gp,
-                        dataArea);
-                g2.setPaint(adjGP);
-            }
-            g2.fill(areaState.area);
-
-            // draw an outline around the Area.
-            if (isOutline()) {
-                Shape area = areaState.area;
-
-                // Java2D has some issues drawing dashed lines around "large"
-                // geometrical shapes - for example, see bug 6620013 in the
-                // Java bug database.  So, we'll check if the outline is
-                // dashed and, if it is, do our own clipping before drawing
-                // the outline...
-                Stroke outlineStroke = lookupSeriesOutlineStroke(series);
-                if (outlineStroke instanceof BasicStroke) {
-                    BasicStroke bs = (BasicStroke) outlineStroke;
-                    if (bs.getDashArray() != null) {
-                        Area poly = new Area(areaState.area);
-                        // we make the clip region slightly larger than the
-                        // dataArea so that the clipped edges don't show lines
-                        // on the chart
-                        Area clip = new Area(new Rectangle2D.Double(
-                                dataArea.getX() - 5.0, dataArea.getY() - 5.0,
-                                dataArea.getWidth() + 10.0,
-                                dataArea.getHeight() + 10.0));
-                        poly.intersect(clip);
-                        area = poly;
-                    }
-                } // end of workaround
-
-                g2.setStroke(outlineStroke);
-                g2.setPaint(lookupSeriesOutlinePaint(series));
-                g2.draw(area);
-            }
+            fillArea(g2, areaState, dataArea, orientation, series, paint,
+                    transX1, transZero);
         }
 
         int datasetIndex = plot.indexOf(dataset);
@@ -590,32 +540,269 @@ public class XYAreaRenderer extends AbstractXYItemRenderer
         // collect entity and tool tip information...
         EntityCollection entities = state.getEntityCollection();
         if (entities != null) {
-            GeneralPath hotspot = new GeneralPath();
-            if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
-                moveTo(hotspot, transZero, ((transX0 + transX1) / 2.0));
-                lineTo(hotspot, ((transY0 + transY1) / 2.0), ((transX0 + transX1) / 2.0));
-                lineTo(hotspot, transY1, transX1);
-                lineTo(hotspot, ((transY1 + transY2) / 2.0), ((transX1 + transX2) / 2.0));
-                lineTo(hotspot, transZero, ((transX1 + transX2) / 2.0));
-            } else { // vertical orientation
-                moveTo(hotspot, ((transX0 + transX1) / 2.0), transZero);
-                lineTo(hotspot, ((transX0 + transX1) / 2.0), ((transY0 + transY1) / 2.0));
-                lineTo(hotspot, transX1, transY1);
-                lineTo(hotspot, ((transX1 + transX2) / 2.0), ((transY1 + transY2) / 2.0));
-                lineTo(hotspot, ((transX1 + transX2) / 2.0), transZero);
+            addHotspotEntity(entities, plot, dataArea, dataset, series, item,
+                    transX0, transY0, transX1, transY1, transX2, transY2,
+                    transZero);
+        }
+
+    }
+
+    /**
+     * Returns {@code true} if the renderer can draw a whole series with
+     * {@link #drawSeries}.  This is the case for this class, but not for
+     * subclasses since they may override {@code drawItem()} or the methods
+     * that it calls.
+     *
+     * @param state  the renderer state.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param pass  the pass index.
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean canDrawSeries(XYItemRendererState state, XYPlot plot,
+            XYDataset dataset, int series, int pass) {
+        return getClass() == XYAreaRenderer.class;
+    }
+
+    /**
+     * Draws a range of items in a series, with the same result as calling
+     * {@link #drawItem} for each item.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawSeries(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int firstItem, int lastItem,
+            CrosshairState crosshairState, int pass) {
+
+        if (lastItem < firstItem || !getItemVisible(series, firstItem)) {
+            return;
+        }
+        XYAreaRendererState areaState = (XYAreaRendererState) state;
+        int itemCount = dataset.getItemCount(series);
+
+        // the hotspots use the previous and next items as well
+        int first = Math.max(firstItem - 1, 0);
+        int last = Math.min(lastItem + 1, itemCount - 1);
+        XYCoordinateBuffer buffer = state.getCoordinates(plot, dataArea,
+                domainAxis, rangeAxis, dataset, series, first, last);
+        double[] x = buffer.getXValues();
+        double[] y = buffer.getYValues();
+        double[] tx = buffer.getDomainCoordinates();
+        double[] ty = buffer.getRangeCoordinates();
+        double transZero = rangeAxis.valueToJava2D(0.0, dataArea,
+                plot.getRangeAxisEdge());
+        PlotOrientation orientation = plot.getOrientation();
+        Paint paint = getItemPaint(series, firstItem);
+        Stroke stroke = getItemStroke(series, firstItem);
+        Shape seriesShape = null;
+        if (getPlotShapes()) {
+            seriesShape = getItemShape(series, firstItem);
+        }
+        EntityCollection entities = state.getEntityCollection();
+        int datasetIndex = plot.indexOf(dataset);
+        for (int item = firstItem; item <= lastItem; item++) {
+            int i1 = item - first;
+            int i0 = Math.max(item - 1, 0) - first;
+            int i2 = Math.min(item + 1, itemCount - 1) - first;
+
+            // missing y-values are treated as zero
+            double x1 = x[i1];
+            double y1 = y[i1];
+            double transX1 = tx[i1];
+            double transY1 = ty[i1];
+            if (Double.isNaN(y1)) {
+                y1 = 0.0;
+                transY1 = transZero;
+            }
+            double transX0 = tx[i0];
+            double transY0 = Double.isNaN(y[i0]) ? transZero : ty[i0];
+            double transX2 = tx[i2];
+            double transY2 = Double.isNaN(y[i2]) ? transZero : ty[i2];
+
+            if (item == 0) {  // create a new area polygon for the series
+                areaState.area = new GeneralPath();
+                if (orientation.isVertical()) {
+                    moveTo(areaState.area, transX1, transZero);
+                } else if (orientation.isHorizontal()) {
+                    moveTo(areaState.area, transZero, transX1);
+                }
+            }
+            if (orientation.isVertical()) {
+                lineTo(areaState.area, transX1, transY1);
+            } else if (orientation.isHorizontal()) {
+                lineTo(areaState.area, transY1, transX1);
             }
-            hotspot.closePath();
 
-            // limit the entity hotspot area to the data area
-            Area dataAreaHotspot = new Area(hotspot);
-            dataAreaHotspot.intersect(new Area(dataArea));
+            g2.setPaint(paint);
+            g2.setStroke(stroke);
+            if (seriesShape != null) {
+                Shape shape = seriesShape;
+                if (orientation == PlotOrientation.VERTICAL) {
+                    shape = ShapeUtils.createTranslatedShape(shape, transX1,
+                            transY1);
+                } else if (orientation == PlotOrientation.HORIZONTAL) {
+                    shape = ShapeUtils.createTranslatedShape(shape, transY1,
+                            transX1);
+                }
+                g2.draw(shape);
+            }
+            if (getPlotLines() && item > 0) {
+                if (orientation == PlotOrientation.VERTICAL) {
+                    areaState.line.setLine(transX0, transY0, transX1, transY1);
+                } else if (orientation == PlotOrientation.HORIZONTAL) {
+                    areaState.line.setLine(transY0, transX0, transY1, transX1);
+                }
+                g2.draw(areaState.line);
+            }
+            if (getPlotArea() && item > 0 && item == (itemCount - 1)) {
+                fillArea(g2, areaState, dataArea, orientation, series, paint,
+                        transX1, transZero);
+            }
 
-            if (dataAreaHotspot.isEmpty() == false) {
-                addEntity(entities, dataAreaHotspot, dataset, series, item, 
-                        0.0, 0.0);
+            updateCrosshairValues(crosshairState, x1, y1, datasetIndex,
+                    transX1, transY1, orientation);
+            if (entities != null) {
+                addHotspotEntity(entities, plot, dataArea, dataset, series,
+                        item, transX0, transY0, transX1, transY1, transX2,
+                        transY2, transZero);
             }
         }
+    }
+
+    /**
+     * Closes the area for a series and fills it (and draws the outline, if
+     * there is one).
+     *
+     * @param g2  the graphics device.
+     * @param areaState  the renderer state.
+     * @param dataArea  the data area.
+     * @param orientation  the plot orientation.
+     * @param series  the series index.
+     * @param paint  the item paint.
+     * @param transX1  the Java2D x-coordinate of the last item.
+     * @param transZero  the Java2D coordinate of zero on the range axis.
+     */
+    private void fillArea(Graphics2D g2, XYAreaRendererState areaState,
+            Rectangle2D dataArea, PlotOrientation orientation, int series,
+            Paint paint, double transX1, double transZero) {
+        if (orientation == PlotOrientation.VERTICAL) {
+            // Add the last point (x,0)
+            lineTo(areaState.area, transX1, transZero);
+            areaState.area.closePath();
+        } else if (orientation == PlotOrientation.HORIZONTAL) {
+            // Add the last point (x,0)
+            lineTo(areaState.area, transZero, transX1);
+            areaState.area.closePath();
+        }
+
+        if (this.useFillPaint) {
+            paint = lookupSeriesFillPaint(series);
+        }
+        if (paint instanceof GradientPaint) {
+            GradientPaint gp = (GradientPaint) paint;
+            GradientPaint adjGP = this.gradientTransformer.transform(gp,
+                    dataArea);
+            g2.setPaint(adjGP);
+        }
+        g2.fill(areaState.area);
+
+        // draw an outline around the Area.
+        if (isOutline()) {
+            Shape area = areaState.area;
+
+            // Java2D has some issues drawing dashed lines around "large"
+            // geometrical shapes - for example, see bug 6620013 in the
+            // Java bug database.  So, we'll check if the outline is
+            // dashed and, if it is, do our own clipping before drawing
+            // the outline...
+            Stroke outlineStroke = lookupSeriesOutlineStroke(series);
+            if (outlineStroke instanceof BasicStroke) {
+                BasicStroke bs = (BasicStroke) outlineStroke;
+                if (bs.getDashArray() != null) {
+                    Area poly = new Area(areaState.area);
+                    // we make the clip region slightly larger than the
+                    // dataArea so that the clipped edges don't show lines
+                    // on the chart
+                    Area clip = new Area(new Rectangle2D.Double(
+                            dataArea.getX() - 5.0, dataArea.getY() - 5.0,
+                            dataArea.getWidth() + 10.0,
+                            dataArea.getHeight() + 10.0));
+                    poly.intersect(clip);
+                    area = poly;
+                }
+            } // end of workaround
+
+            g2.setStroke(outlineStroke);
+            g2.setPaint(lookupSeriesOutlinePaint(series));
+            g2.draw(area);
+        }
+    }
 
+    /**
+     * Adds an entity for an item, with a hotspot that covers the area from
+     * halfway to the previous item to halfway to the next item.
+     *
+     * @param entities  the entity collection.
+     * @param plot  the plot.
+     * @param dataArea  the data area.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param item  the item index.
+     * @param transX0  the Java2D x-coordinate of the previous item.
+     * @param transY0  the Java2D y-coordinate of the previous item.
+     * @param transX1  the Java2D x-coordinate of the item.
+     * @param transY1  the Java2D y-coordinate of the item.
+     * @param transX2  the Java2D x-coordinate of the next item.
+     * @param transY2  the Java2D y-coordinate of the next item.
+     * @param transZero  the Java2D coordinate of zero on the range axis.
+     */
+    private void addHotspotEntity(EntityCollection entities, XYPlot plot,
+            Rectangle2D dataArea, XYDataset dataset, int series, int item,
+            double transX0, double transY0, double transX1, double transY1,
+            double transX2, double transY2, double transZero) {
+        GeneralPath hotspot = new GeneralPath();
+        if (plot.getOrientation() == PlotOrientation.HORIZONTAL) {
+            moveTo(hotspot, transZero, ((transX0 + transX1) / 2.0));
+            lineTo(hotspot, ((transY0 + transY1) / 2.0), ((transX0 + transX1) / 2.0));
+            lineTo(hotspot, transY1, transX1);
+            lineTo(hotspot, ((transY1 + transY2) / 2.0), ((transX1 + transX2) / 2.0));
+            lineTo(hotspot, transZero, ((transX1 + transX2) / 2.0));
+        } else { // vertical orientation
+            moveTo(hotspot, ((transX0 + transX1) / 2.0), transZero);
+            lineTo(hotspot, ((transX0 + transX1) / 2.0), ((transY0 + transY1) / 2.0));
+            lineTo(hotspot, transX1, transY1);
+            lineTo(hotspot, ((transX1 + transX2) / 2.0), ((transY1 + transY2) / 2.0));
+            lineTo(hotspot, ((transX1 + transX2) / 2.0), transZero);
+        }
+        hotspot.closePath();
+
+        // limit the entity hotspot area to the data area
+        Area dataAreaHotspot = new Area(hotspot);
+        dataAreaHotspot.intersect(new Area(dataArea));
+
+        if (dataAreaHotspot.isEmpty() == false) {
+            addEntity(entities, dataAreaHotspot, dataset, series, item, 
+                    0.0, 0.0);
+        }
     }
 
     /**
@@ -232,13 +232,10 @@ public class XYBubbleRenderer extends AbstractXYItemRenderer
             }
 
             // add an entity if this info is being collected
-            if (info != null) {
-                EntityCollection entities 
-                        = info.getOwner().getEntityCollection();
-                if (entities != null && circle.intersects(dataArea)) {
-                    addEntity(entities, circle, dataset, series, item,
-                            circle.getCenterX(), circle.getCenterY());
-                }
+            EntityCollection entities = state.getEntityCollection();
+            if (entities != null && circle.intersects(dataArea)) {
+                addEntity(entities, circle, dataset, series, item,
+                        circle.getCenterX(), circle.getCenterY());
             }
 
             int datasetIndex = plot.indexOf(dataset);
@@ -0,0 +1,195 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------
+ * XYCoordinateBuffer.java
+ * -----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.renderer.xy;
+
+import se.malmin.chart.axis.AxisTransform;
+import se.malmin.data.xy.XYDataset;
+
+/**
+ * A buffer holding the data values and the Java2D coordinates for a range
+ * of items in one series, filled in a single pass by
+ * {@link XYItemRendererState#getCoordinates}.  The arrays are indexed by
+ * {@code item - getFirstItem()} and are reused (and may be longer than the
+ * item count), so renderers should not keep references to them.  The
+ * Java2D coordinates are for the domain and range axes respectively, so
+ * for a plot with horizontal orientation the domain coordinate is the
+ * vertical position.
+ */
+public class XYCoordinateBuffer {
+
+    /** The x-values. */
+    private double[] xValues;
+
+    /** The y-values. */
+    private double[] yValues;
+
+    /** The Java2D coordinates along the domain axis. */
+    private double[] domainCoordinates;
+
+    /** The Java2D coordinates along the range axis. */
+    private double[] rangeCoordinates;
+
+    /** The dataset that the buffer was last filled from. */
+    private XYDataset dataset;
+
+    /** The series that the buffer was last filled from. */
+    private int series;
+
+    /** The transform that the domain coordinates were created with. */
+    private AxisTransform domainTransform;
+
+    /** The transform that the range coordinates were created with. */
+    private AxisTransform rangeTransform;
+
+    /** The index of the first item. */
+    private int firstItem;
+
+    /** The number of items. */
+    private int itemCount;
+
+    /**
+     * Creates a new empty buffer.
+     */
+    public XYCoordinateBuffer() {
+        this.xValues = new double[0];
+        this.yValues = new double[0];
+        this.domainCoordinates = new double[0];
+        this.rangeCoordinates = new double[0];
+        this.series = -1;
+    }
+
+    /**
+     * Fills the buffer with the items from {@code firstItem} to
+     * {@code lastItem} (inclusive), unless it already holds exactly those
+     * items converted with the same transforms.
+     *
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     * @param domainTransform  the transform for the x-values.
+     * @param rangeTransform  the transform for the y-values.
+     */
+    void fill(XYDataset dataset, int series, int firstItem, int lastItem,
+            AxisTransform domainTransform, AxisTransform rangeTransform) {
+        int n = Math.max(lastItem - firstItem + 1, 0);
+        if (dataset == this.dataset && series == this.series
+                && firstItem == this.firstItem && n == this.itemCount
+                && domainTransform == this.domainTransform
+                && rangeTransform == this.rangeTransform) {
+            return;
+        }
+        if (n > this.xValues.length) {
+            int capacity = Math.max(n, this.xValues.length * 3 / 2);
+            this.xValues = new double[capacity];
+            this.yValues = new double[capacity];
+            this.domainCoordinates = new double[capacity];
+            this.rangeCoordinates = new double[capacity];
+        }
+        double[] x = this.xValues;
+        double[] y = this.yValues;
+        for (int i = 0; i < n; i++) {
+            x[i] = dataset.getXValue(series, firstItem + i);
+            y[i] = dataset.getYValue(series, firstItem + i);
+        }
+        domainTransform.valueToJava2D(x, this.domainCoordinates, n);
+        rangeTransform.valueToJava2D(y, this.rangeCoordinates, n);
+        this.dataset = dataset;
+        this.series = series;
+        this.domainTransform = domainTransform;
+        this.rangeTransform = rangeTransform;
+        this.firstItem = firstItem;
+        this.itemCount = n;
+    }
+
+    /**
+     * Returns the index of the first item in the buffer.
+     *
+     * @return The item index.
+     */
+    public int getFirstItem() {
+        return this.firstItem;
+    }
+
+    /**
+     * Returns the number of items in the buffer.
+     *
+     * @return The item count.
+     */
+    public int getItemCount() {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns the x-values (the array is owned by the buffer).
+     *
+     * @return The x-values.
+     */
+    public double[] getXValues() {
+        return this.xValues;
+    }
+
+    /**
+     * Returns the y-values (the array is owned by the buffer).
+     *
+     * @return The y-values.
+     */
+    public double[] getYValues() {
+        return this.yValues;
+    }
+
+    /**
+     * Returns the Java2D coordinates of the x-values along the domain axis
+     * (the array is owned by the buffer).
+     *
+     * @return The coordinates.
+     */
+    public double[] getDomainCoordinates() {
+        return this.domainCoordinates;
+    }
+
+    /**
+     * Returns the Java2D coordinates of the y-values along the range axis
+     * (the array is owned by the buffer).
+     *
+     * @return The coordinates.
+     */
+    public double[] getRangeCoordinates() {
+        return this.rangeCoordinates;
+    }
+
+}
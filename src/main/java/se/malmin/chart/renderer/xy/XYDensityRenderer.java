@@ -0,0 +1,354 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * XYDensityRenderer.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.renderer.xy;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.Serializable;
+
+import se.malmin.chart.axis.AxisTransform;
+import se.malmin.chart.axis.ValueAxis;
+import se.malmin.chart.event.RendererChangeEvent;
+import se.malmin.chart.plot.CrosshairState;
+import se.malmin.chart.plot.PlotOrientation;
+import se.malmin.chart.plot.PlotRenderingInfo;
+import se.malmin.chart.plot.XYPlot;
+import se.malmin.chart.renderer.DensityRaster;
+import se.malmin.chart.renderer.DensityScaling;
+import se.malmin.chart.renderer.LookupPaintScale;
+import se.malmin.chart.renderer.PaintScale;
+import se.malmin.chart.util.Args;
+import se.malmin.chart.util.PublicCloneable;
+import se.malmin.data.xy.XYDataset;
+
+/**
+ * A renderer that draws the density of the points in an {@link XYDataset}
+ * rather than the individual points, for scatter plots with millions of
+ * items where the points would overlap.  The points in all the visible
+ * series are counted in a {@link DensityRaster} with one cell per pixel of
+ * the data area, and the counts are drawn as a single image, with the color
+ * for each pixel taken from a {@link PaintScale}.  The cost of drawing is
+ * proportional to the number of points plus the size of the data area, and
+ * does not involve any Java2D operations for individual points.
+ * <br><br>
+ * The renderer does not create entities or update the crosshair state.
+ */
+public class XYDensityRenderer extends AbstractXYItemRenderer
+        implements XYItemRenderer, BulkXYItemRenderer, Cloneable,
+        PublicCloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4107262398418390142L;
+
+    /** The paint scale. */
+    private PaintScale paintScale;
+
+    /** The scaling for the point counts. */
+    private DensityScaling scaling;
+
+    /**
+     * Creates a new renderer with a default paint scale (shades of blue) and
+     * logarithmic scaling.
+     */
+    public XYDensityRenderer() {
+        super();
+        LookupPaintScale scale = new LookupPaintScale(0.0, 1.0,
+                new Color(0x08, 0x45, 0x94));
+        scale.add(0.0, new Color(0x9E, 0xCA, 0xE1));
+        scale.add(0.25, new Color(0x6B, 0xAE, 0xD6));
+        scale.add(0.5, new Color(0x42, 0x92, 0xC6));
+        scale.add(0.75, new Color(0x21, 0x71, 0xB5));
+        scale.add(0.9, new Color(0x08, 0x45, 0x94));
+        this.paintScale = scale;
+        this.scaling = DensityScaling.LOGARITHMIC;
+    }
+
+    /**
+     * Returns the paint scale used by the renderer.  The lower bound of the
+     * scale is used for the cells with the fewest points and the upper bound
+     * for the cells with the most points.
+     *
+     * @return The paint scale (never {@code null}).
+     *
+     * @see #setPaintScale(PaintScale)
+     */
+    public PaintScale getPaintScale() {
+        return this.paintScale;
+    }
+
+    /**
+     * Sets the paint scale used by the renderer and sends a
+     * {@link RendererChangeEvent} to all registered listeners.
+     *
+     * @param scale  the scale ({@code null} not permitted).
+     *
+     * @see #getPaintScale()
+     */
+    public void setPaintScale(PaintScale scale) {
+        Args.nullNotPermitted(scale, "scale");
+        this.paintScale = scale;
+        fireChangeEvent();
+    }
+
+    /**
+     * Returns the scaling that maps point counts to the paint scale.
+     *
+     * @return The scaling (never {@code null}).
+     *
+     * @see #setScaling(DensityScaling)
+     */
+    public DensityScaling getScaling() {
+        return this.scaling;
+    }
+
+    /**
+     * Sets the scaling that maps point counts to the paint scale and sends
+     * a {@link RendererChangeEvent} to all registered listeners.
+     *
+     * @param scaling  the scaling ({@code null} not permitted).
+     *
+     * @see #getScaling()
+     */
+    public void setScaling(DensityScaling scaling) {
+        Args.nullNotPermitted(scaling, "scaling");
+        this.scaling = scaling;
+        fireChangeEvent();
+    }
+
+    /**
+     * Initialises the renderer and returns a state object that should be
+     * passed to all subsequent calls to the drawItem() method.
+     *
+     * @param g2  the graphics device.
+     * @param dataArea  the area inside the axes.
+     * @param plot  the plot.
+     * @param data  the data.
+     * @param info  an optional info collection object to return data back to
+     *              the caller.
+     *
+     * @return The renderer state.
+     */
+    @Override
+    public XYItemRendererState initialise(Graphics2D g2, Rectangle2D dataArea,
+            XYPlot plot, XYDataset data, PlotRenderingInfo info) {
+        return new State(info);
+    }
+
+    /**
+     * Draws the density image for the whole dataset, the first time that
+     * this method is called for each drawing operation (later calls do
+     * nothing).
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot (can be used to obtain standard color
+     *              information etc).
+     * @param domainAxis  the domain (horizontal) axis.
+     * @param rangeAxis  the range (vertical) axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawItem(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int item, CrosshairState crosshairState, int pass) {
+        drawDensity(g2, state, dataArea, plot, domainAxis, rangeAxis,
+                dataset);
+    }
+
+    /**
+     * Returns {@code true}, this renderer always draws the density for the
+     * whole dataset at once.
+     *
+     * @param state  the renderer state.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param pass  the pass index.
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean canDrawSeries(XYItemRendererState state, XYPlot plot,
+            XYDataset dataset, int series, int pass) {
+        return true;
+    }
+
+    /**
+     * Draws the density image for the whole dataset, the first time that
+     * this method is called for each drawing operation (later calls do
+     * nothing).
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawSeries(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int firstItem, int lastItem,
+            CrosshairState crosshairState, int pass) {
+        drawDensity(g2, state, dataArea, plot, domainAxis, rangeAxis,
+                dataset);
+    }
+
+    /**
+     * Counts the points in all the visible series and draws the density
+     * image, unless that has already been done with the specified state.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the data area.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     */
+    private void drawDensity(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, XYPlot plot, ValueAxis domainAxis,
+            ValueAxis rangeAxis, XYDataset dataset) {
+        if (state instanceof State) {
+            State s = (State) state;
+            if (s.drawn) {
+                return;
+            }
+            s.drawn = true;
+        }
+        DensityRaster raster = new DensityRaster(dataArea);
+        AxisTransform xTransform = domainAxis.createTransform(dataArea,
+                plot.getDomainAxisEdge());
+        AxisTransform yTransform = rangeAxis.createTransform(dataArea,
+                plot.getRangeAxisEdge());
+        boolean horizontal = plot.getOrientation()
+                == PlotOrientation.HORIZONTAL;
+        for (int series = 0; series < dataset.getSeriesCount(); series++) {
+            if (isSeriesVisible(series)) {
+                raster.add(dataset, series, xTransform, yTransform,
+                        horizontal);
+            }
+        }
+        BufferedImage image = raster.createImage(this.paintScale,
+                this.scaling);
+        g2.drawImage(image, raster.getX(), raster.getY(), null);
+    }
+
+    /**
+     * Tests this {@code XYDensityRenderer} for equality with an arbitrary
+     * object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof XYDensityRenderer)) {
+            return false;
+        }
+        XYDensityRenderer that = (XYDensityRenderer) obj;
+        if (!this.paintScale.equals(that.paintScale)) {
+            return false;
+        }
+        if (this.scaling != that.scaling) {
+            return false;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Returns a clone of this renderer.
+     *
+     * @return A clone of this renderer.
+     *
+     * @throws CloneNotSupportedException if there is a problem creating the
+     *     clone.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        XYDensityRenderer clone = (XYDensityRenderer) super.clone();
+        if (this.paintScale instanceof PublicCloneable) {
+            PublicCloneable pc = (PublicCloneable) this.paintScale;
+            clone.paintScale = (PaintScale) pc.clone();
+        }
+        return clone;
+    }
+
+    /**
+     * The state for an {@code XYDensityRenderer}, which records whether the
+     * density image has been drawn.
+     */
+    public static class State extends XYItemRendererState {
+
+        /** A flag that is set when the density image has been drawn. */
+        private boolean drawn;
+
+        /**
+         * Creates a new state instance.
+         *
+         * @param info  the plot rendering info ({@code null} permitted).
+         */
+        public State(PlotRenderingInfo info) {
+            super(info);
+        }
+
+    }
+
+}
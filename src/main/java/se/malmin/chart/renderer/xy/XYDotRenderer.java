@@ -67,7 +67,7 @@ import se.malmin.data.xy.XYDataset;
  * <img src="doc-files/XYDotRendererSample.png" alt="XYDotRendererSample.png">
  */
 public class XYDotRenderer extends AbstractXYItemRenderer
-        implements XYItemRenderer, PublicCloneable {
+        implements XYItemRenderer, BulkXYItemRenderer, PublicCloneable {
 
     /** For serialization. */
     private static final long serialVersionUID = -2764344339073566425L;
@@ -236,6 +236,85 @@ public class XYDotRenderer extends AbstractXYItemRenderer
 
     }
 
+    /**
+     * Returns {@code true} if the renderer can draw a whole series with
+     * {@link #drawSeries}.  This is the case for this class, but not for
+     * subclasses since they may override {@code drawItem()}.
+     *
+     * @param state  the renderer state.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param pass  the pass index.
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean canDrawSeries(XYItemRendererState state, XYPlot plot,
+            XYDataset dataset, int series, int pass) {
+        return getClass() == XYDotRenderer.class;
+    }
+
+    /**
+     * Draws a range of items in a series, with the same result as calling
+     * {@link #drawItem} for each item.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawSeries(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int firstItem, int lastItem,
+            CrosshairState crosshairState, int pass) {
+
+        if (lastItem < firstItem || !getItemVisible(series, firstItem)) {
+            return;
+        }
+        XYCoordinateBuffer buffer = state.getCoordinates(plot, dataArea,
+                domainAxis, rangeAxis, dataset, series, firstItem, lastItem);
+        double[] x = buffer.getXValues();
+        double[] y = buffer.getYValues();
+        double[] tx = buffer.getDomainCoordinates();
+        double[] ty = buffer.getRangeCoordinates();
+        double adjx = (this.dotWidth - 1) / 2.0;
+        double adjy = (this.dotHeight - 1) / 2.0;
+        Paint paint = getItemPaint(series, firstItem);
+        PlotOrientation orientation = plot.getOrientation();
+        int datasetIndex = plot.indexOf(dataset);
+        for (int i = 0; i < buffer.getItemCount(); i++) {
+            if (Double.isNaN(y[i])) {
+                continue;
+            }
+            double transX = tx[i] - adjx;
+            double transY = ty[i] - adjy;
+            g2.setPaint(paint);
+            if (orientation == PlotOrientation.HORIZONTAL) {
+                g2.fillRect((int) transY, (int) transX, this.dotHeight,
+                        this.dotWidth);
+            }
+            else if (orientation == PlotOrientation.VERTICAL) {
+                g2.fillRect((int) transX, (int) transY, this.dotWidth,
+                        this.dotHeight);
+            }
+            updateCrosshairValues(crosshairState, x[i], y[i], datasetIndex,
+                    transX, transY, orientation);
+        }
+    }
+
     /**
      * Returns a legend item for the specified series.
      *
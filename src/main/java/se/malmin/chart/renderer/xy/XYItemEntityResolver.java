@@ -0,0 +1,617 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * XYItemEntityResolver.java
+ * -------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.renderer.xy;
+
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import se.malmin.chart.axis.AxisTransform;
+import se.malmin.chart.axis.ValueAxis;
+import se.malmin.chart.entity.ChartEntity;
+import se.malmin.chart.entity.EntityResolver;
+import se.malmin.chart.entity.XYItemEntity;
+import se.malmin.chart.plot.PlotOrientation;
+import se.malmin.chart.plot.XYPlot;
+import se.malmin.chart.util.Args;
+import se.malmin.data.DomainOrder;
+import se.malmin.data.xy.XYDataset;
+
+/**
+ * An entity that covers the data area of an {@link XYPlot} and creates the
+ * {@link XYItemEntity} for an item only when the item is looked up, so that
+ * the renderer does not need to create an entity for every item it draws.
+ * The plot adds one resolver per dataset when its {@code lazyEntities} flag
+ * is set (see {@link XYPlot#setLazyEntities(boolean)}).
+ * <p>
+ * To find the item at a point, the resolver transforms the data values with
+ * the axis transforms that were in effect when the chart was drawn.  For
+ * datasets with {@link DomainOrder#ASCENDING} order the candidate items are
+ * found with a binary search on the domain coordinate, for other datasets a
+ * grid index of the item coordinates is built (once per series) on the
+ * first lookup.  The area of an item is a circle centered on the data point
+ * with a radius that is the larger of the renderer's default entity radius
+ * and the extent of the series shape, and the nearest item wins when the
+ * areas overlap.
+ * <p>
+ * The resolver refers to the renderer and the dataset, so these fields are
+ * not serialized (a deserialized resolver does not resolve any entities).
+ */
+public class XYItemEntityResolver extends ChartEntity
+        implements EntityResolver {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2714325604618573920L;
+
+    /** The cell size (in Java2D units) for the grid index. */
+    private static final double CELL_SIZE = 16.0;
+
+    /** The renderer. */
+    private transient AbstractXYItemRenderer renderer;
+
+    /** The dataset. */
+    private transient XYDataset dataset;
+
+    /** The transform for the domain axis. */
+    private transient AxisTransform domainTransform;
+
+    /** The transform for the range axis. */
+    private transient AxisTransform rangeTransform;
+
+    /** A flag that indicates a plot with horizontal orientation. */
+    private boolean horizontal;
+
+    /** The grid index for each series (created on demand). */
+    private transient SeriesGrid[] grids;
+
+    /**
+     * Creates a new resolver for the items in a dataset.
+     *
+     * @param dataArea  the data area ({@code null} not permitted).
+     * @param renderer  the renderer ({@code null} not permitted).
+     * @param plot  the plot ({@code null} not permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param domainAxis  the domain axis ({@code null} not permitted).
+     * @param rangeAxis  the range axis ({@code null} not permitted).
+     */
+    public XYItemEntityResolver(Rectangle2D dataArea,
+            AbstractXYItemRenderer renderer, XYPlot plot, XYDataset dataset,
+            ValueAxis domainAxis, ValueAxis rangeAxis) {
+        super(copyOf(dataArea));
+        Args.nullNotPermitted(renderer, "renderer");
+        Args.nullNotPermitted(plot, "plot");
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(domainAxis, "domainAxis");
+        Args.nullNotPermitted(rangeAxis, "rangeAxis");
+        this.renderer = renderer;
+        this.dataset = dataset;
+        this.domainTransform = domainAxis.createTransform(dataArea,
+                plot.getDomainAxisEdge());
+        this.rangeTransform = rangeAxis.createTransform(dataArea,
+                plot.getRangeAxisEdge());
+        this.horizontal = plot.getOrientation() == PlotOrientation.HORIZONTAL;
+    }
+
+    /**
+     * Returns a copy of the data area (the entity keeps its own copy because
+     * the plot reuses the data area rectangle).
+     *
+     * @param dataArea  the data area ({@code null} not permitted).
+     *
+     * @return A copy of the data area.
+     */
+    private static Rectangle2D copyOf(Rectangle2D dataArea) {
+        Args.nullNotPermitted(dataArea, "dataArea");
+        return (Rectangle2D) dataArea.clone();
+    }
+
+    /**
+     * Returns the dataset.
+     *
+     * @return The dataset (possibly {@code null} after deserialization).
+     */
+    public XYDataset getDataset() {
+        return this.dataset;
+    }
+
+    /**
+     * Returns the renderer.
+     *
+     * @return The renderer (possibly {@code null} after deserialization).
+     */
+    public AbstractXYItemRenderer getRenderer() {
+        return this.renderer;
+    }
+
+    /**
+     * Returns the radius of the entity area for the items in a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The radius.
+     */
+    private double getRadius(int series) {
+        double r = this.renderer.getDefaultEntityRadius();
+        Shape shape = this.renderer.lookupSeriesShape(series);
+        if (shape != null) {
+            Rectangle2D b = shape.getBounds2D();
+            r = Math.max(r, Math.max(Math.max(-b.getMinX(), b.getMaxX()),
+                    Math.max(-b.getMinY(), b.getMaxY())));
+        }
+        return r;
+    }
+
+    /**
+     * Returns {@code true} if an entity should be resolved for the items in
+     * the specified series.
+     *
+     * @param series  the series index.
+     *
+     * @return A boolean.
+     */
+    private boolean isLive(int series) {
+        return this.renderer.isSeriesVisible(series);
+    }
+
+    /**
+     * Returns the Java2D domain coordinate for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The coordinate.
+     */
+    private double domainCoordinate(int series, int item) {
+        return this.domainTransform.valueToJava2D(
+                this.dataset.getXValue(series, item));
+    }
+
+    /**
+     * Returns the Java2D range coordinate for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The coordinate.
+     */
+    private double rangeCoordinate(int series, int item) {
+        return this.rangeTransform.valueToJava2D(
+                this.dataset.getYValue(series, item));
+    }
+
+    /**
+     * Returns the entity for the item nearest to the specified point, or
+     * {@code null} if the point is not within the area of any item.
+     *
+     * @param x  the x-coordinate.
+     * @param y  the y-coordinate.
+     *
+     * @return The entity (possibly {@code null}).
+     */
+    @Override
+    public ChartEntity getEntity(double x, double y) {
+        if (this.renderer == null || this.dataset == null
+                || !getArea().contains(x, y)) {
+            return null;
+        }
+        // the point in (domain, range) coordinates
+        double d = this.horizontal ? y : x;
+        double r = this.horizontal ? x : y;
+        int bestSeries = -1;
+        int bestItem = -1;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        int seriesCount = this.dataset.getSeriesCount();
+        for (int series = 0; series < seriesCount; series++) {
+            if (!isLive(series)) {
+                continue;
+            }
+            double radius = getRadius(series);
+            double limit = radius * radius;
+            int itemCount = this.dataset.getItemCount(series);
+            if (itemCount == 0) {
+                continue;
+            }
+            int[] candidates = candidates(series, itemCount, d - radius,
+                    d + radius, r - radius, r + radius);
+            for (int item : candidates) {
+                double dd = domainCoordinate(series, item) - d;
+                double rr = rangeCoordinate(series, item) - r;
+                double distance = dd * dd + rr * rr;
+                // '<=' so that later items win ties, like the eager entities
+                if (distance <= limit && distance <= bestDistance
+                        && isResolvable(series, item)) {
+                    bestSeries = series;
+                    bestItem = item;
+                    bestDistance = distance;
+                }
+            }
+        }
+        if (bestSeries < 0) {
+            return null;
+        }
+        return createEntity(bestSeries, bestItem);
+    }
+
+    /**
+     * Returns {@code true} if an entity can be created for the specified
+     * item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return A boolean.
+     */
+    private boolean isResolvable(int series, int item) {
+        if (!this.renderer.getItemVisible(series, item)
+                || !this.renderer.getItemCreateEntity(series, item)) {
+            return false;
+        }
+        double dc = domainCoordinate(series, item);
+        double rc = rangeCoordinate(series, item);
+        return this.horizontal ? getArea().contains(rc, dc)
+                : getArea().contains(dc, rc);
+    }
+
+    /**
+     * Creates the entity for an item.
+     *
+     * @param series  the series index.
+     * @param item  the item index.
+     *
+     * @return The entity.
+     */
+    private XYItemEntity createEntity(int series, int item) {
+        double dc = domainCoordinate(series, item);
+        double rc = rangeCoordinate(series, item);
+        double x = this.horizontal ? rc : dc;
+        double y = this.horizontal ? dc : rc;
+        double radius = getRadius(series);
+        Shape hotspot = new Ellipse2D.Double(x - radius,
+                y - radius, radius * 2, radius * 2);
+        return this.renderer.createItemEntity(hotspot, this.dataset, series,
+                item, x, y);
+    }
+
+    /**
+     * Returns the items in a series that may have coordinates inside the
+     * specified rectangle (in (domain, range) coordinates), in ascending
+     * order.  The result can include items outside the rectangle.
+     *
+     * @param series  the series index.
+     * @param itemCount  the number of items in the series (at least one).
+     * @param d0  the lower domain coordinate.
+     * @param d1  the upper domain coordinate.
+     * @param r0  the lower range coordinate.
+     * @param r1  the upper range coordinate.
+     *
+     * @return The item indices.
+     */
+    private int[] candidates(int series, int itemCount, double d0, double d1,
+            double r0, double r1) {
+        if (this.dataset.getDomainOrder() == DomainOrder.ASCENDING) {
+            return searchSorted(series, itemCount, d0, d1);
+        }
+        return getGrid(series, itemCount).candidates(d0, d1, r0, r1);
+    }
+
+    /**
+     * Returns the items in a series (with ascending x-values) with a domain
+     * coordinate between {@code d0} and {@code d1}.  The Java2D coordinates
+     * are in ascending or descending order (depending on whether the axis
+     * is inverted), so a binary search finds the first candidate.
+     *
+     * @param series  the series index.
+     * @param itemCount  the number of items in the series.
+     * @param d0  the lower domain coordinate.
+     * @param d1  the upper domain coordinate.
+     *
+     * @return The item indices.
+     */
+    private int[] searchSorted(int series, int itemCount, double d0,
+            double d1) {
+        double first = domainCoordinate(series, 0);
+        double last = domainCoordinate(series, itemCount - 1);
+        double sign = last >= first ? 1.0 : -1.0;
+        double lower = sign > 0.0 ? d0 : -d1;
+        double upper = sign > 0.0 ? d1 : -d0;
+        int low = 0;
+        int high = itemCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sign * domainCoordinate(series, mid) < lower) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        int end = low;
+        while (end < itemCount
+                && sign * domainCoordinate(series, end) <= upper) {
+            end++;
+        }
+        int[] result = new int[end - low];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = low + i;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the grid index for a series, building it if necessary.
+     *
+     * @param series  the series index.
+     * @param itemCount  the number of items in the series.
+     *
+     * @return The grid index.
+     */
+    private SeriesGrid getGrid(int series, int itemCount) {
+        int seriesCount = this.dataset.getSeriesCount();
+        if (this.grids == null || this.grids.length != seriesCount) {
+            this.grids = new SeriesGrid[seriesCount];
+        }
+        SeriesGrid grid = this.grids[series];
+        if (grid == null || grid.itemCount != itemCount) {
+            double[] dc = new double[itemCount];
+            double[] rc = new double[itemCount];
+            for (int item = 0; item < itemCount; item++) {
+                dc[item] = domainCoordinate(series, item);
+                rc[item] = rangeCoordinate(series, item);
+            }
+            Rectangle2D area = getArea().getBounds2D();
+            if (this.horizontal) {
+                area = new Rectangle2D.Double(area.getY(), area.getX(),
+                        area.getHeight(), area.getWidth());
+            }
+            grid = new SeriesGrid(dc, rc, area);
+            this.grids[series] = grid;
+        }
+        return grid;
+    }
+
+    /**
+     * Creates the entities for all the items that are inside the data area.
+     *
+     * @return A list of entities.
+     */
+    @Override
+    public List<ChartEntity> createEntities() {
+        List<ChartEntity> result = new ArrayList<>();
+        if (this.renderer == null || this.dataset == null) {
+            return result;
+        }
+        int seriesCount = this.dataset.getSeriesCount();
+        for (int series = 0; series < seriesCount; series++) {
+            if (!isLive(series)) {
+                continue;
+            }
+            int itemCount = this.dataset.getItemCount(series);
+            for (int item = 0; item < itemCount; item++) {
+                if (isResolvable(series, item)) {
+                    result.add(createEntity(series, item));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates the entities for the items that are inside the data area and
+     * have an area that intersects the specified rectangle.  The candidate
+     * items are found in the same way as for {@link #getEntity(double,
+     * double)}, so only the entities near the rectangle are created.
+     *
+     * @param area  the rectangle ({@code null} not permitted).
+     *
+     * @return A list of entities.
+     */
+    @Override
+    public List<ChartEntity> createEntities(Rectangle2D area) {
+        Args.nullNotPermitted(area, "area");
+        List<ChartEntity> result = new ArrayList<>();
+        if (this.renderer == null || this.dataset == null
+                || !getArea().intersects(area)) {
+            return result;
+        }
+        // the rectangle in (domain, range) coordinates
+        double d0 = this.horizontal ? area.getMinY() : area.getMinX();
+        double d1 = this.horizontal ? area.getMaxY() : area.getMaxX();
+        double r0 = this.horizontal ? area.getMinX() : area.getMinY();
+        double r1 = this.horizontal ? area.getMaxX() : area.getMaxY();
+        int seriesCount = this.dataset.getSeriesCount();
+        for (int series = 0; series < seriesCount; series++) {
+            if (!isLive(series)) {
+                continue;
+            }
+            int itemCount = this.dataset.getItemCount(series);
+            if (itemCount == 0) {
+                continue;
+            }
+            double radius = getRadius(series);
+            int[] candidates = candidates(series, itemCount, d0 - radius,
+                    d1 + radius, r0 - radius, r1 + radius);
+            for (int item : candidates) {
+                if (isResolvable(series, item)) {
+                    ChartEntity entity = createEntity(series, item);
+                    if (entity.getArea().intersects(area)) {
+                        result.add(entity);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a clone of the resolver (the clone shares the renderer and
+     * dataset references, but not the grid index).
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        XYItemEntityResolver clone = (XYItemEntityResolver) super.clone();
+        clone.grids = null;
+        return clone;
+    }
+
+    /**
+     * A uniform grid over the Java2D coordinates (domain, range) of the items
+     * in one series.  Each cell records the indices of the items inside the
+     * cell, items outside the data area are not recorded.
+     */
+    private static final class SeriesGrid {
+
+        /** The number of items in the series when the grid was built. */
+        final int itemCount;
+
+        /** The domain coordinate of the grid origin. */
+        private final double d0;
+
+        /** The range coordinate of the grid origin. */
+        private final double r0;
+
+        /** The number of columns (along the domain axis). */
+        private final int columns;
+
+        /** The number of rows (along the range axis). */
+        private final int rows;
+
+        /** The start of the entries for each cell in {@code cellItems}. */
+        private final int[] cellStart;
+
+        /** The item indices for all cells. */
+        private final int[] cellItems;
+
+        /**
+         * Creates a grid.
+         *
+         * @param dc  the domain coordinates.
+         * @param rc  the range coordinates.
+         * @param area  the data area in (domain, range) coordinates.
+         */
+        SeriesGrid(double[] dc, double[] rc, Rectangle2D area) {
+            this.itemCount = dc.length;
+            this.d0 = area.getMinX();
+            this.r0 = area.getMinY();
+            this.columns = Math.max(1,
+                    (int) Math.ceil(area.getWidth() / CELL_SIZE));
+            this.rows = Math.max(1,
+                    (int) Math.ceil(area.getHeight() / CELL_SIZE));
+            int cells = this.columns * this.rows;
+            int[] cellOf = new int[dc.length];
+            int[] counts = new int[cells + 1];
+            for (int i = 0; i < dc.length; i++) {
+                int c = cell(dc[i], rc[i]);
+                cellOf[i] = c;
+                if (c >= 0) {
+                    counts[c + 1]++;
+                }
+            }
+            for (int k = 0; k < cells; k++) {
+                counts[k + 1] += counts[k];
+            }
+            this.cellStart = counts;
+            this.cellItems = new int[counts[cells]];
+            int[] next = new int[cells];
+            System.arraycopy(counts, 0, next, 0, cells);
+            for (int i = 0; i < dc.length; i++) {
+                if (cellOf[i] >= 0) {
+                    this.cellItems[next[cellOf[i]]++] = i;
+                }
+            }
+        }
+
+        /**
+         * Returns the cell for a point, or {@code -1} if the point is
+         * outside the grid.
+         */
+        private int cell(double d, double r) {
+            double c = Math.floor((d - this.d0) / CELL_SIZE);
+            double w = Math.floor((r - this.r0) / CELL_SIZE);
+            if (!(c >= 0 && c < this.columns && w >= 0 && w < this.rows)) {
+                return -1;
+            }
+            return (int) w * this.columns + (int) c;
+        }
+
+        /**
+         * Returns the items in the cells that overlap the specified
+         * rectangle.
+         *
+         * @param dMin  the lower domain coordinate.
+         * @param dMax  the upper domain coordinate.
+         * @param rMin  the lower range coordinate.
+         * @param rMax  the upper range coordinate.
+         *
+         * @return The item indices.
+         */
+        int[] candidates(double dMin, double dMax, double rMin, double rMax) {
+            int c0 = clamp((dMin - this.d0) / CELL_SIZE, this.columns);
+            int c1 = clamp((dMax - this.d0) / CELL_SIZE, this.columns);
+            int w0 = clamp((rMin - this.r0) / CELL_SIZE, this.rows);
+            int w1 = clamp((rMax - this.r0) / CELL_SIZE, this.rows);
+            int n = 0;
+            for (int w = w0; w <= w1; w++) {
+                n += this.cellStart[w * this.columns + c1 + 1]
+                        - this.cellStart[w * this.columns + c0];
+            }
+            int[] result = new int[n];
+            int k = 0;
+            for (int w = w0; w <= w1; w++) {
+                int from = this.cellStart[w * this.columns + c0];
+                int to = this.cellStart[w * this.columns + c1 + 1];
+                System.arraycopy(this.cellItems, from, result, k, to - from);
+                k += to - from;
+            }
+            // ascending order, so that later items win ties
+            Arrays.sort(result);
+            return result;
+        }
+
+        private static int clamp(double cell, int count) {
+            return (int) Math.max(0, Math.min(count - 1, Math.floor(cell)));
+        }
+
+    }
+
+}
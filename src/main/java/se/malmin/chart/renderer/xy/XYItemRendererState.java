@@ -38,7 +38,10 @@
 package se.malmin.chart.renderer.xy;
 
 import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
 
+import se.malmin.chart.axis.AxisTransform;
+import se.malmin.chart.axis.ValueAxis;
 import se.malmin.chart.plot.PlotRenderingInfo;
 import se.malmin.chart.plot.XYPlot;
 import se.malmin.chart.renderer.RendererState;
@@ -71,6 +74,21 @@ public class XYItemRendererState extends RendererState {
      */
     private boolean processVisibleItemsOnly;
 
+    /** The coordinate buffer (created on demand). */
+    private XYCoordinateBuffer coordinates;
+
+    /** The domain axis for {@code domainTransform}. */
+    private ValueAxis domainAxis;
+
+    /** The transform for the domain axis. */
+    private AxisTransform domainTransform;
+
+    /** The range axis for {@code rangeTransform}. */
+    private ValueAxis rangeAxis;
+
+    /** The transform for the range axis. */
+    private AxisTransform rangeTransform;
+
     /**
      * Creates a new state.
      *
@@ -125,6 +143,49 @@ public class XYItemRendererState extends RendererState {
         return this.lastItemIndex;
     }
 
+    /**
+     * Returns a buffer containing the data values and Java2D coordinates
+     * for the items from {@code firstItem} to {@code lastItem} (inclusive)
+     * in a series, converted in a single loop.  The buffer is reused for
+     * each series, so if a renderer asks for the same items in more than
+     * one pass they are only converted once.  The axis transforms are
+     * created on the first call, since the axis ranges and the data area do
+     * not change while the state is in use.
+     *
+     * @param plot  the plot.
+     * @param dataArea  the data area.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     *
+     * @return The buffer (owned by this state).
+     *
+     * @see BulkXYItemRenderer
+     */
+    public XYCoordinateBuffer getCoordinates(XYPlot plot,
+            Rectangle2D dataArea, ValueAxis domainAxis, ValueAxis rangeAxis,
+            XYDataset dataset, int series, int firstItem, int lastItem) {
+        if (this.coordinates == null) {
+            this.coordinates = new XYCoordinateBuffer();
+        }
+        if (domainAxis != this.domainAxis || this.domainTransform == null) {
+            this.domainTransform = domainAxis.createTransform(dataArea,
+                    plot.getDomainAxisEdge());
+            this.domainAxis = domainAxis;
+        }
+        if (rangeAxis != this.rangeAxis || this.rangeTransform == null) {
+            this.rangeTransform = rangeAxis.createTransform(dataArea,
+                    plot.getRangeAxisEdge());
+            this.rangeAxis = rangeAxis;
+        }
+        this.coordinates.fill(dataset, series, firstItem, lastItem,
+                this.domainTransform, this.rangeTransform);
+        return this.coordinates;
+    }
+
     /**
      * This method is called by the {@link XYPlot} when it starts a pass
      * through the (visible) items in a series.  The default implementation
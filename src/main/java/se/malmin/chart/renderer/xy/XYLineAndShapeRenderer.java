@@ -57,6 +57,7 @@ import se.malmin.chart.plot.CrosshairState;
 import se.malmin.chart.plot.PlotOrientation;
 import se.malmin.chart.plot.PlotRenderingInfo;
 import se.malmin.chart.plot.XYPlot;
+import se.malmin.chart.renderer.MarkerSpriteCache;
 import se.malmin.chart.ui.RectangleEdge;
 import se.malmin.chart.util.Args;
 import se.malmin.chart.util.BooleanList;
@@ -78,7 +79,8 @@ import se.malmin.data.xy.XYDataset;
  *
  */
 public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
-        implements XYItemRenderer, Cloneable, PublicCloneable, Serializable {
+        implements XYItemRenderer, BulkXYItemRenderer, Cloneable,
+        PublicCloneable, Serializable {
 
     /** For serialization. */
     private static final long serialVersionUID = -7435246895986425885L;
@@ -719,10 +721,7 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
         else if (isItemPass(pass)) {
 
             // setup for collecting optional entity info...
-            EntityCollection entities = null;
-            if (info != null && info.getOwner() != null) {
-                entities = info.getOwner().getEntityCollection();
-            }
+            EntityCollection entities = state.getEntityCollection();
 
             drawSecondaryPass(g2, plot, dataset, pass, series, item,
                     domainAxis, dataArea, rangeAxis, crosshairState, entities);
@@ -999,6 +998,253 @@ public class XYLineAndShapeRenderer extends AbstractXYItemRenderer
     }
 
 
+    /**
+     * Returns {@code true} if the renderer can draw a whole series with
+     * {@link #drawSeries}.  This is the case for this class and
+     * {@link DefaultXYItemRenderer}, but not for other subclasses since they
+     * may override {@code drawItem()} or the methods that it calls.
+     *
+     * @param state  the renderer state.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param pass  the pass index.
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean canDrawSeries(XYItemRendererState state, XYPlot plot,
+            XYDataset dataset, int series, int pass) {
+        return getClass() == XYLineAndShapeRenderer.class
+                || getClass() == DefaultXYItemRenderer.class;
+    }
+
+    /**
+     * Draws one pass for a range of items in a series, with the same result
+     * as calling {@link #drawItem} for each item.  The items are converted
+     * to Java2D coordinates in a single loop and the series attributes are
+     * looked up once.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawSeries(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int firstItem, int lastItem,
+            CrosshairState crosshairState, int pass) {
+
+        if (lastItem < firstItem || !getItemVisible(series, firstItem)) {
+            return;
+        }
+        // the lines join each item to the previous one, so include that too
+        int first = Math.max(firstItem - 1, 0);
+        if (isLinePass(pass)) {
+            if (!getItemLineVisible(series, firstItem)) {
+                return;
+            }
+            XYCoordinateBuffer buffer = state.getCoordinates(plot, dataArea,
+                    domainAxis, rangeAxis, dataset, series, first, lastItem);
+            if (this.drawSeriesLineAsPath) {
+                drawSeriesPath(g2, (State) state, plot, buffer, pass, series,
+                        firstItem, lastItem);
+            }
+            else {
+                drawSeriesLines(g2, state, plot, buffer, series, firstItem,
+                        lastItem, dataArea);
+            }
+        }
+        else if (isItemPass(pass)) {
+            EntityCollection entities = state.getEntityCollection();
+            XYCoordinateBuffer buffer = state.getCoordinates(plot, dataArea,
+                    domainAxis, rangeAxis, dataset, series, first, lastItem);
+            drawSeriesShapes(g2, plot, dataset, buffer, series, firstItem,
+                    lastItem, dataArea, crosshairState, entities,
+                    getMarkerSprites(g2, state));
+        }
+    }
+
+    /**
+     * Adds the items to the series path and draws it (the bulk equivalent
+     * of {@link #drawPrimaryLineAsPath}).
+     */
+    private void drawSeriesPath(Graphics2D g2, State state, XYPlot plot,
+            XYCoordinateBuffer buffer, int pass, int series, int firstItem,
+            int lastItem) {
+        double[] tx = buffer.getDomainCoordinates();
+        double[] ty = buffer.getRangeCoordinates();
+        boolean horizontal = plot.getOrientation()
+                == PlotOrientation.HORIZONTAL;
+        GeneralPath path = state.seriesPath;
+        boolean good = state.isLastPointGood();
+        int offset = buffer.getFirstItem();
+        for (int i = firstItem - offset; i <= lastItem - offset; i++) {
+            double transX1 = tx[i];
+            double transY1 = ty[i];
+            if (!Double.isNaN(transX1) && !Double.isNaN(transY1)) {
+                float x = (float) (horizontal ? transY1 : transX1);
+                float y = (float) (horizontal ? transX1 : transY1);
+                if (good) {
+                    path.lineTo(x, y);
+                }
+                else {
+                    path.moveTo(x, y);
+                }
+                good = true;
+            }
+            else {
+                good = false;
+            }
+        }
+        state.setLastPointGood(good);
+        if (lastItem == state.getLastItemIndex()) {
+            drawFirstPassShape(g2, pass, series, lastItem, path);
+        }
+    }
+
+    /**
+     * Draws a line from each item to the previous item (the bulk equivalent
+     * of {@link #drawPrimaryLine}).
+     */
+    private void drawSeriesLines(Graphics2D g2, XYItemRendererState state,
+            XYPlot plot, XYCoordinateBuffer buffer, int series,
+            int firstItem, int lastItem, Rectangle2D dataArea) {
+        double[] x = buffer.getXValues();
+        double[] y = buffer.getYValues();
+        double[] tx = buffer.getDomainCoordinates();
+        double[] ty = buffer.getRangeCoordinates();
+        PlotOrientation orientation = plot.getOrientation();
+        Stroke stroke = getItemStroke(series, firstItem);
+        Paint paint = getItemPaint(series, firstItem);
+        Line2D line = state.workingLine;
+        int offset = buffer.getFirstItem();
+        for (int item = Math.max(firstItem, 1); item <= lastItem; item++) {
+            int i = item - offset;
+            if (Double.isNaN(y[i]) || Double.isNaN(x[i])
+                    || Double.isNaN(y[i - 1]) || Double.isNaN(x[i - 1])) {
+                continue;
+            }
+            double transX0 = tx[i - 1];
+            double transY0 = ty[i - 1];
+            double transX1 = tx[i];
+            double transY1 = ty[i];
+            if (Double.isNaN(transX0) || Double.isNaN(transY0)
+                    || Double.isNaN(transX1) || Double.isNaN(transY1)) {
+                continue;
+            }
+            if (orientation == PlotOrientation.HORIZONTAL) {
+                line.setLine(transY0, transX0, transY1, transX1);
+            }
+            else if (orientation == PlotOrientation.VERTICAL) {
+                line.setLine(transX0, transY0, transX1, transY1);
+            }
+            if (LineUtils.clipLine(line, dataArea)) {
+                g2.setStroke(stroke);
+                g2.setPaint(paint);
+                g2.draw(line);
+            }
+        }
+    }
+
+    /**
+     * Draws the item shapes, item labels and entities (the bulk equivalent
+     * of {@link #drawSecondaryPass}).  The shapes are stamped when
+     * {@code sprites} is not {@code null}.
+     */
+    private void drawSeriesShapes(Graphics2D g2, XYPlot plot,
+            XYDataset dataset, XYCoordinateBuffer buffer, int series,
+            int firstItem, int lastItem, Rectangle2D dataArea,
+            CrosshairState crosshairState, EntityCollection entities,
+            MarkerSpriteCache sprites) {
+        double[] x = buffer.getXValues();
+        double[] y = buffer.getYValues();
+        double[] tx = buffer.getDomainCoordinates();
+        double[] ty = buffer.getRangeCoordinates();
+        PlotOrientation orientation = plot.getOrientation();
+        boolean horizontal = orientation == PlotOrientation.HORIZONTAL;
+        boolean shapeVisible = getItemShapeVisible(series, firstItem);
+        Shape seriesShape = null;
+        Rectangle2D shapeBounds = null;
+        if (shapeVisible) {
+            seriesShape = getItemShape(series, firstItem);
+            shapeBounds = seriesShape.getBounds2D();
+        }
+        boolean filled = getItemShapeFilled(series, firstItem);
+        Paint fillPaint = this.useFillPaint
+                ? getItemFillPaint(series, firstItem)
+                : getItemPaint(series, firstItem);
+        Paint outlinePaint = getUseOutlinePaint()
+                ? getItemOutlinePaint(series, firstItem)
+                : getItemPaint(series, firstItem);
+        Stroke outlineStroke = getItemOutlineStroke(series, firstItem);
+        boolean labelVisible = isItemLabelVisible(series, firstItem);
+        int datasetIndex = plot.indexOf(dataset);
+        int offset = buffer.getFirstItem();
+        for (int item = firstItem; item <= lastItem; item++) {
+            int i = item - offset;
+            double x1 = x[i];
+            double y1 = y[i];
+            if (Double.isNaN(y1) || Double.isNaN(x1)) {
+                continue;
+            }
+            double transX1 = tx[i];
+            double transY1 = ty[i];
+            double xx = horizontal ? transY1 : transX1;
+            double yy = horizontal ? transX1 : transY1;
+            Shape entityArea = null;
+            // a shape that can't reach the data area is only needed for
+            // the entity
+            if (shapeVisible && (entities != null
+                    || mayIntersect(shapeBounds, xx, yy, dataArea))) {
+                boolean stamped = sprites != null
+                        && mayIntersect(shapeBounds, xx, yy, dataArea)
+                        && sprites.draw(g2, seriesShape, xx, yy,
+                                filled ? fillPaint : null,
+                                this.drawOutlines ? outlinePaint : null,
+                                outlineStroke);
+                if (!stamped || entities != null) {
+                    Shape shape = ShapeUtils.createTranslatedShape(
+                            seriesShape, xx, yy);
+                    entityArea = shape;
+                    if (!stamped && shape.intersects(dataArea)) {
+                        if (filled) {
+                            g2.setPaint(fillPaint);
+                            g2.fill(shape);
+                        }
+                        if (this.drawOutlines) {
+                            g2.setPaint(outlinePaint);
+                            g2.setStroke(outlineStroke);
+                            g2.draw(shape);
+                        }
+                    }
+                }
+            }
+            if (labelVisible) {
+                drawItemLabel(g2, orientation, dataset, series, item, xx, yy,
+                        (y1 < 0.0));
+            }
+            updateCrosshairValues(crosshairState, x1, y1, datasetIndex,
+                    transX1, transY1, orientation);
+            if (entities != null
+                    && ShapeUtils.isPointInRect(dataArea, xx, yy)) {
+                addEntity(entities, entityArea, dataset, series, item, xx, yy);
+            }
+        }
+    }
+
     /**
      * Returns a legend item for the specified series.
      *
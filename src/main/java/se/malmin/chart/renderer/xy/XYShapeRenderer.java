@@ -59,6 +59,7 @@ import se.malmin.chart.plot.PlotOrientation;
 import se.malmin.chart.plot.PlotRenderingInfo;
 import se.malmin.chart.plot.XYPlot;
 import se.malmin.chart.renderer.LookupPaintScale;
+import se.malmin.chart.renderer.MarkerSpriteCache;
 import se.malmin.chart.renderer.PaintScale;
 import se.malmin.chart.util.Args;
 import se.malmin.chart.util.PublicCloneable;
@@ -86,7 +87,8 @@ import se.malmin.data.xy.XYZDataset;
  * {@link XYLineAndShapeRenderer}.
  */
 public class XYShapeRenderer extends AbstractXYItemRenderer
-        implements XYItemRenderer, Cloneable, PublicCloneable, Serializable {
+        implements XYItemRenderer, BulkXYItemRenderer, Cloneable,
+        PublicCloneable, Serializable {
 
     /** Auto generated serial version id. */
     private static final long serialVersionUID = 8320552104211173221L;
@@ -417,10 +419,7 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
             int series, int item, CrosshairState crosshairState, int pass) {
 
         Shape hotspot;
-        EntityCollection entities = null;
-        if (info != null) {
-            entities = info.getOwner().getEntityCollection();
-        }
+        EntityCollection entities = state.getEntityCollection();
 
         double x = dataset.getXValue(series, item);
         double y = dataset.getYValue(series, item);
@@ -453,6 +452,27 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
             }
         } else if (pass == 1) {
             Shape shape = getItemShape(series, item);
+            boolean stamped = false;
+            MarkerSpriteCache sprites = getMarkerSprites(g2, state);
+            if (sprites != null) {
+                double dx = transX;
+                double dy = transY;
+                if (orientation == PlotOrientation.HORIZONTAL) {
+                    dx = transY;
+                    dy = transX;
+                }
+                if (mayIntersect(shape.getBounds2D(), dx, dy, dataArea)) {
+                    Paint outlinePaint = null;
+                    if (this.drawOutlines) {
+                        outlinePaint = getUseOutlinePaint()
+                                ? getItemOutlinePaint(series, item)
+                                : getItemPaint(series, item);
+                    }
+                    stamped = sprites.draw(g2, shape, dx, dy,
+                            getPaint(dataset, series, item), outlinePaint,
+                            getItemOutlineStroke(series, item));
+                }
+            }
             if (orientation == PlotOrientation.HORIZONTAL) {
                 shape = ShapeUtils.createTranslatedShape(shape, transY,
                         transX);
@@ -461,7 +481,7 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
                         transY);
             }
             hotspot = shape;
-            if (shape.intersects(dataArea)) {
+            if (!stamped && shape.intersects(dataArea)) {
                 //if (getItemShapeFilled(series, item)) {
                     g2.setPaint(getPaint(dataset, series, item));
                     g2.fill(shape);
@@ -488,6 +508,147 @@ public class XYShapeRenderer extends AbstractXYItemRenderer
         }
     }
 
+    /**
+     * Returns {@code true} if the renderer can draw a whole series with
+     * {@link #drawSeries}.  This is the case for this class, but not for
+     * subclasses since they may override {@code drawItem()} or the methods
+     * that it calls.
+     *
+     * @param state  the renderer state.
+     * @param plot  the plot.
+     * @param dataset  the dataset.
+     * @param series  the series index.
+     * @param pass  the pass index.
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean canDrawSeries(XYItemRendererState state, XYPlot plot,
+            XYDataset dataset, int series, int pass) {
+        return getClass() == XYShapeRenderer.class;
+    }
+
+    /**
+     * Draws one pass for a range of items in a series, with the same result
+     * as calling {@link #drawItem} for each item.  When the guide lines are
+     * not visible, the first pass draws nothing and the items are not
+     * visited at all.
+     *
+     * @param g2  the graphics device.
+     * @param state  the renderer state.
+     * @param dataArea  the area within which the data is being drawn.
+     * @param info  collects information about the drawing.
+     * @param plot  the plot.
+     * @param domainAxis  the domain axis.
+     * @param rangeAxis  the range axis.
+     * @param dataset  the dataset.
+     * @param series  the series index (zero-based).
+     * @param firstItem  the index of the first item.
+     * @param lastItem  the index of the last item.
+     * @param crosshairState  crosshair information for the plot
+     *                        ({@code null} permitted).
+     * @param pass  the pass index.
+     */
+    @Override
+    public void drawSeries(Graphics2D g2, XYItemRendererState state,
+            Rectangle2D dataArea, PlotRenderingInfo info, XYPlot plot,
+            ValueAxis domainAxis, ValueAxis rangeAxis, XYDataset dataset,
+            int series, int firstItem, int lastItem,
+            CrosshairState crosshairState, int pass) {
+
+        if (lastItem < firstItem || (pass == 0 && !this.guideLinesVisible)
+                || pass > 1) {
+            return;
+        }
+        EntityCollection entities = state.getEntityCollection();
+        XYCoordinateBuffer buffer = state.getCoordinates(plot, dataArea,
+                domainAxis, rangeAxis, dataset, series, firstItem, lastItem);
+        double[] x = buffer.getXValues();
+        double[] y = buffer.getYValues();
+        double[] tx = buffer.getDomainCoordinates();
+        double[] ty = buffer.getRangeCoordinates();
+        PlotOrientation orientation = plot.getOrientation();
+        int n = buffer.getItemCount();
+        if (pass == 0) {
+            Line2D line = state.workingLine;
+            for (int i = 0; i < n; i++) {
+                if (Double.isNaN(x[i]) || Double.isNaN(y[i])) {
+                    continue;
+                }
+                double transX = tx[i];
+                double transY = ty[i];
+                g2.setStroke(this.guideLineStroke);
+                g2.setPaint(this.guideLinePaint);
+                if (orientation == PlotOrientation.HORIZONTAL) {
+                    line.setLine(transY, dataArea.getMinY(), transY,
+                            dataArea.getMaxY());
+                    g2.draw(line);
+                    line.setLine(dataArea.getMinX(), transX,
+                            dataArea.getMaxX(), transX);
+                    g2.draw(line);
+                } else {
+                    line.setLine(transX, dataArea.getMinY(), transX,
+                            dataArea.getMaxY());
+                    g2.draw(line);
+                    line.setLine(dataArea.getMinX(), transY,
+                            dataArea.getMaxX(), transY);
+                    g2.draw(line);
+                }
+            }
+            return;
+        }
+        Shape seriesShape = getItemShape(series, firstItem);
+        Rectangle2D shapeBounds = seriesShape.getBounds2D();
+        // with an XYZDataset the paint depends on the z-value of each item
+        boolean zPaint = dataset instanceof XYZDataset;
+        Paint paint = zPaint ? null : getPaint(dataset, series, firstItem);
+        Paint outlinePaint = getUseOutlinePaint()
+                ? getItemOutlinePaint(series, firstItem)
+                : getItemPaint(series, firstItem);
+        Stroke outlineStroke = getItemOutlineStroke(series, firstItem);
+        int datasetIndex = plot.indexOf(dataset);
+        boolean horizontal = orientation == PlotOrientation.HORIZONTAL;
+        MarkerSpriteCache sprites = getMarkerSprites(g2, state);
+        for (int i = 0; i < n; i++) {
+            if (Double.isNaN(x[i]) || Double.isNaN(y[i])) {
+                continue;
+            }
+            double transX = tx[i];
+            double transY = ty[i];
+            int item = firstItem + i;
+            double dx = horizontal ? transY : transX;
+            double dy = horizontal ? transX : transY;
+            // a shape that can't reach the data area is only needed for
+            // the entity
+            Shape shape = null;
+            boolean stamped = sprites != null
+                    && mayIntersect(shapeBounds, dx, dy, dataArea)
+                    && sprites.draw(g2, seriesShape, dx, dy,
+                            zPaint ? getPaint(dataset, series, item) : paint,
+                            this.drawOutlines ? outlinePaint : null,
+                            outlineStroke);
+            if (entities != null || (!stamped
+                    && mayIntersect(shapeBounds, dx, dy, dataArea))) {
+                shape = ShapeUtils.createTranslatedShape(seriesShape, dx, dy);
+                if (!stamped && shape.intersects(dataArea)) {
+                    g2.setPaint(zPaint ? getPaint(dataset, series, item)
+                            : paint);
+                    g2.fill(shape);
+                    if (this.drawOutlines) {
+                        g2.setPaint(outlinePaint);
+                        g2.setStroke(outlineStroke);
+                        g2.draw(shape);
+                    }
+                }
+            }
+            updateCrosshairValues(crosshairState, x[i], y[i], datasetIndex,
+                    transX, transY, orientation);
+            if (entities != null) {
+                addEntity(entities, shape, dataset, series, item, 0.0, 0.0);
+            }
+        }
+    }
+
     /**
      * Get the paint for a given series and item from a dataset.
      *
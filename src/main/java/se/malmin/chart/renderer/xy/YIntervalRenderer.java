@@ -165,10 +165,7 @@ public class YIntervalRenderer extends AbstractXYItemRenderer
         }
 
         // setup for collecting optional entity info...
-        EntityCollection entities = null;
-        if (info != null) {
-            entities = info.getOwner().getEntityCollection();
-        }
+        EntityCollection entities = state.getEntityCollection();
 
         IntervalXYDataset intervalDataset = (IntervalXYDataset) dataset;
 
@@ -49,6 +49,15 @@ public class G2TextMeasurer implements TextMeasurer {
         this.g2 = g2;
     }
 
+    /**
+     * Returns the graphics device used for measuring.
+     *
+     * @return The graphics device.
+     */
+    Graphics2D getGraphics2D() {
+        return this.g2;
+    }
+
     /**
      * Returns the string width.
      * 
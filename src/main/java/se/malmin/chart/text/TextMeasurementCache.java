@@ -0,0 +1,280 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * TextMeasurementCache.java
+ * -------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.text;
+
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import se.malmin.chart.util.Args;
+
+/**
+ * A bounded least-recently-used cache for the results of text measurement,
+ * shared by all charts in the JVM.  The same strings (tick labels, category
+ * labels, legend items, titles) are measured again on every repaint, and
+ * servers often render thousands of charts with the same labels, so
+ * {@link TextUtils} keeps the measured string bounds and the line breaks
+ * for wrapped text here, keyed by the text, font, font render context and
+ * width constraint.
+ * <p>
+ * The cache is thread-safe.  The shared instance is returned by
+ * {@link TextUtils#getMeasurementCache()}, and setting the maximum size to
+ * zero disables it.
+ */
+public final class TextMeasurementCache {
+
+    /** The default maximum number of entries. */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    /** The entries. */
+    private final LinkedHashMap<Key, Object> entries;
+
+    /** The maximum number of entries. */
+    private int maximumSize;
+
+    /** The number of lookups that found an entry. */
+    private long hitCount;
+
+    /** The number of lookups that did not find an entry. */
+    private long missCount;
+
+    /**
+     * Creates a new cache with the default maximum size.
+     */
+    public TextMeasurementCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize  the maximum number of entries (zero or more, zero
+     *     disables the cache).
+     */
+    public TextMeasurementCache(int maximumSize) {
+        Args.requireNonNegative(maximumSize, "maximumSize");
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<Key, Object>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> e) {
+                return size() > TextMeasurementCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the maximum number of entries in the cache.
+     *
+     * @return The maximum size.
+     */
+    public synchronized int getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of entries in the cache, discarding the least
+     * recently used entries if the cache is currently larger.
+     *
+     * @param maximumSize  the maximum size (zero or more, zero disables the
+     *     cache).
+     */
+    public synchronized void setMaximumSize(int maximumSize) {
+        Args.requireNonNegative(maximumSize, "maximumSize");
+        this.maximumSize = maximumSize;
+        while (this.entries.size() > maximumSize) {
+            this.entries.remove(this.entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return The number of entries.
+     */
+    public synchronized int getSize() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the number of lookups that found a cached result.
+     *
+     * @return The hit count.
+     */
+    public synchronized long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached result.
+     *
+     * @return The miss count.
+     */
+    public synchronized long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Removes all the entries from the cache and resets the hit and miss
+     * counts.
+     */
+    public synchronized void clear() {
+        this.entries.clear();
+        this.hitCount = 0;
+        this.missCount = 0;
+    }
+
+    /**
+     * Returns {@code true} if the cache is enabled (the maximum size is
+     * greater than zero).
+     *
+     * @return A boolean.
+     */
+    synchronized boolean isEnabled() {
+        return this.maximumSize > 0;
+    }
+
+    /**
+     * Returns the cached result for a key and updates the hit or miss count.
+     *
+     * @param key  the key ({@code null} not permitted).
+     *
+     * @return The result (possibly {@code null}).
+     */
+    synchronized Object get(Key key) {
+        Object result = this.entries.get(key);
+        if (result != null) {
+            this.hitCount++;
+        }
+        else {
+            this.missCount++;
+        }
+        return result;
+    }
+
+    /**
+     * Stores a result in the cache.
+     *
+     * @param key  the key ({@code null} not permitted).
+     * @param value  the value ({@code null} not permitted, and must not be
+     *     modified after it is stored).
+     */
+    synchronized void put(Key key, Object value) {
+        if (this.maximumSize > 0) {
+            this.entries.put(key, value);
+        }
+    }
+
+    /**
+     * The key for a measurement.
+     */
+    static final class Key {
+
+        /** Key type for the bounds of a string. */
+        static final int BOUNDS = 0;
+
+        /** Key type for the line breaks in a string. */
+        static final int LINE_BREAKS = 1;
+
+        private final int type;
+        private final String text;
+        private final Font font;
+        private final FontRenderContext frc;
+        private final boolean useStringBounds;
+        private final float maxWidth;
+        private final int maxLines;
+        private final int hash;
+
+        /**
+         * Creates a key.
+         *
+         * @param type  the key type ({@link #BOUNDS} or
+         *     {@link #LINE_BREAKS}).
+         * @param text  the text.
+         * @param font  the font used for measuring.
+         * @param frc  the font render context.
+         * @param useStringBounds  the flag that selects the measuring
+         *     method in {@link TextUtils}.
+         * @param maxWidth  the maximum line width (ignored for bounds).
+         * @param maxLines  the maximum number of lines (ignored for bounds).
+         */
+        Key(int type, String text, Font font, FontRenderContext frc,
+                boolean useStringBounds, float maxWidth, int maxLines) {
+            this.type = type;
+            this.text = text;
+            this.font = font;
+            this.frc = frc;
+            this.useStringBounds = useStringBounds;
+            this.maxWidth = maxWidth;
+            this.maxLines = maxLines;
+            int h = type;
+            h = 31 * h + text.hashCode();
+            h = 31 * h + Objects.hashCode(font);
+            h = 31 * h + Objects.hashCode(frc);
+            h = 31 * h + Float.hashCode(maxWidth);
+            h = 31 * h + maxLines;
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return this.hash == that.hash
+                    && this.type == that.type
+                    && this.useStringBounds == that.useStringBounds
+                    && this.maxLines == that.maxLines
+                    && Float.compare(this.maxWidth, that.maxWidth) == 0
+                    && this.text.equals(that.text)
+                    && Objects.equals(this.font, that.font)
+                    && Objects.equals(this.frc, that.frc);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+    }
+
+}
@@ -40,6 +40,8 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.text.AttributedString;
 import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
 
 import se.malmin.chart.ui.TextAnchor;
 
@@ -70,6 +72,10 @@ public class TextUtils {
      */
     private static boolean useFontMetricsGetStringBounds = false;
 
+    /** The cache for measured text, shared by all charts. */
+    private static final TextMeasurementCache MEASUREMENT_CACHE
+            = new TextMeasurementCache();
+
     /**
      * Private constructor prevents object creation.
      */
@@ -159,7 +165,48 @@ public class TextUtils {
     public static TextBlock createTextBlock(String text, Font font,
             Paint paint, float maxWidth, int maxLines, TextMeasurer measurer) {
 
+        String[] lines;
+        // the line breaks only depend on the text and the measurer, so they
+        // can be cached when the measurer is a plain G2TextMeasurer
+        TextMeasurementCache.Key key = null;
+        if (measurer != null && measurer.getClass() == G2TextMeasurer.class
+                && MEASUREMENT_CACHE.isEnabled()) {
+            Graphics2D g2 = ((G2TextMeasurer) measurer).getGraphics2D();
+            key = new TextMeasurementCache.Key(
+                    TextMeasurementCache.Key.LINE_BREAKS, text, g2.getFont(),
+                    g2.getFontRenderContext(), useFontMetricsGetStringBounds,
+                    maxWidth, maxLines);
+        }
+        lines = key != null ? (String[]) MEASUREMENT_CACHE.get(key) : null;
+        if (lines == null) {
+            lines = breakLines(text, maxWidth, maxLines, measurer);
+            if (key != null) {
+                MEASUREMENT_CACHE.put(key, lines);
+            }
+        }
         TextBlock result = new TextBlock();
+        for (String line : lines) {
+            result.addLine(line, font, paint);
+        }
+        return result;
+    }
+
+    /**
+     * Breaks the given string into lines so that the {@code maxWidth} value
+     * is respected.  If the text has more than {@code maxLines} lines, the
+     * last line is truncated and ends with "...".
+     *
+     * @param text  the text.
+     * @param maxWidth  the maximum width for each line.
+     * @param maxLines  the maximum number of lines.
+     * @param measurer  the text measurer.
+     *
+     * @return The lines.
+     */
+    private static String[] breakLines(String text, float maxWidth,
+            int maxLines, TextMeasurer measurer) {
+
+        List<String> result = new ArrayList<>();
         BreakIterator iterator = BreakIterator.getLineInstance();
         iterator.setText(text);
         int current = 0;
@@ -169,33 +216,28 @@ public class TextUtils {
             int next = nextLineBreak(text, current, maxWidth, iterator,
                     measurer);
             if (next == BreakIterator.DONE) {
-                result.addLine(text.substring(current), font, paint);
-                return result;
+                result.add(text.substring(current));
+                return result.toArray(new String[result.size()]);
             } else if (next == current) {
                 next++; // we must take one more character or we'll loop forever
             }
-            result.addLine(text.substring(current, next), font, paint);
+            result.add(text.substring(current, next));
             lines++;
             current = next;
             while (current < text.length()&& text.charAt(current) == '\n') {
                 current++;
             }
         }
-        if (current < length) {
-            TextLine lastLine = result.getLastLine();
-            TextFragment lastFragment = lastLine.getLastTextFragment();
-            String oldStr = lastFragment.getText();
+        if (current < length && !result.isEmpty()) {
+            int last = result.size() - 1;
+            String oldStr = result.get(last);
             String newStr = "...";
             if (oldStr.length() > 3) {
                 newStr = oldStr.substring(0, oldStr.length() - 3) + "...";
             }
-
-            lastLine.removeFragment(lastFragment);
-            TextFragment newFragment = new TextFragment(newStr,
-                    lastFragment.getFont(), lastFragment.getPaint());
-            lastLine.addFragment(newFragment);
+            result.set(last, newStr);
         }
-        return result;
+        return result.toArray(new String[result.size()]);
     }
 
     /**
@@ -266,6 +308,37 @@ public class TextUtils {
     public static Rectangle2D getTextBounds(String text, Graphics2D g2, 
             FontMetrics fm) {
 
+        TextMeasurementCache.Key key = null;
+        if (text != null && MEASUREMENT_CACHE.isEnabled()) {
+            FontRenderContext frc = TextUtils.useFontMetricsGetStringBounds
+                    ? g2.getFontRenderContext() : fm.getFontRenderContext();
+            key = new TextMeasurementCache.Key(
+                    TextMeasurementCache.Key.BOUNDS, text, fm.getFont(), frc,
+                    TextUtils.useFontMetricsGetStringBounds, 0.0f, 0);
+            Rectangle2D cached = (Rectangle2D) MEASUREMENT_CACHE.get(key);
+            if (cached != null) {
+                return (Rectangle2D) cached.clone();
+            }
+        }
+        Rectangle2D bounds = measureTextBounds(text, g2, fm);
+        if (key != null) {
+            MEASUREMENT_CACHE.put(key, bounds.clone());
+        }
+        return bounds;
+    }
+
+    /**
+     * Measures the bounds for the specified text (bypassing the cache).
+     *
+     * @param text  the text.
+     * @param g2  the graphics context (not {@code null}).
+     * @param fm  the font metrics (not {@code null}).
+     *
+     * @return The text bounds.
+     */
+    private static Rectangle2D measureTextBounds(String text, Graphics2D g2,
+            FontMetrics fm) {
+
         Rectangle2D bounds;
         if (TextUtils.useFontMetricsGetStringBounds) {
             bounds = fm.getStringBounds(text, g2);
@@ -714,6 +787,21 @@ public class TextUtils {
 
     }
 
+    /**
+     * Returns the cache for measured text that is shared by all charts.  The
+     * cache stores the string bounds returned by
+     * {@link #getTextBounds(String, Graphics2D, FontMetrics)} and the line
+     * breaks calculated by
+     * {@link #createTextBlock(String, Font, Paint, float, int, TextMeasurer)}
+     * (for a {@link G2TextMeasurer}), and it can be resized or cleared via
+     * the returned instance.
+     *
+     * @return The cache (never {@code null}).
+     */
+    public static TextMeasurementCache getMeasurementCache() {
+        return MEASUREMENT_CACHE;
+    }
+
     /**
      * Returns the flag that controls whether the FontMetrics.getStringBounds()
      * method is used or not.  If you are having trouble with label alignment
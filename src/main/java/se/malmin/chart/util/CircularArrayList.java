@@ -0,0 +1,370 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * CircularArrayList.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.util;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * A random access list backed by a circular buffer.  Items can be appended
+ * and removed at either end of the list in amortized constant time, which
+ * makes the list suitable for "rolling window" storage where the oldest item
+ * is discarded each time a new item is added.  Inserting or removing items
+ * in the middle of the list moves the items on the shorter side of the
+ * index.
+ *
+ * @param <E>  the element type.
+ */
+public class CircularArrayList<E> extends AbstractList<E>
+        implements RandomAccess, Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 2290147213638459431L;
+
+    /** The default initial capacity. */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** Storage for the elements. */
+    private transient Object[] elements;
+
+    /** The position of the first element in the storage array. */
+    private transient int head;
+
+    /** The number of elements in the list. */
+    private int size;
+
+    /**
+     * Creates a new empty list.
+     */
+    public CircularArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty list with the specified initial capacity.
+     *
+     * @param initialCapacity  the initial capacity (must be positive).
+     */
+    public CircularArrayList(int initialCapacity) {
+        Args.requireInRange(initialCapacity, "initialCapacity", 1,
+                Integer.MAX_VALUE);
+        this.elements = new Object[initialCapacity];
+        this.head = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return The number of elements.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Maps a list index to a position in the storage array.
+     *
+     * @param index  the list index.
+     *
+     * @return The position in the storage array.
+     */
+    private int position(int index) {
+        int p = this.head + index;
+        return p >= this.elements.length ? p - this.elements.length : p;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.size);
+        }
+    }
+
+    /**
+     * Returns the element at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The element.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) this.elements[position(index)];
+    }
+
+    /**
+     * Replaces the element at the specified index.
+     *
+     * @param index  the index (zero-based).
+     * @param element  the new element.
+     *
+     * @return The element previously at the specified index.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        int p = position(index);
+        E old = (E) this.elements[p];
+        this.elements[p] = element;
+        return old;
+    }
+
+    /**
+     * Grows the storage array, if necessary, so that one more element can be
+     * added.
+     */
+    private void ensureSpaceForOneMore() {
+        if (this.size < this.elements.length) {
+            return;
+        }
+        int newCapacity = this.elements.length + (this.elements.length >> 1)
+                + 1;
+        this.elements = copyElements(newCapacity);
+        this.head = 0;
+    }
+
+    /**
+     * Returns a new array of the specified capacity containing the elements
+     * of this list, starting at position 0.
+     *
+     * @param capacity  the capacity.
+     *
+     * @return The new array.
+     */
+    private Object[] copyElements(int capacity) {
+        Object[] result = new Object[capacity];
+        int firstPart = Math.min(this.size, this.elements.length - this.head);
+        System.arraycopy(this.elements, this.head, result, 0, firstPart);
+        System.arraycopy(this.elements, 0, result, firstPart,
+                this.size - firstPart);
+        return result;
+    }
+
+    /**
+     * Appends an element to the end of the list.
+     *
+     * @param element  the element.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean add(E element) {
+        ensureSpaceForOneMore();
+        this.elements[position(this.size)] = element;
+        this.size++;
+        this.modCount++;
+        return true;
+    }
+
+    /**
+     * Inserts an element at the specified index.
+     *
+     * @param index  the index (in the range {@code 0} to {@code size()}).
+     * @param element  the element.
+     */
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.size);
+        }
+        ensureSpaceForOneMore();
+        if (index < this.size / 2) {
+            // move the elements before the index one place to the left
+            this.head = this.head == 0 ? this.elements.length - 1
+                    : this.head - 1;
+            for (int i = 0; i < index; i++) {
+                this.elements[position(i)] = this.elements[position(i + 1)];
+            }
+        }
+        else {
+            // move the elements from the index one place to the right
+            for (int i = this.size; i > index; i--) {
+                this.elements[position(i)] = this.elements[position(i - 1)];
+            }
+        }
+        this.elements[position(index)] = element;
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Removes the element at the specified index.  Removing the first or
+     * last element takes constant time.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The element removed.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        E removed = (E) this.elements[position(index)];
+        if (index < this.size / 2) {
+            // move the elements before the index one place to the right
+            for (int i = index; i > 0; i--) {
+                this.elements[position(i)] = this.elements[position(i - 1)];
+            }
+            this.elements[this.head] = null;
+            this.head = position(1);
+        }
+        else {
+            // move the elements after the index one place to the left
+            for (int i = index; i < this.size - 1; i++) {
+                this.elements[position(i)] = this.elements[position(i + 1)];
+            }
+            this.elements[position(this.size - 1)] = null;
+        }
+        this.size--;
+        if (this.size == 0) {
+            this.head = 0;
+        }
+        this.modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the elements from {@code fromIndex} (inclusive) to
+     * {@code toIndex} (exclusive).  This is used by
+     * {@code subList(from, to).clear()}.
+     *
+     * @param fromIndex  the index of the first element to remove.
+     * @param toIndex  the index after the last element to remove.
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        int count = toIndex - fromIndex;
+        if (count <= 0) {
+            return;
+        }
+        if (fromIndex == 0) {
+            for (int i = 0; i < count; i++) {
+                this.elements[position(i)] = null;
+            }
+            this.head = position(count);
+        }
+        else {
+            for (int i = fromIndex; i < this.size - count; i++) {
+                this.elements[position(i)] = this.elements[position(i
+                        + count)];
+            }
+            for (int i = this.size - count; i < this.size; i++) {
+                this.elements[position(i)] = null;
+            }
+        }
+        this.size -= count;
+        if (this.size == 0) {
+            this.head = 0;
+        }
+        this.modCount++;
+    }
+
+    /**
+     * Removes all the elements from the list.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(this.elements, null);
+        this.head = 0;
+        this.size = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a clone of the list (the elements themselves are not cloned).
+     *
+     * @return A clone.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        try {
+            CircularArrayList<E> clone = (CircularArrayList<E>) super.clone();
+            clone.elements = copyElements(Math.max(this.size, 1));
+            clone.head = 0;
+            clone.modCount = 0;
+            return clone;
+        }
+        catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the output stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     */
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+        for (int i = 0; i < this.size; i++) {
+            stream.writeObject(this.elements[position(i)]);
+        }
+    }
+
+    /**
+     * Provides serialization support.
+     *
+     * @param stream  the input stream.
+     *
+     * @throws IOException  if there is an I/O error.
+     * @throws ClassNotFoundException  if there is a classpath problem.
+     */
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        this.elements = new Object[Math.max(this.size, 1)];
+        this.head = 0;
+        for (int i = 0; i < this.size; i++) {
+            this.elements[i] = stream.readObject();
+        }
+    }
+
+}
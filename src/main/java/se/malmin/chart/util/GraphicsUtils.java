@@ -0,0 +1,85 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * GraphicsUtils.java
+ * ------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.chart.util;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.geom.AffineTransform;
+
+/**
+ * Some utility methods for {@link Graphics2D} targets.
+ */
+public final class GraphicsUtils {
+
+    private GraphicsUtils() {
+        // no requirement to instantiate
+    }
+
+    /**
+     * Returns {@code true} if the specified graphics target is drawn by the
+     * Java2D raster pipeline (an image or the screen, not a printer or a
+     * vector format such as SVG or PDF) with a transform that only
+     * translates and scales.  For such a target, drawing an off-screen image
+     * at device resolution gives the same pixels as drawing the shapes
+     * directly.
+     *
+     * @param g2  the graphics target ({@code null} not permitted).
+     *
+     * @return A boolean.
+     */
+    public static boolean isRasterTarget(Graphics2D g2) {
+        Args.nullNotPermitted(g2, "g2");
+        // vector implementations of Graphics2D (JFreeSVG, OrsonPDF, the
+        // printing pipeline) may report a raster device, so only the JDK
+        // raster implementation is trusted
+        if (!g2.getClass().getName().startsWith("sun.java2d.")) {
+            return false;
+        }
+        GraphicsConfiguration gc = g2.getDeviceConfiguration();
+        if (gc == null || gc.getDevice().getType()
+                == GraphicsDevice.TYPE_PRINTER) {
+            return false;
+        }
+        AffineTransform t = g2.getTransform();
+        int other = t.getType() & ~(AffineTransform.TYPE_TRANSLATION
+                | AffineTransform.TYPE_UNIFORM_SCALE
+                | AffineTransform.TYPE_GENERAL_SCALE);
+        return other == 0 && t.getScaleX() > 0.0 && t.getScaleY() > 0.0;
+    }
+
+}
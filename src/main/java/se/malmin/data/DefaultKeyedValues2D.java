@@ -37,24 +37,31 @@
 package se.malmin.data;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import se.malmin.chart.util.Args;
-import se.malmin.chart.util.ObjectUtils;
 import se.malmin.chart.util.PublicCloneable;
 
 /**
  * A data structure that stores zero, one or many values, where each value
  * is associated with two keys (a 'row' key and a 'column' key).  The keys
  * should be (a) instances of {@link Comparable} and (b) immutable.
+ * <p>
+ * The row and column keys are indexed with hash maps and the values are
+ * stored in a {@code double} array for each row, so looking up or adding a
+ * value takes constant time (apart from inserting a new row when the row
+ * keys are sorted).
  */
 public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
         Cloneable, Serializable {
 
     /** For serialization. */
-    private static final long serialVersionUID = -5514169970951994748L;
+    private static final long serialVersionUID = -6473612457638234521L;
 
     /** The row keys. */
     private List rowKeys;
@@ -62,8 +69,14 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
     /** The column keys. */
     private List columnKeys;
 
-    /** The row data. */
-    private List rows;
+    /** A map from row key to row index. */
+    private Map<Comparable, Integer> rowIndexMap;
+
+    /** A map from column key to column index. */
+    private Map<Comparable, Integer> columnIndexMap;
+
+    /** The row data (one {@link Row} for each row key). */
+    private List<Row> rows;
 
     /** If the row keys should be sorted by their comparable order. */
     private boolean sortRowKeys;
@@ -83,7 +96,9 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
     public DefaultKeyedValues2D(boolean sortRowKeys) {
         this.rowKeys = new java.util.ArrayList();
         this.columnKeys = new java.util.ArrayList();
-        this.rows = new java.util.ArrayList();
+        this.rowIndexMap = new HashMap<>();
+        this.columnIndexMap = new HashMap<>();
+        this.rows = new java.util.ArrayList<>();
         this.sortRowKeys = sortRowKeys;
     }
 
@@ -123,18 +138,9 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
      */
     @Override
     public Number getValue(int row, int column) {
-        Number result = null;
-        DefaultKeyedValues rowData = (DefaultKeyedValues) this.rows.get(row);
-        if (rowData != null) {
-            Comparable columnKey = (Comparable) this.columnKeys.get(column);
-            // the row may not have an entry for this key, in which case the
-            // return value is null
-            int index = rowData.getIndex(columnKey);
-            if (index >= 0) {
-                result = rowData.getValue(index);
-            }
-        }
-        return result;
+        Row rowData = this.rows.get(row);
+        Objects.checkIndex(column, this.columnKeys.size());
+        return rowData.getValue(column);
     }
 
     /**
@@ -165,12 +171,15 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
     @Override
     public int getRowIndex(Comparable key) {
         Args.nullNotPermitted(key, "key");
+        Integer index = this.rowIndexMap.get(key);
+        if (index != null) {
+            return index;
+        }
         if (this.sortRowKeys) {
+            // a negative value giving the insertion point
             return Collections.binarySearch(this.rowKeys, key);
         }
-        else {
-            return this.rowKeys.indexOf(key);
-        }
+        return -1;
     }
 
     /**
@@ -214,7 +223,8 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
     @Override
     public int getColumnIndex(Comparable key) {
         Args.nullNotPermitted(key, "key");
-        return this.columnKeys.indexOf(key);
+        Integer index = this.columnIndexMap.get(key);
+        return index != null ? index : -1;
     }
 
     /**
@@ -248,20 +258,14 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
         Args.nullNotPermitted(columnKey, "columnKey");
 
         // check that the column key is defined in the 2D structure
-        if (!(this.columnKeys.contains(columnKey))) {
+        int col = getColumnIndex(columnKey);
+        if (col < 0) {
             throw new UnknownKeyException("Unrecognised columnKey: "
                     + columnKey);
         }
-
-        // now fetch the row data - need to bear in mind that the row
-        // structure may not have an entry for the column key, but that we
-        // have already checked that the key is valid for the 2D structure
         int row = getRowIndex(rowKey);
         if (row >= 0) {
-            DefaultKeyedValues rowData
-                = (DefaultKeyedValues) this.rows.get(row);
-            int col = rowData.getIndex(columnKey);
-            return (col >= 0 ? rowData.getValue(col) : null);
+            return this.rows.get(row).getValue(col);
         }
         else {
             throw new UnknownKeyException("Unrecognised rowKey: " + rowKey);
@@ -298,29 +302,57 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
     public void setValue(Number value, Comparable rowKey,
                          Comparable columnKey) {
 
-        DefaultKeyedValues row;
+        Row row;
         int rowIndex = getRowIndex(rowKey);
+        Args.nullNotPermitted(columnKey, "columnKey");
 
         if (rowIndex >= 0) {
-            row = (DefaultKeyedValues) this.rows.get(rowIndex);
+            row = this.rows.get(rowIndex);
         }
         else {
-            row = new DefaultKeyedValues();
+            row = new Row();
             if (this.sortRowKeys) {
                 rowIndex = -rowIndex - 1;
                 this.rowKeys.add(rowIndex, rowKey);
                 this.rows.add(rowIndex, row);
+                rebuildRowIndex(rowIndex);
             }
             else {
                 this.rowKeys.add(rowKey);
                 this.rows.add(row);
+                this.rowIndexMap.put(rowKey, this.rowKeys.size() - 1);
             }
         }
-        row.setValue(columnKey, value);
 
-        int columnIndex = this.columnKeys.indexOf(columnKey);
+        int columnIndex = getColumnIndex(columnKey);
         if (columnIndex < 0) {
             this.columnKeys.add(columnKey);
+            columnIndex = this.columnKeys.size() - 1;
+            this.columnIndexMap.put(columnKey, columnIndex);
+        }
+        row.setValue(columnIndex, value);
+    }
+
+    /**
+     * Updates the row index map for the rows from {@code start} onwards.
+     *
+     * @param start  the index of the first row to update.
+     */
+    private void rebuildRowIndex(int start) {
+        for (int i = start; i < this.rowKeys.size(); i++) {
+            this.rowIndexMap.put((Comparable) this.rowKeys.get(i), i);
+        }
+    }
+
+    /**
+     * Updates the column index map for the columns from {@code start}
+     * onwards.
+     *
+     * @param start  the index of the first column to update.
+     */
+    private void rebuildColumnIndex(int start) {
+        for (int i = start; i < this.columnKeys.size(); i++) {
+            this.columnIndexMap.put((Comparable) this.columnKeys.get(i), i);
         }
     }
 
@@ -338,47 +370,22 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
         setValue(null, rowKey, columnKey);
 
         // 1. check whether the row is now empty.
-        boolean allNull = true;
         int rowIndex = getRowIndex(rowKey);
-        DefaultKeyedValues row = (DefaultKeyedValues) this.rows.get(rowIndex);
-
-        for (int item = 0, itemCount = row.getItemCount(); item < itemCount;
-             item++) {
-            if (row.getValue(item) != null) {
-                allNull = false;
-                break;
-            }
-        }
-
-        if (allNull) {
-            this.rowKeys.remove(rowIndex);
-            this.rows.remove(rowIndex);
+        if (this.rows.get(rowIndex).isEmpty()) {
+            removeRow(rowIndex);
         }
 
         // 2. check whether the column is now empty.
-        allNull = true;
-        //int columnIndex = getColumnIndex(columnKey);
-
-        for (int item = 0, itemCount = this.rows.size(); item < itemCount;
-             item++) {
-            row = (DefaultKeyedValues) this.rows.get(item);
-            int columnIndex = row.getIndex(columnKey);
-            if (columnIndex >= 0 && row.getValue(columnIndex) != null) {
+        int columnIndex = getColumnIndex(columnKey);
+        boolean allNull = true;
+        for (Row row : this.rows) {
+            if (row.getValue(columnIndex) != null) {
                 allNull = false;
                 break;
             }
         }
-
         if (allNull) {
-            for (int item = 0, itemCount = this.rows.size(); item < itemCount;
-                 item++) {
-                row = (DefaultKeyedValues) this.rows.get(item);
-                int columnIndex = row.getIndex(columnKey);
-                if (columnIndex >= 0) {
-                    row.removeValue(columnIndex);
-                }
-            }
-            this.columnKeys.remove(columnKey);
+            removeColumnAt(columnIndex);
         }
     }
 
@@ -391,8 +398,10 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
      * @see #removeColumn(int)
      */
     public void removeRow(int rowIndex) {
-        this.rowKeys.remove(rowIndex);
+        Comparable rowKey = (Comparable) this.rowKeys.remove(rowIndex);
         this.rows.remove(rowIndex);
+        this.rowIndexMap.remove(rowKey);
+        rebuildRowIndex(rowIndex);
     }
 
     /**
@@ -445,18 +454,27 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
      */
     public void removeColumn(Comparable columnKey) {
         Args.nullNotPermitted(columnKey, "columnKey");
-        if (!this.columnKeys.contains(columnKey)) {
+        int columnIndex = getColumnIndex(columnKey);
+        if (columnIndex < 0) {
             throw new UnknownKeyException("Unknown key: " + columnKey);
         }
-        Iterator iterator = this.rows.iterator();
-        while (iterator.hasNext()) {
-            DefaultKeyedValues rowData = (DefaultKeyedValues) iterator.next();
-            int index = rowData.getIndex(columnKey);
-            if (index >= 0) {
-                rowData.removeValue(columnKey);
-            }
+        removeColumnAt(columnIndex);
+    }
+
+    /**
+     * Removes the column at the specified index from the keys and from the
+     * data for every row.
+     *
+     * @param columnIndex  the column index.
+     */
+    private void removeColumnAt(int columnIndex) {
+        for (Row row : this.rows) {
+            row.removeValue(columnIndex);
         }
-        this.columnKeys.remove(columnKey);
+        Comparable columnKey = (Comparable) this.columnKeys.remove(
+                columnIndex);
+        this.columnIndexMap.remove(columnKey);
+        rebuildColumnIndex(columnIndex);
     }
 
     /**
@@ -465,6 +483,8 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
     public void clear() {
         this.rowKeys.clear();
         this.columnKeys.clear();
+        this.rowIndexMap.clear();
+        this.columnIndexMap.clear();
         this.rows.clear();
     }
 
@@ -534,7 +554,12 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
         int result;
         result = this.rowKeys.hashCode();
         result = 29 * result + this.columnKeys.hashCode();
-        result = 29 * result + this.rows.hashCode();
+        int columnCount = getColumnCount();
+        for (Row row : this.rows) {
+            for (int c = 0; c < columnCount; c++) {
+                result = 29 * result + Objects.hashCode(row.getValue(c));
+            }
+        }
         return result;
     }
 
@@ -553,10 +578,164 @@ public class DefaultKeyedValues2D implements KeyedValues2D, PublicCloneable,
         // should be immutable...
         clone.columnKeys = new java.util.ArrayList(this.columnKeys);
         clone.rowKeys = new java.util.ArrayList(this.rowKeys);
+        clone.rowIndexMap = new HashMap<>(this.rowIndexMap);
+        clone.columnIndexMap = new HashMap<>(this.columnIndexMap);
 
         // but the row data requires a deep copy
-        clone.rows = (List) ObjectUtils.deepClone(this.rows);
+        clone.rows = new java.util.ArrayList<>(this.rows.size());
+        for (Row row : this.rows) {
+            clone.rows.add(row.copy());
+        }
         return clone;
     }
 
+    /**
+     * The values for one row, indexed by column.  The values are stored as
+     * primitive {@code double} values, except for values that are not
+     * instances of {@code Double} which are kept as they are (so that
+     * {@code getValue()} returns an equal object).  Columns beyond the end of
+     * the arrays hold {@code null}.
+     */
+    private static final class Row implements Serializable {
+
+        /** For serialization. */
+        private static final long serialVersionUID = 2879307465132983512L;
+
+        /** State for a {@code null} value. */
+        private static final byte NULL = 0;
+
+        /** State for a value stored in the {@code values} array. */
+        private static final byte DOUBLE = 1;
+
+        /** State for a value stored in the {@code others} array. */
+        private static final byte OTHER = 2;
+
+        /** The values. */
+        private double[] values;
+
+        /** The state for each value. */
+        private byte[] states;
+
+        /** Values that are not instances of {@code Double} (lazily created). */
+        private Number[] others;
+
+        Row() {
+            this.values = new double[8];
+            this.states = new byte[8];
+        }
+
+        /**
+         * Returns the value for a column.
+         *
+         * @param column  the column index (not checked).
+         *
+         * @return The value (possibly {@code null}).
+         */
+        Number getValue(int column) {
+            if (column >= this.states.length) {
+                return null;
+            }
+            switch (this.states[column]) {
+                case DOUBLE:
+                    return this.values[column];
+                case OTHER:
+                    return this.others[column];
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * Sets the value for a column.
+         *
+         * @param column  the column index.
+         * @param value  the value ({@code null} permitted).
+         */
+        void setValue(int column, Number value) {
+            if (column >= this.states.length) {
+                if (value == null) {
+                    return;
+                }
+                int capacity = Math.max(column + 1,
+                        this.states.length + (this.states.length >> 1));
+                this.values = Arrays.copyOf(this.values, capacity);
+                this.states = Arrays.copyOf(this.states, capacity);
+                if (this.others != null) {
+                    this.others = Arrays.copyOf(this.others, capacity);
+                }
+            }
+            if (this.others != null) {
+                this.others[column] = null;
+            }
+            if (value == null) {
+                this.states[column] = NULL;
+                this.values[column] = 0.0;
+            }
+            else if (value instanceof Double) {
+                this.states[column] = DOUBLE;
+                this.values[column] = value.doubleValue();
+            }
+            else {
+                if (this.others == null) {
+                    this.others = new Number[this.states.length];
+                }
+                this.states[column] = OTHER;
+                this.values[column] = value.doubleValue();
+                this.others[column] = value;
+            }
+        }
+
+        /**
+         * Removes the value for a column, shifting the values for the
+         * following columns one place to the left.
+         *
+         * @param column  the column index.
+         */
+        void removeValue(int column) {
+            int n = this.states.length;
+            if (column >= n) {
+                return;
+            }
+            System.arraycopy(this.values, column + 1, this.values, column,
+                    n - column - 1);
+            System.arraycopy(this.states, column + 1, this.states, column,
+                    n - column - 1);
+            this.values[n - 1] = 0.0;
+            this.states[n - 1] = NULL;
+            if (this.others != null) {
+                System.arraycopy(this.others, column + 1, this.others, column,
+                        n - column - 1);
+                this.others[n - 1] = null;
+            }
+        }
+
+        /**
+         * Returns {@code true} if every value in the row is {@code null}.
+         *
+         * @return A boolean.
+         */
+        boolean isEmpty() {
+            for (byte state : this.states) {
+                if (state != NULL) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns an independent copy of the row.
+         *
+         * @return The copy.
+         */
+        Row copy() {
+            Row copy = new Row();
+            copy.values = this.values.clone();
+            copy.states = this.states.clone();
+            copy.others = this.others != null ? this.others.clone() : null;
+            return copy;
+        }
+
+    }
+
 }
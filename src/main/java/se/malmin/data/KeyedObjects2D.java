@@ -37,20 +37,26 @@
 package se.malmin.data;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import se.malmin.chart.util.Args;
+import se.malmin.chart.util.PublicCloneable;
 
 /**
  * A data structure that stores zero, one or many objects, where each object is
- * associated with two keys (a 'row' key and a 'column' key).
+ * associated with two keys (a 'row' key and a 'column' key).  The row and
+ * column keys are indexed with hash maps, so looking up or adding an object
+ * takes constant time.
  */
 public class KeyedObjects2D implements Cloneable, Serializable {
 
     /** For serialization. */
-    private static final long serialVersionUID = -1015873563138522374L;
+    private static final long serialVersionUID = 7215684213520337865L;
 
     /** The row keys. */
     private List rowKeys;
@@ -58,8 +64,18 @@ public class KeyedObjects2D implements Cloneable, Serializable {
     /** The column keys. */
     private List columnKeys;
 
-    /** The row data. */
-    private List rows;
+    /** A map from row key to row index. */
+    private Map<Comparable, Integer> rowIndexMap;
+
+    /** A map from column key to column index. */
+    private Map<Comparable, Integer> columnIndexMap;
+
+    /**
+     * The row data, an array of objects indexed by column for each row (the
+     * array can be shorter than the column count, the missing objects are
+     * {@code null}).
+     */
+    private List<Object[]> rows;
 
     /**
      * Creates a new instance (initially empty).
@@ -67,7 +83,9 @@ public class KeyedObjects2D implements Cloneable, Serializable {
     public KeyedObjects2D() {
         this.rowKeys = new java.util.ArrayList();
         this.columnKeys = new java.util.ArrayList();
-        this.rows = new java.util.ArrayList();
+        this.rowIndexMap = new HashMap<>();
+        this.columnIndexMap = new HashMap<>();
+        this.rows = new java.util.ArrayList<>();
     }
 
     /**
@@ -103,18 +121,9 @@ public class KeyedObjects2D implements Cloneable, Serializable {
      * @see #getObject(Comparable, Comparable)
      */
     public Object getObject(int row, int column) {
-        Object result = null;
-        KeyedObjects rowData = (KeyedObjects) this.rows.get(row);
-        if (rowData != null) {
-            Comparable columnKey = (Comparable) this.columnKeys.get(column);
-            if (columnKey != null) {
-                int index = rowData.getIndex(columnKey);
-                if (index >= 0) {
-                    result = rowData.getObject(columnKey);
-                }
-            }
-        }
-        return result;
+        Object[] rowData = this.rows.get(row);
+        Objects.checkIndex(column, this.columnKeys.size());
+        return column < rowData.length ? rowData[column] : null;
     }
 
     /**
@@ -142,7 +151,8 @@ public class KeyedObjects2D implements Cloneable, Serializable {
      */
     public int getRowIndex(Comparable key) {
         Args.nullNotPermitted(key, "key");
-        return this.rowKeys.indexOf(key);
+        Integer index = this.rowIndexMap.get(key);
+        return index != null ? index : -1;
     }
 
     /**
@@ -181,7 +191,8 @@ public class KeyedObjects2D implements Cloneable, Serializable {
      */
     public int getColumnIndex(Comparable key) {
         Args.nullNotPermitted(key, "key");
-        return this.columnKeys.indexOf(key);
+        Integer index = this.columnIndexMap.get(key);
+        return index != null ? index : -1;
     }
 
     /**
@@ -211,24 +222,17 @@ public class KeyedObjects2D implements Cloneable, Serializable {
     public Object getObject(Comparable rowKey, Comparable columnKey) {
         Args.nullNotPermitted(rowKey, "rowKey");
         Args.nullNotPermitted(columnKey, "columnKey");
-        int row = this.rowKeys.indexOf(rowKey);
+        int row = getRowIndex(rowKey);
         if (row < 0) {
             throw new UnknownKeyException("Row key (" + rowKey
                     + ") not recognised.");
         }
-        int column = this.columnKeys.indexOf(columnKey);
+        int column = getColumnIndex(columnKey);
         if (column < 0) {
             throw new UnknownKeyException("Column key (" + columnKey
                     + ") not recognised.");
         }
-        KeyedObjects rowData = (KeyedObjects) this.rows.get(row);
-        int index = rowData.getIndex(columnKey);
-        if (index >= 0) {
-            return rowData.getObject(index);
-        }
-        else {
-            return null;
-        }
+        return getObject(row, column);
     }
 
     /**
@@ -254,20 +258,51 @@ public class KeyedObjects2D implements Cloneable, Serializable {
             Comparable columnKey) {
         Args.nullNotPermitted(rowKey, "rowKey");
         Args.nullNotPermitted(columnKey, "columnKey");
-        KeyedObjects row;
-        int rowIndex = this.rowKeys.indexOf(rowKey);
-        if (rowIndex >= 0) {
-            row = (KeyedObjects) this.rows.get(rowIndex);
-        }
-        else {
+        int rowIndex = getRowIndex(rowKey);
+        if (rowIndex < 0) {
             this.rowKeys.add(rowKey);
-            row = new KeyedObjects();
-            this.rows.add(row);
+            this.rows.add(new Object[0]);
+            rowIndex = this.rowKeys.size() - 1;
+            this.rowIndexMap.put(rowKey, rowIndex);
         }
-        row.setObject(columnKey, object);
-        int columnIndex = this.columnKeys.indexOf(columnKey);
+        int columnIndex = getColumnIndex(columnKey);
         if (columnIndex < 0) {
             this.columnKeys.add(columnKey);
+            columnIndex = this.columnKeys.size() - 1;
+            this.columnIndexMap.put(columnKey, columnIndex);
+        }
+        Object[] row = this.rows.get(rowIndex);
+        if (columnIndex >= row.length) {
+            if (object == null) {
+                return;
+            }
+            row = Arrays.copyOf(row, Math.max(columnIndex + 1,
+                    row.length + (row.length >> 1)));
+            this.rows.set(rowIndex, row);
+        }
+        row[columnIndex] = object;
+    }
+
+    /**
+     * Updates the row index map for the rows from {@code start} onwards.
+     *
+     * @param start  the index of the first row to update.
+     */
+    private void rebuildRowIndex(int start) {
+        for (int i = start; i < this.rowKeys.size(); i++) {
+            this.rowIndexMap.put((Comparable) this.rowKeys.get(i), i);
+        }
+    }
+
+    /**
+     * Updates the column index map for the columns from {@code start}
+     * onwards.
+     *
+     * @param start  the index of the first column to update.
+     */
+    private void rebuildColumnIndex(int start) {
+        for (int i = start; i < this.columnKeys.size(); i++) {
+            this.columnIndexMap.put((Comparable) this.columnKeys.get(i), i);
         }
     }
 
@@ -296,44 +331,26 @@ public class KeyedObjects2D implements Cloneable, Serializable {
 
         // 1. check whether the row is now empty.
         boolean allNull = true;
-        KeyedObjects row = (KeyedObjects) this.rows.get(rowIndex);
-
-        for (int item = 0, itemCount = row.getItemCount(); item < itemCount;
-             item++) {
-            if (row.getObject(item) != null) {
+        for (Object obj : this.rows.get(rowIndex)) {
+            if (obj != null) {
                 allNull = false;
                 break;
             }
         }
-
         if (allNull) {
-            this.rowKeys.remove(rowIndex);
-            this.rows.remove(rowIndex);
+            removeRow(rowIndex);
         }
 
         // 2. check whether the column is now empty.
         allNull = true;
-
-        for (int item = 0, itemCount = this.rows.size(); item < itemCount;
-             item++) {
-            row = (KeyedObjects) this.rows.get(item);
-            int colIndex = row.getIndex(columnKey);
-            if (colIndex >= 0 && row.getObject(colIndex) != null) {
+        for (Object[] row : this.rows) {
+            if (columnIndex < row.length && row[columnIndex] != null) {
                 allNull = false;
                 break;
             }
         }
-
         if (allNull) {
-            for (int item = 0, itemCount = this.rows.size(); item < itemCount;
-                 item++) {
-                row = (KeyedObjects) this.rows.get(item);
-                int colIndex = row.getIndex(columnKey);
-                if (colIndex >= 0) {
-                    row.removeValue(colIndex);
-                }
-            }
-            this.columnKeys.remove(columnKey);
+            removeColumn(columnIndex);
         }
     }
 
@@ -345,8 +362,10 @@ public class KeyedObjects2D implements Cloneable, Serializable {
      * @see #removeColumn(int)
      */
     public void removeRow(int rowIndex) {
-        this.rowKeys.remove(rowIndex);
+        Comparable rowKey = (Comparable) this.rowKeys.remove(rowIndex);
         this.rows.remove(rowIndex);
+        this.rowIndexMap.remove(rowKey);
+        rebuildRowIndex(rowIndex);
     }
 
     /**
@@ -376,7 +395,19 @@ public class KeyedObjects2D implements Cloneable, Serializable {
      */
     public void removeColumn(int columnIndex) {
         Comparable columnKey = getColumnKey(columnIndex);
-        removeColumn(columnKey);
+        for (int r = 0; r < this.rows.size(); r++) {
+            Object[] row = this.rows.get(r);
+            if (columnIndex < row.length) {
+                Object[] newRow = new Object[row.length - 1];
+                System.arraycopy(row, 0, newRow, 0, columnIndex);
+                System.arraycopy(row, columnIndex + 1, newRow, columnIndex,
+                        row.length - columnIndex - 1);
+                this.rows.set(r, newRow);
+            }
+        }
+        this.columnKeys.remove(columnIndex);
+        this.columnIndexMap.remove(columnKey);
+        rebuildColumnIndex(columnIndex);
     }
 
     /**
@@ -394,15 +425,7 @@ public class KeyedObjects2D implements Cloneable, Serializable {
             throw new UnknownKeyException("Column key (" + columnKey
                     + ") not recognised.");
         }
-        Iterator iterator = this.rows.iterator();
-        while (iterator.hasNext()) {
-            KeyedObjects rowData = (KeyedObjects) iterator.next();
-            int i = rowData.getIndex(columnKey);
-            if (i >= 0) {
-                rowData.removeValue(i);
-            }
-        }
-        this.columnKeys.remove(columnKey);
+        removeColumn(index);
     }
 
     /**
@@ -411,6 +434,8 @@ public class KeyedObjects2D implements Cloneable, Serializable {
     public void clear() {
         this.rowKeys.clear();
         this.columnKeys.clear();
+        this.rowIndexMap.clear();
+        this.columnIndexMap.clear();
         this.rows.clear();
     }
 
@@ -474,7 +499,12 @@ public class KeyedObjects2D implements Cloneable, Serializable {
         int result;
         result = this.rowKeys.hashCode();
         result = 29 * result + this.columnKeys.hashCode();
-        result = 29 * result + this.rows.hashCode();
+        int columnCount = getColumnCount();
+        for (int r = 0; r < getRowCount(); r++) {
+            for (int c = 0; c < columnCount; c++) {
+                result = 29 * result + Objects.hashCode(getObject(r, c));
+            }
+        }
         return result;
     }
 
@@ -491,11 +521,17 @@ public class KeyedObjects2D implements Cloneable, Serializable {
         KeyedObjects2D clone = (KeyedObjects2D) super.clone();
         clone.columnKeys = new java.util.ArrayList(this.columnKeys);
         clone.rowKeys = new java.util.ArrayList(this.rowKeys);
-        clone.rows = new java.util.ArrayList(this.rows.size());
-        Iterator iterator = this.rows.iterator();
-        while (iterator.hasNext()) {
-            KeyedObjects row = (KeyedObjects) iterator.next();
-            clone.rows.add(row.clone());
+        clone.rowIndexMap = new HashMap<>(this.rowIndexMap);
+        clone.columnIndexMap = new HashMap<>(this.columnIndexMap);
+        clone.rows = new java.util.ArrayList<>(this.rows.size());
+        for (Object[] row : this.rows) {
+            Object[] copy = row.clone();
+            for (int c = 0; c < copy.length; c++) {
+                if (copy[c] instanceof PublicCloneable) {
+                    copy[c] = ((PublicCloneable) copy[c]).clone();
+                }
+            }
+            clone.rows.add(copy);
         }
         return clone;
     }
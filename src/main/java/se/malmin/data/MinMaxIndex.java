@@ -0,0 +1,440 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------
+ * MinMaxIndex.java
+ * ----------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import se.malmin.chart.util.Args;
+
+/**
+ * A segment tree that tracks the minimum and maximum of a sequence of
+ * {@code double} values, ignoring {@code Double.NaN}.  The index is intended
+ * to sit alongside the storage of a series so that the bounds of the series
+ * can be maintained without iterating over all the items when an extreme
+ * value is removed:
+ * <ul>
+ * <li>{@link #getMinimum()} and {@link #getMaximum()} take constant time;</li>
+ * <li>{@link #getMinimum(int, int)} and {@link #getMaximum(int, int)} for a
+ * subrange of items take O(log n) time;</li>
+ * <li>appending a value, updating a value and removing the first value take
+ * amortized O(log n) time;</li>
+ * <li>inserting or removing values elsewhere rebuilds the index in O(n)
+ * time (the same order as the list operation that it mirrors).</li>
+ * </ul>
+ */
+public class MinMaxIndex implements Cloneable, Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3418724530628137512L;
+
+    /** The number of leaves in the tree (always a power of two). */
+    private int capacity;
+
+    /** The minimum values (node {@code i} has children 2i and 2i + 1). */
+    private double[] mins;
+
+    /** The maximum values. */
+    private double[] maxs;
+
+    /** The leaf position of the first value. */
+    private int offset;
+
+    /** The number of values in the index. */
+    private int count;
+
+    /**
+     * Creates a new empty index.
+     */
+    public MinMaxIndex() {
+        this(16);
+    }
+
+    /**
+     * Creates a new empty index with space for the specified number of
+     * values.
+     *
+     * @param initialCapacity  the initial capacity (must be positive).
+     */
+    public MinMaxIndex(int initialCapacity) {
+        Args.requireInRange(initialCapacity, "initialCapacity", 1,
+                Integer.MAX_VALUE >> 2);
+        allocate(initialCapacity);
+        this.offset = 0;
+        this.count = 0;
+    }
+
+    /**
+     * Allocates (empty) storage for at least the specified number of leaves.
+     *
+     * @param minimumCapacity  the minimum capacity.
+     */
+    private void allocate(int minimumCapacity) {
+        int c = 1;
+        while (c < minimumCapacity) {
+            c <<= 1;
+        }
+        this.capacity = c;
+        this.mins = new double[2 * c];
+        this.maxs = new double[2 * c];
+        Arrays.fill(this.mins, Double.NaN);
+        Arrays.fill(this.maxs, Double.NaN);
+    }
+
+    /**
+     * Returns the number of values in the index.
+     *
+     * @return The number of values.
+     */
+    public int getItemCount() {
+        return this.count;
+    }
+
+    private static double min(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        if (Double.isNaN(b)) {
+            return a;
+        }
+        return a <= b ? a : b;
+    }
+
+    private static double max(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        if (Double.isNaN(b)) {
+            return a;
+        }
+        return a >= b ? a : b;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.count);
+        }
+    }
+
+    /**
+     * Sets the leaf at the specified position and updates its ancestors.
+     *
+     * @param position  the leaf position.
+     * @param value  the value.
+     */
+    private void setLeaf(int position, double value) {
+        int p = this.capacity + position;
+        this.mins[p] = value;
+        this.maxs[p] = value;
+        p >>= 1;
+        while (p > 0) {
+            this.mins[p] = min(this.mins[2 * p], this.mins[2 * p + 1]);
+            this.maxs[p] = max(this.maxs[2 * p], this.maxs[2 * p + 1]);
+            p >>= 1;
+        }
+    }
+
+    /**
+     * Rebuilds the tree from the specified values.
+     *
+     * @param values  the values.
+     * @param n  the number of values to use.
+     */
+    private void rebuild(double[] values, int n) {
+        if (n > this.capacity || this.mins == null) {
+            allocate(n);
+        }
+        else {
+            Arrays.fill(this.mins, Double.NaN);
+            Arrays.fill(this.maxs, Double.NaN);
+        }
+        System.arraycopy(values, 0, this.mins, this.capacity, n);
+        System.arraycopy(values, 0, this.maxs, this.capacity, n);
+        for (int p = this.capacity - 1; p > 0; p--) {
+            this.mins[p] = min(this.mins[2 * p], this.mins[2 * p + 1]);
+            this.maxs[p] = max(this.maxs[2 * p], this.maxs[2 * p + 1]);
+        }
+        this.offset = 0;
+        this.count = n;
+    }
+
+    /**
+     * Returns the values in the index (in order).
+     *
+     * @param extra  the number of extra (unused) slots to allocate at the
+     *     end of the array.
+     *
+     * @return A new array.
+     */
+    private double[] toArray(int extra) {
+        double[] result = new double[this.count + extra];
+        System.arraycopy(this.mins, this.capacity + this.offset, result, 0,
+                this.count);
+        return result;
+    }
+
+    /**
+     * Replaces the contents of the index with the specified values.
+     *
+     * @param values  the values ({@code null} not permitted).
+     * @param n  the number of values to use (from the start of the array).
+     */
+    public void setValues(double[] values, int n) {
+        Args.nullNotPermitted(values, "values");
+        rebuild(values, n);
+    }
+
+    /**
+     * Appends a value to the index.
+     *
+     * @param value  the value ({@code Double.NaN} is ignored by the
+     *     minimum and maximum calculations).
+     */
+    public void add(double value) {
+        if (this.offset + this.count == this.capacity) {
+            // either reclaim the space at the front or grow the tree
+            double[] values = toArray(1);
+            int n = this.count;
+            if (this.offset > 0 && this.offset >= this.capacity / 2) {
+                rebuild(values, n);
+            }
+            else {
+                allocate(2 * this.capacity);
+                rebuild(values, n);
+            }
+        }
+        setLeaf(this.offset + this.count, value);
+        this.count++;
+    }
+
+    /**
+     * Inserts a value at the specified index.  An insertion at the end of
+     * the index is equivalent to {@link #add(double)}, otherwise the index is
+     * rebuilt.
+     *
+     * @param index  the index (in the range {@code 0} to
+     *     {@code getItemCount()}).
+     * @param value  the value.
+     */
+    public void add(int index, double value) {
+        if (index == this.count) {
+            add(value);
+            return;
+        }
+        checkIndex(index);
+        double[] values = toArray(1);
+        System.arraycopy(values, index, values, index + 1,
+                this.count - index);
+        values[index] = value;
+        rebuild(values, this.count + 1);
+    }
+
+    /**
+     * Returns the value at the specified index.
+     *
+     * @param index  the index.
+     *
+     * @return The value.
+     */
+    public double getValue(int index) {
+        checkIndex(index);
+        return this.mins[this.capacity + this.offset + index];
+    }
+
+    /**
+     * Updates the value at the specified index.
+     *
+     * @param index  the index.
+     * @param value  the new value.
+     */
+    public void setValue(int index, double value) {
+        checkIndex(index);
+        setLeaf(this.offset + index, value);
+    }
+
+    /**
+     * Removes the value at the specified index.
+     *
+     * @param index  the index.
+     */
+    public void remove(int index) {
+        checkIndex(index);
+        removeRange(index, index + 1);
+    }
+
+    /**
+     * Removes the values from {@code fromIndex} (inclusive) to
+     * {@code toIndex} (exclusive).  Removing values from the front of the
+     * index takes O(k log n) time for k values, otherwise the index is
+     * rebuilt.
+     *
+     * @param fromIndex  the first index.
+     * @param toIndex  the index after the last value to remove.
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > this.count || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From: " + fromIndex
+                    + ", To: " + toIndex + ", Size: " + this.count);
+        }
+        int n = toIndex - fromIndex;
+        if (n == 0) {
+            return;
+        }
+        if (fromIndex == 0 && n < this.count / 2) {
+            for (int i = 0; i < n; i++) {
+                setLeaf(this.offset + i, Double.NaN);
+            }
+            this.offset += n;
+            this.count -= n;
+        }
+        else {
+            double[] values = toArray(0);
+            System.arraycopy(values, toIndex, values, fromIndex,
+                    this.count - toIndex);
+            rebuild(values, this.count - n);
+        }
+    }
+
+    /**
+     * Removes all values from the index.
+     */
+    public void clear() {
+        Arrays.fill(this.mins, Double.NaN);
+        Arrays.fill(this.maxs, Double.NaN);
+        this.offset = 0;
+        this.count = 0;
+    }
+
+    /**
+     * Returns the minimum value in the index, ignoring {@code Double.NaN}
+     * values.
+     *
+     * @return The minimum value ({@code Double.NaN} if there is no value).
+     */
+    public double getMinimum() {
+        return this.mins[1];
+    }
+
+    /**
+     * Returns the maximum value in the index, ignoring {@code Double.NaN}
+     * values.
+     *
+     * @return The maximum value ({@code Double.NaN} if there is no value).
+     */
+    public double getMaximum() {
+        return this.maxs[1];
+    }
+
+    /**
+     * Returns the minimum of the values from {@code start} to {@code end}
+     * (both inclusive), ignoring {@code Double.NaN} values.
+     *
+     * @param start  the index of the first value.
+     * @param end  the index of the last value.
+     *
+     * @return The minimum value ({@code Double.NaN} if there is no value).
+     */
+    public double getMinimum(int start, int end) {
+        checkRange(start, end);
+        double result = Double.NaN;
+        int lo = this.capacity + this.offset + start;
+        int hi = this.capacity + this.offset + end + 1;
+        while (lo < hi) {
+            if ((lo & 1) == 1) {
+                result = min(result, this.mins[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                result = min(result, this.mins[--hi]);
+            }
+            lo >>= 1;
+            hi >>= 1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the maximum of the values from {@code start} to {@code end}
+     * (both inclusive), ignoring {@code Double.NaN} values.
+     *
+     * @param start  the index of the first value.
+     * @param end  the index of the last value.
+     *
+     * @return The maximum value ({@code Double.NaN} if there is no value).
+     */
+    public double getMaximum(int start, int end) {
+        checkRange(start, end);
+        double result = Double.NaN;
+        int lo = this.capacity + this.offset + start;
+        int hi = this.capacity + this.offset + end + 1;
+        while (lo < hi) {
+            if ((lo & 1) == 1) {
+                result = max(result, this.maxs[lo++]);
+            }
+            if ((hi & 1) == 1) {
+                result = max(result, this.maxs[--hi]);
+            }
+            lo >>= 1;
+            hi >>= 1;
+        }
+        return result;
+    }
+
+    private void checkRange(int start, int end) {
+        checkIndex(start);
+        checkIndex(end);
+        if (end < start) {
+            throw new IllegalArgumentException("Requires start <= end.");
+        }
+    }
+
+    /**
+     * Returns a clone of the index.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException not thrown by this class.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        MinMaxIndex clone = (MinMaxIndex) super.clone();
+        clone.mins = this.mins.clone();
+        clone.maxs = this.maxs.clone();
+        return clone;
+    }
+
+}
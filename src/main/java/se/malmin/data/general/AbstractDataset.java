@@ -73,6 +73,15 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
      */
     private boolean notify;
 
+    /** The number of nested {@link #beginUpdate()} calls still open. */
+    private transient int updateDepth;
+
+    /**
+     * A description of the changes made since the outermost
+     * {@link #beginUpdate()} call ({@code null} if there are none).
+     */
+    private transient DatasetChangeInfo pendingChange;
+
     /**
      * Constructs a dataset. By default, the dataset is assigned to its own
      * group.
@@ -135,6 +144,51 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
         }    
     }
     
+    /**
+     * Starts a block of changes to the dataset.  Until the matching call to
+     * {@link #endUpdate()}, change events are not sent to the registered
+     * listeners, then a single {@link DatasetChangeEvent} describing all the
+     * changes is sent (or no event at all if nothing changed).  Calls can be
+     * nested, only the outermost block sends an event.
+     * <p>
+     * Callers should use a {@code try / finally} block to ensure that
+     * {@link #endUpdate()} is always called.
+     *
+     * @see #endUpdate()
+     */
+    public void beginUpdate() {
+        this.updateDepth++;
+    }
+
+    /**
+     * Ends a block of changes that was started by {@link #beginUpdate()}.
+     *
+     * @throws IllegalStateException if there is no block to end.
+     *
+     * @see #beginUpdate()
+     */
+    public void endUpdate() {
+        if (this.updateDepth == 0) {
+            throw new IllegalStateException("No update in progress.");
+        }
+        this.updateDepth--;
+        if (this.updateDepth == 0 && this.pendingChange != null) {
+            DatasetChangeInfo info = this.pendingChange;
+            this.pendingChange = null;
+            notifyListeners(new DatasetChangeEvent(this, this, info));
+        }
+    }
+
+    /**
+     * Returns {@code true} if a block of changes started by
+     * {@link #beginUpdate()} is in progress.
+     *
+     * @return A boolean.
+     */
+    public boolean isUpdating() {
+        return this.updateDepth > 0;
+    }
+
     /**
      * Registers an object to receive notification of changes to the dataset.
      *
@@ -191,7 +245,22 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
     }
 
     /**
-     * Notifies all registered listeners that the dataset has changed.
+     * Notifies all registered listeners that the dataset has changed, with a
+     * description of the change, provided that the {@code notify} flag has
+     * not been set to {@code false}.
+     *
+     * @param info  a description of the change ({@code null} not permitted).
+     */
+    protected void fireDatasetChanged(DatasetChangeInfo info) {
+        if (this.notify) {
+            notifyListeners(new DatasetChangeEvent(this, this, info));
+        }
+    }
+
+    /**
+     * Notifies all registered listeners that the dataset has changed.  If a
+     * block of changes is in progress (see {@link #beginUpdate()}) the event
+     * is held back and merged with the other changes in the block.
      *
      * @param event  contains information about the event that triggered the
      *               notification.
@@ -200,6 +269,12 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
      * @see #removeChangeListener(DatasetChangeListener)
      */
     protected void notifyListeners(DatasetChangeEvent event) {
+        if (this.updateDepth > 0) {
+            DatasetChangeInfo info = event.getInfo();
+            this.pendingChange = this.pendingChange == null ? info
+                    : this.pendingChange.merge(info);
+            return;
+        }
         Object[] listeners = this.listenerList.getListenerList();
         for (int i = listeners.length - 2; i >= 0; i -= 2) {
             if (listeners[i] == DatasetChangeListener.class) {
@@ -223,6 +298,8 @@ public abstract class AbstractDataset implements Dataset, Cloneable,
     public Object clone() throws CloneNotSupportedException {
         AbstractDataset clone = (AbstractDataset) super.clone();
         clone.listenerList = new EventListenerList();
+        clone.updateDepth = 0;
+        clone.pendingChange = null;
         return clone;
     }
 
@@ -103,7 +103,16 @@ public abstract class AbstractSeriesDataset extends AbstractDataset
      */
     @Override
     public void seriesChanged(SeriesChangeEvent event) {
-        fireDatasetChanged();
+        SeriesChangeInfo info = event.getInfo();
+        if (info.getType() == DatasetChangeType.RESET
+                || !(event.getSource() instanceof Series)) {
+            fireDatasetChanged();
+        }
+        else {
+            Series series = (Series) event.getSource();
+            fireDatasetChanged(new DatasetChangeInfo(info,
+                    indexOf(series.getKey())));
+        }
     }
 
 }
@@ -47,6 +47,8 @@
 
 package se.malmin.data.general;
 
+import se.malmin.chart.util.Args;
+
 /**
  * A change event that encapsulates information about a change to a dataset.
  */
@@ -57,6 +59,9 @@ public class DatasetChangeEvent extends java.util.EventObject {
      */
     private Dataset dataset;
 
+    /** A description of the change. */
+    private DatasetChangeInfo info;
+
     /**
      * Constructs a new event.  The source is either the dataset or the
      * {@link se.malmin.chart.plot.Plot} class.  The dataset can be
@@ -68,8 +73,24 @@ public class DatasetChangeEvent extends java.util.EventObject {
      *                 permitted).
      */
     public DatasetChangeEvent(Object source, Dataset dataset) {
+        this(source, dataset, DatasetChangeInfo.RESET);
+    }
+
+    /**
+     * Constructs a new event with a description of the change.
+     *
+     * @param source  the source of the event.
+     * @param dataset  the dataset that generated the event ({@code null}
+     *                 permitted).
+     * @param info  a description of the change ({@code null} not
+     *              permitted).
+     */
+    public DatasetChangeEvent(Object source, Dataset dataset,
+            DatasetChangeInfo info) {
         super(source);
+        Args.nullNotPermitted(info, "info");
         this.dataset = dataset;
+        this.info = info;
     }
 
     /**
@@ -83,4 +104,14 @@ public class DatasetChangeEvent extends java.util.EventObject {
         return this.dataset;
     }
 
+    /**
+     * Returns a description of the change.  Events that are created without
+     * a description report {@link DatasetChangeInfo#RESET}.
+     *
+     * @return The description (never {@code null}).
+     */
+    public DatasetChangeInfo getInfo() {
+        return this.info;
+    }
+
 }
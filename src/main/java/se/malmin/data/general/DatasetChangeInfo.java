@@ -0,0 +1,324 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * DatasetChangeInfo.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.general;
+
+import java.io.Serializable;
+
+import se.malmin.chart.util.Args;
+
+/**
+ * A description of a change to a dataset, carried by a
+ * {@link DatasetChangeEvent}.  Several changes made within a
+ * {@link AbstractDataset#beginUpdate()} / {@link AbstractDataset#endUpdate()}
+ * block are merged into a single description (see
+ * {@link #merge(DatasetChangeInfo)}).  Instances of this class are immutable.
+ */
+public class DatasetChangeInfo implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -3064735408712536528L;
+
+    /** A change to the entire dataset. */
+    public static final DatasetChangeInfo RESET = new DatasetChangeInfo(
+            DatasetChangeType.RESET, -1, -1, -1);
+
+    /** The type of change. */
+    private final DatasetChangeType type;
+
+    /** The index of the series that changed ({@code -1} for all series). */
+    private final int series;
+
+    /** The index of the first item affected by the change. */
+    private final int firstItem;
+
+    /** The index of the last item affected by the change. */
+    private final int lastItem;
+
+    /**
+     * The number of items removed from the start of the series (for a
+     * {@link DatasetChangeType#SCROLL} change).
+     */
+    private final int removedItemCount;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param type  the type of change ({@code null} not permitted).
+     * @param series  the series index ({@code -1} for all series).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected.
+     *
+     * @see SeriesChangeInfo#SeriesChangeInfo(DatasetChangeType, int, int)
+     */
+    public DatasetChangeInfo(DatasetChangeType type, int series,
+            int firstItem, int lastItem) {
+        this(type, series, firstItem, lastItem, 0);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param type  the type of change ({@code null} not permitted).
+     * @param series  the series index ({@code -1} for all series).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected.
+     * @param removedItemCount  the number of items removed from the start
+     *     of the series (for a {@link DatasetChangeType#SCROLL} change).
+     *
+     * @see SeriesChangeInfo#SeriesChangeInfo(DatasetChangeType, int, int,
+     *     int)
+     */
+    public DatasetChangeInfo(DatasetChangeType type, int series,
+            int firstItem, int lastItem, int removedItemCount) {
+        Args.nullNotPermitted(type, "type");
+        this.type = type;
+        this.series = series;
+        this.firstItem = firstItem;
+        this.lastItem = lastItem;
+        this.removedItemCount = removedItemCount;
+    }
+
+    /**
+     * Creates a new instance for a change to one series in a dataset.
+     *
+     * @param info  the series change info ({@code null} not permitted).
+     * @param series  the series index ({@code -1} if not known).
+     */
+    public DatasetChangeInfo(SeriesChangeInfo info, int series) {
+        this(info.getType(), info.getType() == DatasetChangeType.RESET
+                || series < 0 ? -1 : series, info.getFirstItem(),
+                info.getLastItem(), info.getRemovedItemCount());
+    }
+
+    /**
+     * Returns the type of change.
+     *
+     * @return The type (never {@code null}).
+     */
+    public DatasetChangeType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the index of the series that changed.
+     *
+     * @return The series index ({@code -1} for all series).
+     */
+    public int getSeries() {
+        return this.series;
+    }
+
+    /**
+     * Returns the index of the first item affected by the change.
+     *
+     * @return The item index ({@code -1} for a reset).
+     */
+    public int getFirstItem() {
+        return this.firstItem;
+    }
+
+    /**
+     * Returns the index of the last item affected by the change.
+     *
+     * @return The item index ({@code -1} for a reset).
+     */
+    public int getLastItem() {
+        return this.lastItem;
+    }
+
+    /**
+     * Returns the number of items removed from the start of the series for
+     * a {@link DatasetChangeType#SCROLL} change.
+     *
+     * @return The item count ({@code 0} for other changes).
+     */
+    public int getRemovedItemCount() {
+        return this.removedItemCount;
+    }
+
+    /**
+     * Returns a description that covers this change followed by the
+     * specified change.  Consecutive appends, removals of adjacent items and
+     * updates to the same series are combined, as are updates to items that
+     * were appended earlier in the same block.  Appends combined with
+     * removals from the start of the series are described as
+     * {@link DatasetChangeType#SCROLL}.  Appends to different series are
+     * described as an {@link DatasetChangeType#APPEND} to all series (with
+     * the series and item indices set to {@code -1}).  Any other combination
+     * is described as {@link DatasetChangeType#RESET}.
+     *
+     * @param next  the next change ({@code null} not permitted).
+     *
+     * @return The combined description.
+     */
+    public DatasetChangeInfo merge(DatasetChangeInfo next) {
+        Args.nullNotPermitted(next, "next");
+        if (this.type == DatasetChangeType.APPEND
+                && next.type == DatasetChangeType.APPEND
+                && (this.series != next.series || this.series < 0)) {
+            return new DatasetChangeInfo(DatasetChangeType.APPEND, -1, -1,
+                    -1);
+        }
+        if (this.type == DatasetChangeType.RESET
+                || next.type == DatasetChangeType.RESET
+                || this.series != next.series || this.series < 0) {
+            return RESET;
+        }
+        if (this.type == DatasetChangeType.APPEND
+                || this.type == DatasetChangeType.SCROLL) {
+            if (next.type == DatasetChangeType.APPEND
+                    && next.firstItem == this.lastItem + 1) {
+                return new DatasetChangeInfo(this.type, this.series,
+                        this.firstItem, next.lastItem,
+                        this.removedItemCount);
+            }
+            if (next.type == DatasetChangeType.UPDATE
+                    && next.firstItem >= this.firstItem
+                    && next.lastItem <= this.lastItem) {
+                return this;
+            }
+            if (next.type == DatasetChangeType.REMOVE && next.firstItem == 0
+                    && next.lastItem < this.lastItem) {
+                // the added items move towards the start of the series
+                return scroll(next.lastItem + 1, this.lastItem
+                        - next.lastItem - 1);
+            }
+            if (next.type == DatasetChangeType.SCROLL && next.firstItem
+                    + next.removedItemCount == this.lastItem + 1) {
+                return scroll(next.removedItemCount, next.lastItem);
+            }
+        }
+        else if (this.type == DatasetChangeType.REMOVE
+                && next.type == DatasetChangeType.REMOVE) {
+            if (next.firstItem == this.firstItem) {
+                // the items following the removed items
+                return new DatasetChangeInfo(this.type, this.series,
+                        this.firstItem, this.lastItem + next.lastItem
+                        - next.firstItem + 1);
+            }
+            if (next.lastItem + 1 == this.firstItem) {
+                // the items preceding the removed items
+                return new DatasetChangeInfo(this.type, this.series,
+                        next.firstItem, this.lastItem);
+            }
+        }
+        else if (this.type == DatasetChangeType.REMOVE && this.firstItem == 0
+                && (next.type == DatasetChangeType.APPEND
+                || next.type == DatasetChangeType.SCROLL)) {
+            return new DatasetChangeInfo(DatasetChangeType.SCROLL,
+                    this.series, next.firstItem, next.lastItem,
+                    this.lastItem + 1 + next.removedItemCount);
+        }
+        else if (this.type == DatasetChangeType.UPDATE
+                && next.type == DatasetChangeType.UPDATE) {
+            return new DatasetChangeInfo(this.type, this.series,
+                    Math.min(this.firstItem, next.firstItem),
+                    Math.max(this.lastItem, next.lastItem));
+        }
+        return RESET;
+    }
+
+    /**
+     * Returns a scroll that covers this change (an append or a scroll)
+     * followed by the removal of items from the start of the series.
+     *
+     * @param removed  the number of items removed after this change.
+     * @param lastItem  the index of the last added item after the removal.
+     *
+     * @return The combined description.
+     */
+    private DatasetChangeInfo scroll(int removed, int lastItem) {
+        // the items removed are items that were in the series before this
+        // change, until those run out and the added items are removed
+        return new DatasetChangeInfo(DatasetChangeType.SCROLL, this.series,
+                Math.max(this.firstItem - removed, 0), lastItem,
+                this.removedItemCount + Math.min(removed, this.firstItem));
+    }
+
+    /**
+     * Tests this instance for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof DatasetChangeInfo)) {
+            return false;
+        }
+        DatasetChangeInfo that = (DatasetChangeInfo) obj;
+        return this.type == that.type && this.series == that.series
+                && this.firstItem == that.firstItem
+                && this.lastItem == that.lastItem
+                && this.removedItemCount == that.removedItemCount;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = this.type.hashCode();
+        result = 31 * result + this.series;
+        result = 31 * result + this.firstItem;
+        result = 31 * result + this.lastItem;
+        result = 31 * result + this.removedItemCount;
+        return result;
+    }
+
+    /**
+     * Returns a string representing the object.
+     *
+     * @return The string.
+     */
+    @Override
+    public String toString() {
+        String s = this.type + " series " + this.series + " ["
+                + this.firstItem + ", " + this.lastItem + "]";
+        if (this.type == DatasetChangeType.SCROLL) {
+            s = s + " removed " + this.removedItemCount;
+        }
+        return s;
+    }
+
+}
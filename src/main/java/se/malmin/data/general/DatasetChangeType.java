@@ -0,0 +1,91 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * DatasetChangeType.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.general;
+
+/**
+ * The types of change that can be described by a {@link SeriesChangeInfo} or
+ * a {@link DatasetChangeInfo}.
+ */
+public enum DatasetChangeType {
+
+    /** One or more items were added at the end of a series. */
+    APPEND("DatasetChangeType.APPEND"),
+
+    /** One or more consecutive items were removed from a series. */
+    REMOVE("DatasetChangeType.REMOVE"),
+
+    /**
+     * One or more items were added at the end of a series and one or more
+     * items were removed from the start (for example, to keep a series
+     * within a maximum item count or age).  The item indices refer to the
+     * positions of the added items after the change, and the number of
+     * removed items is given by the removed item count of the change info.
+     */
+    SCROLL("DatasetChangeType.SCROLL"),
+
+    /** The values of one or more items were updated in place. */
+    UPDATE("DatasetChangeType.UPDATE"),
+
+    /**
+     * Any other change (listeners should assume that all the data has
+     * changed).
+     */
+    RESET("DatasetChangeType.RESET");
+
+    /** The name. */
+    private final String name;
+
+    /**
+     * Private constructor.
+     *
+     * @param name  the name.
+     */
+    private DatasetChangeType(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns a string representing the object.
+     *
+     * @return The string.
+     */
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+}
@@ -1338,8 +1338,8 @@ public final class DatasetUtils {
             while (iterator.hasNext()) {
                 Comparable seriesKey = (Comparable) iterator.next();
                 int series = dataset.indexOf(seriesKey);
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
+                int[] items = findItemIndicesForX(dataset, series, xRange);
+                for (int item = items[0]; item <= items[1]; item++) {
                     double x = ohlc.getXValue(series, item);
                     if (xRange.contains(x)) {
                         double lvalue = ohlc.getLowValue(series, item);
@@ -1361,8 +1361,8 @@ public final class DatasetUtils {
             while (iterator.hasNext()) {
                 Comparable seriesKey = (Comparable) iterator.next();
                 int series = dataset.indexOf(seriesKey);
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
+                int[] items = findItemIndicesForX(dataset, series, xRange);
+                for (int item = items[0]; item <= items[1]; item++) {
                     double x = bx.getXValue(series, item);
                     if (xRange.contains(x)) {
                         Number lvalue = bx.getMinRegularValue(series, item);
@@ -1384,8 +1384,8 @@ public final class DatasetUtils {
             while (iterator.hasNext()) {
                 Comparable seriesKey = (Comparable) iterator.next();
                 int series = dataset.indexOf(seriesKey);
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
+                int[] items = findItemIndicesForX(dataset, series, xRange);
+                for (int item = items[0]; item <= items[1]; item++) {
                     double x = ixyd.getXValue(series, item);
                     if (xRange.contains(x)) {
                         double yvalue = ixyd.getYValue(series, item);
@@ -1410,8 +1410,8 @@ public final class DatasetUtils {
             while (iterator.hasNext()) {
                 Comparable seriesKey = (Comparable) iterator.next();
                 int series = dataset.indexOf(seriesKey);
-                int itemCount = dataset.getItemCount(series);
-                for (int item = 0; item < itemCount; item++) {
+                int[] items = findItemIndicesForX(dataset, series, xRange);
+                for (int item = items[0]; item <= items[1]; item++) {
                     double x = dataset.getXValue(series, item);
                     double y = dataset.getYValue(series, item);
                     if (xRange.contains(x)) {
@@ -1430,6 +1430,57 @@ public final class DatasetUtils {
         }
     }
 
+    /**
+     * Returns the indices of the first and last items in a series that
+     * might have x-values within the specified range.  If the dataset
+     * reports that its x-values are in ascending order, the indices are
+     * found by binary search so that the caller only needs to look at the
+     * items in the range.  Otherwise, the indices of the first and last items
+     * in the series are returned.
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param xRange  the x-range ({@code null} not permitted).
+     *
+     * @return An array containing the first and last item indices (if the
+     *     first is greater than the last, there are no items in the range).
+     */
+    public static int[] findItemIndicesForX(XYDataset dataset, int series,
+            Range xRange) {
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(xRange, "xRange");
+        int itemCount = dataset.getItemCount(series);
+        if (itemCount == 0 
+                || dataset.getDomainOrder() != DomainOrder.ASCENDING) {
+            return new int[] {0, itemCount - 1};
+        }
+        // find the first item with x >= the lower bound
+        int low = 0;
+        int high = itemCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dataset.getXValue(series, mid) < xRange.getLowerBound()) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        int first = low;
+        // find the first item with x > the upper bound
+        high = itemCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dataset.getXValue(series, mid) <= xRange.getUpperBound()) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return new int[] {first, low - 1};
+    }
+
     /**
      * Returns the range of z-values in the specified dataset for the
      * data items belonging to the visible series and with x-values in the
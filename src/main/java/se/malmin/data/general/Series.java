@@ -313,6 +313,18 @@ public abstract class Series implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Signals to registered listeners that the series has been changed, with
+     * a description of the change.
+     *
+     * @param info  a description of the change ({@code null} not permitted).
+     */
+    public void fireSeriesChanged(SeriesChangeInfo info) {
+        if (this.notify) {
+            notifyListeners(new SeriesChangeEvent(this, info));
+        }
+    }
+
     /**
      * Sends a change event to all registered listeners.
      *
@@ -44,6 +44,8 @@ package se.malmin.data.general;
 import java.io.Serializable;
 import java.util.EventObject;
 
+import se.malmin.chart.util.Args;
+
 /**
  * An event with details of a change to a series.
  */
@@ -52,13 +54,39 @@ public class SeriesChangeEvent extends EventObject implements Serializable {
     /** For serialization. */
     private static final long serialVersionUID = 1593866085210089052L;
 
+    /** A description of the change. */
+    private SeriesChangeInfo info;
+
     /**
      * Constructs a new event.
      *
      * @param source  the source of the change event.
      */
     public SeriesChangeEvent(Object source) {
+        this(source, SeriesChangeInfo.RESET);
+    }
+
+    /**
+     * Constructs a new event with a description of the change.
+     *
+     * @param source  the source of the change event.
+     * @param info  a description of the change ({@code null} not
+     *     permitted).
+     */
+    public SeriesChangeEvent(Object source, SeriesChangeInfo info) {
         super(source);
+        Args.nullNotPermitted(info, "info");
+        this.info = info;
+    }
+
+    /**
+     * Returns a description of the change.  Events that are created without
+     * a description report {@link SeriesChangeInfo#RESET}.
+     *
+     * @return The description (never {@code null}).
+     */
+    public SeriesChangeInfo getInfo() {
+        return this.info;
     }
 
 }
@@ -0,0 +1,197 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * SeriesChangeInfo.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.general;
+
+import java.io.Serializable;
+
+import se.malmin.chart.util.Args;
+
+/**
+ * A description of a change to a series, carried by a
+ * {@link SeriesChangeEvent}.  Instances of this class are immutable.
+ */
+public class SeriesChangeInfo implements Serializable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4460375916416402937L;
+
+    /** A change to the entire series. */
+    public static final SeriesChangeInfo RESET = new SeriesChangeInfo(
+            DatasetChangeType.RESET, -1, -1);
+
+    /** The type of change. */
+    private final DatasetChangeType type;
+
+    /** The index of the first item affected by the change. */
+    private final int firstItem;
+
+    /** The index of the last item affected by the change. */
+    private final int lastItem;
+
+    /**
+     * The number of items removed from the start of the series (for a
+     * {@link DatasetChangeType#SCROLL} change).
+     */
+    private final int removedItemCount;
+
+    /**
+     * Creates a new instance.  For {@link DatasetChangeType#REMOVE} changes
+     * the item indices refer to the positions of the items before they were
+     * removed, for other changes they refer to the positions after the
+     * change.
+     *
+     * @param type  the type of change ({@code null} not permitted).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected.
+     */
+    public SeriesChangeInfo(DatasetChangeType type, int firstItem,
+            int lastItem) {
+        this(type, firstItem, lastItem, 0);
+    }
+
+    /**
+     * Creates a new instance.  For a {@link DatasetChangeType#SCROLL}
+     * change the item indices refer to the positions of the added items
+     * after the change and {@code removedItemCount} is the number of items
+     * that were removed from the start of the series (so the removed items
+     * had the indices {@code 0} to {@code removedItemCount - 1} before the
+     * change).  Added items that are removed again by the same change are
+     * not counted.
+     *
+     * @param type  the type of change ({@code null} not permitted).
+     * @param firstItem  the index of the first item affected.
+     * @param lastItem  the index of the last item affected.
+     * @param removedItemCount  the number of items removed from the start
+     *     of the series.
+     */
+    public SeriesChangeInfo(DatasetChangeType type, int firstItem,
+            int lastItem, int removedItemCount) {
+        Args.nullNotPermitted(type, "type");
+        this.type = type;
+        this.firstItem = firstItem;
+        this.lastItem = lastItem;
+        this.removedItemCount = removedItemCount;
+    }
+
+    /**
+     * Returns the type of change.
+     *
+     * @return The type (never {@code null}).
+     */
+    public DatasetChangeType getType() {
+        return this.type;
+    }
+
+    /**
+     * Returns the index of the first item affected by the change.
+     *
+     * @return The item index ({@code -1} for a reset).
+     */
+    public int getFirstItem() {
+        return this.firstItem;
+    }
+
+    /**
+     * Returns the index of the last item affected by the change.
+     *
+     * @return The item index ({@code -1} for a reset).
+     */
+    public int getLastItem() {
+        return this.lastItem;
+    }
+
+    /**
+     * Returns the number of items removed from the start of the series for
+     * a {@link DatasetChangeType#SCROLL} change.
+     *
+     * @return The item count ({@code 0} for other changes).
+     */
+    public int getRemovedItemCount() {
+        return this.removedItemCount;
+    }
+
+    /**
+     * Tests this instance for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof SeriesChangeInfo)) {
+            return false;
+        }
+        SeriesChangeInfo that = (SeriesChangeInfo) obj;
+        return this.type == that.type && this.firstItem == that.firstItem
+                && this.lastItem == that.lastItem
+                && this.removedItemCount == that.removedItemCount;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        int result = this.type.hashCode();
+        result = 31 * result + this.firstItem;
+        result = 31 * result + this.lastItem;
+        result = 31 * result + this.removedItemCount;
+        return result;
+    }
+
+    /**
+     * Returns a string representing the object.
+     *
+     * @return The string.
+     */
+    @Override
+    public String toString() {
+        String s = this.type + " [" + this.firstItem + ", " + this.lastItem
+                + "]";
+        if (this.type == DatasetChangeType.SCROLL) {
+            s = s + " removed " + this.removedItemCount;
+        }
+        return s;
+    }
+
+}
@@ -0,0 +1,307 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------
+ * CSVColumns.java
+ * ---------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.io;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import se.malmin.chart.util.Args;
+import se.malmin.data.time.FixedMillisecond;
+import se.malmin.data.time.RegularTimePeriod;
+import se.malmin.data.time.TimeSeries;
+import se.malmin.data.time.TimeSeriesCollection;
+import se.malmin.data.xy.ColumnarXYSeries;
+import se.malmin.data.xy.DefaultXYDataset;
+import se.malmin.data.xy.XYSeriesCollection;
+
+/**
+ * The columns read from a CSV file by a {@link CSVLoader}: one column of
+ * x-values (numbers, or timestamps in milliseconds since
+ * 1970-01-01T00:00:00Z) and one or more columns of y-values, stored in
+ * {@code double} arrays, together with the throughput of the load.  Missing
+ * y-values are stored as {@code Double.NaN}.  Instances of this class are
+ * created by the loader, the arrays are not copied.
+ */
+public final class CSVColumns {
+
+    /**
+     * The order of the time periods in a series (the periods in a series
+     * all have the same class, so they are ordered by their start times).
+     */
+    private static final Comparator<RegularTimePeriod> PERIOD_ORDER
+            = Comparator.comparingLong(RegularTimePeriod::getFirstMillisecond);
+
+    /** The key for the x-values. */
+    private final String xKey;
+
+    /** The x-values. */
+    private final double[] xValues;
+
+    /** The series keys (one per y-column). */
+    private final String[] seriesKeys;
+
+    /** The y-values (one array per series). */
+    private final double[][] yValues;
+
+    /** The number of bytes read. */
+    private final long byteCount;
+
+    /** The time taken to load the data (in nanoseconds). */
+    private final long elapsedTime;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param xKey  the key for the x-values.
+     * @param xValues  the x-values.
+     * @param seriesKeys  the series keys.
+     * @param yValues  the y-values.
+     * @param byteCount  the number of bytes read.
+     * @param elapsedTime  the elapsed time (in nanoseconds).
+     */
+    CSVColumns(String xKey, double[] xValues, String[] seriesKeys,
+            double[][] yValues, long byteCount, long elapsedTime) {
+        this.xKey = xKey;
+        this.xValues = xValues;
+        this.seriesKeys = seriesKeys;
+        this.yValues = yValues;
+        this.byteCount = byteCount;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * Returns the key (column name) for the x-values.
+     *
+     * @return The key (never {@code null}).
+     */
+    public String getXKey() {
+        return this.xKey;
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return The row count.
+     */
+    public int getRowCount() {
+        return this.xValues.length;
+    }
+
+    /**
+     * Returns the number of y-columns (series).
+     *
+     * @return The series count.
+     */
+    public int getSeriesCount() {
+        return this.seriesKeys.length;
+    }
+
+    /**
+     * Returns the key (column name) for a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The key (never {@code null}).
+     */
+    public String getSeriesKey(int series) {
+        return this.seriesKeys[series];
+    }
+
+    /**
+     * Returns the x-values.  The array is not copied, so it should not be
+     * modified.
+     *
+     * @return The x-values.
+     */
+    public double[] getXValues() {
+        return this.xValues;
+    }
+
+    /**
+     * Returns the y-values for a series.  The array is not copied, so it
+     * should not be modified.
+     *
+     * @param series  the series index.
+     *
+     * @return The y-values.
+     */
+    public double[] getYValues(int series) {
+        return this.yValues[series];
+    }
+
+    /**
+     * Returns the number of bytes read.
+     *
+     * @return The byte count.
+     */
+    public long getByteCount() {
+        return this.byteCount;
+    }
+
+    /**
+     * Returns the time taken to read and parse the data, in nanoseconds.
+     *
+     * @return The elapsed time.
+     */
+    public long getElapsedTime() {
+        return this.elapsedTime;
+    }
+
+    /**
+     * Returns the number of rows read per second.
+     *
+     * @return The throughput.
+     */
+    public double getRowsPerSecond() {
+        return getRowCount() / (Math.max(1L, this.elapsedTime) / 1.0e9);
+    }
+
+    /**
+     * Returns the number of bytes read per second.
+     *
+     * @return The throughput.
+     */
+    public double getBytesPerSecond() {
+        return this.byteCount / (Math.max(1L, this.elapsedTime) / 1.0e9);
+    }
+
+    /**
+     * Creates a {@link DefaultXYDataset} with one series per y-column.  The
+     * series share the x-value array and use the column arrays directly.
+     *
+     * @return A new dataset.
+     */
+    public DefaultXYDataset createXYDataset() {
+        DefaultXYDataset dataset = new DefaultXYDataset();
+        for (int s = 0; s < this.seriesKeys.length; s++) {
+            dataset.addSeries(this.seriesKeys[s], new double[][] {
+                this.xValues, this.yValues[s]});
+        }
+        return dataset;
+    }
+
+    /**
+     * Creates an {@link XYSeriesCollection} with one
+     * {@link ColumnarXYSeries} per y-column, with the items in file order.
+     *
+     * @return A new collection.
+     */
+    public XYSeriesCollection createXYSeriesCollection() {
+        XYSeriesCollection collection = new XYSeriesCollection();
+        int n = Math.max(1, this.xValues.length);
+        for (int s = 0; s < this.seriesKeys.length; s++) {
+            ColumnarXYSeries series = new ColumnarXYSeries(
+                    this.seriesKeys[s], false, true, n);
+            series.add(this.xValues, this.yValues[s]);
+            collection.addSeries(series);
+        }
+        return collection;
+    }
+
+    /**
+     * Creates a {@link TimeSeriesCollection} with one series per y-column,
+     * where the x-values are timestamps and each item has a
+     * {@link FixedMillisecond} period.
+     *
+     * @return A new collection.
+     */
+    public TimeSeriesCollection createTimeSeriesCollection() {
+        return createTimeSeriesCollection(FixedMillisecond.class,
+                TimeZone.getDefault(), Locale.getDefault());
+    }
+
+    /**
+     * Creates a {@link TimeSeriesCollection} with one series per y-column,
+     * where the x-values are timestamps converted to time periods of the
+     * specified class.  Where several rows fall in the same time period, the
+     * last value is used.
+     *
+     * @param periodClass  the time period class ({@code null} not
+     *     permitted).
+     * @param zone  the time zone for the periods ({@code null} not
+     *     permitted).
+     * @param locale  the locale for the periods ({@code null} not
+     *     permitted).
+     *
+     * @return A new collection.
+     */
+    public TimeSeriesCollection createTimeSeriesCollection(
+            Class<? extends RegularTimePeriod> periodClass, TimeZone zone,
+            Locale locale) {
+        Args.nullNotPermitted(periodClass, "periodClass");
+        Args.nullNotPermitted(zone, "zone");
+        Args.nullNotPermitted(locale, "locale");
+        int n = this.xValues.length;
+        RegularTimePeriod[] periods = new RegularTimePeriod[n];
+        for (int i = 0; i < n; i++) {
+            long ms = (long) this.xValues[i];
+            if (FixedMillisecond.class.equals(periodClass)) {
+                periods[i] = new FixedMillisecond(ms);
+            }
+            else if (i > 0 && periods[i - 1].getFirstMillisecond() <= ms
+                    && ms <= periods[i - 1].getLastMillisecond()) {
+                periods[i] = periods[i - 1];
+            }
+            else {
+                periods[i] = RegularTimePeriod.createInstance(periodClass,
+                        new Date(ms), zone, locale);
+            }
+        }
+        TimeSeriesCollection collection = new TimeSeriesCollection(zone);
+        for (int s = 0; s < this.seriesKeys.length; s++) {
+            TimeSeries series = new TimeSeries(this.seriesKeys[s]);
+            double[] y = this.yValues[s];
+            RegularTimePeriod last = null;
+            for (int i = 0; i < n; i++) {
+                // the series has no listeners yet, so appending in order
+                // is cheap and anything else is an add or update
+                if (last == null || PERIOD_ORDER.compare(periods[i], last) > 0) {
+                    series.add(periods[i], y[i], false);
+                    last = periods[i];
+                }
+                else {
+                    series.addOrUpdate(periods[i], y[i]);
+                }
+            }
+            collection.addSeries(series);
+        }
+        return collection;
+    }
+
+}
@@ -0,0 +1,1282 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------
+ * CSVLoader.java
+ * --------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.io;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+import se.malmin.chart.util.Args;
+
+/**
+ * Reads numeric and timestamp columns from a CSV file directly into
+ * {@code double} arrays (see {@link CSVColumns}), from which an
+ * {@code XYSeriesCollection}, a {@code TimeSeriesCollection} or a
+ * {@code DefaultXYDataset} can be created.  The loader is intended for
+ * large files:
+ * <ul>
+ * <li>fields are parsed from the bytes of the file, without creating a
+ * {@code String} for each field (the file must use an ASCII compatible
+ * encoding such as UTF-8);</li>
+ * <li>a large file is split into chunks (at line breaks) that are parsed in
+ * parallel on the common fork-join pool;</li>
+ * <li>only the mapped columns are parsed.</li>
+ * </ul>
+ * One column provides the x-values (numbers, or timestamps if a
+ * {@link TimestampFormat} is set) and each of the y-columns provides a
+ * series.  By default the first column is the x-column and all other
+ * columns are y-columns.  Empty y-values are read as {@code Double.NaN},
+ * and rows with an empty x-value are skipped.  Fields may be enclosed in
+ * the text delimiter, but line breaks inside fields are not supported.
+ */
+public class CSVLoader {
+
+    /** The size of the read buffer. */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /** The default minimum size (in bytes) of a chunk for parallel parsing. */
+    public static final long DEFAULT_MIN_CHUNK_SIZE = 8L << 20;
+
+    /** The exact powers of ten in double precision. */
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4,
+            1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+            1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /** The number of milliseconds in a day. */
+    private static final long MILLIS_PER_DAY = 24L * 60L * 60L * 1000L;
+
+    /** The field delimiter. */
+    private final byte fieldDelimiter;
+
+    /** The text delimiter. */
+    private final byte textDelimiter;
+
+    /** Does the first line contain the column names? */
+    private boolean headerRow;
+
+    /** The index of the x-column (used if xColumnName is null). */
+    private int xColumn;
+
+    /** The name of the x-column ({@code null} permitted). */
+    private String xColumnName;
+
+    /** The indices of the y-columns ({@code null} permitted). */
+    private int[] yColumns;
+
+    /** The names of the y-columns ({@code null} permitted). */
+    private String[] yColumnNames;
+
+    /** The timestamp format for the x-column ({@code null} for numbers). */
+    private TimestampFormat timestampFormat;
+
+    /** The time zone for ISO-8601 timestamps without a UTC offset. */
+    private TimeZone timeZone;
+
+    /** Parse large files in parallel? */
+    private boolean parallel;
+
+    /** The minimum size (in bytes) of a chunk for parallel parsing. */
+    private long minChunkSize;
+
+    /**
+     * Creates a new loader where the field delimiter is a comma, and the
+     * text delimiter is a double-quote.
+     */
+    public CSVLoader() {
+        this(',', '"');
+    }
+
+    /**
+     * Creates a new loader with the specified field and text delimiters.
+     *
+     * @param fieldDelimiter  the field delimiter (an ASCII character,
+     *     usually a comma, semi-colon, colon, tab or space).
+     * @param textDelimiter  the text delimiter (an ASCII character, usually
+     *     a single or double quote).
+     */
+    public CSVLoader(char fieldDelimiter, char textDelimiter) {
+        if (fieldDelimiter > 127 || textDelimiter > 127
+                || fieldDelimiter == '\n' || textDelimiter == '\n'
+                || fieldDelimiter == textDelimiter) {
+            throw new IllegalArgumentException(
+                    "The delimiters must be distinct ASCII characters.");
+        }
+        this.fieldDelimiter = (byte) fieldDelimiter;
+        this.textDelimiter = (byte) textDelimiter;
+        this.headerRow = true;
+        this.xColumn = 0;
+        this.timeZone = TimeZone.getDefault();
+        this.parallel = true;
+        this.minChunkSize = DEFAULT_MIN_CHUNK_SIZE;
+    }
+
+    /**
+     * Returns the flag that indicates whether the first line of the file
+     * contains the column names.
+     *
+     * @return A boolean.
+     */
+    public boolean isHeaderRow() {
+        return this.headerRow;
+    }
+
+    /**
+     * Sets the flag that indicates whether the first line of the file
+     * contains the column names (the default is {@code true}).  Without a
+     * header row, the series keys are "Column 1", "Column 2" and so on.
+     *
+     * @param headerRow  the new flag value.
+     */
+    public void setHeaderRow(boolean headerRow) {
+        this.headerRow = headerRow;
+    }
+
+    /**
+     * Sets the x-column.
+     *
+     * @param column  the column index (zero-based).
+     */
+    public void setXColumn(int column) {
+        Args.requireNonNegative(column, "column");
+        this.xColumn = column;
+        this.xColumnName = null;
+    }
+
+    /**
+     * Sets the x-column by name (this requires a header row).
+     *
+     * @param name  the column name ({@code null} not permitted).
+     */
+    public void setXColumn(String name) {
+        Args.nullNotPermitted(name, "name");
+        this.xColumnName = name;
+    }
+
+    /**
+     * Sets the y-columns.
+     *
+     * @param columns  the column indices (zero-based, {@code null} to use
+     *     all the columns other than the x-column).
+     */
+    public void setYColumns(int... columns) {
+        if (columns != null) {
+            for (int c : columns) {
+                Args.requireNonNegative(c, "column");
+            }
+        }
+        this.yColumns = columns == null ? null : columns.clone();
+        this.yColumnNames = null;
+    }
+
+    /**
+     * Sets the y-columns by name (this requires a header row).
+     *
+     * @param names  the column names ({@code null} to use all the columns
+     *     other than the x-column).
+     */
+    public void setYColumns(String... names) {
+        this.yColumnNames = names == null ? null : names.clone();
+        this.yColumns = null;
+    }
+
+    /**
+     * Returns the format of the timestamps in the x-column.
+     *
+     * @return The format ({@code null} if the x-values are numbers).
+     */
+    public TimestampFormat getTimestampFormat() {
+        return this.timestampFormat;
+    }
+
+    /**
+     * Sets the format of the timestamps in the x-column.  Timestamps are
+     * converted to milliseconds since 1970-01-01T00:00:00Z.
+     *
+     * @param format  the format ({@code null} if the x-values are numbers).
+     */
+    public void setTimestampFormat(TimestampFormat format) {
+        this.timestampFormat = format;
+    }
+
+    /**
+     * Returns the time zone for ISO-8601 timestamps without a UTC offset.
+     *
+     * @return The time zone (never {@code null}).
+     */
+    public TimeZone getTimeZone() {
+        return this.timeZone;
+    }
+
+    /**
+     * Sets the time zone for ISO-8601 timestamps without a UTC offset (the
+     * default is the JVM's default time zone).
+     *
+     * @param zone  the time zone ({@code null} not permitted).
+     */
+    public void setTimeZone(TimeZone zone) {
+        Args.nullNotPermitted(zone, "zone");
+        this.timeZone = zone;
+    }
+
+    /**
+     * Returns the flag that controls whether large files are parsed in
+     * parallel.
+     *
+     * @return A boolean.
+     */
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    /**
+     * Sets the flag that controls whether large files are parsed in
+     * parallel (the default is {@code true}).
+     *
+     * @param parallel  the new flag value.
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Returns the minimum size of a chunk when a file is parsed in parallel.
+     *
+     * @return The size (in bytes).
+     */
+    public long getMinChunkSize() {
+        return this.minChunkSize;
+    }
+
+    /**
+     * Sets the minimum size of a chunk when a file is parsed in parallel
+     * (the default is {@link #DEFAULT_MIN_CHUNK_SIZE}).  A file is only split
+     * if it is at least twice this size.
+     *
+     * @param size  the size in bytes (must be greater than zero).
+     */
+    public void setMinChunkSize(long size) {
+        if (size <= 0L) {
+            throw new IllegalArgumentException(
+                    "Require 'size' (" + size + ") to be positive.");
+        }
+        this.minChunkSize = size;
+    }
+
+    /**
+     * Reads the mapped columns from a file, parsing chunks of a large file
+     * in parallel.
+     *
+     * @param file  the file ({@code null} not permitted).
+     *
+     * @return The columns.
+     *
+     * @throws IOException if there is an I/O problem or a value cannot be
+     *     parsed.
+     */
+    public CSVColumns load(Path file) throws IOException {
+        Args.nullNotPermitted(file, "file");
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            long size = channel.size();
+            InputStream in = new BufferedInputStream(new ChannelInputStream(
+                    channel, 0L, size), 8192);
+            FirstLine first = readFirstLine(in);
+            if (first == null) {
+                return createColumns(null, new Parser[0], 0L, start);
+            }
+            Layout layout = createLayout(first);
+            long dataStart = this.headerRow ? first.length : first.bomLength;
+            long[] bounds = split(channel, dataStart, size);
+            int chunks = bounds.length - 1;
+            Parser[] parsers = new Parser[chunks];
+            if (chunks == 1) {
+                parsers[0] = new Parser(layout, dataStart);
+                parsers[0].parse(new ChannelInputStream(channel, dataStart,
+                        size));
+            }
+            else {
+                List<CompletableFuture<Parser>> tasks = new ArrayList<>();
+                for (int c = 0; c < chunks; c++) {
+                    long from = bounds[c];
+                    long to = bounds[c + 1];
+                    tasks.add(CompletableFuture.supplyAsync(() -> {
+                        Parser parser = new Parser(layout, from);
+                        try {
+                            parser.parse(new ChannelInputStream(channel,
+                                    from, to));
+                        }
+                        catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        return parser;
+                    }));
+                }
+                for (int c = 0; c < chunks; c++) {
+                    parsers[c] = join(tasks.get(c));
+                }
+            }
+            return createColumns(layout, parsers, size, start);
+        }
+    }
+
+    /**
+     * Reads the mapped columns from an input stream (sequentially).  The
+     * stream is not closed.
+     *
+     * @param in  the input stream ({@code null} not permitted).
+     *
+     * @return The columns.
+     *
+     * @throws IOException if there is an I/O problem or a value cannot be
+     *     parsed.
+     */
+    public CSVColumns load(InputStream in) throws IOException {
+        Args.nullNotPermitted(in, "in");
+        long start = System.nanoTime();
+        BufferedInputStream bin = new BufferedInputStream(in, 8192);
+        FirstLine first = readFirstLine(bin);
+        if (first == null) {
+            return createColumns(null, new Parser[0], 0L, start);
+        }
+        Layout layout = createLayout(first);
+        Parser parser = new Parser(layout, first.bomLength);
+        if (!this.headerRow) {
+            // the first line is data
+            parser.parse(new ByteArrayInputStream(first.bytes,
+                    first.bomLength, first.bytes.length - first.bomLength));
+        }
+        parser.position = first.length;
+        long n = parser.byteCount;
+        parser.parse(bin);
+        return createColumns(layout, new Parser[] {parser},
+                first.length + parser.byteCount - n, start);
+    }
+
+    /**
+     * Waits for a task and returns the result, rethrowing the exception
+     * from the task.
+     *
+     * @param task  the task.
+     *
+     * @return The result.
+     *
+     * @throws IOException if the task failed with an I/O problem.
+     */
+    private static Parser join(CompletableFuture<Parser> task)
+            throws IOException {
+        try {
+            return task.join();
+        }
+        catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Combines the columns from the parsers.
+     *
+     * @param layout  the layout ({@code null} for an empty file).
+     * @param parsers  the parsers (in file order).
+     * @param byteCount  the number of bytes read.
+     * @param start  the start time (from {@code System.nanoTime()}).
+     *
+     * @return The columns.
+     */
+    private CSVColumns createColumns(Layout layout, Parser[] parsers,
+            long byteCount, long start) {
+        if (layout == null) {
+            return new CSVColumns("x", new double[0], new String[0],
+                    new double[0][], byteCount, System.nanoTime() - start);
+        }
+        long total = 0;
+        for (Parser p : parsers) {
+            total += p.size;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many rows: " + total);
+        }
+        int slots = layout.keys.length;
+        double[][] columns = new double[slots][];
+        if (parsers.length == 1 && parsers[0].size
+                == parsers[0].columns[0].length) {
+            columns = parsers[0].columns;
+        }
+        else {
+            for (int s = 0; s < slots; s++) {
+                columns[s] = new double[(int) total];
+                int offset = 0;
+                for (Parser p : parsers) {
+                    System.arraycopy(p.columns[s], 0, columns[s], offset,
+                            p.size);
+                    offset += p.size;
+                }
+            }
+        }
+        return new CSVColumns(layout.keys[0], columns[0],
+                Arrays.copyOfRange(layout.keys, 1, slots),
+                Arrays.copyOfRange(columns, 1, slots), byteCount,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Splits the data into chunks that start at the beginning of a line.
+     *
+     * @param channel  the file channel.
+     * @param dataStart  the position of the first data line.
+     * @param size  the file size.
+     *
+     * @return The chunk boundaries (the first is {@code dataStart} and the
+     *     last is {@code size}).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private long[] split(FileChannel channel, long dataStart, long size)
+            throws IOException {
+        int threads = ForkJoinPool.getCommonPoolParallelism();
+        long length = size - dataStart;
+        int chunks = 1;
+        if (this.parallel) {
+            chunks = (int) Math.min(4L * Math.max(threads, 1),
+                    length / this.minChunkSize);
+            chunks = Math.max(1, chunks);
+        }
+        long[] bounds = new long[chunks + 1];
+        bounds[0] = dataStart;
+        int n = 1;
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        for (int c = 1; c < chunks; c++) {
+            long p = Math.max(bounds[n - 1], dataStart + length * c / chunks);
+            long boundary = size;
+            while (p < size) {
+                buffer.clear();
+                int r = channel.read(buffer, p);
+                if (r <= 0) {
+                    break;
+                }
+                byte[] b = buffer.array();
+                int i = 0;
+                while (i < r && b[i] != '\n') {
+                    i++;
+                }
+                if (i < r) {
+                    boundary = p + i + 1;
+                    break;
+                }
+                p += r;
+            }
+            if (boundary > bounds[n - 1] && boundary < size) {
+                bounds[n++] = boundary;
+            }
+        }
+        bounds[n++] = size;
+        return Arrays.copyOf(bounds, n);
+    }
+
+    /**
+     * The first line of a file.
+     */
+    private static final class FirstLine {
+
+        /** The bytes of the line (excluding the line break). */
+        final byte[] bytes;
+
+        /** The number of bytes consumed (including the line break). */
+        final long length;
+
+        /** The length of the byte order mark (0 or 3). */
+        final int bomLength;
+
+        FirstLine(byte[] bytes, long length) {
+            this.bytes = bytes;
+            this.length = length;
+            this.bomLength = bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF
+                    && (bytes[1] & 0xFF) == 0xBB
+                    && (bytes[2] & 0xFF) == 0xBF ? 3 : 0;
+        }
+
+    }
+
+    /**
+     * Reads the first line from a (buffered) input stream.
+     *
+     * @param in  the input stream.
+     *
+     * @return The line, or {@code null} if the stream is empty.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static FirstLine readFirstLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        long length = 0;
+        int b = in.read();
+        if (b < 0) {
+            return null;
+        }
+        while (b >= 0) {
+            length++;
+            if (b == '\n') {
+                break;
+            }
+            line.write(b);
+            b = in.read();
+        }
+        return new FirstLine(line.toByteArray(), length);
+    }
+
+    /**
+     * Splits a line into fields, removing the text delimiters.
+     *
+     * @param line  the line.
+     *
+     * @return The fields.
+     */
+    private List<String> splitLine(String line) {
+        List<String> fields = new ArrayList<>();
+        char delimiter = (char) this.fieldDelimiter;
+        char quote = (char) this.textDelimiter;
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == quote) {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == quote) {
+                        field.append(quote);
+                        i++;
+                    }
+                    else {
+                        quoted = false;
+                    }
+                }
+                else {
+                    field.append(c);
+                }
+            }
+            else if (c == quote && field.toString().trim().isEmpty()) {
+                field.setLength(0);
+                quoted = true;
+            }
+            else if (c == delimiter) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            }
+            else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    /**
+     * Finds a column by name.
+     *
+     * @param names  the column names.
+     * @param name  the name to find.
+     *
+     * @return The column index.
+     */
+    private int findColumn(List<String> names, String name) {
+        if (!this.headerRow) {
+            throw new IllegalStateException(
+                    "Columns can only be found by name with a header row.");
+        }
+        int index = names.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Column '" + name
+                    + "' not found.");
+        }
+        return index;
+    }
+
+    /**
+     * Works out the mapping from columns to x- and y-values.
+     *
+     * @param first  the first line of the file.
+     *
+     * @return The layout.
+     */
+    private Layout createLayout(FirstLine first) {
+        String line = new String(first.bytes, first.bomLength,
+                first.bytes.length - first.bomLength,
+                StandardCharsets.UTF_8);
+        List<String> names = splitLine(line);
+        int x = this.xColumnName != null
+                ? findColumn(names, this.xColumnName) : this.xColumn;
+        int[] ys;
+        if (this.yColumnNames != null) {
+            ys = new int[this.yColumnNames.length];
+            for (int i = 0; i < ys.length; i++) {
+                ys[i] = findColumn(names, this.yColumnNames[i]);
+            }
+        }
+        else if (this.yColumns != null) {
+            ys = this.yColumns.clone();
+        }
+        else {
+            ys = new int[Math.max(0, names.size() - (x < names.size()
+                    ? 1 : 0))];
+            for (int c = 0, i = 0; c < names.size(); c++) {
+                if (c != x) {
+                    ys[i++] = c;
+                }
+            }
+        }
+        int max = x;
+        for (int y : ys) {
+            max = Math.max(max, y);
+        }
+        int[] map = new int[max + 1];
+        Arrays.fill(map, -1);
+        map[x] = 0;
+        String[] keys = new String[ys.length + 1];
+        keys[0] = columnKey(names, x);
+        for (int i = 0; i < ys.length; i++) {
+            if (map[ys[i]] >= 0) {
+                throw new IllegalArgumentException("Column " + ys[i]
+                        + " is mapped more than once.");
+            }
+            map[ys[i]] = i + 1;
+            keys[i + 1] = columnKey(names, ys[i]);
+        }
+        TimeZone zone = (TimeZone) this.timeZone.clone();
+        return new Layout(map, keys, this.timestampFormat, zone);
+    }
+
+    /**
+     * Returns the key for a column.
+     *
+     * @param names  the names from the first line.
+     * @param column  the column index.
+     *
+     * @return The key.
+     */
+    private String columnKey(List<String> names, int column) {
+        if (this.headerRow && column < names.size()
+                && !names.get(column).isEmpty()) {
+            return names.get(column);
+        }
+        return "Column " + (column + 1);
+    }
+
+    /**
+     * The mapping from columns to values (slot 0 is the x-value, slots 1 to
+     * n are the y-values).
+     */
+    private static final class Layout {
+
+        /** The slot for each column (-1 if the column is not read). */
+        final int[] map;
+
+        /** The key for each slot. */
+        final String[] keys;
+
+        /** The timestamp format for the x-values (or {@code null}). */
+        final TimestampFormat format;
+
+        /** The time zone (a clone, each parser clones it again). */
+        final TimeZone zone;
+
+        Layout(int[] map, String[] keys, TimestampFormat format,
+                TimeZone zone) {
+            this.map = map;
+            this.keys = keys;
+            this.format = format;
+            this.zone = zone;
+        }
+
+    }
+
+    /**
+     * Parses lines into columns.  Each chunk of a file has its own parser.
+     */
+    private final class Parser {
+
+        /** The layout. */
+        private final int[] map;
+
+        /** The timestamp format for the x-values (or {@code null}). */
+        private final TimestampFormat format;
+
+        /** The time zone. */
+        private final TimeZone zone;
+
+        /** The columns (one per slot). */
+        double[][] columns;
+
+        /** The number of rows. */
+        int size;
+
+        /** The number of bytes read. */
+        long byteCount;
+
+        /** The file position of the first byte in the buffer. */
+        long position;
+
+        Parser(Layout layout, long position) {
+            this.map = layout.map;
+            this.format = layout.format;
+            this.zone = (TimeZone) layout.zone.clone();
+            this.columns = new double[layout.keys.length][1024];
+            this.position = position;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > this.columns[0].length) {
+                int n = (int) Math.min(Integer.MAX_VALUE - 8,
+                        Math.max(capacity, this.columns[0].length * 3L / 2));
+                for (int s = 0; s < this.columns.length; s++) {
+                    this.columns[s] = Arrays.copyOf(this.columns[s], n);
+                }
+            }
+        }
+
+        /**
+         * Parses all the lines from an input stream.
+         *
+         * @param in  the input stream.
+         *
+         * @throws IOException if there is an I/O problem or a value cannot
+         *     be parsed.
+         */
+        void parse(InputStream in) throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int length = 0;
+            boolean eof = false;
+            while (!eof) {
+                int n = in.read(buffer, length, buffer.length - length);
+                if (n < 0) {
+                    eof = true;
+                }
+                else {
+                    length += n;
+                    this.byteCount += n;
+                }
+                int pos = 0;
+                while (pos < length) {
+                    int next = parseRow(buffer, pos, length, eof);
+                    if (next < 0) {
+                        break;
+                    }
+                    pos = next;
+                }
+                // keep the incomplete line, growing the buffer if the line
+                // fills it
+                System.arraycopy(buffer, pos, buffer, 0, length - pos);
+                this.position += pos;
+                length -= pos;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+        }
+
+        /**
+         * Parses one row.
+         *
+         * @param b  the buffer.
+         * @param pos  the start of the row.
+         * @param limit  the end of the data in the buffer.
+         * @param eof  is the end of the data the end of the input?
+         *
+         * @return The start of the next row, or -1 if the row is incomplete.
+         *
+         * @throws IOException if a value cannot be parsed.
+         */
+        private int parseRow(byte[] b, int pos, int limit, boolean eof)
+                throws IOException {
+            ensureCapacity(this.size + 1);
+            double[][] cols = this.columns;
+            int row = this.size;
+            for (int s = 0; s < cols.length; s++) {
+                cols[s][row] = Double.NaN;
+            }
+            byte delimiter = CSVLoader.this.fieldDelimiter;
+            byte quote = CSVLoader.this.textDelimiter;
+            int[] map = this.map;
+            int field = 0;
+            while (true) {
+                if (field >= map.length) {
+                    // skip the columns that are not read
+                    while (pos < limit && b[pos] != '\n') {
+                        pos++;
+                    }
+                    if (pos < limit) {
+                        pos++;
+                    }
+                    else if (!eof) {
+                        return -1;
+                    }
+                    break;
+                }
+                int start = pos;
+                while (start < limit && b[start] == ' ') {
+                    start++;
+                }
+                int fs;
+                int fe;
+                if (start < limit && b[start] == quote) {
+                    fs = start + 1;
+                    pos = fs;
+                    while (true) {
+                        if (pos + 1 >= limit && !eof) {
+                            return -1;
+                        }
+                        if (pos >= limit) {
+                            break;
+                        }
+                        if (b[pos] == quote) {
+                            if (pos + 1 < limit && b[pos + 1] == quote) {
+                                pos += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        pos++;
+                    }
+                    fe = pos;
+                    while (pos < limit && b[pos] != delimiter
+                            && b[pos] != '\n') {
+                        pos++;
+                    }
+                }
+                else {
+                    fs = pos;
+                    while (pos < limit && b[pos] != delimiter
+                            && b[pos] != '\n') {
+                        pos++;
+                    }
+                    fe = pos;
+                }
+                if (pos >= limit && !eof) {
+                    return -1;
+                }
+                int slot = map[field];
+                if (slot >= 0) {
+                    cols[slot][row] = slot == 0 && this.format != null
+                            ? parseTimestamp(b, fs, fe)
+                            : parseNumber(b, fs, fe);
+                }
+                field++;
+                if (pos >= limit) {
+                    break;
+                }
+                if (b[pos] == '\n') {
+                    pos++;
+                    break;
+                }
+                pos++;
+            }
+            if (!Double.isNaN(cols[0][row])) {
+                this.size++;
+            }
+            return pos;
+        }
+
+        /**
+         * Creates an exception for a value that cannot be parsed.
+         *
+         * @param type  the expected type.
+         * @param b  the buffer.
+         * @param start  the start of the value.
+         * @param end  the end of the value.
+         *
+         * @return The exception.
+         */
+        private IOException invalid(String type, byte[] b, int start,
+                int end) {
+            return new IOException("Invalid " + type + " '" + new String(b,
+                    start, Math.min(end - start, 64),
+                    StandardCharsets.UTF_8) + "' at byte " + (this.position
+                    + start) + ".");
+        }
+
+        /**
+         * Parses a number.  Most decimal numbers with up to 18 significant
+         * digits are converted directly, anything else is passed to
+         * {@link Double#parseDouble(String)}.
+         *
+         * @param b  the buffer.
+         * @param start  the start of the field.
+         * @param end  the end of the field.
+         *
+         * @return The number ({@code Double.NaN} for an empty field).
+         *
+         * @throws IOException if the field is not a number.
+         */
+        private double parseNumber(byte[] b, int start, int end)
+                throws IOException {
+            while (start < end && (b[start] & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (b[end - 1] & 0xFF) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                return Double.NaN;
+            }
+            int i = start;
+            boolean negative = false;
+            if (b[i] == '-' || b[i] == '+') {
+                negative = b[i] == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean any = false;
+            boolean exact = true;
+            while (i < end && b[i] >= '0' && b[i] <= '9') {
+                if (mantissa != 0 || b[i] != '0') {
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + (b[i] - '0');
+                        digits++;
+                    }
+                    else {
+                        exact = false;
+                    }
+                }
+                any = true;
+                i++;
+            }
+            if (i < end && b[i] == '.') {
+                i++;
+                while (i < end && b[i] >= '0' && b[i] <= '9') {
+                    if (mantissa != 0 || b[i] != '0') {
+                        if (digits < 18) {
+                            mantissa = mantissa * 10 + (b[i] - '0');
+                            digits++;
+                        }
+                        else {
+                            exact = false;
+                        }
+                    }
+                    if (exact) {
+                        exponent--;
+                    }
+                    any = true;
+                    i++;
+                }
+            }
+            if (any && i < end && (b[i] == 'e' || b[i] == 'E')) {
+                i++;
+                boolean negativeExponent = false;
+                if (i < end && (b[i] == '-' || b[i] == '+')) {
+                    negativeExponent = b[i] == '-';
+                    i++;
+                }
+                int e = 0;
+                boolean exponentDigits = false;
+                while (i < end && b[i] >= '0' && b[i] <= '9') {
+                    e = Math.min(100000, e * 10 + (b[i] - '0'));
+                    exponentDigits = true;
+                    i++;
+                }
+                any = exponentDigits;
+                exponent += negativeExponent ? -e : e;
+            }
+            if (any && i == end && exact) {
+                double result;
+                if (mantissa == 0) {
+                    result = 0.0;
+                }
+                else if (mantissa < (1L << 53) && exponent >= -22
+                        && exponent <= 22) {
+                    result = exponent >= 0
+                            ? mantissa * POWERS_OF_TEN[exponent]
+                            : mantissa / POWERS_OF_TEN[-exponent];
+                }
+                else {
+                    return parseSlow(b, start, end);
+                }
+                return negative ? -result : result;
+            }
+            return parseSlow(b, start, end);
+        }
+
+        private double parseSlow(byte[] b, int start, int end)
+                throws IOException {
+            try {
+                return Double.parseDouble(new String(b, start, end - start,
+                        StandardCharsets.ISO_8859_1));
+            }
+            catch (NumberFormatException e) {
+                throw invalid("number", b, start, end);
+            }
+        }
+
+        /**
+         * Converts a local time in the loader's time zone to UTC.  As for
+         * {@code LocalDateTime.atZone()}, a time in an overlap uses the
+         * earlier offset, and a time in a gap is moved later by the length
+         * of the gap.
+         *
+         * @param local  the local time (in milliseconds).
+         *
+         * @return The time in milliseconds since 1970-01-01T00:00:00Z.
+         */
+        private long toUTC(long local) {
+            TimeZone z = this.zone;
+            long guess = local - z.getOffset(local - z.getRawOffset());
+            int before = z.getOffset(guess - 6 * 60 * 60 * 1000L);
+            if (z.getOffset(local - before) == before) {
+                return local - before;
+            }
+            int after = z.getOffset(guess + 6 * 60 * 60 * 1000L);
+            if (z.getOffset(local - after) == after) {
+                return local - after;
+            }
+            return local - before;
+        }
+
+        /**
+         * Parses a timestamp.
+         *
+         * @param b  the buffer.
+         * @param start  the start of the field.
+         * @param end  the end of the field.
+         *
+         * @return The timestamp in milliseconds since 1970-01-01T00:00:00Z
+         *     ({@code Double.NaN} for an empty field).
+         *
+         * @throws IOException if the field is not a timestamp.
+         */
+        private double parseTimestamp(byte[] b, int start, int end)
+                throws IOException {
+            if (this.format == TimestampFormat.EPOCH_MILLISECONDS) {
+                return parseNumber(b, start, end);
+            }
+            if (this.format == TimestampFormat.EPOCH_SECONDS) {
+                return parseNumber(b, start, end) * 1000.0;
+            }
+            while (start < end && (b[start] & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (b[end - 1] & 0xFF) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                return Double.NaN;
+            }
+            int i = start;
+            int year = digits(b, i, end, 4);
+            int month = i + 7 <= end && b[i + 4] == '-'
+                    ? digits(b, i + 5, end, 2) : -1;
+            int day = i + 10 <= end && b[i + 7] == '-'
+                    ? digits(b, i + 8, end, 2) : -1;
+            if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+                throw invalid("timestamp", b, start, end);
+            }
+            i += 10;
+            long millis = 0;
+            if (i < end && (b[i] == 'T' || b[i] == ' ')) {
+                int hour = digits(b, i + 1, end, 2);
+                int minute = i + 6 <= end && b[i + 3] == ':'
+                        ? digits(b, i + 4, end, 2) : -1;
+                if (hour < 0 || hour > 24 || minute < 0 || minute > 59) {
+                    throw invalid("timestamp", b, start, end);
+                }
+                i += 6;
+                int second = 0;
+                if (i < end && b[i] == ':') {
+                    second = digits(b, i + 1, end, 2);
+                    if (second < 0 || second > 60) {
+                        throw invalid("timestamp", b, start, end);
+                    }
+                    i += 3;
+                    if (i < end && (b[i] == '.' || b[i] == ',')) {
+                        i++;
+                        int scale = 100;
+                        int fractionStart = i;
+                        while (i < end && b[i] >= '0' && b[i] <= '9') {
+                            millis += (b[i] - '0') * scale;
+                            scale /= 10;
+                            i++;
+                        }
+                        if (i == fractionStart) {
+                            throw invalid("timestamp", b, start, end);
+                        }
+                    }
+                }
+                millis += ((hour * 60L + minute) * 60L + second) * 1000L;
+            }
+            long local = daysFromCivil(year, month, day) * MILLIS_PER_DAY
+                    + millis;
+            if (i == end) {
+                return toUTC(local);
+            }
+            if (b[i] == 'Z' && i + 1 == end) {
+                return local;
+            }
+            if ((b[i] == '+' || b[i] == '-') && i + 3 <= end) {
+                int sign = b[i] == '-' ? -1 : 1;
+                int hours = digits(b, i + 1, end, 2);
+                int minutes = 0;
+                int j = i + 3;
+                if (j < end && b[j] == ':') {
+                    j++;
+                }
+                if (j < end) {
+                    minutes = digits(b, j, end, 2);
+                    j += 2;
+                }
+                if (hours >= 0 && hours <= 18 && minutes >= 0
+                        && minutes <= 59 && j == end) {
+                    return local - sign * (hours * 60L + minutes) * 60000L;
+                }
+            }
+            throw invalid("timestamp", b, start, end);
+        }
+
+    }
+
+    /**
+     * Reads a fixed number of decimal digits.
+     *
+     * @param b  the buffer.
+     * @param start  the position of the first digit.
+     * @param end  the end of the field.
+     * @param n  the number of digits.
+     *
+     * @return The value, or -1 if there are not {@code n} digits.
+     */
+    private static int digits(byte[] b, int start, int end, int n) {
+        if (start < 0 || start + n > end) {
+            return -1;
+        }
+        int result = 0;
+        for (int i = start; i < start + n; i++) {
+            if (b[i] < '0' || b[i] > '9') {
+                return -1;
+            }
+            result = result * 10 + (b[i] - '0');
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of days from 1970-01-01 to the specified date in
+     * the proleptic Gregorian calendar.
+     *
+     * @param year  the year.
+     * @param month  the month (1 to 12).
+     * @param day  the day of the month.
+     *
+     * @return The number of days.
+     */
+    static long daysFromCivil(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5
+                + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100
+                + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * An input stream that reads a range of a file channel with positional
+     * reads (so that several streams can share the channel).
+     */
+    private static final class ChannelInputStream extends InputStream {
+
+        /** The channel. */
+        private final FileChannel channel;
+
+        /** The current position. */
+        private long position;
+
+        /** The end of the range. */
+        private final long end;
+
+        ChannelInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int n = read(b, 0, 1);
+            return n <= 0 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (this.position >= this.end) {
+                return -1;
+            }
+            int n = (int) Math.min(len, this.end - this.position);
+            int r = this.channel.read(ByteBuffer.wrap(b, off, n),
+                    this.position);
+            if (r > 0) {
+                this.position += r;
+            }
+            return r;
+        }
+
+    }
+
+}
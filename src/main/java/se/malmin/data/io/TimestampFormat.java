@@ -0,0 +1,61 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * TimestampFormat.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.io;
+
+/**
+ * The formats for timestamp columns read by a {@link CSVLoader}.
+ */
+public enum TimestampFormat {
+
+    /**
+     * ISO-8601 dates and times such as {@code 2021-03-14},
+     * {@code 2021-03-14T15:09:26}, {@code 2021-03-14 15:09:26.535} or
+     * {@code 2021-03-14T15:09:26.535+01:00}.  Times without a UTC offset (or
+     * {@code Z}) are in the loader's time zone.
+     */
+    ISO_8601,
+
+    /** Milliseconds since 1970-01-01T00:00:00Z. */
+    EPOCH_MILLISECONDS,
+
+    /**
+     * Seconds (possibly with a fractional part) since
+     * 1970-01-01T00:00:00Z.
+     */
+    EPOCH_SECONDS
+
+}
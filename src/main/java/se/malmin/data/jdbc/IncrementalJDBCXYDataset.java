@@ -0,0 +1,585 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------
+ * IncrementalJDBCXYDataset.java
+ * -----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+
+import se.malmin.chart.util.Args;
+import se.malmin.data.Range;
+import se.malmin.data.RangeInfo;
+import se.malmin.data.general.DatasetChangeInfo;
+import se.malmin.data.general.DatasetChangeType;
+import se.malmin.data.xy.AbstractXYDataset;
+import se.malmin.data.xy.TableXYDataset;
+
+/**
+ * An {@link se.malmin.data.xy.XYDataset} over a JDBC query that streams the
+ * rows of the result set (with a configurable fetch size) into primitive
+ * {@code double} columns, and that can be refreshed incrementally.  As for
+ * {@link JDBCXYDataset}, the first column of the query provides the
+ * x-values (a number, date, time or timestamp) and the other numeric columns
+ * provide one series each (SQL {@code NULL} values are stored as
+ * {@code Double.NaN}).
+ * <p>
+ * For an incremental refresh (see {@link #refresh()}), set an incremental
+ * query with one parameter that is bound to the watermark (the last
+ * x-value in the dataset), for example:
+ * <pre>
+ * dataset.executeQuery("SELECT ts, cpu, mem FROM metrics ORDER BY ts");
+ * dataset.setIncrementalQuery(
+ *         "SELECT ts, cpu, mem FROM metrics WHERE ts &gt; ? ORDER BY ts");
+ * ...
+ * dataset.refresh();  // appends the new rows, sends one change event
+ * </pre>
+ * Rows with an x-value that is not greater than the watermark are ignored,
+ * so the rows should be ordered by x-value.  Note that some JDBC drivers
+ * only stream the result set when the connection is not in auto-commit
+ * mode.
+ */
+public class IncrementalJDBCXYDataset extends AbstractXYDataset
+        implements TableXYDataset, RangeInfo {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 4817295043316058241L;
+
+    /** The default fetch size. */
+    public static final int DEFAULT_FETCH_SIZE = 1000;
+
+    /** The database connection. */
+    private transient Connection connection;
+
+    /** The query for a full refresh ({@code null} before the first query). */
+    private String query;
+
+    /** The query for an incremental refresh ({@code null} permitted). */
+    private String incrementalQuery;
+
+    /** The fetch size. */
+    private int fetchSize;
+
+    /** The SQL type of the x-column. */
+    private int xType;
+
+    /** The series keys (the column labels). */
+    private String[] seriesKeys;
+
+    /** The x-values. */
+    private double[] xValues;
+
+    /** The y-values (one array per series). */
+    private double[][] yValues;
+
+    /** The number of items in each series. */
+    private int itemCount;
+
+    /** The lowest y-value ({@code Double.NaN} if there is none). */
+    private double minY;
+
+    /** The highest y-value ({@code Double.NaN} if there is none). */
+    private double maxY;
+
+    /**
+     * Creates a new (empty) dataset using the specified database connection.
+     *
+     * @param connection  the connection ({@code null} not permitted).
+     */
+    public IncrementalJDBCXYDataset(Connection connection) {
+        Args.nullNotPermitted(connection, "connection");
+        this.connection = connection;
+        this.fetchSize = DEFAULT_FETCH_SIZE;
+        this.xType = Types.NULL;
+        this.seriesKeys = new String[0];
+        this.xValues = new double[0];
+        this.yValues = new double[0][];
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
+    }
+
+    /**
+     * Creates a new dataset using the specified database connection, and
+     * populates it with the results of the query.
+     *
+     * @param connection  the connection ({@code null} not permitted).
+     * @param query  the query ({@code null} not permitted).
+     *
+     * @throws SQLException if there is a problem executing the query.
+     */
+    public IncrementalJDBCXYDataset(Connection connection, String query)
+            throws SQLException {
+        this(connection);
+        executeQuery(query);
+    }
+
+    /**
+     * Returns the fetch size used for queries.
+     *
+     * @return The fetch size.
+     */
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    /**
+     * Sets the fetch size (the number of rows fetched from the database at a
+     * time) used for queries.
+     *
+     * @param fetchSize  the fetch size (zero lets the driver decide).
+     */
+    public void setFetchSize(int fetchSize) {
+        Args.requireNonNegative(fetchSize, "fetchSize");
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Returns the query for an incremental refresh.
+     *
+     * @return The query (possibly {@code null}).
+     */
+    public String getIncrementalQuery() {
+        return this.incrementalQuery;
+    }
+
+    /**
+     * Sets the query for an incremental refresh.  The query must have a
+     * single parameter, which is bound to the watermark, and must return the
+     * same columns as the full query.
+     *
+     * @param query  the query ({@code null} for a full refresh).
+     */
+    public void setIncrementalQuery(String query) {
+        this.incrementalQuery = query;
+    }
+
+    /**
+     * Returns {@code true} if the x-values are dates, times or timestamps
+     * (in milliseconds since 1970-01-01T00:00:00Z).
+     *
+     * @return A boolean.
+     */
+    public boolean isTimeSeries() {
+        return isTime(this.xType);
+    }
+
+    /**
+     * Returns the watermark for an incremental refresh, the last x-value in
+     * the dataset.
+     *
+     * @return The watermark ({@code Double.NaN} if the dataset is empty).
+     */
+    public double getWatermark() {
+        return this.itemCount > 0 ? this.xValues[this.itemCount - 1]
+                : Double.NaN;
+    }
+
+    /**
+     * Replaces the data in the dataset with the results of a query, and
+     * sends a {@link se.malmin.data.general.DatasetChangeEvent} to all
+     * registered listeners.  The query is also used for a full refresh.
+     * If the query fails, the dataset is not changed.
+     *
+     * @param query  the query ({@code null} not permitted).
+     *
+     * @throws SQLException if there is a problem executing the query.
+     */
+    public void executeQuery(String query) throws SQLException {
+        Args.nullNotPermitted(query, "query");
+        // read into a new dataset, so that a failure part way through the
+        // result set keeps the current data
+        IncrementalJDBCXYDataset d = new IncrementalJDBCXYDataset(
+                this.connection);
+        try (Statement statement = this.connection.createStatement(
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(this.fetchSize);
+            try (ResultSet resultSet = statement.executeQuery(query)) {
+                int[] columns = d.readColumns(resultSet.getMetaData(), true);
+                d.xValues = new double[Math.max(16, this.fetchSize)];
+                d.yValues = new double[columns.length - 1][d.xValues.length];
+                d.readRows(resultSet, columns, Double.NaN);
+            }
+        }
+        this.query = query;
+        this.xType = d.xType;
+        this.seriesKeys = d.seriesKeys;
+        this.xValues = d.xValues;
+        this.yValues = d.yValues;
+        this.itemCount = d.itemCount;
+        this.minY = d.minY;
+        this.maxY = d.maxY;
+        fireDatasetChanged();
+    }
+
+    /**
+     * Refreshes the dataset.  If an incremental query is set and the
+     * dataset is not empty, the incremental query is executed with the
+     * watermark (see {@link #getWatermark()}) and the new rows are appended
+     * to the dataset, with a single
+     * {@link se.malmin.data.general.DatasetChangeEvent} (of type
+     * {@link DatasetChangeType#APPEND}) sent to all registered listeners if
+     * there are new rows.  Otherwise the full query is executed again.
+     * If the query fails, the dataset is not changed.
+     *
+     * @return The number of rows added (for an incremental refresh) or
+     *     read (for a full refresh).
+     *
+     * @throws SQLException if there is a problem executing the query.
+     * @throws IllegalStateException if no query has been executed.
+     */
+    public int refresh() throws SQLException {
+        if (this.query == null) {
+            throw new IllegalStateException("No query has been executed.");
+        }
+        if (this.incrementalQuery == null || this.itemCount == 0) {
+            executeQuery(this.query);
+            return this.itemCount;
+        }
+        double watermark = getWatermark();
+        int first = this.itemCount;
+        double minY = this.minY;
+        double maxY = this.maxY;
+        try (PreparedStatement statement = this.connection.prepareStatement(
+                this.incrementalQuery, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            statement.setFetchSize(this.fetchSize);
+            if (isTime(this.xType)) {
+                statement.setTimestamp(1, new Timestamp((long) watermark));
+            }
+            else if (isInteger(this.xType)) {
+                statement.setLong(1, (long) watermark);
+            }
+            else {
+                statement.setDouble(1, watermark);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int[] columns = readColumns(resultSet.getMetaData(), false);
+                readRows(resultSet, columns, watermark);
+            }
+        }
+        catch (SQLException e) {
+            // drop the rows that were read before the failure
+            this.itemCount = first;
+            this.minY = minY;
+            this.maxY = maxY;
+            throw e;
+        }
+        if (this.itemCount > first) {
+            fireDatasetChanged(new DatasetChangeInfo(DatasetChangeType.APPEND,
+                    -1, first, this.itemCount - 1));
+        }
+        return this.itemCount - first;
+    }
+
+    private static boolean isTime(int type) {
+        return type == Types.DATE || type == Types.TIME
+                || type == Types.TIMESTAMP;
+    }
+
+    private static boolean isInteger(int type) {
+        return type == Types.TINYINT || type == Types.SMALLINT
+                || type == Types.INTEGER || type == Types.BIGINT;
+    }
+
+    private static boolean isNumber(int type) {
+        switch (type) {
+            case Types.BIT:
+            case Types.NUMERIC:
+            case Types.REAL:
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.DECIMAL:
+                return true;
+            default:
+                return isInteger(type);
+        }
+    }
+
+    /**
+     * Finds the x-column (the first column) and the y-columns (the other
+     * numeric columns) in a result set.
+     *
+     * @param metaData  the result set meta data.
+     * @param reset  is this a full refresh (if not, the columns must match
+     *     the current series)?
+     *
+     * @return The JDBC column indices (the first is the x-column).
+     *
+     * @throws SQLException if there is a problem reading the meta data or
+     *     the columns are not valid.
+     */
+    private int[] readColumns(ResultSetMetaData metaData, boolean reset)
+            throws SQLException {
+        int count = metaData.getColumnCount();
+        int xt = count > 0 ? metaData.getColumnType(1) : Types.NULL;
+        if (!isNumber(xt) && !isTime(xt)) {
+            throw new SQLException("The first column must be a number, date, "
+                    + "time or timestamp.");
+        }
+        int[] columns = new int[count];
+        String[] keys = new String[count];
+        int n = 0;
+        columns[n++] = 1;
+        for (int c = 2; c <= count; c++) {
+            if (isNumber(metaData.getColumnType(c))) {
+                keys[n - 1] = metaData.getColumnLabel(c);
+                columns[n++] = c;
+            }
+        }
+        if (n < 2) {
+            throw new SQLException(
+                    "Not enough valid columns where generated by query.");
+        }
+        keys = Arrays.copyOf(keys, n - 1);
+        if (reset) {
+            this.xType = xt;
+            this.seriesKeys = keys;
+        }
+        else if (!Arrays.equals(keys, this.seriesKeys)) {
+            throw new SQLException("The incremental query must return the "
+                    + "same columns as the full query.");
+        }
+        return Arrays.copyOf(columns, n);
+    }
+
+    /**
+     * Reads a value from the current row of a result set.
+     *
+     * @param resultSet  the result set.
+     * @param column  the column index.
+     * @param time  is the column a date, time or timestamp?
+     *
+     * @return The value ({@code Double.NaN} for SQL {@code NULL}).
+     *
+     * @throws SQLException if there is a problem reading the value.
+     */
+    private static double read(ResultSet resultSet, int column, boolean time)
+            throws SQLException {
+        if (time) {
+            Timestamp t = resultSet.getTimestamp(column);
+            return t == null ? Double.NaN : t.getTime();
+        }
+        double v = resultSet.getDouble(column);
+        return resultSet.wasNull() ? Double.NaN : v;
+    }
+
+    /**
+     * Appends the rows of a result set to the dataset.
+     *
+     * @param resultSet  the result set.
+     * @param columns  the column indices.
+     * @param watermark  rows with an x-value that is not greater than this
+     *     value are ignored ({@code Double.NaN} for none).
+     *
+     * @throws SQLException if there is a problem reading the rows.
+     */
+    private void readRows(ResultSet resultSet, int[] columns,
+            double watermark) throws SQLException {
+        boolean time = isTime(this.xType);
+        int series = columns.length - 1;
+        while (resultSet.next()) {
+            double x = read(resultSet, columns[0], time);
+            if (Double.isNaN(x) || x <= watermark) {
+                continue;
+            }
+            if (this.itemCount == this.xValues.length) {
+                int capacity = Math.max(16, this.itemCount * 2);
+                this.xValues = Arrays.copyOf(this.xValues, capacity);
+                for (int s = 0; s < series; s++) {
+                    this.yValues[s] = Arrays.copyOf(this.yValues[s],
+                            capacity);
+                }
+            }
+            this.xValues[this.itemCount] = x;
+            for (int s = 0; s < series; s++) {
+                double y = read(resultSet, columns[s + 1], false);
+                this.yValues[s][this.itemCount] = y;
+                if (!(y >= this.minY)) {
+                    this.minY = Double.isNaN(y) ? this.minY : y;
+                }
+                if (!(y <= this.maxY)) {
+                    this.maxY = Double.isNaN(y) ? this.maxY : y;
+                }
+            }
+            this.itemCount++;
+        }
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.seriesKeys.length;
+    }
+
+    /**
+     * Returns the key for a series (the column label).
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The series key.
+     */
+    @Override
+    public Comparable getSeriesKey(int series) {
+        return this.seriesKeys[series];
+    }
+
+    /**
+     * Returns the number of items in each series.
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount() {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.itemCount;
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        Args.requireInRange(item, "item", 0, this.itemCount - 1);
+        return this.xValues[item];
+    }
+
+    /**
+     * Returns the x-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code Double.NaN} for SQL {@code NULL}).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        Args.requireInRange(item, "item", 0, this.itemCount - 1);
+        return this.yValues[series][item];
+    }
+
+    /**
+     * Returns the y-value for an item.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code null} for SQL {@code NULL}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the minimum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The minimum value ({@code Double.NaN} if there is none).
+     */
+    @Override
+    public double getRangeLowerBound(boolean includeInterval) {
+        return this.minY;
+    }
+
+    /**
+     * Returns the maximum y-value in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The maximum value ({@code Double.NaN} if there is none).
+     */
+    @Override
+    public double getRangeUpperBound(boolean includeInterval) {
+        return this.maxY;
+    }
+
+    /**
+     * Returns the range of the y-values in the dataset.
+     *
+     * @param includeInterval  ignored.
+     *
+     * @return The range ({@code null} if there are no y-values).
+     */
+    @Override
+    public Range getRangeBounds(boolean includeInterval) {
+        if (Double.isNaN(this.minY)) {
+            return null;
+        }
+        return new Range(this.minY, this.maxY);
+    }
+
+}
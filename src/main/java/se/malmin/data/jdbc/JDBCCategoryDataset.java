@@ -72,6 +72,8 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Types;
 
+import se.malmin.chart.util.Args;
+import se.malmin.data.DefaultKeyedValues2D;
 import se.malmin.data.category.CategoryDataset;
 import se.malmin.data.category.DefaultCategoryDataset;
 
@@ -98,6 +100,9 @@ public class JDBCCategoryDataset extends DefaultCategoryDataset {
     /** The database connection. */
     private transient Connection connection;
 
+    /** The fetch size for queries (zero if the driver decides). */
+    private int fetchSize;
+
     /**
      * A flag the controls whether or not the table is transposed.  The default
      * is 'true' because this provides the behaviour described in the
@@ -175,6 +180,27 @@ public class JDBCCategoryDataset extends DefaultCategoryDataset {
         this.transpose = transpose;
     }
 
+    /**
+     * Returns the fetch size used for queries.
+     *
+     * @return The fetch size (zero if the driver decides).
+     */
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    /**
+     * Sets the fetch size (the number of rows fetched from the database at a
+     * time) used for queries.  The default is zero, which lets the driver
+     * decide.
+     *
+     * @param fetchSize  the fetch size.
+     */
+    public void setFetchSize(int fetchSize) {
+        Args.requireNonNegative(fetchSize, "fetchSize");
+        this.fetchSize = fetchSize;
+    }
+
     /**
      * Populates the dataset by executing the supplied query against the
      * existing database connection.  If no connection exists then no action
@@ -208,8 +234,12 @@ public class JDBCCategoryDataset extends DefaultCategoryDataset {
 
         Statement statement = null;
         ResultSet resultSet = null;
+        // send one event for all the changes
+        beginUpdate();
         try {
-            statement = con.createStatement();
+            statement = con.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(this.fetchSize);
             resultSet = statement.executeQuery(query);
             ResultSetMetaData metaData = resultSet.getMetaData();
 
@@ -221,12 +251,9 @@ public class JDBCCategoryDataset extends DefaultCategoryDataset {
                     + "returned from the database.");
             }
 
-            // Remove any previous old data
-            int i = getRowCount();
-            while (--i >= 0) {
-                removeRow(i);
-            }
-
+            // read all the values before changing the dataset, so that a
+            // failure part way through the result set keeps the old data
+            DefaultKeyedValues2D values = new DefaultKeyedValues2D();
             while (resultSet.next()) {
                 // first column contains the row key...
                 Comparable rowKey = resultSet.getString(1);
@@ -247,10 +274,10 @@ public class JDBCCategoryDataset extends DefaultCategoryDataset {
                         case Types.REAL: {
                             Number value = (Number) resultSet.getObject(column);
                             if (this.transpose) {
-                                setValue(value, columnKey, rowKey);
+                                values.setValue(value, columnKey, rowKey);
                             }
                             else {
-                                setValue(value, rowKey, columnKey);
+                                values.setValue(value, rowKey, columnKey);
                             }
                             break;
                         }
@@ -260,10 +287,10 @@ public class JDBCCategoryDataset extends DefaultCategoryDataset {
                             Date date = (Date) resultSet.getObject(column);
                             Number value = date.getTime();
                             if (this.transpose) {
-                                setValue(value, columnKey, rowKey);
+                                values.setValue(value, columnKey, rowKey);
                             }
                             else {
-                                setValue(value, rowKey, columnKey);
+                                values.setValue(value, rowKey, columnKey);
                             }
                             break;
                         }
@@ -275,10 +302,10 @@ public class JDBCCategoryDataset extends DefaultCategoryDataset {
                             try {
                                 Number value = Double.valueOf(string);
                                 if (this.transpose) {
-                                    setValue(value, columnKey, rowKey);
+                                    values.setValue(value, columnKey, rowKey);
                                 }
                                 else {
-                                    setValue(value, rowKey, columnKey);
+                                    values.setValue(value, rowKey, columnKey);
                                 }
                             }
                             catch (NumberFormatException e) {
@@ -293,9 +320,22 @@ public class JDBCCategoryDataset extends DefaultCategoryDataset {
                 }
             }
 
+            // Remove any previous old data
+            int i = getRowCount();
+            while (--i >= 0) {
+                removeRow(i);
+            }
+            for (int r = 0; r < values.getRowCount(); r++) {
+                for (int c = 0; c < values.getColumnCount(); c++) {
+                    setValue(values.getValue(r, c), values.getRowKey(r),
+                            values.getColumnKey(c));
+                }
+            }
+
             fireDatasetChanged();
         }
         finally {
+            endUpdate();
             if (resultSet != null) {
                 try {
                     resultSet.close();
@@ -67,6 +67,8 @@ import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Types;
 
+import se.malmin.chart.util.Args;
+import se.malmin.data.DefaultKeyedValues;
 import se.malmin.data.general.DefaultPieDataset;
 import se.malmin.data.general.PieDataset;
 
@@ -85,6 +87,9 @@ public class JDBCPieDataset extends DefaultPieDataset {
     /** The database connection. */
     private transient Connection connection;
 
+    /** The fetch size for queries (zero if the driver decides). */
+    private int fetchSize;
+
     /**
      * Creates a new JDBCPieDataset and establishes a new database connection.
      *
@@ -137,6 +142,27 @@ public class JDBCPieDataset extends DefaultPieDataset {
         executeQuery(query);
     }
 
+    /**
+     * Returns the fetch size used for queries.
+     *
+     * @return The fetch size (zero if the driver decides).
+     */
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    /**
+     * Sets the fetch size (the number of rows fetched from the database at a
+     * time) used for queries.  The default is zero, which lets the driver
+     * decide.
+     *
+     * @param fetchSize  the fetch size.
+     */
+    public void setFetchSize(int fetchSize) {
+        Args.requireNonNegative(fetchSize, "fetchSize");
+        this.fetchSize = fetchSize;
+    }
+
     /**
      *  ExecuteQuery will attempt execute the query passed to it against the
      *  existing database connection.  If no connection exists then no action
@@ -169,8 +195,12 @@ public class JDBCPieDataset extends DefaultPieDataset {
         Statement statement = null;
         ResultSet resultSet = null;
 
+        // send one event for all the changes
+        beginUpdate();
         try {
-            statement = con.createStatement();
+            statement = con.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(this.fetchSize);
             resultSet = statement.executeQuery(query);
             ResultSetMetaData metaData = resultSet.getMetaData();
 
@@ -181,6 +211,9 @@ public class JDBCPieDataset extends DefaultPieDataset {
                 );
             }
 
+            // read all the values before changing the dataset, so that a
+            // failure part way through the result set keeps the old data
+            DefaultKeyedValues values = new DefaultKeyedValues();
             int columnType = metaData.getColumnType(2);
             double value;
             while (resultSet.next()) {
@@ -194,7 +227,7 @@ public class JDBCPieDataset extends DefaultPieDataset {
                     case Types.DECIMAL:
                     case Types.BIGINT:
                         value = resultSet.getDouble(2);
-                        setValue(key, value);
+                        values.setValue(key, value);
                         break;
 
                     case Types.DATE:
@@ -202,7 +235,7 @@ public class JDBCPieDataset extends DefaultPieDataset {
                     case Types.TIMESTAMP:
                         Timestamp date = resultSet.getTimestamp(2);
                         value = date.getTime();
-                        setValue(key, value);
+                        values.setValue(key, value);
                         break;
 
                     default:
@@ -211,11 +244,15 @@ public class JDBCPieDataset extends DefaultPieDataset {
                         break;
                 }
             }
+            for (int i = 0; i < values.getItemCount(); i++) {
+                setValue(values.getKey(i), values.getValue(i));
+            }
 
             fireDatasetChanged();
 
         }
         finally {
+            endUpdate();
             if (resultSet != null) {
                 try {
                     resultSet.close();
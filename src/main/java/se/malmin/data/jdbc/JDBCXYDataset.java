@@ -82,6 +82,7 @@ import java.sql.Types;
 import java.util.ArrayList;
 import java.util.Date;
 
+import se.malmin.chart.util.Args;
 import se.malmin.data.Range;
 import se.malmin.data.RangeInfo;
 import se.malmin.data.general.Dataset;
@@ -104,6 +105,9 @@ public class JDBCXYDataset extends AbstractXYDataset
     /** The database connection. */
     private transient Connection connection;
 
+    /** The fetch size for queries (zero if the driver decides). */
+    private int fetchSize;
+
     /** Column names. */
     private String[] columnNames = {};
 
@@ -197,6 +201,28 @@ public class JDBCXYDataset extends AbstractXYDataset
         this.isTimeSeries = timeSeries;
     }
 
+    /**
+     * Returns the fetch size used for queries.
+     *
+     * @return The fetch size (zero if the driver decides).
+     */
+    public int getFetchSize() {
+        return this.fetchSize;
+    }
+
+    /**
+     * Sets the fetch size (the number of rows fetched from the database at a
+     * time) used for queries.  The default is zero, which lets the driver
+     * decide.  See also {@link IncrementalJDBCXYDataset}, which stores the
+     * values in primitive arrays and supports incremental refreshes.
+     *
+     * @param fetchSize  the fetch size.
+     */
+    public void setFetchSize(int fetchSize) {
+        Args.requireNonNegative(fetchSize, "fetchSize");
+        this.fetchSize = fetchSize;
+    }
+
     /**
      * ExecuteQuery will attempt execute the query passed to it against the
      * existing database connection.  If no connection exists then no action
@@ -238,7 +264,9 @@ public class JDBCXYDataset extends AbstractXYDataset
         ResultSet resultSet = null;
         Statement statement = null;
         try {
-            statement = con.createStatement();
+            statement = con.createStatement(ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(this.fetchSize);
             resultSet = statement.executeQuery(query);
             ResultSetMetaData metaData = resultSet.getMetaData();
 
@@ -283,41 +311,36 @@ public class JDBCXYDataset extends AbstractXYDataset
                 );
             }
 
+            // the results are read into local variables first, so that a
+            // failure part way through the result set keeps the old data
+
             /// First column is X data
-            this.columnNames = new String[numberOfValidColumns - 1];
+            String[] newColumnNames = new String[numberOfValidColumns - 1];
             /// Get the column names and cache them.
             int currentColumn = 0;
             for (int column = 1; column < numberOfColumns; column++) {
                 if (columnTypes[column] != Types.NULL) {
-                    this.columnNames[currentColumn]
+                    newColumnNames[currentColumn]
                         = metaData.getColumnLabel(column + 1);
                     ++currentColumn;
                 }
             }
 
-            // Might need to add, to free memory from any previous result sets
-            if (this.rows != null) {
-                for (int column = 0; column < this.rows.size(); column++) {
-                    ArrayList row = (ArrayList) this.rows.get(column);
-                    row.clear();
-                }
-                this.rows.clear();
-            }
-
             // Are we working with a time series.
+            boolean newIsTimeSeries;
             switch (columnTypes[0]) {
                 case Types.DATE:
                 case Types.TIME:
                 case Types.TIMESTAMP:
-                    this.isTimeSeries = true;
+                    newIsTimeSeries = true;
                     break;
                 default :
-                    this.isTimeSeries = false;
+                    newIsTimeSeries = false;
                     break;
             }
 
             // Get all rows.
-            // rows = new ArrayList();
+            ArrayList newRows = new ArrayList();
             while (resultSet.next()) {
                 ArrayList newRow = new ArrayList();
                 for (int column = 0; column < numberOfColumns; column++) {
@@ -347,46 +370,55 @@ public class JDBCXYDataset extends AbstractXYDataset
                             break;
                     }
                 }
-                this.rows.add(newRow);
+                newRows.add(newRow);
             }
 
             /// a kludge to make everything work when no rows returned
-            if (this.rows.isEmpty()) {
+            if (newRows.isEmpty()) {
                 ArrayList newRow = new ArrayList();
                 for (int column = 0; column < numberOfColumns; column++) {
                     if (columnTypes[column] != Types.NULL) {
                         newRow.add(0);
                     }
                 }
-                this.rows.add(newRow);
+                newRows.add(newRow);
             }
 
             /// Determine max and min values.
-            if (this.rows.size() < 1) {
-                this.maxValue = 0.0;
-                this.minValue = 0.0;
+            double newMaxValue;
+            double newMinValue;
+            if (newRows.size() < 1) {
+                newMaxValue = 0.0;
+                newMinValue = 0.0;
             }
             else {
-                this.maxValue = Double.NEGATIVE_INFINITY;
-                this.minValue = Double.POSITIVE_INFINITY;
-                for (int rowNum = 0; rowNum < this.rows.size(); ++rowNum) {
-                    ArrayList row = (ArrayList) this.rows.get(rowNum);
+                newMaxValue = Double.NEGATIVE_INFINITY;
+                newMinValue = Double.POSITIVE_INFINITY;
+                for (int rowNum = 0; rowNum < newRows.size(); ++rowNum) {
+                    ArrayList row = (ArrayList) newRows.get(rowNum);
                     for (int column = 1; column < numberOfColumns; column++) {
                         Object testValue = row.get(column);
                         if (testValue != null) {
                             double test = ((Number) testValue).doubleValue();
 
-                            if (test < this.minValue) {
-                                this.minValue = test;
+                            if (test < newMinValue) {
+                                newMinValue = test;
                             }
-                            if (test > this.maxValue) {
-                                this.maxValue = test;
+                            if (test > newMaxValue) {
+                                newMaxValue = test;
                             }
                         }
                     }
                 }
             }
 
+            // the query has been read completely, replace the old data
+            this.columnNames = newColumnNames;
+            this.isTimeSeries = newIsTimeSeries;
+            this.rows = newRows;
+            this.maxValue = newMaxValue;
+            this.minValue = newMinValue;
+
             fireDatasetChanged(); // Tell the listeners a new table has arrived.
         }
         finally {
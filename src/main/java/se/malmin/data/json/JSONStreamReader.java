@@ -0,0 +1,567 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * JSONStreamReader.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A forward-only pull parser that reads JSON text from a {@link Reader}
+ * without building an object tree.  The caller walks the document with
+ * {@link #beginObject()}, {@link #hasNext()}, {@link #nextName()} and the
+ * value methods, and skips anything it does not need with
+ * {@link #skipValue()}.  The parser keeps its own character buffer (so the
+ * reader does not need to be buffered) and parses numbers from that buffer,
+ * so arrays of numbers are read without creating a {@code String} or
+ * {@code Double} per item.
+ */
+final class JSONStreamReader {
+
+    /** Exact powers of ten (as doubles). */
+    private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4,
+            1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15,
+            1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /** The source. */
+    private final Reader reader;
+
+    /** The character buffer. */
+    private final char[] buffer;
+
+    /** The position of the next character in the buffer. */
+    private int pos;
+
+    /** The number of characters in the buffer. */
+    private int limit;
+
+    /** The number of characters read before the start of the buffer. */
+    private long offset;
+
+    /** A flag that indicates that a ',' must precede the next value. */
+    private boolean expectComma;
+
+    /** Temporary storage for the characters of a number. */
+    private char[] number;
+
+    /** Temporary storage for the characters of a string. */
+    private final StringBuilder text;
+
+    /**
+     * Creates a new parser.
+     *
+     * @param reader  the source ({@code null} not permitted).
+     */
+    JSONStreamReader(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[8192];
+        this.number = new char[32];
+        this.text = new StringBuilder();
+    }
+
+    /**
+     * Returns the next character without consuming it.
+     *
+     * @return The character, or -1 at the end of the input.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private int peek() throws IOException {
+        if (this.pos == this.limit) {
+            this.offset += this.limit;
+            this.pos = 0;
+            this.limit = 0;
+            int n;
+            do {
+                n = this.reader.read(this.buffer);
+            } while (n == 0);
+            if (n < 0) {
+                return -1;
+            }
+            this.limit = n;
+        }
+        return this.buffer[this.pos];
+    }
+
+    /**
+     * Consumes and returns the next character.
+     *
+     * @return The character.
+     *
+     * @throws IOException if there is an I/O problem or no more input.
+     */
+    private char read() throws IOException {
+        if (peek() < 0) {
+            throw error("Unexpected end of input");
+        }
+        return this.buffer[this.pos++];
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it.
+     *
+     * @return The character, or -1 at the end of the input.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private int peekToken() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+            this.pos++;
+            c = peek();
+        }
+        return c;
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = peekToken();
+        if (c != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+        this.pos++;
+    }
+
+    /**
+     * Creates an exception with the current position in the input.
+     *
+     * @param message  the message.
+     *
+     * @return The exception.
+     */
+    IOException error(String message) {
+        return new IOException(message + " at character "
+                + (this.offset + this.pos) + ".");
+    }
+
+    /**
+     * Starts reading an object.
+     *
+     * @throws IOException if there is an I/O problem or the next value is
+     *     not an object.
+     */
+    void beginObject() throws IOException {
+        expect('{');
+        this.expectComma = false;
+    }
+
+    /**
+     * Finishes reading an object (all members must have been consumed).
+     *
+     * @throws IOException if there is an I/O problem or the object has more
+     *     members.
+     */
+    void endObject() throws IOException {
+        expect('}');
+        this.expectComma = true;
+    }
+
+    /**
+     * Starts reading an array.
+     *
+     * @throws IOException if there is an I/O problem or the next value is
+     *     not an array.
+     */
+    void beginArray() throws IOException {
+        expect('[');
+        this.expectComma = false;
+    }
+
+    /**
+     * Finishes reading an array (all items must have been consumed).
+     *
+     * @throws IOException if there is an I/O problem or the array has more
+     *     items.
+     */
+    void endArray() throws IOException {
+        expect(']');
+        this.expectComma = true;
+    }
+
+    /**
+     * Returns {@code true} if the current array or object has another item
+     * (consuming the separator if necessary).
+     *
+     * @return A boolean.
+     *
+     * @throws IOException if there is an I/O problem or malformed input.
+     */
+    boolean hasNext() throws IOException {
+        int c = peekToken();
+        if (c == '}' || c == ']') {
+            return false;
+        }
+        if (this.expectComma) {
+            if (c != ',') {
+                throw error("Expected ','");
+            }
+            this.pos++;
+            this.expectComma = false;
+            c = peekToken();
+            if (c == '}' || c == ']') {
+                throw error("Unexpected '" + (char) c + "'");
+            }
+        }
+        return c >= 0;
+    }
+
+    /**
+     * Reads the name of the next member of the current object.
+     *
+     * @return The name.
+     *
+     * @throws IOException if there is an I/O problem or malformed input.
+     */
+    String nextName() throws IOException {
+        if (peekToken() != '"') {
+            throw error("Expected a name");
+        }
+        String result = string();
+        expect(':');
+        this.expectComma = false;
+        return result;
+    }
+
+    /**
+     * Reads a string value.
+     *
+     * @return The string ({@code null} for a JSON {@code null}).
+     *
+     * @throws IOException if there is an I/O problem or the next value is
+     *     not a string or {@code null}.
+     */
+    String nextString() throws IOException {
+        int c = peekToken();
+        String result;
+        if (c == 'n') {
+            literal("null");
+            result = null;
+        }
+        else if (c == '"') {
+            result = string();
+        }
+        else {
+            throw error("Expected a string");
+        }
+        this.expectComma = true;
+        return result;
+    }
+
+    /**
+     * Reads a number.
+     *
+     * @return The number ({@code Double.NaN} for a JSON {@code null}).
+     *
+     * @throws IOException if there is an I/O problem or the next value is
+     *     not a number or {@code null}.
+     */
+    double nextDouble() throws IOException {
+        int c = peekToken();
+        double result;
+        if (c == 'n') {
+            literal("null");
+            result = Double.NaN;
+        }
+        else {
+            result = number();
+        }
+        this.expectComma = true;
+        return result;
+    }
+
+    /**
+     * Reads an array of numbers.
+     *
+     * @return The numbers ({@code Double.NaN} for each JSON {@code null}).
+     *
+     * @throws IOException if there is an I/O problem or malformed input.
+     */
+    double[] nextDoubleArray() throws IOException {
+        beginArray();
+        double[] result = new double[64];
+        int n = 0;
+        while (hasNext()) {
+            if (n == result.length) {
+                result = Arrays.copyOf(result, 2 * n);
+            }
+            result[n++] = nextDouble();
+        }
+        endArray();
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Skips the next value (including any nested values).
+     *
+     * @throws IOException if there is an I/O problem or malformed input.
+     */
+    void skipValue() throws IOException {
+        int c = peekToken();
+        switch (c) {
+            case '{':
+                beginObject();
+                while (hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+                break;
+            case '[':
+                beginArray();
+                while (hasNext()) {
+                    skipValue();
+                }
+                endArray();
+                break;
+            case '"':
+                string();
+                break;
+            case 't':
+                literal("true");
+                break;
+            case 'f':
+                literal("false");
+                break;
+            case 'n':
+                literal("null");
+                break;
+            default:
+                number();
+        }
+        this.expectComma = true;
+    }
+
+    /**
+     * Checks that there is nothing but whitespace after the document.
+     *
+     * @throws IOException if there is an I/O problem or trailing content.
+     */
+    void endDocument() throws IOException {
+        if (peekToken() >= 0) {
+            throw error("Unexpected content after the document");
+        }
+    }
+
+    private void literal(String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            if (read() != s.charAt(i)) {
+                this.pos--;
+                throw error("Expected '" + s + "'");
+            }
+        }
+    }
+
+    /**
+     * Reads a quoted string (the next character is the opening quote).
+     *
+     * @return The string.
+     *
+     * @throws IOException if there is an I/O problem or malformed input.
+     */
+    private String string() throws IOException {
+        this.pos++;
+        StringBuilder sb = this.text;
+        sb.setLength(0);
+        while (true) {
+            // copy runs of plain characters straight from the buffer
+            int start = this.pos;
+            int end = this.limit;
+            int i = start;
+            char c = 0;
+            while (i < end) {
+                c = this.buffer[i];
+                if (c == '"' || c == '\\' || c < 0x20) {
+                    break;
+                }
+                i++;
+            }
+            sb.append(this.buffer, start, i - start);
+            this.pos = i;
+            if (i == end) {
+                if (peek() < 0) {
+                    throw error("Unterminated string");
+                }
+                continue;
+            }
+            this.pos++;
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c < 0x20) {
+                this.pos--;
+                throw error("Control character in string");
+            }
+            char e = read();
+            switch (e) {
+                case '"':
+                case '\\':
+                case '/':
+                    sb.append(e);
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    int code = 0;
+                    for (int k = 0; k < 4; k++) {
+                        int digit = Character.digit(read(), 16);
+                        if (digit < 0) {
+                            throw error("Invalid escape sequence");
+                        }
+                        code = (code << 4) | digit;
+                    }
+                    sb.append((char) code);
+                    break;
+                default:
+                    throw error("Invalid escape sequence");
+            }
+        }
+    }
+
+    /**
+     * Reads a number.  Numbers with up to 18 significant digits and a
+     * small exponent are converted exactly with a single multiplication or
+     * division, anything else is passed to {@link Double#parseDouble}.
+     *
+     * @return The number.
+     *
+     * @throws IOException if there is an I/O problem or malformed input.
+     */
+    private double number() throws IOException {
+        int n = 0;
+        boolean negative = false;
+        long mantissa = 0L;
+        int digits = 0;
+        int scale = 0;
+        int c = peek();
+        if (c == '-') {
+            negative = true;
+            n = append(n, read());
+            c = peek();
+        }
+        if (c < '0' || c > '9') {
+            throw error("Expected a number");
+        }
+        while (c >= '0' && c <= '9') {
+            n = append(n, read());
+            if (digits < 18) {
+                mantissa = 10 * mantissa + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+            }
+            else {
+                digits++;
+                scale++;
+            }
+            c = peek();
+        }
+        if (c == '.') {
+            n = append(n, read());
+            c = peek();
+            if (c < '0' || c > '9') {
+                throw error("Expected a digit");
+            }
+            while (c >= '0' && c <= '9') {
+                n = append(n, read());
+                if (digits < 18) {
+                    mantissa = 10 * mantissa + (c - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    scale--;
+                }
+                else {
+                    digits++;
+                }
+                c = peek();
+            }
+        }
+        int exponent = 0;
+        if (c == 'e' || c == 'E') {
+            n = append(n, read());
+            c = peek();
+            boolean negativeExponent = false;
+            if (c == '+' || c == '-') {
+                negativeExponent = c == '-';
+                n = append(n, read());
+                c = peek();
+            }
+            if (c < '0' || c > '9') {
+                throw error("Expected a digit");
+            }
+            while (c >= '0' && c <= '9') {
+                n = append(n, read());
+                if (exponent < 100000) {
+                    exponent = 10 * exponent + (c - '0');
+                }
+                c = peek();
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        int e = scale + exponent;
+        if (digits <= 18 && mantissa < (1L << 53) && e >= -22 && e <= 22) {
+            double result = mantissa;
+            result = e < 0 ? result / POWERS_OF_TEN[-e]
+                    : result * POWERS_OF_TEN[e];
+            return negative ? -result : result;
+        }
+        return Double.parseDouble(new String(this.number, 0, n));
+    }
+
+    private int append(int n, char c) {
+        if (n == this.number.length) {
+            this.number = Arrays.copyOf(this.number, 2 * n);
+        }
+        this.number[n] = c;
+        return n + 1;
+    }
+
+}
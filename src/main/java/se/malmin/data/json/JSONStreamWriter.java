@@ -0,0 +1,327 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * JSONStreamWriter.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.json;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A forward-only writer that streams JSON text to a {@link Writer} without
+ * building an object tree.  The writer keeps its own character buffer, so
+ * the target writer does not need to be buffered, and integral numbers are
+ * formatted directly into the buffer.  Calls must form a well-formed
+ * document (this is not checked).
+ */
+final class JSONStreamWriter {
+
+    /** The largest magnitude that is written as an integer. */
+    private static final double MAX_INTEGRAL = 1e15;
+
+    /** The target writer. */
+    private final Writer writer;
+
+    /** The character buffer. */
+    private final char[] buffer;
+
+    /** The number of characters in the buffer. */
+    private int count;
+
+    /**
+     * A flag that indicates that the next value is the first in its array
+     * or object (or follows a name) and so has no separator.
+     */
+    private boolean first;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param writer  the target writer ({@code null} not permitted).
+     */
+    JSONStreamWriter(Writer writer) {
+        this.writer = writer;
+        this.buffer = new char[8192];
+        this.count = 0;
+        this.first = true;
+    }
+
+    private void put(char c) throws IOException {
+        if (this.count == this.buffer.length) {
+            flushBuffer();
+        }
+        this.buffer[this.count++] = c;
+    }
+
+    private void put(String s) throws IOException {
+        int n = s.length();
+        if (this.count + n > this.buffer.length) {
+            flushBuffer();
+            if (n > this.buffer.length) {
+                this.writer.write(s);
+                return;
+            }
+        }
+        s.getChars(0, n, this.buffer, this.count);
+        this.count += n;
+    }
+
+    private void separator() throws IOException {
+        if (!this.first) {
+            put(',');
+        }
+    }
+
+    /**
+     * Starts an object.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    void beginObject() throws IOException {
+        separator();
+        put('{');
+        this.first = true;
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    void endObject() throws IOException {
+        put('}');
+        this.first = false;
+    }
+
+    /**
+     * Starts an array.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    void beginArray() throws IOException {
+        separator();
+        put('[');
+        this.first = true;
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    void endArray() throws IOException {
+        put(']');
+        this.first = false;
+    }
+
+    /**
+     * Writes the name of the next member of the current object.
+     *
+     * @param name  the name ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    void name(String name) throws IOException {
+        separator();
+        string(name);
+        put(':');
+        this.first = true;
+    }
+
+    /**
+     * Writes a string value.
+     *
+     * @param value  the value ({@code null} is written as {@code null}).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    void value(String value) throws IOException {
+        if (value == null) {
+            nullValue();
+            return;
+        }
+        separator();
+        string(value);
+        this.first = false;
+    }
+
+    /**
+     * Writes a number.  JSON has no representation for {@code Double.NaN}
+     * or the infinities, so these are written as {@code null}.
+     *
+     * @param value  the value.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    void value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            nullValue();
+            return;
+        }
+        separator();
+        long l = (long) value;
+        if (l == value && Math.abs(value) < MAX_INTEGRAL
+                && (l != 0 || Double.doubleToRawLongBits(value) == 0L)) {
+            integer(l);
+        }
+        else {
+            put(Double.toString(value));
+        }
+        this.first = false;
+    }
+
+    /**
+     * Writes a number.
+     *
+     * @param value  the value ({@code null} is written as {@code null}).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    void value(Number value) throws IOException {
+        if (value == null) {
+            nullValue();
+        }
+        else {
+            value(value.doubleValue());
+        }
+    }
+
+    /**
+     * Writes a {@code null} value.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    void nullValue() throws IOException {
+        separator();
+        put("null");
+        this.first = false;
+    }
+
+    /**
+     * Writes the digits of an integer directly into the buffer.
+     *
+     * @param value  the value (magnitude less than {@code 1e15}).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private void integer(long value) throws IOException {
+        if (this.count + 20 > this.buffer.length) {
+            flushBuffer();
+        }
+        if (value < 0) {
+            this.buffer[this.count++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value / 10; v != 0; v /= 10) {
+            digits++;
+        }
+        int p = this.count + digits;
+        this.count = p;
+        do {
+            this.buffer[--p] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+    }
+
+    /**
+     * Writes a quoted and escaped string.
+     *
+     * @param s  the string.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private void string(String s) throws IOException {
+        put('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    put("\\\"");
+                    break;
+                case '\\':
+                    put("\\\\");
+                    break;
+                case '\b':
+                    put("\\b");
+                    break;
+                case '\f':
+                    put("\\f");
+                    break;
+                case '\n':
+                    put("\\n");
+                    break;
+                case '\r':
+                    put("\\r");
+                    break;
+                case '\t':
+                    put("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || (c >= 0x7F && c <= 0x9F)
+                            || c == 0x2028 || c == 0x2029) {
+                        put("\\u");
+                        String hex = Integer.toHexString(c);
+                        for (int k = hex.length(); k < 4; k++) {
+                            put('0');
+                        }
+                        put(hex.toUpperCase());
+                    }
+                    else {
+                        put(c);
+                    }
+            }
+        }
+        put('"');
+    }
+
+    private void flushBuffer() throws IOException {
+        if (this.count > 0) {
+            this.writer.write(this.buffer, 0, this.count);
+            this.count = 0;
+        }
+    }
+
+    /**
+     * Writes any buffered characters to the target writer and flushes it.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    void flush() throws IOException {
+        flushBuffer();
+        this.writer.flush();
+    }
+
+}
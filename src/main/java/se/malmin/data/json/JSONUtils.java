@@ -33,27 +33,50 @@
  * Contributor(s):   -;
  *
  */
-
 package se.malmin.data.json;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
-import java.util.Iterator;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
 
 import se.malmin.chart.util.Args;
 import se.malmin.data.KeyedValues;
 import se.malmin.data.KeyedValues2D;
 import se.malmin.data.category.CategoryDataset;
+import se.malmin.data.category.DefaultCategoryDataset;
 import se.malmin.data.general.PieDataset;
-import se.malmin.data.json.impl.JSONValue;
+import se.malmin.data.time.FixedMillisecond;
+import se.malmin.data.time.RegularTimePeriod;
+import se.malmin.data.time.TimeSeries;
+import se.malmin.data.time.TimeSeriesCollection;
+import se.malmin.data.xy.DefaultXYDataset;
+import se.malmin.data.xy.XYDataset;
 
 /**
  * A utility class that can read and write data in specific JSON formats.
+ * The data is streamed to a {@code Writer} or from a {@code Reader}
+ * directly, without building an intermediate tree of JSON objects, so
+ * large datasets can be transferred without holding a second copy of the
+ * data in memory.  In all formats, {@code null} is used for missing values
+ * (and for {@code Double.NaN}, which JSON cannot represent).
  */
 public class JSONUtils {
 
+    /**
+     * The order of the time periods in a series (the periods in a series
+     * all have the same class, so they are ordered by their start times).
+     */
+    private static final Comparator<RegularTimePeriod> PERIOD_ORDER
+            = Comparator.comparingLong(RegularTimePeriod::getFirstMillisecond);
+
     /**
      * Returns a string containing the data in JSON format.  The format is
      * an array of arrays, where each sub-array represents one data value.
@@ -92,27 +115,24 @@ public class JSONUtils {
             throws IOException {
         Args.nullNotPermitted(data, "data");
         Args.nullNotPermitted(writer, "writer");
-        writer.write("[");
-        boolean first = true;
-        Iterator iterator = data.getKeys().iterator();
-        while (iterator.hasNext()) {
-            Comparable key = (Comparable) iterator.next();
-            if (!first) {
-                writer.write(", ");
-            } else {
-                first = false;
-            }
-            writer.write("[");
-            writer.write(JSONValue.toJSONString(key.toString()));
-            writer.write(", ");
-            writer.write(JSONValue.toJSONString(data.getValue(key)));
-            writer.write("]");
+        JSONStreamWriter out = new JSONStreamWriter(writer);
+        out.beginArray();
+        for (int i = 0; i < data.getItemCount(); i++) {
+            out.beginArray();
+            out.value(data.getKey(i).toString());
+            out.value(data.getValue(i));
+            out.endArray();
         }
-        writer.write("]");
+        out.endArray();
+        out.flush();
     }
     
     /**
-     * Returns a string containing the data in JSON format.  The format is...
+     * Returns a string containing the data in JSON format.  The format is
+     * an object with an array of column keys and an array of rows, where
+     * each row is an array containing the row key and an array of values
+     * (one per column).  For example:
+     * {@code {"columnKeys":["C1","C2"],"rows":[["R1",[1,2]],["R2",[3,null]]]}}
      * <br><br>
      * Note that this method can be used with instances of 
      * {@link CategoryDataset}.
@@ -142,6 +162,8 @@ public class JSONUtils {
      * @param writer  the writer ({@code null} not permitted).
      * 
      * @throws IOException if there is an I/O problem.
+     *
+     * @see #readCategoryDataset(Reader)
      */
     public static void writeKeyedValues2D(KeyedValues2D data, Writer writer) 
             throws IOException {
@@ -149,48 +171,455 @@ public class JSONUtils {
         Args.nullNotPermitted(writer, "writer");
         List<Comparable<?>> columnKeys = data.getColumnKeys();
         List<Comparable<?>> rowKeys = data.getRowKeys();
-        writer.write("{");
+        JSONStreamWriter out = new JSONStreamWriter(writer);
+        out.beginObject();
         if (!columnKeys.isEmpty()) {
-            writer.write("\"columnKeys\": [");
-            boolean first = true;
+            out.name("columnKeys");
+            out.beginArray();
             for (Comparable<?> columnKey : columnKeys) {
-                if (!first) {
-                    writer.write(", ");
-                } else {
-                    first = false;
-                }
-                writer.write(JSONValue.toJSONString(columnKey.toString()));
+                out.value(columnKey.toString());
             }
-            writer.write("]");
+            out.endArray();
         }
         if (!rowKeys.isEmpty()) {
-            writer.write(", \"rows\": [");
-            boolean firstRow = true;
-            for (Comparable<?> rowKey : rowKeys) {   
-                if (!firstRow) {
-                    writer.write(", [");
-                } else {
-                    writer.write("[");
-                    firstRow = false;
+            out.name("rows");
+            out.beginArray();
+            int columnCount = columnKeys.size();
+            for (int r = 0; r < rowKeys.size(); r++) {
+                out.beginArray();
+                out.value(rowKeys.get(r).toString());
+                out.beginArray();
+                for (int c = 0; c < columnCount; c++) {
+                    out.value(data.getValue(r, c));
                 }
-                // write the row data 
-                writer.write(JSONValue.toJSONString(rowKey.toString()));
-                writer.write(", [");
-                boolean first = true;
-                for (Comparable<?> columnKey : columnKeys) {
-                    if (!first) {
-                        writer.write(", ");
-                    } else {
-                        first = false;
+                out.endArray();
+                out.endArray();
+            }
+            out.endArray();
+        }
+        out.endObject();
+        out.flush();
+    }
+
+    /**
+     * Reads a {@link CategoryDataset} in the format written by
+     * {@link #writeKeyedValues2D(KeyedValues2D, Writer)}.  The keys in the
+     * dataset are strings.
+     *
+     * @param reader  the reader ({@code null} not permitted).
+     *
+     * @return A new dataset.
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public static DefaultCategoryDataset readCategoryDataset(Reader reader)
+            throws IOException {
+        Args.nullNotPermitted(reader, "reader");
+        JSONStreamReader in = new JSONStreamReader(reader);
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        String[] columnKeys = new String[0];
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if ("columnKeys".equals(name)) {
+                columnKeys = readStrings(in);
+            }
+            else if ("rows".equals(name)) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    in.beginArray();
+                    if (!in.hasNext()) {
+                        throw in.error("Expected a row key");
+                    }
+                    String rowKey = requireKey(in);
+                    if (!in.hasNext()) {
+                        throw in.error("Expected the row values");
                     }
-                    writer.write(JSONValue.toJSONString(data.getValue(rowKey, 
-                            columnKey)));
+                    in.beginArray();
+                    int c = 0;
+                    while (in.hasNext()) {
+                        if (c == columnKeys.length) {
+                            throw in.error("Too many values in row");
+                        }
+                        double value = in.nextDouble();
+                        dataset.addValue(Double.isNaN(value) ? null
+                                : (Number) value, rowKey, columnKeys[c++]);
+                    }
+                    in.endArray();
+                    in.endArray();
                 }
-                writer.write("]]");
+                in.endArray();
+            }
+            else {
+                in.skipValue();
             }
-            writer.write("]");
         }
-        writer.write("}");    
+        in.endObject();
+        in.endDocument();
+        return dataset;
     }
-    
+
+    /**
+     * Writes an {@link XYDataset} in JSON format to the supplied writer.  The
+     * format is an object with an array of series, where each series is an
+     * object with a key and (parallel) arrays of x-values and y-values.  For
+     * example:
+     * {@code {"series":[{"key":"S1","x":[1,2,3],"y":[4.5,null,6.5]}]}}
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param writer  the writer ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     *
+     * @see #readXYDataset(Reader)
+     */
+    public static void writeXYDataset(XYDataset dataset, Writer writer)
+            throws IOException {
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(writer, "writer");
+        JSONStreamWriter out = new JSONStreamWriter(writer);
+        out.beginObject();
+        out.name("series");
+        out.beginArray();
+        for (int s = 0; s < dataset.getSeriesCount(); s++) {
+            int itemCount = dataset.getItemCount(s);
+            out.beginObject();
+            out.name("key");
+            out.value(dataset.getSeriesKey(s).toString());
+            out.name("x");
+            out.beginArray();
+            for (int i = 0; i < itemCount; i++) {
+                out.value(dataset.getXValue(s, i));
+            }
+            out.endArray();
+            out.name("y");
+            out.beginArray();
+            for (int i = 0; i < itemCount; i++) {
+                out.value(dataset.getYValue(s, i));
+            }
+            out.endArray();
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+        out.flush();
+    }
+
+    /**
+     * Reads an {@link XYDataset} in the format written by
+     * {@link #writeXYDataset(XYDataset, Writer)}.  The values are parsed
+     * straight into the {@code double} arrays that back the returned
+     * dataset, and the series keys are strings.
+     *
+     * @param reader  the reader ({@code null} not permitted).
+     *
+     * @return A new dataset.
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public static DefaultXYDataset readXYDataset(Reader reader)
+            throws IOException {
+        Args.nullNotPermitted(reader, "reader");
+        JSONStreamReader in = new JSONStreamReader(reader);
+        DefaultXYDataset dataset = new DefaultXYDataset();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (!"series".equals(name)) {
+                in.skipValue();
+                continue;
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                String key = null;
+                double[] x = null;
+                double[] y = null;
+                in.beginObject();
+                while (in.hasNext()) {
+                    String member = in.nextName();
+                    if ("key".equals(member)) {
+                        key = requireKey(in);
+                    }
+                    else if ("x".equals(member)) {
+                        x = in.nextDoubleArray();
+                    }
+                    else if ("y".equals(member)) {
+                        y = in.nextDoubleArray();
+                    }
+                    else {
+                        in.skipValue();
+                    }
+                }
+                if (key == null || x == null || y == null) {
+                    throw in.error("Series requires 'key', 'x' and 'y'");
+                }
+                if (x.length != y.length) {
+                    throw in.error("Series '" + key
+                            + "' has different numbers of x and y values");
+                }
+                in.endObject();
+                dataset.addSeries(key, new double[][] {x, y});
+            }
+            in.endArray();
+        }
+        in.endObject();
+        in.endDocument();
+        return dataset;
+    }
+
+    /**
+     * Writes a {@link TimeSeriesCollection} in JSON format to the supplied
+     * writer.  The format is an object with an array of series, where each
+     * series is an object with a key, the (simple) name of the time period
+     * class, the first millisecond of each time period and the values.  For
+     * example:
+     * {@code {"series":[{"key":"S1","period":"Day",
+     * "time":[1609455600000,1609542000000],"values":[1.5,null]}]}}
+     *
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param writer  the writer ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     *
+     * @see #readTimeSeriesCollection(Reader, TimeZone, Locale)
+     */
+    public static void writeTimeSeriesCollection(TimeSeriesCollection dataset,
+            Writer writer) throws IOException {
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(writer, "writer");
+        JSONStreamWriter out = new JSONStreamWriter(writer);
+        out.beginObject();
+        out.name("series");
+        out.beginArray();
+        for (int s = 0; s < dataset.getSeriesCount(); s++) {
+            TimeSeries series = dataset.getSeries(s);
+            int itemCount = series.getItemCount();
+            out.beginObject();
+            out.name("key");
+            out.value(series.getKey().toString());
+            Class periodClass = series.getTimePeriodClass();
+            if (periodClass != null) {
+                out.name("period");
+                out.value(periodClass.getSimpleName());
+            }
+            out.name("time");
+            out.beginArray();
+            for (int i = 0; i < itemCount; i++) {
+                out.value(series.getTimePeriod(i).getFirstMillisecond());
+            }
+            out.endArray();
+            out.name("values");
+            out.beginArray();
+            for (int i = 0; i < itemCount; i++) {
+                out.value(series.getValue(i));
+            }
+            out.endArray();
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+        out.flush();
+    }
+
+    /**
+     * Reads a {@link TimeSeriesCollection} in the format written by
+     * {@link #writeTimeSeriesCollection(TimeSeriesCollection, Writer)},
+     * creating the time periods in the default time zone and locale.
+     *
+     * @param reader  the reader ({@code null} not permitted).
+     *
+     * @return A new collection.
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public static TimeSeriesCollection readTimeSeriesCollection(Reader reader)
+            throws IOException {
+        return readTimeSeriesCollection(reader, TimeZone.getDefault(),
+                Locale.getDefault());
+    }
+
+    /**
+     * Reads a {@link TimeSeriesCollection} in the format written by
+     * {@link #writeTimeSeriesCollection(TimeSeriesCollection, Writer)}.  The
+     * time periods are recreated from their first millisecond, so the time
+     * zone should be the one that the original periods were created in.
+     *
+     * @param reader  the reader ({@code null} not permitted).
+     * @param zone  the time zone for the periods ({@code null} not
+     *     permitted).
+     * @param locale  the locale for the periods ({@code null} not
+     *     permitted).
+     *
+     * @return A new collection.
+     *
+     * @throws IOException if there is an I/O problem or the input is not in
+     *     the expected format.
+     */
+    public static TimeSeriesCollection readTimeSeriesCollection(Reader reader,
+            TimeZone zone, Locale locale) throws IOException {
+        Args.nullNotPermitted(reader, "reader");
+        Args.nullNotPermitted(zone, "zone");
+        Args.nullNotPermitted(locale, "locale");
+        JSONStreamReader in = new JSONStreamReader(reader);
+        TimeSeriesCollection dataset = new TimeSeriesCollection(zone);
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (!"series".equals(name)) {
+                in.skipValue();
+                continue;
+            }
+            in.beginArray();
+            while (in.hasNext()) {
+                String key = null;
+                String period = FixedMillisecond.class.getSimpleName();
+                double[] time = null;
+                double[] values = null;
+                in.beginObject();
+                while (in.hasNext()) {
+                    String member = in.nextName();
+                    if ("key".equals(member)) {
+                        key = requireKey(in);
+                    }
+                    else if ("period".equals(member)) {
+                        period = requireKey(in);
+                    }
+                    else if ("time".equals(member)) {
+                        time = in.nextDoubleArray();
+                    }
+                    else if ("values".equals(member)) {
+                        values = in.nextDoubleArray();
+                    }
+                    else {
+                        in.skipValue();
+                    }
+                }
+                if (key == null || time == null || values == null) {
+                    throw in.error(
+                            "Series requires 'key', 'time' and 'values'");
+                }
+                if (time.length != values.length) {
+                    throw in.error("Series '" + key
+                            + "' has different numbers of times and values");
+                }
+                in.endObject();
+                dataset.addSeries(createTimeSeries(in, key, period, time,
+                        values, zone, locale));
+            }
+            in.endArray();
+        }
+        in.endObject();
+        in.endDocument();
+        return dataset;
+    }
+
+    /**
+     * Creates a time series from the values read by
+     * {@link #readTimeSeriesCollection(Reader, TimeZone, Locale)}.
+     *
+     * @param in  the parser (for error reporting).
+     * @param key  the series key.
+     * @param period  the simple name of the time period class.
+     * @param time  the first millisecond of each time period.
+     * @param values  the values.
+     * @param zone  the time zone.
+     * @param locale  the locale.
+     *
+     * @return The series.
+     *
+     * @throws IOException if the time period class is not recognised.
+     */
+    private static TimeSeries createTimeSeries(JSONStreamReader in,
+            String key, String period, double[] time, double[] values,
+            TimeZone zone, Locale locale) throws IOException {
+        Constructor<?> constructor = null;
+        if (!FixedMillisecond.class.getSimpleName().equals(period)) {
+            try {
+                Class<?> c = Class.forName(
+                        RegularTimePeriod.class.getPackage().getName() + "."
+                        + period);
+                if (!RegularTimePeriod.class.isAssignableFrom(c)) {
+                    throw in.error("Unknown time period '" + period + "'");
+                }
+                constructor = c.getConstructor(Date.class, TimeZone.class,
+                        Locale.class);
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                throw in.error("Unknown time period '" + period + "'");
+            }
+        }
+        TimeSeries series = new TimeSeries(key);
+        RegularTimePeriod last = null;
+        for (int i = 0; i < time.length; i++) {
+            long ms = (long) time[i];
+            RegularTimePeriod p;
+            if (constructor == null) {
+                p = new FixedMillisecond(ms);
+            }
+            else {
+                try {
+                    p = (RegularTimePeriod) constructor.newInstance(
+                            new Date(ms), zone, locale);
+                } catch (ReflectiveOperationException e) {
+                    throw in.error("Cannot create time period '" + period
+                            + "'");
+                }
+            }
+            Number value = Double.isNaN(values[i]) ? null : (Number) values[i];
+            // the series has no listeners yet, so appending in order is
+            // cheap and anything else is an add or update
+            if (last == null || PERIOD_ORDER.compare(p, last) > 0) {
+                series.add(p, value, false);
+                last = p;
+            }
+            else {
+                series.addOrUpdate(p, value);
+            }
+        }
+        return series;
+    }
+
+    /**
+     * Reads an array of strings.
+     *
+     * @param in  the parser.
+     *
+     * @return The strings.
+     *
+     * @throws IOException if there is an I/O problem or malformed input.
+     */
+    private static String[] readStrings(JSONStreamReader in)
+            throws IOException {
+        String[] result = new String[16];
+        int n = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (n == result.length) {
+                result = Arrays.copyOf(result, 2 * n);
+            }
+            result[n++] = requireKey(in);
+        }
+        in.endArray();
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * Reads a string that must not be {@code null}.
+     *
+     * @param in  the parser.
+     *
+     * @return The string.
+     *
+     * @throws IOException if there is an I/O problem or malformed input.
+     */
+    private static String requireKey(JSONStreamReader in) throws IOException {
+        String result = in.nextString();
+        if (result == null) {
+            throw in.error("Expected a string but found null");
+        }
+        return result;
+    }
+
 }
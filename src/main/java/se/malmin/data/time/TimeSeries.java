@@ -51,10 +51,14 @@ import java.util.Objects;
 import java.util.TimeZone;
 
 import se.malmin.chart.util.Args;
+import se.malmin.chart.util.CircularArrayList;
 import se.malmin.chart.util.ObjectUtils;
+import se.malmin.data.MinMaxIndex;
 import se.malmin.data.Range;
+import se.malmin.data.general.DatasetChangeType;
 import se.malmin.data.general.Series;
 import se.malmin.data.general.SeriesChangeEvent;
+import se.malmin.data.general.SeriesChangeInfo;
 import se.malmin.data.general.SeriesException;
 
 /**
@@ -63,6 +67,11 @@ import se.malmin.data.general.SeriesException;
  * The time series will ensure that (a) all data items have the same type of
  * period (for example, {@link Day}) and (b) that each period appears at
  * most one time in the series.
+ * <p>
+ * The data items are stored in a {@link CircularArrayList}, so that removing
+ * the oldest item when the maximum item count or maximum item age is reached
+ * takes constant time.  Appending to a full rolling window is therefore an
+ * amortized O(1) operation.
  */
 public class TimeSeries extends Series implements Cloneable, Serializable {
 
@@ -106,6 +115,13 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      */
     private double maxY;
 
+    /**
+     * An index of the y-values, used to maintain the bounds without
+     * iterating over all the items and to find the range of values for a
+     * subset of the items ({@code null} unless enabled).
+     */
+    private MinMaxIndex valueIndex;
+
     /**
      * Creates a new (empty) time series.  By default, a daily time series is
      * created.  Use one of the other constructors if you require a different
@@ -133,7 +149,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         this.domain = domain;
         this.range = range;
         this.timePeriodClass = null;
-        this.data = new java.util.ArrayList();
+        this.data = new CircularArrayList();
         this.maximumItemCount = Integer.MAX_VALUE;
         this.maximumItemAge = Long.MAX_VALUE;
         this.minY = Double.NaN;
@@ -348,14 +364,22 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      */
     public Range findValueRange(Range xRange, TimePeriodAnchor xAnchor, 
             Calendar calendar) {
-        // since the items are ordered, we could be more clever here and avoid
-        // iterating over all the data
+        // the items are ordered by time period, so the anchor times are
+        // ordered too and we only need to look at the items in the x-range
+        int first = findFirstIndex(xRange.getLowerBound(), xAnchor, calendar);
+        int last = findFirstIndex(xRange.getUpperBound(), xAnchor, calendar,
+                true) - 1;
         double lowY = Double.POSITIVE_INFINITY;
         double highY = Double.NEGATIVE_INFINITY;
-        for (int i = 0; i < this.data.size(); i++) {
-            TimeSeriesDataItem item = (TimeSeriesDataItem) this.data.get(i);
-            long millis = item.getPeriod().getMillisecond(xAnchor, calendar);
-            if (xRange.contains(millis)) {
+        if (first <= last && this.valueIndex != null) {
+            lowY = minIgnoreNaN(lowY, this.valueIndex.getMinimum(first, last));
+            highY = maxIgnoreNaN(highY, this.valueIndex.getMaximum(first,
+                    last));
+        }
+        else {
+            for (int i = first; i <= last; i++) {
+                TimeSeriesDataItem item
+                        = (TimeSeriesDataItem) this.data.get(i);
                 Number n = item.getValue();
                 if (n != null) {
                     double v = n.doubleValue();
@@ -374,6 +398,50 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         return new Range(lowY, highY);
     }
 
+    /**
+     * Returns the index of the first item with an anchor time greater than
+     * or equal to the specified time.
+     *
+     * @param millis  the time (in milliseconds).
+     * @param anchor  the anchor point within each time period.
+     * @param calendar  the calendar.
+     *
+     * @return The index (equal to the item count if there is no such item).
+     */
+    private int findFirstIndex(double millis, TimePeriodAnchor anchor,
+            Calendar calendar) {
+        return findFirstIndex(millis, anchor, calendar, false);
+    }
+
+    /**
+     * Returns the index of the first item with an anchor time greater than
+     * (or, if {@code strict} is {@code false}, equal to) the specified time.
+     *
+     * @param millis  the time (in milliseconds).
+     * @param anchor  the anchor point within each time period.
+     * @param calendar  the calendar.
+     * @param strict  only consider times that are strictly greater?
+     *
+     * @return The index (equal to the item count if there is no such item).
+     */
+    private int findFirstIndex(double millis, TimePeriodAnchor anchor,
+            Calendar calendar, boolean strict) {
+        int low = 0;
+        int high = this.data.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long t = getRawDataItem(mid).getPeriod().getMillisecond(anchor,
+                    calendar);
+            if (t < millis || (strict && t == millis)) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     /**
      * Returns the smallest y-value in the series, ignoring any 
      * {@code null} and {@code Double.NaN} values.  This method 
@@ -402,6 +470,46 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         return this.maxY;
     }
 
+    /**
+     * Returns {@code true} if the series maintains an index of its values,
+     * and {@code false} otherwise.
+     *
+     * @return A boolean.
+     *
+     * @see #setUseValueIndex(boolean)
+     */
+    public boolean getUseValueIndex() {
+        return this.valueIndex != null;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the series maintains an
+     * index (a segment tree) of its values.  With the index, the minimum and
+     * maximum y-values are updated in O(log n) time when an extreme value is
+     * removed (for example by the maximum item count or maximum item age),
+     * and {@link #findValueRange(Range, TimePeriodAnchor, Calendar)} runs
+     * in O(log n) time.  Without the index, these operations iterate over
+     * the items in the series.
+     *
+     * @param use  the new flag value.
+     *
+     * @see #getUseValueIndex()
+     */
+    public void setUseValueIndex(boolean use) {
+        if (use) {
+            int count = this.data.size();
+            double[] values = new double[count];
+            for (int i = 0; i < count; i++) {
+                values[i] = toDouble((TimeSeriesDataItem) this.data.get(i));
+            }
+            this.valueIndex = new MinMaxIndex();
+            this.valueIndex.setValues(values, count);
+        }
+        else {
+            this.valueIndex = null;
+        }
+    }
+
     /**
      * Returns the time period class for this series.
      * <p>
@@ -619,6 +727,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         // make the change (if it's not a duplicate time period)...
         boolean added = false;
         int count = getItemCount();
+        int position = count;
         if (count == 0) {
             this.data.add(item);
             added = true;
@@ -632,7 +741,8 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
             else {
                 int index = Collections.binarySearch(this.data, item);
                 if (index < 0) {
-                    this.data.add(-index - 1, item);
+                    position = -index - 1;
+                    this.data.add(position, item);
                     added = true;
                 }
                 else {
@@ -648,10 +758,14 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
             }
         }
         if (added) {
+            if (this.valueIndex != null) {
+                this.valueIndex.add(position, toDouble(item));
+            }
             updateBoundsForAddedItem(item);
             // check if this addition will exceed the maximum item count...
             if (getItemCount() > this.maximumItemCount) {
                 TimeSeriesDataItem d = (TimeSeriesDataItem) this.data.remove(0);
+                indexRemove(0, 1);
                 updateBoundsForRemovedItem(d);
             }
 
@@ -659,7 +773,7 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
                                      // don't notify anyone, because that
                                      // happens next anyway...
             if (notify) {
-                fireSeriesChanged();
+                fireSeriesChanged(createAddInfo(position, count));
             }
         }
 
@@ -763,6 +877,9 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
             }
         }
         item.setValue(value);
+        if (this.valueIndex != null) {
+            this.valueIndex.setValue(index, toDouble(item));
+        }
         if (iterate) {
             updateMinMaxYByIteration();
         }
@@ -771,7 +888,8 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
             this.minY = minIgnoreNaN(this.minY, yy);
             this.maxY = maxIgnoreNaN(this.maxY, yy);
         }
-        fireSeriesChanged();
+        fireSeriesChanged(new SeriesChangeInfo(DatasetChangeType.UPDATE,
+                index, index));
     }
 
     /**
@@ -852,6 +970,8 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
             throw new SeriesException(msg);
         }
         TimeSeriesDataItem overwritten = null;
+        SeriesChangeInfo info;
+        int count = getItemCount();
         int index = Collections.binarySearch(this.data, item);
         if (index >= 0) {
             TimeSeriesDataItem existing
@@ -866,6 +986,9 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
                 iterate = oldY <= this.minY || oldY >= this.maxY;
             }
             existing.setValue(item.getValue());
+            if (this.valueIndex != null) {
+                this.valueIndex.setValue(index, toDouble(existing));
+            }
             if (iterate) {
                 updateMinMaxYByIteration();
             }
@@ -874,26 +997,65 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
                 this.minY = minIgnoreNaN(this.minY, yy);
                 this.maxY = maxIgnoreNaN(this.maxY, yy);
             }
+            info = new SeriesChangeInfo(DatasetChangeType.UPDATE, index,
+                    index);
         }
         else {
+            info = null;
             item = (TimeSeriesDataItem) item.clone();
             this.data.add(-index - 1, item);
+            if (this.valueIndex != null) {
+                this.valueIndex.add(-index - 1, toDouble(item));
+            }
             updateBoundsForAddedItem(item);
 
             // check if this addition will exceed the maximum item count...
             if (getItemCount() > this.maximumItemCount) {
                 TimeSeriesDataItem d = (TimeSeriesDataItem) this.data.remove(0);
+                indexRemove(0, 1);
                 updateBoundsForRemovedItem(d);
             }
         }
+        int remaining = getItemCount();
         removeAgedItems(false);  // remove old items if necessary, but
                                  // don't notify anyone, because that
                                  // happens next anyway...
-        fireSeriesChanged();
+        if (info == null) {
+            info = createAddInfo(-index - 1, count);
+        }
+        else if (getItemCount() != remaining) {
+            info = SeriesChangeInfo.RESET;
+        }
+        fireSeriesChanged(info);
         return overwritten;
 
     }
 
+    /**
+     * Returns a description of the change made by adding an item to the
+     * series.  If the item was not added at the end of the series, or if
+     * items were removed to keep within the maximum item count or age, the
+     * change is reported as a reset.
+     *
+     * @param position  the position at which the item was added.
+     * @param previousCount  the item count before the item was added.
+     *
+     * @return The change info.
+     */
+    private SeriesChangeInfo createAddInfo(int position, int previousCount) {
+        int itemCount = getItemCount();
+        if (position != previousCount || itemCount == 0) {
+            return SeriesChangeInfo.RESET;
+        }
+        if (itemCount == previousCount + 1) {
+            return new SeriesChangeInfo(DatasetChangeType.APPEND, position,
+                    position);
+        }
+        // the oldest items were removed to make room for the new item
+        return new SeriesChangeInfo(DatasetChangeType.SCROLL, itemCount - 1,
+                itemCount - 1, previousCount + 1 - itemCount);
+    }
+
     /**
      * Age items in the series.  Ensure that the timespan from the youngest to
      * the oldest record in the series does not exceed maximumItemAge time
@@ -907,16 +1069,18 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         // count...
         if (getItemCount() > 1) {
             long latest = getTimePeriod(getItemCount() - 1).getSerialIndex();
-            boolean removed = false;
+            int removed = 0;
             while ((latest - getTimePeriod(0).getSerialIndex())
                     > this.maximumItemAge) {
                 this.data.remove(0);
-                removed = true;
+                indexRemove(0, 1);
+                removed++;
             }
-            if (removed) {
+            if (removed > 0) {
                 updateMinMaxYByIteration();
                 if (notify) {
-                    fireSeriesChanged();
+                    fireSeriesChanged(new SeriesChangeInfo(
+                            DatasetChangeType.REMOVE, 0, removed - 1));
                 }
             }
         }
@@ -959,16 +1123,18 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
 
         // check if there are any values earlier than specified by the history
         // count...
-        boolean removed = false;
+        int removed = 0;
         while (getItemCount() > 0 && (index
                 - getTimePeriod(0).getSerialIndex()) > this.maximumItemAge) {
             this.data.remove(0);
-            removed = true;
+            indexRemove(0, 1);
+            removed++;
         }
-        if (removed) {
+        if (removed > 0) {
             updateMinMaxYByIteration();
             if (notify) {
-                fireSeriesChanged();
+                fireSeriesChanged(new SeriesChangeInfo(
+                        DatasetChangeType.REMOVE, 0, removed - 1));
             }
         }
     }
@@ -980,6 +1146,9 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
     public void clear() {
         if (this.data.size() > 0) {
             this.data.clear();
+            if (this.valueIndex != null) {
+                this.valueIndex.clear();
+            }
             this.timePeriodClass = null;
             this.minY = Double.NaN;
             this.maxY = Double.NaN;
@@ -1000,11 +1169,13 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         if (index >= 0) {
             TimeSeriesDataItem item = (TimeSeriesDataItem) this.data.remove(
                     index);
+            indexRemove(index, index + 1);
             updateBoundsForRemovedItem(item);
             if (this.data.isEmpty()) {
                 this.timePeriodClass = null;
             }
-            fireSeriesChanged();
+            fireSeriesChanged(new SeriesChangeInfo(DatasetChangeType.REMOVE,
+                    index, index));
         }
     }
 
@@ -1029,15 +1200,15 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         if (end < start) {
             throw new IllegalArgumentException("Requires start <= end.");
         }
-        for (int i = 0; i <= (end - start); i++) {
-            this.data.remove(start);
-        }
+        this.data.subList(start, end + 1).clear();
+        indexRemove(start, end + 1);
         updateMinMaxYByIteration();
         if (this.data.isEmpty()) {
             this.timePeriodClass = null;
         }
         if (notify) {
-            fireSeriesChanged();
+            fireSeriesChanged(new SeriesChangeInfo(DatasetChangeType.REMOVE,
+                    start, end));
         }
     }
 
@@ -1060,6 +1231,9 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
     public Object clone() throws CloneNotSupportedException {
         TimeSeries clone = (TimeSeries) super.clone();
         clone.data = (List) ObjectUtils.deepClone(this.data);
+        if (this.valueIndex != null) {
+            clone.valueIndex = (MinMaxIndex) this.valueIndex.clone();
+        }
         return clone;
     }
 
@@ -1086,7 +1260,8 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         TimeSeries copy = (TimeSeries) super.clone();
         copy.minY = Double.NaN;
         copy.maxY = Double.NaN;
-        copy.data = new java.util.ArrayList();
+        copy.data = new CircularArrayList();
+        copy.setUseValueIndex(getUseValueIndex());
         if (this.data.size() > 0) {
             for (int index = start; index <= end; index++) {
                 TimeSeriesDataItem item
@@ -1143,7 +1318,8 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         }
         if (emptyRange) {
             TimeSeries copy = (TimeSeries) super.clone();
-            copy.data = new java.util.ArrayList();
+            copy.data = new CircularArrayList();
+            copy.setUseValueIndex(getUseValueIndex());
             return copy;
         }
         return createCopy(startIndex, endIndex);
@@ -1247,6 +1423,11 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      * @param item  the item added ({@code null} not permitted).
      */
     private void updateBoundsForRemovedItem(TimeSeriesDataItem item) {
+        if (this.valueIndex != null) {
+            this.minY = this.valueIndex.getMinimum();
+            this.maxY = this.valueIndex.getMaximum();
+            return;
+        }
         Number yN = item.getValue();
         if (yN != null) {
             double y = yN.doubleValue();
@@ -1263,6 +1444,11 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
      * through all the data items.
      */
     private void updateMinMaxYByIteration() {
+        if (this.valueIndex != null) {
+            this.minY = this.valueIndex.getMinimum();
+            this.maxY = this.valueIndex.getMaximum();
+            return;
+        }
         this.minY = Double.NaN;
         this.maxY = Double.NaN;
         Iterator iterator = this.data.iterator();
@@ -1272,6 +1458,31 @@ public class TimeSeries extends Series implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Returns the value of a data item as a {@code double}.
+     *
+     * @param item  the item ({@code null} not permitted).
+     *
+     * @return The value ({@code Double.NaN} for a {@code null} value).
+     */
+    private static double toDouble(TimeSeriesDataItem item) {
+        Number n = item.getValue();
+        return n != null ? n.doubleValue() : Double.NaN;
+    }
+
+    /**
+     * Records the removal of a range of items in the value index (if there
+     * is one).
+     *
+     * @param fromIndex  the index of the first item removed.
+     * @param toIndex  the index after the last item removed.
+     */
+    private void indexRemove(int fromIndex, int toIndex) {
+        if (this.valueIndex != null) {
+            this.valueIndex.removeRange(fromIndex, toIndex);
+        }
+    }
+
     /**
      * A function to find the minimum of two values, but ignoring any
      * Double.NaN values.
@@ -0,0 +1,948 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------
+ * ColumnarXYSeries.java
+ * ---------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.xy;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import se.malmin.chart.util.Args;
+import se.malmin.data.MinMaxIndex;
+import se.malmin.data.Range;
+import se.malmin.data.general.DatasetChangeType;
+import se.malmin.data.general.SeriesChangeEvent;
+import se.malmin.data.general.SeriesChangeInfo;
+import se.malmin.data.general.SeriesException;
+
+/**
+ * An {@link XYSeries} that stores its x and y values in two growable
+ * {@code double[]} columns rather than as a list of {@link XYDataItem}
+ * objects.  Adding an (x, y) pair via {@link #add(double, double)} does not
+ * allocate any per-item objects, which keeps the memory footprint to 16 bytes
+ * per item for very large series.
+ * <p>
+ * The series is a drop-in replacement for {@code XYSeries} (it can be added
+ * to an {@link XYSeriesCollection}) and has the same sorting, duplicate
+ * x-value and maximum item count semantics.  The main differences are:
+ * <ul>
+ * <li>{@code null} y-values are stored as {@code Double.NaN}, so
+ * {@link #getY(int)} returns {@code null} for both;</li>
+ * <li>{@link #getItems()} and {@link #getDataItem(int)} create
+ * {@link XYDataItem} instances on demand, so changes to those items are
+ * not reflected in the series;</li>
+ * <li>the inherited {@code data} list is not used, so subclasses must work
+ * through the public accessors.</li>
+ * </ul>
+ */
+public class ColumnarXYSeries extends XYSeries {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 6547327836279123361L;
+
+    /** The initial capacity of the columns. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The x-values (the items occupy {@code start} to start + count - 1). */
+    private double[] xValues;
+
+    /** The y-values ({@code Double.NaN} represents a missing value). */
+    private double[] yValues;
+
+    /** The index of the first item in the columns. */
+    private int start;
+
+    /** The number of items in the series. */
+    private int count;
+
+    /** The lowest x-value in the series, excluding Double.NaN values. */
+    private double minX;
+
+    /** The highest x-value in the series, excluding Double.NaN values. */
+    private double maxX;
+
+    /** The lowest y-value in the series, excluding Double.NaN values. */
+    private double minY;
+
+    /** The highest y-value in the series, excluding Double.NaN values. */
+    private double maxY;
+
+    /** An index of the y-values ({@code null} if not enabled). */
+    private MinMaxIndex yIndex;
+
+    /** An index of the x-values for an unsorted series (may be null). */
+    private MinMaxIndex xIndex;
+
+    /**
+     * Creates a new empty series.  By default, items added to the series will
+     * be sorted into ascending order by x-value, and duplicate x-values will
+     * be allowed (these defaults can be modified with another constructor).
+     *
+     * @param key  the series key ({@code null} not permitted).
+     */
+    public ColumnarXYSeries(Comparable key) {
+        this(key, true, true);
+    }
+
+    /**
+     * Constructs a new empty series, with the auto-sort flag set as requested,
+     * and duplicate values allowed.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     */
+    public ColumnarXYSeries(Comparable key, boolean autoSort) {
+        this(key, autoSort, true);
+    }
+
+    /**
+     * Constructs a new series that contains no data.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     * @param allowDuplicateXValues  a flag that controls whether duplicate
+     *                               x-values are allowed.
+     */
+    public ColumnarXYSeries(Comparable key, boolean autoSort,
+            boolean allowDuplicateXValues) {
+        this(key, autoSort, allowDuplicateXValues, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new series that contains no data, with storage
+     * pre-allocated for the specified number of items.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param autoSort  a flag that controls whether or not the items in the
+     *                  series are sorted.
+     * @param allowDuplicateXValues  a flag that controls whether duplicate
+     *                               x-values are allowed.
+     * @param initialCapacity  the initial capacity (must be positive).
+     */
+    public ColumnarXYSeries(Comparable key, boolean autoSort,
+            boolean allowDuplicateXValues, int initialCapacity) {
+        super(key, autoSort, allowDuplicateXValues);
+        Args.requireInRange(initialCapacity, "initialCapacity", 1,
+                Integer.MAX_VALUE);
+        this.xValues = new double[initialCapacity];
+        this.yValues = new double[initialCapacity];
+        this.start = 0;
+        this.count = 0;
+        this.minX = Double.NaN;
+        this.maxX = Double.NaN;
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
+    }
+
+    @Override
+    public double getMinX() {
+        return this.minX;
+    }
+
+    @Override
+    public double getMaxX() {
+        return this.maxX;
+    }
+
+    @Override
+    public double getMinY() {
+        return this.minY;
+    }
+
+    @Override
+    public double getMaxY() {
+        return this.maxY;
+    }
+
+    /**
+     * Updates the cached bounds for a newly added (x, y) pair.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private void updateBoundsForAddedItem(double x, double y) {
+        this.minX = minIgnoreNaN(this.minX, x);
+        this.maxX = maxIgnoreNaN(this.maxX, x);
+        this.minY = minIgnoreNaN(this.minY, y);
+        this.maxY = maxIgnoreNaN(this.maxY, y);
+    }
+
+    /**
+     * Updates the cached bounds on the basis that the specified (x, y) pair
+     * has just been removed from the series.
+     *
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private void updateBoundsForRemovedItem(double x, double y) {
+        if (this.yIndex != null) {
+            updateBoundsFromIndex();
+            return;
+        }
+        boolean itemContributesToXBounds = !Double.isNaN(x)
+                && (x <= this.minX || x >= this.maxX);
+        boolean itemContributesToYBounds = !Double.isNaN(y)
+                && (y <= this.minY || y >= this.maxY);
+        if (itemContributesToYBounds) {
+            findBoundsByIteration();
+        }
+        else if (itemContributesToXBounds) {
+            if (getAutoSort() && this.count > 0) {
+                this.minX = this.xValues[this.start];
+                this.maxX = this.xValues[this.start + this.count - 1];
+            }
+            else {
+                findBoundsByIteration();
+            }
+        }
+    }
+
+    /**
+     * Finds the bounds of the x and y values for the series, by iterating
+     * through all the data items.
+     */
+    private void findBoundsByIteration() {
+        if (this.yIndex != null) {
+            updateBoundsFromIndex();
+            return;
+        }
+        this.minX = Double.NaN;
+        this.maxX = Double.NaN;
+        this.minY = Double.NaN;
+        this.maxY = Double.NaN;
+        int end = this.start + this.count;
+        for (int i = this.start; i < end; i++) {
+            updateBoundsForAddedItem(this.xValues[i], this.yValues[i]);
+        }
+    }
+
+    /**
+     * Reads the cached bounds from the bounds index.
+     */
+    private void updateBoundsFromIndex() {
+        this.minY = this.yIndex.getMinimum();
+        this.maxY = this.yIndex.getMaximum();
+        if (this.xIndex != null) {
+            this.minX = this.xIndex.getMinimum();
+            this.maxX = this.xIndex.getMaximum();
+        }
+        else if (this.count == 0) {
+            this.minX = Double.NaN;
+            this.maxX = Double.NaN;
+        }
+        else {
+            this.minX = this.xValues[this.start];
+            this.maxX = this.xValues[this.start + this.count - 1];
+        }
+    }
+
+    @Override
+    public boolean getUseBoundsIndex() {
+        return this.yIndex != null;
+    }
+
+    @Override
+    public void setUseBoundsIndex(boolean use) {
+        if (use) {
+            this.yIndex = new MinMaxIndex();
+            this.yIndex.setValues(Arrays.copyOfRange(this.yValues, this.start,
+                    this.start + this.count), this.count);
+            if (!getAutoSort()) {
+                this.xIndex = new MinMaxIndex();
+                this.xIndex.setValues(Arrays.copyOfRange(this.xValues,
+                        this.start, this.start + this.count), this.count);
+            }
+        }
+        else {
+            this.yIndex = null;
+            this.xIndex = null;
+        }
+    }
+
+    /**
+     * Records the removal of a range of items in the bounds index (if there
+     * is one).
+     *
+     * @param fromIndex  the index of the first item removed.
+     * @param toIndex  the index after the last item removed.
+     */
+    private void indexRemove(int fromIndex, int toIndex) {
+        if (this.yIndex != null) {
+            this.yIndex.removeRange(fromIndex, toIndex);
+            if (this.xIndex != null) {
+                this.xIndex.removeRange(fromIndex, toIndex);
+            }
+        }
+    }
+
+    private static double minIgnoreNaN(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        if (Double.isNaN(b)) {
+            return a;
+        }
+        return Math.min(a, b);
+    }
+
+    private static double maxIgnoreNaN(double a, double b) {
+        if (Double.isNaN(a)) {
+            return b;
+        }
+        if (Double.isNaN(b)) {
+            return a;
+        }
+        return Math.max(a, b);
+    }
+
+    @Override
+    public int getItemCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns an unmodifiable list view of the data items in the series.
+     * The {@link XYDataItem} instances are created as they are requested.
+     *
+     * @return The list of data items.
+     */
+    @Override
+    public List<XYDataItem> getItems() {
+        return Collections.unmodifiableList(new AbstractList<XYDataItem>() {
+            @Override
+            public XYDataItem get(int index) {
+                return getRawDataItem(index);
+            }
+            @Override
+            public int size() {
+                return ColumnarXYSeries.this.count;
+            }
+        });
+    }
+
+    @Override
+    public void setMaximumItemCount(int maximum) {
+        int remove = this.count - maximum;
+        if (remove > 0) {
+            removeFirst(remove);
+            findBoundsByIteration();
+        }
+        super.setMaximumItemCount(maximum);
+        if (remove > 0) {
+            fireSeriesChanged();
+        }
+    }
+
+    /**
+     * Returns the capacity of the storage columns.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return this.xValues.length;
+    }
+
+    /**
+     * Ensures that the columns can hold at least the specified number of
+     * items without further reallocation.
+     *
+     * @param capacity  the minimum capacity.
+     */
+    public void ensureCapacity(int capacity) {
+        if (this.start + capacity > this.xValues.length) {
+            int newCapacity = Math.max(capacity, this.count
+                    + (this.count >> 1) + 1);
+            this.xValues = relocate(this.xValues, newCapacity);
+            this.yValues = relocate(this.yValues, newCapacity);
+            this.start = 0;
+        }
+    }
+
+    /**
+     * Trims the capacity of the storage columns to the current item count.
+     */
+    public void trimToSize() {
+        int capacity = Math.max(this.count, 1);
+        if (this.xValues.length != capacity) {
+            this.xValues = relocate(this.xValues, capacity);
+            this.yValues = relocate(this.yValues, capacity);
+            this.start = 0;
+        }
+    }
+
+    private double[] relocate(double[] column, int capacity) {
+        double[] result = new double[capacity];
+        System.arraycopy(column, this.start, result, 0, this.count);
+        return result;
+    }
+
+    /**
+     * Makes room for one more item at the end of the columns.  If items have
+     * been removed from the front of the series and at least half of the
+     * columns is unused, the items are shifted back rather than growing the
+     * columns.
+     */
+    private void ensureSpaceForOneMore() {
+        if (this.start + this.count < this.xValues.length) {
+            return;
+        }
+        if (this.start > 0 && this.count < (this.xValues.length >> 1)) {
+            System.arraycopy(this.xValues, this.start, this.xValues, 0,
+                    this.count);
+            System.arraycopy(this.yValues, this.start, this.yValues, 0,
+                    this.count);
+            this.start = 0;
+        }
+        else {
+            ensureCapacity(this.count + 1);
+        }
+    }
+
+    /**
+     * Removes the first {@code n} items from the columns in constant time
+     * (the bounds are not updated).
+     *
+     * @param n  the number of items to remove.
+     */
+    private void removeFirst(int n) {
+        indexRemove(0, n);
+        this.start += n;
+        this.count -= n;
+        if (this.count == 0) {
+            this.start = 0;
+        }
+    }
+
+    /**
+     * Inserts the (x, y) pair at the specified position (the bounds are not
+     * updated).
+     *
+     * @param index  the index (zero-based, in the range 0 to count).
+     * @param x  the x-value.
+     * @param y  the y-value.
+     */
+    private void insert(int index, double x, double y) {
+        ensureSpaceForOneMore();
+        int i = this.start + index;
+        int moved = this.count - index;
+        if (moved > 0) {
+            System.arraycopy(this.xValues, i, this.xValues, i + 1, moved);
+            System.arraycopy(this.yValues, i, this.yValues, i + 1, moved);
+        }
+        this.xValues[i] = x;
+        this.yValues[i] = y;
+        this.count++;
+        if (this.yIndex != null) {
+            this.yIndex.add(index, y);
+            if (this.xIndex != null) {
+                this.xIndex.add(index, x);
+            }
+        }
+    }
+
+    /**
+     * Returns the index at which an item with the specified x-value would be
+     * inserted after any existing items with the same x-value.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index.
+     */
+    private int upperBound(double x) {
+        int low = 0;
+        int high = this.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            double midX = this.xValues[this.start + mid];
+            if (x - midX < 0.0) {
+                high = mid;
+            }
+            else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Searches the (sorted) x-values with the same contract as
+     * {@link Collections#binarySearch(List, Object)}.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index of an item with the given x-value, or
+     *     {@code -(insertion point) - 1}.
+     */
+    private int binarySearch(double x) {
+        int low = 0;
+        int high = this.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            double compare = this.xValues[this.start + mid] - x;
+            if (compare < 0.0) {
+                low = mid + 1;
+            }
+            else if (compare > 0.0) {
+                high = mid - 1;
+            }
+            else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Returns the index of the item with the specified x-value, or a negative
+     * index if the series does not contain an item with that x-value.
+     *
+     * @param x  the x-value.
+     *
+     * @return The index.
+     */
+    public int indexOf(double x) {
+        if (getAutoSort()) {
+            return binarySearch(x);
+        }
+        int end = this.start + this.count;
+        for (int i = this.start; i < end; i++) {
+            if (Double.compare(this.xValues[i], x) == 0) {
+                return i - this.start;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int indexOf(Number x) {
+        Args.nullNotPermitted(x, "x");
+        return indexOf(x.doubleValue());
+    }
+
+    @Override
+    public void add(double x, double y, boolean notify) {
+        int index;
+        if (getAutoSort()) {
+            if (this.count == 0 || x >= this.xValues[this.start
+                    + this.count - 1]) {
+                // fast path for the common case of appending in order
+                index = this.count;
+                if (!getAllowDuplicateXValues() && this.count > 0
+                        && x - this.xValues[this.start + this.count - 1]
+                        == 0.0) {
+                    throw new SeriesException("X-value already exists.");
+                }
+            }
+            else {
+                index = upperBound(x);
+                if (!getAllowDuplicateXValues() && index > 0
+                        && x - this.xValues[this.start + index - 1] == 0.0) {
+                    throw new SeriesException("X-value already exists.");
+                }
+            }
+            insert(index, x, y);
+        }
+        else {
+            if (!getAllowDuplicateXValues() && indexOf(x) >= 0) {
+                throw new SeriesException("X-value already exists.");
+            }
+            index = this.count;
+            insert(index, x, y);
+        }
+        updateBoundsForAddedItem(x, y);
+        SeriesChangeInfo info = new SeriesChangeInfo(DatasetChangeType.APPEND,
+                index, index);
+        if (this.count > getMaximumItemCount()) {
+            double removedX = this.xValues[this.start];
+            double removedY = this.yValues[this.start];
+            boolean appended = index == this.count - 1;
+            removeFirst(1);
+            updateBoundsForRemovedItem(removedX, removedY);
+            info = appended && this.count > 0 ? new SeriesChangeInfo(
+                    DatasetChangeType.SCROLL, this.count - 1, this.count - 1,
+                    1) : SeriesChangeInfo.RESET;
+        }
+        else if (index != this.count - 1) {
+            info = SeriesChangeInfo.RESET;
+        }
+        if (notify) {
+            fireSeriesChanged(info);
+        }
+    }
+
+    @Override
+    public void add(Number x, Number y, boolean notify) {
+        Args.nullNotPermitted(x, "x");
+        add(x.doubleValue(), toDouble(y), notify);
+    }
+
+    @Override
+    public void add(XYDataItem item, boolean notify) {
+        Args.nullNotPermitted(item, "item");
+        add(item.getXValue(), item.getYValue(), notify);
+    }
+
+    /**
+     * Adds all the (x, y) pairs from the specified arrays to the series and
+     * sends a single {@link SeriesChangeEvent} to all registered listeners.
+     *
+     * @param x  the x-values ({@code null} not permitted).
+     * @param y  the y-values ({@code null} not permitted, must have the same
+     *     length as {@code x}).
+     */
+    public void add(double[] x, double[] y) {
+        Args.nullNotPermitted(x, "x");
+        Args.nullNotPermitted(y, "y");
+        if (x.length != y.length) {
+            throw new IllegalArgumentException(
+                    "The 'x' and 'y' arrays must have the same length.");
+        }
+        ensureCapacity(Math.min(this.count + x.length,
+                getMaximumItemCount()));
+        // the change is an append (or a scroll, if items are removed from
+        // the start) if the x-values all go on the end
+        int first = this.count;
+        boolean append = true;
+        double last = first > 0 ? this.xValues[this.start + first - 1]
+                : Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < x.length; i++) {
+            if (getAutoSort()) {
+                append = append && x[i] >= last;
+                last = x[i];
+            }
+            add(x[i], y[i], false);
+        }
+        if (x.length == 0) {
+            return;
+        }
+        SeriesChangeInfo info = SeriesChangeInfo.RESET;
+        if (append && first + x.length <= getMaximumItemCount()) {
+            info = new SeriesChangeInfo(DatasetChangeType.APPEND, first,
+                    this.count - 1);
+        }
+        else if (append && this.count > 0) {
+            // if there are more new items than the maximum item count, the
+            // first new items are removed too (they are not counted)
+            info = new SeriesChangeInfo(DatasetChangeType.SCROLL,
+                    Math.max(this.count - x.length, 0), this.count - 1,
+                    Math.min(first + x.length - this.count, first));
+        }
+        fireSeriesChanged(info);
+    }
+
+    @Override
+    public void delete(int start, int end) {
+        checkIndex(start);
+        checkIndex(end);
+        int removed = end - start + 1;
+        if (removed <= 0) {
+            return;
+        }
+        if (start == 0) {
+            removeFirst(removed);
+        }
+        else {
+            int moved = this.count - end - 1;
+            System.arraycopy(this.xValues, this.start + end + 1, this.xValues,
+                    this.start + start, moved);
+            System.arraycopy(this.yValues, this.start + end + 1, this.yValues,
+                    this.start + start, moved);
+            this.count -= removed;
+            indexRemove(start, end + 1);
+        }
+        findBoundsByIteration();
+        fireSeriesChanged(new SeriesChangeInfo(DatasetChangeType.REMOVE,
+                start, end));
+    }
+
+    @Override
+    public XYDataItem remove(int index) {
+        XYDataItem removed = getRawDataItem(index);
+        if (index == 0) {
+            removeFirst(1);
+        }
+        else {
+            int i = this.start + index;
+            int moved = this.count - index - 1;
+            System.arraycopy(this.xValues, i + 1, this.xValues, i, moved);
+            System.arraycopy(this.yValues, i + 1, this.yValues, i, moved);
+            this.count--;
+            indexRemove(index, index + 1);
+        }
+        updateBoundsForRemovedItem(removed.getXValue(), removed.getYValue());
+        fireSeriesChanged(new SeriesChangeInfo(DatasetChangeType.REMOVE,
+                index, index));
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        if (this.count > 0) {
+            this.start = 0;
+            this.count = 0;
+            if (this.yIndex != null) {
+                this.yIndex.clear();
+                if (this.xIndex != null) {
+                    this.xIndex.clear();
+                }
+            }
+            this.minX = Double.NaN;
+            this.maxX = Double.NaN;
+            this.minY = Double.NaN;
+            this.maxY = Double.NaN;
+            fireSeriesChanged();
+        }
+    }
+
+    @Override
+    public XYDataItem getDataItem(int index) {
+        return getRawDataItem(index);
+    }
+
+    /**
+     * Returns a new data item for the specified index.
+     *
+     * @param index  the index.
+     *
+     * @return A new data item.
+     */
+    @Override
+    XYDataItem getRawDataItem(int index) {
+        checkIndex(index);
+        double y = this.yValues[this.start + index];
+        return new XYDataItem(Double.valueOf(this.xValues[this.start + index]),
+                Double.isNaN(y) ? null : Double.valueOf(y));
+    }
+
+    @Override
+    public Number getX(int index) {
+        checkIndex(index);
+        return Double.valueOf(this.xValues[this.start + index]);
+    }
+
+    @Override
+    public Number getY(int index) {
+        checkIndex(index);
+        double y = this.yValues[this.start + index];
+        return Double.isNaN(y) ? null : Double.valueOf(y);
+    }
+
+    @Override
+    public double getXValue(int index) {
+        checkIndex(index);
+        return this.xValues[this.start + index];
+    }
+
+    @Override
+    public double getYValue(int index) {
+        checkIndex(index);
+        return this.yValues[this.start + index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException("Index: " + index
+                    + ", Size: " + this.count);
+        }
+    }
+
+    private static double toDouble(Number n) {
+        return n != null ? n.doubleValue() : Double.NaN;
+    }
+
+    /**
+     * Sets the y-value at the specified index, updating the bounds.
+     *
+     * @param index  the index (zero-based).
+     * @param y  the new y-value.
+     */
+    private void setYValue(int index, double y) {
+        int i = this.start + index;
+        double oldY = this.yValues[i];
+        this.yValues[i] = y;
+        if (this.yIndex != null) {
+            this.yIndex.setValue(index, y);
+        }
+        if (!Double.isNaN(oldY) && (oldY <= this.minY || oldY >= this.maxY)) {
+            findBoundsByIteration();
+        }
+        else {
+            this.minY = minIgnoreNaN(this.minY, y);
+            this.maxY = maxIgnoreNaN(this.maxY, y);
+        }
+    }
+
+    @Override
+    public void updateByIndex(int index, Number y) {
+        checkIndex(index);
+        setYValue(index, toDouble(y));
+        fireSeriesChanged(new SeriesChangeInfo(DatasetChangeType.UPDATE,
+                index, index));
+    }
+
+    @Override
+    public XYDataItem addOrUpdate(double x, double y) {
+        if (getAllowDuplicateXValues()) {
+            add(x, y, true);
+            return null;
+        }
+        int index = indexOf(x);
+        if (index >= 0) {
+            XYDataItem overwritten = getRawDataItem(index);
+            setYValue(index, y);
+            fireSeriesChanged(new SeriesChangeInfo(DatasetChangeType.UPDATE,
+                    index, index));
+            return overwritten;
+        }
+        add(x, y, true);
+        return null;
+    }
+
+    @Override
+    public XYDataItem addOrUpdate(XYDataItem item) {
+        Args.nullNotPermitted(item, "item");
+        return addOrUpdate(item.getXValue(), item.getYValue());
+    }
+
+    @Override
+    public Range findYRange(int start, int end) {
+        checkIndex(start);
+        checkIndex(end);
+        if (end < start) {
+            throw new IllegalArgumentException("Requires start <= end.");
+        }
+        double lowY;
+        double highY;
+        if (this.yIndex != null) {
+            lowY = this.yIndex.getMinimum(start, end);
+            highY = this.yIndex.getMaximum(start, end);
+        }
+        else {
+            lowY = Double.NaN;
+            highY = Double.NaN;
+            for (int i = this.start + start; i <= this.start + end; i++) {
+                lowY = minIgnoreNaN(lowY, this.yValues[i]);
+                highY = maxIgnoreNaN(highY, this.yValues[i]);
+            }
+        }
+        if (Double.isNaN(lowY)) {
+            return null;
+        }
+        return new Range(lowY, highY);
+    }
+
+    @Override
+    public double[][] toArray() {
+        double[][] result = new double[2][];
+        result[0] = Arrays.copyOfRange(this.xValues, this.start,
+                this.start + this.count);
+        result[1] = Arrays.copyOfRange(this.yValues, this.start,
+                this.start + this.count);
+        return result;
+    }
+
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        ColumnarXYSeries clone = (ColumnarXYSeries) super.clone();
+        clone.xValues = this.xValues.clone();
+        clone.yValues = this.yValues.clone();
+        if (this.yIndex != null) {
+            clone.yIndex = (MinMaxIndex) this.yIndex.clone();
+        }
+        if (this.xIndex != null) {
+            clone.xIndex = (MinMaxIndex) this.xIndex.clone();
+        }
+        return clone;
+    }
+
+    @Override
+    public XYSeries createCopy(int start, int end)
+            throws CloneNotSupportedException {
+        ColumnarXYSeries copy = (ColumnarXYSeries) clone();
+        int n = this.count > 0 ? end - start + 1 : 0;
+        if (n > 0) {
+            copy.xValues = Arrays.copyOfRange(this.xValues, this.start + start,
+                    this.start + start + n);
+            copy.yValues = Arrays.copyOfRange(this.yValues, this.start + start,
+                    this.start + start + n);
+        }
+        else {
+            copy.xValues = new double[INITIAL_CAPACITY];
+            copy.yValues = new double[INITIAL_CAPACITY];
+            n = 0;
+        }
+        copy.start = 0;
+        copy.count = n;
+        copy.setUseBoundsIndex(getUseBoundsIndex());
+        copy.findBoundsByIteration();
+        return copy;
+    }
+
+    /**
+     * Tests this series for equality with an arbitrary object.
+     *
+     * @param obj  the object to test against for equality
+     *             ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ColumnarXYSeries)) {
+            return false;
+        }
+        if (!super.equals(obj)) {
+            return false;
+        }
+        ColumnarXYSeries that = (ColumnarXYSeries) obj;
+        if (this.count != that.count) {
+            return false;
+        }
+        return Arrays.equals(this.xValues, this.start,
+                this.start + this.count, that.xValues, that.start,
+                that.start + that.count)
+                && Arrays.equals(this.yValues, this.start,
+                this.start + this.count, that.yValues, that.start,
+                that.start + that.count);
+    }
+
+}
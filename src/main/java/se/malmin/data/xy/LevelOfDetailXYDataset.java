@@ -0,0 +1,910 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * LevelOfDetailXYDataset.java
+ * ---------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.xy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import se.malmin.chart.util.Args;
+import se.malmin.chart.util.PublicCloneable;
+import se.malmin.data.DomainInfo;
+import se.malmin.data.DomainOrder;
+import se.malmin.data.Range;
+import se.malmin.data.RangeInfo;
+import se.malmin.data.general.DatasetChangeEvent;
+import se.malmin.data.general.DatasetChangeInfo;
+import se.malmin.data.general.DatasetChangeListener;
+import se.malmin.data.general.DatasetChangeType;
+import se.malmin.data.general.DatasetUtils;
+
+/**
+ * A dataset wrapper that reduces a large {@link XYDataset} (with x-values
+ * in ascending order) to the items that are needed to draw it at a given
+ * resolution.  The visible x-range is divided into a number of columns
+ * (typically one per pixel) and, for each column, only the first, last,
+ * minimum and maximum items are passed on (the "M4" reduction).  A line
+ * drawn through the reduced items is pixel-identical to a line drawn through
+ * all the items, but the number of items that a renderer visits is
+ * proportional to the width of the plot rather than the size of the dataset.
+ * <p>
+ * The minimum and maximum items in each column are found from a pyramid of
+ * block minima and maxima that is built the first time it is needed, so that
+ * each column takes O(log n) time.  The {@link DatasetChangeInfo} carried by
+ * each change event decides how the pyramids are updated: when items are
+ * appended to a series (including a rolling window, where the oldest items
+ * are removed at the same time) the pyramid is extended rather than rebuilt.
+ * Any other change causes the pyramid for the series to be rebuilt when it
+ * is next needed (changes to the underlying dataset that are made without
+ * sending a {@link DatasetChangeEvent} must be followed by a call to
+ * {@link #rebuild()}).
+ * <p>
+ * The {@link se.malmin.chart.plot.XYPlot} class updates the view (via
+ * {@link #setView(Range, int)}) each time the dataset is drawn.  The domain
+ * and range bounds are always calculated from the underlying dataset.  If the
+ * underlying dataset does not report an {@link DomainOrder#ASCENDING} domain
+ * order, all the items are passed through unchanged.
+ */
+public class LevelOfDetailXYDataset extends AbstractXYDataset
+        implements XYDataset, DomainInfo, RangeInfo, XYDomainInfo,
+        XYRangeInfo, DatasetChangeListener, PublicCloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = 7216431903452874017L;
+
+    /** A marker for a series that is not reduced. */
+    private static final int[] PASS_THROUGH = new int[0];
+
+    /** The underlying dataset. */
+    private XYDataset underlying;
+
+    /** The x-range for the current view ({@code null} for no reduction). */
+    private Range viewRange;
+
+    /** The number of columns for the current view. */
+    private int viewColumns;
+
+    /** The pyramid for each series (entries are created when needed). */
+    private transient Pyramid[] pyramids;
+
+    /**
+     * The indices (in the underlying dataset) of the items in the current
+     * view for each series ({@code null} entries are calculated when needed).
+     */
+    private transient int[][] views;
+
+    /**
+     * Creates a new dataset.
+     *
+     * @param underlying  the underlying dataset ({@code null} not
+     *     permitted).
+     */
+    public LevelOfDetailXYDataset(XYDataset underlying) {
+        Args.nullNotPermitted(underlying, "underlying");
+        this.underlying = underlying;
+        this.underlying.addChangeListener(this);
+        this.viewRange = null;
+        this.viewColumns = 0;
+    }
+
+    /**
+     * Returns the underlying dataset that was specified via the constructor.
+     *
+     * @return The underlying dataset (never {@code null}).
+     */
+    public XYDataset getUnderlyingDataset() {
+        return this.underlying;
+    }
+
+    /**
+     * Returns the x-range for the current view.
+     *
+     * @return The x-range (possibly {@code null}).
+     *
+     * @see #setView(Range, int)
+     */
+    public Range getViewRange() {
+        return this.viewRange;
+    }
+
+    /**
+     * Returns the number of columns for the current view.
+     *
+     * @return The number of columns.
+     *
+     * @see #setView(Range, int)
+     */
+    public int getViewColumns() {
+        return this.viewColumns;
+    }
+
+    /**
+     * Sets the x-range and the number of columns (usually the width of the
+     * data area in pixels) that the items will be reduced for.  No change
+     * event is sent, since the reduced items draw the same line as the
+     * underlying items (this method is called by the plot while it is being
+     * drawn).
+     *
+     * @param xRange  the x-range ({@code null} permitted, in which case all
+     *     the items are passed through).
+     * @param columns  the number of columns (if this is zero or less, all the
+     *     items are passed through).
+     */
+    public void setView(Range xRange, int columns) {
+        if (columns == this.viewColumns && (xRange == null
+                ? this.viewRange == null : xRange.equals(this.viewRange))) {
+            return;
+        }
+        this.viewRange = xRange;
+        this.viewColumns = columns;
+        this.views = null;
+    }
+
+    /**
+     * Discards the pyramids and views for all series so that they are
+     * recalculated from the underlying dataset when they are next needed.
+     */
+    public void rebuild() {
+        this.pyramids = null;
+        this.views = null;
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.underlying.getSeriesCount();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The series key.
+     */
+    @Override
+    public Comparable getSeriesKey(int series) {
+        return this.underlying.getSeriesKey(series);
+    }
+
+    /**
+     * Returns the order of the domain (x-) values, which is the same as the
+     * underlying dataset.
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        return this.underlying.getDomainOrder();
+    }
+
+    /**
+     * Returns the number of items in a series for the current view.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        int[] view = getView(series);
+        if (view == null) {
+            return this.underlying.getItemCount(series);
+        }
+        return view.length;
+    }
+
+    /**
+     * Returns the index in the underlying dataset of an item in the current
+     * view.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The index of the item in the underlying dataset.
+     */
+    public int getUnderlyingItem(int series, int item) {
+        int[] view = getView(series);
+        if (view == null) {
+            return item;
+        }
+        return view[item];
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return this.underlying.getX(series, getUnderlyingItem(series, item));
+    }
+
+    /**
+     * Returns the x-value (as a double primitive) for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.underlying.getXValue(series,
+                getUnderlyingItem(series, item));
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value (possibly {@code null}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        return this.underlying.getY(series, getUnderlyingItem(series, item));
+    }
+
+    /**
+     * Returns the y-value (as a double primitive) for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return this.underlying.getYValue(series,
+                getUnderlyingItem(series, item));
+    }
+
+    /**
+     * Returns the range of the x-values in the underlying dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *     x-interval is taken into account.
+     *
+     * @return The range (possibly {@code null}).
+     */
+    @Override
+    public Range getDomainBounds(boolean includeInterval) {
+        return DatasetUtils.findDomainBounds(this.underlying, includeInterval);
+    }
+
+    /**
+     * Returns the minimum x-value in the underlying dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *     x-interval is taken into account.
+     *
+     * @return The minimum value ({@code Double.NaN} if there is no value).
+     */
+    @Override
+    public double getDomainLowerBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r == null ? Double.NaN : r.getLowerBound();
+    }
+
+    /**
+     * Returns the maximum x-value in the underlying dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *     x-interval is taken into account.
+     *
+     * @return The maximum value ({@code Double.NaN} if there is no value).
+     */
+    @Override
+    public double getDomainUpperBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r == null ? Double.NaN : r.getUpperBound();
+    }
+
+    /**
+     * Returns the range of the x-values in the underlying dataset for the
+     * specified series.
+     *
+     * @param visibleSeriesKeys  the visible series keys.
+     * @param includeInterval  include the x-interval?
+     *
+     * @return The range (possibly {@code null}).
+     */
+    @Override
+    public Range getDomainBounds(List visibleSeriesKeys,
+            boolean includeInterval) {
+        return DatasetUtils.findDomainBounds(this.underlying,
+                visibleSeriesKeys, includeInterval);
+    }
+
+    /**
+     * Returns the range of the y-values in the underlying dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *     y-interval is taken into account.
+     *
+     * @return The range (possibly {@code null}).
+     */
+    @Override
+    public Range getRangeBounds(boolean includeInterval) {
+        return DatasetUtils.findRangeBounds(this.underlying, includeInterval);
+    }
+
+    /**
+     * Returns the minimum y-value in the underlying dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *     y-interval is taken into account.
+     *
+     * @return The minimum value ({@code Double.NaN} if there is no value).
+     */
+    @Override
+    public double getRangeLowerBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r == null ? Double.NaN : r.getLowerBound();
+    }
+
+    /**
+     * Returns the maximum y-value in the underlying dataset.
+     *
+     * @param includeInterval  a flag that determines whether or not the
+     *     y-interval is taken into account.
+     *
+     * @return The maximum value ({@code Double.NaN} if there is no value).
+     */
+    @Override
+    public double getRangeUpperBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r == null ? Double.NaN : r.getUpperBound();
+    }
+
+    /**
+     * Returns the range of the y-values in the underlying dataset for the
+     * specified series and x-range.
+     *
+     * @param visibleSeriesKeys  the visible series keys.
+     * @param xRange  the x-range.
+     * @param includeInterval  include the y-interval?
+     *
+     * @return The range (possibly {@code null}).
+     */
+    @Override
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange,
+            boolean includeInterval) {
+        return DatasetUtils.findRangeBounds(this.underlying,
+                visibleSeriesKeys, xRange, includeInterval);
+    }
+
+    /**
+     * Receives notification of a change to the underlying dataset.  The
+     * pyramids are extended (for series that have been appended to,
+     * possibly with items removed from the start) or discarded, according
+     * to the description carried by the event, and the event is passed on
+     * to the listeners registered with this dataset.
+     *
+     * @param event  information about the event.
+     */
+    @Override
+    public void datasetChanged(DatasetChangeEvent event) {
+        this.views = null;
+        if (this.pyramids != null) {
+            int seriesCount = this.underlying.getSeriesCount();
+            DatasetChangeInfo info = event.getInfo();
+            if (seriesCount != this.pyramids.length
+                    || info.getType() == DatasetChangeType.RESET) {
+                this.pyramids = null;
+            }
+            else {
+                for (int s = 0; s < seriesCount; s++) {
+                    if (info.getSeries() >= 0 && info.getSeries() != s) {
+                        continue;
+                    }
+                    Pyramid p = this.pyramids[s];
+                    if (p != null && !update(p, info, s)) {
+                        this.pyramids[s] = null;
+                    }
+                }
+            }
+        }
+        notifyListeners(new DatasetChangeEvent(this, this));
+    }
+
+    /**
+     * Updates the pyramid for a series after a change to the series.
+     *
+     * @param p  the pyramid.
+     * @param info  the description of the change.
+     * @param series  the series index.
+     *
+     * @return A boolean indicating whether the pyramid is still valid
+     *     ({@code false} if it must be rebuilt).
+     */
+    private boolean update(Pyramid p, DatasetChangeInfo info, int series) {
+        int removed;
+        switch (info.getType()) {
+            case APPEND:
+                // the items before the first appended item are unchanged
+                if (info.getSeries() >= 0
+                        && info.getFirstItem() != p.getItemCount()) {
+                    return false;
+                }
+                removed = 0;
+                break;
+            case SCROLL:
+                // the items before the first added item are the items of
+                // the series before the change, less the removed items
+                removed = info.getRemovedItemCount();
+                if (info.getFirstItem() <= 0
+                        || p.getItemCount() - removed != info.getFirstItem()) {
+                    return false;
+                }
+                break;
+            case REMOVE:
+                if (info.getFirstItem() != 0) {
+                    return false;
+                }
+                removed = info.getLastItem() + 1;
+                break;
+            default:
+                return false;
+        }
+        return p.removeFirst(removed) && p.extend(this.underlying, series);
+    }
+
+    /**
+     * Returns the indices of the items in the current view for a series, or
+     * {@code null} if all the items are passed through.
+     *
+     * @param series  the series index.
+     *
+     * @return The indices (possibly {@code null}).
+     */
+    private int[] getView(int series) {
+        if (this.viewRange == null || this.viewColumns <= 0
+                || this.underlying.getDomainOrder() != DomainOrder.ASCENDING) {
+            return null;
+        }
+        int seriesCount = this.underlying.getSeriesCount();
+        if (this.views == null || this.views.length != seriesCount) {
+            this.views = new int[seriesCount][];
+        }
+        int[] view = this.views[series];
+        if (view == null) {
+            view = calculateView(series);
+            this.views[series] = view;
+        }
+        return view == PASS_THROUGH ? null : view;
+    }
+
+    /**
+     * Returns the pyramid for a series, building it if necessary.
+     *
+     * @param series  the series index.
+     *
+     * @return The pyramid.
+     */
+    private Pyramid getPyramid(int series) {
+        int seriesCount = this.underlying.getSeriesCount();
+        if (this.pyramids == null || this.pyramids.length != seriesCount) {
+            this.pyramids = new Pyramid[seriesCount];
+        }
+        Pyramid p = this.pyramids[series];
+        if (p == null) {
+            p = new Pyramid();
+            p.extend(this.underlying, series);
+            this.pyramids[series] = p;
+        }
+        return p;
+    }
+
+    /**
+     * Calculates the items in the current view for a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The item indices ({@link #PASS_THROUGH} if the series does
+     *     not need to be reduced).
+     */
+    private int[] calculateView(int series) {
+        int itemCount = this.underlying.getItemCount(series);
+        if (itemCount <= 4 * this.viewColumns) {
+            return PASS_THROUGH;
+        }
+        int[] bounds = DatasetUtils.findItemIndicesForX(this.underlying,
+                series, this.viewRange);
+        // include one item either side of the range so that the lines to the
+        // edges of the plot are drawn
+        int first = Math.max(bounds[0] - 1, 0);
+        int last = Math.min(bounds[1] + 1, itemCount - 1);
+        if (last - first + 1 <= 4 * this.viewColumns) {
+            int[] result = new int[last - first + 1];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = first + i;
+            }
+            return result;
+        }
+        Pyramid pyramid = getPyramid(series);
+        int[] result = new int[4 * this.viewColumns + 2];
+        int count = 0;
+        int[] column = new int[4];
+        double lower = this.viewRange.getLowerBound();
+        double width = this.viewRange.getLength() / this.viewColumns;
+        int start = first;
+        if (bounds[0] > first) {
+            result[count++] = first;
+            start = bounds[0];
+        }
+        int end = bounds[1];
+        for (int c = 0; c < this.viewColumns && start <= end; c++) {
+            double columnEnd = lower + (c + 1) * width;
+            // find the last item in the column
+            int low = start;
+            int high = end + 1;
+            if (c == this.viewColumns - 1) {
+                low = high;
+            }
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (this.underlying.getXValue(series, mid) < columnEnd) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            int columnLast = low - 1;
+            if (columnLast < start) {
+                continue;
+            }
+            column[0] = start;
+            column[1] = pyramid.findMinimum(this.underlying, series, start,
+                    columnLast);
+            column[2] = pyramid.findMaximum(this.underlying, series, start,
+                    columnLast);
+            column[3] = columnLast;
+            Arrays.sort(column);
+            for (int i = 0; i < 4; i++) {
+                if (count == 0 || result[count - 1] != column[i]) {
+                    result[count++] = column[i];
+                }
+            }
+            start = columnLast + 1;
+        }
+        if (last > bounds[1] && (count == 0 || result[count - 1] != last)) {
+            result[count++] = last;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof LevelOfDetailXYDataset)) {
+            return false;
+        }
+        LevelOfDetailXYDataset that = (LevelOfDetailXYDataset) obj;
+        if (!this.underlying.equals(that.underlying)) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        return this.underlying.hashCode();
+    }
+
+    /**
+     * Returns an independent copy of the dataset.  Note that:
+     * <ul>
+     * <li>the underlying dataset is only cloned if it implements the
+     * {@link PublicCloneable} interface;</li>
+     * <li>the listeners registered with this dataset are not carried over to
+     * the cloned dataset.</li>
+     * </ul>
+     *
+     * @return An independent copy of the dataset.
+     *
+     * @throws CloneNotSupportedException if the dataset cannot be cloned for
+     *         any reason.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        LevelOfDetailXYDataset clone = (LevelOfDetailXYDataset) super.clone();
+        if (this.underlying instanceof PublicCloneable) {
+            PublicCloneable pc = (PublicCloneable) this.underlying;
+            clone.underlying = (XYDataset) pc.clone();
+            clone.underlying.addChangeListener(clone);
+        }
+        clone.pyramids = null;
+        clone.views = null;
+        return clone;
+    }
+
+    /**
+     * A pyramid of the indices of the minimum and maximum y-values in blocks
+     * of 2, 4, 8, ... items for one series.  {@code Double.NaN} values are
+     * ignored.  The blocks are aligned to the position of each item in the
+     * sequence of all items added to the pyramid, so that items can be
+     * removed from the start of the series without rebuilding the pyramid
+     * (blocks that contain removed items are never used by a search).
+     */
+    private static class Pyramid {
+
+        /** The indices of the minimum values (level k has blocks of 2^k). */
+        private int[][] mins;
+
+        /** The indices of the maximum values. */
+        private int[][] maxs;
+
+        /** The number of items removed from the start of the series. */
+        private int start;
+
+        /** The number of items added to the pyramid (including removed). */
+        private int end;
+
+        Pyramid() {
+            this.mins = new int[1][];
+            this.maxs = new int[1][];
+            this.start = 0;
+            this.end = 0;
+        }
+
+        /**
+         * Returns the number of items in the series that are included in the
+         * pyramid.
+         *
+         * @return The item count.
+         */
+        int getItemCount() {
+            return this.end - this.start;
+        }
+
+        /**
+         * Removes items from the start of the series.
+         *
+         * @param count  the number of items removed.
+         *
+         * @return A boolean indicating whether the pyramid is still valid
+         *     ({@code false} once more items have been removed than remain,
+         *     so that the space used by the removed items is recovered by
+         *     rebuilding the pyramid).
+         */
+        boolean removeFirst(int count) {
+            if (count > getItemCount()) {
+                return false;
+            }
+            this.start += count;
+            return this.start <= getItemCount();
+        }
+
+        /**
+         * Adds any items that have been appended to the series since the
+         * pyramid was last updated.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         *
+         * @return A boolean indicating whether the pyramid is still valid
+         *     ({@code false} if the series has fewer items than the pyramid,
+         *     in which case the pyramid must be rebuilt).
+         */
+        boolean extend(XYDataset dataset, int series) {
+            int itemCount = dataset.getItemCount(series);
+            if (itemCount < getItemCount()) {
+                return false;
+            }
+            int newEnd = this.start + itemCount;
+            for (int i = this.end; i < newEnd; i++) {
+                add(dataset, series, i);
+            }
+            this.end = newEnd;
+            return true;
+        }
+
+        /**
+         * Returns the y-value for an item, or {@code Double.NaN} if the item
+         * has been removed from the series.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param index  the position of the item in the pyramid.
+         *
+         * @return The y-value.
+         */
+        private double value(XYDataset dataset, int series, int index) {
+            if (index < this.start) {
+                return Double.NaN;
+            }
+            return dataset.getYValue(series, index - this.start);
+        }
+
+        /**
+         * Adds the item at the specified position (which is the next
+         * position) to each level of the pyramid.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param item  the position of the item in the pyramid.
+         */
+        private void add(XYDataset dataset, int series, int item) {
+            // level 0 is the items themselves, level k is only needed once
+            // there are at least 2^k items
+            double y = value(dataset, series, item);
+            for (int level = 1; (1 << level) <= item + 1 && level < 31;
+                    level++) {
+                if (level >= this.mins.length) {
+                    this.mins = Arrays.copyOf(this.mins, level + 1);
+                    this.maxs = Arrays.copyOf(this.maxs, level + 1);
+                }
+                int block = item >> level;
+                if (this.mins[level] == null) {
+                    // a new level, the first block combines the first two
+                    // blocks of the level below (which are now complete)
+                    this.mins[level] = new int[16];
+                    this.maxs[level] = new int[16];
+                    int a = level == 1 ? 0 : this.mins[level - 1][0];
+                    int b = level == 1 ? 1 : this.mins[level - 1][1];
+                    this.mins[level][0] = lower(value(dataset, series, b),
+                            value(dataset, series, a)) ? b : a;
+                    a = level == 1 ? 0 : this.maxs[level - 1][0];
+                    b = level == 1 ? 1 : this.maxs[level - 1][1];
+                    this.maxs[level][0] = higher(value(dataset, series, b),
+                            value(dataset, series, a)) ? b : a;
+                    continue;
+                }
+                if (block >= this.mins[level].length) {
+                    int n = this.mins[level].length * 2;
+                    this.mins[level] = Arrays.copyOf(this.mins[level], n);
+                    this.maxs[level] = Arrays.copyOf(this.maxs[level], n);
+                }
+                if ((item & ((1 << level) - 1)) == 0) {
+                    // the item starts a new block
+                    this.mins[level][block] = item;
+                    this.maxs[level][block] = item;
+                }
+                else {
+                    if (lower(y, value(dataset, series,
+                            this.mins[level][block]))) {
+                        this.mins[level][block] = item;
+                    }
+                    if (higher(y, value(dataset, series,
+                            this.maxs[level][block]))) {
+                        this.maxs[level][block] = item;
+                    }
+                }
+            }
+        }
+
+        private static boolean lower(double y, double current) {
+            return !Double.isNaN(y) && (Double.isNaN(current) || y < current);
+        }
+
+        private static boolean higher(double y, double current) {
+            return !Double.isNaN(y) && (Double.isNaN(current) || y > current);
+        }
+
+        /**
+         * Returns the index of the item with the minimum y-value in the
+         * specified range of items.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param start  the index of the first item.
+         * @param end  the index of the last item.
+         *
+         * @return The item index.
+         */
+        int findMinimum(XYDataset dataset, int series, int start, int end) {
+            return find(dataset, series, start, end, true);
+        }
+
+        /**
+         * Returns the index of the item with the maximum y-value in the
+         * specified range of items.
+         *
+         * @param dataset  the dataset.
+         * @param series  the series index.
+         * @param start  the index of the first item.
+         * @param end  the index of the last item.
+         *
+         * @return The item index.
+         */
+        int findMaximum(XYDataset dataset, int series, int start, int end) {
+            return find(dataset, series, start, end, false);
+        }
+
+        private int find(XYDataset dataset, int series, int first, int last,
+                boolean minimum) {
+            // work with positions in the pyramid
+            int start = first + this.start;
+            int end = last + this.start;
+            int result = start;
+            double best = value(dataset, series, start);
+            int i = start + 1;
+            while (i <= end) {
+                // use the largest block that starts at i and ends by end
+                int level = 0;
+                while (level + 1 < this.mins.length
+                        && (i & ((1 << (level + 1)) - 1)) == 0
+                        && i + (1 << (level + 1)) - 1 <= end) {
+                    level++;
+                }
+                int candidate;
+                if (level == 0) {
+                    candidate = i;
+                }
+                else {
+                    candidate = minimum ? this.mins[level][i >> level]
+                            : this.maxs[level][i >> level];
+                }
+                double y = value(dataset, series, candidate);
+                if (minimum ? lower(y, best) : higher(y, best)) {
+                    best = y;
+                    result = candidate;
+                }
+                i += 1 << level;
+            }
+            return result - this.start;
+        }
+
+    }
+
+}
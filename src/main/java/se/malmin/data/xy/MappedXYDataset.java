@@ -0,0 +1,795 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * MappedXYDataset.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.xy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import se.malmin.chart.util.Args;
+import se.malmin.chart.util.PublicCloneable;
+import se.malmin.data.DomainInfo;
+import se.malmin.data.DomainOrder;
+import se.malmin.data.Range;
+import se.malmin.data.RangeInfo;
+import se.malmin.data.general.DatasetChangeEvent;
+
+/**
+ * An {@link XYDataset} that reads its data directly from memory-mapped
+ * files, so that series that are too large to hold on the Java heap can be
+ * charted.  Each series is backed by one file, with a 64-byte header
+ * followed by a column of x-values and a column of y-values (see
+ * {@link XYColumnFormat} for the supported value types).  The header
+ * records the number of items, the data bounds and whether or not the
+ * x-values are in ascending order, so the dataset can report its bounds
+ * (via {@link DomainInfo} and {@link RangeInfo}) without reading the data,
+ * and renderers (via {@code RendererUtils.findLiveItems()}) only touch the
+ * pages of the file that contain visible items.
+ * <p>
+ * The file layout (all values big-endian) is:
+ * <ul>
+ * <li>bytes 0-3: the magic number {@code 0x4A465859};</li>
+ * <li>bytes 4-7: the format version (1);</li>
+ * <li>bytes 8-11: the {@link XYColumnFormat} ordinal;</li>
+ * <li>bytes 12-15: flags (bit 0 is set if the x-values are in ascending
+ * order);</li>
+ * <li>bytes 16-23: the item count;</li>
+ * <li>bytes 24-55: the minimum x, maximum x, minimum y and maximum y (as
+ * doubles, {@code NaN} if there are no values);</li>
+ * <li>bytes 56-63: unused;</li>
+ * <li>then the x-values followed by the y-values.</li>
+ * </ul>
+ * Files in this format can be created with
+ * {@link #writeSeries(File, XYDataset, int, XYColumnFormat)}.  The files are
+ * mapped read-only, if a file is modified after it has been added to the
+ * dataset the results are undefined.
+ */
+public class MappedXYDataset extends AbstractIntervalXYDataset
+        implements XYDataset, IntervalXYDataset, DomainInfo, RangeInfo,
+        PublicCloneable {
+
+    /** For serialization. */
+    private static final long serialVersionUID = -5206139512370893841L;
+
+    /** The magic number at the start of the file. */
+    private static final int MAGIC = 0x4A465859;
+
+    /** The file format version. */
+    private static final int VERSION = 1;
+
+    /** The size of the file header (in bytes). */
+    private static final int HEADER_SIZE = 64;
+
+    /** The flag for ascending x-values. */
+    private static final int ASCENDING_FLAG = 1;
+
+    /**
+     * The size of each mapped segment of the file (a single buffer can map
+     * at most 2GB).
+     */
+    private static final int SEGMENT_SHIFT = 30;
+
+    /** The series in the dataset. */
+    private List<MappedSeries> series;
+
+    /**
+     * Creates a new dataset with no series.
+     */
+    public MappedXYDataset() {
+        this.series = new ArrayList<>();
+    }
+
+    /**
+     * Writes the items for one series of a dataset to a file in the format
+     * read by this class.
+     *
+     * @param file  the file ({@code null} not permitted).
+     * @param dataset  the dataset ({@code null} not permitted).
+     * @param series  the series index.
+     * @param format  the format for the values ({@code null} not permitted).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    public static void writeSeries(File file, XYDataset dataset, int series,
+            XYColumnFormat format) throws IOException {
+        Args.nullNotPermitted(file, "file");
+        Args.nullNotPermitted(dataset, "dataset");
+        Args.nullNotPermitted(format, "format");
+        int itemCount = dataset.getItemCount(series);
+        double minX = Double.NaN;
+        double maxX = Double.NaN;
+        double minY = Double.NaN;
+        double maxY = Double.NaN;
+        boolean ascending = true;
+        double previousX = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < itemCount; i++) {
+            double x = toStoredX(dataset.getXValue(series, i), format);
+            double y = toStoredY(dataset.getYValue(series, i), format);
+            if (x < previousX) {
+                ascending = false;
+            }
+            previousX = x;
+            if (!Double.isNaN(x)) {
+                minX = Double.isNaN(minX) ? x : Math.min(minX, x);
+                maxX = Double.isNaN(maxX) ? x : Math.max(maxX, x);
+            }
+            if (!Double.isNaN(y)) {
+                minY = Double.isNaN(minY) ? y : Math.min(minY, y);
+                maxY = Double.isNaN(maxY) ? y : Math.max(maxY, y);
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), 65536))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(format.ordinal());
+            out.writeInt(ascending ? ASCENDING_FLAG : 0);
+            out.writeLong(itemCount);
+            out.writeDouble(minX);
+            out.writeDouble(maxX);
+            out.writeDouble(minY);
+            out.writeDouble(maxY);
+            out.writeLong(0L);
+            for (int i = 0; i < itemCount; i++) {
+                double x = dataset.getXValue(series, i);
+                if (format == XYColumnFormat.LONG_FLOAT) {
+                    out.writeLong((long) x);
+                }
+                else {
+                    out.writeDouble(x);
+                }
+            }
+            for (int i = 0; i < itemCount; i++) {
+                double y = dataset.getYValue(series, i);
+                if (format == XYColumnFormat.LONG_FLOAT) {
+                    out.writeFloat((float) y);
+                }
+                else {
+                    out.writeDouble(y);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns an x-value as it will be read back from a file.
+     *
+     * @param x  the x-value.
+     * @param format  the format.
+     *
+     * @return The stored value.
+     */
+    private static double toStoredX(double x, XYColumnFormat format) {
+        return format == XYColumnFormat.LONG_FLOAT ? (double) (long) x : x;
+    }
+
+    /**
+     * Returns a y-value as it will be read back from a file.
+     *
+     * @param y  the y-value.
+     * @param format  the format.
+     *
+     * @return The stored value.
+     */
+    private static double toStoredY(double y, XYColumnFormat format) {
+        return format == XYColumnFormat.LONG_FLOAT ? (double) (float) y : y;
+    }
+
+    /**
+     * Adds a series to the dataset and sends a {@link DatasetChangeEvent} to
+     * all registered listeners.  The file is mapped into memory, but the
+     * data is not read until it is needed.
+     *
+     * @param key  the series key ({@code null} not permitted).
+     * @param file  the file ({@code null} not permitted).
+     *
+     * @throws IOException if the file cannot be read or is not in the
+     *     expected format.
+     * @throws IllegalArgumentException if the key is already used by another
+     *     series in the dataset.
+     */
+    public void addSeries(Comparable key, File file) throws IOException {
+        Args.nullNotPermitted(key, "key");
+        Args.nullNotPermitted(file, "file");
+        if (indexOf(key) >= 0) {
+            throw new IllegalArgumentException(
+                    "This dataset already contains a series with the key "
+                    + key);
+        }
+        MappedSeries s = new MappedSeries(key, file);
+        s.map();
+        this.series.add(s);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Removes a series from the dataset and sends a
+     * {@link DatasetChangeEvent} to all registered listeners.
+     *
+     * @param series  the series index.
+     */
+    public void removeSeries(int series) {
+        Args.requireInRange(series, "series", 0, this.series.size() - 1);
+        this.series.remove(series);
+        fireDatasetChanged();
+    }
+
+    /**
+     * Returns the file for a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The file (never {@code null}).
+     */
+    public File getFile(int series) {
+        return this.series.get(series).file;
+    }
+
+    /**
+     * Returns the format of the file for a series.
+     *
+     * @param series  the series index.
+     *
+     * @return The format (never {@code null}).
+     */
+    public XYColumnFormat getFormat(int series) {
+        return this.series.get(series).format;
+    }
+
+    /**
+     * Returns the number of series in the dataset.
+     *
+     * @return The series count.
+     */
+    @Override
+    public int getSeriesCount() {
+        return this.series.size();
+    }
+
+    /**
+     * Returns the key for a series.
+     *
+     * @param series  the series index (in the range {@code 0} to
+     *     {@code getSeriesCount() - 1}).
+     *
+     * @return The key for the series.
+     */
+    @Override
+    public Comparable getSeriesKey(int series) {
+        Args.requireInRange(series, "series", 0, this.series.size() - 1);
+        return this.series.get(series).key;
+    }
+
+    /**
+     * Returns {@link DomainOrder#ASCENDING} if the x-values in every series
+     * are in ascending order, and {@link DomainOrder#NONE} otherwise.
+     *
+     * @return The domain order.
+     */
+    @Override
+    public DomainOrder getDomainOrder() {
+        for (MappedSeries s : this.series) {
+            if (!s.ascending) {
+                return DomainOrder.NONE;
+            }
+        }
+        return DomainOrder.ASCENDING;
+    }
+
+    /**
+     * Returns the number of items in a series.
+     *
+     * @param series  the series index (zero-based).
+     *
+     * @return The item count.
+     */
+    @Override
+    public int getItemCount(int series) {
+        return this.series.get(series).itemCount;
+    }
+
+    /**
+     * Returns the x-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public Number getX(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the x-value (as a double primitive) for an item within a
+     * series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The x-value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        return this.series.get(series).getXValue(item);
+    }
+
+    /**
+     * Returns the y-value for an item within a series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value ({@code null} if the stored value is
+     *     {@code Double.NaN}).
+     */
+    @Override
+    public Number getY(int series, int item) {
+        double y = getYValue(series, item);
+        return Double.isNaN(y) ? null : y;
+    }
+
+    /**
+     * Returns the y-value (as a double primitive) for an item within a
+     * series.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The y-value.
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        return this.series.get(series).getYValue(item);
+    }
+
+    /**
+     * Returns the starting x-value for an item within a series, which is the
+     * same as the x-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The starting x-value.
+     */
+    @Override
+    public Number getStartX(int series, int item) {
+        return getX(series, item);
+    }
+
+    /**
+     * Returns the starting x-value (as a double primitive) for an item within
+     * a series, which is the same as the x-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The starting x-value.
+     */
+    @Override
+    public double getStartXValue(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the ending x-value for an item within a series, which is the
+     * same as the x-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The ending x-value.
+     */
+    @Override
+    public Number getEndX(int series, int item) {
+        return getX(series, item);
+    }
+
+    /**
+     * Returns the ending x-value (as a double primitive) for an item within
+     * a series, which is the same as the x-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The ending x-value.
+     */
+    @Override
+    public double getEndXValue(int series, int item) {
+        return getXValue(series, item);
+    }
+
+    /**
+     * Returns the starting y-value for an item within a series, which is the
+     * same as the y-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The starting y-value.
+     */
+    @Override
+    public Number getStartY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the starting y-value (as a double primitive) for an item within
+     * a series, which is the same as the y-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The starting y-value.
+     */
+    @Override
+    public double getStartYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the ending y-value for an item within a series, which is the
+     * same as the y-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The ending y-value.
+     */
+    @Override
+    public Number getEndY(int series, int item) {
+        return getY(series, item);
+    }
+
+    /**
+     * Returns the ending y-value (as a double primitive) for an item within
+     * a series, which is the same as the y-value.
+     *
+     * @param series  the series index (zero-based).
+     * @param item  the item index (zero-based).
+     *
+     * @return The ending y-value.
+     */
+    @Override
+    public double getEndYValue(int series, int item) {
+        return getYValue(series, item);
+    }
+
+    /**
+     * Returns the minimum x-value in the dataset (read from the file
+     * headers).
+     *
+     * @param includeInterval  ignored, since the items have no x-interval.
+     *
+     * @return The minimum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getDomainLowerBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r == null ? Double.NaN : r.getLowerBound();
+    }
+
+    /**
+     * Returns the maximum x-value in the dataset (read from the file
+     * headers).
+     *
+     * @param includeInterval  ignored, since the items have no x-interval.
+     *
+     * @return The maximum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getDomainUpperBound(boolean includeInterval) {
+        Range r = getDomainBounds(includeInterval);
+        return r == null ? Double.NaN : r.getUpperBound();
+    }
+
+    /**
+     * Returns the range of the x-values in the dataset (read from the file
+     * headers).
+     *
+     * @param includeInterval  ignored, since the items have no x-interval.
+     *
+     * @return The range ({@code null} if there is no data).
+     */
+    @Override
+    public Range getDomainBounds(boolean includeInterval) {
+        Range result = null;
+        for (MappedSeries s : this.series) {
+            if (!Double.isNaN(s.minX)) {
+                result = Range.combine(result, new Range(s.minX, s.maxX));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the minimum y-value in the dataset (read from the file
+     * headers).
+     *
+     * @param includeInterval  ignored, since the items have no y-interval.
+     *
+     * @return The minimum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getRangeLowerBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r == null ? Double.NaN : r.getLowerBound();
+    }
+
+    /**
+     * Returns the maximum y-value in the dataset (read from the file
+     * headers).
+     *
+     * @param includeInterval  ignored, since the items have no y-interval.
+     *
+     * @return The maximum value ({@code Double.NaN} if there is no data).
+     */
+    @Override
+    public double getRangeUpperBound(boolean includeInterval) {
+        Range r = getRangeBounds(includeInterval);
+        return r == null ? Double.NaN : r.getUpperBound();
+    }
+
+    /**
+     * Returns the range of the y-values in the dataset (read from the file
+     * headers).
+     *
+     * @param includeInterval  ignored, since the items have no y-interval.
+     *
+     * @return The range ({@code null} if there is no data).
+     */
+    @Override
+    public Range getRangeBounds(boolean includeInterval) {
+        Range result = null;
+        for (MappedSeries s : this.series) {
+            if (!Double.isNaN(s.minY)) {
+                result = Range.combine(result, new Range(s.minY, s.maxY));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tests this dataset for equality with an arbitrary object.  Two datasets
+     * are equal if they have the same series keys and files.
+     *
+     * @param obj  the object ({@code null} permitted).
+     *
+     * @return A boolean.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof MappedXYDataset)) {
+            return false;
+        }
+        MappedXYDataset that = (MappedXYDataset) obj;
+        return this.series.equals(that.series);
+    }
+
+    /**
+     * Returns a hash code for this instance.
+     *
+     * @return A hash code.
+     */
+    @Override
+    public int hashCode() {
+        return this.series.hashCode();
+    }
+
+    /**
+     * Returns a clone of the dataset.  The clone shares the (read-only)
+     * mapped buffers with this dataset.
+     *
+     * @return A clone.
+     *
+     * @throws CloneNotSupportedException if there is a problem cloning.
+     */
+    @Override
+    public Object clone() throws CloneNotSupportedException {
+        MappedXYDataset clone = (MappedXYDataset) super.clone();
+        clone.series = new ArrayList<>(this.series);
+        return clone;
+    }
+
+    /**
+     * A series backed by a mapped file.
+     */
+    private static class MappedSeries implements Serializable {
+
+        /** For serialization. */
+        private static final long serialVersionUID = 3325120961046517396L;
+
+        /** The series key. */
+        private final Comparable key;
+
+        /** The file. */
+        private final File file;
+
+        /** The value format (read from the header). */
+        private transient XYColumnFormat format;
+
+        /** The item count. */
+        private transient int itemCount;
+
+        /** Are the x-values in ascending order? */
+        private transient boolean ascending;
+
+        /** The bounds (read from the header). */
+        private transient double minX, maxX, minY, maxY;
+
+        /** The file offset of the first y-value. */
+        private transient long yOffset;
+
+        /** The mapped segments of the file. */
+        private transient MappedByteBuffer[] segments;
+
+        MappedSeries(Comparable key, File file) {
+            this.key = key;
+            this.file = file;
+        }
+
+        /**
+         * Maps the file and reads the header.
+         *
+         * @throws IOException if there is an I/O problem.
+         */
+        void map() throws IOException {
+            try (FileChannel channel = FileChannel.open(this.file.toPath(),
+                    StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < HEADER_SIZE) {
+                    throw new IOException("File too short: " + this.file);
+                }
+                int n = (int) (((size - 1) >> SEGMENT_SHIFT) + 1);
+                MappedByteBuffer[] buffers = new MappedByteBuffer[n];
+                for (int i = 0; i < n; i++) {
+                    long position = (long) i << SEGMENT_SHIFT;
+                    buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                            position, Math.min(1L << SEGMENT_SHIFT,
+                            size - position));
+                }
+                MappedByteBuffer header = buffers[0];
+                if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                    throw new IOException("Unrecognised file format: "
+                            + this.file);
+                }
+                int f = header.getInt(8);
+                if (f < 0 || f >= XYColumnFormat.values().length) {
+                    throw new IOException("Unrecognised column format: " + f);
+                }
+                XYColumnFormat fmt = XYColumnFormat.values()[f];
+                long count = header.getLong(16);
+                if (count < 0 || count > Integer.MAX_VALUE) {
+                    throw new IOException("Unsupported item count: " + count);
+                }
+                long expected = HEADER_SIZE + count * (fmt.getXBytes()
+                        + fmt.getYBytes());
+                if (size < expected) {
+                    throw new IOException("File truncated: " + this.file);
+                }
+                this.format = fmt;
+                this.itemCount = (int) count;
+                this.ascending = (header.getInt(12) & ASCENDING_FLAG) != 0;
+                this.minX = header.getDouble(24);
+                this.maxX = header.getDouble(32);
+                this.minY = header.getDouble(40);
+                this.maxY = header.getDouble(48);
+                this.yOffset = HEADER_SIZE + count * fmt.getXBytes();
+                this.segments = buffers;
+            }
+        }
+
+        double getXValue(int item) {
+            checkItem(item);
+            long offset = HEADER_SIZE + (long) item * 8;
+            MappedByteBuffer b = this.segments[(int) (offset
+                    >>> SEGMENT_SHIFT)];
+            int p = (int) (offset & ((1L << SEGMENT_SHIFT) - 1));
+            if (this.format == XYColumnFormat.LONG_FLOAT) {
+                return b.getLong(p);
+            }
+            return b.getDouble(p);
+        }
+
+        double getYValue(int item) {
+            checkItem(item);
+            long offset = this.yOffset + (long) item
+                    * this.format.getYBytes();
+            MappedByteBuffer b = this.segments[(int) (offset
+                    >>> SEGMENT_SHIFT)];
+            int p = (int) (offset & ((1L << SEGMENT_SHIFT) - 1));
+            if (this.format == XYColumnFormat.LONG_FLOAT) {
+                return b.getFloat(p);
+            }
+            return b.getDouble(p);
+        }
+
+        private void checkItem(int item) {
+            if (item < 0 || item >= this.itemCount) {
+                throw new IndexOutOfBoundsException("Index: " + item
+                        + ", Size: " + this.itemCount);
+            }
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof MappedSeries)) {
+                return false;
+            }
+            MappedSeries that = (MappedSeries) obj;
+            return this.key.equals(that.key) && this.file.equals(that.file);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.key, this.file);
+        }
+
+        /**
+         * Restores a serialized object (the file is mapped again).
+         *
+         * @param stream  the input stream.
+         *
+         * @throws IOException if there is an I/O problem.
+         * @throws ClassNotFoundException if there is a classpath problem.
+         */
+        private void readObject(ObjectInputStream stream)
+                throws IOException, ClassNotFoundException {
+            stream.defaultReadObject();
+            map();
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * XYColumnFormat.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package se.malmin.data.xy;
+
+/**
+ * The storage formats for the x- and y-columns in a file that is read by a
+ * {@link MappedXYDataset}.
+ */
+public enum XYColumnFormat {
+
+    /** The x- and y-values are both stored as 8-byte doubles. */
+    DOUBLE_DOUBLE("XYColumnFormat.DOUBLE_DOUBLE", 8, 8),
+
+    /**
+     * The x-values are stored as 8-byte longs (for example, milliseconds
+     * since the epoch) and the y-values as 4-byte floats.
+     */
+    LONG_FLOAT("XYColumnFormat.LONG_FLOAT", 8, 4);
+
+    /** The name. */
+    private final String name;
+
+    /** The number of bytes for each x-value. */
+    private final int xBytes;
+
+    /** The number of bytes for each y-value. */
+    private final int yBytes;
+
+    /**
+     * Private constructor.
+     *
+     * @param name  the name.
+     * @param xBytes  the number of bytes for each x-value.
+     * @param yBytes  the number of bytes for each y-value.
+     */
+    private XYColumnFormat(String name, int xBytes, int yBytes) {
+        this.name = name;
+        this.xBytes = xBytes;
+        this.yBytes = yBytes;
+    }
+
+    /**
+     * Returns the number of bytes used to store each x-value.
+     *
+     * @return The number of bytes.
+     */
+    public int getXBytes() {
+        return this.xBytes;
+    }
+
+    /**
+     * Returns the number of bytes used to store each y-value.
+     *
+     * @return The number of bytes.
+     */
+    public int getYBytes() {
+        return this.yBytes;
+    }
+
+    /**
+     * Returns a string representing the object.
+     *
+     * @return The string.
+     */
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+}
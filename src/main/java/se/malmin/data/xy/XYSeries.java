@@ -48,8 +48,12 @@ import java.util.Objects;
 
 import se.malmin.chart.util.Args;
 import se.malmin.chart.util.ObjectUtils;
+import se.malmin.data.MinMaxIndex;
+import se.malmin.data.Range;
+import se.malmin.data.general.DatasetChangeType;
 import se.malmin.data.general.Series;
 import se.malmin.data.general.SeriesChangeEvent;
+import se.malmin.data.general.SeriesChangeInfo;
 import se.malmin.data.general.SeriesException;
 
 /**
@@ -95,6 +99,18 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     /** The highest y-value in the series, excluding Double.NaN values. */
     private double maxY;
 
+    /**
+     * An index of the y-values, used to update the bounds without iterating
+     * over all the items ({@code null} unless the bounds index is enabled).
+     */
+    private MinMaxIndex yIndex;
+
+    /**
+     * An index of the x-values, only required for an unsorted series
+     * ({@code null} unless the bounds index is enabled).
+     */
+    private MinMaxIndex xIndex;
+
     /**
      * Creates a new empty series.  By default, items added to the series will
      * be sorted into ascending order by x-value, and duplicate x-values will
@@ -215,6 +231,10 @@ public class XYSeries extends Series implements Cloneable, Serializable {
      * @param item  the item added ({@code null} not permitted).
      */
     private void updateBoundsForRemovedItem(XYDataItem item) {
+        if (this.yIndex != null) {
+            updateBoundsFromIndex();
+            return;
+        }
         boolean itemContributesToXBounds = false;
         boolean itemContributesToYBounds = false;
         double x = item.getXValue();
@@ -250,6 +270,10 @@ public class XYSeries extends Series implements Cloneable, Serializable {
      * through all the data items.
      */
     private void findBoundsByIteration() {
+        if (this.yIndex != null) {
+            updateBoundsFromIndex();
+            return;
+        }
         this.minX = Double.NaN;
         this.maxX = Double.NaN;
         this.minY = Double.NaN;
@@ -261,6 +285,107 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         }
     }
 
+    /**
+     * Reads the cached bounds from the bounds index.
+     */
+    private void updateBoundsFromIndex() {
+        this.minY = this.yIndex.getMinimum();
+        this.maxY = this.yIndex.getMaximum();
+        if (this.xIndex != null) {
+            this.minX = this.xIndex.getMinimum();
+            this.maxX = this.xIndex.getMaximum();
+        }
+        else if (this.data.isEmpty()) {
+            this.minX = Double.NaN;
+            this.maxX = Double.NaN;
+        }
+        else {
+            this.minX = getRawDataItem(0).getXValue();
+            this.maxX = getRawDataItem(this.data.size() - 1).getXValue();
+        }
+    }
+
+    /**
+     * Returns {@code true} if the series maintains an index of its x and
+     * y-values, and {@code false} otherwise.
+     *
+     * @return A boolean.
+     *
+     * @see #setUseBoundsIndex(boolean)
+     */
+    public boolean getUseBoundsIndex() {
+        return this.yIndex != null;
+    }
+
+    /**
+     * Sets the flag that controls whether or not the series maintains an
+     * index (a segment tree) of its x and y-values.  Without the index,
+     * removing an item that holds the current minimum or maximum value
+     * requires iterating over all the items in the series to find the new
+     * bounds, which is slow for large series with a maximum item count.
+     * With the index, the bounds are found in O(log n) time at the cost of
+     * some additional memory.
+     *
+     * @param use  the new flag value.
+     *
+     * @see #getUseBoundsIndex()
+     */
+    public void setUseBoundsIndex(boolean use) {
+        if (use) {
+            int count = this.data.size();
+            double[] y = new double[count];
+            double[] x = this.autoSort ? null : new double[count];
+            for (int i = 0; i < count; i++) {
+                XYDataItem item = getRawDataItem(i);
+                y[i] = item.getYValue();
+                if (x != null) {
+                    x[i] = item.getXValue();
+                }
+            }
+            this.yIndex = new MinMaxIndex();
+            this.yIndex.setValues(y, count);
+            if (x != null) {
+                this.xIndex = new MinMaxIndex();
+                this.xIndex.setValues(x, count);
+            }
+        }
+        else {
+            this.yIndex = null;
+            this.xIndex = null;
+        }
+    }
+
+    /**
+     * Records the insertion of an item in the bounds index (if there is one).
+     *
+     * @param index  the index of the item.
+     * @param item  the item.
+     */
+    private void indexAdd(int index, XYDataItem item) {
+        if (this.yIndex != null) {
+            this.yIndex.add(index, item.getYValue());
+            if (this.xIndex != null) {
+                this.xIndex.add(index, item.getXValue());
+            }
+        }
+    }
+
+    /**
+     * Records the removal of a range of items in the bounds index (if there
+     * is one).
+     *
+     * @param fromIndex  the index of the first item removed.
+     * @param toIndex  the index after the last item removed.
+     */
+    private void indexRemove(int fromIndex, int toIndex) {
+        if (this.yIndex != null) {
+            this.yIndex.removeRange(fromIndex, toIndex);
+            if (this.xIndex != null) {
+                this.xIndex.removeRange(fromIndex, toIndex);
+            }
+        }
+    }
+
     /**
      * Returns the flag that controls whether the items in the series are
      * automatically sorted.  There is no setter for this flag, it must be
@@ -335,6 +460,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         int remove = this.data.size() - maximum;
         if (remove > 0) {
             this.data.subList(0, remove).clear();
+            indexRemove(0, remove);
             findBoundsByIteration();
             fireSeriesChanged();
         }
@@ -453,10 +579,12 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     public void add(XYDataItem item, boolean notify) {
         Args.nullNotPermitted(item, "item");
         item = (XYDataItem) item.clone();
+        int position = this.data.size();
         if (this.autoSort) {
             int index = Collections.binarySearch(this.data, item);
             if (index < 0) {
-                this.data.add(-index - 1, item);
+                position = -index - 1;
+                this.data.add(position, item);
             }
             else {
                 if (this.allowDuplicateXValues) {
@@ -466,6 +594,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
                             this.data.get(index)) == 0) {
                         index++;
                     }
+                    position = index;
                     if (index < this.data.size()) {
                         this.data.add(index, item);
                     }
@@ -489,14 +618,46 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             }
             this.data.add(item);
         }
+        indexAdd(position, item);
         updateBoundsForAddedItem(item);
+        boolean removedFirst = false;
         if (getItemCount() > this.maximumItemCount) {
             XYDataItem removed = (XYDataItem) this.data.remove(0);
+            indexRemove(0, 1);
             updateBoundsForRemovedItem(removed);
+            removedFirst = true;
         }
         if (notify) {
-            fireSeriesChanged();
+            fireSeriesChanged(createAddInfo(position, removedFirst));
+        }
+    }
+
+    /**
+     * Returns a description of the change made by adding an item to the
+     * series.
+     *
+     * @param position  the position at which the item was added.
+     * @param removedFirst  a flag indicating whether the first item was
+     *     removed to keep within the maximum item count.
+     *
+     * @return The change info.
+     */
+    private SeriesChangeInfo createAddInfo(int position,
+            boolean removedFirst) {
+        if (removedFirst) {
+            // the item was appended if it is now the last item
+            int last = this.data.size() - 1;
+            if (last < 0 || position != last + 1) {
+                return SeriesChangeInfo.RESET;
+            }
+            return new SeriesChangeInfo(DatasetChangeType.SCROLL, last, last,
+                    1);
         }
+        if (position != this.data.size() - 1) {
+            return SeriesChangeInfo.RESET;
+        }
+        return new SeriesChangeInfo(DatasetChangeType.APPEND, position,
+                position);
     }
 
     /**
@@ -508,8 +669,10 @@ public class XYSeries extends Series implements Cloneable, Serializable {
      */
     public void delete(int start, int end) {
         this.data.subList(start, end + 1).clear();
+        indexRemove(start, end + 1);
         findBoundsByIteration();
-        fireSeriesChanged();
+        fireSeriesChanged(new SeriesChangeInfo(DatasetChangeType.REMOVE,
+                start, end));
     }
 
     /**
@@ -522,8 +685,10 @@ public class XYSeries extends Series implements Cloneable, Serializable {
      */
     public XYDataItem remove(int index) {
         XYDataItem removed = (XYDataItem) this.data.remove(index);
+        indexRemove(index, index + 1);
         updateBoundsForRemovedItem(removed);
-        fireSeriesChanged();
+        fireSeriesChanged(new SeriesChangeInfo(DatasetChangeType.REMOVE,
+                index, index));
         return removed;
     }
 
@@ -548,6 +713,12 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     public void clear() {
         if (this.data.size() > 0) {
             this.data.clear();
+            if (this.yIndex != null) {
+                this.yIndex.clear();
+                if (this.xIndex != null) {
+                    this.xIndex.clear();
+                }
+            }
             this.minX = Double.NaN;
             this.maxX = Double.NaN;
             this.minY = Double.NaN;
@@ -601,6 +772,71 @@ public class XYSeries extends Series implements Cloneable, Serializable {
         return getRawDataItem(index).getY();
     }
 
+    /**
+     * Returns the x-value (as a double primitive) at the specified index.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The x-value.
+     *
+     * @see #getX(int)
+     */
+    public double getXValue(int index) {
+        return getRawDataItem(index).getXValue();
+    }
+
+    /**
+     * Returns the y-value (as a double primitive) at the specified index.
+     * This method returns {@code Double.NaN} for a {@code null} y-value.
+     *
+     * @param index  the index (zero-based).
+     *
+     * @return The y-value.
+     *
+     * @see #getY(int)
+     */
+    public double getYValue(int index) {
+        return getRawDataItem(index).getYValue();
+    }
+
+    /**
+     * Returns the range of the y-values for the items from {@code start} to
+     * {@code end} (inclusive), ignoring {@code null} and {@code Double.NaN}
+     * values.  If the bounds index is enabled (see
+     * {@link #setUseBoundsIndex(boolean)}) this takes O(log n) time,
+     * otherwise the items are iterated over.
+     *
+     * @param start  the index of the first item.
+     * @param end  the index of the last item.
+     *
+     * @return The range of y-values, or {@code null} if there are no
+     *     y-values in the specified items.
+     */
+    public Range findYRange(int start, int end) {
+        if (end < start) {
+            throw new IllegalArgumentException("Requires start <= end.");
+        }
+        double lowY;
+        double highY;
+        if (this.yIndex != null) {
+            lowY = this.yIndex.getMinimum(start, end);
+            highY = this.yIndex.getMaximum(start, end);
+        }
+        else {
+            lowY = Double.NaN;
+            highY = Double.NaN;
+            for (int i = start; i <= end; i++) {
+                double y = getYValue(i);
+                lowY = minIgnoreNaN(lowY, y);
+                highY = maxIgnoreNaN(highY, y);
+            }
+        }
+        if (Double.isNaN(lowY)) {
+            return null;
+        }
+        return new Range(lowY, highY);
+    }
+
     /**
      * A function to find the minimum of two values, but ignoring any
      * Double.NaN values.
@@ -656,6 +892,9 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             iterate = oldY <= this.minY || oldY >= this.maxY;
         }
         item.setY(y);
+        if (this.yIndex != null) {
+            this.yIndex.setValue(index, item.getYValue());
+        }
 
         if (iterate) {
             findBoundsByIteration();
@@ -665,7 +904,8 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             this.minY = minIgnoreNaN(this.minY, yy);
             this.maxY = maxIgnoreNaN(this.maxY, yy);
         }
-        fireSeriesChanged();
+        fireSeriesChanged(new SeriesChangeInfo(DatasetChangeType.UPDATE,
+                index, index));
     }
 
     /**
@@ -731,6 +971,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 
         // if we get to here, we know that duplicate X values are not permitted
         XYDataItem overwritten = null;
+        SeriesChangeInfo info;
         int index = indexOf(item.getX());
         if (index >= 0) {
             XYDataItem existing = (XYDataItem) this.data.get(index);
@@ -742,6 +983,9 @@ public class XYSeries extends Series implements Cloneable, Serializable {
                 iterate = oldY <= this.minY || oldY >= this.maxY;
             }
             existing.setY(item.getY());
+            if (this.yIndex != null) {
+                this.yIndex.setValue(index, existing.getYValue());
+            }
 
             if (iterate) {
                 findBoundsByIteration();
@@ -751,6 +995,8 @@ public class XYSeries extends Series implements Cloneable, Serializable {
                 this.minY = minIgnoreNaN(this.minY, yy);
                 this.maxY = maxIgnoreNaN(this.maxY, yy);
             }
+            info = new SeriesChangeInfo(DatasetChangeType.UPDATE, index,
+                    index);
         }
         else {
             // if the series is sorted, the negative index is a result from
@@ -758,21 +1004,28 @@ public class XYSeries extends Series implements Cloneable, Serializable {
             // new item...otherwise it will be just -1 and we should just
             // append the value to the list...
             item = (XYDataItem) item.clone();
+            int position = this.data.size();
             if (this.autoSort) {
-                this.data.add(-index - 1, item);
+                position = -index - 1;
+                this.data.add(position, item);
             }
             else {
                 this.data.add(item);
             }
+            indexAdd(position, item);
             updateBoundsForAddedItem(item);
 
             // check if this addition will exceed the maximum item count...
+            boolean removedFirst = false;
             if (getItemCount() > this.maximumItemCount) {
                 XYDataItem removed = (XYDataItem) this.data.remove(0);
+                indexRemove(0, 1);
                 updateBoundsForRemovedItem(removed);
+                removedFirst = true;
             }
+            info = createAddInfo(position, removedFirst);
         }
-        fireSeriesChanged();
+        fireSeriesChanged(info);
         return overwritten;
     }
 
@@ -833,6 +1086,12 @@ public class XYSeries extends Series implements Cloneable, Serializable {
     public Object clone() throws CloneNotSupportedException {
         XYSeries clone = (XYSeries) super.clone();
         clone.data = (List) ObjectUtils.deepClone(this.data);
+        if (this.yIndex != null) {
+            clone.yIndex = (MinMaxIndex) this.yIndex.clone();
+        }
+        if (this.xIndex != null) {
+            clone.xIndex = (MinMaxIndex) this.xIndex.clone();
+        }
         return clone;
     }
 
@@ -851,6 +1110,7 @@ public class XYSeries extends Series implements Cloneable, Serializable {
 
         XYSeries copy = (XYSeries) super.clone();
         copy.data = new java.util.ArrayList();
+        copy.setUseBoundsIndex(getUseBoundsIndex());
         if (this.data.size() > 0) {
             for (int index = start; index <= end; index++) {
                 XYDataItem item = (XYDataItem) this.data.get(index);
@@ -62,7 +62,7 @@ import se.malmin.data.general.Series;
  * dataset.
  */
 public class XYSeriesCollection extends AbstractIntervalXYDataset
-        implements IntervalXYDataset, DomainInfo, RangeInfo, 
+        implements IntervalXYDataset, DomainInfo, RangeInfo, XYRangeInfo,
         VetoableChangeListener, PublicCloneable, Serializable {
 
     /** For serialization. */
@@ -324,6 +324,21 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         return s.getX(item);
     }
 
+    /**
+     * Returns the x-value (as a double primitive) for the specified series
+     * and item.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The value.
+     */
+    @Override
+    public double getXValue(int series, int item) {
+        XYSeries s = (XYSeries) this.data.get(series);
+        return s.getXValue(item);
+    }
+
     /**
      * Returns the starting X value for the specified series and item.
      *
@@ -364,6 +379,21 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         return s.getY(index);
     }
 
+    /**
+     * Returns the y-value (as a double primitive) for the specified series
+     * and item.
+     *
+     * @param series  the series (zero-based index).
+     * @param item  the item (zero-based index).
+     *
+     * @return The value ({@code Double.NaN} for a missing value).
+     */
+    @Override
+    public double getYValue(int series, int item) {
+        XYSeries s = (XYSeries) this.data.get(series);
+        return s.getYValue(item);
+    }
+
     /**
      * Returns the starting Y value for the specified series and item.
      *
@@ -692,6 +722,86 @@ public class XYSeriesCollection extends AbstractIntervalXYDataset
         return result;
     }
 
+    /**
+     * Returns the range of the y-values for the items in the visible series
+     * with x-values in the specified range.  For series that are sorted by
+     * x-value, the items in the x-range are found by binary search and the
+     * y-range is found with {@link XYSeries#findYRange(int, int)}, which
+     * takes O(log n) time if the series bounds index is enabled.
+     *
+     * @param visibleSeriesKeys  the keys of the visible series
+     *     ({@code null} not permitted).
+     * @param xRange  the x-range ({@code null} not permitted).
+     * @param includeInterval  ignored by this dataset since the y-values
+     *     have no interval.
+     *
+     * @return The range (or {@code null} if there are no values in the
+     *     x-range).
+     */
+    @Override
+    public Range getRangeBounds(List visibleSeriesKeys, Range xRange,
+            boolean includeInterval) {
+        Args.nullNotPermitted(visibleSeriesKeys, "visibleSeriesKeys");
+        Args.nullNotPermitted(xRange, "xRange");
+        Range result = null;
+        for (Object visibleSeriesKey : visibleSeriesKeys) {
+            XYSeries series = getSeries((Comparable) visibleSeriesKey);
+            int itemCount = series.getItemCount();
+            if (itemCount == 0) {
+                continue;
+            }
+            if (series.getAutoSort()) {
+                int first = findFirstItem(series, xRange.getLowerBound(),
+                        false);
+                int last = findFirstItem(series, xRange.getUpperBound(),
+                        true) - 1;
+                if (first <= last) {
+                    result = Range.combine(result, series.findYRange(first,
+                            last));
+                }
+            }
+            else {
+                for (int item = 0; item < itemCount; item++) {
+                    double y = series.getYValue(item);
+                    if (!Double.isNaN(y)
+                            && xRange.contains(series.getXValue(item))) {
+                        result = Range.expandToInclude(result, y);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first item in a sorted series with an x-value
+     * greater than (or, if {@code strict} is {@code false}, equal to) the
+     * specified value.
+     *
+     * @param series  the series.
+     * @param x  the x-value.
+     * @param strict  only consider x-values that are strictly greater?
+     *
+     * @return The item index (equal to the item count if there is no such
+     *     item).
+     */
+    private static int findFirstItem(XYSeries series, double x,
+            boolean strict) {
+        int low = 0;
+        int high = series.getItemCount();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            double midX = series.getXValue(mid);
+            if (midX < x || (strict && midX == x)) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     /**
      * Receives notification that the key for one of the series in the 
      * collection has changed, and vetos it if the key is already present in 
@@ -41,10 +41,15 @@
 
 package org.jfree.chart;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.EventListener;
 import java.util.List;
@@ -60,10 +65,14 @@ import se.malmin.chart.ChartPanel;
 import se.malmin.chart.JFreeChart;
 import se.malmin.chart.axis.NumberAxis;
 import se.malmin.chart.event.ChartChangeEvent;
+import se.malmin.chart.event.ChartChangeEventType;
 import se.malmin.chart.event.ChartChangeListener;
+import se.malmin.chart.event.PlotChangeEvent;
 import se.malmin.chart.plot.PlotOrientation;
 import se.malmin.chart.plot.XYPlot;
 import se.malmin.data.xy.DefaultXYDataset;
+import se.malmin.data.xy.XYSeries;
+import se.malmin.data.xy.XYSeriesCollection;
 
 /**
  * Tests for the {@link ChartPanel} class.
@@ -350,4 +359,155 @@ public class ChartPanelTest implements ChartChangeListener, ChartMouseListener {
         panel.setMouseWheelEnabled(false);
         assertFalse(panel.isMouseWheelEnabled());
     }
+
+    /**
+     * A dataset that counts the calls to getYValue().
+     */
+    static class CountingDataset extends XYSeriesCollection {
+
+        int count;
+
+        CountingDataset(XYSeries series) {
+            super(series);
+        }
+
+        @Override
+        public double getYValue(int series, int item) {
+            this.count++;
+            return super.getYValue(series, item);
+        }
+    }
+
+    /**
+     * Paints a panel to an image.
+     *
+     * @param panel  the panel.
+     *
+     * @return The pixels.
+     */
+    private static int[] paint(ChartPanel panel) {
+        BufferedImage image = new BufferedImage(panel.getWidth(),
+                panel.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        panel.paintComponent(g2);
+        g2.dispose();
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null,
+                0, image.getWidth());
+    }
+
+    /**
+     * Creates a line chart for a series that keeps the last 200 items.  The
+     * tests scroll the domain axis by four pixels for each item (a whole
+     * number of periods for the dashed gridlines).
+     *
+     * @param series  the series.
+     *
+     * @return The chart.
+     */
+    private static JFreeChart createScrollingChart(XYSeries series) {
+        series.setMaximumItemCount(200);
+        for (int i = 0; i < 300; i++) {
+            series.add(i, Math.sin(i / 5.0));
+        }
+        JFreeChart chart = ChartFactory.createXYLineChart("TestChart", "X",
+                "Y", new CountingDataset(series));
+        XYPlot plot = (XYPlot) chart.getPlot();
+        plot.setLazyEntities(true);
+        plot.getRangeAxis().setRange(-1.5, 1.5);
+        return chart;
+    }
+
+    /**
+     * Appending items while the domain axis scrolls by a whole number of
+     * pixels gives the same image as a full redraw, but only the new items
+     * are drawn.
+     */
+    @Test
+    public void testIncrementalRepaint() {
+        XYSeries series = new XYSeries("S1");
+        JFreeChart chart = createScrollingChart(series);
+        XYPlot plot = (XYPlot) chart.getPlot();
+        CountingDataset dataset = (CountingDataset) plot.getDataset();
+        ChartPanel panel = new ChartPanel(chart, true);
+        panel.setIncrementalRepaint(true);
+        assertTrue(panel.isIncrementalRepaint());
+        panel.setSize(600, 400);
+        ChartPanel reference = new ChartPanel(chart, true);
+        reference.setSize(600, 400);
+        paint(panel);
+        double w = panel.getChartRenderingInfo().getPlotInfo().getDataArea()
+                .getWidth();
+        plot.getDomainAxis().setRange(300 - w / 4, 300);
+        paint(panel);
+        for (int i = 300; i < 320; i++) {
+            series.add(i, Math.sin(i / 5.0));
+            plot.getDomainAxis().setRange(i + 1 - w / 4, i + 1);
+            dataset.count = 0;
+            int[] pixels = paint(panel);
+            assertTrue(dataset.count < 60);
+            assertArrayEquals(paint(reference), pixels);
+        }
+    }
+
+    /**
+     * Any other change leads to a full redraw.
+     */
+    @Test
+    public void testIncrementalRepaintFallback() {
+        XYSeries series = new XYSeries("S1");
+        JFreeChart chart = createScrollingChart(series);
+        XYPlot plot = (XYPlot) chart.getPlot();
+        CountingDataset dataset = (CountingDataset) plot.getDataset();
+        ChartPanel panel = new ChartPanel(chart, true);
+        panel.setIncrementalRepaint(true);
+        panel.setSize(600, 400);
+        ChartPanel reference = new ChartPanel(chart, true);
+        reference.setSize(600, 400);
+        paint(panel);
+        double w = panel.getChartRenderingInfo().getPlotInfo().getDataArea()
+                .getWidth();
+        plot.getDomainAxis().setRange(300 - w / 4, 300);
+        paint(panel);
+
+        // a shift by part of a pixel
+        series.add(300, 0.0);
+        plot.getDomainAxis().setRange(300.1 - w / 4, 300.1);
+        dataset.count = 0;
+        int[] pixels = paint(panel);
+        assertTrue(dataset.count > 100);
+        assertArrayEquals(paint(reference), pixels);
+
+        // a change to an item that is not at the end of the series
+        paint(panel);
+        series.updateByIndex(150, 1.0);
+        dataset.count = 0;
+        pixels = paint(panel);
+        assertTrue(dataset.count > 100);
+        assertArrayEquals(paint(reference), pixels);
+
+        // a change to the range axis
+        series.add(301, 0.0);
+        plot.getDomainAxis().setRange(301.1 - w / 4, 301.1);
+        plot.getRangeAxis().setRange(-2.0, 2.0);
+        dataset.count = 0;
+        pixels = paint(panel);
+        assertTrue(dataset.count > 100);
+        assertArrayEquals(paint(reference), pixels);
+
+        // a change to the domain axis other than the range (axis changes
+        // are general plot changes that refer to the axis change)
+        chart.addChangeListener(this);
+        this.chartChangeEvents.clear();
+        series.add(302, 0.0);
+        plot.getDomainAxis().setRange(302.1 - w / 4, 302.1);
+        plot.getDomainAxis().setTickMarkPaint(Color.RED);
+        ChartChangeEvent event = this.chartChangeEvents.get(
+                this.chartChangeEvents.size() - 1);
+        assertEquals(ChartChangeEventType.GENERAL, event.getType());
+        assertNotNull(((PlotChangeEvent) event).getAxisChangeEvent());
+        dataset.count = 0;
+        pixels = paint(panel);
+        assertTrue(dataset.count > 100);
+        assertArrayEquals(paint(reference), pixels);
+    }
 }
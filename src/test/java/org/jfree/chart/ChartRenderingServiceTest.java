@@ -0,0 +1,175 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------------
+ * ChartRenderingServiceTest.java
+ * ------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.ChartFactory;
+import se.malmin.chart.ChartRenderJob;
+import se.malmin.chart.ChartRenderResult;
+import se.malmin.chart.ChartRenderingService;
+import se.malmin.chart.ChartRenderingStatistics;
+import se.malmin.chart.JFreeChart;
+import se.malmin.chart.encoders.ImageFormat;
+import se.malmin.data.xy.XYSeries;
+import se.malmin.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link ChartRenderingService} class.
+ */
+public class ChartRenderingServiceTest {
+
+    /**
+     * Creates a line chart.
+     *
+     * @param n  the number of items.
+     *
+     * @return The chart.
+     */
+    private static JFreeChart createChart(int n) {
+        XYSeries series = new XYSeries("S1");
+        for (int i = 0; i < n; i++) {
+            series.add(i, Math.sin(i / 5.0) * i);
+        }
+        return ChartFactory.createXYLineChart("Chart " + n, "X", "Y",
+                new XYSeriesCollection(series));
+    }
+
+    /**
+     * Returns the pixels of an image.
+     *
+     * @param image  the image.
+     *
+     * @return The pixels.
+     */
+    private static int[] pixels(BufferedImage image) {
+        return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null,
+                0, image.getWidth());
+    }
+
+    /**
+     * Concurrent jobs (including several jobs for the same chart) give the
+     * same images as drawing each chart on its own, and the pooled images
+     * are reused.
+     */
+    @Test
+    public void testConcurrentJobs() throws Exception {
+        List<JFreeChart> charts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            charts.add(createChart(50 + i * 10));
+        }
+        List<ChartRenderJob> jobs = new ArrayList<>();
+        for (int repeat = 0; repeat < 5; repeat++) {
+            for (JFreeChart chart : charts) {
+                jobs.add(new ChartRenderJob(chart, 300 - repeat,
+                        200 + repeat, ImageFormat.PNG));
+            }
+        }
+        List<Future<ChartRenderResult>> futures = new ArrayList<>();
+        try (ChartRenderingService service = new ChartRenderingService(4,
+                jobs.size())) {
+            for (ChartRenderJob job : jobs) {
+                futures.add(service.submit(job));
+            }
+            for (int i = 0; i < jobs.size(); i++) {
+                ChartRenderJob job = jobs.get(i);
+                ChartRenderResult result = futures.get(i).get(30,
+                        TimeUnit.SECONDS);
+                BufferedImage image = ImageIO.read(new ByteArrayInputStream(
+                        result.getData()));
+                assertEquals(job.getWidth(), image.getWidth());
+                assertEquals(job.getHeight(), image.getHeight());
+                // later jobs for the same chart may still be drawing
+                BufferedImage expected;
+                synchronized (job.getChart()) {
+                    expected = job.getChart().createBufferedImage(
+                            job.getWidth(), job.getHeight());
+                }
+                assertTrue(Arrays.equals(pixels(expected),
+                        pixels(image)));
+                assertNull(result.getInfo());
+                assertTrue(result.getLatency() >= result.getDrawTime());
+            }
+            ChartRenderingStatistics stats = service.getStatistics();
+            assertEquals(jobs.size(), stats.getSubmittedCount());
+            assertEquals(jobs.size(), stats.getCompletedCount());
+            assertEquals(0, stats.getFailedCount());
+            assertEquals(0, stats.getQueueDepth());
+            assertEquals(jobs.size(), stats.getImagePoolHitCount()
+                    + stats.getImagePoolMissCount());
+            assertTrue(stats.getImagePoolHitCount() > 0);
+            assertTrue(stats.getLatency50() <= stats.getLatency99());
+            assertTrue(stats.getLatency99() <= stats.getMaximumLatency());
+        }
+    }
+
+    /**
+     * A JPEG job with rendering info.
+     */
+    @Test
+    public void testJPEGWithInfo() throws Exception {
+        try (ChartRenderingService service = new ChartRenderingService(1,
+                1)) {
+            ChartRenderJob job = new ChartRenderJob(createChart(20), 250, 150,
+                    ImageFormat.JPEG, 0.9f, false, true);
+            ChartRenderResult result = service.submit(job).get(30,
+                    TimeUnit.SECONDS);
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(
+                    result.getData()));
+            assertEquals(250, image.getWidth());
+            assertNotNull(result.getInfo());
+            assertTrue(result.getInfo().getEntityCollection()
+                    .getEntityCount() > 0);
+        }
+    }
+
+}
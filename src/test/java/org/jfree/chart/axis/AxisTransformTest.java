@@ -0,0 +1,154 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * AxisTransformTest.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.axis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.axis.AxisTransform;
+import se.malmin.chart.axis.DateAxis;
+import se.malmin.chart.axis.LogAxis;
+import se.malmin.chart.axis.LogarithmicAxis;
+import se.malmin.chart.axis.NumberAxis;
+import se.malmin.chart.axis.PeriodAxis;
+import se.malmin.chart.axis.ValueAxis;
+import se.malmin.chart.ui.RectangleEdge;
+
+/**
+ * Tests for the {@link AxisTransform} class.
+ */
+public class AxisTransformTest {
+
+    /**
+     * Checks that the transform for an axis gives exactly the same results
+     * as {@code valueToJava2D()}, for all edges and both directions.
+     *
+     * @param axis  the axis.
+     * @param values  the values to check.
+     */
+    private void checkSameAsAxis(ValueAxis axis, double[] values) {
+        Rectangle2D area = new Rectangle2D.Double(13.3, 27.1, 611.7, 403.9);
+        for (boolean inverted : new boolean[] {false, true}) {
+            axis.setInverted(inverted);
+            for (RectangleEdge edge : new RectangleEdge[] {RectangleEdge.TOP,
+                    RectangleEdge.BOTTOM, RectangleEdge.LEFT,
+                    RectangleEdge.RIGHT}) {
+                AxisTransform t = axis.createTransform(area, edge);
+                double[] result = new double[values.length];
+                t.valueToJava2D(values, result, values.length);
+                for (int i = 0; i < values.length; i++) {
+                    double expected = axis.valueToJava2D(values[i], area,
+                            edge);
+                    assertEquals(expected, result[i]);
+                    assertEquals(expected, t.valueToJava2D(values[i]));
+                }
+            }
+        }
+    }
+
+    private static double[] randomValues(double lower, double upper) {
+        Random random = new Random(42L);
+        double[] values = new double[1000];
+        for (int i = 0; i < values.length - 1; i++) {
+            values[i] = lower + random.nextDouble() * (upper - lower) * 1.5;
+        }
+        values[values.length - 1] = Double.NaN;
+        return values;
+    }
+
+    /**
+     * The standard axes have precomputed transforms that match
+     * {@code valueToJava2D()} exactly.
+     */
+    @Test
+    public void testStandardAxes() {
+        NumberAxis numberAxis = new NumberAxis("X");
+        numberAxis.setRange(-3.7, 123.45);
+        assertFalse(numberAxis.createTransform(new Rectangle2D.Double(),
+                RectangleEdge.BOTTOM).isAxisTransform());
+        checkSameAsAxis(numberAxis, randomValues(-10.0, 130.0));
+
+        DateAxis dateAxis = new DateAxis("Date");
+        dateAxis.setRange(1609459200000.0, 1612137600000.0);
+        assertFalse(dateAxis.createTransform(new Rectangle2D.Double(),
+                RectangleEdge.BOTTOM).isAxisTransform());
+        checkSameAsAxis(dateAxis, randomValues(1609459200000.0,
+                1612137600000.0));
+
+        LogAxis logAxis = new LogAxis("Log");
+        logAxis.setBase(2.0);
+        logAxis.setRange(0.5, 4096.0);
+        assertFalse(logAxis.createTransform(new Rectangle2D.Double(),
+                RectangleEdge.BOTTOM).isAxisTransform());
+        checkSameAsAxis(logAxis, randomValues(0.1, 5000.0));
+    }
+
+    /**
+     * Axes that override {@code valueToJava2D()} get a transform that calls
+     * the axis.
+     */
+    @Test
+    public void testOtherAxes() {
+        LogarithmicAxis logarithmicAxis = new LogarithmicAxis("Log");
+        logarithmicAxis.setRange(1.0, 1000.0);
+        assertTrue(logarithmicAxis.createTransform(new Rectangle2D.Double(),
+                RectangleEdge.BOTTOM).isAxisTransform());
+        checkSameAsAxis(logarithmicAxis, randomValues(1.0, 1000.0));
+
+        assertTrue(new PeriodAxis("Period").createTransform(
+                new Rectangle2D.Double(), RectangleEdge.BOTTOM)
+                .isAxisTransform());
+
+        NumberAxis custom = new NumberAxis("Custom") {
+            @Override
+            public double valueToJava2D(double value, Rectangle2D area,
+                    RectangleEdge edge) {
+                return 2.0 * super.valueToJava2D(value, area, edge);
+            }
+        };
+        assertTrue(custom.createTransform(new Rectangle2D.Double(),
+                RectangleEdge.BOTTOM).isAxisTransform());
+        checkSameAsAxis(custom, randomValues(0.0, 1.0));
+    }
+
+}
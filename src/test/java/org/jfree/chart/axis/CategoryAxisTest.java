@@ -49,12 +49,23 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.List;
 
 import org.jfree.chart.TestUtils;
 import org.junit.jupiter.api.Test;
 
+import se.malmin.chart.axis.AxisState;
 import se.malmin.chart.axis.CategoryAxis;
 import se.malmin.chart.axis.CategoryLabelPositions;
+import se.malmin.chart.axis.CategoryTick;
+import se.malmin.chart.axis.ExtendedCategoryAxis;
+import se.malmin.chart.plot.CategoryPlot;
+import se.malmin.chart.renderer.category.BarRenderer;
+import se.malmin.chart.ui.RectangleEdge;
+import se.malmin.data.category.DefaultCategoryDataset;
 
 /**
  * Tests for the {@link CategoryAxis} class.
@@ -100,6 +111,12 @@ public class CategoryAxisTest {
         a2.setCategoryLabelPositionOffset(11);
         assertTrue(a1.equals(a2));
 
+        // categoryLabelThinning
+        a1.setCategoryLabelThinning(true);
+        assertFalse(a1.equals(a2));
+        a2.setCategoryLabelThinning(true);
+        assertTrue(a1.equals(a2));
+
         // categoryLabelPositions
         a1.setCategoryLabelPositions(CategoryLabelPositions.DOWN_45);
         assertFalse(a1.equals(a2));
@@ -211,4 +228,111 @@ public class CategoryAxisTest {
         assertEquals(a1, a2);
     }
 
+    /**
+     * Creates a plot with the specified number of categories.
+     *
+     * @param categoryCount  the number of categories.
+     *
+     * @return The plot.
+     */
+    private static CategoryPlot createPlot(int categoryCount) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        for (int c = 0; c < categoryCount; c++) {
+            dataset.addValue(c, "S1", "Category " + c);
+        }
+        return new CategoryPlot(dataset, new CategoryAxis("X"),
+                new se.malmin.chart.axis.NumberAxis("Y"), new BarRenderer());
+    }
+
+    /**
+     * With label thinning, only every k-th category gets a label when the
+     * categories are too narrow for their labels.
+     */
+    @Test
+    public void testCategoryLabelThinning() {
+        CategoryPlot plot = createPlot(2000);
+        CategoryAxis axis = plot.getDomainAxis();
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 800, 400);
+        List ticks = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertEquals(2000, ticks.size());
+
+        axis.setCategoryLabelThinning(true);
+        ticks = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertTrue(ticks.size() > 1);
+        assertTrue(ticks.size() < 100);
+        String second = (String) ((CategoryTick) ticks.get(1)).getCategory();
+        int step = Integer.parseInt(second.substring("Category ".length()));
+        assertEquals("Category 0",
+                ((CategoryTick) ticks.get(0)).getCategory());
+        assertEquals("Category " + (ticks.size() - 1) * step,
+                ((CategoryTick) ticks.get(ticks.size() - 1)).getCategory());
+        assertTrue(ticks.size() * step >= 2000);
+
+        // the labels are not thinned when there is enough space
+        CategoryAxis axis2 = createPlot(5).getDomainAxis();
+        axis2.setCategoryLabelThinning(true);
+        ticks = axis2.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertEquals(5, ticks.size());
+
+        // drawing uses the right position for each label
+        axis.draw(g2, 350.0, area, area, RectangleEdge.BOTTOM, null);
+        g2.dispose();
+    }
+
+    /**
+     * The category labels are reused until the axis changes.
+     */
+    @Test
+    public void testLabelCache() {
+        CategoryAxis axis = createPlot(3).getDomainAxis();
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 400, 300);
+        List t1 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        List t2 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertTrue(((CategoryTick) t1.get(1)).getLabel()
+                == ((CategoryTick) t2.get(1)).getLabel());
+
+        axis.setTickLabelFont(new Font("Dialog", Font.BOLD, 20));
+        List t3 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertFalse(((CategoryTick) t1.get(1)).getLabel()
+                == ((CategoryTick) t3.get(1)).getLabel());
+        assertEquals(new Font("Dialog", Font.BOLD, 20), ((CategoryTick)
+                t3.get(1)).getLabel().getLastLine().getFirstTextFragment()
+                .getFont());
+        g2.dispose();
+    }
+
+    /**
+     * The category labels are not reused by subclasses that override
+     * {@code createLabel()}.
+     */
+    @Test
+    public void testLabelCacheWithOverriddenCreateLabel() {
+        CategoryPlot plot = createPlot(3);
+        CategoryAxis axis = new ExtendedCategoryAxis("X");
+        plot.setDomainAxis(axis);
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 400, 300);
+        List t1 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        List t2 = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        assertFalse(((CategoryTick) t1.get(1)).getLabel()
+                == ((CategoryTick) t2.get(1)).getLabel());
+        g2.dispose();
+    }
+
 }
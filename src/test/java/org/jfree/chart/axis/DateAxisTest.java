@@ -59,6 +59,7 @@ import org.junit.jupiter.api.Test;
 import se.malmin.chart.axis.AxisState;
 import se.malmin.chart.axis.DateAxis;
 import se.malmin.chart.axis.DateTick;
+import se.malmin.chart.axis.DateTickEngine;
 import se.malmin.chart.axis.DateTickMarkPosition;
 import se.malmin.chart.axis.DateTickUnit;
 import se.malmin.chart.axis.DateTickUnitType;
@@ -148,6 +149,12 @@ public class DateAxisTest {
         a2.setTickMarkPosition(DateTickMarkPosition.END);
         assertTrue(a1.equals(a2));
 
+        // tickEngine
+        a1.setTickEngine(DateTickEngine.JAVA_TIME);
+        assertFalse(a1.equals(a2));
+        a2.setTickEngine(DateTickEngine.JAVA_TIME);
+        assertTrue(a1.equals(a2));
+
     }
 
     /**
@@ -1173,6 +1180,84 @@ public class DateAxisTest {
         assertEquals("31-May-2008", t3.getText());
     }
 
+    /**
+     * Returns the ticks calculated by the specified engine.
+     *
+     * @param engine  the tick engine.
+     * @param zone  the time zone.
+     * @param unit  the tick unit ({@code null} for automatic selection).
+     * @param position  the tick mark position.
+     * @param range  the axis range.
+     * @param length  the length of the axis.
+     *
+     * @return The ticks.
+     */
+    private List refreshTicks(DateTickEngine engine, TimeZone zone,
+            DateTickUnit unit, DateTickMarkPosition position, DateRange range,
+            double length) {
+        DateAxis axis = new DateAxis("Date", zone, Locale.UK);
+        axis.setTickEngine(engine);
+        axis.setTickMarkPosition(position);
+        if (unit != null) {
+            axis.setTickUnit(unit);
+        }
+        axis.setRange(range);
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, length, length);
+        List ticks = axis.refreshTicks(g2, new AxisState(), area,
+                RectangleEdge.BOTTOM);
+        g2.dispose();
+        return ticks;
+    }
+
+    /**
+     * The java.time tick engine generates the same ticks as the calendar
+     * engine, including ranges that cross daylight saving transitions (one
+     * of the transitions for Sao Paulo is at midnight).
+     */
+    @Test
+    public void testJavaTimeTickEngine() {
+        String[] zones = {"GMT", "Europe/London", "America/New_York",
+                "America/Sao_Paulo", "Australia/Lord_Howe"};
+        DateTickUnit[] units = {null,
+                new DateTickUnit(DateTickUnitType.HOUR, 1,
+                        new SimpleDateFormat("HH:mm", Locale.UK)),
+                new DateTickUnit(DateTickUnitType.DAY, 1,
+                        DateTickUnitType.HOUR, 1,
+                        new SimpleDateFormat("EEE d-MMM", Locale.UK)),
+                new DateTickUnit(DateTickUnitType.MONTH, 1,
+                        new SimpleDateFormat("MMM-yyyy", Locale.UK)),
+                new DateTickUnit(DateTickUnitType.YEAR, 1,
+                        new SimpleDateFormat("yyyy zzz", Locale.UK))};
+        DateTickMarkPosition[] positions = {DateTickMarkPosition.START,
+                DateTickMarkPosition.MIDDLE, DateTickMarkPosition.END};
+        int count = 0;
+        for (String id : zones) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            GregorianCalendar c = new GregorianCalendar(zone, Locale.UK);
+            c.set(1994, Calendar.OCTOBER, 10, 0, 0, 0);
+            long start = c.getTimeInMillis();
+            long[] lengths = {3L * 24 * 3600000L, 40L * 24 * 3600000L,
+                    3L * 365 * 24 * 3600000L};
+            for (long length : lengths) {
+                DateRange range = new DateRange(start, start + length);
+                for (DateTickUnit unit : units) {
+                    for (DateTickMarkPosition position : positions) {
+                        List expected = refreshTicks(DateTickEngine.CALENDAR,
+                                zone, unit, position, range, 1000.0);
+                        List ticks = refreshTicks(DateTickEngine.JAVA_TIME,
+                                zone, unit, position, range, 1000.0);
+                        assertEquals(expected, ticks);
+                        count += ticks.size();
+                    }
+                }
+            }
+        }
+        assertTrue(count > 1000);
+    }
+
     @Test
     public void testBug3484403() {
 
@@ -51,7 +51,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.awt.Font;
+import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.text.DecimalFormat;
 
 import org.jfree.chart.TestUtils;
@@ -61,6 +64,7 @@ import se.malmin.chart.ChartFactory;
 import se.malmin.chart.JFreeChart;
 import se.malmin.chart.axis.NumberAxis;
 import se.malmin.chart.axis.NumberTickUnit;
+import se.malmin.chart.axis.TickLayoutCache;
 import se.malmin.chart.plot.CategoryPlot;
 import se.malmin.chart.plot.PlotOrientation;
 import se.malmin.chart.plot.XYPlot;
@@ -400,4 +404,55 @@ public class NumberAxisTest {
         //assertEquals(0.0, axis.getLowerBound(), EPSILON);
     }
 
+    /**
+     * Drawing an unchanged chart a second time reuses the cached ticks, and
+     * a change to the axis invalidates them.
+     */
+    @Test
+    public void testTickLayoutCache() {
+        XYSeries s = new XYSeries("S1");
+        s.add(1.0, 3.2);
+        s.add(9.0, 47.5);
+        XYSeriesCollection dataset = new XYSeriesCollection(s);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        XYPlot plot = (XYPlot) chart.getPlot();
+        NumberAxis axis = (NumberAxis) plot.getRangeAxis();
+        TickLayoutCache cache = axis.getTickLayoutCache();
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 400, 300);
+        chart.draw(g2, area);
+        NumberTickUnit unit = axis.getTickUnit();
+        long hits = cache.getHitCount();
+        long misses = cache.getMissCount();
+        assertTrue(misses > 0);
+
+        chart.draw(g2, area);
+        assertTrue(cache.getHitCount() > hits);
+        assertEquals(misses, cache.getMissCount());
+        assertEquals(unit, axis.getTickUnit());
+
+        axis.setTickLabelFont(new Font("Dialog", Font.PLAIN, 20));
+        chart.draw(g2, area);
+        assertTrue(cache.getMissCount() > misses);
+
+        // a formatter modified in place (no change event) is still noticed
+        DecimalFormat format = new DecimalFormat("0.0");
+        axis.setNumberFormatOverride(format);
+        chart.draw(g2, area);
+        misses = cache.getMissCount();
+        chart.draw(g2, area);
+        assertEquals(misses, cache.getMissCount());
+        format.applyPattern("0.000");
+        chart.draw(g2, area);
+        assertTrue(cache.getMissCount() > misses);
+        g2.dispose();
+
+        // clones have their own cache
+        NumberAxis clone = (NumberAxis) TestUtils.serialised(axis);
+        assertEquals(0L, clone.getTickLayoutCache().getHitCount());
+    }
+
 }
@@ -0,0 +1,266 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------
+ * PNGEncoderTest.java
+ * -------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.encoders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.ChartFactory;
+import se.malmin.chart.ChartUtils;
+import se.malmin.chart.JFreeChart;
+import se.malmin.chart.encoders.ImageEncoder;
+import se.malmin.chart.encoders.ImageEncoderFactory;
+import se.malmin.chart.encoders.ImageFormat;
+import se.malmin.chart.encoders.PNGEncoder;
+import se.malmin.data.xy.XYSeries;
+import se.malmin.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link PNGEncoder} class.
+ */
+public class PNGEncoderTest {
+
+    /**
+     * Creates a test image.
+     *
+     * @param type  the image type.
+     * @param w  the width.
+     * @param h  the height.
+     * @param antialias  draw with anti-aliasing (many colors)?
+     * @param transparent  leave the background transparent?
+     *
+     * @return The image.
+     */
+    private static BufferedImage createImage(int type, int w, int h,
+            boolean antialias, boolean transparent) {
+        BufferedImage image = new BufferedImage(w, h, type);
+        Graphics2D g2 = image.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialias
+                ? RenderingHints.VALUE_ANTIALIAS_ON
+                : RenderingHints.VALUE_ANTIALIAS_OFF);
+        if (!transparent) {
+            g2.setPaint(Color.WHITE);
+            g2.fillRect(0, 0, w, h);
+        }
+        g2.setStroke(new BasicStroke(2.0f));
+        Random random = new Random(w * 31L + h);
+        Color[] colors = {Color.RED, Color.BLUE, new Color(0, 128, 0, 128),
+                Color.GRAY};
+        for (int i = 0; i < 40; i++) {
+            g2.setPaint(colors[i % colors.length]);
+            g2.draw(new Ellipse2D.Double(random.nextInt(w),
+                    random.nextInt(h), 5 + random.nextInt(w / 2),
+                    5 + random.nextInt(h / 2)));
+        }
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * Encodes the image, reads it back with ImageIO and checks that the
+     * pixels are the same.
+     *
+     * @param encoder  the encoder.
+     * @param image  the image.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private static void checkRoundTrip(PNGEncoder encoder,
+            BufferedImage image) throws IOException {
+        byte[] data = encoder.encode(image);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(data));
+        assertEquals(image.getWidth(), decoded.getWidth());
+        assertEquals(image.getHeight(), decoded.getHeight());
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int expected = image.getRGB(x, y);
+                if ((expected >>> 24) == 0) {
+                    // the color of a fully transparent pixel is irrelevant
+                    expected = 0;
+                }
+                int actual = decoded.getRGB(x, y);
+                if ((actual >>> 24) == 0) {
+                    actual = 0;
+                }
+                assertEquals(expected, actual, "Pixel (" + x + ", " + y
+                        + ") with level " + encoder.getCompressionLevel()
+                        + ", " + encoder.getFilterStrategy());
+            }
+        }
+    }
+
+    /**
+     * Check every compression level and filter strategy.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testLevelsAndFilters() throws IOException {
+        BufferedImage image = createImage(BufferedImage.TYPE_INT_ARGB, 97,
+                61, true, true);
+        PNGEncoder encoder = new PNGEncoder();
+        encoder.setPaletteEnabled(false);
+        for (PNGEncoder.FilterStrategy strategy
+                : PNGEncoder.FilterStrategy.values()) {
+            for (int level = 0; level <= 9; level++) {
+                encoder.setFilterStrategy(strategy);
+                encoder.setCompressionLevel(level);
+                checkRoundTrip(encoder, image);
+            }
+        }
+        encoder.setEncodingAlpha(false);
+        checkRoundTrip(encoder, image);
+    }
+
+    /**
+     * Check palette images (with and without transparency) and other image
+     * types, including a subimage.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testImageTypes() throws IOException {
+        PNGEncoder encoder = new PNGEncoder();
+        int[] types = {BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_RGB,
+                BufferedImage.TYPE_INT_ARGB_PRE, BufferedImage.TYPE_3BYTE_BGR,
+                BufferedImage.TYPE_BYTE_GRAY};
+        for (int type : types) {
+            for (boolean antialias : new boolean[] {false, true}) {
+                for (boolean transparent : new boolean[] {false, true}) {
+                    BufferedImage image = createImage(type, 50, 40, antialias,
+                            transparent);
+                    encoder.setEncodingAlpha(true);
+                    checkRoundTrip(encoder, image);
+                    encoder.setEncodingAlpha(false);
+                    checkRoundTrip(encoder, image);
+                }
+            }
+        }
+        BufferedImage image = createImage(BufferedImage.TYPE_INT_ARGB, 80, 60,
+                true, false);
+        encoder.setEncodingAlpha(true);
+        checkRoundTrip(encoder, image.getSubimage(7, 5, 41, 30));
+
+        // two colors are written with one bit per pixel
+        BufferedImage twoColors = new BufferedImage(13, 3,
+                BufferedImage.TYPE_INT_RGB);
+        twoColors.setRGB(5, 1, 0xFF00FF);
+        byte[] data = encoder.encode(twoColors);
+        assertEquals(1, data[24]);  // bit depth
+        assertEquals(3, data[25]);  // color type
+        checkRoundTrip(encoder, twoColors);
+    }
+
+    /**
+     * A large image is compressed in bands in parallel and gives the same
+     * pixels as the sequential encoding.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testParallel() throws IOException {
+        BufferedImage image = createImage(BufferedImage.TYPE_INT_ARGB, 700,
+                900, true, true);
+        PNGEncoder encoder = new PNGEncoder();
+        encoder.setPaletteEnabled(false);
+        for (int level : new int[] {0, 1, 6, 9}) {
+            encoder.setCompressionLevel(level);
+            checkRoundTrip(encoder, image);
+        }
+        encoder.setParallel(false);
+        encoder.setCompressionLevel(6);
+        int sequential = encoder.encode(image).length;
+        encoder.setParallel(true);
+        int parallel = encoder.encode(image).length;
+        // the bands share a dictionary so there is little loss of compression
+        assertTrue(parallel < sequential * 1.05, parallel + " vs "
+                + sequential);
+    }
+
+    /**
+     * A chart with no background paint written with encodeAlpha=false keeps
+     * its transparent pixels (they were written as black at one point).
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testTransparentChartWithoutEncodeAlpha() throws IOException {
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        XYSeries series = new XYSeries("S1");
+        series.add(1.0, 2.0);
+        series.add(2.0, 3.0);
+        dataset.addSeries(series);
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                dataset);
+        chart.setBackgroundPaint(null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ChartUtils.writeChartAsPNG(out, chart, 200, 150, false, 9);
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(
+                out.toByteArray()));
+        assertEquals(0, decoded.getRGB(1, 1) >>> 24);
+    }
+
+    /**
+     * The factory returns the new encoder for PNG, and the quality is used as
+     * the compression level.
+     */
+    @Test
+    public void testFactory() {
+        ImageEncoder encoder = ImageEncoderFactory.newInstance(ImageFormat.PNG,
+                9.0f);
+        assertTrue(encoder instanceof PNGEncoder);
+        assertEquals(9, ((PNGEncoder) encoder).getCompressionLevel());
+        encoder.setQuality(42.0f);
+        assertEquals(9.0f, encoder.getQuality());
+    }
+
+}
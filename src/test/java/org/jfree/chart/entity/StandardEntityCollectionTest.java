@@ -42,13 +42,20 @@ package org.jfree.chart.entity;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.awt.geom.Ellipse2D;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import org.jfree.chart.TestUtils;
 import org.junit.jupiter.api.Test;
 
+import se.malmin.chart.entity.ChartEntity;
 import se.malmin.chart.entity.PieSectionEntity;
 import se.malmin.chart.entity.StandardEntityCollection;
 import se.malmin.data.general.DefaultPieDataset;
@@ -116,4 +123,79 @@ public class StandardEntityCollectionTest {
         assertEquals(c1, c2);
     }
 
+    /**
+     * Creates a collection with many (overlapping) entities.
+     *
+     * @return The collection.
+     */
+    private StandardEntityCollection createLargeCollection() {
+        Random random = new Random(42L);
+        StandardEntityCollection c = new StandardEntityCollection();
+        c.add(new ChartEntity(new Rectangle2D.Double(0, 0, 1000, 800)));
+        for (int i = 0; i < 5000; i++) {
+            double x = random.nextDouble() * 1000;
+            double y = random.nextDouble() * 800;
+            double w = random.nextDouble() * 20;
+            double h = random.nextDouble() * 20;
+            if (i % 2 == 0) {
+                c.add(new ChartEntity(new Rectangle2D.Double(x, y, w, h)));
+            } else {
+                c.add(new ChartEntity(new Ellipse2D.Double(x, y, w, h)));
+            }
+        }
+        c.add(new ChartEntity(new Rectangle2D.Double(100, 100, 500, 20)));
+        return c;
+    }
+
+    /**
+     * The indexed point query returns the same (last added) entity as a
+     * search through all the entities.
+     */
+    @Test
+    public void testGetEntityForPoint() {
+        StandardEntityCollection c = createLargeCollection();
+        Random random = new Random(7L);
+        for (int k = 0; k < 2000; k++) {
+            double x = random.nextDouble() * 1100 - 50;
+            double y = random.nextDouble() * 900 - 50;
+            ChartEntity expected = null;
+            for (int i = c.getEntityCount() - 1; i >= 0; i--) {
+                if (c.getEntity(i).getArea().contains(x, y)) {
+                    expected = c.getEntity(i);
+                    break;
+                }
+            }
+            assertSame(expected, c.getEntity(x, y));
+        }
+
+        // adding an entity is seen by the next query
+        ChartEntity top = new ChartEntity(new Rectangle2D.Double(0, 0, 5, 5));
+        c.add(top);
+        assertSame(top, c.getEntity(1.0, 1.0));
+        c.clear();
+        assertNull(c.getEntity(1.0, 1.0));
+    }
+
+    /**
+     * Check the entities returned for a rectangle.
+     */
+    @Test
+    public void testGetEntitiesForRectangle() {
+        StandardEntityCollection c = createLargeCollection();
+        Rectangle2D r = new Rectangle2D.Double(200, 150, 80, 60);
+        List<ChartEntity> expected = new ArrayList<>();
+        for (int i = 0; i < c.getEntityCount(); i++) {
+            if (c.getEntity(i).getArea().intersects(r)) {
+                expected.add(c.getEntity(i));
+            }
+        }
+        assertEquals(expected, c.getEntities(r));
+
+        StandardEntityCollection small = new StandardEntityCollection();
+        small.add(new ChartEntity(new Rectangle2D.Double(0, 0, 10, 10)));
+        small.add(new ChartEntity(new Rectangle2D.Double(50, 50, 10, 10)));
+        assertEquals(1, small.getEntities(
+                new Rectangle2D.Double(5, 5, 10, 10)).size());
+    }
+
 }
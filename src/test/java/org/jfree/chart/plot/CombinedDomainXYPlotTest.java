@@ -42,29 +42,42 @@
 package org.jfree.chart.plot;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.awt.print.Printable;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.print.DocFlavor;
+import javax.print.SimpleDoc;
+import javax.print.StreamPrintServiceFactory;
+import javax.print.attribute.HashPrintRequestAttributeSet;
+
 import org.jfree.chart.TestUtils;
 import org.junit.jupiter.api.Test;
 
+import se.malmin.chart.ChartRenderingInfo;
 import se.malmin.chart.JFreeChart;
 import se.malmin.chart.annotations.XYTextAnnotation;
 import se.malmin.chart.axis.AxisLocation;
 import se.malmin.chart.axis.NumberAxis;
+import se.malmin.chart.entity.EntityCollection;
 import se.malmin.chart.event.ChartChangeEvent;
 import se.malmin.chart.event.ChartChangeListener;
 import se.malmin.chart.plot.CombinedDomainXYPlot;
 import se.malmin.chart.plot.PlotOrientation;
+import se.malmin.chart.plot.PlotRenderingInfo;
 import se.malmin.chart.plot.XYPlot;
 import se.malmin.chart.renderer.xy.StandardXYItemRenderer;
 import se.malmin.chart.renderer.xy.XYItemRenderer;
+import se.malmin.chart.util.GraphicsUtils;
 import se.malmin.data.xy.XYDataset;
 import se.malmin.data.xy.XYSeries;
 import se.malmin.data.xy.XYSeriesCollection;
@@ -121,6 +134,11 @@ public class CombinedDomainXYPlotTest implements ChartChangeListener {
         CombinedDomainXYPlot plot2 = createPlot();
         assertTrue(plot1.equals(plot2));
         assertTrue(plot2.equals(plot1));
+
+        plot1.setParallelRendering(true);
+        assertFalse(plot1.equals(plot2));
+        plot2.setParallelRendering(true);
+        assertTrue(plot1.equals(plot2));
     }
 
     /**
@@ -171,6 +189,75 @@ public class CombinedDomainXYPlotTest implements ChartChangeListener {
         assertTrue(this.events.isEmpty());
     }
 
+    /**
+     * Drawing the subplots in parallel gives the same image, rendering info
+     * and entities as drawing them one at a time.
+     */
+    @Test
+    public void testParallelRendering() {
+        CombinedDomainXYPlot plot = createPlot();
+        JFreeChart chart = new JFreeChart(plot);
+        ChartRenderingInfo info1 = new ChartRenderingInfo();
+        BufferedImage image1 = chart.createBufferedImage(400, 300, info1);
+        plot.setParallelRendering(true);
+        ChartRenderingInfo info2 = new ChartRenderingInfo();
+        BufferedImage image2 = chart.createBufferedImage(400, 300, info2);
+
+        PlotRenderingInfo p1 = info1.getPlotInfo();
+        PlotRenderingInfo p2 = info2.getPlotInfo();
+        assertEquals(2, p2.getSubplotCount());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(p1.getSubplotInfo(i).getDataArea(),
+                    p2.getSubplotInfo(i).getDataArea());
+            assertSame(info2, p2.getSubplotInfo(i).getOwner());
+        }
+        EntityCollection e1 = info1.getEntityCollection();
+        EntityCollection e2 = info2.getEntityCollection();
+        assertEquals(e1.getEntityCount(), e2.getEntityCount());
+        for (int i = 0; i < e1.getEntityCount(); i++) {
+            assertEquals(e1.getEntity(i).getArea().getBounds2D(),
+                    e2.getEntity(i).getArea().getBounds2D());
+        }
+        Rectangle2D area = p1.getSubplotInfo(0).getDataArea();
+        int x = (int) area.getCenterX();
+        int y = (int) area.getCenterY();
+        assertEquals(image1.getRGB(x, y), image2.getRGB(x, y));
+    }
+
+    /**
+     * A graphics target that is not the JDK raster implementation (here the
+     * PostScript printing pipeline, as for an SVG or PDF target) receives the
+     * subplots as shapes, not images.
+     *
+     * @throws Exception if there is a problem printing.
+     */
+    @Test
+    public void testParallelRenderingVectorTarget() throws Exception {
+        CombinedDomainXYPlot plot = createPlot();
+        plot.setParallelRendering(true);
+        JFreeChart chart = new JFreeChart(plot);
+        DocFlavor flavor = DocFlavor.SERVICE_FORMATTED.PRINTABLE;
+        StreamPrintServiceFactory[] factories = StreamPrintServiceFactory
+                .lookupStreamPrintServiceFactories(flavor,
+                "application/postscript");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Printable printable = (g, pageFormat, pageIndex) -> {
+            if (pageIndex > 0) {
+                return Printable.NO_SUCH_PAGE;
+            }
+            assertFalse(GraphicsUtils.isRasterTarget((Graphics2D) g));
+            chart.draw((Graphics2D) g, new Rectangle2D.Double(0, 0, 400,
+                    300));
+            return Printable.PAGE_EXISTS;
+        };
+        factories[0].getPrintService(out).createPrintJob().print(
+                new SimpleDoc(printable, flavor, null),
+                new HashPrintRequestAttributeSet());
+        String ps = out.toString("ISO-8859-1");
+        assertTrue(ps.contains("%%EOF"));
+        assertFalse(ps.contains("colorimage"));
+    }
+
     /**
      * Creates a sample dataset.
      *
@@ -51,14 +51,19 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.GradientPaint;
 import java.awt.Stroke;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 
 import org.jfree.chart.TestUtils;
 import org.junit.jupiter.api.Test;
 
+import se.malmin.chart.ChartRenderingInfo;
 import se.malmin.chart.JFreeChart;
 import se.malmin.chart.axis.NumberAxis;
 import se.malmin.chart.axis.ValueAxis;
 import se.malmin.chart.plot.FastScatterPlot;
+import se.malmin.chart.renderer.DensityScaling;
+import se.malmin.chart.renderer.GrayPaintScale;
 
 /**
  * Tests for the {@link FastScatterPlot} class.
@@ -83,6 +88,16 @@ public class FastScatterPlotTest {
                 3.0f, 4.0f, Color.YELLOW));
         assertTrue(plot1.equals(plot2));
 
+        plot1.setDensityPaintScale(new GrayPaintScale(0.0, 2.0));
+        assertFalse(plot1.equals(plot2));
+        plot2.setDensityPaintScale(new GrayPaintScale(0.0, 2.0));
+        assertTrue(plot1.equals(plot2));
+
+        plot1.setDensityScaling(DensityScaling.EQUALIZED);
+        assertFalse(plot1.equals(plot2));
+        plot2.setDensityScaling(DensityScaling.EQUALIZED);
+        assertTrue(plot1.equals(plot2));
+
         plot1.setDomainGridlinesVisible(false);
         assertFalse(plot1.equals(plot2));
         plot2.setDomainGridlinesVisible(false);
@@ -223,6 +238,40 @@ public class FastScatterPlotTest {
         }
     }
 
+    /**
+     * In density mode the points are drawn in the data area with the colors
+     * from the paint scale.
+     */
+    @Test
+    public void testDrawDensity() {
+        float[][] data = new float[2][20000];
+        for (int i = 0; i < data[0].length; i++) {
+            data[0][i] = 1 + i % 100;
+            data[1][i] = 1 + i % 7;
+        }
+        FastScatterPlot plot = new FastScatterPlot(data, new NumberAxis("X"),
+                new NumberAxis("Y"));
+        plot.setDensityPaintScale(new GrayPaintScale(0.0, 1.0));
+        plot.setDomainGridlinesVisible(false);
+        plot.setRangeGridlinesVisible(false);
+        plot.setBackgroundPaint(Color.RED);
+        JFreeChart chart = new JFreeChart(plot);
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        BufferedImage image = chart.createBufferedImage(300, 200, info);
+        Rectangle2D area = info.getPlotInfo().getDataArea();
+        int gray = 0;
+        for (int x = (int) area.getMinX(); x < area.getMaxX(); x++) {
+            for (int y = (int) area.getMinY(); y < area.getMaxY(); y++) {
+                int rgb = image.getRGB(x, y);
+                if ((rgb & 0xFF) == ((rgb >> 16) & 0xFF)) {
+                    gray++;
+                }
+            }
+        }
+        // 100 x 7 distinct points, each in its own pixel
+        assertEquals(700, gray);
+    }
+
     /**
      * Populates the data array with random values.
      *
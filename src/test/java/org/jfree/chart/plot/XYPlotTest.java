@@ -60,6 +60,7 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import org.junit.jupiter.api.Test;
 
 import se.malmin.chart.ChartFactory;
+import se.malmin.chart.ChartHints;
 import se.malmin.chart.JFreeChart;
 import se.malmin.chart.LegendItem;
 import se.malmin.chart.LegendItemCollection;
@@ -68,6 +69,7 @@ import se.malmin.chart.axis.AxisLocation;
 import se.malmin.chart.axis.DateAxis;
 import se.malmin.chart.axis.NumberAxis;
 import se.malmin.chart.date.MonthConstants;
+import se.malmin.chart.event.ChartChangeEventType;
 import se.malmin.chart.event.MarkerChangeListener;
 import se.malmin.chart.labels.StandardXYToolTipGenerator;
 import se.malmin.chart.plot.IntervalMarker;
@@ -101,6 +103,7 @@ import java.awt.Stroke;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -431,6 +434,12 @@ public class XYPlotTest {
         plot2.setShadowGenerator(null);
         assertTrue(plot1.equals(plot2));
 
+        // lazyEntities
+        plot1.setLazyEntities(true);
+        assertFalse(plot1.equals(plot2));
+        plot2.setLazyEntities(true);
+        assertTrue(plot1.equals(plot2));
+
         LegendItemCollection lic1 = new LegendItemCollection();
         lic1.add(new LegendItem("XYZ", Color.RED));
         plot1.setFixedLegendItems(lic1);
@@ -1436,4 +1445,86 @@ public class XYPlotTest {
         assertEquals(new Range(1.0, 6.0), plot.getDataRange(xAxis));
         assertEquals(new Range(2.0, 10.0), plot.getDataRange(yAxis)); // only y-values for items in the x-range        
     }    
+
+    /**
+     * Changes to the crosshairs and foreground markers are reported as
+     * foreground updates, other changes are not.
+     */
+    @Test
+    public void testForegroundChangeEvents() {
+        XYPlot plot = new XYPlot();
+        List<ChartChangeEventType> types = new ArrayList<>();
+        plot.addChangeListener(event -> types.add(event.getType()));
+        plot.setDomainCrosshairVisible(true);
+        plot.setDomainCrosshairValue(1.0);
+        ValueMarker fg = new ValueMarker(2.0);
+        plot.addRangeMarker(fg, Layer.FOREGROUND);
+        fg.setValue(3.0);
+        assertEquals(Arrays.asList(ChartChangeEventType.FOREGROUND_UPDATED,
+                ChartChangeEventType.FOREGROUND_UPDATED,
+                ChartChangeEventType.FOREGROUND_UPDATED,
+                ChartChangeEventType.FOREGROUND_UPDATED), types);
+
+        types.clear();
+        ValueMarker bg = new ValueMarker(2.0);
+        plot.addRangeMarker(bg, Layer.BACKGROUND);
+        bg.setValue(3.0);
+        plot.setDomainCrosshairLockedOnData(false);
+        assertEquals(Arrays.asList(ChartChangeEventType.GENERAL,
+                ChartChangeEventType.GENERAL, ChartChangeEventType.GENERAL),
+                types);
+    }
+
+    /**
+     * Drawing the background and foreground layers separately and combining
+     * them gives the same result as drawing the complete chart.
+     */
+    @Test
+    public void testDrawLayers() {
+        XYSeries s = new XYSeries("S");
+        for (int i = 0; i < 100; i++) {
+            s.add(i, Math.sin(i / 10.0));
+        }
+        JFreeChart chart = ChartFactory.createXYLineChart("Title", "X", "Y",
+                new XYSeriesCollection(s));
+        XYPlot plot = (XYPlot) chart.getPlot();
+        plot.setDomainCrosshairVisible(true);
+        plot.setDomainCrosshairValue(30.0);
+        plot.addDomainMarker(new ValueMarker(60.0));
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 400, 300);
+
+        BufferedImage full = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = full.createGraphics();
+        chart.draw(g2, area);
+        g2.dispose();
+
+        BufferedImage layers = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        g2 = layers.createGraphics();
+        g2.setRenderingHint(ChartHints.KEY_DRAW_LAYER, Layer.BACKGROUND);
+        chart.draw(g2, area);
+        g2.dispose();
+        BufferedImage foreground = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        g2 = foreground.createGraphics();
+        g2.setRenderingHint(ChartHints.KEY_DRAW_LAYER, Layer.FOREGROUND);
+        chart.draw(g2, area);
+        g2.dispose();
+        g2 = layers.createGraphics();
+        g2.drawImage(foreground, 0, 0, null);
+        g2.dispose();
+
+        for (int y = 0; y < 300; y++) {
+            for (int x = 0; x < 400; x++) {
+                int c1 = full.getRGB(x, y);
+                int c2 = layers.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    // allow for rounding in the alpha compositing
+                    assertTrue(Math.abs(((c1 >> shift) & 0xFF)
+                            - ((c2 >> shift) & 0xFF)) <= 1);
+                }
+            }
+        }
+    }
 }
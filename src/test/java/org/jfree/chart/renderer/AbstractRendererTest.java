@@ -338,6 +338,12 @@ public class AbstractRendererTest {
         r2.setDefaultLegendTextPaint(new GradientPaint(1.0f, 2.0f, Color.BLUE,
                 3.0f, 4.0f, Color.RED));
         assertTrue(r1.equals(r2));
+
+        // markerStamping
+        r1.setMarkerStamping(true);
+        assertFalse(r1.equals(r2));
+        r2.setMarkerStamping(true);
+        assertTrue(r1.equals(r2));
     }
 
     @Test
@@ -0,0 +1,162 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ----------------------
+ * DensityRasterTest.java
+ * ----------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.axis.AxisTransform;
+import se.malmin.chart.renderer.DensityRaster;
+import se.malmin.chart.renderer.DensityScaling;
+import se.malmin.chart.renderer.GrayPaintScale;
+import se.malmin.data.xy.DefaultXYDataset;
+
+/**
+ * Tests for the {@link DensityRaster} class.
+ */
+public class DensityRasterTest {
+
+    /**
+     * Points are counted in the cell for the pixel that contains them, and
+     * points outside the area are ignored.
+     */
+    @Test
+    public void testAdd() {
+        DensityRaster raster = new DensityRaster(
+                new Rectangle2D.Double(10.5, 20.0, 9.0, 5.0));
+        assertEquals(10, raster.getX());
+        assertEquals(20, raster.getY());
+        assertEquals(10, raster.getWidth());
+        assertEquals(5, raster.getHeight());
+        raster.add(10.0, 20.0);
+        raster.add(10.9, 20.9);
+        raster.add(19.5, 24.5);
+        raster.add(20.0, 22.0);
+        raster.add(9.9, 22.0);
+        raster.add(Double.NaN, 22.0);
+        assertEquals(2, raster.getCount(0, 0));
+        assertEquals(1, raster.getCount(9, 4));
+        assertEquals(2, raster.getMaximumCount());
+        raster.clear();
+        assertEquals(0, raster.getMaximumCount());
+    }
+
+    /**
+     * Adding arrays and datasets gives the same counts as adding the
+     * transformed points one by one (large enough to use several tasks
+     * when there is more than one processor).
+     */
+    @Test
+    public void testAddArrays() {
+        int n = 1200000;
+        Random random = new Random(5L);
+        float[] x = new float[n];
+        float[] y = new float[n];
+        double[][] data = new double[2][n];
+        for (int i = 0; i < n; i++) {
+            x[i] = (float) random.nextGaussian();
+            y[i] = (float) random.nextGaussian();
+            data[0][i] = x[i];
+            data[1][i] = y[i];
+        }
+        AxisTransform xt = AxisTransform.linear(-3.0, 3.0, 0.0, 200.0);
+        AxisTransform yt = AxisTransform.linear(-3.0, 3.0, 100.0, -100.0);
+        Rectangle2D area = new Rectangle2D.Double(0.0, 0.0, 200.0, 100.0);
+        DensityRaster r1 = new DensityRaster(area);
+        DensityRaster r2 = new DensityRaster(area);
+        DensityRaster r3 = new DensityRaster(area);
+        for (int i = 0; i < n; i++) {
+            r1.add(xt.valueToJava2D(x[i]), yt.valueToJava2D(y[i]));
+        }
+        r2.add(x, y, xt, yt, false);
+        DefaultXYDataset dataset = new DefaultXYDataset();
+        dataset.addSeries("S", data);
+        r3.add(dataset, 0, xt, yt, false);
+        for (int row = 0; row < 100; row++) {
+            for (int col = 0; col < 200; col++) {
+                assertEquals(r1.getCount(col, row), r2.getCount(col, row));
+                assertEquals(r1.getCount(col, row), r3.getCount(col, row));
+            }
+        }
+        assertTrue(r1.getMaximumCount() > 100);
+        assertEquals(r1.getMaximumCount(), r2.getMaximumCount());
+    }
+
+    /**
+     * Empty cells are transparent, the largest count gets the upper bound
+     * of the scale and the smallest count gets the lower bound (except with
+     * equalization).
+     */
+    @Test
+    public void testCreateImage() {
+        DensityRaster raster = new DensityRaster(
+                new Rectangle2D.Double(0.0, 0.0, 4.0, 1.0));
+        raster.add(0.5, 0.5);
+        for (int i = 0; i < 10; i++) {
+            raster.add(1.5, 0.5);
+        }
+        for (int i = 0; i < 100; i++) {
+            raster.add(2.5, 0.5);
+        }
+        GrayPaintScale scale = new GrayPaintScale();
+
+        BufferedImage image = raster.createImage(scale, DensityScaling.LINEAR);
+        assertEquals(1, image.getHeight());
+        assertEquals(0xFF020202, image.getRGB(0, 0));
+        assertEquals(0xFF191919, image.getRGB(1, 0));
+        assertEquals(0xFFFFFFFF, image.getRGB(2, 0));
+        assertEquals(0, image.getRGB(3, 0));
+
+        image = raster.createImage(scale, DensityScaling.LOGARITHMIC);
+        assertEquals(0xFF000000, image.getRGB(0, 0));
+        assertEquals(0xFF7F7F7F, image.getRGB(1, 0));
+        assertEquals(0xFFFFFFFF, image.getRGB(2, 0));
+
+        image = raster.createImage(scale, DensityScaling.EQUALIZED);
+        assertEquals(0xFF555555, image.getRGB(0, 0));
+        assertEquals(0xFFAAAAAA, image.getRGB(1, 0));
+        assertEquals(0xFFFFFFFF, image.getRGB(2, 0));
+        assertEquals(0, image.getRGB(3, 0));
+    }
+
+}
@@ -0,0 +1,188 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * MarkerSpriteCacheTest.java
+ * --------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.JFreeChart;
+import se.malmin.chart.axis.NumberAxis;
+import se.malmin.chart.plot.XYPlot;
+import se.malmin.chart.renderer.MarkerSpriteCache;
+import se.malmin.chart.renderer.xy.XYLineAndShapeRenderer;
+import se.malmin.chart.util.ShapeUtils;
+import se.malmin.data.xy.XYSeries;
+import se.malmin.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link MarkerSpriteCache} class.
+ */
+public class MarkerSpriteCacheTest {
+
+    private static int[] pixels(BufferedImage image) {
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Sprites are only used with a transform that translates and scales.
+     */
+    @Test
+    public void testIsSupported() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        assertTrue(MarkerSpriteCache.isSupported(g2));
+        g2.scale(2.0, 2.0);
+        g2.translate(0.5, 0.5);
+        assertTrue(MarkerSpriteCache.isSupported(g2));
+        g2.rotate(0.1);
+        assertFalse(MarkerSpriteCache.isSupported(g2));
+        g2.dispose();
+    }
+
+    /**
+     * Without antialiasing, a marker at whole pixels is drawn exactly as the
+     * translated shape.
+     */
+    @Test
+    public void testSameAsShape() {
+        Shape shape = new Rectangle2D.Double(-3.0, -3.0, 6.0, 6.0);
+        BasicStroke stroke = new BasicStroke(1.0f);
+        BufferedImage i1 = new BufferedImage(60, 60,
+                BufferedImage.TYPE_INT_ARGB);
+        BufferedImage i2 = new BufferedImage(60, 60,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g1 = i1.createGraphics();
+        Graphics2D g2 = i2.createGraphics();
+        g1.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_OFF);
+        MarkerSpriteCache sprites = new MarkerSpriteCache(g1, 4);
+        for (int i = 0; i < 5; i++) {
+            double x = 5 + i * 11;
+            double y = 50 - i * 9;
+            assertTrue(sprites.draw(g1, shape, x, y, Color.RED, Color.BLUE,
+                    stroke));
+            Shape s = ShapeUtils.createTranslatedShape(shape, x, y);
+            g2.setPaint(Color.RED);
+            g2.fill(s);
+            g2.setPaint(Color.BLUE);
+            g2.setStroke(stroke);
+            g2.draw(s);
+        }
+        g1.dispose();
+        g2.dispose();
+        assertArrayEquals(pixels(i2), pixels(i1));
+    }
+
+    /**
+     * Gradient paints and large shapes are left to the caller.
+     */
+    @Test
+    public void testNotStamped() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        MarkerSpriteCache sprites = new MarkerSpriteCache(g2, 1);
+        Shape shape = new Ellipse2D.Double(-2.0, -2.0, 4.0, 4.0);
+        assertFalse(sprites.draw(g2, shape, 5.0, 5.0, new GradientPaint(
+                0f, 0f, Color.RED, 1f, 1f, Color.BLUE), null, null));
+        assertFalse(sprites.draw(g2, new Rectangle2D.Double(0, 0, 100, 1),
+                5.0, 5.0, Color.RED, null, null));
+        assertTrue(sprites.draw(g2, shape, 5.0, 5.0, Color.RED, null, null));
+        g2.dispose();
+    }
+
+    private static BufferedImage drawScatter(boolean stamping) {
+        Random random = new Random(17L);
+        XYSeries series = new XYSeries("S");
+        for (int i = 0; i < 2000; i++) {
+            series.add(random.nextGaussian(), random.nextGaussian());
+        }
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(false,
+                true);
+        renderer.setMarkerStamping(stamping);
+        XYPlot plot = new XYPlot(new XYSeriesCollection(series),
+                new NumberAxis("X"), new NumberAxis("Y"), renderer);
+        JFreeChart chart = new JFreeChart(null, null, plot, false);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300));
+        g2.dispose();
+        return image;
+    }
+
+    /**
+     * A stamped scatter plot is (almost) the same as the vector version, the
+     * markers move by at most an eighth of a pixel.
+     */
+    @Test
+    public void testScatter() {
+        int[] p1 = pixels(drawScatter(false));
+        int[] p2 = pixels(drawScatter(true));
+        int different = 0;
+        for (int i = 0; i < p1.length; i++) {
+            for (int shift = 0; shift < 32; shift += 8) {
+                int c1 = (p1[i] >>> shift) & 0xFF;
+                int c2 = (p2[i] >>> shift) & 0xFF;
+                if (Math.abs(c1 - c2) > 64) {
+                    different++;
+                    break;
+                }
+            }
+        }
+        assertTrue(different < p1.length / 100, "Different: " + different);
+    }
+
+}
@@ -0,0 +1,233 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------
+ * BulkXYItemRendererTest.java
+ * ---------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.ChartRenderingInfo;
+import se.malmin.chart.JFreeChart;
+import se.malmin.chart.axis.DateAxis;
+import se.malmin.chart.axis.LogAxis;
+import se.malmin.chart.axis.NumberAxis;
+import se.malmin.chart.axis.ValueAxis;
+import se.malmin.chart.entity.ChartEntity;
+import se.malmin.chart.labels.StandardXYToolTipGenerator;
+import se.malmin.chart.plot.PlotOrientation;
+import se.malmin.chart.plot.XYPlot;
+import se.malmin.chart.renderer.xy.BulkXYItemRenderer;
+import se.malmin.chart.renderer.xy.XYAreaRenderer;
+import se.malmin.chart.renderer.xy.XYDotRenderer;
+import se.malmin.chart.renderer.xy.XYItemRenderer;
+import se.malmin.chart.renderer.xy.XYLineAndShapeRenderer;
+import se.malmin.chart.renderer.xy.XYShapeRenderer;
+import se.malmin.chart.renderer.xy.XYStepRenderer;
+import se.malmin.data.xy.XYSeries;
+import se.malmin.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link BulkXYItemRenderer} implementations.  Each renderer
+ * is compared with an (otherwise empty) anonymous subclass, which draws
+ * item by item.
+ */
+public class BulkXYItemRendererTest {
+
+    private static XYSeriesCollection createDataset() {
+        Random random = new Random(7L);
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        for (int s = 0; s < 2; s++) {
+            XYSeries series = new XYSeries("S" + s);
+            for (int i = 0; i < 400; i++) {
+                Double y = (i % 37 == 5) ? null
+                        : Double.valueOf(1.0 + random.nextDouble() * 100.0);
+                series.add(1609459200000.0 + i * 60000.0, y);
+            }
+            dataset.addSeries(series);
+        }
+        return dataset;
+    }
+
+    /**
+     * Draws a plot with the specified renderer and axes.
+     *
+     * @param renderer  the renderer.
+     * @param xAxis  the domain axis.
+     * @param yAxis  the range axis.
+     * @param orientation  the orientation.
+     * @param entities  the list that the entity descriptions are added to.
+     *
+     * @return The pixels.
+     */
+    private static int[] draw(XYItemRenderer renderer, ValueAxis xAxis,
+            ValueAxis yAxis, PlotOrientation orientation,
+            List<String> entities) {
+        XYSeriesCollection dataset = createDataset();
+        if (xAxis instanceof NumberAxis) {
+            xAxis.setRange(1609459200000.0 + 100 * 60000.0,
+                    1609459200000.0 + 300 * 60000.0);
+        }
+        else {
+            xAxis.setRange(1609459200000.0 + 50 * 60000.0,
+                    1609459200000.0 + 200 * 60000.0);
+        }
+        renderer.setDefaultToolTipGenerator(new StandardXYToolTipGenerator());
+        XYPlot plot = new XYPlot(dataset, xAxis, yAxis, renderer);
+        plot.setOrientation(orientation);
+        JFreeChart chart = new JFreeChart(null, null, plot, false);
+        BufferedImage image = new BufferedImage(500, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 500, 300), info);
+        g2.dispose();
+        for (Object entity : info.getEntityCollection().getEntities()) {
+            ChartEntity e = (ChartEntity) entity;
+            entities.add(e.getShapeCoords() + " " + e.getToolTipText());
+        }
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    /**
+     * Checks that the bulk renderer and the item renderer give the same
+     * pixels and entities, for both orientations and several axis types.
+     *
+     * @param bulk  the bulk renderer.
+     * @param items  a renderer with the same settings that draws items.
+     */
+    private static void checkSameOutput(XYItemRenderer bulk,
+            XYItemRenderer items) {
+        for (PlotOrientation orientation : new PlotOrientation[] {
+                PlotOrientation.VERTICAL, PlotOrientation.HORIZONTAL}) {
+            for (int axes = 0; axes < 3; axes++) {
+                ValueAxis[] a1 = createAxes(axes);
+                ValueAxis[] a2 = createAxes(axes);
+                List<String> e1 = new ArrayList<>();
+                List<String> e2 = new ArrayList<>();
+                int[] p1 = draw(bulk, a1[0], a1[1], orientation, e1);
+                int[] p2 = draw(items, a2[0], a2[1], orientation, e2);
+                assertArrayEquals(p2, p1);
+                assertTrue(e1.size() > 2);
+                assertEquals(e2, e1);
+            }
+        }
+    }
+
+    private static ValueAxis[] createAxes(int type) {
+        switch (type) {
+            case 0:
+                return new ValueAxis[] {new NumberAxis("X"),
+                        new NumberAxis("Y")};
+            case 1:
+                NumberAxis y = new NumberAxis("Y");
+                y.setInverted(true);
+                return new ValueAxis[] {new DateAxis("X"), y};
+            default:
+                return new ValueAxis[] {new DateAxis("X"), new LogAxis("Y")};
+        }
+    }
+
+    /**
+     * Only the base classes draw whole series.
+     */
+    @Test
+    public void testCanDrawSeries() {
+        XYLineAndShapeRenderer r1 = new XYLineAndShapeRenderer();
+        assertTrue(r1.canDrawSeries(null, null, null, 0, 0));
+        XYLineAndShapeRenderer r2 = new XYLineAndShapeRenderer() {};
+        assertFalse(r2.canDrawSeries(null, null, null, 0, 0));
+        assertFalse(new XYStepRenderer().canDrawSeries(null, null, null, 0,
+                0));
+    }
+
+    /**
+     * The line and shape renderer gives the same output in both modes.
+     */
+    @Test
+    public void testXYLineAndShapeRenderer() {
+        checkSameOutput(new XYLineAndShapeRenderer(),
+                new XYLineAndShapeRenderer() {});
+        XYLineAndShapeRenderer r1 = new XYLineAndShapeRenderer();
+        r1.setDrawSeriesLineAsPath(true);
+        XYLineAndShapeRenderer r2 = new XYLineAndShapeRenderer() {};
+        r2.setDrawSeriesLineAsPath(true);
+        checkSameOutput(r1, r2);
+    }
+
+    /**
+     * The dot, shape and area renderers give the same output in both modes.
+     */
+    @Test
+    public void testOtherRenderers() {
+        XYDotRenderer d1 = new XYDotRenderer();
+        d1.setDotWidth(3);
+        XYDotRenderer d2 = new XYDotRenderer() {};
+        d2.setDotWidth(3);
+        checkSameOutput(d1, d2);
+        XYLineAndShapeRenderer extra = new XYLineAndShapeRenderer();
+        extra.setSeriesShapesVisible(0, false);
+        checkSameOutput(extra, new XYLineAndShapeRenderer() {
+            {
+                setSeriesShapesVisible(0, false);
+            }
+        });
+
+        XYShapeRenderer s1 = new XYShapeRenderer();
+        s1.setGuideLinesVisible(true);
+        XYShapeRenderer s2 = new XYShapeRenderer() {};
+        s2.setGuideLinesVisible(true);
+        checkSameOutput(s1, s2);
+        checkSameOutput(new XYShapeRenderer(), new XYShapeRenderer() {});
+
+        checkSameOutput(new XYAreaRenderer(XYAreaRenderer.AREA_AND_SHAPES),
+                new XYAreaRenderer(XYAreaRenderer.AREA_AND_SHAPES) {});
+        checkSameOutput(new XYAreaRenderer(XYAreaRenderer.SHAPES_AND_LINES),
+                new XYAreaRenderer(XYAreaRenderer.SHAPES_AND_LINES) {});
+    }
+
+}
@@ -0,0 +1,168 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * XYDensityRendererTest.java
+ * --------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.jfree.chart.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.ChartRenderingInfo;
+import se.malmin.chart.JFreeChart;
+import se.malmin.chart.axis.NumberAxis;
+import se.malmin.chart.entity.XYItemEntity;
+import se.malmin.chart.plot.PlotOrientation;
+import se.malmin.chart.plot.XYPlot;
+import se.malmin.chart.renderer.DensityScaling;
+import se.malmin.chart.renderer.GrayPaintScale;
+import se.malmin.chart.renderer.xy.XYDensityRenderer;
+import se.malmin.chart.util.PublicCloneable;
+import se.malmin.data.xy.DefaultXYDataset;
+
+/**
+ * Tests for the {@link XYDensityRenderer} class.
+ */
+public class XYDensityRendererTest {
+
+    /**
+     * Check that the equals() method distinguishes all fields.
+     */
+    @Test
+    public void testEquals() {
+        XYDensityRenderer r1 = new XYDensityRenderer();
+        XYDensityRenderer r2 = new XYDensityRenderer();
+        assertEquals(r1, r2);
+
+        r1.setPaintScale(new GrayPaintScale(0.0, 3.0));
+        assertFalse(r1.equals(r2));
+        r2.setPaintScale(new GrayPaintScale(0.0, 3.0));
+        assertTrue(r1.equals(r2));
+
+        r1.setScaling(DensityScaling.EQUALIZED);
+        assertFalse(r1.equals(r2));
+        r2.setScaling(DensityScaling.EQUALIZED);
+        assertTrue(r1.equals(r2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        XYDensityRenderer r1 = new XYDensityRenderer();
+        XYDensityRenderer r2 = (XYDensityRenderer) r1.clone();
+        assertNotSame(r1, r2);
+        assertEquals(r1, r2);
+        assertNotSame(r1.getPaintScale(), r2.getPaintScale());
+        assertTrue(r1 instanceof PublicCloneable);
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        XYDensityRenderer r1 = new XYDensityRenderer();
+        r1.setScaling(DensityScaling.LINEAR);
+        XYDensityRenderer r2 = TestUtils.serialised(r1);
+        assertEquals(r1, r2);
+    }
+
+    /**
+     * Draws all the visible series in both orientations.  The data is
+     * symmetric, so both orientations give the same image.
+     */
+    @Test
+    public void testDraw() {
+        DefaultXYDataset dataset = new DefaultXYDataset();
+        double[][] s1 = new double[2][400];
+        double[][] s2 = new double[2][400];
+        for (int i = 0; i < 400; i++) {
+            s1[0][i] = 1 + i % 20;
+            s1[1][i] = 1 + i / 20;
+            s2[0][i] = 1 + i / 20;
+            s2[1][i] = 1 + i % 20;
+        }
+        dataset.addSeries("S1", s1);
+        dataset.addSeries("S2", s2);
+        XYDensityRenderer renderer = new XYDensityRenderer();
+        renderer.setPaintScale(new GrayPaintScale(0.0, 1.0));
+        renderer.setScaling(DensityScaling.LINEAR);
+        XYPlot plot = new XYPlot(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), renderer);
+        plot.setDomainGridlinesVisible(false);
+        plot.setRangeGridlinesVisible(false);
+        plot.setBackgroundPaint(Color.RED);
+        JFreeChart chart = new JFreeChart(null, null, plot, false);
+
+        assertEquals(400, countGray(chart));
+        renderer.setSeriesVisible(1, false);
+        assertEquals(400, countGray(chart));
+        plot.setOrientation(PlotOrientation.HORIZONTAL);
+        assertEquals(400, countGray(chart));
+    }
+
+    /**
+     * Draws the chart and returns the number of white pixels (cells with the
+     * maximum count) in the data area.
+     */
+    private static int countGray(JFreeChart chart) {
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        BufferedImage image = chart.createBufferedImage(300, 300, info);
+        for (Object entity : info.getEntityCollection().getEntities()) {
+            assertFalse(entity instanceof XYItemEntity);
+        }
+        Rectangle2D area = info.getPlotInfo().getDataArea();
+        int result = 0;
+        for (int x = (int) area.getMinX(); x < area.getMaxX(); x++) {
+            for (int y = (int) area.getMinY(); y < area.getMaxY(); y++) {
+                if (image.getRGB(x, y) == 0xFFFFFFFF) {
+                    result++;
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,342 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------
+ * XYItemEntityResolverTest.java
+ * -----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.renderer.xy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.ChartRenderingInfo;
+import se.malmin.chart.JFreeChart;
+import se.malmin.chart.axis.NumberAxis;
+import se.malmin.chart.entity.ChartEntity;
+import se.malmin.chart.entity.EntityCollection;
+import se.malmin.chart.entity.StandardEntityCollection;
+import se.malmin.chart.entity.XYItemEntity;
+import se.malmin.chart.imagemap.ImageMapUtils;
+import se.malmin.chart.labels.StandardXYToolTipGenerator;
+import se.malmin.chart.plot.PlotOrientation;
+import se.malmin.chart.plot.PlotRenderingInfo;
+import se.malmin.chart.plot.XYPlot;
+import se.malmin.chart.renderer.xy.XYItemEntityResolver;
+import se.malmin.chart.renderer.xy.XYItemRendererState;
+import se.malmin.chart.renderer.xy.XYLineAndShapeRenderer;
+import se.malmin.data.xy.XYDataset;
+import se.malmin.data.xy.XYSeries;
+import se.malmin.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link XYItemEntityResolver} class.
+ */
+public class XYItemEntityResolverTest {
+
+    /**
+     * Creates a dataset with random values.
+     *
+     * @param sorted  create series that are sorted by x-value?
+     *
+     * @return The dataset.
+     */
+    private static XYSeriesCollection createDataset(boolean sorted) {
+        Random random = new Random(11L);
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        for (int s = 0; s < 2; s++) {
+            XYSeries series = new XYSeries("S" + s, sorted);
+            for (int i = 0; i < 150; i++) {
+                series.add(random.nextDouble() * 1000.0,
+                        random.nextDouble() * 100.0);
+            }
+            dataset.addSeries(series);
+        }
+        return dataset;
+    }
+
+    /**
+     * Draws a chart for the dataset and returns the rendering info.
+     *
+     * @param dataset  the dataset.
+     * @param orientation  the plot orientation.
+     * @param inverted  invert the domain axis?
+     * @param lazy  use lazy entities?
+     *
+     * @return The rendering info.
+     */
+    private static ChartRenderingInfo draw(XYSeriesCollection dataset,
+            PlotOrientation orientation, boolean inverted, boolean lazy) {
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(false,
+                true);
+        renderer.setDefaultToolTipGenerator(new StandardXYToolTipGenerator());
+        NumberAxis xAxis = new NumberAxis("X");
+        xAxis.setInverted(inverted);
+        XYPlot plot = new XYPlot(dataset, xAxis, new NumberAxis("Y"),
+                renderer);
+        plot.setOrientation(orientation);
+        plot.setLazyEntities(lazy);
+        JFreeChart chart = new JFreeChart(null, null, plot, false);
+        BufferedImage image = new BufferedImage(800, 600,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 800, 600), info);
+        g2.dispose();
+        return info;
+    }
+
+    /**
+     * Counts the item entities in a collection.
+     *
+     * @param entities  the entities.
+     *
+     * @return The count.
+     */
+    private static int countItemEntities(Iterable<?> entities) {
+        int count = 0;
+        for (Object entity : entities) {
+            if (entity instanceof XYItemEntity) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Looking up the center of each eager entity in the lazy entity
+     * collection gives an entity for the same item with the same tooltip.
+     */
+    private static void checkSameItems(boolean sorted,
+            PlotOrientation orientation, boolean inverted) {
+        XYSeriesCollection dataset = createDataset(sorted);
+        EntityCollection eager = draw(dataset, orientation, inverted, false)
+                .getEntityCollection();
+        EntityCollection lazy = draw(dataset, orientation, inverted, true)
+                .getEntityCollection();
+        assertEquals(0, countItemEntities(lazy.getEntities()));
+        int count = 0;
+        for (Object obj : eager.getEntities()) {
+            if (!(obj instanceof XYItemEntity)) {
+                continue;
+            }
+            XYItemEntity expected = (XYItemEntity) obj;
+            Rectangle2D b = expected.getArea().getBounds2D();
+            ChartEntity entity = lazy.getEntity(b.getCenterX(),
+                    b.getCenterY());
+            assertTrue(entity instanceof XYItemEntity);
+            XYItemEntity actual = (XYItemEntity) entity;
+            assertEquals(expected.getSeriesIndex(), actual.getSeriesIndex());
+            assertEquals(expected.getItem(), actual.getItem());
+            assertEquals(expected.getToolTipText(), actual.getToolTipText());
+            count++;
+        }
+        assertEquals(300, count);
+    }
+
+    /**
+     * The lazy entities match the entities created by the renderer, for
+     * sorted and unsorted data and for both orientations.
+     */
+    @Test
+    public void testSameItems() {
+        checkSameItems(true, PlotOrientation.VERTICAL, false);
+        checkSameItems(true, PlotOrientation.HORIZONTAL, false);
+        checkSameItems(true, PlotOrientation.VERTICAL, true);
+        checkSameItems(false, PlotOrientation.VERTICAL, false);
+        checkSameItems(false, PlotOrientation.HORIZONTAL, true);
+    }
+
+    /**
+     * A point in the data area that is away from every item resolves to the
+     * plot entity.
+     */
+    @Test
+    public void testNoItem() {
+        XYSeriesCollection dataset = new XYSeriesCollection();
+        XYSeries series = new XYSeries("S1");
+        series.add(1.0, 1.0);
+        series.add(2.0, 2.0);
+        dataset.addSeries(series);
+        ChartRenderingInfo info = draw(dataset, PlotOrientation.VERTICAL,
+                false, true);
+        Rectangle2D dataArea = info.getPlotInfo().getDataArea();
+        ChartEntity entity = info.getEntityCollection().getEntity(
+                dataArea.getCenterX(), dataArea.getCenterY());
+        assertNotNull(entity);
+        assertTrue(!(entity instanceof XYItemEntity));
+        assertTrue(!(entity instanceof XYItemEntityResolver));
+    }
+
+    /**
+     * Rectangle queries and image maps create the item entities.
+     */
+    @Test
+    public void testCreateEntities() {
+        XYSeriesCollection dataset = createDataset(false);
+        ChartRenderingInfo eager = draw(dataset, PlotOrientation.VERTICAL,
+                false, false);
+        ChartRenderingInfo lazy = draw(dataset, PlotOrientation.VERTICAL,
+                false, true);
+        Rectangle2D dataArea = lazy.getPlotInfo().getDataArea();
+        StandardEntityCollection entities
+                = (StandardEntityCollection) lazy.getEntityCollection();
+        List<ChartEntity> selected = entities.getEntities(dataArea);
+        assertEquals(300, countItemEntities(selected));
+
+        String eagerMap = ImageMapUtils.getImageMap("chart", eager);
+        String lazyMap = ImageMapUtils.getImageMap("chart", lazy);
+        assertEquals(eagerMap.split("<area ").length,
+                lazyMap.split("<area ").length);
+        assertTrue(lazyMap.contains("S1: ("));
+    }
+
+    /**
+     * With lazy entities the renderer still receives the plot rendering
+     * info, but its state does not provide the entity collection.
+     */
+    @Test
+    public void testRendererGetsInfo() {
+        List<XYItemRendererState> states = new ArrayList<>();
+        XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer() {
+            @Override
+            public XYItemRendererState initialise(Graphics2D g2,
+                    Rectangle2D dataArea, XYPlot plot, XYDataset data,
+                    PlotRenderingInfo info) {
+                XYItemRendererState state = super.initialise(g2, dataArea,
+                        plot, data, info);
+                states.add(state);
+                return state;
+            }
+        };
+        XYPlot plot = new XYPlot(createDataset(true), new NumberAxis("X"),
+                new NumberAxis("Y"), renderer);
+        plot.setLazyEntities(true);
+        JFreeChart chart = new JFreeChart(null, null, plot, false);
+        BufferedImage image = new BufferedImage(400, 300,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        ChartRenderingInfo info = new ChartRenderingInfo();
+        chart.draw(g2, new Rectangle2D.Double(0, 0, 400, 300), info);
+        g2.dispose();
+        assertEquals(1, states.size());
+        assertSame(info.getPlotInfo(), states.get(0).getInfo());
+        assertFalse(states.get(0).getCreateEntities());
+        assertNull(states.get(0).getEntityCollection());
+        assertEquals(0, countItemEntities(info.getEntityCollection()
+                .getEntities()));
+    }
+
+    /**
+     * Creating the entities for a rectangle gives the same entities as
+     * creating all the entities and keeping those that intersect the
+     * rectangle.
+     */
+    @Test
+    public void testCreateEntitiesForArea() {
+        boolean[] sorted = {true, true, false, false};
+        PlotOrientation[] orientations = {PlotOrientation.VERTICAL,
+                PlotOrientation.HORIZONTAL, PlotOrientation.VERTICAL,
+                PlotOrientation.HORIZONTAL};
+        boolean[] inverted = {false, true, false, true};
+        Random random = new Random(5L);
+        for (int i = 0; i < sorted.length; i++) {
+            ChartRenderingInfo info = draw(createDataset(sorted[i]),
+                    orientations[i], inverted[i], true);
+            XYItemEntityResolver resolver = null;
+            for (Object entity : info.getEntityCollection().getEntities()) {
+                if (entity instanceof XYItemEntityResolver) {
+                    resolver = (XYItemEntityResolver) entity;
+                }
+            }
+            assertNotNull(resolver);
+            List<ChartEntity> all = resolver.createEntities();
+            for (int k = 0; k < 20; k++) {
+                Rectangle2D area = new Rectangle2D.Double(
+                        random.nextDouble() * 800.0,
+                        random.nextDouble() * 600.0,
+                        random.nextDouble() * 200.0,
+                        random.nextDouble() * 200.0);
+                List<String> expected = new ArrayList<>();
+                for (ChartEntity entity : all) {
+                    if (entity.getArea().intersects(area)) {
+                        expected.add(key(entity));
+                    }
+                }
+                List<String> actual = new ArrayList<>();
+                for (ChartEntity entity : resolver.createEntities(area)) {
+                    actual.add(key(entity));
+                }
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    private static String key(ChartEntity entity) {
+        XYItemEntity e = (XYItemEntity) entity;
+        return e.getSeriesIndex() + ":" + e.getItem();
+    }
+
+    /**
+     * A resolver that has been serialized no longer refers to the dataset, so
+     * it does not resolve any entities.
+     */
+    @Test
+    public void testSerialization() {
+        XYSeriesCollection dataset = createDataset(true);
+        XYPlot plot = new XYPlot(dataset, new NumberAxis("X"),
+                new NumberAxis("Y"), new XYLineAndShapeRenderer());
+        Rectangle2D area = new Rectangle2D.Double(0, 0, 100, 100);
+        XYItemEntityResolver r1 = new XYItemEntityResolver(area,
+                (XYLineAndShapeRenderer) plot.getRenderer(), plot, dataset,
+                plot.getDomainAxis(), plot.getRangeAxis());
+        XYItemEntityResolver r2 = TestUtils.serialised(r1);
+        assertNull(r2.getEntity(50, 50));
+        assertTrue(r2.createEntities().isEmpty());
+        assertTrue(r2.createEntities(area).isEmpty());
+    }
+
+}
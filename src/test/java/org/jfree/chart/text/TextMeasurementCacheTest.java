@@ -0,0 +1,160 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -----------------------------
+ * TextMeasurementCacheTest.java
+ * -----------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.text;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.text.G2TextMeasurer;
+import se.malmin.chart.text.TextBlock;
+import se.malmin.chart.text.TextLine;
+import se.malmin.chart.text.TextMeasurementCache;
+import se.malmin.chart.text.TextUtils;
+
+/**
+ * Tests for the {@link TextMeasurementCache} class.
+ */
+public class TextMeasurementCacheTest {
+
+    private Graphics2D g2;
+
+    @BeforeEach
+    public void setUp() {
+        BufferedImage image = new BufferedImage(10, 10,
+                BufferedImage.TYPE_INT_ARGB);
+        this.g2 = image.createGraphics();
+        TextUtils.getMeasurementCache().clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.g2.dispose();
+        TextUtils.getMeasurementCache().setMaximumSize(
+                TextMeasurementCache.DEFAULT_MAXIMUM_SIZE);
+        TextUtils.getMeasurementCache().clear();
+    }
+
+    /**
+     * Measuring the same string twice is a cache hit, and the caller gets
+     * its own copy of the bounds.
+     */
+    @Test
+    public void testTextBounds() {
+        TextMeasurementCache cache = TextUtils.getMeasurementCache();
+        FontMetrics fm = this.g2.getFontMetrics(new Font("Dialog",
+                Font.PLAIN, 12));
+        Rectangle2D b1 = TextUtils.getTextBounds("ABC", this.g2, fm);
+        assertEquals(1L, cache.getMissCount());
+        b1.setRect(0, 0, 1, 1);
+        Rectangle2D b2 = TextUtils.getTextBounds("ABC", this.g2, fm);
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(fm.stringWidth("ABC"), b2.getWidth(), 0.0);
+        assertNotSame(b2, TextUtils.getTextBounds("ABC", this.g2, fm));
+
+        // a different font is a different entry
+        FontMetrics fm2 = this.g2.getFontMetrics(new Font("Dialog",
+                Font.BOLD, 20));
+        TextUtils.getTextBounds("ABC", this.g2, fm2);
+        assertEquals(2L, cache.getMissCount());
+    }
+
+    /**
+     * Line breaks are cached, and the cached result gives the same text
+     * block as a fresh calculation.
+     */
+    @Test
+    public void testLineBreaks() {
+        TextMeasurementCache cache = TextUtils.getMeasurementCache();
+        Font font = new Font("Dialog", Font.PLAIN, 12);
+        this.g2.setFont(font);
+        String text = "The quick brown fox jumps over the lazy dog";
+        TextBlock b1 = TextUtils.createTextBlock(text, font, Color.BLACK, 60.0f, 3,
+                new G2TextMeasurer(this.g2));
+        long hits = cache.getHitCount();
+        TextBlock b2 = TextUtils.createTextBlock(text, font, Color.BLACK, 60.0f, 3,
+                new G2TextMeasurer(this.g2));
+        assertTrue(cache.getHitCount() > hits);
+        assertEquals(b1, b2);
+        assertNotSame(b1, b2);
+        assertEquals(3, b2.getLines().size());
+        TextLine last = b2.getLastLine();
+        assertTrue(last.getLastTextFragment().getText().endsWith("..."));
+
+        cache.setMaximumSize(0);
+        TextBlock b3 = TextUtils.createTextBlock(text, font, Color.BLACK, 60.0f, 3,
+                new G2TextMeasurer(this.g2));
+        assertEquals(b1, b3);
+        assertEquals(0, cache.getSize());
+    }
+
+    /**
+     * The least recently used entries are discarded when the cache is full.
+     */
+    @Test
+    public void testMaximumSize() {
+        TextMeasurementCache cache = TextUtils.getMeasurementCache();
+        cache.setMaximumSize(2);
+        FontMetrics fm = this.g2.getFontMetrics();
+        TextUtils.getTextBounds("A", this.g2, fm);
+        TextUtils.getTextBounds("B", this.g2, fm);
+        TextUtils.getTextBounds("A", this.g2, fm);
+        TextUtils.getTextBounds("C", this.g2, fm);
+        assertEquals(2, cache.getSize());
+        TextUtils.getTextBounds("A", this.g2, fm);
+        assertEquals(2L, cache.getHitCount());
+        TextUtils.getTextBounds("B", this.g2, fm);
+        assertEquals(4L, cache.getMissCount());
+        cache.setMaximumSize(1);
+        assertEquals(1, cache.getSize());
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0L, cache.getHitCount());
+    }
+
+}
@@ -0,0 +1,155 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * CircularArrayListTest.java
+ * --------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.chart.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.util.CircularArrayList;
+
+/**
+ * Tests for the {@link CircularArrayList} class.
+ */
+public class CircularArrayListTest {
+
+    /**
+     * Removing from the front and appending at the back wraps around the
+     * storage array.
+     */
+    @Test
+    public void testRollingWindow() {
+        CircularArrayList<Integer> list = new CircularArrayList<>(4);
+        for (int i = 0; i < 4; i++) {
+            list.add(i);
+        }
+        for (int i = 4; i < 100; i++) {
+            assertEquals(Integer.valueOf(i - 4), list.remove(0));
+            list.add(i);
+            assertEquals(4, list.size());
+            assertEquals(Integer.valueOf(i - 3), list.get(0));
+            assertEquals(Integer.valueOf(i), list.get(3));
+        }
+    }
+
+    /**
+     * Random inserts and removals give the same results as an
+     * {@code ArrayList}.
+     */
+    @Test
+    public void testSameAsArrayList() {
+        Random random = new Random(123L);
+        List<Integer> expected = new ArrayList<>();
+        CircularArrayList<Integer> list = new CircularArrayList<>(1);
+        for (int i = 0; i < 2000; i++) {
+            int op = random.nextInt(4);
+            if (op == 0 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+            else if (op == 1 && expected.size() > 3) {
+                expected.subList(1, 3).clear();
+                list.subList(1, 3).clear();
+            }
+            else {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                list.add(index, i);
+            }
+            assertEquals(expected, list);
+        }
+        assertEquals(expected.hashCode(), list.hashCode());
+    }
+
+    /**
+     * The list works with {@code Collections.binarySearch()}.
+     */
+    @Test
+    public void testBinarySearch() {
+        CircularArrayList<Integer> list = new CircularArrayList<>(3);
+        list.add(0);
+        list.add(2);
+        list.add(4);
+        list.remove(0);
+        list.add(6);
+        assertEquals(1, Collections.binarySearch(list, 4));
+        assertEquals(-2, Collections.binarySearch(list, 3));
+    }
+
+    /**
+     * Confirm that cloning works.
+     */
+    @Test
+    public void testCloning() {
+        CircularArrayList<String> l1 = new CircularArrayList<>(2);
+        l1.add("A");
+        l1.add("B");
+        l1.remove(0);
+        l1.add("C");
+        @SuppressWarnings("unchecked")
+        CircularArrayList<String> l2 = (CircularArrayList<String>) l1.clone();
+        assertNotSame(l1, l2);
+        assertEquals(l1, l2);
+        l1.add("D");
+        assertEquals(2, l2.size());
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        CircularArrayList<String> l1 = new CircularArrayList<>(2);
+        l1.add("A");
+        l1.add("B");
+        l1.remove(0);
+        l1.add("C");
+        CircularArrayList<String> l2 = TestUtils.serialised(l1);
+        assertEquals(l1, l2);
+        l2.add("D");
+        assertTrue(l2.contains("D"));
+    }
+
+}
@@ -336,4 +336,57 @@ public class DefaultKeyedValues2DTest {
         assertTrue(pass);
     }
 
+    /**
+     * The row and column indices stay consistent as rows and columns are
+     * removed, and non-{@code Double} values are returned unchanged.
+     */
+    @Test
+    public void testIndicesAfterRemoval() {
+        DefaultKeyedValues2D d = new DefaultKeyedValues2D();
+        for (int r = 0; r < 5; r++) {
+            for (int c = 0; c < 5; c++) {
+                d.addValue(r * 10 + c, "R" + r, "C" + c);
+            }
+        }
+        d.addValue(1.5, "R0", "C0");
+        d.removeRow(1);
+        d.removeColumn("C2");
+        assertEquals(4, d.getRowCount());
+        assertEquals(4, d.getColumnCount());
+        assertEquals(2, d.getRowIndex("R3"));
+        assertEquals(-1, d.getRowIndex("R1"));
+        assertEquals(2, d.getColumnIndex("C3"));
+        assertEquals(-1, d.getColumnIndex("C2"));
+        assertEquals(43, d.getValue("R4", "C3"));
+        assertEquals(43, d.getValue(3, 2));
+        assertEquals(1.5, d.getValue("R0", "C0"));
+        d.addValue(99, "R1", "C2");
+        assertEquals(4, d.getRowIndex("R1"));
+        assertEquals(4, d.getColumnIndex("C2"));
+        assertEquals(99, d.getValue(4, 4));
+        assertNull(d.getValue(0, 4));
+        d.clear();
+        assertEquals(-1, d.getRowIndex("R0"));
+        assertEquals(-1, d.getColumnIndex("C0"));
+    }
+
+    /**
+     * Rows inserted in sorted order keep the index consistent.
+     */
+    @Test
+    public void testSortedRowIndices() {
+        DefaultKeyedValues2D d = new DefaultKeyedValues2D(true);
+        d.addValue(1.0, "R3", "C1");
+        d.addValue(2.0, "R1", "C1");
+        d.addValue(3.0, "R2", "C1");
+        assertEquals(0, d.getRowIndex("R1"));
+        assertEquals(1, d.getRowIndex("R2"));
+        assertEquals(2, d.getRowIndex("R3"));
+        assertTrue(d.getRowIndex("R0") < 0);
+        assertEquals(3.0, d.getValue(1, 0));
+        d.removeValue("R2", "C1");
+        assertEquals(1, d.getRowIndex("R3"));
+        assertEquals(1.0, d.getValue("R3", "C1"));
+    }
+
 }
@@ -394,4 +394,30 @@ public class KeyedObjects2DTest {
         assertEquals("Obj1", data.getObject(0, 0));
     }
 
+    /**
+     * The row and column indices stay consistent as rows and columns are
+     * removed.
+     */
+    @Test
+    public void testIndicesAfterRemoval() {
+        KeyedObjects2D data = new KeyedObjects2D();
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 4; c++) {
+                data.addObject("Obj" + r + c, "R" + r, "C" + c);
+            }
+        }
+        data.removeRow("R0");
+        data.removeColumn(1);
+        assertEquals(0, data.getRowIndex("R1"));
+        assertEquals(1, data.getColumnIndex("C2"));
+        assertEquals("Obj32", data.getObject("R3", "C2"));
+        assertEquals("Obj32", data.getObject(2, 1));
+        data.setObject("X", "R0", "C1");
+        assertEquals(3, data.getRowIndex("R0"));
+        assertEquals(3, data.getColumnIndex("C1"));
+        assertEquals("X", data.getObject(3, 3));
+        assertNull(data.getObject(3, 0));
+        assertNull(data.getObject(0, 3));
+    }
+
 }
@@ -0,0 +1,165 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------
+ * MinMaxIndexTest.java
+ * --------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import se.malmin.data.MinMaxIndex;
+
+/**
+ * Tests for the {@link MinMaxIndex} class.
+ */
+public class MinMaxIndexTest {
+
+    /**
+     * An empty index has no minimum or maximum.
+     */
+    @Test
+    public void testEmpty() {
+        MinMaxIndex index = new MinMaxIndex();
+        assertEquals(0, index.getItemCount());
+        assertTrue(Double.isNaN(index.getMinimum()));
+        assertTrue(Double.isNaN(index.getMaximum()));
+    }
+
+    /**
+     * NaN values are ignored.
+     */
+    @Test
+    public void testNaN() {
+        MinMaxIndex index = new MinMaxIndex(1);
+        index.add(Double.NaN);
+        assertTrue(Double.isNaN(index.getMinimum()));
+        index.add(2.0);
+        index.add(Double.NaN);
+        index.add(-1.0);
+        assertEquals(-1.0, index.getMinimum(), 0.0);
+        assertEquals(2.0, index.getMaximum(), 0.0);
+        assertTrue(Double.isNaN(index.getMaximum(0, 0)));
+        assertEquals(2.0, index.getMinimum(0, 2), 0.0);
+    }
+
+    /**
+     * A sliding window where the maximum leaves the window.
+     */
+    @Test
+    public void testSlidingWindow() {
+        MinMaxIndex index = new MinMaxIndex(2);
+        for (int i = 0; i < 1000; i++) {
+            index.add(i % 100);
+            if (index.getItemCount() > 10) {
+                index.remove(0);
+            }
+        }
+        // the window holds 90..99
+        assertEquals(10, index.getItemCount());
+        assertEquals(90.0, index.getMinimum(), 0.0);
+        assertEquals(99.0, index.getMaximum(), 0.0);
+        index.remove(0);
+        index.add(0.0);
+        assertEquals(0.0, index.getMinimum(), 0.0);
+        assertEquals(93.0, index.getMaximum(0, 2), 0.0);
+    }
+
+    /**
+     * Compare range queries with a brute force calculation after random
+     * insertions, updates and removals.
+     */
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(42L);
+        MinMaxIndex index = new MinMaxIndex(1);
+        java.util.List<Double> values = new java.util.ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            int op = random.nextInt(5);
+            double v = random.nextInt(1000);
+            if (op == 0 && !values.isEmpty()) {
+                int k = random.nextInt(values.size());
+                values.remove(k);
+                index.remove(k);
+            }
+            else if (op == 1 && !values.isEmpty()) {
+                int k = random.nextInt(values.size());
+                values.set(k, v);
+                index.setValue(k, v);
+            }
+            else if (op == 2) {
+                int k = random.nextInt(values.size() + 1);
+                values.add(k, v);
+                index.add(k, v);
+            }
+            else {
+                values.add(v);
+                index.add(v);
+            }
+            assertEquals(values.size(), index.getItemCount());
+            if (!values.isEmpty()) {
+                int a = random.nextInt(values.size());
+                int b = a + random.nextInt(values.size() - a);
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (int k = a; k <= b; k++) {
+                    min = Math.min(min, values.get(k));
+                    max = Math.max(max, values.get(k));
+                }
+                assertEquals(min, index.getMinimum(a, b), 0.0);
+                assertEquals(max, index.getMaximum(a, b), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        MinMaxIndex i1 = new MinMaxIndex();
+        i1.add(1.0);
+        MinMaxIndex i2 = (MinMaxIndex) i1.clone();
+        i1.add(5.0);
+        assertEquals(1, i2.getItemCount());
+        assertEquals(1.0, i2.getMaximum(), 0.0);
+    }
+
+}
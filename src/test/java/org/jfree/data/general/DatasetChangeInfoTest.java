@@ -0,0 +1,177 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------------------
+ * DatasetChangeInfoTest.java
+ * --------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.general;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.jfree.chart.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import se.malmin.data.general.DatasetChangeInfo;
+import se.malmin.data.general.DatasetChangeType;
+
+/**
+ * Tests for the {@link DatasetChangeInfo} class.
+ */
+public class DatasetChangeInfoTest {
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        DatasetChangeInfo i1 = new DatasetChangeInfo(DatasetChangeType.APPEND,
+                1, 2, 3);
+        DatasetChangeInfo i2 = new DatasetChangeInfo(DatasetChangeType.APPEND,
+                1, 2, 3);
+        assertEquals(i1, i2);
+        assertEquals(i1.hashCode(), i2.hashCode());
+        assertFalse(i1.equals(new DatasetChangeInfo(DatasetChangeType.UPDATE,
+                1, 2, 3)));
+        assertFalse(i1.equals(new DatasetChangeInfo(DatasetChangeType.APPEND,
+                0, 2, 3)));
+        assertFalse(i1.equals(new DatasetChangeInfo(DatasetChangeType.APPEND,
+                1, 1, 3)));
+        assertFalse(i1.equals(new DatasetChangeInfo(DatasetChangeType.APPEND,
+                1, 2, 4)));
+    }
+
+    /**
+     * Some checks for the merge() method.
+     */
+    @Test
+    public void testMerge() {
+        DatasetChangeInfo append = new DatasetChangeInfo(
+                DatasetChangeType.APPEND, 0, 5, 6);
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.APPEND, 0, 5, 9),
+                append.merge(new DatasetChangeInfo(DatasetChangeType.APPEND,
+                0, 7, 9)));
+        assertEquals(append, append.merge(new DatasetChangeInfo(
+                DatasetChangeType.UPDATE, 0, 6, 6)));
+        assertEquals(DatasetChangeInfo.RESET, append.merge(
+                new DatasetChangeInfo(DatasetChangeType.UPDATE, 0, 2, 2)));
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.APPEND, -1, -1,
+                -1), append.merge(new DatasetChangeInfo(
+                DatasetChangeType.APPEND, 1, 7, 7)));
+        assertEquals(DatasetChangeInfo.RESET, append.merge(
+                new DatasetChangeInfo(DatasetChangeType.UPDATE, 1, 7, 7)));
+
+        DatasetChangeInfo remove = new DatasetChangeInfo(
+                DatasetChangeType.REMOVE, 0, 5, 6);
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.REMOVE, 0, 5, 7),
+                remove.merge(new DatasetChangeInfo(DatasetChangeType.REMOVE,
+                0, 5, 5)));
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.REMOVE, 0, 3, 6),
+                remove.merge(new DatasetChangeInfo(DatasetChangeType.REMOVE,
+                0, 3, 4)));
+
+        DatasetChangeInfo update = new DatasetChangeInfo(
+                DatasetChangeType.UPDATE, 0, 5, 6);
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.UPDATE, 0, 1, 6),
+                update.merge(new DatasetChangeInfo(DatasetChangeType.UPDATE,
+                0, 1, 1)));
+        assertEquals(DatasetChangeInfo.RESET, update.merge(
+                DatasetChangeInfo.RESET));
+    }
+
+    /**
+     * Appends combined with removals from the start of a series are merged
+     * into a scroll.
+     */
+    @Test
+    public void testMergeScroll() {
+        // 10 items, 3 appended, then 2 removed from the start
+        DatasetChangeInfo append = new DatasetChangeInfo(
+                DatasetChangeType.APPEND, 0, 7, 9);
+        DatasetChangeInfo scroll = append.merge(new DatasetChangeInfo(
+                DatasetChangeType.REMOVE, 0, 0, 1));
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.SCROLL, 0, 5, 7,
+                2), scroll);
+
+        // 1 more appended with 1 removed, then another append
+        scroll = scroll.merge(new DatasetChangeInfo(DatasetChangeType.SCROLL,
+                0, 7, 7, 1));
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.SCROLL, 0, 4, 7,
+                3), scroll);
+        scroll = scroll.merge(new DatasetChangeInfo(DatasetChangeType.APPEND,
+                0, 8, 8));
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.SCROLL, 0, 4, 8,
+                3), scroll);
+
+        // a scroll that does not add items at the end
+        assertEquals(DatasetChangeInfo.RESET, scroll.merge(
+                new DatasetChangeInfo(DatasetChangeType.SCROLL, 0, 7, 7, 3)));
+
+        // removals that reach the added items only count the items that
+        // were in the series before
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.SCROLL, 0, 0, 0,
+                7), append.merge(new DatasetChangeInfo(
+                DatasetChangeType.REMOVE, 0, 0, 8)));
+
+        // removals from the start followed by an append or a scroll
+        DatasetChangeInfo remove = new DatasetChangeInfo(
+                DatasetChangeType.REMOVE, 0, 0, 2);
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.SCROLL, 0, 6, 6,
+                3), remove.merge(new DatasetChangeInfo(
+                DatasetChangeType.APPEND, 0, 6, 6)));
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.SCROLL, 0, 5, 5,
+                4), remove.merge(new DatasetChangeInfo(
+                DatasetChangeType.SCROLL, 0, 5, 5, 1)));
+
+        // removals elsewhere and removal of all the added items
+        assertEquals(DatasetChangeInfo.RESET, append.merge(
+                new DatasetChangeInfo(DatasetChangeType.REMOVE, 0, 3, 3)));
+        assertEquals(DatasetChangeInfo.RESET, append.merge(
+                new DatasetChangeInfo(DatasetChangeType.REMOVE, 0, 0, 9)));
+        assertEquals(DatasetChangeInfo.RESET, new DatasetChangeInfo(
+                DatasetChangeType.REMOVE, 0, 2, 3).merge(
+                new DatasetChangeInfo(DatasetChangeType.APPEND, 0, 6, 6)));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        DatasetChangeInfo i1 = new DatasetChangeInfo(DatasetChangeType.SCROLL,
+                1, 2, 3, 4);
+        DatasetChangeInfo i2 = TestUtils.serialised(i1);
+        assertEquals(i1, i2);
+    }
+
+}
@@ -511,6 +511,63 @@ public class DatasetUtilsTest {
         assertEquals(2.6, r.getUpperBound(), EPSILON);
     }
 
+    /**
+     * Some checks for the findRangeBounds() method with an x-range, for a
+     * dataset that is sorted by x-value.
+     */
+    @Test
+    public void testFindRangeBoundsWithXRange() {
+        XYSeries s1 = new XYSeries("S1");
+        s1.add(1.0, 10.0);
+        s1.add(2.0, 5.0);
+        s1.add(3.0, null);
+        s1.add(4.0, 7.0);
+        s1.add(5.0, 1.0);
+        XYSeries s2 = new XYSeries("S2", false);
+        s2.add(3.0, 20.0);
+        s2.add(9.0, 30.0);
+        XYSeriesCollection dataset = new XYSeriesCollection(s1);
+        dataset.addSeries(s2);
+        List keys = Arrays.asList("S1");
+        assertEquals(new Range(5.0, 7.0), DatasetUtils.findRangeBounds(
+                dataset, keys, new Range(2.0, 4.0), false));
+        assertNull(DatasetUtils.findRangeBounds(dataset, keys,
+                new Range(2.5, 3.5), false));
+        s1.setUseBoundsIndex(true);
+        assertEquals(new Range(1.0, 10.0), DatasetUtils.findRangeBounds(
+                dataset, keys, new Range(0.0, 9.0), false));
+        keys = Arrays.asList("S1", "S2");
+        assertEquals(new Range(5.0, 20.0), DatasetUtils.findRangeBounds(
+                dataset, keys, new Range(2.0, 4.0), true));
+        assertEquals(new Range(5.0, 20.0), 
+                DatasetUtils.iterateToFindRangeBounds(dataset, keys, 
+                new Range(2.0, 4.0), true));
+    }
+
+    /**
+     * Some checks for the findItemIndicesForX() method.
+     */
+    @Test
+    public void testFindItemIndicesForX() {
+        XYSeries s1 = new XYSeries("S1");
+        s1.add(1.0, 1.0);
+        s1.add(2.0, 2.0);
+        s1.add(2.0, 3.0);
+        s1.add(4.0, 4.0);
+        XYSeriesCollection dataset = new XYSeriesCollection(s1);
+        int[] items = DatasetUtils.findItemIndicesForX(dataset, 0,
+                new Range(2.0, 3.0));
+        assertEquals(1, items[0]);
+        assertEquals(2, items[1]);
+        items = DatasetUtils.findItemIndicesForX(dataset, 0,
+                new Range(5.0, 6.0));
+        assertTrue(items[0] > items[1]);
+        items = DatasetUtils.findItemIndicesForX(dataset, 0,
+                new Range(0.0, 10.0));
+        assertEquals(0, items[0]);
+        assertEquals(3, items[1]);
+    }
+
     /**
      * Some tests for the findMinimumDomainValue() method.
      */
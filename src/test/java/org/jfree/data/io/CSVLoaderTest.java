@@ -0,0 +1,274 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * CSVLoaderTest.java
+ * ------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+import se.malmin.data.io.CSVColumns;
+import se.malmin.data.io.CSVLoader;
+import se.malmin.data.io.TimestampFormat;
+import se.malmin.data.time.Minute;
+import se.malmin.data.time.TimeSeries;
+import se.malmin.data.time.TimeSeriesCollection;
+import se.malmin.data.xy.DefaultXYDataset;
+import se.malmin.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link CSVLoader} class.
+ */
+public class CSVLoaderTest {
+
+    private static CSVColumns load(CSVLoader loader, String text)
+            throws IOException {
+        return loader.load(new ByteArrayInputStream(text.getBytes(
+                StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Numbers, quoted fields, missing values and line endings.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testNumbers() throws IOException {
+        String text = "﻿X,\"Series, A\",B\r\n"
+                + "1,2.5,-3e2\r\n"
+                + "2 , \"0.125\" ,\n"
+                + "\n"
+                + ",9,9\n"
+                + "3,1234567890.123456789,\"7\"\"\"\n"
+                + "4.0E-3,-0,.5";
+        CSVLoader loader = new CSVLoader();
+        loader.setParallel(false);
+        assertThrows(IOException.class, () -> load(loader, text));
+        loader.setYColumns(1);
+        CSVColumns columns = load(loader, text);
+        assertEquals("X", columns.getXKey());
+        assertEquals(1, columns.getSeriesCount());
+        assertEquals("Series, A", columns.getSeriesKey(0));
+        assertArrayEquals(new double[] {1.0, 2.0, 3.0, 0.004},
+                columns.getXValues());
+        assertArrayEquals(new double[] {2.5, 0.125, 1234567890.123456789,
+                -0.0}, columns.getYValues(0));
+        assertEquals(text.getBytes(StandardCharsets.UTF_8).length,
+                columns.getByteCount());
+
+        loader.setXColumn("Series, A");
+        loader.setYColumns("B", "X");
+        columns = load(loader, text.replace("\"7\"\"\"", "7"));
+        assertArrayEquals(new double[] {2.5, 0.125, 9.0, 1234567890.123456789,
+                -0.0}, columns.getXValues());
+        assertArrayEquals(new double[] {-300.0, Double.NaN, 9.0, 7.0, 0.5},
+                columns.getYValues(0));
+        assertEquals("X", columns.getSeriesKey(1));
+        assertThrows(IllegalArgumentException.class,
+                () -> load(loader, "A,B\n1,2\n"));
+        loader.setXColumn(1);
+        loader.setYColumns(2, 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> load(loader, "A,B,C\n1,2,3\n"));
+    }
+
+    /**
+     * Without a header row the series keys are generated and the first line
+     * is read as data.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testNoHeaderRow() throws IOException {
+        CSVLoader loader = new CSVLoader(';', '\'');
+        loader.setHeaderRow(false);
+        CSVColumns columns = load(loader, "1;2;3\n4;'5';6\n");
+        assertEquals(2, columns.getRowCount());
+        assertEquals("Column 1", columns.getXKey());
+        assertEquals("Column 3", columns.getSeriesKey(1));
+        assertArrayEquals(new double[] {2.0, 5.0}, columns.getYValues(0));
+        assertEquals(0, load(loader, "").getRowCount());
+    }
+
+    /**
+     * Check the timestamp formats, including local times in a daylight
+     * saving gap and overlap, against {@code java.time}.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testTimestamps() throws IOException {
+        ZoneId zone = ZoneId.of("Europe/Paris");
+        String[] local = {"2021-03-28T02:30:00", "2021-10-31T02:30:00",
+                "2021-10-31T03:30:00", "1969-07-20T20:17:40.5",
+                "2000-02-29T23:59:59.999"};
+        StringBuilder text = new StringBuilder("time,value\n");
+        for (int i = 0; i < local.length; i++) {
+            text.append(local[i].replace('T', i % 2 == 0 ? 'T' : ' '))
+                    .append(',').append(i).append('\n');
+        }
+        text.append("2021-06-01,5\n2021-06-01T12:00Z,6\n")
+                .append("2021-06-01T12:00:00.25+05:30,7\n");
+        CSVLoader loader = new CSVLoader();
+        loader.setTimestampFormat(TimestampFormat.ISO_8601);
+        loader.setTimeZone(TimeZone.getTimeZone(zone));
+        CSVColumns columns = load(loader, text.toString());
+        double[] x = columns.getXValues();
+        for (int i = 0; i < local.length; i++) {
+            assertEquals(LocalDateTime.parse(local[i]).atZone(zone)
+                    .toInstant().toEpochMilli(), (long) x[i], local[i]);
+        }
+        assertEquals(1622498400000L, (long) x[5]);
+        assertEquals(1622548800000L, (long) x[6]);
+        assertEquals(1622548800250L - 19800000L, (long) x[7]);
+        assertThrows(IOException.class,
+                () -> load(loader, "time,value\n2021-13-01,1\n"));
+
+        loader.setTimestampFormat(TimestampFormat.EPOCH_SECONDS);
+        assertEquals(1500.0, load(loader, "t,v\n1.5,0\n").getXValues()[0]);
+        loader.setTimestampFormat(TimestampFormat.EPOCH_MILLISECONDS);
+        assertEquals(1.5, load(loader, "t,v\n1.5,0\n").getXValues()[0]);
+    }
+
+    /**
+     * A file split into several chunks (including rows that straddle the
+     * split points) is parsed in parallel to the same columns, in the same
+     * order, as a sequential parse.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testParallelChunks() throws IOException {
+        StringBuilder b = new StringBuilder("x,y,note\n");
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 1500; i++) {
+            padding.append('p');
+        }
+        int rows = 400;
+        for (int i = 0; i < rows; i++) {
+            b.append(i).append(',').append(i * 0.5).append(",\"");
+            // a row that is longer than the chunks must straddle a split
+            b.append(i == 150 ? padding : "r" + i);
+            b.append(i % 3 == 0 ? "\"\r\n" : "\"\n");
+        }
+        Path file = Files.createTempFile("CSVLoaderTest", ".csv");
+        try {
+            Files.write(file, b.toString().getBytes(
+                    StandardCharsets.US_ASCII));
+            CSVLoader loader = new CSVLoader();
+            loader.setYColumns(1);
+            loader.setMinChunkSize(1000L);
+            CSVColumns parallel = loader.load(file);
+            loader.setParallel(false);
+            CSVColumns sequential = loader.load(file);
+
+            assertEquals(rows, parallel.getRowCount());
+            assertArrayEquals(sequential.getXValues(), parallel.getXValues());
+            assertArrayEquals(sequential.getYValues(0),
+                    parallel.getYValues(0));
+            for (int i = 0; i < rows; i++) {
+                assertEquals(i, parallel.getXValues()[i]);
+                assertEquals(i * 0.5, parallel.getYValues(0)[i]);
+            }
+            assertEquals(Files.size(file), parallel.getByteCount());
+        }
+        finally {
+            Files.delete(file);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new CSVLoader().setMinChunkSize(0L));
+    }
+
+    /**
+     * Load a file and create each type of dataset.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testDatasets() throws IOException {
+        Path file = Files.createTempFile("CSVLoaderTest", ".csv");
+        try {
+            Files.write(file, ("time,a,b\n"
+                    + "2021-01-01T00:00:10Z,1,10\n"
+                    + "2021-01-01T00:00:50Z,2,20\n"
+                    + "2021-01-01T00:01:00Z,3,30\n").getBytes(
+                    StandardCharsets.US_ASCII));
+            CSVLoader loader = new CSVLoader();
+            loader.setTimestampFormat(TimestampFormat.ISO_8601);
+            CSVColumns columns = loader.load(file);
+            assertEquals(3, columns.getRowCount());
+            assertEquals(Files.size(file), columns.getByteCount());
+            assertTrue(columns.getRowsPerSecond() > 0.0);
+
+            DefaultXYDataset xy = columns.createXYDataset();
+            assertEquals(2, xy.getSeriesCount());
+            assertEquals(20.0, xy.getYValue(1, 1));
+
+            XYSeriesCollection c = columns.createXYSeriesCollection();
+            assertEquals("b", c.getSeriesKey(1));
+            assertEquals(3, c.getItemCount(0));
+            assertEquals(columns.getXValues()[2], c.getXValue(0, 2));
+
+            TimeSeriesCollection tsc = columns.createTimeSeriesCollection();
+            assertEquals(3, tsc.getSeries(0).getItemCount());
+            TimeZone utc = TimeZone.getTimeZone("UTC");
+            tsc = columns.createTimeSeriesCollection(Minute.class, utc,
+                    Locale.UK);
+            TimeSeries series = tsc.getSeries("a");
+            assertEquals(2, series.getItemCount());
+            assertEquals(2.0, series.getValue(0).doubleValue());
+            assertEquals(new Minute(1, 0, 1, 1, 2021),
+                    series.getTimePeriod(1));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+}
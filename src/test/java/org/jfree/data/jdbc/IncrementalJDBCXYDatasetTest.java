@@ -0,0 +1,242 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ---------------------------------
+ * IncrementalJDBCXYDatasetTest.java
+ * ---------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import se.malmin.data.Range;
+import se.malmin.data.general.DatasetChangeEvent;
+import se.malmin.data.general.DatasetChangeType;
+import se.malmin.data.jdbc.IncrementalJDBCXYDataset;
+import se.malmin.data.jdbc.JDBCCategoryDataset;
+import se.malmin.data.jdbc.JDBCPieDataset;
+import se.malmin.data.jdbc.JDBCXYDataset;
+
+/**
+ * Tests for the {@link IncrementalJDBCXYDataset} class.
+ */
+public class IncrementalJDBCXYDatasetTest {
+
+    private static TestTable createTable() {
+        TestTable table = new TestTable(new String[] {"TS", "CPU", "HOST",
+                "MEM"}, new int[] {Types.TIMESTAMP, Types.DOUBLE,
+                Types.VARCHAR, Types.INTEGER});
+        table.addRow(new Timestamp(1000L), 0.5, "a", 10);
+        table.addRow(new Timestamp(2000L), null, "b", 20);
+        table.addRow(new Timestamp(3000L), 0.25, "c", 15);
+        return table;
+    }
+
+    /**
+     * Check the values read by a full query.
+     *
+     * @throws SQLException if there is a problem with the query.
+     */
+    @Test
+    public void testExecuteQuery() throws SQLException {
+        TestTable table = createTable();
+        IncrementalJDBCXYDataset d = new IncrementalJDBCXYDataset(
+                table.getConnection());
+        d.setFetchSize(250);
+        assertThrows(IllegalStateException.class, () -> d.refresh());
+        d.executeQuery("SELECT * FROM T");
+        assertEquals(250, table.getLastFetchSize());
+        assertTrue(d.isTimeSeries());
+        assertEquals(2, d.getSeriesCount());
+        assertEquals("CPU", d.getSeriesKey(0));
+        assertEquals("MEM", d.getSeriesKey(1));
+        assertEquals(3, d.getItemCount());
+        assertEquals(2000.0, d.getXValue(1, 1));
+        assertTrue(Double.isNaN(d.getYValue(0, 1)));
+        assertNull(d.getY(0, 1));
+        assertEquals(15.0, d.getYValue(1, 2));
+        assertEquals(new Range(0.25, 20.0), d.getRangeBounds(false));
+        assertEquals(3000.0, d.getWatermark());
+
+        TestTable text = new TestTable(new String[] {"NAME", "VALUE"},
+                new int[] {Types.VARCHAR, Types.DOUBLE});
+        assertThrows(SQLException.class, () -> new IncrementalJDBCXYDataset(
+                text.getConnection(), "SELECT * FROM T"));
+    }
+
+    /**
+     * An incremental refresh binds the watermark, appends only the new rows
+     * and sends a single append event.
+     *
+     * @throws SQLException if there is a problem with the query.
+     */
+    @Test
+    public void testIncrementalRefresh() throws SQLException {
+        TestTable table = createTable();
+        IncrementalJDBCXYDataset d = new IncrementalJDBCXYDataset(
+                table.getConnection(), "SELECT * FROM T");
+        d.setIncrementalQuery("SELECT * FROM T WHERE TS > ?");
+        List<DatasetChangeEvent> events = new ArrayList<>();
+        d.addChangeListener(events::add);
+
+        table.addRow(new Timestamp(4000L), 0.75, "d", 30);
+        table.addRow(new Timestamp(5000L), 1.0, "e", 5);
+        assertEquals(2, d.refresh());
+        assertEquals(3000.0, table.getLastParameter());
+        assertEquals(5, d.getItemCount());
+        assertEquals(5000.0, d.getXValue(0, 4));
+        assertEquals(new Range(0.25, 30.0), d.getRangeBounds(false));
+        assertEquals(1, events.size());
+        assertEquals(DatasetChangeType.APPEND, events.get(0).getInfo()
+                .getType());
+        assertEquals(3, events.get(0).getInfo().getFirstItem());
+        assertEquals(4, events.get(0).getInfo().getLastItem());
+
+        // the test table also returns the row at the watermark, which is
+        // ignored, and nothing changed so there is no event
+        assertEquals(0, d.refresh());
+        assertEquals(5, d.getItemCount());
+        assertEquals(1, events.size());
+
+        // without an incremental query the full query is run again
+        d.setIncrementalQuery(null);
+        assertEquals(5, d.refresh());
+        assertEquals(2, events.size());
+        assertEquals(DatasetChangeType.RESET, events.get(1).getInfo()
+                .getType());
+    }
+
+    /**
+     * The category dataset sends a single event for a query.
+     *
+     * @throws SQLException if there is a problem with the query.
+     */
+    @Test
+    public void testCategoryDatasetEvents() throws SQLException {
+        TestTable table = new TestTable(new String[] {"NAME", "A", "B"},
+                new int[] {Types.VARCHAR, Types.INTEGER, Types.DOUBLE});
+        table.addRow("R1", 1, 2.0);
+        table.addRow("R2", 3, 4.0);
+        JDBCCategoryDataset d = new JDBCCategoryDataset(
+                table.getConnection());
+        d.setFetchSize(10);
+        List<DatasetChangeEvent> events = new ArrayList<>();
+        d.addChangeListener(events::add);
+        d.executeQuery("SELECT * FROM T");
+        assertEquals(1, events.size());
+        assertEquals(10, table.getLastFetchSize());
+        assertEquals(4.0, d.getValue("B", "R2"));
+        d.executeQuery("SELECT * FROM T");
+        assertEquals(2, events.size());
+        assertEquals(2, d.getColumnCount());
+    }
+
+    /**
+     * A query that fails part way through the result set leaves the data
+     * from the previous query in place.
+     *
+     * @throws SQLException if there is a problem with the query.
+     */
+    @Test
+    public void testFailedQueryKeepsData() throws SQLException {
+        TestTable table = new TestTable(new String[] {"NAME", "A", "B"},
+                new int[] {Types.VARCHAR, Types.INTEGER, Types.DOUBLE});
+        table.addRow("R1", 1, 2.0);
+        table.addRow("R2", 3, 4.0);
+        JDBCCategoryDataset c = new JDBCCategoryDataset(
+                table.getConnection());
+        c.executeQuery("SELECT * FROM T");
+        table.setFailAfter(1);
+        assertThrows(SQLException.class, () -> c.executeQuery(
+                "SELECT * FROM T"));
+        assertEquals(2, c.getColumnCount());
+        assertEquals(4.0, c.getValue("B", "R2"));
+
+        table = new TestTable(new String[] {"TS", "CPU"},
+                new int[] {Types.TIMESTAMP, Types.DOUBLE});
+        table.addRow(new Timestamp(1000L), 0.5);
+        table.addRow(new Timestamp(2000L), 0.25);
+        JDBCXYDataset xy = new JDBCXYDataset(table.getConnection());
+        xy.executeQuery("SELECT * FROM T");
+        table.addRow(new Timestamp(3000L), 0.125);
+        table.setFailAfter(2);
+        assertThrows(SQLException.class, () -> xy.executeQuery(
+                "SELECT * FROM T"));
+        assertEquals(2, xy.getItemCount());
+        assertEquals(0.25, xy.getYValue(0, 1));
+        assertEquals(0.25, xy.getRangeLowerBound(false));
+
+        table = new TestTable(new String[] {"NAME", "VALUE"},
+                new int[] {Types.VARCHAR, Types.DOUBLE});
+        table.addRow("A", 1.0);
+        table.addRow("B", 2.0);
+        JDBCPieDataset pie = new JDBCPieDataset(table.getConnection());
+        pie.executeQuery("SELECT * FROM T");
+        table.addRow("C", 3.0);
+        table.setFailAfter(2);
+        assertThrows(SQLException.class, () -> pie.executeQuery(
+                "SELECT * FROM T"));
+        assertEquals(2, pie.getItemCount());
+
+        table = createTable();
+        IncrementalJDBCXYDataset d = new IncrementalJDBCXYDataset(
+                table.getConnection(), "SELECT * FROM T");
+        d.setIncrementalQuery("SELECT * FROM T WHERE TS > ?");
+        List<DatasetChangeEvent> events = new ArrayList<>();
+        d.addChangeListener(events::add);
+        table.addRow(new Timestamp(4000L), 0.75, "d", 30);
+        table.addRow(new Timestamp(5000L), 1.0, "e", 5);
+        table.setFailAfter(2);
+        assertThrows(SQLException.class, () -> d.refresh());
+        assertEquals(3, d.getItemCount());
+        assertEquals(new Range(0.25, 20.0), d.getRangeBounds(false));
+        assertThrows(SQLException.class, () -> d.executeQuery(
+                "SELECT * FROM T"));
+        assertEquals(3, d.getItemCount());
+        assertEquals(0, events.size());
+        table.setFailAfter(-1);
+        assertEquals(2, d.refresh());
+        assertEquals(5000.0, d.getXValue(0, 4));
+    }
+
+}
@@ -0,0 +1,262 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * --------------
+ * TestTable.java
+ * --------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An in-memory table with a JDBC {@link Connection} (implemented with
+ * dynamic proxies) for testing the JDBC datasets.  Any statement returns all
+ * the rows, and a prepared statement returns the rows where the first
+ * column is greater than or equal to the (single) parameter.
+ */
+public class TestTable {
+
+    /** The column labels. */
+    private final String[] labels;
+
+    /** The column types (see {@link java.sql.Types}). */
+    private final int[] types;
+
+    /** The rows. */
+    private final List<Object[]> rows;
+
+    /** The fetch size of the last statement. */
+    private int lastFetchSize;
+
+    /** The parameter of the last prepared statement. */
+    private double lastParameter;
+
+    /** The number of queries executed. */
+    private int queryCount;
+
+    /** The number of rows read before a result set fails (-1 for none). */
+    private int failAfter = -1;
+
+    /**
+     * Creates a new table.
+     *
+     * @param labels  the column labels.
+     * @param types  the column types.
+     */
+    public TestTable(String[] labels, int[] types) {
+        this.labels = labels;
+        this.types = types;
+        this.rows = new ArrayList<>();
+    }
+
+    /**
+     * Adds a row.
+     *
+     * @param values  the values ({@code Number}, {@code Timestamp},
+     *     {@code String} or {@code null}).
+     */
+    public void addRow(Object... values) {
+        this.rows.add(values);
+    }
+
+    /**
+     * Makes the result sets throw an exception after the specified number
+     * of rows have been read.
+     *
+     * @param rowCount  the row count (-1 for no failure).
+     */
+    public void setFailAfter(int rowCount) {
+        this.failAfter = rowCount;
+    }
+
+    /**
+     * Returns the fetch size set on the last statement.
+     *
+     * @return The value.
+     */
+    public int getLastFetchSize() {
+        return this.lastFetchSize;
+    }
+
+    /**
+     * Returns the parameter of the last query ({@code NaN} for none).
+     *
+     * @return The value.
+     */
+    public double getLastParameter() {
+        return this.lastParameter;
+    }
+
+    /**
+     * Returns the number of queries executed.
+     *
+     * @return The value.
+     */
+    public int getQueryCount() {
+        return this.queryCount;
+    }
+
+    private static <T> T proxy(Class<T> c, InvocationHandler handler) {
+        return c.cast(Proxy.newProxyInstance(TestTable.class.getClassLoader(),
+                new Class<?>[] {c}, handler));
+    }
+
+    private static UnsupportedOperationException unsupported(String name) {
+        return new UnsupportedOperationException(name);
+    }
+
+    /**
+     * Returns a new connection to the table.
+     *
+     * @return A connection.
+     */
+    public Connection getConnection() {
+        return proxy(Connection.class, (p, m, args) -> {
+            switch (m.getName()) {
+                case "createStatement":
+                    return createStatement(null);
+                case "prepareStatement":
+                    return createStatement((String) args[0]);
+                case "close":
+                    return null;
+                default:
+                    throw unsupported(m.getName());
+            }
+        });
+    }
+
+    private Statement createStatement(String sql) {
+        double[] parameter = {Double.NaN};
+        Class<? extends Statement> c = sql == null ? Statement.class
+                : PreparedStatement.class;
+        return proxy(c, (p, m, args) -> {
+            switch (m.getName()) {
+                case "setFetchSize":
+                    this.lastFetchSize = (Integer) args[0];
+                    return null;
+                case "setTimestamp":
+                    parameter[0] = ((Timestamp) args[1]).getTime();
+                    return null;
+                case "setLong":
+                    parameter[0] = (Long) args[1];
+                    return null;
+                case "setDouble":
+                    parameter[0] = (Double) args[1];
+                    return null;
+                case "executeQuery":
+                    this.queryCount++;
+                    this.lastParameter = parameter[0];
+                    return createResultSet(parameter[0]);
+                case "close":
+                    return null;
+                default:
+                    throw unsupported(m.getName());
+            }
+        });
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).getTime();
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    private ResultSet createResultSet(double minimum) {
+        List<Object[]> selected = new ArrayList<>();
+        for (Object[] row : this.rows) {
+            if (Double.isNaN(minimum) || toDouble(row[0]) >= minimum) {
+                selected.add(row);
+            }
+        }
+        ResultSetMetaData metaData = proxy(ResultSetMetaData.class,
+                (p, m, args) -> {
+            switch (m.getName()) {
+                case "getColumnCount":
+                    return this.labels.length;
+                case "getColumnType":
+                    return this.types[(Integer) args[0] - 1];
+                case "getColumnLabel":
+                case "getColumnName":
+                    return this.labels[(Integer) args[0] - 1];
+                default:
+                    throw unsupported(m.getName());
+            }
+        });
+        int[] row = {-1};
+        boolean[] wasNull = {false};
+        return proxy(ResultSet.class, (p, m, args) -> {
+            switch (m.getName()) {
+                case "next":
+                    if (row[0] + 1 == this.failAfter) {
+                        throw new SQLException("Connection lost.");
+                    }
+                    row[0]++;
+                    return row[0] < selected.size();
+                case "getMetaData":
+                    return metaData;
+                case "wasNull":
+                    return wasNull[0];
+                case "close":
+                    return null;
+                default:
+                    break;
+            }
+            Object value = selected.get(row[0])[(Integer) args[0] - 1];
+            wasNull[0] = value == null;
+            switch (m.getName()) {
+                case "getObject":
+                    return value;
+                case "getString":
+                    return value == null ? null : value.toString();
+                case "getDouble":
+                    return value == null ? 0.0 : toDouble(value);
+                case "getTimestamp":
+                    return (Timestamp) value;
+                default:
+                    throw unsupported(m.getName());
+            }
+        });
+    }
+
+}
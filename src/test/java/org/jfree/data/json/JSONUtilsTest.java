@@ -0,0 +1,189 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------
+ * JSONUtilsTest.java
+ * ------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+
+import se.malmin.data.category.DefaultCategoryDataset;
+import se.malmin.data.general.DefaultPieDataset;
+import se.malmin.data.json.JSONUtils;
+import se.malmin.data.time.Day;
+import se.malmin.data.time.FixedMillisecond;
+import se.malmin.data.time.TimeSeries;
+import se.malmin.data.time.TimeSeriesCollection;
+import se.malmin.data.xy.DefaultXYDataset;
+import se.malmin.data.xy.XYDataset;
+
+/**
+ * Tests for the {@link JSONUtils} class.
+ */
+public class JSONUtilsTest {
+
+    /**
+     * Writing and reading an {@code XYDataset} gives the same values,
+     * including missing values and numbers that need the slow parsing path.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testXYDatasetRoundTrip() throws IOException {
+        Random random = new Random(123L);
+        int n = 5000;
+        double[][] data = new double[2][n];
+        for (int i = 0; i < n; i++) {
+            data[0][i] = i;
+            data[1][i] = random.nextGaussian() * Math.pow(10,
+                    random.nextInt(40) - 20);
+        }
+        data[1][1] = Double.NaN;
+        data[1][2] = -0.5;
+        data[1][3] = 1e300;
+        data[1][4] = Double.MIN_VALUE;
+        DefaultXYDataset d1 = new DefaultXYDataset();
+        d1.addSeries("S1 \"quoted\"\n", data);
+        d1.addSeries("S2", new double[][] {{1.0, 2.5}, {-3.0, 4.0}});
+        StringWriter sw = new StringWriter();
+        JSONUtils.writeXYDataset(d1, sw);
+        XYDataset d2 = JSONUtils.readXYDataset(new StringReader(
+                sw.toString()));
+        assertEquals(2, d2.getSeriesCount());
+        assertEquals("S1 \"quoted\"\n", d2.getSeriesKey(0));
+        assertEquals(n, d2.getItemCount(0));
+        for (int i = 0; i < n; i++) {
+            assertEquals(data[0][i], d2.getXValue(0, i));
+            assertEquals(data[1][i], d2.getYValue(0, i));
+        }
+        assertEquals(2.5, d2.getXValue(1, 1));
+        assertEquals(-3.0, d2.getYValue(1, 0));
+    }
+
+    /**
+     * Writing and reading a {@code TimeSeriesCollection} gives the same
+     * time periods and values.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testTimeSeriesCollectionRoundTrip() throws IOException {
+        TimeZone zone = TimeZone.getTimeZone("Europe/Stockholm");
+        Locale locale = Locale.UK;
+        TimeSeries s1 = new TimeSeries("S1");
+        Day day = new Day(1, 1, 2021);
+        day.peg(java.util.Calendar.getInstance(zone, locale));
+        for (int i = 0; i < 100; i++) {
+            s1.add(day, i == 10 ? null : (Number) (i * 1.5));
+            day = (Day) day.next();
+            day.peg(java.util.Calendar.getInstance(zone, locale));
+        }
+        TimeSeries s2 = new TimeSeries("S2");
+        s2.add(new FixedMillisecond(1000L), 1.0);
+        s2.add(new FixedMillisecond(2000L), 2.0);
+        TimeSeriesCollection c1 = new TimeSeriesCollection(zone);
+        c1.addSeries(s1);
+        c1.addSeries(s2);
+        StringWriter sw = new StringWriter();
+        JSONUtils.writeTimeSeriesCollection(c1, sw);
+        TimeSeriesCollection c2 = JSONUtils.readTimeSeriesCollection(
+                new StringReader(sw.toString()), zone, locale);
+        assertEquals(c1, c2);
+        assertNull(c2.getSeries(0).getValue(10));
+        assertEquals(Day.class, c2.getSeries(0).getTimePeriodClass());
+    }
+
+    /**
+     * Writing and reading a {@code CategoryDataset} gives the same values.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testCategoryDatasetRoundTrip() throws IOException {
+        DefaultCategoryDataset d1 = new DefaultCategoryDataset();
+        d1.addValue(1.0, "R1", "C1");
+        d1.addValue(null, "R1", "C2");
+        d1.addValue(-2.25, "R2", "C1");
+        d1.addValue(3.0, "R2", "C2");
+        String json = JSONUtils.writeKeyedValues2D(d1);
+        assertEquals("{\"columnKeys\":[\"C1\",\"C2\"],\"rows\":[[\"R1\","
+                + "[1,null]],[\"R2\",[-2.25,3]]]}", json);
+        DefaultCategoryDataset d2 = JSONUtils.readCategoryDataset(
+                new StringReader(json));
+        assertEquals(d1, d2);
+
+        // whitespace and unknown members are accepted
+        d2 = JSONUtils.readCategoryDataset(new StringReader(
+                "{ \"title\": {\"a\": [true, false]},\n \"columnKeys\": "
+                + "[\"C1\", \"C2\"], \"rows\": [[\"R1\", [1.0, null]], "
+                + "[\"R2\", [-2.25e0, 0.3E1]]] }"));
+        assertEquals(d1, d2);
+
+        DefaultPieDataset pie = new DefaultPieDataset();
+        pie.setValue("A", 1.5);
+        pie.setValue("Bé", 2.0);
+        assertEquals("[[\"A\",1.5],[\"Bé\",2]]",
+                JSONUtils.writeKeyedValues(pie));
+    }
+
+    /**
+     * Malformed input is reported with an {@code IOException}.
+     */
+    @Test
+    public void testMalformedInput() {
+        String[] inputs = {"", "[]", "{\"series\":[{\"key\":\"S\","
+                + "\"x\":[1,2],\"y\":[1]}]}", "{\"series\":[{\"key\":\"S\","
+                + "\"x\":[1 2],\"y\":[1,2]}]}", "{\"series\":[{\"key\":\"S\","
+                + "\"x\":[1,],\"y\":[1]}]}", "{\"series\":[{\"key\":\"S\","
+                + "\"x\":[-],\"y\":[1]}]}", "{\"series\":[]} x",
+                "{\"series\":[{\"key\":\"S\",\"x\":[1],\"y\":[1]}]"};
+        for (String input : inputs) {
+            assertThrows(IOException.class, 
+                    () -> JSONUtils.readXYDataset(new StringReader(input)),
+                    input);
+        }
+    }
+
+}
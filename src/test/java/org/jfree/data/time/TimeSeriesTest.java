@@ -62,8 +62,10 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.Locale;
 import java.util.TimeZone;
 
@@ -73,7 +75,9 @@ import org.junit.jupiter.api.Test;
 
 import se.malmin.chart.date.MonthConstants;
 import se.malmin.data.Range;
+import se.malmin.data.general.DatasetChangeType;
 import se.malmin.data.general.SeriesChangeEvent;
+import se.malmin.data.general.SeriesChangeInfo;
 import se.malmin.data.general.SeriesChangeListener;
 import se.malmin.data.general.SeriesException;
 import se.malmin.data.time.Day;
@@ -1257,4 +1261,101 @@ public class TimeSeriesTest implements SeriesChangeListener {
                 ts.findValueRange(range, TimePeriodAnchor.END, tzone));
 
     }
+
+    /**
+     * Appending to a full rolling window evicts the oldest item and keeps
+     * the logical order for getIndex() and getDataItem().
+     */
+    @Test
+    public void testRollingWindow() {
+        TimeSeries ts = new TimeSeries("S");
+        ts.setMaximumItemCount(3);
+        for (int i = 0; i < 50; i++) {
+            ts.add(new FixedMillisecond(i), i);
+        }
+        assertEquals(3, ts.getItemCount());
+        assertEquals(new FixedMillisecond(47), ts.getTimePeriod(0));
+        assertEquals(49.0, ts.getDataItem(2).getValue().doubleValue(), 0.0);
+        assertEquals(1, ts.getIndex(new FixedMillisecond(48)));
+        assertEquals(-1, ts.getIndex(new FixedMillisecond(46)));
+        assertEquals(47.0, ts.getMinY(), 0.0);
+        assertEquals(49.0, ts.getMaxY(), 0.0);
+
+        // an out-of-order item is inserted in the correct position
+        ts.setMaximumItemCount(4);
+        ts.add(new FixedMillisecond(60), 60.0);
+        ts.add(new FixedMillisecond(55), 55.0);
+        assertEquals(new FixedMillisecond(48), ts.getTimePeriod(0));
+        assertEquals(new FixedMillisecond(55), ts.getTimePeriod(2));
+        assertEquals(new FixedMillisecond(60), ts.getTimePeriod(3));
+    }
+
+    /**
+     * Appending to a series that removes old items (because of the maximum
+     * item count or age) is reported as a scroll.
+     */
+    @Test
+    public void testScrollChangeInfo() {
+        List<SeriesChangeInfo> changes = new ArrayList<>();
+        TimeSeries ts = new TimeSeries("S");
+        ts.addChangeListener(e -> changes.add(e.getInfo()));
+        ts.setMaximumItemCount(3);
+        for (int i = 0; i < 4; i++) {
+            ts.add(new FixedMillisecond(i), i);
+        }
+        assertEquals(new SeriesChangeInfo(DatasetChangeType.APPEND, 2, 2),
+                changes.get(2));
+        assertEquals(new SeriesChangeInfo(DatasetChangeType.SCROLL, 2, 2, 1),
+                changes.get(3));
+
+        // all the aged items are reported as removed
+        ts.setMaximumItemCount(100);
+        ts.setMaximumItemAge(5);
+        ts.add(new FixedMillisecond(5), 5.0);
+        changes.clear();
+        ts.add(new FixedMillisecond(8), 8.0);
+        assertEquals(3, ts.getItemCount());
+        assertEquals(new SeriesChangeInfo(DatasetChangeType.SCROLL, 2, 2, 2),
+                changes.get(0));
+        ts.add(new FixedMillisecond(20), 20.0);
+        assertEquals(1, ts.getItemCount());
+        assertEquals(new SeriesChangeInfo(DatasetChangeType.SCROLL, 0, 0, 3),
+                changes.get(1));
+        changes.clear();
+
+        // an item added before the end is not a scroll
+        ts.add(new FixedMillisecond(22), 22.0);
+        ts.add(new FixedMillisecond(21), 21.0);
+        assertEquals(SeriesChangeInfo.RESET, changes.get(1));
+    }
+
+    /**
+     * Check the bounds and findValueRange() with the value index enabled.
+     */
+    @Test
+    public void testValueIndex() {
+        TimeSeries ts = new TimeSeries("S");
+        ts.add(new FixedMillisecond(1L), 50.0);
+        ts.setUseValueIndex(true);
+        assertTrue(ts.getUseValueIndex());
+        ts.setMaximumItemCount(3);
+        ts.add(new FixedMillisecond(2L), 10.0);
+        ts.add(new FixedMillisecond(3L), null);
+        assertEquals(50.0, ts.getMaxY(), EPSILON);
+        ts.add(new FixedMillisecond(4L), 20.0);
+        assertEquals(10.0, ts.getMinY(), EPSILON);
+        assertEquals(20.0, ts.getMaxY(), EPSILON);
+        TimeZone tz = TimeZone.getTimeZone("UTC");
+        assertEquals(new Range(10.0, 20.0), ts.findValueRange(
+                new Range(0.0, 10.0), TimePeriodAnchor.START, tz));
+        assertEquals(new Range(20.0, 20.0), ts.findValueRange(
+                new Range(3.0, 4.0), TimePeriodAnchor.START, tz));
+        Range r = ts.findValueRange(new Range(5.0, 9.0),
+                TimePeriodAnchor.START, tz);
+        assertTrue(Double.isNaN(r.getLowerBound()));
+        ts.update(0, 30.0);
+        assertEquals(30.0, ts.getMaxY(), EPSILON);
+        assertEquals(20.0, ts.getMinY(), EPSILON);
+    }
+
 }
@@ -0,0 +1,280 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------
+ * ColumnarXYSeriesTest.java
+ * -------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.jfree.chart.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import se.malmin.data.general.SeriesException;
+import se.malmin.data.xy.ColumnarXYSeries;
+import se.malmin.data.xy.XYDataItem;
+import se.malmin.data.xy.XYSeries;
+import se.malmin.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link ColumnarXYSeries} class.
+ */
+public class ColumnarXYSeriesTest {
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        ColumnarXYSeries s1 = new ColumnarXYSeries("Series");
+        s1.add(1.0, 1.1);
+        ColumnarXYSeries s2 = new ColumnarXYSeries("Series");
+        s2.add(1.0, 1.1);
+        assertTrue(s1.equals(s2));
+        assertTrue(s2.equals(s1));
+
+        s1.add(2.0, 2.2);
+        assertFalse(s1.equals(s2));
+        s2.add(2.0, 2.2);
+        assertTrue(s1.equals(s2));
+        assertEquals(s1.hashCode(), s2.hashCode());
+
+        s1.setMaximumItemCount(5);
+        assertFalse(s1.equals(s2));
+        s2.setMaximumItemCount(5);
+        assertTrue(s1.equals(s2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        ColumnarXYSeries s1 = new ColumnarXYSeries("Series");
+        s1.add(1.0, 1.1);
+        ColumnarXYSeries s2 = (ColumnarXYSeries) s1.clone();
+        assertTrue(s1 != s2);
+        assertTrue(s1.getClass() == s2.getClass());
+        assertTrue(s1.equals(s2));
+
+        // check independence
+        s1.add(2.0, 2.2);
+        assertFalse(s1.equals(s2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        ColumnarXYSeries s1 = new ColumnarXYSeries("Series");
+        s1.add(1.0, 1.1);
+        s1.add(2.0, null);
+        ColumnarXYSeries s2 = TestUtils.serialised(s1);
+        assertEquals(s1, s2);
+    }
+
+    /**
+     * Items are kept in ascending order of x, with duplicates added after
+     * existing items that have the same x-value.
+     */
+    @Test
+    public void testAddSorted() {
+        ColumnarXYSeries s = new ColumnarXYSeries("S");
+        s.add(3.0, 30.0);
+        s.add(1.0, 10.0);
+        s.add(2.0, 20.0);
+        s.add(2.0, 21.0);
+        assertEquals(4, s.getItemCount());
+        assertEquals(1.0, s.getXValue(0), 0.0);
+        assertEquals(20.0, s.getYValue(1), 0.0);
+        assertEquals(21.0, s.getYValue(2), 0.0);
+        assertEquals(3.0, s.getXValue(3), 0.0);
+        assertEquals(1.0, s.getMinX(), 0.0);
+        assertEquals(3.0, s.getMaxX(), 0.0);
+        assertEquals(10.0, s.getMinY(), 0.0);
+        assertEquals(30.0, s.getMaxY(), 0.0);
+    }
+
+    /**
+     * Adding a duplicate x-value when duplicates are not permitted should
+     * throw an exception.
+     */
+    @Test
+    public void testAddDuplicateNotPermitted() {
+        ColumnarXYSeries s = new ColumnarXYSeries("S", true, false);
+        s.add(1.0, 1.0);
+        s.add(2.0, 2.0);
+        try {
+            s.add(1.0, 3.0);
+            fail("Expected a SeriesException.");
+        }
+        catch (SeriesException e) {
+            // expected
+        }
+        ColumnarXYSeries u = new ColumnarXYSeries("U", false, false);
+        u.add(2.0, 2.0);
+        u.add(1.0, 1.0);
+        try {
+            u.add(2.0, 3.0);
+            fail("Expected a SeriesException.");
+        }
+        catch (SeriesException e) {
+            // expected
+        }
+        assertEquals(2.0, u.getXValue(0), 0.0);
+    }
+
+    /**
+     * A {@code null} y-value is stored as {@code Double.NaN}.
+     */
+    @Test
+    public void testNullY() {
+        ColumnarXYSeries s = new ColumnarXYSeries("S");
+        s.add(1.0, null);
+        assertNull(s.getY(0));
+        assertTrue(Double.isNaN(s.getYValue(0)));
+        assertTrue(Double.isNaN(s.getMinY()));
+        assertEquals(new XYDataItem(1.0, null), s.getDataItem(0));
+    }
+
+    /**
+     * Check that the maximum item count evicts the first items and keeps
+     * the bounds up to date.
+     */
+    @Test
+    public void testMaximumItemCount() {
+        ColumnarXYSeries s = new ColumnarXYSeries("S", true, true, 2);
+        s.setMaximumItemCount(3);
+        for (int i = 0; i < 100; i++) {
+            s.add(i, 100 - i);
+        }
+        assertEquals(3, s.getItemCount());
+        assertEquals(97.0, s.getXValue(0), 0.0);
+        assertEquals(97.0, s.getMinX(), 0.0);
+        assertEquals(99.0, s.getMaxX(), 0.0);
+        assertEquals(1.0, s.getMinY(), 0.0);
+        assertEquals(3.0, s.getMaxY(), 0.0);
+
+        s.setMaximumItemCount(1);
+        assertEquals(1, s.getItemCount());
+        assertEquals(99.0, s.getMinX(), 0.0);
+        assertEquals(1.0, s.getMaxY(), 0.0);
+    }
+
+    /**
+     * Some checks for the remove(), delete() and clear() methods.
+     */
+    @Test
+    public void testRemoveAndDelete() {
+        ColumnarXYSeries s = new ColumnarXYSeries("S");
+        for (int i = 0; i < 10; i++) {
+            s.add(i, i * 10.0);
+        }
+        XYDataItem removed = s.remove(0);
+        assertEquals(new XYDataItem(0.0, 0.0), removed);
+        assertEquals(10.0, s.getMinY(), 0.0);
+        s.remove(Double.valueOf(9.0));
+        assertEquals(80.0, s.getMaxY(), 0.0);
+        s.delete(2, 4);
+        assertEquals(5, s.getItemCount());
+        assertEquals(2.0, s.getXValue(1), 0.0);
+        assertEquals(6.0, s.getXValue(2), 0.0);
+        s.clear();
+        assertEquals(0, s.getItemCount());
+        assertTrue(Double.isNaN(s.getMaxX()));
+    }
+
+    /**
+     * Some checks for the addOrUpdate() and updateByIndex() methods.
+     */
+    @Test
+    public void testAddOrUpdate() {
+        ColumnarXYSeries s = new ColumnarXYSeries("S", true, false);
+        assertNull(s.addOrUpdate(1.0, 1.0));
+        assertNull(s.addOrUpdate(2.0, 2.0));
+        XYDataItem old = s.addOrUpdate(1.0, 5.0);
+        assertEquals(new XYDataItem(1.0, 1.0), old);
+        assertEquals(5.0, s.getYValue(0), 0.0);
+        assertEquals(2.0, s.getMinY(), 0.0);
+        s.updateByIndex(1, -1.0);
+        assertEquals(-1.0, s.getMinY(), 0.0);
+        assertEquals(5.0, s.getMaxY(), 0.0);
+    }
+
+    /**
+     * The series matches a regular {@link XYSeries} with the same data.
+     */
+    @Test
+    public void testSameAsXYSeries() {
+        XYSeries s1 = new XYSeries("S");
+        ColumnarXYSeries s2 = new ColumnarXYSeries("S");
+        double[] xs = {5.0, 1.0, 3.0, 3.0, 9.0, 0.5};
+        for (int i = 0; i < xs.length; i++) {
+            s1.add(xs[i], i);
+            s2.add(xs[i], i);
+        }
+        assertEquals(s1.getItems(), s2.getItems());
+        assertEquals(4, s2.indexOf(Double.valueOf(5.0)));
+        assertTrue(s2.indexOf(Double.valueOf(2.0)) < 0);
+        double[][] a1 = s1.toArray();
+        double[][] a2 = s2.toArray();
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(a1[0][i], a2[0][i], 0.0);
+            assertEquals(a1[1][i], a2[1][i], 0.0);
+        }
+    }
+
+    /**
+     * The series can be used in an {@link XYSeriesCollection}.
+     */
+    @Test
+    public void testInCollection() {
+        ColumnarXYSeries s = new ColumnarXYSeries("S");
+        s.add(new double[] {1.0, 2.0, 3.0}, new double[] {4.0, 6.0, 5.0});
+        XYSeriesCollection dataset = new XYSeriesCollection(s);
+        assertEquals(3, dataset.getItemCount(0));
+        assertEquals(2.0, dataset.getXValue(0, 1), 0.0);
+        assertEquals(6.0, dataset.getYValue(0, 1), 0.0);
+        assertEquals(4.0, dataset.getRangeLowerBound(false), 0.0);
+        assertEquals(3.0, dataset.getDomainUpperBound(false), 0.0);
+    }
+
+}
@@ -0,0 +1,300 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * -------------------------------
+ * LevelOfDetailXYDatasetTest.java
+ * -------------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.jfree.chart.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import se.malmin.data.Range;
+import se.malmin.data.xy.LevelOfDetailXYDataset;
+import se.malmin.data.xy.XYSeries;
+import se.malmin.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link LevelOfDetailXYDataset} class.
+ */
+public class LevelOfDetailXYDatasetTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * Creates a series with random y-values.
+     *
+     * @param random  the random number generator.
+     * @param n  the number of items.
+     *
+     * @return The series.
+     */
+    private XYSeries createSeries(Random random, int n) {
+        XYSeries s = new XYSeries("S");
+        for (int i = 0; i < n; i++) {
+            s.add(i, random.nextGaussian(), false);
+        }
+        return s;
+    }
+
+    /**
+     * Checks that the reduced items include the first, last, minimum and
+     * maximum items for every column in the view.
+     *
+     * @param d  the dataset.
+     * @param s  the underlying series.
+     */
+    private void checkView(LevelOfDetailXYDataset d, XYSeries s) {
+        Range r = d.getViewRange();
+        int columns = d.getViewColumns();
+        double w = r.getLength() / columns;
+        int n = d.getItemCount(0);
+        assertTrue(n <= 4 * columns + 2);
+        for (int c = 0; c < columns; c++) {
+            double lo = r.getLowerBound() + c * w;
+            double hi = c == columns - 1 ? r.getUpperBound() + EPSILON
+                    : lo + w;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < s.getItemCount(); i++) {
+                double x = s.getX(i).doubleValue();
+                if (x >= lo && x < hi) {
+                    min = Math.min(min, s.getY(i).doubleValue());
+                    max = Math.max(max, s.getY(i).doubleValue());
+                }
+            }
+            double rmin = Double.POSITIVE_INFINITY;
+            double rmax = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                double x = d.getXValue(0, i);
+                if (x >= lo && x < hi) {
+                    rmin = Math.min(rmin, d.getYValue(0, i));
+                    rmax = Math.max(rmax, d.getYValue(0, i));
+                }
+            }
+            assertEquals(min, rmin, 0.0);
+            assertEquals(max, rmax, 0.0);
+        }
+        for (int i = 1; i < n; i++) {
+            assertTrue(d.getUnderlyingItem(0, i - 1)
+                    < d.getUnderlyingItem(0, i));
+        }
+    }
+
+    /**
+     * With no view, all the items are passed through.
+     */
+    @Test
+    public void testNoView() {
+        XYSeries s = createSeries(new Random(1L), 1000);
+        LevelOfDetailXYDataset d = new LevelOfDetailXYDataset(
+                new XYSeriesCollection(s));
+        assertEquals(1000, d.getItemCount(0));
+        assertEquals(s.getY(10), d.getY(0, 10));
+        d.setView(new Range(0.0, 999.0), 300);
+        assertEquals(1000, d.getItemCount(0));
+    }
+
+    /**
+     * The reduced items have the same minimum and maximum in each column.
+     */
+    @Test
+    public void testReduction() {
+        XYSeries s = createSeries(new Random(2L), 10000);
+        LevelOfDetailXYDataset d = new LevelOfDetailXYDataset(
+                new XYSeriesCollection(s));
+        d.setView(new Range(0.0, 9999.0), 100);
+        checkView(d, s);
+        d.setView(new Range(1234.5, 5678.9), 37);
+        checkView(d, s);
+        // the items either side of the view are included
+        assertEquals(1234.0, d.getXValue(0, 0), EPSILON);
+        assertEquals(5679.0, d.getXValue(0, d.getItemCount(0) - 1), EPSILON);
+    }
+
+    /**
+     * Items appended to the underlying series are included in the
+     * reduction.
+     */
+    @Test
+    public void testAppend() {
+        Random random = new Random(3L);
+        XYSeries s = createSeries(random, 1000);
+        LevelOfDetailXYDataset d = new LevelOfDetailXYDataset(
+                new XYSeriesCollection(s));
+        d.setView(new Range(0.0, 999.0), 10);
+        checkView(d, s);
+        for (int i = 1000; i < 3000; i++) {
+            s.add(i, random.nextGaussian());
+            if (i % 250 == 0) {
+                d.setView(new Range(0.0, i), 10 + i % 7);
+                checkView(d, s);
+            }
+        }
+        // an update in the middle of the series is picked up
+        s.updateByIndex(1500, 99.0);
+        d.setView(new Range(0.0, 2999.0), 20);
+        checkView(d, s);
+        assertEquals(99.0, d.getRangeUpperBound(false), EPSILON);
+    }
+
+    /**
+     * An update to an item in the middle of a column (not the first or last
+     * item) is included in the minimum and maximum for the column.
+     */
+    @Test
+    public void testUpdateMiddleItem() {
+        XYSeries s = createSeries(new Random(4L), 3000);
+        LevelOfDetailXYDataset d = new LevelOfDetailXYDataset(
+                new XYSeriesCollection(s));
+        d.setView(new Range(0.0, 2999.0), 20);
+        checkView(d, s);
+        s.updateByIndex(1537, 99.0);
+        checkView(d, s);
+        s.updateByIndex(1537, -99.0);
+        checkView(d, s);
+        boolean found = false;
+        for (int i = 0; i < d.getItemCount(0); i++) {
+            found = found || d.getUnderlyingItem(0, i) == 1537;
+        }
+        assertTrue(found);
+    }
+
+    /**
+     * A series with a maximum item count (a rolling window) gives the same
+     * reduction as the items in the window.
+     */
+    @Test
+    public void testRollingWindow() {
+        Random random = new Random(5L);
+        XYSeries s = createSeries(random, 1000);
+        s.setMaximumItemCount(1000);
+        LevelOfDetailXYDataset d = new LevelOfDetailXYDataset(
+                new XYSeriesCollection(s));
+        d.setView(new Range(0.0, 999.0), 10);
+        checkView(d, s);
+        for (int i = 1000; i < 5000; i++) {
+            s.add(i, random.nextGaussian());
+            if (i % 97 == 0) {
+                d.setView(new Range(i - 999.0, i), 10 + i % 7);
+                checkView(d, s);
+            }
+        }
+        // several items appended and removed in one batch
+        XYSeriesCollection c = (XYSeriesCollection) d.getUnderlyingDataset();
+        c.beginUpdate();
+        for (int i = 5000; i < 5300; i++) {
+            s.add(i, random.nextGaussian());
+        }
+        c.endUpdate();
+        d.setView(new Range(4300.0, 5299.0), 13);
+        checkView(d, s);
+        s.remove(0);
+        s.remove(0);
+        d.setView(new Range(4302.0, 5299.0), 13);
+        checkView(d, s);
+    }
+
+    /**
+     * The bounds are calculated from the underlying dataset.
+     */
+    @Test
+    public void testBounds() {
+        XYSeries s = new XYSeries("S");
+        for (int i = 0; i < 100; i++) {
+            s.add(i, i % 10);
+        }
+        LevelOfDetailXYDataset d = new LevelOfDetailXYDataset(
+                new XYSeriesCollection(s));
+        d.setView(new Range(20.0, 30.0), 1);
+        assertTrue(d.getItemCount(0) < 100);
+        assertEquals(new Range(0.0, 99.0), d.getDomainBounds(false));
+        assertEquals(new Range(0.0, 9.0), d.getRangeBounds(false));
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     */
+    @Test
+    public void testEquals() {
+        XYSeries s1 = new XYSeries("S");
+        s1.add(1.0, 2.0);
+        XYSeries s2 = new XYSeries("S");
+        s2.add(1.0, 2.0);
+        LevelOfDetailXYDataset d1 = new LevelOfDetailXYDataset(
+                new XYSeriesCollection(s1));
+        LevelOfDetailXYDataset d2 = new LevelOfDetailXYDataset(
+                new XYSeriesCollection(s2));
+        assertEquals(d1, d2);
+        s1.add(2.0, 3.0);
+        assertFalse(d1.equals(d2));
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws CloneNotSupportedException if there is a cloning problem.
+     */
+    @Test
+    public void testCloning() throws CloneNotSupportedException {
+        XYSeries s1 = new XYSeries("S");
+        s1.add(1.0, 2.0);
+        LevelOfDetailXYDataset d1 = new LevelOfDetailXYDataset(
+                new XYSeriesCollection(s1));
+        LevelOfDetailXYDataset d2 = (LevelOfDetailXYDataset) d1.clone();
+        assertTrue(d1 != d2);
+        assertEquals(d1, d2);
+        s1.add(2.0, 3.0);
+        assertFalse(d1.equals(d2));
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     */
+    @Test
+    public void testSerialization() {
+        XYSeries s1 = new XYSeries("S");
+        s1.add(1.0, 2.0);
+        LevelOfDetailXYDataset d1 = new LevelOfDetailXYDataset(
+                new XYSeriesCollection(s1));
+        LevelOfDetailXYDataset d2 = TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+    }
+
+}
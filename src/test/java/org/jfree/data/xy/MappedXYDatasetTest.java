@@ -0,0 +1,233 @@
+/* ===========================================================
+ * JFreeChart : a free chart library for the Java(tm) platform
+ * ===========================================================
+ *
+ * (C) Copyright 2000-2021, by Object Refinery Limited and Contributors.
+ *
+ * Project Info:  http://www.jfree.org/jfreechart/index.html
+ *
+ * This library is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation; either version 2.1 of the License, or
+ * (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301,
+ * USA.
+ *
+ * [Oracle and Java are registered trademarks of Oracle and/or its affiliates.
+ * Other names may be trademarks of their respective owners.]
+ *
+ * ------------------------
+ * MappedXYDatasetTest.java
+ * ------------------------
+ * (C) Copyright 2026, by Object Refinery Limited and Contributors.
+ *
+ * Original Author:  agent;
+ * Contributor(s):   -;
+ *
+ */
+
+package org.jfree.data.xy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.jfree.chart.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import se.malmin.chart.renderer.RendererUtils;
+import se.malmin.data.DomainOrder;
+import se.malmin.data.Range;
+import se.malmin.data.general.DatasetUtils;
+import se.malmin.data.xy.MappedXYDataset;
+import se.malmin.data.xy.XYColumnFormat;
+import se.malmin.data.xy.XYSeries;
+import se.malmin.data.xy.XYSeriesCollection;
+
+/**
+ * Tests for the {@link MappedXYDataset} class.
+ */
+public class MappedXYDatasetTest {
+
+    private static final double EPSILON = 0.0000000001;
+
+    /**
+     * Writes a series to a temporary file.
+     *
+     * @param series  the series.
+     * @param format  the format.
+     *
+     * @return The file.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    private File write(XYSeries series, XYColumnFormat format)
+            throws IOException {
+        File file = File.createTempFile("MappedXYDatasetTest", ".bin");
+        file.deleteOnExit();
+        MappedXYDataset.writeSeries(file, new XYSeriesCollection(series), 0,
+                format);
+        return file;
+    }
+
+    /**
+     * Values written to a file are read back by the dataset.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testReadBack() throws IOException {
+        XYSeries s = new XYSeries("S");
+        for (int i = 0; i < 1000; i++) {
+            s.add(i * 10.0, Math.sin(i / 10.0));
+        }
+        s.updateByIndex(500, null);
+        MappedXYDataset d = new MappedXYDataset();
+        d.addSeries("S", write(s, XYColumnFormat.DOUBLE_DOUBLE));
+        assertEquals(1, d.getSeriesCount());
+        assertEquals(1000, d.getItemCount(0));
+        assertEquals(DomainOrder.ASCENDING, d.getDomainOrder());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(s.getXValue(i), d.getXValue(0, i), 0.0);
+            assertEquals(s.getYValue(i), d.getYValue(0, i), 0.0);
+        }
+        assertNull(d.getY(0, 500));
+        assertEquals(new Range(0.0, 9990.0), d.getDomainBounds(false));
+        assertEquals(DatasetUtils.iterateRangeBounds(d),
+                d.getRangeBounds(false));
+    }
+
+    /**
+     * Checks for the LONG_FLOAT format.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testLongFloat() throws IOException {
+        XYSeries s = new XYSeries("S", false);
+        s.add(1600000000000.0, 1.5);
+        s.add(1500000000000.0, 0.1);
+        MappedXYDataset d = new MappedXYDataset();
+        d.addSeries("S", write(s, XYColumnFormat.LONG_FLOAT));
+        assertEquals(XYColumnFormat.LONG_FLOAT, d.getFormat(0));
+        assertEquals(DomainOrder.NONE, d.getDomainOrder());
+        assertEquals(1600000000000.0, d.getXValue(0, 0), 0.0);
+        assertEquals(1.5, d.getYValue(0, 0), 0.0);
+        assertEquals(0.1f, d.getYValue(0, 1), 0.0);
+        assertEquals(0.1f, d.getRangeLowerBound(false), 0.0);
+        assertEquals(1500000000000.0, d.getDomainLowerBound(false), 0.0);
+    }
+
+    /**
+     * The dataset works with {@code RendererUtils.findLiveItems()}.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testFindLiveItems() throws IOException {
+        XYSeries s = new XYSeries("S");
+        for (int i = 0; i < 100; i++) {
+            s.add(i, i);
+        }
+        MappedXYDataset d = new MappedXYDataset();
+        d.addSeries("S", write(s, XYColumnFormat.DOUBLE_DOUBLE));
+        int[] expected = RendererUtils.findLiveItems(
+                new XYSeriesCollection(s), 0, 10.5, 20.5);
+        int[] items = RendererUtils.findLiveItems(d, 0, 10.5, 20.5);
+        assertEquals(expected[0], items[0]);
+        assertEquals(expected[1], items[1]);
+        assertTrue(items[1] - items[0] < 15);
+    }
+
+    /**
+     * A file that is not in the expected format is rejected.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testBadFile() throws IOException {
+        File file = File.createTempFile("MappedXYDatasetTest", ".bin");
+        file.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[100]);
+        }
+        MappedXYDataset d = new MappedXYDataset();
+        try {
+            d.addSeries("S", file);
+            fail("Expected an IOException.");
+        }
+        catch (IOException e) {
+            // expected
+        }
+        assertEquals(0, d.getSeriesCount());
+    }
+
+    /**
+     * Confirm that the equals method can distinguish all the required fields.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testEquals() throws IOException {
+        XYSeries s = new XYSeries("S");
+        s.add(1.0, 2.0);
+        File file = write(s, XYColumnFormat.DOUBLE_DOUBLE);
+        MappedXYDataset d1 = new MappedXYDataset();
+        MappedXYDataset d2 = new MappedXYDataset();
+        assertEquals(d1, d2);
+        d1.addSeries("S", file);
+        assertFalse(d1.equals(d2));
+        d2.addSeries("S", file);
+        assertEquals(d1, d2);
+        assertEquals(d1.hashCode(), d2.hashCode());
+    }
+
+    /**
+     * Confirm that cloning works.
+     *
+     * @throws Exception if there is a problem.
+     */
+    @Test
+    public void testCloning() throws Exception {
+        XYSeries s = new XYSeries("S");
+        s.add(1.0, 2.0);
+        MappedXYDataset d1 = new MappedXYDataset();
+        d1.addSeries("S", write(s, XYColumnFormat.DOUBLE_DOUBLE));
+        MappedXYDataset d2 = (MappedXYDataset) d1.clone();
+        assertTrue(d1 != d2);
+        assertEquals(d1, d2);
+        d1.removeSeries(0);
+        assertEquals(1, d2.getSeriesCount());
+    }
+
+    /**
+     * Serialize an instance, restore it, and check for equality.
+     *
+     * @throws IOException if there is an I/O problem.
+     */
+    @Test
+    public void testSerialization() throws IOException {
+        XYSeries s = new XYSeries("S");
+        s.add(1.0, 2.0);
+        MappedXYDataset d1 = new MappedXYDataset();
+        d1.addSeries("S", write(s, XYColumnFormat.DOUBLE_DOUBLE));
+        MappedXYDataset d2 = TestUtils.serialised(d1);
+        assertEquals(d1, d2);
+        assertEquals(2.0, d2.getYValue(0, 0), EPSILON);
+    }
+
+}
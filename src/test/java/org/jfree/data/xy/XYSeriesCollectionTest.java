@@ -58,11 +58,17 @@ import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import org.jfree.chart.TestUtils;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import se.malmin.chart.util.PublicCloneable;
 import se.malmin.data.Range;
 import se.malmin.data.UnknownKeyException;
+import se.malmin.data.general.DatasetChangeEvent;
+import se.malmin.data.general.DatasetChangeInfo;
+import se.malmin.data.general.DatasetChangeType;
 import se.malmin.data.xy.XYSeries;
 import se.malmin.data.xy.XYSeriesCollection;
 
@@ -536,4 +542,112 @@ public class XYSeriesCollectionTest {
         // change because "C" is already the key for the other series in the
         // collection
     }
+
+    /**
+     * Changes made between beginUpdate() and endUpdate() result in a single
+     * event that describes all the changes.
+     */
+    @Test
+    public void testBeginEndUpdate() {
+        XYSeries s1 = new XYSeries("S1");
+        s1.add(1.0, 1.0);
+        XYSeries s2 = new XYSeries("S2");
+        XYSeriesCollection c = new XYSeriesCollection(s1);
+        c.addSeries(s2);
+        List<DatasetChangeEvent> events = new ArrayList<>();
+        c.addChangeListener(events::add);
+
+        s1.add(2.0, 2.0);
+        assertEquals(1, events.size());
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.APPEND, 0, 1, 1),
+                events.get(0).getInfo());
+        events.clear();
+
+        c.beginUpdate();
+        for (int i = 3; i < 100; i++) {
+            s1.add(i, i);
+        }
+        c.beginUpdate();  // nested
+        s1.updateByIndex(50, 0.0);
+        c.endUpdate();
+        assertTrue(events.isEmpty());
+        c.endUpdate();
+        assertEquals(1, events.size());
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.APPEND, 0, 2,
+                98), events.get(0).getInfo());
+        events.clear();
+
+        // no changes, no event
+        c.beginUpdate();
+        c.endUpdate();
+        assertTrue(events.isEmpty());
+
+        // removals from the front of the series
+        c.beginUpdate();
+        s1.remove(0);
+        s1.remove(0);
+        s1.delete(0, 2);
+        c.endUpdate();
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.REMOVE, 0, 0,
+                4), events.get(0).getInfo());
+        events.clear();
+
+        // appends that push items out of a series with a maximum item count
+        s1.setMaximumItemCount(s1.getItemCount());
+        s1.add(101.0, 1.0);
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.SCROLL, 0, 93,
+                93, 1), events.get(0).getInfo());
+        events.clear();
+
+        // changes to more than one series
+        c.beginUpdate();
+        s1.add(100.0, 1.0);
+        s2.add(1.0, 1.0);
+        c.endUpdate();
+        assertEquals(DatasetChangeInfo.RESET, events.get(0).getInfo());
+
+        try {
+            c.endUpdate();
+            fail("Expected an IllegalStateException.");
+        }
+        catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Appends to several series between beginUpdate() and endUpdate() are
+     * described as an append to all series.
+     */
+    @Test
+    public void testBeginEndUpdateAppendSeveralSeries() {
+        XYSeries s1 = new XYSeries("S1");
+        XYSeries s2 = new XYSeries("S2");
+        XYSeries s3 = new XYSeries("S3");
+        XYSeriesCollection c = new XYSeriesCollection(s1);
+        c.addSeries(s2);
+        c.addSeries(s3);
+        List<DatasetChangeEvent> events = new ArrayList<>();
+        c.addChangeListener(events::add);
+
+        c.beginUpdate();
+        for (int i = 0; i < 10; i++) {
+            s1.add(i, i);
+            s2.add(i, i);
+            s3.add(i, i);
+        }
+        c.endUpdate();
+        assertEquals(1, events.size());
+        assertEquals(new DatasetChangeInfo(DatasetChangeType.APPEND, -1, -1,
+                -1), events.get(0).getInfo());
+        events.clear();
+
+        // an update to an existing item is not an append
+        c.beginUpdate();
+        s1.add(10.0, 10.0);
+        s2.updateByIndex(0, 5.0);
+        c.endUpdate();
+        assertEquals(DatasetChangeInfo.RESET, events.get(0).getInfo());
+    }
+
 }
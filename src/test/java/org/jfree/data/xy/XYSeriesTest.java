@@ -804,4 +804,34 @@ public class XYSeriesTest {
         c.removeSeries(1);
         s1.setKey("S2");
     }
+    /**
+     * The bounds are maintained by the bounds index when the extreme values
+     * are removed from the series.
+     */
+    @Test
+    public void testBoundsIndex() {
+        XYSeries s1 = new XYSeries("S1", false);
+        s1.setUseBoundsIndex(true);
+        assertTrue(s1.getUseBoundsIndex());
+        s1.setMaximumItemCount(3);
+        s1.add(5.0, 100.0);
+        s1.add(1.0, -100.0);
+        s1.add(3.0, 1.0);
+        assertEquals(1.0, s1.getMinX(), EPSILON);
+        assertEquals(5.0, s1.getMaxX(), EPSILON);
+        assertEquals(-100.0, s1.getMinY(), EPSILON);
+        s1.add(2.0, 2.0);
+        assertEquals(1.0, s1.getMinX(), EPSILON);
+        assertEquals(3.0, s1.getMaxX(), EPSILON);
+        assertEquals(-100.0, s1.getMinY(), EPSILON);
+        assertEquals(2.0, s1.getMaxY(), EPSILON);
+        s1.remove(0);
+        assertEquals(1.0, s1.getMinY(), EPSILON);
+        s1.updateByIndex(0, 7.0);
+        assertEquals(2.0, s1.getMinY(), EPSILON);
+        assertEquals(7.0, s1.getMaxY(), EPSILON);
+        s1.clear();
+        assertTrue(Double.isNaN(s1.getMaxY()));
+    }
+
 }